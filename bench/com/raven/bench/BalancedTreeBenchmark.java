@@ -0,0 +1,112 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.balanced.BTree;
+import com.raven.ds.modules.balanced.OrderedIntSet;
+import com.raven.ds.modules.balanced.RedBlackTree;
+import com.raven.ds.modules.balanced.Treap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Red-black tree, treap and B-tree on n random distinct keys: building by
+ * inserts against a bulk load of the sorted keys, and the queries run on a
+ * prebuilt tree
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalancedTreeBenchmark {
+    public enum Variant { RED_BLACK, TREAP, B_TREE }
+
+    private static final int QUERIES = 10_000;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"RED_BLACK", "TREAP", "B_TREE"})
+    public Variant variant;
+
+    private int[] shuffled;
+    private int[] sorted;
+    private int[] queries;
+    private OrderedIntSet<?> built;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Keys 0, 2, 4...; queries land on hits and misses alike
+        sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = 2 * i;
+        }
+        shuffled = sorted.clone();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = temp;
+        }
+        queries = random.ints(QUERIES, 0, 2 * n).toArray();
+        built = create();
+        built.bulkLoad(sorted);
+    }
+
+    private OrderedIntSet<?> create() {
+        switch (variant) {
+            case RED_BLACK: return new RedBlackTree(stats);
+            case TREAP: return new Treap(stats);
+            default: return new BTree(stats);
+        }
+    }
+
+    @Benchmark
+    public int insertAll() {
+        OrderedIntSet<?> tree = create();
+        for (int key : shuffled) {
+            tree.insert(key);
+        }
+        return tree.height();
+    }
+
+    @Benchmark
+    public int bulkLoad() {
+        OrderedIntSet<?> tree = create();
+        tree.bulkLoad(sorted);
+        return tree.height();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (int key : queries) {
+            if (built.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long rank() {
+        long sum = 0;
+        for (int key : queries) {
+            sum += built.rank(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long select() {
+        long sum = 0;
+        for (int key : queries) {
+            sum += built.select(key % n);
+        }
+        return sum;
+    }
+}
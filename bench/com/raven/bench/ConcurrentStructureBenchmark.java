@@ -0,0 +1,110 @@
+package com.raven.bench;
+
+import com.raven.ds.modules.concurrent.ContentionStats;
+import com.raven.ds.modules.concurrent.LockFreeSkipList;
+import com.raven.ds.modules.concurrent.MichaelScottQueue;
+import com.raven.ds.modules.concurrent.StripedHashMap;
+import com.raven.ds.modules.concurrent.TreiberStack;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Throughput of the concurrent structures with every benchmark thread sharing
+ * one instance. Run with -t 1, -t 2, -t 4... for the throughput-vs-threads
+ * curve; results only mean something up to the machine's cores. The
+ * structures count their contention as they go, so this is the instrumented
+ * cost the concurrency tab shows, not a bare minimum
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ConcurrentStructureBenchmark {
+    private static final int CAPACITY = 64;
+
+    @Param({"1000", "100000"})
+    public int keys;
+
+    @Param({"1", "8", "64"})
+    public int stripes;
+
+    private TreiberStack stack;
+    private MichaelScottQueue queue;
+    private StripedHashMap map;
+    private LockFreeSkipList skipList;
+    private String[] keyStrings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stack = new TreiberStack(TreiberStack.newStats());
+        queue = new MichaelScottQueue(MichaelScottQueue.newStats());
+        map = new StripedHashMap(HashTableAlgorithm.HashFunction.DJBX33A, CAPACITY, stripes,
+                StripedHashMap.newStats(CAPACITY));
+        skipList = new LockFreeSkipList(LockFreeSkipList.newStats());
+        keyStrings = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyStrings[i] = "key" + i;
+            if (i % 2 == 0) {
+                stack.push(i + 1);
+                queue.offer(i + 1);
+                map.put(keyStrings[i], keyStrings[i]);
+                skipList.add(i);
+            }
+        }
+    }
+
+    /**
+     * Each benchmark thread draws its own operations
+     */
+    @State(Scope.Thread)
+    public static class Ops {
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public int treiberPushPop(Ops ops) {
+        if (ops.random.nextBoolean()) {
+            stack.push(1 + ops.random.nextInt(keys));
+            return 0;
+        }
+        return stack.pop();
+    }
+
+    @Benchmark
+    public int michaelScottOfferPoll(Ops ops) {
+        if (ops.random.nextBoolean()) {
+            queue.offer(1 + ops.random.nextInt(keys));
+            return 0;
+        }
+        return queue.poll();
+    }
+
+    @Benchmark
+    public boolean stripedMapMixed(Ops ops) {
+        String key = keyStrings[ops.random.nextInt(keys)];
+        int roll = ops.random.nextInt(10);
+        if (roll < 7) {
+            return map.containsKey(key);
+        }
+        return roll < 9 ? map.put(key, key) : map.remove(key);
+    }
+
+    @Benchmark
+    public boolean skipListMixed(Ops ops) {
+        int key = ops.random.nextInt(keys);
+        int roll = ops.random.nextInt(10);
+        if (roll < 7) {
+            return skipList.contains(key);
+        }
+        return roll < 9 ? skipList.add(key) : skipList.remove(key);
+    }
+}
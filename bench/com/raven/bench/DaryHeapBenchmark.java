@@ -0,0 +1,63 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.heap.DaryHeap;
+import com.raven.ds.modules.heap.IndexedMinHeap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Push n random keys through a d-ary heap and drain it; the indexed heap also
+ * lowers a quarter of the keys before draining, as Dijkstra would
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaryHeapBenchmark {
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"2", "4", "8"})
+    public int arity;
+
+    private int[] keys;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Random(42).ints(n, 0, Integer.MAX_VALUE).toArray();
+    }
+
+    @Benchmark
+    public long insertAndDrain() {
+        DaryHeap heap = new DaryHeap(arity, false, stats);
+        for (int key : keys) {
+            heap.insert(key);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.extractRoot();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long indexedDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(n, arity, stats);
+        for (int node = 0; node < n; node++) {
+            heap.offer(node, keys[node]);
+        }
+        for (int node = 0; node < n; node += 4) {
+            heap.offer(node, keys[node] / 2);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.poll();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.dynamicarray.DynamicArrayAlgorithm;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Append n values, then remove a tenth of them
+ * The distribution picks the removal positions: SORTED from the tail,
+ * RANDOM anywhere, ADVERSARIAL from the head so every removal shifts the rest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicArrayBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int n;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private int[] values;
+    private int[] removals;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkInputs.ints(BenchmarkInputs.Distribution.RANDOM, n);
+        removals = new int[n / 10];
+        Random random = new Random(BenchmarkInputs.SEED);
+        for (int i = 0; i < removals.length; i++) {
+            int size = n - i;
+            switch (distribution) {
+                case SORTED:
+                    removals[i] = size - 1;
+                    break;
+                case ADVERSARIAL:
+                    removals[i] = 0;
+                    break;
+                default:
+                    removals[i] = random.nextInt(size);
+            }
+        }
+    }
+
+    @Benchmark
+    public long dynamicArray() {
+        DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats);
+        for (int value : values) {
+            array.add(value);
+        }
+        long sum = 0;
+        for (int index : removals) {
+            sum += array.remove(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long arrayList() {
+        ArrayList<Integer> array = new ArrayList<>();
+        for (int value : values) {
+            array.add(value);
+        }
+        long sum = 0;
+        for (int index : removals) {
+            sum += array.remove(index);
+        }
+        return sum;
+    }
+}
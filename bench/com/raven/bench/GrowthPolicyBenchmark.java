@@ -0,0 +1,44 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.dynamicarray.DynamicArrayAlgorithm;
+import com.raven.ds.modules.dynamicarray.GrowthPolicy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Append n values, then pop them all, under each growth policy with and
+ * without halving at a quarter full. FIXED_INCREMENT is left out: at these
+ * sizes its O(n^2) copying dominates every other number
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrowthPolicyBenchmark {
+    @Param({"1000000", "4000000"})
+    public int n;
+
+    @Param({"DOUBLING", "ONE_AND_A_HALF", "GOLDEN_RATIO"})
+    public GrowthPolicy policy;
+
+    @Param({"false", "true"})
+    public boolean shrinking;
+
+    private final OperationStats stats = new OperationStats();
+
+    @Benchmark
+    public long appendThenPop() {
+        DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats, policy, shrinking);
+        for (int i = 0; i < n; i++) {
+            array.add(i);
+        }
+        long sum = 0;
+        while (array.size() > 0) {
+            sum += array.removeLast();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,51 @@
+package com.raven.bench;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of one raw hash by function and key length. The keys are fresh
+ * String copies, but String.hashCode still caches after the first pass, so
+ * DIVISION and MULTIPLICATION show the cached cost; run with -prof gc to
+ * confirm that no function allocates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashFunctionBenchmark {
+    private static final int KEYS = 1_024;
+
+    @Param({"8", "64"})
+    public int length;
+
+    @Param({"DIVISION", "DJBX33A", "MURMUR3", "XXHASH32", "FNV1A"})
+    public HashTableAlgorithm.HashFunction function;
+
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new String[KEYS];
+        char[] chars = new char[length];
+        for (int i = 0; i < KEYS; i++) {
+            for (int c = 0; c < length; c++) {
+                chars[c] = (char) ('a' + random.nextInt(26));
+            }
+            keys[i] = new String(chars);
+        }
+    }
+
+    @Benchmark
+    public int rawHash() {
+        String key = keys[next];
+        next = (next + 1) & (KEYS - 1);
+        return HashTableAlgorithm.rawHash(function, key);
+    }
+}
@@ -0,0 +1,71 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Insert n keys into a table that starts at 16 buckets, then look each one up
+ * The HashMap baseline ignores the hash function parameter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"DIVISION", "MULTIPLICATION", "DJBX33A", "MURMUR3", "XXHASH32", "FNV1A"})
+    public HashTableAlgorithm.HashFunction function;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private String[] keys;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = BenchmarkInputs.keys(distribution, function, n);
+    }
+
+    @Benchmark
+    public int hashTable() {
+        HashTableAlgorithm.Headless table = new HashTableAlgorithm.Headless(
+                stats, function, INITIAL_CAPACITY, MAX_LOAD_FACTOR);
+        for (String key : keys) {
+            table.put(key, key);
+        }
+        int found = 0;
+        for (String key : keys) {
+            if (table.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashMap() {
+        HashMap<String, String> table = new HashMap<>(INITIAL_CAPACITY, (float) MAX_LOAD_FACTOR);
+        for (String key : keys) {
+            table.put(key, key);
+        }
+        int found = 0;
+        for (String key : keys) {
+            if (table.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
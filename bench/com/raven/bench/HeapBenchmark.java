@@ -0,0 +1,70 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.heap.BinaryHeapAlgorithm;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Fill a min-heap with n keys and drain it, by repeated insert and by bottom-up build
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int n;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private int[] values;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkInputs.ints(distribution, n);
+    }
+
+    @Benchmark
+    public long binaryHeapInsert() {
+        BinaryHeapAlgorithm.Headless heap = new BinaryHeapAlgorithm.Headless(stats, false);
+        for (int value : values) {
+            heap.insert(value);
+        }
+        return drain(heap);
+    }
+
+    @Benchmark
+    public long binaryHeapBuild() {
+        BinaryHeapAlgorithm.Headless heap = new BinaryHeapAlgorithm.Headless(stats, false);
+        heap.buildHeap(values);
+        return drain(heap);
+    }
+
+    @Benchmark
+    public long priorityQueue() {
+        PriorityQueue<Integer> heap = new PriorityQueue<>();
+        for (int value : values) {
+            heap.add(value);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.poll();
+        }
+        return sum;
+    }
+
+    private static long drain(BinaryHeapAlgorithm.Headless heap) {
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.extractRoot();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,47 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.heapsort.HeapsortAlgorithm;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Sort a fresh copy of n keys; both sides pay for the same clone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapsortBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private int[] values;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkInputs.ints(distribution, n);
+    }
+
+    @Benchmark
+    public int[] heapsort() {
+        int[] copy = values.clone();
+        new HeapsortAlgorithm.Headless(stats).sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,107 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.index.BPlusTree;
+import com.raven.ds.modules.index.PageCache;
+import com.raven.ds.modules.index.PagedIndex;
+import com.raven.ds.modules.index.PagedSkipList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * B+ tree and skip list on simulated pages: bulk load, random inserts and
+ * lookups and range scans on a prebuilt index. The cache bookkeeping is part
+ * of every node visit, so this is the cost of the instrumented structures;
+ * the page counts themselves come from the compare dialog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class IndexBenchmark {
+    public enum Variant { B_PLUS_TREE, SKIP_LIST }
+
+    private static final int QUERIES = 10_000;
+    private static final int CACHE_PAGES = 1_024;
+    private static final int RANGE_WIDTH = 1_000;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    @Param({"256", "4096"})
+    public int pageSize;
+
+    @Param({"B_PLUS_TREE", "SKIP_LIST"})
+    public Variant variant;
+
+    private int[] shuffled;
+    private int[] sorted;
+    private int[] queries;
+    private PagedIndex built;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Keys 0, 2, 4...; queries land on hits and misses alike
+        sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = 2 * i;
+        }
+        shuffled = sorted.clone();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = temp;
+        }
+        queries = random.ints(QUERIES, 0, 2 * n).toArray();
+        built = create();
+        built.bulkLoad(sorted);
+    }
+
+    private PagedIndex create() {
+        PageCache cache = new PageCache(pageSize, CACHE_PAGES);
+        OperationStats stats = new OperationStats();
+        return variant == Variant.B_PLUS_TREE ? new BPlusTree(cache, stats) : new PagedSkipList(cache, stats, 42);
+    }
+
+    @Benchmark
+    public int insertAll() {
+        PagedIndex index = create();
+        for (int i = 0; i < shuffled.length; i++) {
+            index.insert(shuffled[i], i);
+        }
+        return index.height();
+    }
+
+    @Benchmark
+    public int bulkLoad() {
+        PagedIndex index = create();
+        index.bulkLoad(sorted);
+        return index.height();
+    }
+
+    @Benchmark
+    public int search() {
+        int found = 0;
+        for (int key : queries) {
+            if (built.search(key) != PagedIndex.NOT_FOUND) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long rangeScan() {
+        long[] sum = {0};
+        for (int q = 0; q < 100; q++) {
+            int from = queries[q];
+            built.rangeScan(from, from + 2 * RANGE_WIDTH - 1, key -> sum[0] += key);
+        }
+        return sum[0];
+    }
+}
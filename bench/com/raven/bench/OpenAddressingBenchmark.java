@@ -0,0 +1,72 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import com.raven.ds.modules.hashtable.OpenAddressingTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Same workload as HashTableBenchmark, per collision strategy, plus a delete-heavy
+ * churn that shows what tombstones cost linear and quadratic probing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenAddressingBenchmark {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"LINEAR", "QUADRATIC", "DOUBLE_HASHING", "ROBIN_HOOD", "CUCKOO"})
+    public OpenAddressingTable.Strategy strategy;
+
+    @Param({"MULTIPLICATION", "DJBX33A"})
+    public HashTableAlgorithm.HashFunction function;
+
+    private String[] keys;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = BenchmarkInputs.keys(BenchmarkInputs.Distribution.RANDOM, function, n);
+    }
+
+    @Benchmark
+    public int insertAndLookup() {
+        OpenAddressingTable table = new OpenAddressingTable(
+                strategy, function, INITIAL_CAPACITY, MAX_LOAD_FACTOR, stats);
+        for (String key : keys) {
+            table.put(key, key);
+        }
+        int found = 0;
+        for (String key : keys) {
+            if (table.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int churn() {
+        OpenAddressingTable table = new OpenAddressingTable(
+                strategy, function, INITIAL_CAPACITY, MAX_LOAD_FACTOR, stats);
+        int half = keys.length / 2;
+        for (int i = 0; i < half; i++) {
+            table.put(keys[i], keys[i]);
+        }
+        // Slide a window over the keys: every insert is paired with a delete
+        for (int i = half; i < keys.length; i++) {
+            table.remove(keys[i - half]);
+            table.put(keys[i], keys[i]);
+        }
+        return table.getSize();
+    }
+}
@@ -0,0 +1,61 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.graph.BellmanFordAlgorithm;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DeltaStepping;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Fork-join shortest paths across a generated road grid per pool size; compare
+ * each thread count with threads=1 for the speedup and with dijkstra for the
+ * price of parallel work. Results only mean something up to the machine's cores
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ParallelShortestPathBenchmark {
+    @Param({"300", "1000"})
+    public int side;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private CompactGraph graph;
+    private ForkJoinPool pool;
+    private int delta;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = CompactGraph.roadGrid(side, side, 42);
+        pool = new ForkJoinPool(threads);
+        delta = DeltaStepping.suggestDelta(graph);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return new DijkstraAlgorithm.Headless(stats).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] parallelBellmanFord() {
+        return new BellmanFordAlgorithm.Parallel(stats, pool).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] deltaStepping() {
+        return new DeltaStepping(stats, pool, delta).run(graph, 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.graph.AStarAlgorithm;
+import com.raven.ds.modules.graph.BidirectionalDijkstraAlgorithm;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * A fixed batch of random source-target queries on a generated road grid
+ * Dijkstra stops at the target, so every method answers the same question
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class PointToPointBenchmark {
+    private static final int QUERIES = 16;
+
+    @Param({"300", "1000"})
+    public int side;
+
+    private CompactGraph graph;
+    private int[] sources;
+    private int[] targets;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = CompactGraph.roadGrid(side, side, BenchmarkInputs.SEED);
+        graph.reversed(); // Build the cached backward CSR outside the measurement
+        Random random = new Random(BenchmarkInputs.SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.getNodeCount());
+            targets[i] = random.nextInt(graph.getNodeCount());
+        }
+    }
+
+    @Benchmark
+    public long dijkstra() {
+        DijkstraAlgorithm.Headless search = new DijkstraAlgorithm.Headless(stats);
+        long total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            total += search.run(graph, sources[i], targets[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long aStarEuclidean() {
+        return aStar(AStarAlgorithm.Heuristic.EUCLIDEAN);
+    }
+
+    @Benchmark
+    public long aStarManhattan() {
+        return aStar(AStarAlgorithm.Heuristic.MANHATTAN);
+    }
+
+    @Benchmark
+    public long bidirectional() {
+        BidirectionalDijkstraAlgorithm.Headless search = new BidirectionalDijkstraAlgorithm.Headless(stats);
+        long total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            total += search.run(graph, sources[i], targets[i]);
+        }
+        return total;
+    }
+
+    private long aStar(AStarAlgorithm.Heuristic heuristic) {
+        AStarAlgorithm.Headless search = new AStarAlgorithm.Headless(stats, heuristic);
+        long total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            total += search.run(graph, sources[i], targets[i]);
+        }
+        return total;
+    }
+}
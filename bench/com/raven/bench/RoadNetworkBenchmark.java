@@ -0,0 +1,38 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Dijkstra across a generated road grid per heap arity, from a corner so every
+ * run crosses the whole network; side 1000 is a million nodes and four million arcs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class RoadNetworkBenchmark {
+    @Param({"300", "1000"})
+    public int side;
+
+    @Param({"2", "4", "8"})
+    public int arity;
+
+    private CompactGraph graph;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = CompactGraph.roadGrid(side, side, 42);
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return new DijkstraAlgorithm.Headless(stats, arity).run(graph, 0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.graph.BellmanFordAlgorithm;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Single-source shortest paths from node 0 over the benchmark graphs
+ * The baseline is the textbook Dijkstra on java.util.PriorityQueue
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortestPathBenchmark {
+    private static final int DEGREE = 4;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private CompactGraph graph;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkInputs.graph(distribution, n, DEGREE);
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return new DijkstraAlgorithm.Headless(stats).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] binaryHeapDijkstra() {
+        return new DijkstraAlgorithm.Headless(stats, 2).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] spfa() {
+        return new BellmanFordAlgorithm.Spfa(stats).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] bellmanFord() {
+        return new BellmanFordAlgorithm.Headless(stats).run(graph, 0);
+    }
+
+    @Benchmark
+    public int[] priorityQueueDijkstra() {
+        int[] distance = new int[graph.getNodeCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        distance[0] = 0;
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        queue.add(new int[] {0, 0});
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int node = entry[1];
+            if (entry[0] > distance[node]) {
+                continue;
+            }
+            for (int slot = graph.getRowStart(node); slot < graph.getRowEnd(node); slot++) {
+                int target = graph.getRowTarget(slot);
+                int candidate = entry[0] + graph.getRowWeight(slot);
+                if (candidate < distance[target]) {
+                    distance[target] = candidate;
+                    queue.add(new int[] {candidate, target});
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,118 @@
+package com.raven.bench;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.ds.modules.probabilistic.BloomFilter;
+import com.raven.ds.modules.probabilistic.CountMinSketch;
+import com.raven.ds.modules.probabilistic.CountingBloomFilter;
+import com.raven.ds.modules.probabilistic.HyperLogLog;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Per-key cost of the sketches against an exact HashSet: adds into a fresh
+ * structure and lookups of present and absent keys in a filled one. Key
+ * strings are built once in setup, so only hashing and probing is timed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SketchBenchmark {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    @Param({"DIVISION", "MULTIPLICATION", "DJBX33A"})
+    public HashFunction function;
+
+    private String[] keys;
+    private String[] absent;
+    private BloomFilter bloom;
+    private CountingBloomFilter counting;
+    private CountMinSketch countMin;
+    private Set<String> exact;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new String[n];
+        absent = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = "user:" + i;
+            absent[i] = "absent:" + i;
+        }
+        bloom = BloomFilter.forCapacity(function, n, FALSE_POSITIVE_RATE);
+        counting = CountingBloomFilter.forCapacity(function, n, FALSE_POSITIVE_RATE);
+        countMin = CountMinSketch.forError(function, 0.0001, 0.01);
+        exact = new HashSet<>();
+        for (String key : keys) {
+            bloom.add(key);
+            counting.add(key);
+            countMin.add(key, 1);
+            exact.add(key);
+        }
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == n ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public int bloomAddAll() {
+        BloomFilter filter = BloomFilter.forCapacity(function, n, FALSE_POSITIVE_RATE);
+        for (String key : keys) {
+            filter.add(key);
+        }
+        return filter.getSetBits();
+    }
+
+    @Benchmark
+    public double hyperLogLogAddAll() {
+        HyperLogLog counter = new HyperLogLog(function, 14);
+        for (String key : keys) {
+            counter.add(key);
+        }
+        return counter.estimate();
+    }
+
+    @Benchmark
+    public int hashSetAddAll() {
+        Set<String> set = new HashSet<>();
+        for (String key : keys) {
+            set.add(key);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    public boolean bloomHit() {
+        return bloom.mightContain(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean bloomMiss() {
+        return bloom.mightContain(absent[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean countingMiss() {
+        return counting.mightContain(absent[nextIndex()]);
+    }
+
+    @Benchmark
+    public int countMinEstimate() {
+        return countMin.estimate(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean hashSetMiss() {
+        return exact.contains(absent[nextIndex()]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.sorting.SortInputs;
+import com.raven.ds.modules.sorting.SortingAlgorithm;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Sort a fresh copy of n keys with each sorting-lab algorithm; Arrays.sort and
+ * Arrays.parallelSort pay for the same clone
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+    @Param({"16384", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "NEARLY_SORTED", "FEW_UNIQUE"})
+    public SortInputs.Pattern pattern;
+
+    @Param({"INTROSORT", "BOTTOM_UP_HEAPSORT", "MERGE_SORT", "RADIX_SORT", "PARALLEL_MERGE_SORT"})
+    public SortingAlgorithm.Sort sort;
+
+    private int[] values;
+    private ForkJoinPool pool;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = SortInputs.generate(pattern, n);
+        pool = new ForkJoinPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] labSort() {
+        int[] copy = values.clone();
+        sort.create(stats, pool).sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] copy = values.clone();
+        Arrays.parallelSort(copy);
+        return copy;
+    }
+}
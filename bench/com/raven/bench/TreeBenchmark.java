@@ -0,0 +1,80 @@
+package com.raven.bench;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.avl.AVLTreeAlgorithm;
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import com.raven.ds.modules.bst.BSTAlgorithm;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Build a search tree from n keys, then look every key up
+ * Sizes stop at 10k because sorted input makes the plain BST quadratic
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeBenchmark {
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"SORTED", "RANDOM", "ADVERSARIAL"})
+    public BenchmarkInputs.Distribution distribution;
+
+    private int[] values;
+    private final OperationStats stats = new OperationStats();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkInputs.ints(distribution, n);
+    }
+
+    @Benchmark
+    public int bst() {
+        BSTAlgorithm.Headless tree = new BSTAlgorithm.Headless(stats);
+        for (int value : values) {
+            tree.insert(value);
+        }
+        int found = 0;
+        for (int value : values) {
+            if (tree.contains(value)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int avl() {
+        AVLTreeAlgorithm.Headless tree = new AVLTreeAlgorithm.Headless(stats);
+        for (int value : values) {
+            tree.insert(value);
+        }
+        int found = 0;
+        for (int value : values) {
+            if (tree.contains(value)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int treeSet() {
+        TreeSet<Integer> tree = new TreeSet<>();
+        for (int value : values) {
+            tree.add(value);
+        }
+        int found = 0;
+        for (int value : values) {
+            if (tree.contains(value)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -183,6 +183,7 @@ public class PanelLoginAndRegister extends javax.swing.JLayeredPane {
                         if (UserDAO.verifyPassword(password, user.getPasswordHash())) {
                             // Login successful
                             SwingUtilities.invokeLater(() -> {
+                                com.raven.service.SessionManager.getInstance().startSession(user, com.raven.service.SessionStore.Module.CODE_EXAMPLES);
                                 DashboardFrame.showFor(user);
                                 javax.swing.SwingUtilities.getWindowAncestor(PanelLoginAndRegister.this).dispose();
                             });
@@ -391,6 +392,7 @@ public class PanelLoginAndRegister extends javax.swing.JLayeredPane {
         }
         // Map to internal User model and open MainSelectionFrame
         com.raven.model.User user = new com.raven.model.User(userInfo.getEmail(), userInfo.getName());
+        com.raven.service.SessionManager.getInstance().startSession(user);
         com.raven.ui.MainSelectionFrame mainSelection = new com.raven.ui.MainSelectionFrame(user);
         mainSelection.setDefaultCloseOperation(javax.swing.JFrame.EXIT_ON_CLOSE);
         mainSelection.setExtendedState(javax.swing.JFrame.MAXIMIZED_BOTH);
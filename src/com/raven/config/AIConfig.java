@@ -93,6 +93,35 @@ public class AIConfig {
         return Integer.parseInt(props.getProperty("ai.retry.attempts", "3"));
     }
     
+    // Response cache and outbound request limits
+    public static boolean isCacheEnabled() {
+        return Boolean.parseBoolean(props.getProperty("ai.cache.enabled", "true"));
+    }
+
+    public static int getCacheMaxEntries() {
+        return Integer.parseInt(props.getProperty("ai.cache.max.entries", "500"));
+    }
+
+    public static int getCacheTtlMinutes() {
+        return Integer.parseInt(props.getProperty("ai.cache.ttl.minutes", "1440"));
+    }
+
+    public static String getCacheFile() {
+        return props.getProperty("ai.cache.file", "ai-cache.properties");
+    }
+
+    public static int getMaxConcurrentRequests() {
+        return Integer.parseInt(props.getProperty("ai.max.concurrent.requests", "2"));
+    }
+
+    public static int getRequestQueueSize() {
+        return Integer.parseInt(props.getProperty("ai.request.queue.size", "20"));
+    }
+
+    public static int getAudioSegmentMegabytes() {
+        return Integer.parseInt(props.getProperty("ai.audio.segment.mb", "20"));
+    }
+
     public static boolean isOpenAIConfigured() {
         return loaded && !getOpenAIApiKey().isEmpty() && getOpenAIApiKey().startsWith("sk-");
     }
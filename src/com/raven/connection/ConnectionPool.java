@@ -0,0 +1,181 @@
+package com.raven.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed-size JDBC connection pool
+ * Connections are opened lazily up to the maximum, validated when borrowed
+ * after sitting idle, and handed out as proxies whose close() returns the
+ * physical connection to the pool instead of closing it
+ */
+public class ConnectionPool {
+    private final String url;
+    private final String userName;
+    private final String password;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long validateAfterIdleMillis;
+
+    private final BlockingQueue<IdleConnection> idle;
+    private final Semaphore permits;
+    private volatile boolean closed;
+
+    private static class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    public ConnectionPool(String url, String userName, String password, int maxSize,
+                          long borrowTimeoutMillis, int validationTimeoutSeconds) {
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validateAfterIdleMillis = 500;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxSize));
+        this.permits = new Semaphore(Math.max(1, maxSize), true);
+    }
+
+    /**
+     * Borrow a connection; closing it returns it to the pool
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection physical = takeValidIdle();
+            if (physical == null) {
+                physical = userName == null
+                        ? DriverManager.getConnection(url)
+                        : DriverManager.getConnection(url, userName, password);
+            }
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeValidIdle() {
+        IdleConnection candidate;
+        while ((candidate = idle.poll()) != null) {
+            boolean recentlyUsed = System.currentTimeMillis() - candidate.returnedAt < validateAfterIdleMillis;
+            if (recentlyUsed || isValid(candidate.connection)) {
+                return candidate.connection;
+            }
+            closeQuietly(candidate.connection);
+        }
+        return null;
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(Connection physical) {
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+            // Leave the connection the way the next borrower expects it
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (!idle.offer(new IdleConnection(physical, System.currentTimeMillis()))) {
+                closeQuietly(physical);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("close".equals(name)) {
+                    if (!returned) {
+                        returned = true;
+                        release(physical);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name)) {
+                    return returned || physical.isClosed();
+                }
+                if (returned) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Close all idle connections; borrowed connections are closed when returned
+     */
+    public void close() {
+        closed = true;
+        IdleConnection candidate;
+        while ((candidate = idle.poll()) != null) {
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Already broken, nothing else to do
+        }
+    }
+}
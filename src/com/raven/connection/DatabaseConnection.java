@@ -3,12 +3,21 @@ package com.raven.connection;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+/**
+ * Pooled access to the MySQL user database
+ * Callers borrow a connection per operation and close it when done, which
+ * hands it back to the pool
+ */
 public class DatabaseConnection {
 
+    private static final int POOL_SIZE = 8;
+    private static final long BORROW_TIMEOUT_MILLIS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
     private static DatabaseConnection instance;
-    private Connection connection;
+    private volatile ConnectionPool pool;
 
-    public static DatabaseConnection getInstance() {
+    public static synchronized DatabaseConnection getInstance() {
         if (instance == null) {
             instance = new DatabaseConnection();
         }
@@ -25,14 +34,41 @@ public class DatabaseConnection {
         String database = "my_db";
         String userName = "raven";
         String password = "123";
-        connection = java.sql.DriverManager.getConnection("jdbc:mysql://" + server + ":" + port + "/" + database, userName, password);
+        // Driver-side prepared statement cache and fail-fast timeouts
+        String options = "?cachePrepStmts=true&prepStmtCacheSize=64&prepStmtCacheSqlLimit=512" +
+                "&useServerPrepStmts=true&connectTimeout=5000&socketTimeout=30000";
+        connectToDatabase("jdbc:mysql://" + server + ":" + port + "/" + database + options, userName, password);
+    }
+
+    /**
+     * Point the pool at any JDBC URL, e.g. an embedded database for tests
+     */
+    public synchronized void connectToDatabase(String url, String userName, String password) throws SQLException {
+        ConnectionPool newPool = new ConnectionPool(url, userName, password, POOL_SIZE,
+                BORROW_TIMEOUT_MILLIS, VALIDATION_TIMEOUT_SECONDS);
+        // Open one connection up front so configuration errors surface here
+        newPool.getConnection().close();
+        if (pool != null) {
+            pool.close();
+        }
+        pool = newPool;
     }
 
-    public Connection getConnection() {
-        return connection;
+    /**
+     * Borrow a pooled connection; close it to return it to the pool
+     */
+    public Connection getConnection() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Database not connected, call connectToDatabase() first");
+        }
+        return current.getConnection();
     }
 
-    public void setConnection(Connection connection) {
-        this.connection = connection;
+    public synchronized void close() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
     }
 }
@@ -9,6 +9,11 @@ import java.util.List;
 /**
  * Timer-based animation engine for data structure visualizations
  * Provides play, pause, step, reset, and speed control functionality
+ * When a Snapshotter is registered the engine records a checkpoint of the
+ * visualized state every few steps, so seeking to any step restores the
+ * nearest checkpoint and replays at most one interval instead of the whole run
+ * Steps can also be pulled lazily from a StepSource, a bounded look-ahead ahead
+ * of the current step, so long runs start immediately and are never built up front
  */
 public class AnimationEngine {
     private Timer timer;
@@ -17,10 +22,19 @@ public class AnimationEngine {
     private boolean isPlaying;
     private int animationSpeed; // milliseconds between steps
     private List<AnimationListener> listeners;
+    private Snapshotter snapshotter;
+    private List<Object> checkpoints; // checkpoints.get(i) is the state before step i * checkpointInterval
+    private int checkpointInterval;
+    private StepSource stepSource; // null once exhausted or when steps were added eagerly
+    
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+    public static final int LOOKAHEAD = 64;
     
     public AnimationEngine() {
         this.steps = new ArrayList<>();
         this.listeners = new ArrayList<>();
+        this.checkpoints = new ArrayList<>();
+        this.checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
         this.currentStep = 0;
         this.isPlaying = false;
         this.animationSpeed = 1000; // Default 1 second per step
@@ -28,9 +42,8 @@ public class AnimationEngine {
         this.timer = new Timer(animationSpeed, new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (currentStep < steps.size()) {
-                    executeCurrentStep();
-                    currentStep++;
+                if (hasNextStep()) {
+                    advance();
                     notifyStepChanged();
                 } else {
                     pause();
@@ -44,12 +57,35 @@ public class AnimationEngine {
         steps.add(step);
     }
     
+    /**
+     * Replace the timeline with steps produced on demand by the source
+     */
+    public void setStepSource(StepSource source) {
+        clearSteps();
+        stepSource = source;
+        produceUpTo(LOOKAHEAD);
+    }
+    
     public void addListener(AnimationListener listener) {
         listeners.add(listener);
     }
     
+    /**
+     * Register the capture/restore pair for the state the steps mutate
+     * Without one, seeking falls back to resetting and replaying from step 0
+     */
+    public void setSnapshotter(Snapshotter snapshotter) {
+        this.snapshotter = snapshotter;
+        checkpoints.clear();
+    }
+    
+    public void setCheckpointInterval(int interval) {
+        this.checkpointInterval = Math.max(1, interval);
+        checkpoints.clear();
+    }
+    
     public void play() {
-        if (currentStep >= steps.size()) {
+        if (!hasNextStep()) {
             reset();
         }
         isPlaying = true;
@@ -64,36 +100,73 @@ public class AnimationEngine {
     }
     
     public void nextStep() {
-        if (currentStep < steps.size()) {
-            executeCurrentStep();
-            currentStep++;
+        if (hasNextStep()) {
+            advance();
             notifyStepChanged();
         }
-        if (currentStep >= steps.size()) {
+        if (!hasNextStep()) {
             notifyAnimationComplete();
         }
     }
     
     public void previousStep() {
         if (currentStep > 0) {
-            currentStep--;
-            // Re-execute all steps from beginning to current
-            reset();
-            for (int i = 0; i < currentStep; i++) {
-                steps.get(i).execute();
+            seek(currentStep - 1);
+        }
+    }
+    
+    /**
+     * Move the timeline so that exactly the first {@code step} steps have run
+     */
+    public void seek(int step) {
+        produceUpTo(step);
+        int target = Math.max(0, Math.min(step, steps.size()));
+        if (target == currentStep) {
+            return;
+        }
+        if (isPlaying) {
+            pause();
+        }
+        
+        if (target < currentStep || checkpointIndexFor(target) * checkpointInterval > currentStep) {
+            if (snapshotter != null && !checkpoints.isEmpty()) {
+                int index = checkpointIndexFor(target);
+                snapshotter.restore(checkpoints.get(index));
+                currentStep = index * checkpointInterval;
+            } else if (target < currentStep) {
+                // Re-execute all steps from beginning to target
+                resetSteps();
+                currentStep = 0;
             }
-            notifyStepChanged();
+        }
+        while (currentStep < target) {
+            advance();
+        }
+        notifyStepChanged();
+        if (!hasNextStep()) {
+            notifyAnimationComplete();
         }
     }
     
     public void reset() {
         pause();
+        resetSteps();
         currentStep = 0;
+        notifyReset();
+    }
+    
+    private void resetSteps() {
         // Execute reset for all steps
         for (AnimationStep step : steps) {
             step.reset();
         }
-        notifyReset();
+        if (snapshotter != null && !checkpoints.isEmpty()) {
+            snapshotter.restore(checkpoints.get(0));
+        }
+    }
+    
+    private int checkpointIndexFor(int step) {
+        return Math.min(step / checkpointInterval, checkpoints.size() - 1);
     }
     
     public void setSpeed(int speedMs) {
@@ -104,13 +177,34 @@ public class AnimationEngine {
     public void clearSteps() {
         pause();
         steps.clear();
+        stepSource = null;
+        checkpoints.clear();
         currentStep = 0;
     }
     
-    private void executeCurrentStep() {
-        if (currentStep < steps.size()) {
-            steps.get(currentStep).execute();
+    private boolean hasNextStep() {
+        produceUpTo(currentStep + 1 + LOOKAHEAD);
+        return currentStep < steps.size();
+    }
+    
+    private void produceUpTo(int count) {
+        while (stepSource != null && steps.size() < count) {
+            AnimationStep step = stepSource.next();
+            if (step == null) {
+                stepSource = null;
+            } else {
+                steps.add(step);
+            }
+        }
+    }
+    
+    private void advance() {
+        if (snapshotter != null && currentStep % checkpointInterval == 0
+                && currentStep / checkpointInterval == checkpoints.size()) {
+            checkpoints.add(snapshotter.capture());
         }
+        steps.get(currentStep).execute();
+        currentStep++;
     }
     
     private void notifyStepChanged() {
@@ -146,10 +240,17 @@ public class AnimationEngine {
         return currentStep;
     }
     
+    /**
+     * Steps produced so far; grows while a lazy source is still producing
+     */
     public int getTotalSteps() {
         return steps.size();
     }
     
+    public boolean isTimelineComplete() {
+        return stepSource == null;
+    }
+    
     public int getSpeed() {
         return animationSpeed;
     }
@@ -168,6 +269,21 @@ public class AnimationEngine {
         String getDescription(); // For step-by-step explanation
     }
     
+    /**
+     * Lazily produces the steps of a run; returns null when there are no more
+     */
+    public interface StepSource {
+        AnimationStep next();
+    }
+    
+    /**
+     * Captures and restores the state that a module's steps mutate
+     */
+    public interface Snapshotter {
+        Object capture();
+        void restore(Object snapshot);
+    }
+    
     public interface AnimationListener {
         void onStepChanged(int currentStep, int totalSteps);
         void onPlayStateChanged(boolean isPlaying);
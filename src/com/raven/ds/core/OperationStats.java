@@ -0,0 +1,87 @@
+package com.raven.ds.core;
+
+/**
+ * Operation counters and wall time for headless algorithm runs
+ * Plain long fields, so counting costs about as much as the increment itself
+ */
+public class OperationStats {
+    private long comparisons;
+    private long swaps;
+    private long rotations;
+    private long relaxations;
+    private long moves;
+    private long startNanos;
+    private long elapsedNanos;
+
+    public void comparison() {
+        comparisons++;
+    }
+
+    public void swap() {
+        swaps++;
+    }
+
+    public void rotation() {
+        rotations++;
+    }
+
+    public void relaxation() {
+        relaxations++;
+    }
+
+    /**
+     * Bulk counts, e.g. per-thread tallies merged after a parallel run
+     */
+    public void comparisons(long count) {
+        comparisons += count;
+    }
+
+    public void relaxations(long count) {
+        relaxations += count;
+    }
+
+    public void swaps(long count) {
+        swaps += count;
+    }
+
+    /**
+     * Element copies, e.g. while a dynamic array grows or shifts
+     */
+    public void moves(long count) {
+        moves += count;
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        elapsedNanos += System.nanoTime() - startNanos;
+    }
+
+    public void reset() {
+        comparisons = 0;
+        swaps = 0;
+        rotations = 0;
+        relaxations = 0;
+        moves = 0;
+        elapsedNanos = 0;
+    }
+
+    public long getComparisons() { return comparisons; }
+    public long getSwaps() { return swaps; }
+    public long getRotations() { return rotations; }
+    public long getRelaxations() { return relaxations; }
+    public long getMoves() { return moves; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("comparisons=%d swaps=%d rotations=%d relaxations=%d moves=%d time=%.2f ms",
+                comparisons, swaps, rotations, relaxations, moves, getElapsedMillis());
+    }
+}
@@ -0,0 +1,33 @@
+package com.raven.ds.core;
+
+import java.util.ArrayDeque;
+
+/**
+ * Base class for algorithms written as resumable step generators
+ * Subclasses keep their loop state in fields and emit the steps of one unit
+ * of work per advance() call, so the engine only materializes what it plays
+ */
+public abstract class StepGenerator implements AnimationEngine.StepSource {
+    private final ArrayDeque<AnimationEngine.AnimationStep> pending = new ArrayDeque<>();
+    private boolean finished;
+    
+    /**
+     * Emit the steps for the next unit of work
+     * @return false once the algorithm has nothing left to emit
+     */
+    protected abstract boolean advance();
+    
+    protected void emit(String name, Runnable action, String description) {
+        pending.add(new SimpleAnimationStep(name, action, description));
+    }
+    
+    @Override
+    public AnimationEngine.AnimationStep next() {
+        while (pending.isEmpty() && !finished) {
+            if (!advance()) {
+                finished = true;
+            }
+        }
+        return pending.poll();
+    }
+}
@@ -0,0 +1,72 @@
+package com.raven.ds.core;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * Slider bound to an AnimationEngine timeline
+ * Dragging it seeks the engine to the chosen step; engine events move the knob
+ */
+public class TimelineScrubber extends JSlider implements AnimationEngine.AnimationListener {
+    private final AnimationEngine animationEngine;
+    private boolean updating;
+
+    public TimelineScrubber(AnimationEngine animationEngine) {
+        super(0, 0, 0);
+        this.animationEngine = animationEngine;
+
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(400, 30));
+        setToolTipText("Drag to jump to any step of the animation");
+
+        addChangeListener(e -> {
+            if (!updating) {
+                animationEngine.seek(getValue());
+            }
+        });
+        animationEngine.addListener(this);
+    }
+
+    /**
+     * Re-read the step count and position from the engine
+     */
+    public void refresh() {
+        updating = true;
+        try {
+            setMaximum(animationEngine.getTotalSteps());
+            setValue(animationEngine.getCurrentStep());
+        } finally {
+            updating = false;
+        }
+    }
+
+    @Override
+    protected void processMouseEvent(MouseEvent e) {
+        // Steps are added without an engine event, so pick up the range before the UI reads it
+        if (e.getID() == MouseEvent.MOUSE_PRESSED) {
+            refresh();
+        }
+        super.processMouseEvent(e);
+    }
+
+    @Override
+    public void onStepChanged(int currentStep, int totalSteps) {
+        refresh();
+    }
+
+    @Override
+    public void onPlayStateChanged(boolean isPlaying) {
+        refresh();
+    }
+
+    @Override
+    public void onAnimationComplete() {
+        refresh();
+    }
+
+    @Override
+    public void onReset() {
+        refresh();
+    }
+}
@@ -0,0 +1,276 @@
+package com.raven.ds.core;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+
+/**
+ * Panel base for the binary tree modules
+ * Positions come from a TreeLayout that is only recomputed when the tree's
+ * version changes. Edges and nodes in their plain style are rendered once into
+ * a back buffer for the current view; a repaint copies the buffer and draws
+ * just the decorated (highlighted, visited...) nodes on top. The view zooms
+ * with the wheel and pans by dragging; double-click returns to the automatic fit
+ */
+public abstract class TreeCanvas<N> extends JPanel {
+    private static final double MIN_SCALE = 0.05;
+    private static final double MAX_SCALE = 3.0;
+    // The automatic fit shrinks wide trees down to this before it starts cropping
+    private static final double MIN_FIT_SCALE = 0.25;
+    // Below this zoom subclasses should leave out text
+    private static final double DETAIL_SCALE = 0.5;
+    private static final Font ZOOM_FONT = new Font("SansSerif", Font.PLAIN, 12);
+    private static final Color ZOOM_COLOR = new Color(108, 117, 125);
+
+    private final TreeLayout<N> layout;
+    private final int minSeparation;
+    private final int topMargin;
+
+    private BufferedImage buffer;
+    private boolean bufferValid;
+    // View transform: screen = layout * scale + offset
+    private double scale = 1.0;
+    private double offsetX;
+    private double offsetY;
+    private boolean userView;
+    private Point panAnchor;
+
+    /**
+     * @param minSeparation smallest gap between node centres on one level
+     * @param levelHeight vertical distance between levels
+     * @param topMargin screen y of the root at 100% zoom
+     */
+    protected TreeCanvas(Function<N, N> leftOf, Function<N, N> rightOf, int minSeparation, int levelHeight,
+                         int topMargin) {
+        this.layout = new TreeLayout<>(leftOf, rightOf, minSeparation, levelHeight);
+        this.minSeparation = minSeparation;
+        this.topMargin = topMargin;
+        setupViewListeners();
+    }
+
+    protected abstract N getTreeRoot();
+
+    /**
+     * Changes whenever nodes are added, removed, moved or relabelled
+     */
+    protected abstract int getTreeVersion();
+
+    protected abstract void drawEdge(Graphics2D g2d, int x1, int y1, int x2, int y2);
+
+    /**
+     * @param baseLayer true while filling the back buffer: draw the plain style,
+     *                  whatever state the node is in
+     */
+    protected abstract void drawNode(Graphics2D g2d, N node, int x, int y, boolean baseLayer);
+
+    /**
+     * Nodes drawn over the buffer on every repaint
+     */
+    protected abstract boolean isDecorated(N node);
+
+    protected abstract void drawEmptyTree(Graphics2D g2d);
+
+    /**
+     * Status text and explanations, in screen coordinates
+     */
+    protected abstract void drawOverlay(Graphics2D g2d);
+
+    /**
+     * False when zoomed out far enough that node labels would be unreadable
+     */
+    protected boolean isDetailed() {
+        return scale >= DETAIL_SCALE;
+    }
+
+    private void setupViewListeners() {
+        MouseAdapter viewHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                panAnchor = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (panAnchor == null) {
+                    return;
+                }
+                userView = true;
+                offsetX += e.getX() - panAnchor.x;
+                offsetY += e.getY() - panAnchor.y;
+                panAnchor = e.getPoint();
+                viewChanged();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                panAnchor = null;
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    resetView();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(1.15, -e.getPreciseWheelRotation());
+                double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+                userView = true;
+                offsetX = e.getX() - (e.getX() - offsetX) * newScale / scale;
+                offsetY = e.getY() - (e.getY() - offsetY) * newScale / scale;
+                scale = newScale;
+                viewChanged();
+            }
+        };
+        addMouseListener(viewHandler);
+        addMouseMotionListener(viewHandler);
+        addMouseWheelListener(viewHandler);
+    }
+
+    /**
+     * Back to the automatic view: 100% and centred if the tree fits, else
+     * shrunk towards MIN_FIT_SCALE and centred on the root
+     */
+    public void resetView() {
+        userView = false;
+        viewChanged();
+    }
+
+    public double getZoom() {
+        return scale;
+    }
+
+    private void viewChanged() {
+        bufferValid = false;
+        repaint();
+    }
+
+    private void fitView() {
+        int treeWidth = layout.getWidth() + 2 * minSeparation;
+        int width = Math.max(1, getWidth());
+        double fit = Math.max(MIN_FIT_SCALE, Math.min(1.0, (double) width / treeWidth));
+        double x;
+        if (treeWidth * fit <= width) {
+            x = (width - layout.getWidth() * fit) / 2;
+        } else {
+            x = width / 2.0 - layout.getX(0) * fit;
+        }
+        if (fit != scale || x != offsetX || topMargin != offsetY) {
+            scale = fit;
+            offsetX = x;
+            offsetY = topMargin;
+            bufferValid = false;
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        N root = getTreeRoot();
+        if (layout.update(root, getTreeVersion())) {
+            bufferValid = false;
+        }
+        if (root == null) {
+            drawEmptyTree(g2d);
+        } else {
+            if (!userView) {
+                fitView();
+            }
+            // Render at device resolution so HiDPI screens get a sharp copy
+            AffineTransform device = g2d.getTransform();
+            int bufferWidth = (int) Math.ceil(Math.max(1, getWidth()) * device.getScaleX());
+            int bufferHeight = (int) Math.ceil(Math.max(1, getHeight()) * device.getScaleY());
+            if (!bufferValid || buffer == null
+                    || buffer.getWidth() != bufferWidth || buffer.getHeight() != bufferHeight) {
+                renderBuffer(bufferWidth, bufferHeight, device.getScaleX(), device.getScaleY());
+            }
+            g2d.drawImage(buffer, 0, 0, getWidth(), getHeight(), null);
+
+            AffineTransform screen = g2d.getTransform();
+            g2d.translate(offsetX, offsetY);
+            g2d.scale(scale, scale);
+            Rectangle view = visibleArea();
+            for (int i = 0; i < layout.size(); i++) {
+                N node = layout.getNode(i);
+                if (isDecorated(node) && view.contains(layout.getX(i), layout.getY(i))) {
+                    drawNode(g2d, node, layout.getX(i), layout.getY(i), false);
+                }
+            }
+            g2d.setTransform(screen);
+            drawZoomLevel(g2d);
+        }
+
+        drawOverlay(g2d);
+    }
+
+    /**
+     * Layout coordinates on screen, grown by a node's worth so partly visible nodes still draw
+     */
+    private Rectangle visibleArea() {
+        int margin = minSeparation;
+        return new Rectangle(
+                (int) Math.floor(-offsetX / scale) - margin,
+                (int) Math.floor(-offsetY / scale) - margin,
+                (int) Math.ceil(getWidth() / scale) + 2 * margin,
+                (int) Math.ceil(getHeight() / scale) + 2 * margin);
+    }
+
+    private void renderBuffer(int width, int height, double deviceScaleX, double deviceScaleY) {
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        Graphics2D g2d = buffer.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.scale(deviceScaleX, deviceScaleY);
+        g2d.translate(offsetX, offsetY);
+        g2d.scale(scale, scale);
+
+        Rectangle view = visibleArea();
+        // Edges first so they appear behind nodes; skip those whose bounding box misses the view
+        for (int i = 1; i < layout.size(); i++) {
+            int parent = layout.getParent(i);
+            int x1 = layout.getX(parent);
+            int y1 = layout.getY(parent);
+            int x2 = layout.getX(i);
+            int y2 = layout.getY(i);
+            if (Math.max(x1, x2) >= view.x && Math.min(x1, x2) <= view.x + view.width
+                    && y2 >= view.y && y1 <= view.y + view.height) {
+                drawEdge(g2d, x1, y1, x2, y2);
+            }
+        }
+        for (int i = 0; i < layout.size(); i++) {
+            if (view.contains(layout.getX(i), layout.getY(i))) {
+                drawNode(g2d, layout.getNode(i), layout.getX(i), layout.getY(i), true);
+            }
+        }
+        g2d.dispose();
+        bufferValid = true;
+    }
+
+    /**
+     * Zoom percentage in the top-left corner whenever the view is not 1:1
+     */
+    private void drawZoomLevel(Graphics2D g2d) {
+        if (scale == 1.0) {
+            return;
+        }
+        g2d.setFont(ZOOM_FONT);
+        g2d.setColor(ZOOM_COLOR);
+        g2d.drawString(Math.round(scale * 100) + "% - wheel to zoom, drag to pan, double-click to fit", 15, 40);
+    }
+}
@@ -0,0 +1,290 @@
+package com.raven.ds.core;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reingold-Tilford layout for binary trees
+ * Every parent sits centred over its children, subtrees are pushed apart only
+ * as far as their facing contours need, and mirror-image subtrees get mirror
+ * images. The contours are followed through threads, so the whole layout is
+ * O(n) and never recurses, whatever the tree's depth. Positions are cached
+ * until the caller reports a structural change through the version number
+ */
+public class TreeLayout<N> {
+    private final Function<N, N> leftOf;
+    private final Function<N, N> rightOf;
+    private final int minSeparation;
+    private final int levelHeight;
+
+    private N layoutRoot;
+    private int layoutVersion;
+    private final List<N> nodes = new ArrayList<>();
+    private final Map<N, Integer> indexOf = new IdentityHashMap<>();
+    private int[] xs = new int[0];
+    private int[] depths = new int[0];
+    private int[] parents = new int[0];
+    private int width;
+    private int depth;
+
+    /**
+     * @param minSeparation smallest horizontal gap between node centres on one level
+     * @param levelHeight vertical distance between levels
+     */
+    public TreeLayout(Function<N, N> leftOf, Function<N, N> rightOf, int minSeparation, int levelHeight) {
+        this.leftOf = leftOf;
+        this.rightOf = rightOf;
+        this.minSeparation = minSeparation;
+        this.levelHeight = levelHeight;
+    }
+
+    /**
+     * Lay the tree out again unless the root and version match the cached layout
+     * @return true if positions were recomputed
+     */
+    public boolean update(N root, int version) {
+        if (root == layoutRoot && version == layoutVersion && (root == null) == nodes.isEmpty()) {
+            return false;
+        }
+        layoutRoot = root;
+        layoutVersion = version;
+        compute(root);
+        return true;
+    }
+
+    private void compute(N root) {
+        nodes.clear();
+        indexOf.clear();
+        width = 0;
+        depth = 0;
+        if (root == null) {
+            return;
+        }
+
+        // Preorder numbering with an explicit stack; parents come before children
+        List<N> stack = new ArrayList<>();
+        List<Integer> parentStack = new ArrayList<>();
+        stack.add(root);
+        parentStack.add(-1);
+        List<Integer> parentList = new ArrayList<>();
+        while (!stack.isEmpty()) {
+            N node = stack.remove(stack.size() - 1);
+            int parent = parentStack.remove(parentStack.size() - 1);
+            int index = nodes.size();
+            nodes.add(node);
+            indexOf.put(node, index);
+            parentList.add(parent);
+            N right = rightOf.apply(node);
+            N left = leftOf.apply(node);
+            if (right != null) {
+                stack.add(right);
+                parentStack.add(index);
+            }
+            if (left != null) {
+                stack.add(left);
+                parentStack.add(index);
+            }
+        }
+
+        int n = nodes.size();
+        int[] left = new int[n];
+        int[] right = new int[n];
+        parents = new int[n];
+        depths = new int[n];
+        for (int i = 0; i < n; i++) {
+            N node = nodes.get(i);
+            N l = leftOf.apply(node);
+            N r = rightOf.apply(node);
+            left[i] = l == null ? -1 : indexOf.get(l);
+            right[i] = r == null ? -1 : indexOf.get(r);
+            parents[i] = parentList.get(i);
+            depths[i] = i == 0 ? 0 : depths[parents[i]] + 1;
+        }
+        xs = place(left, right, depths);
+    }
+
+    /**
+     * Bottom-up pass of Reingold and Tilford's algorithm, then a top-down pass
+     * turning the per-node offsets into x positions
+     */
+    private int[] place(int[] left, int[] right, int[] level) {
+        int n = left.length;
+        // Contour links: the child links, plus threads added to leaves below
+        int[] linkLeft = left.clone();
+        int[] linkRight = right.clone();
+        boolean[] thread = new boolean[n];
+        // Children sit at -offset and +offset; a thread's offset is its horizontal step
+        int[] offset = new int[n];
+        // Extreme (deepest leftmost / rightmost) node of each subtree, with its
+        // level and its x relative to the subtree root
+        int[] leftmost = new int[n];
+        int[] leftmostLevel = new int[n];
+        int[] leftmostOffset = new int[n];
+        int[] rightmost = new int[n];
+        int[] rightmostLevel = new int[n];
+        int[] rightmostOffset = new int[n];
+
+        // Reverse preorder visits every node after all of its descendants
+        for (int t = n - 1; t >= 0; t--) {
+            int l = left[t];
+            int r = right[t];
+            if (l < 0 && r < 0) {
+                leftmost[t] = rightmost[t] = t;
+                leftmostLevel[t] = rightmostLevel[t] = level[t];
+                leftmostOffset[t] = rightmostOffset[t] = 0;
+                offset[t] = 0;
+                continue;
+            }
+
+            // Walk the right contour of the left subtree against the left
+            // contour of the right subtree, widening the root gap where they get too close
+            int currentSeparation = minSeparation;
+            int rootSeparation = minSeparation;
+            int leftSum = 0;
+            int rightSum = 0;
+            int lc = l;
+            int rc = r;
+            while (lc >= 0 && rc >= 0) {
+                if (currentSeparation < minSeparation) {
+                    rootSeparation += minSeparation - currentSeparation;
+                    currentSeparation = minSeparation;
+                }
+                if (linkRight[lc] >= 0) {
+                    leftSum += offset[lc];
+                    currentSeparation -= offset[lc];
+                    lc = linkRight[lc];
+                } else {
+                    leftSum -= offset[lc];
+                    currentSeparation += offset[lc];
+                    lc = linkLeft[lc];
+                }
+                if (linkLeft[rc] >= 0) {
+                    rightSum -= offset[rc];
+                    currentSeparation -= offset[rc];
+                    rc = linkLeft[rc];
+                } else {
+                    rightSum += offset[rc];
+                    currentSeparation += offset[rc];
+                    rc = linkRight[rc];
+                }
+            }
+            offset[t] = (rootSeparation + 1) / 2;
+            leftSum -= offset[t];
+            rightSum += offset[t];
+
+            // Extremes of the combined tree come from the deeper side
+            if (r >= 0 && (l < 0 || leftmostLevel[r] > leftmostLevel[l])) {
+                leftmost[t] = leftmost[r];
+                leftmostLevel[t] = leftmostLevel[r];
+                leftmostOffset[t] = leftmostOffset[r] + offset[t];
+            } else {
+                leftmost[t] = leftmost[l];
+                leftmostLevel[t] = leftmostLevel[l];
+                leftmostOffset[t] = leftmostOffset[l] - offset[t];
+            }
+            if (l >= 0 && (r < 0 || rightmostLevel[l] > rightmostLevel[r])) {
+                rightmost[t] = rightmost[l];
+                rightmostLevel[t] = rightmostLevel[l];
+                rightmostOffset[t] = rightmostOffset[l] - offset[t];
+            } else {
+                rightmost[t] = rightmost[r];
+                rightmostLevel[t] = rightmostLevel[r];
+                rightmostOffset[t] = rightmostOffset[r] + offset[t];
+            }
+
+            // Thread the shallower subtree's outer contour on to the deeper one
+            if (lc >= 0 && lc != l) {
+                int leaf = rightmost[r];
+                int leafX = rightmostOffset[r] + offset[t];
+                thread[leaf] = true;
+                offset[leaf] = Math.abs(leafX - leftSum);
+                if (leftSum <= leafX) {
+                    linkLeft[leaf] = lc;
+                } else {
+                    linkRight[leaf] = lc;
+                }
+            } else if (rc >= 0 && rc != r) {
+                int leaf = leftmost[l];
+                int leafX = leftmostOffset[l] - offset[t];
+                thread[leaf] = true;
+                offset[leaf] = Math.abs(rightSum - leafX);
+                if (rightSum >= leafX) {
+                    linkRight[leaf] = rc;
+                } else {
+                    linkLeft[leaf] = rc;
+                }
+            }
+        }
+
+        // Preorder: a parent's x is known before its children's
+        int[] x = new int[n];
+        int min = 0;
+        int max = 0;
+        for (int i = 1; i < n; i++) {
+            int p = parents[i];
+            x[i] = left[p] == i ? x[p] - offset[p] : x[p] + offset[p];
+            min = Math.min(min, x[i]);
+            max = Math.max(max, x[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] -= min;
+            depth = Math.max(depth, level[i]);
+        }
+        width = max - min;
+        return x;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Nodes in preorder; index i matches getX(i), getY(i) and getParent(i)
+     */
+    public N getNode(int index) {
+        return nodes.get(index);
+    }
+
+    public int indexOf(N node) {
+        Integer index = indexOf.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * x of the node centre, 0 for the leftmost node
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * y of the node centre, 0 for the root
+     */
+    public int getY(int index) {
+        return depths[index] * levelHeight;
+    }
+
+    /**
+     * Parent index, -1 for the root
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * Distance between the leftmost and rightmost node centres
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Distance between the root centre and the deepest node centre
+     */
+    public int getHeight() {
+        return depth * levelHeight;
+    }
+}
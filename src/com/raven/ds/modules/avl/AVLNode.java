@@ -16,6 +16,8 @@ public class AVLNode {
     public static final int NODE_RADIUS = 20;
     public static final Color DEFAULT_COLOR = new Color(52, 152, 219); // Blue
     public static final Color HIGHLIGHTED_COLOR = new Color(231, 76, 60); // Red
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(2);
+    private static final Font VALUE_FONT = new Font("SansSerif", Font.BOLD, 12);
     
     public AVLNode(int value) {
         this.value = value;
@@ -24,18 +26,30 @@ public class AVLNode {
     }
     
     public void draw(Graphics2D g2d) {
+        draw(g2d, color, true);
+    }
+    
+    /**
+     * @param fill circle colour, which may differ from the node's own while a plain copy is buffered
+     * @param showValue false when zoomed out too far to read it
+     */
+    public void draw(Graphics2D g2d, Color fill, boolean showValue) {
         // Draw node circle
-        g2d.setColor(color);
+        g2d.setColor(fill);
         g2d.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
         
         // Draw border
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(BORDER_STROKE);
         g2d.drawOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
         
+        if (!showValue) {
+            return;
+        }
+        
         // Draw value
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 12));
+        g2d.setFont(VALUE_FONT);
         FontMetrics fm = g2d.getFontMetrics();
         String valueStr = String.valueOf(value);
         int textWidth = fm.stringWidth(valueStr);
@@ -0,0 +1,219 @@
+package com.raven.ds.modules.avl;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * AVL tree counting comparisons and rotations
+ * Recursion depth is bounded by the height, about 1.44 log2(n), so the
+ * recursive insert and delete are safe at any size. An optional Observer sees
+ * every step down the tree, balance check and rotation, which is how the
+ * animated tree replays an operation
+ */
+public class AVLTree {
+    public enum Rotation {
+        LEFT_LEFT, RIGHT_RIGHT, LEFT_RIGHT, RIGHT_LEFT
+    }
+
+    /**
+     * Callbacks fired while the tree works; a rotation is reported before it happens
+     */
+    public interface Observer {
+        void descended(AVLNode node, int value, boolean left);
+
+        void created(AVLNode node);
+
+        void found(AVLNode node);
+
+        void notFound(int value);
+
+        void replacingWithSuccessor(AVLNode node, int successor);
+
+        void balanceChecked(AVLNode node, int balance);
+
+        void rotating(AVLNode node, Rotation rotation);
+    }
+
+    private final OperationStats stats;
+    private AVLNode root;
+    private int size;
+    private Observer observer;
+
+    public AVLTree(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    public void insert(int value) {
+        root = insert(root, value);
+    }
+
+    public void delete(int value) {
+        root = delete(root, value);
+    }
+
+    public boolean contains(int value) {
+        AVLNode current = root;
+        while (current != null) {
+            stats.comparison();
+            if (value == current.value) {
+                return true;
+            }
+            current = value < current.value ? current.left : current.right;
+        }
+        return false;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public AVLNode getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Edges on the longest path, -1 for an empty tree
+     */
+    public int height() {
+        return height(root) - 1;
+    }
+
+    private AVLNode insert(AVLNode node, int value) {
+        if (node == null) {
+            size++;
+            AVLNode created = new AVLNode(value);
+            if (observer != null) {
+                observer.created(created);
+            }
+            return created;
+        }
+        stats.comparison();
+        if (value == node.value) {
+            return node; // Duplicate values not allowed
+        }
+        boolean left = value < node.value;
+        if (observer != null) {
+            observer.descended(node, value, left);
+        }
+        if (left) {
+            node.left = insert(node.left, value);
+        } else {
+            node.right = insert(node.right, value);
+        }
+        return rebalance(node);
+    }
+
+    private AVLNode delete(AVLNode node, int value) {
+        if (node == null) {
+            if (observer != null) {
+                observer.notFound(value);
+            }
+            return null;
+        }
+        stats.comparison();
+        if (value != node.value) {
+            boolean left = value < node.value;
+            if (observer != null) {
+                observer.descended(node, value, left);
+            }
+            if (left) {
+                node.left = delete(node.left, value);
+            } else {
+                node.right = delete(node.right, value);
+            }
+            return rebalance(node);
+        }
+        if (observer != null) {
+            observer.found(node);
+        }
+        if (node.left == null || node.right == null) {
+            // The remaining child is already balanced and its height is current
+            size--;
+            return node.left != null ? node.left : node.right;
+        }
+        // Two children: take the inorder successor's value and delete the successor instead
+        AVLNode successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        if (observer != null) {
+            observer.replacingWithSuccessor(node, successor.value);
+        }
+        node.value = successor.value;
+        node.right = delete(node.right, successor.value);
+        return rebalance(node);
+    }
+
+    private AVLNode rebalance(AVLNode node) {
+        update(node);
+        int balance = balance(node);
+        if (observer != null) {
+            observer.balanceChecked(node, balance);
+        }
+        if (balance > 1) {
+            if (balance(node.left) < 0) {
+                notifyRotation(node, Rotation.LEFT_RIGHT);
+                node.left = rotateLeft(node.left);
+            } else {
+                notifyRotation(node, Rotation.LEFT_LEFT);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (balance(node.right) > 0) {
+                notifyRotation(node, Rotation.RIGHT_LEFT);
+                node.right = rotateRight(node.right);
+            } else {
+                notifyRotation(node, Rotation.RIGHT_RIGHT);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private void notifyRotation(AVLNode node, Rotation rotation) {
+        if (observer != null) {
+            observer.rotating(node, rotation);
+        }
+    }
+
+    private AVLNode rotateRight(AVLNode y) {
+        stats.rotation();
+        AVLNode x = y.left;
+        y.left = x.right;
+        x.right = y;
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private AVLNode rotateLeft(AVLNode x) {
+        stats.rotation();
+        AVLNode y = x.right;
+        x.right = y.left;
+        y.left = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private static int height(AVLNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int balance(AVLNode node) {
+        return node == null ? 0 : height(node.left) - height(node.right);
+    }
+
+    private static void update(AVLNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+}
@@ -2,27 +2,36 @@ package com.raven.ds.modules.avl;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.OperationStats;
 
 /**
  * AVL Tree implementation with animation support
+ * The tree itself is an AVLTree; each operation runs on it straight away and
+ * its Observer callbacks are recorded as the steps the panel plays back
  */
 public class AVLTreeAlgorithm {
-    private AVLNode root;
+    private static final java.awt.Color ROTATION_COLOR = new java.awt.Color(231, 76, 60);
+
+    private final AVLTree core = new AVLTree(new OperationStats());
     private AnimationEngine animationEngine;
-    
+    // Bumped on every change to the tree, so views know when to lay it out again
+    private int modCount;
+
     public AVLTreeAlgorithm(AnimationEngine animationEngine) {
         this.animationEngine = animationEngine;
+        core.setObserver(new StepRecorder());
     }
-    
+
     public void insert(int value) {
         animationEngine.clearSteps();
-        
+
         animationEngine.addStep(new SimpleAnimationStep("Start Insert", () -> {
             // Visual preparation
         }, "🌳 <b>AVL Tree Insertion:</b> Inserting value <b>" + value + "</b>. Will maintain balance after insertion."));
-        
-        root = insertRecursive(root, value);
-        
+
+        core.insert(value);
+        modCount++;
+
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
         }, "✅ <b>Insertion Complete:</b> Tree is balanced. All nodes have balance factor ∈ {-1, 0, 1}."));
@@ -30,264 +39,145 @@ public class AVLTreeAlgorithm {
 
     public void delete(int value) {
         animationEngine.clearSteps();
-        
+
         animationEngine.addStep(new SimpleAnimationStep("Start Delete", () -> {
             // Visual preparation
         }, "🗑️ <b>AVL Tree Deletion:</b> Deleting value <b>" + value + "</b>. Will maintain balance after deletion."));
-        
-        root = deleteRecursive(root, value);
-        
+
+        core.delete(value);
+        modCount++;
+
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
         }, "✅ <b>Deletion Complete:</b> Tree is balanced."));
     }
-    
-    private AVLNode insertRecursive(AVLNode node, int value) {
-        if (node == null) {
-            AVLNode newNode = new AVLNode(value);
-            animationEngine.addStep(new SimpleAnimationStep("Create Node", () -> {
-                newNode.setHighlighted(true);
-            }, "➕ <b>Create Node:</b> Created new node with value <b>" + value + "</b>."));
-            return newNode;
-        }
-        
-        final AVLNode currentNode = node;
-        
-        if (value < node.value) {
-            animationEngine.addStep(new SimpleAnimationStep("Go Left", () -> {
-                currentNode.setHighlighted(true);
-            }, "⬅️ <b>Navigate Left:</b> " + value + " < " + node.value + ", moving to left subtree."));
-            
-            node.left = insertRecursive(node.left, value);
-        } else if (value > node.value) {
-            animationEngine.addStep(new SimpleAnimationStep("Go Right", () -> {
-                currentNode.setHighlighted(true);
-            }, "➡️ <b>Navigate Right:</b> " + value + " > " + node.value + ", moving to right subtree."));
-            
-            node.right = insertRecursive(node.right, value);
-        } else {
-            return node; // Duplicate values not allowed
-        }
-        
-        // Update height
-        node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
-        
-        // Get balance factor
-        int balance = getBalance(node);
-        
-        animationEngine.addStep(new SimpleAnimationStep("Check Balance", () -> {
-            currentNode.setHighlighted(true);
-        }, "⚖️ <b>Check Balance:</b> Node <b>" + node.value + "</b> has balance factor = <b>" + balance + "</b>."));
-        
-        // Left Left Case
-        if (balance > 1 && value < node.left.value) {
-            animationEngine.addStep(new SimpleAnimationStep("LL Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Left-Left Case:</b> Performing right rotation on node <b>" + node.value + "</b>."));
-            return rightRotate(node);
-        }
-        
-        // Right Right Case
-        if (balance < -1 && value > node.right.value) {
-            animationEngine.addStep(new SimpleAnimationStep("RR Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Right-Right Case:</b> Performing left rotation on node <b>" + node.value + "</b>."));
-            return leftRotate(node);
-        }
-        
-        // Left Right Case
-        if (balance > 1 && value > node.left.value) {
-            animationEngine.addStep(new SimpleAnimationStep("LR Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Left-Right Case:</b> Performing left rotation on left child, then right rotation on node <b>" + node.value + "</b>."));
-            node.left = leftRotate(node.left);
-            return rightRotate(node);
-        }
-        
-        // Right Left Case
-        if (balance < -1 && value < node.right.value) {
-            animationEngine.addStep(new SimpleAnimationStep("RL Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Right-Left Case:</b> Performing right rotation on right child, then left rotation on node <b>" + node.value + "</b>."));
-            node.right = rightRotate(node.right);
-            return leftRotate(node);
-        }
-        
-        return node;
+
+    private void clearHighlights() {
+        clearHighlightsRecursive(core.getRoot());
     }
 
-    private AVLNode deleteRecursive(AVLNode node, int value) {
-        if (node == null) {
-            animationEngine.addStep(new SimpleAnimationStep("Not Found", () -> {
-            }, "❌ <b>Not Found:</b> Value <b>" + value + "</b> not found in the tree."));
-            return node;
+    private void clearHighlightsRecursive(AVLNode node) {
+        if (node == null) return;
+        node.setHighlighted(false);
+        node.setColor(new java.awt.Color(52, 152, 219));
+        clearHighlightsRecursive(node.left);
+        clearHighlightsRecursive(node.right);
+    }
+
+    public void clear() {
+        core.clear();
+        modCount++;
+        animationEngine.clearSteps();
+    }
+
+    public void loadSample() {
+        clear();
+        int[] values = {10, 20, 30, 40, 50, 25};
+        for (int v : values) {
+            core.insert(v);
         }
-        
-        final AVLNode currentNode = node;
+        // The sample appears at once, so its steps are not kept
+        animationEngine.clearSteps();
+        modCount++;
+    }
 
-        if (value < node.value) {
-            animationEngine.addStep(new SimpleAnimationStep("Go Left", () -> {
-                currentNode.setHighlighted(true);
-            }, "⬅️ <b>Navigate Left:</b> " + value + " < " + node.value + ", moving to left subtree."));
-            node.left = deleteRecursive(node.left, value);
-        } else if (value > node.value) {
-            animationEngine.addStep(new SimpleAnimationStep("Go Right", () -> {
-                currentNode.setHighlighted(true);
-            }, "➡️ <b>Navigate Right:</b> " + value + " > " + node.value + ", moving to right subtree."));
-            node.right = deleteRecursive(node.right, value);
-        } else {
-            // Node found
-            animationEngine.addStep(new SimpleAnimationStep("Found", () -> {
-                currentNode.setHighlighted(true);
-                currentNode.setColor(new java.awt.Color(231, 76, 60)); // Red for deletion
-            }, "🎯 <b>Found:</b> Node <b>" + value + "</b> found. Deleting..."));
+    public AVLNode getRoot() {
+        return core.getRoot();
+    }
 
-            if ((node.left == null) || (node.right == null)) {
-                AVLNode temp = null;
-                if (temp == node.left)
-                    temp = node.right;
-                else
-                    temp = node.left;
+    public int getModCount() {
+        return modCount;
+    }
 
-                if (temp == null) {
-                    temp = node;
-                    node = null;
-                } else
-                    node = temp;
+    /**
+     * Turns the tree's callbacks into animation steps
+     */
+    private class StepRecorder implements AVLTree.Observer {
+        @Override
+        public void descended(AVLNode node, int value, boolean left) {
+            int nodeValue = node.value;
+            if (left) {
+                animationEngine.addStep(new SimpleAnimationStep("Go Left", () -> {
+                    node.setHighlighted(true);
+                }, "⬅️ <b>Navigate Left:</b> " + value + " < " + nodeValue + ", moving to left subtree."));
             } else {
-                // Node with two children: Get the inorder successor (smallest in the right subtree)
-                AVLNode temp = minValueNode(node.right);
-                
-                animationEngine.addStep(new SimpleAnimationStep("Successor", () -> {
-                    // Highlight logic if needed
-                }, "🔄 <b>Successor:</b> Replacing with inorder successor <b>" + temp.value + "</b>."));
-
-                node.value = temp.value;
-                node.right = deleteRecursive(node.right, temp.value);
+                animationEngine.addStep(new SimpleAnimationStep("Go Right", () -> {
+                    node.setHighlighted(true);
+                }, "➡️ <b>Navigate Right:</b> " + value + " > " + nodeValue + ", moving to right subtree."));
             }
         }
 
-        if (node == null)
-            return node;
-
-        // Update height
-        node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
-
-        // Get balance factor
-        int balance = getBalance(node);
-        
-        animationEngine.addStep(new SimpleAnimationStep("Check Balance", () -> {
-            currentNode.setHighlighted(true);
-        }, "⚖️ <b>Check Balance:</b> Node <b>" + node.value + "</b> has balance factor = <b>" + balance + "</b>."));
+        @Override
+        public void created(AVLNode node) {
+            animationEngine.addStep(new SimpleAnimationStep("Create Node", () -> {
+                node.setHighlighted(true);
+            }, "➕ <b>Create Node:</b> Created new node with value <b>" + node.value + "</b>."));
+        }
 
-        // Left Left Case
-        if (balance > 1 && getBalance(node.left) >= 0) {
-             animationEngine.addStep(new SimpleAnimationStep("LL Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Left-Left Case:</b> Performing right rotation on node <b>" + node.value + "</b>."));
-            return rightRotate(node);
+        @Override
+        public void found(AVLNode node) {
+            int value = node.value;
+            animationEngine.addStep(new SimpleAnimationStep("Found", () -> {
+                node.setHighlighted(true);
+                node.setColor(ROTATION_COLOR); // Red for deletion
+            }, "🎯 <b>Found:</b> Node <b>" + value + "</b> found. Deleting..."));
         }
 
-        // Left Right Case
-        if (balance > 1 && getBalance(node.left) < 0) {
-            animationEngine.addStep(new SimpleAnimationStep("LR Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Left-Right Case:</b> Performing left rotation on left child, then right rotation on node <b>" + node.value + "</b>."));
-            node.left = leftRotate(node.left);
-            return rightRotate(node);
+        @Override
+        public void notFound(int value) {
+            animationEngine.addStep(new SimpleAnimationStep("Not Found", () -> {
+            }, "❌ <b>Not Found:</b> Value <b>" + value + "</b> not found in the tree."));
         }
 
-        // Right Right Case
-        if (balance < -1 && getBalance(node.right) <= 0) {
-             animationEngine.addStep(new SimpleAnimationStep("RR Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Right-Right Case:</b> Performing left rotation on node <b>" + node.value + "</b>."));
-            return leftRotate(node);
+        @Override
+        public void replacingWithSuccessor(AVLNode node, int successor) {
+            animationEngine.addStep(new SimpleAnimationStep("Successor", () -> {
+                // Highlight logic if needed
+            }, "🔄 <b>Successor:</b> Replacing with inorder successor <b>" + successor + "</b>."));
         }
 
-        // Right Left Case
-        if (balance < -1 && getBalance(node.right) > 0) {
-             animationEngine.addStep(new SimpleAnimationStep("RL Rotation", () -> {
-                currentNode.setColor(new java.awt.Color(231, 76, 60));
-            }, "🔄 <b>Right-Left Case:</b> Performing right rotation on right child, then left rotation on node <b>" + node.value + "</b>."));
-            node.right = rightRotate(node.right);
-            return leftRotate(node);
+        @Override
+        public void balanceChecked(AVLNode node, int balance) {
+            int value = node.value;
+            animationEngine.addStep(new SimpleAnimationStep("Check Balance", () -> {
+                node.setHighlighted(true);
+            }, "⚖️ <b>Check Balance:</b> Node <b>" + value + "</b> has balance factor = <b>" + balance + "</b>."));
         }
 
-        return node;
+        @Override
+        public void rotating(AVLNode node, AVLTree.Rotation rotation) {
+            String name;
+            String message;
+            switch (rotation) {
+                case LEFT_LEFT:
+                    name = "LL Rotation";
+                    message = "🔄 <b>Left-Left Case:</b> Performing right rotation on node <b>" + node.value + "</b>.";
+                    break;
+                case RIGHT_RIGHT:
+                    name = "RR Rotation";
+                    message = "🔄 <b>Right-Right Case:</b> Performing left rotation on node <b>" + node.value + "</b>.";
+                    break;
+                case LEFT_RIGHT:
+                    name = "LR Rotation";
+                    message = "🔄 <b>Left-Right Case:</b> Performing left rotation on left child, then right rotation on node <b>" + node.value + "</b>.";
+                    break;
+                default:
+                    name = "RL Rotation";
+                    message = "🔄 <b>Right-Left Case:</b> Performing right rotation on right child, then left rotation on node <b>" + node.value + "</b>.";
+                    break;
+            }
+            animationEngine.addStep(new SimpleAnimationStep(name, () -> {
+                node.setColor(ROTATION_COLOR);
+            }, message));
+        }
     }
 
-    private AVLNode minValueNode(AVLNode node) {
-        AVLNode current = node;
-        while (current.left != null)
-            current = current.left;
-        return current;
-    }
-    
-    private AVLNode rightRotate(AVLNode y) {
-        AVLNode x = y.left;
-        AVLNode T2 = x.right;
-        
-        // Perform rotation
-        x.right = y;
-        y.left = T2;
-        
-        // Update heights
-        y.height = Math.max(getHeight(y.left), getHeight(y.right)) + 1;
-        x.height = Math.max(getHeight(x.left), getHeight(x.right)) + 1;
-        
-        return x;
-    }
-    
-    private AVLNode leftRotate(AVLNode x) {
-        AVLNode y = x.right;
-        AVLNode T2 = y.left;
-        
-        // Perform rotation
-        y.left = x;
-        x.right = T2;
-        
-        // Update heights
-        x.height = Math.max(getHeight(x.left), getHeight(x.right)) + 1;
-        y.height = Math.max(getHeight(y.left), getHeight(y.right)) + 1;
-        
-        return y;
-    }
-    
-    private int getHeight(AVLNode node) {
-        return node == null ? 0 : node.height;
-    }
-    
-    private int getBalance(AVLNode node) {
-        return node == null ? 0 : getHeight(node.left) - getHeight(node.right);
-    }
-    
-    private void clearHighlights() {
-        clearHighlightsRecursive(root);
-    }
-    
-    private void clearHighlightsRecursive(AVLNode node) {
-        if (node == null) return;
-        node.setHighlighted(false);
-        node.setColor(new java.awt.Color(52, 152, 219));
-        clearHighlightsRecursive(node.left);
-        clearHighlightsRecursive(node.right);
-    }
-    
-    public void clear() {
-        root = null;
-        animationEngine.clearSteps();
-    }
-    
-    public void loadSample() {
-        clear();
-        int[] values = {10, 20, 30, 40, 50, 25};
-        for (int v : values) {
-            root = insertRecursive(root, v);
+    /**
+     * AVL tree without animation steps, counting comparisons and rotations
+     */
+    public static class Headless extends AVLTree {
+        public Headless(OperationStats stats) {
+            super(stats);
         }
     }
-    
-    public AVLNode getRoot() {
-        return root;
-    }
 }
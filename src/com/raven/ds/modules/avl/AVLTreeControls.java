@@ -2,6 +2,7 @@ package com.raven.ds.modules.avl;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
@@ -26,6 +27,7 @@ public class AVLTreeControls extends JPanel {
     private Button resetBtn;
     private Button downloadDocsBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JLabel stepLabel;
     
@@ -132,6 +134,9 @@ public class AVLTreeControls extends JPanel {
         speedSlider.setPaintLabels(true);
         speedSlider.setBackground(Color.WHITE);
         
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status labels
         statusLabel = new JLabel("Ready for AVL operations");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -144,7 +149,7 @@ public class AVLTreeControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]"));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createTitledBorder("AVL Tree Controls"));
         
@@ -171,9 +176,13 @@ public class AVLTreeControls extends JPanel {
         add(new JLabel("Speed:"), "cell 0 3");
         add(speedSlider, "cell 1 3, span 2, grow");
         
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 4");
+        add(timelineScrubber, "cell 1 4, span 2, grow");
+        
         // Status row
-        add(statusLabel, "cell 0 4, span 2");
-        add(stepLabel, "cell 2 4");
+        add(statusLabel, "cell 0 5, span 2");
+        add(stepLabel, "cell 2 5");
     }
     
     private void setupListeners() {
@@ -302,6 +311,7 @@ public class AVLTreeControls extends JPanel {
     
     private void updateAnimationControls() {
         boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
         playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
         pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
         stepBtn.setEnabled(hasSteps);
@@ -1,42 +1,62 @@
 package com.raven.ds.modules.avl;
 
 import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TreeCanvas;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Ellipse2D;
 
 /**
  * Visual panel for AVL Tree operations
  */
-public class AVLTreePanel extends JPanel {
+public class AVLTreePanel extends TreeCanvas<AVLNode> {
+    private static final int LEVEL_HEIGHT = 60;
+    // Closest two node centres on one level may get: a diameter plus a gap
+    private static final int NODE_SEPARATION = 2 * AVLNode.NODE_RADIUS + 8;
+    private static final Font EXPLANATION_FONT = new Font("SansSerif", Font.PLAIN, 14);
+    private static final Color TEXT_COLOR = new Color(52, 73, 94);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(1);
+    
     private AVLTreeAlgorithm avl;
     private AnimationEngine animationEngine;
     
     private Font nodeFont = new Font("SansSerif", Font.BOLD, 14);
+    // HTML renderer for the step text; only re-laid out when the text changes
+    private final JLabel explanationRenderer = new JLabel();
+    private String renderedText;
     
     public AVLTreePanel(AnimationEngine animationEngine) {
+        super(node -> node.left, node -> node.right, NODE_SEPARATION, LEVEL_HEIGHT, 50);
         this.animationEngine = animationEngine;
         this.avl = new AVLTreeAlgorithm(animationEngine);
         
+        explanationRenderer.setFont(EXPLANATION_FONT);
+        explanationRenderer.setForeground(TEXT_COLOR);
+        explanationRenderer.setVerticalAlignment(SwingConstants.TOP);
+        
         setBackground(Color.WHITE);
         setPreferredSize(new Dimension(800, 600));
         setBorder(BorderFactory.createTitledBorder("AVL Tree Visualization"));
     }
     
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        
-        if (avl.getRoot() != null) {
-            drawTree(g2d, avl.getRoot(), getWidth() / 2, 50, getWidth() / 4);
-        } else {
-            g2d.drawString("Tree is empty", getWidth() / 2 - 40, getHeight() / 2);
-        }
-        
+    protected AVLNode getTreeRoot() {
+        return avl.getRoot();
+    }
+    
+    @Override
+    protected int getTreeVersion() {
+        return avl.getModCount();
+    }
+    
+    @Override
+    protected void drawEmptyTree(Graphics2D g2d) {
+        g2d.setColor(Color.BLACK);
+        g2d.drawString("Tree is empty", getWidth() / 2 - 40, getHeight() / 2);
+    }
+    
+    @Override
+    protected void drawOverlay(Graphics2D g2d) {
         drawStepExplanation(g2d);
     }
     
@@ -45,54 +65,49 @@ public class AVLTreePanel extends JPanel {
         if (text == null || text.isEmpty()) return;
         
         // Use a JLabel to render HTML
-        JLabel renderer = new JLabel("<html><body style='width: 280px'>" + text + "</body></html>");
-        renderer.setFont(new Font("SansSerif", Font.PLAIN, 14));
-        renderer.setForeground(new Color(52, 73, 94));
-        renderer.setVerticalAlignment(SwingConstants.TOP);
+        if (!text.equals(renderedText)) {
+            explanationRenderer.setText("<html><body style='width: 280px'>" + text + "</body></html>");
+            explanationRenderer.setSize(explanationRenderer.getPreferredSize());
+            renderedText = text;
+        }
         
-        Dimension size = renderer.getPreferredSize();
+        Dimension size = explanationRenderer.getSize();
         int x = getWidth() - size.width - 20;
         int y = 20;
         
         // Draw background
         g2d.setColor(new Color(255, 255, 255, 240));
         g2d.fillRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
-        g2d.setColor(new Color(52, 73, 94));
+        g2d.setColor(TEXT_COLOR);
         g2d.setStroke(new BasicStroke(1));
         g2d.drawRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
         
         // Translate and draw
         g2d.translate(x, y);
-        renderer.setSize(size);
-        renderer.paint(g2d);
+        explanationRenderer.paint(g2d);
         g2d.translate(-x, -y);
     }
     
-    private void drawTree(Graphics2D g2d, AVLNode node, int x, int y, int xOffset) {
-        if (node == null) return;
-        
+    @Override
+    protected void drawEdge(Graphics2D g2d, int x, int y, int childX, int childY) {
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(EDGE_STROKE);
+        g2d.drawLine(x, y, childX, childY);
+    }
+    
+    /**
+     * Nodes the running animation has recoloured
+     */
+    @Override
+    protected boolean isDecorated(AVLNode node) {
+        return !AVLNode.DEFAULT_COLOR.equals(node.color);
+    }
+    
+    @Override
+    protected void drawNode(Graphics2D g2d, AVLNode node, int x, int y, boolean baseLayer) {
         node.x = x;
         node.y = y;
-        
-        // Draw edges
-        if (node.left != null) {
-            int childX = x - xOffset;
-            int childY = y + 60;
-            g2d.setColor(Color.BLACK);
-            g2d.drawLine(x, y, childX, childY);
-            drawTree(g2d, node.left, childX, childY, xOffset / 2);
-        }
-        
-        if (node.right != null) {
-            int childX = x + xOffset;
-            int childY = y + 60;
-            g2d.setColor(Color.BLACK);
-            g2d.drawLine(x, y, childX, childY);
-            drawTree(g2d, node.right, childX, childY, xOffset / 2);
-        }
-        
-        // Draw node
-        node.draw(g2d);
+        node.draw(g2d, baseLayer ? AVLNode.DEFAULT_COLOR : node.color, isDetailed());
     }
     
     public void insert(int value) {
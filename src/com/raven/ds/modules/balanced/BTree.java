@@ -0,0 +1,721 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.OperationStats;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * B-tree of minimum degree t with subtree key counts on every node
+ * Nodes hold t-1 to 2t-1 keys in one int[] (the root at least one), so a
+ * lookup touches log_t n nodes and binary-searches each; all leaves sit at the
+ * same depth. Inserts split overfull nodes on the way back up, deletes merge
+ * or redistribute underfull ones. join(L, k, R) hangs the shorter tree off the
+ * taller one's spine at the matching height and splits upwards as needed; a
+ * sorted bulk load fills nodes as full as the height allows, in O(n)
+ */
+public class BTree implements OrderedIntSet<BTree> {
+    // 63 keys per node: a node's keys span four cache lines
+    public static final int DEFAULT_MIN_DEGREE = 32;
+
+    static final class Node {
+        int n;
+        final int[] keys;
+        // Null for leaves
+        final Node[] children;
+        int size;
+
+        // One spare slot so a node can overflow by a key before it is split
+        Node(int maxKeys, boolean leaf) {
+            keys = new int[maxKeys + 1];
+            children = leaf ? null : new Node[maxKeys + 2];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    private final OperationStats stats;
+    private final int minDegree;
+    private final int minKeys;
+    private final int maxKeys;
+    private Node root;
+    // Search path of the current update: the nodes and the child index taken in each
+    private Node[] pathNodes = new Node[16];
+    private int[] pathIndex = new int[16];
+    private int depth;
+    // Second result of split(), kept in a field to avoid allocating a pair per level
+    private Node splitRight;
+    private boolean changed;
+    private long splits;
+    private long merges;
+
+    public BTree(OperationStats stats) {
+        this(stats, DEFAULT_MIN_DEGREE);
+    }
+
+    /**
+     * @param minDegree t: 2 gives a 2-3-4 tree
+     */
+    public BTree(OperationStats stats, int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Minimum degree must be at least 2");
+        }
+        this.stats = stats;
+        this.minDegree = minDegree;
+        this.minKeys = minDegree - 1;
+        this.maxKeys = 2 * minDegree - 1;
+    }
+
+    @Override
+    public boolean insert(int key) {
+        root = insert(root, key);
+        return changed;
+    }
+
+    /**
+     * Insert into the tree with the given root; sets changed unless the key was there
+     * @return the new root
+     */
+    private Node insert(Node tree, int key) {
+        changed = false;
+        if (tree == null) {
+            Node leaf = new Node(maxKeys, true);
+            leaf.keys[0] = key;
+            leaf.n = 1;
+            leaf.size = 1;
+            changed = true;
+            return leaf;
+        }
+        depth = 0;
+        Node x = tree;
+        while (true) {
+            int i = lowerBound(x, key);
+            if (i < x.n && isKey(x, i, key)) {
+                return tree;
+            }
+            push(x, i);
+            if (x.isLeaf()) {
+                break;
+            }
+            x = x.children[i];
+        }
+        insertKey(x, pathIndex[depth - 1], key, null);
+        for (int level = 0; level < depth; level++) {
+            pathNodes[level].size++;
+        }
+        changed = true;
+        return splitOverfull(tree, depth - 1);
+    }
+
+    /**
+     * Split overfull nodes from the given path level up to the root
+     * @return the root, new if the old one split
+     */
+    private Node splitOverfull(Node tree, int level) {
+        for (; level >= 0; level--) {
+            Node node = pathNodes[level];
+            if (node.n <= maxKeys) {
+                break;
+            }
+            if (level == 0) {
+                Node newRoot = new Node(maxKeys, false);
+                newRoot.children[0] = node;
+                newRoot.size = node.size;
+                splitChild(newRoot, 0);
+                return newRoot;
+            }
+            splitChild(pathNodes[level - 1], pathIndex[level - 1]);
+        }
+        return tree;
+    }
+
+    @Override
+    public boolean delete(int key) {
+        if (root == null) {
+            return false;
+        }
+        depth = 0;
+        Node x = root;
+        int i;
+        while (true) {
+            i = lowerBound(x, key);
+            push(x, i);
+            if (i < x.n && isKey(x, i, key)) {
+                break;
+            }
+            if (x.isLeaf()) {
+                return false;
+            }
+            x = x.children[i];
+        }
+        if (!x.isLeaf()) {
+            // Swap in the predecessor, the last key of the left subtree's rightmost leaf
+            Node leaf = x.children[i];
+            while (!leaf.isLeaf()) {
+                push(leaf, leaf.n);
+                leaf = leaf.children[leaf.n];
+            }
+            push(leaf, leaf.n - 1);
+            x.keys[i] = leaf.keys[leaf.n - 1];
+            x = leaf;
+            i = leaf.n - 1;
+        }
+        removeKey(x, i, false);
+        for (int level = 0; level < depth; level++) {
+            pathNodes[level].size--;
+        }
+        for (int level = depth - 1; level > 0; level--) {
+            if (pathNodes[level].n >= minKeys || !fixUnderflow(pathNodes[level - 1], pathIndex[level - 1])) {
+                break;
+            }
+        }
+        if (root.n == 0) {
+            root = root.isLeaf() ? null : root.children[0];
+        }
+        return true;
+    }
+
+    /**
+     * Refill child i of p from a neighbour: merge the two if they fit in one node, else even them out
+     * @return true if they merged, so p lost a key
+     */
+    private boolean fixUnderflow(Node p, int i) {
+        int left = i > 0 ? i - 1 : i;
+        Node a = p.children[left];
+        Node b = p.children[left + 1];
+        if (a.n + b.n + 1 <= maxKeys) {
+            merge(p, left);
+            return true;
+        }
+        redistribute(p, left);
+        return false;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        Node x = root;
+        while (x != null) {
+            int i = lowerBound(x, key);
+            if (i < x.n && isKey(x, i, key)) {
+                return true;
+            }
+            x = x.isLeaf() ? null : x.children[i];
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        int height = -1;
+        for (; node != null; node = node.isLeaf() ? null : node.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    @Override
+    public int rank(int key) {
+        int rank = 0;
+        Node x = root;
+        while (x != null) {
+            int i = lowerBound(x, key);
+            rank += i;
+            if (x.isLeaf()) {
+                break;
+            }
+            for (int c = 0; c < i; c++) {
+                rank += x.children[c].size;
+            }
+            if (i < x.n && isKey(x, i, key)) {
+                return rank + x.children[i].size;
+            }
+            x = x.children[i];
+        }
+        return rank;
+    }
+
+    @Override
+    public int select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " outside 0.." + (size() - 1));
+        }
+        Node x = root;
+        while (!x.isLeaf()) {
+            int c = 0;
+            while (true) {
+                int childSize = x.children[c].size;
+                stats.comparison();
+                if (index < childSize) {
+                    break;
+                }
+                index -= childSize;
+                if (index == 0) {
+                    return x.keys[c];
+                }
+                index--;
+                c++;
+            }
+            x = x.children[c];
+        }
+        return x.keys[index];
+    }
+
+    @Override
+    public void range(int from, int to, IntConsumer action) {
+        if (root != null && from <= to) {
+            range(root, from, to, action);
+        }
+    }
+
+    private void range(Node x, int from, int to, IntConsumer action) {
+        for (int j = lowerBound(x, from); ; j++) {
+            if (!x.isLeaf()) {
+                range(x.children[j], from, to, action);
+            }
+            if (j >= x.n) {
+                return;
+            }
+            stats.comparison();
+            if (x.keys[j] > to) {
+                return;
+            }
+            action.accept(x.keys[j]);
+        }
+    }
+
+    @Override
+    public void bulkLoad(int[] sorted) {
+        SortedKeys.requireAscending(sorted);
+        if (sorted.length == 0) {
+            root = null;
+            return;
+        }
+        int height = 0;
+        while (maxCount(height) < sorted.length) {
+            height++;
+        }
+        root = build(sorted, 0, sorted.length, height, true);
+    }
+
+    /**
+     * Most keys a subtree of the given height can hold
+     */
+    private long maxCount(int height) {
+        long count = 1;
+        for (int level = 0; level <= height && count <= Integer.MAX_VALUE; level++) {
+            count *= 2L * minDegree;
+        }
+        return count - 1;
+    }
+
+    /**
+     * Keys [from, from + count) as a subtree of the given height: the fewest
+     * children that can hold them (at least t below the root), shared out evenly
+     */
+    private Node build(int[] sorted, int from, int count, int height, boolean isRoot) {
+        if (height == 0) {
+            Node leaf = new Node(maxKeys, true);
+            System.arraycopy(sorted, from, leaf.keys, 0, count);
+            leaf.n = count;
+            leaf.size = count;
+            return leaf;
+        }
+        long perChild = maxCount(height - 1) + 1;
+        int children = (int) Math.max(isRoot ? 2 : minDegree, (count + perChild) / perChild);
+        int below = count - (children - 1);
+        int base = below / children;
+        int extra = below % children;
+        Node node = new Node(maxKeys, false);
+        int next = from;
+        for (int c = 0; c < children; c++) {
+            int share = base + (c < extra ? 1 : 0);
+            node.children[c] = build(sorted, next, share, height - 1, false);
+            next += share;
+            if (c < children - 1) {
+                node.keys[c] = sorted[next++];
+            }
+        }
+        node.n = children - 1;
+        node.size = count;
+        return node;
+    }
+
+    @Override
+    public BTree split(int key) {
+        BTree greater = new BTree(stats, minDegree);
+        root = split(root, key);
+        greater.root = splitRight;
+        splitRight = null;
+        return greater;
+    }
+
+    @Override
+    public void join(BTree greater) {
+        if (greater == this || greater.root == null) {
+            return;
+        }
+        if (greater.minDegree != minDegree) {
+            throw new IllegalArgumentException("Join needs trees of the same minimum degree");
+        }
+        if (root == null) {
+            root = greater.root;
+            greater.root = null;
+            return;
+        }
+        int min = greater.select(0);
+        SortedKeys.requireBefore(select(size() - 1), min);
+        greater.delete(min);
+        root = join(root, min, greater.root);
+        greater.root = null;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Split a detached tree into keys below the given one, returned, and the rest, left in splitRight
+     */
+    private Node split(Node x, int key) {
+        if (x == null) {
+            splitRight = null;
+            return null;
+        }
+        int i = lowerBound(x, key);
+        if (x.isLeaf()) {
+            Node right = null;
+            if (i < x.n) {
+                right = new Node(maxKeys, true);
+                right.n = x.n - i;
+                System.arraycopy(x.keys, i, right.keys, 0, right.n);
+                right.size = right.n;
+                stats.moves(right.n);
+            }
+            x.n = i;
+            x.size = i;
+            splitRight = right;
+            return i == 0 ? null : x;
+        }
+
+        int n = x.n;
+        Node lower = split(x.children[i], key);
+        Node upper = splitRight;
+        // Keys and children after position i form a tree of their own
+        Node suffix = null;
+        int rightSeparator = 0;
+        if (i < n) {
+            rightSeparator = x.keys[i];
+            if (i + 1 == n) {
+                suffix = x.children[i + 1];
+            } else {
+                suffix = new Node(maxKeys, false);
+                suffix.n = n - i - 1;
+                System.arraycopy(x.keys, i + 1, suffix.keys, 0, suffix.n);
+                System.arraycopy(x.children, i + 1, suffix.children, 0, suffix.n + 1);
+                recount(suffix);
+                stats.moves(suffix.n);
+            }
+        }
+        // ...and so do those before it, reusing x
+        Node prefix = null;
+        int leftSeparator = 0;
+        if (i > 0) {
+            leftSeparator = x.keys[i - 1];
+            if (i == 1) {
+                prefix = x.children[0];
+            } else {
+                x.n = i - 1;
+                Arrays.fill(x.children, i, x.children.length, null);
+                recount(x);
+                prefix = x;
+            }
+        }
+
+        Node left = i > 0 ? join(prefix, leftSeparator, lower) : lower;
+        Node right = i < n ? join(upper, rightSeparator, suffix) : upper;
+        splitRight = right;
+        return left;
+    }
+
+    /**
+     * Join detached trees left < key < right, either possibly empty
+     * @return the root of the result
+     */
+    private Node join(Node left, int key, Node right) {
+        if (right == null) {
+            return insert(left, key);
+        }
+        if (left == null) {
+            return insert(right, key);
+        }
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight == rightHeight) {
+            if (left.n + right.n + 1 <= maxKeys) {
+                left.keys[left.n] = key;
+                System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+                if (!left.isLeaf()) {
+                    System.arraycopy(right.children, 0, left.children, left.n + 1, right.n + 1);
+                }
+                left.n += right.n + 1;
+                left.size += right.size + 1;
+                stats.moves(right.n + 1);
+                merges++;
+                return left;
+            }
+            Node top = new Node(maxKeys, false);
+            top.keys[0] = key;
+            top.n = 1;
+            top.children[0] = left;
+            top.children[1] = right;
+            top.size = left.size + right.size + 1;
+            if (left.n < minKeys || right.n < minKeys) {
+                redistribute(top, 0);
+            }
+            return top;
+        }
+
+        depth = 0;
+        int added;
+        Node tree;
+        Node p;
+        if (leftHeight > rightHeight) {
+            // Down the right spine to the node whose children are as tall as the right tree
+            tree = left;
+            added = right.size + 1;
+            p = left;
+            for (int h = leftHeight; h > rightHeight + 1; h--) {
+                push(p, p.n);
+                p = p.children[p.n];
+            }
+            push(p, p.n);
+            p.keys[p.n] = key;
+            p.children[p.n + 1] = right;
+            p.n++;
+            pathIndex[depth - 1] = p.n;
+        } else {
+            tree = right;
+            added = left.size + 1;
+            p = right;
+            for (int h = rightHeight; h > leftHeight + 1; h--) {
+                push(p, 0);
+                p = p.children[0];
+            }
+            push(p, 0);
+            System.arraycopy(p.keys, 0, p.keys, 1, p.n);
+            System.arraycopy(p.children, 0, p.children, 1, p.n + 1);
+            stats.moves(p.n);
+            p.keys[0] = key;
+            p.children[0] = left;
+            p.n++;
+        }
+        for (int level = 0; level < depth; level++) {
+            pathNodes[level].size += added;
+        }
+        Node attached = p.children[pathIndex[depth - 1]];
+        if (attached.n < minKeys) {
+            fixUnderflow(p, pathIndex[depth - 1]);
+        }
+        return splitOverfull(tree, depth - 1);
+    }
+
+    /**
+     * Move the median of child i of p up into p and the keys after it into a new right sibling
+     */
+    private void splitChild(Node p, int i) {
+        Node child = p.children[i];
+        int mid = child.n / 2;
+        Node sibling = new Node(maxKeys, child.isLeaf());
+        sibling.n = child.n - mid - 1;
+        System.arraycopy(child.keys, mid + 1, sibling.keys, 0, sibling.n);
+        if (!child.isLeaf()) {
+            System.arraycopy(child.children, mid + 1, sibling.children, 0, sibling.n + 1);
+            Arrays.fill(child.children, mid + 1, child.n + 1, null);
+        }
+        int median = child.keys[mid];
+        child.n = mid;
+        recount(sibling);
+        child.size -= sibling.size + 1;
+        insertKey(p, i, median, sibling);
+        stats.moves(sibling.n);
+        splits++;
+    }
+
+    /**
+     * Fold child i + 1 and the key between them into child i
+     */
+    private void merge(Node p, int i) {
+        Node a = p.children[i];
+        Node b = p.children[i + 1];
+        a.keys[a.n] = p.keys[i];
+        System.arraycopy(b.keys, 0, a.keys, a.n + 1, b.n);
+        if (!a.isLeaf()) {
+            System.arraycopy(b.children, 0, a.children, a.n + 1, b.n + 1);
+        }
+        a.n += b.n + 1;
+        a.size += b.size + 1;
+        stats.moves(b.n + 1);
+        removeKey(p, i, true);
+        merges++;
+    }
+
+    /**
+     * Even out the key counts of children i and i + 1 through the key between them
+     */
+    private void redistribute(Node p, int i) {
+        Node a = p.children[i];
+        Node b = p.children[i + 1];
+        int total = a.n + b.n;
+        int leftCount = total / 2;
+        if (a.n > leftCount) {
+            // Shift the surplus of a through the separator into the front of b
+            int move = a.n - leftCount;
+            System.arraycopy(b.keys, 0, b.keys, move, b.n);
+            b.keys[move - 1] = p.keys[i];
+            System.arraycopy(a.keys, leftCount + 1, b.keys, 0, move - 1);
+            p.keys[i] = a.keys[leftCount];
+            if (!a.isLeaf()) {
+                System.arraycopy(b.children, 0, b.children, move, b.n + 1);
+                System.arraycopy(a.children, leftCount + 1, b.children, 0, move);
+                Arrays.fill(a.children, leftCount + 1, a.n + 1, null);
+            }
+            a.n = leftCount;
+            b.n += move;
+            stats.moves(b.n);
+        } else if (a.n < leftCount) {
+            int move = leftCount - a.n;
+            a.keys[a.n] = p.keys[i];
+            System.arraycopy(b.keys, 0, a.keys, a.n + 1, move - 1);
+            p.keys[i] = b.keys[move - 1];
+            System.arraycopy(b.keys, move, b.keys, 0, b.n - move);
+            if (!a.isLeaf()) {
+                System.arraycopy(b.children, 0, a.children, a.n + 1, move);
+                System.arraycopy(b.children, move, b.children, 0, b.n + 1 - move);
+                Arrays.fill(b.children, b.n + 1 - move, b.n + 1, null);
+            }
+            a.n = leftCount;
+            b.n -= move;
+            stats.moves(a.n + b.n);
+        }
+        int pairSize = a.size + b.size;
+        recount(a);
+        b.size = pairSize - a.size;
+    }
+
+    /**
+     * Put a key at position i, with the given child to its right for internal nodes
+     */
+    private void insertKey(Node x, int i, int key, Node rightChild) {
+        System.arraycopy(x.keys, i, x.keys, i + 1, x.n - i);
+        x.keys[i] = key;
+        if (!x.isLeaf()) {
+            System.arraycopy(x.children, i + 1, x.children, i + 2, x.n - i);
+            x.children[i + 1] = rightChild;
+        }
+        stats.moves(x.n - i);
+        x.n++;
+    }
+
+    /**
+     * Take out key i, and for internal nodes when asked the child to its right
+     */
+    private void removeKey(Node x, int i, boolean withRightChild) {
+        System.arraycopy(x.keys, i + 1, x.keys, i, x.n - i - 1);
+        if (withRightChild) {
+            System.arraycopy(x.children, i + 2, x.children, i + 1, x.n - i - 1);
+            x.children[x.n] = null;
+        }
+        stats.moves(x.n - i - 1);
+        x.n--;
+    }
+
+    private static void recount(Node x) {
+        int size = x.n;
+        if (!x.isLeaf()) {
+            for (int c = 0; c <= x.n; c++) {
+                size += x.children[c].size;
+            }
+        }
+        x.size = size;
+    }
+
+    /**
+     * First position whose key is not below the given one, by binary search
+     */
+    private int lowerBound(Node x, int key) {
+        int lo = 0;
+        int hi = x.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            stats.comparison();
+            if (x.keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private boolean isKey(Node x, int i, int key) {
+        stats.comparison();
+        return x.keys[i] == key;
+    }
+
+    private void push(Node node, int index) {
+        if (depth == pathNodes.length) {
+            pathNodes = Arrays.copyOf(pathNodes, depth * 2);
+            pathIndex = Arrays.copyOf(pathIndex, depth * 2);
+        }
+        pathNodes[depth] = node;
+        pathIndex[depth] = index;
+        depth++;
+    }
+
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    public long getSplits() {
+        return splits;
+    }
+
+    public long getMerges() {
+        return merges;
+    }
+
+    /**
+     * Nodes in the tree, by a full walk
+     */
+    public int getNodeCount() {
+        return countNodes(root);
+    }
+
+    private static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1;
+        if (!node.isLeaf()) {
+            for (int c = 0; c <= node.n; c++) {
+                count += countNodes(node.children[c]);
+            }
+        }
+        return count;
+    }
+
+    Node getRoot() {
+        return root;
+    }
+}
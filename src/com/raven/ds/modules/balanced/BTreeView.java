@@ -0,0 +1,146 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * B-tree drawn level by level: leaves side by side, each parent centred over
+ * its children. The layout is redone only when the tree changes and shrinks
+ * to fit the panel width
+ */
+class BTreeView extends JPanel {
+    private static final int KEY_WIDTH = 30;
+    private static final int NODE_HEIGHT = 26;
+    private static final int LEAF_GAP = 12;
+    private static final int LEVEL_HEIGHT = 70;
+    private static final int TOP_MARGIN = 60;
+    private static final double MIN_SCALE = 0.2;
+    private static final Color NODE_COLOR = new Color(52, 152, 219);
+    private static final Color MARKED_COLOR = new Color(46, 204, 113);
+    private static final Color VISITED_RING = new Color(241, 196, 15);
+    private static final Color FOCUS_RING = new Color(230, 126, 34);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(1.5f);
+    private static final BasicStroke RING_STROKE = new BasicStroke(3);
+    private static final Font KEY_FONT = new Font("SansSerif", Font.BOLD, 12);
+
+    private final BalancedTreeAlgorithm trees;
+    private final TreeOverlay overlay;
+    // Left edge of each node box, in layout units; y comes from the depth
+    private final Map<BTree.Node, Integer> left = new IdentityHashMap<>();
+    private final Map<BTree.Node, Integer> depthOf = new IdentityHashMap<>();
+    private BTree.Node layoutRoot;
+    private int layoutVersion = -1;
+    private int layoutWidth;
+
+    BTreeView(BalancedTreeAlgorithm trees, AnimationEngine animationEngine) {
+        this.trees = trees;
+        this.overlay = new TreeOverlay(trees, animationEngine);
+        setBackground(Color.WHITE);
+    }
+
+    private static int boxWidth(BTree.Node node) {
+        return Math.max(1, node.n) * KEY_WIDTH;
+    }
+
+    private void layout(BTree.Node root) {
+        if (root == layoutRoot && trees.getModCount() == layoutVersion) {
+            return;
+        }
+        layoutRoot = root;
+        layoutVersion = trees.getModCount();
+        left.clear();
+        depthOf.clear();
+        layoutWidth = root == null ? 0 : place(root, 0, 0);
+    }
+
+    /**
+     * Place the subtree with its leftmost leaf at x
+     * @return the x just past the subtree, including the gap after it
+     */
+    private int place(BTree.Node node, int x, int depth) {
+        depthOf.put(node, depth);
+        if (node.isLeaf()) {
+            left.put(node, x);
+            return x + boxWidth(node) + LEAF_GAP;
+        }
+        int next = x;
+        for (int c = 0; c <= node.n; c++) {
+            next = place(node.children[c], next, depth + 1);
+        }
+        int first = center(node.children[0]);
+        int last = center(node.children[node.n]);
+        int box = boxWidth(node);
+        int start = Math.max(x, (first + last) / 2 - box / 2);
+        left.put(node, start);
+        return Math.max(next, start + box + LEAF_GAP);
+    }
+
+    private int center(BTree.Node node) {
+        return left.get(node) + boxWidth(node) / 2;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        BTree.Node root = trees.getBTreeRoot();
+        layout(root);
+        if (root == null) {
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(new Font("SansSerif", Font.PLAIN, 14));
+            g2d.drawString("Empty tree - insert keys, load the sample or bulk load", 20, 80);
+        } else {
+            int available = Math.max(1, getWidth() - 40);
+            double scale = Math.max(MIN_SCALE, Math.min(1.0, (double) available / layoutWidth));
+            AffineTransform screen = g2d.getTransform();
+            g2d.translate(Math.max(20, (getWidth() - layoutWidth * scale) / 2), TOP_MARGIN);
+            g2d.scale(scale, scale);
+            drawSubtree(g2d, root, scale >= 0.5);
+            g2d.setTransform(screen);
+        }
+        overlay.draw(g2d, getWidth(), getHeight());
+    }
+
+    private void drawSubtree(Graphics2D g2d, BTree.Node node, boolean detailed) {
+        int x = left.get(node);
+        int y = depthOf.get(node) * LEVEL_HEIGHT;
+        if (!node.isLeaf()) {
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(EDGE_STROKE);
+            for (int c = 0; c <= node.n; c++) {
+                // Each edge leaves from the boundary between the keys it falls between
+                g2d.drawLine(x + c * KEY_WIDTH, y + NODE_HEIGHT, center(node.children[c]), y + LEVEL_HEIGHT);
+            }
+            for (int c = 0; c <= node.n; c++) {
+                drawSubtree(g2d, node.children[c], detailed);
+            }
+        }
+        g2d.setFont(KEY_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int i = 0; i < node.n; i++) {
+            int cellX = x + i * KEY_WIDTH;
+            g2d.setColor(trees.isMarked(node.keys[i]) ? MARKED_COLOR : NODE_COLOR);
+            g2d.fillRect(cellX, y, KEY_WIDTH, NODE_HEIGHT);
+            g2d.setColor(Color.WHITE);
+            g2d.drawRect(cellX, y, KEY_WIDTH, NODE_HEIGHT);
+            if (detailed) {
+                String text = String.valueOf(node.keys[i]);
+                g2d.drawString(text, cellX + (KEY_WIDTH - fm.stringWidth(text)) / 2,
+                        y + (NODE_HEIGHT + fm.getAscent()) / 2 - 2);
+            }
+        }
+        if (trees.isFocus(node) || trees.isVisited(node)) {
+            g2d.setColor(trees.isFocus(node) ? FOCUS_RING : VISITED_RING);
+            g2d.setStroke(RING_STROKE);
+            g2d.drawRect(x - 3, y - 3, boxWidth(node) + 6, NODE_HEIGHT + 6);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.SimpleAnimationStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Balanced tree family with animation support
+ * The headless cores are the tree: every operation runs on the chosen core at
+ * once, then the steps walk the nodes it visited and report what it cost, as
+ * the AVL module does. Split keeps the lower part on screen and holds the
+ * upper part until Join puts it back
+ */
+public class BalancedTreeAlgorithm {
+    public enum Variant {
+        RED_BLACK("Red-black tree"),
+        TREAP("Treap"),
+        B_TREE("B-tree (2-3-4)");
+
+        private final String label;
+
+        Variant(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Small nodes keep the drawing readable; the compare dialog uses the default degree
+    static final int VISUAL_MIN_DEGREE = 2;
+
+    private final AnimationEngine animationEngine;
+    private final OperationStats stats = new OperationStats();
+    private Variant variant = Variant.RED_BLACK;
+    private Trees<?> trees;
+    // Bumped on every change to the tree, so views know when to lay it out again
+    private int modCount;
+
+    // Highlight state replayed by the steps
+    private Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Object focus;
+    private Set<Integer> markedKeys = new HashSet<>();
+
+    public BalancedTreeAlgorithm(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.trees = create(variant);
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+                path.addAll(visited);
+                return new Object[]{path, focus, new HashSet<>(markedKeys)};
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                visited = Collections.newSetFromMap(new IdentityHashMap<>());
+                visited.addAll((Set<Object>) state[0]);
+                focus = state[1];
+                markedKeys = new HashSet<>((Set<Integer>) state[2]);
+            }
+        });
+    }
+
+    /**
+     * The set in view plus the part split off it, typed together so they can be joined
+     */
+    private static final class Trees<T extends OrderedIntSet<T>> {
+        T lower;
+        T upper;
+
+        Trees(T lower) {
+            this.lower = lower;
+        }
+
+        void split(int key) {
+            join();
+            upper = lower.split(key);
+        }
+
+        void join() {
+            if (upper != null) {
+                lower.join(upper);
+                upper = null;
+            }
+        }
+    }
+
+    private Trees<?> create(Variant variant) {
+        switch (variant) {
+            case TREAP:
+                return new Trees<>(new Treap(stats));
+            case B_TREE:
+                return new Trees<>(new BTree(stats, VISUAL_MIN_DEGREE));
+            default:
+                return new Trees<>(new RedBlackTree(stats));
+        }
+    }
+
+    /**
+     * Switch structure, rebuilding the new one from the current keys with a bulk load
+     */
+    public void setVariant(Variant variant) {
+        if (variant == this.variant) return;
+        trees.join();
+        int[] keys = getKeys();
+        this.variant = variant;
+        trees = create(variant);
+        trees.lower.bulkLoad(keys);
+        modCount++;
+        animationEngine.clearSteps();
+        clearHighlights();
+    }
+
+    public void insert(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        Cost cost = new Cost();
+        boolean added = trees.lower.insert(key);
+        modCount++;
+        cost.finish();
+        addPathSteps(key, "insert");
+        addStep("Complete", () -> {
+            focus = null;
+            markedKeys.add(key);
+        }, added
+                ? "✅ <b>Inserted " + key + "</b> " + cost + "<br>" + shapeSummary()
+                : "⚠️ <b>" + key + " is already in the tree</b>; nothing changed.");
+    }
+
+    public void delete(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        Cost cost = new Cost();
+        boolean removed = trees.lower.delete(key);
+        modCount++;
+        cost.finish();
+        addPathSteps(key, "delete");
+        addStep("Complete", () -> {
+            focus = null;
+        }, removed
+                ? "🗑️ <b>Deleted " + key + "</b> " + cost + "<br>" + shapeSummary()
+                : "⚠️ <b>" + key + " is not in the tree</b>; nothing changed.");
+    }
+
+    public void search(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        Cost cost = new Cost();
+        boolean found = trees.lower.contains(key);
+        cost.finish();
+        addPathSteps(key, "search");
+        addStep("Result", () -> {
+            if (found) markedKeys.add(key);
+        }, (found ? "✅ <b>Found " + key + "</b> " : "❌ <b>" + key + " is not in the tree</b> ") + cost);
+    }
+
+    /**
+     * Number of keys below the given one, summed from left subtree sizes along the search path
+     */
+    public void rank(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        Cost cost = new Cost();
+        int rank = trees.lower.rank(key);
+        cost.finish();
+        addPathSteps(key, "rank");
+        addStep("Result", () -> {
+            focus = null;
+        }, "🔢 <b>rank(" + key + ") = " + rank + "</b>: " + rank + " keys are smaller. " + cost
+                + (variant == Variant.B_TREE
+                        ? "<br>Each level adds the sizes of the children to the left of the path plus the keys passed,"
+                        : "<br>Each step right adds the left subtree's size plus one,")
+                + " so no keys are listed.");
+    }
+
+    public void select(int index) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        if (index < 0 || index >= getSize()) {
+            addStep("Result", () -> { }, "⚠️ <b>select(" + index + ")</b>: the index must be between 0 and "
+                    + (getSize() - 1) + ".");
+            return;
+        }
+        Cost cost = new Cost();
+        int key = trees.lower.select(index);
+        cost.finish();
+        addPathSteps(key, "select");
+        addStep("Result", () -> {
+            focus = null;
+            markedKeys.add(key);
+        }, "🎯 <b>select(" + index + ") = " + key + "</b>, the key with " + index + " smaller ones. " + cost
+                + "<br>Subtree sizes decide each turn without looking at the keys.");
+    }
+
+    public void range(int from, int to) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        List<Integer> found = new ArrayList<>();
+        Cost cost = new Cost();
+        trees.lower.range(from, to, found::add);
+        int counted = trees.lower.countRange(from, to);
+        cost.finish();
+        addPathSteps(from, "range");
+        addStep("Range", () -> {
+            focus = null;
+            markedKeys.addAll(found);
+        }, "📏 <b>Keys in [" + from + ", " + to + "]:</b> " + preview(found) + "<br>countRange() gives "
+                + counted + " from two rank queries. " + cost);
+    }
+
+    public void bulkLoad(int count) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        trees.upper = null;
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i + 1;
+        }
+        Cost cost = new Cost();
+        trees.lower.bulkLoad(keys);
+        modCount++;
+        cost.finish();
+        addStep("Bulk Load", () -> { }, "📦 <b>Bulk-loaded 1.." + count + "</b> from sorted input in O(n) "
+                + cost + "<br>" + shapeSummary() + "<br>Inserting the same keys one by one into a plain BST"
+                + " would leave a path of height " + (count - 1) + ".");
+    }
+
+    public void split(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        Cost cost = new Cost();
+        trees.split(key);
+        modCount++;
+        cost.finish();
+        int moved = trees.upper.size();
+        int upperHeight = trees.upper.height();
+        addStep("Split", () -> { }, "✂️ <b>Split at " + key + "</b>: " + getSize() + " smaller keys stay, "
+                + moved + " keys ≥ " + key + " moved to a second tree of height " + upperHeight + ". " + cost
+                + "<br>Press Join to put them back.");
+    }
+
+    public void join() {
+        animationEngine.clearSteps();
+        clearHighlights();
+        if (trees.upper == null) {
+            addStep("Join", () -> { }, "⚠️ <b>Nothing to join</b>: split the tree first.");
+            return;
+        }
+        Cost cost = new Cost();
+        trees.join();
+        modCount++;
+        cost.finish();
+        addStep("Join", () -> { }, "🔗 <b>Joined</b> the split-off keys back on. " + cost + "<br>" + shapeSummary());
+    }
+
+    public void clear() {
+        animationEngine.clearSteps();
+        clearHighlights();
+        trees.upper = null;
+        trees.lower.clear();
+        modCount++;
+    }
+
+    public void loadSample() {
+        animationEngine.clearSteps();
+        clearHighlights();
+        trees.upper = null;
+        trees.lower.clear();
+        for (int key : new int[]{50, 30, 70, 20, 40, 60, 80, 10, 25, 35, 45, 55, 65, 75, 85}) {
+            trees.lower.insert(key);
+        }
+        modCount++;
+    }
+
+    private void addStep(String name, Runnable action, String description) {
+        animationEngine.addStep(new SimpleAnimationStep(name, action, description));
+    }
+
+    /**
+     * One step per node on the search path for the key, in the tree as it is now
+     */
+    private void addPathSteps(int key, String operation) {
+        if (variant == Variant.B_TREE) {
+            BTree.Node node = ((BTree) trees.lower).getRoot();
+            while (node != null) {
+                int i = 0;
+                while (i < node.n && node.keys[i] < key) {
+                    i++;
+                }
+                BTree.Node current = node;
+                boolean hit = i < node.n && node.keys[i] == key;
+                String keys = describeKeys(node);
+                String move = hit ? key + " is in this node"
+                        : node.isLeaf() ? "a leaf, so the " + operation + " ends here"
+                        : "go to child " + i + (i == 0 ? ", before " + node.keys[0]
+                                : i == node.n ? ", after " + node.keys[i - 1]
+                                : ", between " + node.keys[i - 1] + " and " + node.keys[i]);
+                addStep("Visit", () -> {
+                    visited.add(current);
+                    focus = current;
+                }, "🔍 <b>Node [" + keys + "]</b>: " + move + ".");
+                if (hit && !"range".equals(operation)) {
+                    break;
+                }
+                node = node.isLeaf() ? null : node.children[i];
+            }
+            return;
+        }
+        Object node = getBinaryRoot();
+        while (node != null) {
+            Object current = node;
+            int nodeKey = keyOf(node);
+            // Rank and range look for the first key not below the given one, so they go on past a match
+            boolean lowerBound = "rank".equals(operation) || "range".equals(operation);
+            String move = key == nodeKey ? (lowerBound ? "equal, so look left for smaller keys" : "found it")
+                    : key < nodeKey ? key + " &lt; " + nodeKey + ", go left"
+                    : key + " &gt; " + nodeKey + ", go right"
+                    + ("rank".equals(operation) ? " counting " + nodeKey + " and its left subtree" : "");
+            addStep("Visit", () -> {
+                visited.add(current);
+                focus = current;
+            }, "🔍 <b>Visit " + nodeKey + "</b>: " + move + ".");
+            if (key == nodeKey && !lowerBound) {
+                break;
+            }
+            node = key <= nodeKey ? leftOf(node) : rightOf(node);
+        }
+    }
+
+    private static String describeKeys(BTree.Node node) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < node.n; i++) {
+            if (i > 0) text.append(" | ");
+            text.append(node.keys[i]);
+        }
+        return text.toString();
+    }
+
+    private static String preview(List<Integer> keys) {
+        if (keys.isEmpty()) return "none";
+        if (keys.size() <= 12) return keys.toString();
+        return keys.subList(0, 12) + " ... (" + keys.size() + " keys)";
+    }
+
+    private String shapeSummary() {
+        int n = getSize();
+        int best = n == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(n);
+        String shape = "n = " + n + ", height " + getHeight();
+        if (variant == Variant.B_TREE) {
+            return shape + " with up to " + (2 * VISUAL_MIN_DEGREE - 1) + " keys per node.";
+        }
+        return shape + "; a perfectly balanced binary tree would need " + best + ".";
+    }
+
+    /**
+     * Counters for one operation, read from the shared stats
+     */
+    private class Cost {
+        private final long comparisons = stats.getComparisons();
+        private final long rotations = stats.getRotations();
+        private final long recolorings = recolorings();
+        private final long splits = variant == Variant.B_TREE ? ((BTree) trees.lower).getSplits() : 0;
+        private final long merges = variant == Variant.B_TREE ? ((BTree) trees.lower).getMerges() : 0;
+        private String text;
+
+        void finish() {
+            StringBuilder parts = new StringBuilder("(" + (stats.getComparisons() - comparisons) + " comparisons");
+            if (variant == Variant.RED_BLACK) {
+                parts.append(", ").append(stats.getRotations() - rotations).append(" rotations, ")
+                        .append(recolorings() - recolorings).append(" recolourings");
+            } else if (variant == Variant.B_TREE) {
+                BTree tree = (BTree) trees.lower;
+                parts.append(", ").append(tree.getSplits() - splits).append(" node splits, ")
+                        .append(tree.getMerges() - merges).append(" merges");
+            }
+            text = parts.append(")").toString();
+        }
+
+        private long recolorings() {
+            return variant == Variant.RED_BLACK ? ((RedBlackTree) trees.lower).getRecolorings() : 0;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private void clearHighlights() {
+        visited.clear();
+        focus = null;
+        markedKeys.clear();
+    }
+
+    static Object leftOf(Object node) {
+        return node instanceof RedBlackTree.Node ? ((RedBlackTree.Node) node).left : ((Treap.Node) node).left;
+    }
+
+    static Object rightOf(Object node) {
+        return node instanceof RedBlackTree.Node ? ((RedBlackTree.Node) node).right : ((Treap.Node) node).right;
+    }
+
+    static int keyOf(Object node) {
+        return node instanceof RedBlackTree.Node ? ((RedBlackTree.Node) node).key : ((Treap.Node) node).key;
+    }
+
+    /**
+     * Root of the binary variants, null while the B-tree is shown
+     */
+    Object getBinaryRoot() {
+        switch (variant) {
+            case RED_BLACK:
+                return ((RedBlackTree) trees.lower).getRoot();
+            case TREAP:
+                return ((Treap) trees.lower).getRoot();
+            default:
+                return null;
+        }
+    }
+
+    BTree.Node getBTreeRoot() {
+        return variant == Variant.B_TREE ? ((BTree) trees.lower).getRoot() : null;
+    }
+
+    boolean isVisited(Object node) { return visited.contains(node); }
+    boolean isFocus(Object node) { return node == focus; }
+    boolean isMarked(int key) { return markedKeys.contains(key); }
+
+    public int[] getKeys() {
+        int[] keys = new int[getSize()];
+        int[] next = {0};
+        trees.lower.range(Integer.MIN_VALUE, Integer.MAX_VALUE, key -> keys[next[0]++] = key);
+        return keys;
+    }
+
+    public Variant getVariant() { return variant; }
+    public int getSize() { return trees.lower.size(); }
+    public int getHeight() { return trees.lower.height(); }
+    public int getModCount() { return modCount; }
+
+    /**
+     * Keys held back by the last split, -1 if there is none
+     */
+    public int getSplitOffSize() {
+        return trees.upper == null ? -1 : trees.upper.size();
+    }
+}
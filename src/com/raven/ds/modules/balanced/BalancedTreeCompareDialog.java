@@ -0,0 +1,229 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.avl.AVLTreeAlgorithm;
+import com.raven.ds.modules.bst.BSTAlgorithm;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs the headless tree cores side by side on one key sequence
+ * The first table builds each tree by single inserts, the worst case for the
+ * plain BST when the keys arrive sorted, and times random lookups on the
+ * result. The second covers what only the order-statistic cores offer: bulk
+ * load, rank, select, range and split-then-join
+ */
+public class BalancedTreeCompareDialog extends JDialog {
+    // Sorted inserts into the plain BST cost O(n^2); above this they take minutes
+    private static final int SORTED_BST_LIMIT = 20_000;
+    private static final int QUERIES = 200_000;
+    private static final int RANGE_WIDTH = 1_000;
+    private static final long SEED = 42;
+
+    private JSpinner sizeSpinner;
+    private JComboBox<String> orderCombo;
+    private Button runBtn;
+    private JTextArea resultsArea;
+
+    public BalancedTreeCompareDialog(Frame owner) {
+        super(owner, "Compare Balanced Trees", false);
+
+        initComponents();
+        setSize(900, 560);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][grow]"));
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(1_000_000, 1_000, 10_000_000, 100_000));
+        sizeSpinner.setToolTipText("Keys per tree");
+        orderCombo = new JComboBox<>(new String[]{"Random order", "Sorted order"});
+        orderCombo.setToolTipText("Order the keys are inserted in; sorted input degenerates the plain BST");
+        runBtn = new Button();
+        runBtn.setText("Run");
+        runBtn.setBackground(new Color(231, 76, 60));
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(110, 36));
+        runBtn.setToolTipText("Build every tree from the same keys and time the operations");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Keys:"), "cell 0 0");
+        panel.add(sizeSpinner, "cell 1 0, split 3, w 120!");
+        panel.add(orderCombo, "cell 1 0");
+        panel.add(runBtn, "cell 1 0, gapleft push");
+        panel.add(new JScrollPane(resultsArea), "cell 0 1, span 2, grow");
+        setContentPane(panel);
+
+        runBtn.addActionListener(e -> run());
+    }
+
+    private void run() {
+        int n = (Integer) sizeSpinner.getValue();
+        boolean sorted = orderCombo.getSelectedIndex() == 1;
+        runBtn.setEnabled(false);
+        resultsArea.append(String.format("%,d keys inserted in %s order, %,d random lookups%n%-20s %10s %14s %11s %7s %11s %12s%n",
+                n, sorted ? "sorted" : "random", QUERIES, "Structure", "Build (ms)", "Comparisons", "Rotations",
+                "Height", "Lookup (ns)", "Cmp/lookup"));
+
+        new SwingWorker<Void, String>() {
+            @Override
+            protected Void doInBackground() {
+                // Distinct keys 0, 2, 4...; lookups hit and miss about equally
+                int[] keys = new int[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = 2 * i;
+                }
+                int[] order = keys.clone();
+                if (!sorted) {
+                    shuffle(order, new SplittableRandom(SEED));
+                }
+                int[] queries = new SplittableRandom(SEED + 1).ints(QUERIES, 0, 2 * n).toArray();
+
+                if (sorted && n > SORTED_BST_LIMIT) {
+                    publish(String.format("%-20s skipped: sorted inserts above %,d keys take O(n^2)%n",
+                            "BST (unbalanced)", SORTED_BST_LIMIT));
+                } else {
+                    OperationStats stats = new OperationStats();
+                    BSTAlgorithm.Headless tree = new BSTAlgorithm.Headless(stats);
+                    build("BST (unbalanced)", stats, order, tree::insert, tree::contains, tree::height, queries);
+                }
+                OperationStats avlStats = new OperationStats();
+                AVLTreeAlgorithm.Headless avl = new AVLTreeAlgorithm.Headless(avlStats);
+                build("AVL", avlStats, order, key -> {
+                    avl.insert(key);
+                    return true;
+                }, avl::contains, avl::height, queries);
+                OperationStats redBlackStats = new OperationStats();
+                RedBlackTree redBlack = new RedBlackTree(redBlackStats);
+                build("Red-black", redBlackStats, order, redBlack::insert, redBlack::contains, redBlack::height, queries);
+                OperationStats treapStats = new OperationStats();
+                Treap treap = new Treap(treapStats);
+                build("Treap", treapStats, order, treap::insert, treap::contains, treap::height, queries);
+                OperationStats bTreeStats = new OperationStats();
+                BTree bTree = new BTree(bTreeStats);
+                build("B-tree (t=" + bTree.getMinDegree() + ")", bTreeStats, order, bTree::insert, bTree::contains,
+                        bTree::height, queries);
+                OperationStats smallBTreeStats = new OperationStats();
+                BTree smallBTree = new BTree(smallBTreeStats, 2);
+                build("B-tree (t=2)", smallBTreeStats, order, smallBTree::insert, smallBTree::contains,
+                        smallBTree::height, queries);
+
+                publish(String.format("%nOrder statistics on %,d keys%n%-20s %10s %7s %10s %12s %12s %14s %16s%n", n,
+                        "Structure", "Bulk (ms)", "Height", "Rank (ns)", "Select (ns)", "Range (us)",
+                        "Split+join (us)", "Check"));
+                orderStatistics("Red-black", new RedBlackTree(new OperationStats()), keys, queries);
+                orderStatistics("Treap", new Treap(new OperationStats()), keys, queries);
+                orderStatistics("B-tree (t=" + BTree.DEFAULT_MIN_DEGREE + ")", new BTree(new OperationStats()), keys,
+                        queries);
+                orderStatistics("B-tree (t=2)", new BTree(new OperationStats(), 2), keys, queries);
+                return null;
+            }
+
+            private void build(String name, OperationStats stats, int[] order, IntPredicate insert,
+                               IntPredicate contains, IntSupplier height, int[] queries) {
+                stats.start();
+                for (int key : order) {
+                    insert.test(key);
+                }
+                stats.stop();
+                double buildMillis = stats.getElapsedMillis();
+                long buildComparisons = stats.getComparisons();
+                long rotations = stats.getRotations();
+                stats.reset();
+                long start = System.nanoTime();
+                for (int query : queries) {
+                    contains.test(query);
+                }
+                double lookupNanos = (double) (System.nanoTime() - start) / queries.length;
+                String line = String.format("%-20s %10.1f %,14d %,11d %7d %11.1f %12.1f%n", name, buildMillis,
+                        buildComparisons, rotations, height.getAsInt(), lookupNanos,
+                        (double) stats.getComparisons() / queries.length);
+                publish(line);
+            }
+
+            private <T extends OrderedIntSet<T>> void orderStatistics(String name, T tree, int[] keys, int[] queries) {
+                long start = System.nanoTime();
+                tree.bulkLoad(keys);
+                double bulkMillis = (System.nanoTime() - start) / 1e6;
+                int n = keys.length;
+                boolean ok = tree.size() == n;
+
+                start = System.nanoTime();
+                for (int query : queries) {
+                    // Keys are 2i, so rank(q) is ceil(q / 2)
+                    ok &= tree.rank(query) == (query + 1) / 2;
+                }
+                double rankNanos = (double) (System.nanoTime() - start) / queries.length;
+
+                start = System.nanoTime();
+                for (int query : queries) {
+                    int index = query % n;
+                    ok &= tree.select(index) == keys[index];
+                }
+                double selectNanos = (double) (System.nanoTime() - start) / queries.length;
+
+                int ranges = Math.min(1_000, queries.length);
+                long[] visited = {0};
+                start = System.nanoTime();
+                for (int r = 0; r < ranges; r++) {
+                    int from = queries[r];
+                    tree.range(from, from + 2 * RANGE_WIDTH - 1, key -> visited[0]++);
+                }
+                double rangeMicros = (System.nanoTime() - start) / 1e3 / ranges;
+
+                int splits = Math.min(1_000, queries.length);
+                start = System.nanoTime();
+                for (int s = 0; s < splits; s++) {
+                    T upper = tree.split(queries[s]);
+                    tree.join(upper);
+                }
+                double splitMicros = (System.nanoTime() - start) / 1e3 / splits;
+                ok &= tree.size() == n && tree.select(n / 2) == keys[n / 2];
+
+                String line = String.format("%-20s %10.1f %7d %10.1f %12.1f %12.2f %14.2f %16s%n", name, bulkMillis,
+                        tree.height(), rankNanos, selectNanos, rangeMicros, splitMicros,
+                        ok ? "verified" : "MISMATCH");
+                publish(line);
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Run failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                runBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+}
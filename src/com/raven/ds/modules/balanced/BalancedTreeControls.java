@@ -0,0 +1,342 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TimelineScrubber;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Control panel for the balanced tree family
+ */
+public class BalancedTreeControls extends JPanel {
+    private BalancedTreePanel visualizer;
+    private AnimationEngine animationEngine;
+
+    private JComboBox<BalancedTreeAlgorithm.Variant> variantCombo;
+    private Button compareBtn;
+    private JTextField valueField;
+    private Button insertBtn;
+    private Button deleteBtn;
+    private Button searchBtn;
+    private Button clearBtn;
+    private JTextField rangeToField;
+    private Button rankBtn;
+    private Button selectBtn;
+    private Button rangeBtn;
+    private JSpinner bulkSpinner;
+    private Button bulkLoadBtn;
+    private Button splitBtn;
+    private Button joinBtn;
+    private Button playBtn;
+    private Button pauseBtn;
+    private Button stepBtn;
+    private Button resetBtn;
+    private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
+    private JLabel statusLabel;
+    private JLabel stepLabel;
+
+    public BalancedTreeControls(BalancedTreePanel visualizer, AnimationEngine animationEngine) {
+        this.visualizer = visualizer;
+        this.animationEngine = animationEngine;
+
+        initComponents();
+        setupLayout();
+        setupListeners();
+    }
+
+    private void initComponents() {
+        variantCombo = new JComboBox<>(BalancedTreeAlgorithm.Variant.values());
+        variantCombo.setToolTipText("Switching rebuilds the current keys with a bulk load");
+        compareBtn = createButton("Compare...", new Color(231, 76, 60), 120,
+                "Benchmark BST, AVL, red-black, treap and B-tree on up to 10^7 keys");
+
+        valueField = createField(10, "Key to insert, delete, search or rank; index for select; start of a range");
+        insertBtn = createButton("Insert", new Color(39, 174, 96), 100, "Insert the key");
+        deleteBtn = createButton("Delete", new Color(231, 76, 60), 100, "Delete the key");
+        searchBtn = createButton("Search", new Color(52, 152, 219), 100, "Trace the search path for the key");
+        clearBtn = createButton("Clear All", new Color(231, 76, 60), 120, "Clear entire tree");
+
+        rangeToField = createField(6, "End of the range, inclusive");
+        rankBtn = createButton("Rank", new Color(142, 68, 173), 100, "Count the keys smaller than the value");
+        selectBtn = createButton("Select", new Color(142, 68, 173), 100, "Find the key at this 0-based index");
+        rangeBtn = createButton("Range", new Color(142, 68, 173), 100, "List the keys from the value to the end");
+
+        bulkSpinner = new JSpinner(new SpinnerNumberModel(31, 1, 500, 1));
+        bulkSpinner.setToolTipText("Bulk-load keys 1..n from sorted input");
+        bulkLoadBtn = createButton("Bulk Load", new Color(53, 162, 230), 110, "Build the tree from 1..n in O(n)");
+        splitBtn = createButton("Split", new Color(230, 126, 34), 100,
+                "Move the keys at or above the value into a second tree");
+        joinBtn = createButton("Join", new Color(230, 126, 34), 100, "Join the split-off keys back on");
+
+        playBtn = createButton("▶ Play", new Color(46, 204, 113), 80, "Play animation sequence");
+        pauseBtn = createButton("⏸ Pause", new Color(241, 196, 15), 80, "Pause current animation");
+        pauseBtn.setForeground(Color.BLACK);
+        stepBtn = createButton("⏭ Step", new Color(53, 106, 230), 80, "Execute next animation step");
+        resetBtn = createButton("🔄 Reset", new Color(149, 165, 166), 80, "Reset animation to beginning");
+
+        speedSlider = new JSlider(50, 3000, 1000);
+        speedSlider.setInverted(true); // Lower values = faster
+        speedSlider.setPreferredSize(new Dimension(400, 60));
+        speedSlider.setMajorTickSpacing(500);
+        speedSlider.setPaintTicks(true);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setBackground(Color.WHITE);
+
+        timelineScrubber = new TimelineScrubber(animationEngine);
+
+        statusLabel = new JLabel("Ready for balanced tree operations");
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+
+        stepLabel = new JLabel("Step: 0/0");
+        stepLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    private JTextField createField(int columns, String tooltip) {
+        JTextField field = new JTextField(columns);
+        field.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        field.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(52, 73, 94), 1),
+            BorderFactory.createEmptyBorder(5, 8, 5, 8)
+        ));
+        field.setToolTipText(tooltip);
+        return field;
+    }
+
+    private Button createButton(String text, Color color, int width, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(width, 40));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Balanced Tree Controls"));
+
+        // Structure row
+        add(new JLabel("Structure:"), "cell 0 0");
+        add(variantCombo, "cell 1 0");
+        add(compareBtn, "cell 2 0");
+
+        // Operations row
+        add(new JLabel("Operations:"), "cell 0 1");
+        add(valueField, "cell 1 1, split 4");
+        add(insertBtn, "cell 1 1");
+        add(deleteBtn, "cell 1 1");
+        add(searchBtn, "cell 1 1");
+        add(clearBtn, "cell 2 1");
+
+        // Order statistics row
+        add(new JLabel("Order:"), "cell 0 2");
+        add(rankBtn, "cell 1 2, split 5");
+        add(selectBtn, "cell 1 2");
+        add(rangeBtn, "cell 1 2");
+        add(new JLabel("to"), "cell 1 2");
+        add(rangeToField, "cell 1 2");
+
+        // Bulk operations row
+        add(new JLabel("Bulk:"), "cell 0 3");
+        add(bulkSpinner, "cell 1 3, split 4, w 70!");
+        add(bulkLoadBtn, "cell 1 3");
+        add(splitBtn, "cell 1 3");
+        add(joinBtn, "cell 1 3");
+
+        // Animation controls row
+        add(new JLabel("Animation:"), "cell 0 4");
+        add(playBtn, "cell 1 4");
+        add(pauseBtn, "cell 1 4");
+        add(stepBtn, "cell 1 4");
+        add(resetBtn, "cell 1 4");
+
+        // Speed control row
+        add(new JLabel("Speed:"), "cell 0 5");
+        add(speedSlider, "cell 1 5, span 2, grow");
+
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 6");
+        add(timelineScrubber, "cell 1 6, span 2, grow");
+
+        // Status row
+        add(statusLabel, "cell 0 7, span 2");
+        add(stepLabel, "cell 2 7");
+    }
+
+    private void setupListeners() {
+        variantCombo.addActionListener(e -> {
+            BalancedTreeAlgorithm.Variant variant = (BalancedTreeAlgorithm.Variant) variantCombo.getSelectedItem();
+            visualizer.setVariant(variant);
+            statusLabel.setText("Switched to " + variant);
+            updateAnimationControls();
+        });
+
+        compareBtn.addActionListener(e ->
+            new BalancedTreeCompareDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+
+        insertBtn.addActionListener(e -> withValue(value -> {
+            visualizer.insert(value);
+            statusLabel.setText("Inserting: " + value);
+            valueField.setText("");
+        }));
+
+        deleteBtn.addActionListener(e -> withValue(value -> {
+            visualizer.delete(value);
+            statusLabel.setText("Deleting: " + value);
+            valueField.setText("");
+        }));
+
+        searchBtn.addActionListener(e -> withValue(value -> {
+            visualizer.search(value);
+            statusLabel.setText("Searching: " + value);
+        }));
+
+        rankBtn.addActionListener(e -> withValue(value -> {
+            visualizer.rank(value);
+            statusLabel.setText("Rank of " + value);
+        }));
+
+        selectBtn.addActionListener(e -> withValue(index -> {
+            visualizer.select(index);
+            statusLabel.setText("Select index " + index);
+        }));
+
+        rangeBtn.addActionListener(e -> withValue(from -> {
+            try {
+                int to = Integer.parseInt(rangeToField.getText().trim());
+                visualizer.range(Math.min(from, to), Math.max(from, to));
+                statusLabel.setText("Range [" + Math.min(from, to) + ", " + Math.max(from, to) + "]");
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Enter the end of the range in the 'to' field");
+            }
+        }));
+
+        bulkLoadBtn.addActionListener(e -> {
+            int count = (Integer) bulkSpinner.getValue();
+            visualizer.bulkLoad(count);
+            statusLabel.setText("Bulk-loaded " + count + " keys");
+            updateAnimationControls();
+        });
+
+        splitBtn.addActionListener(e -> withValue(value -> {
+            visualizer.split(value);
+            statusLabel.setText("Split at " + value);
+        }));
+
+        joinBtn.addActionListener(e -> {
+            visualizer.join();
+            statusLabel.setText("Joined");
+            updateAnimationControls();
+        });
+
+        clearBtn.addActionListener(e -> {
+            visualizer.clear();
+            statusLabel.setText("Tree cleared");
+            updateAnimationControls();
+        });
+
+        // Animation controls
+        playBtn.addActionListener(e -> {
+            animationEngine.play();
+            statusLabel.setText("Playing...");
+        });
+
+        pauseBtn.addActionListener(e -> {
+            animationEngine.pause();
+            statusLabel.setText("Paused");
+        });
+
+        stepBtn.addActionListener(e -> {
+            animationEngine.nextStep();
+            statusLabel.setText("Step executed");
+        });
+
+        resetBtn.addActionListener(e -> {
+            animationEngine.reset();
+            statusLabel.setText("Reset");
+            updateAnimationControls();
+        });
+
+        speedSlider.addChangeListener(e -> {
+            animationEngine.setSpeed(speedSlider.getValue());
+        });
+
+        valueField.addActionListener(e -> insertBtn.doClick());
+
+        animationEngine.addListener(new AnimationEngine.AnimationListener() {
+            @Override
+            public void onStepChanged(int currentStep, int totalSteps) {
+                stepLabel.setText("Step: " + currentStep + "/" + totalSteps);
+                visualizer.repaint();
+            }
+
+            @Override
+            public void onPlayStateChanged(boolean isPlaying) {
+                playBtn.setEnabled(!isPlaying);
+                pauseBtn.setEnabled(isPlaying);
+                stepBtn.setEnabled(!isPlaying);
+
+                variantCombo.setEnabled(!isPlaying);
+                insertBtn.setEnabled(!isPlaying);
+                deleteBtn.setEnabled(!isPlaying);
+                searchBtn.setEnabled(!isPlaying);
+                rankBtn.setEnabled(!isPlaying);
+                selectBtn.setEnabled(!isPlaying);
+                rangeBtn.setEnabled(!isPlaying);
+                bulkLoadBtn.setEnabled(!isPlaying);
+                splitBtn.setEnabled(!isPlaying);
+                joinBtn.setEnabled(!isPlaying);
+                clearBtn.setEnabled(!isPlaying);
+            }
+
+            @Override
+            public void onAnimationComplete() {
+                statusLabel.setText("Operation completed!");
+            }
+
+            @Override
+            public void onReset() {
+                stepLabel.setText("Step: 0/0");
+                visualizer.repaint();
+            }
+        });
+    }
+
+    /**
+     * Parse the value field and run the operation, then refresh the animation buttons
+     */
+    private void withValue(IntConsumer operation) {
+        String valueStr = valueField.getText().trim();
+        if (valueStr.isEmpty()) return;
+
+        try {
+            operation.accept(Integer.parseInt(valueStr));
+            updateAnimationControls();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid integer");
+        }
+    }
+
+    private void updateAnimationControls() {
+        boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
+        playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
+        pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
+        stepBtn.setEnabled(hasSteps);
+        resetBtn.setEnabled(hasSteps);
+    }
+
+    public void loadDemo() {
+        visualizer.loadSample();
+        statusLabel.setText("Demo data loaded");
+        updateAnimationControls();
+    }
+}
@@ -0,0 +1,94 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Visual panel for the balanced tree family: the shared tree canvas for the
+ * binary variants, a level-by-level drawing for the B-tree
+ */
+public class BalancedTreePanel extends JPanel {
+    private static final String BINARY = "binary";
+    private static final String MULTIWAY = "multiway";
+
+    private final BalancedTreeAlgorithm trees;
+    private final CardLayout cards = new CardLayout();
+
+    public BalancedTreePanel(AnimationEngine animationEngine) {
+        this.trees = new BalancedTreeAlgorithm(animationEngine);
+
+        setLayout(cards);
+        add(new BinaryTreeView(trees, animationEngine), BINARY);
+        add(new BTreeView(trees, animationEngine), MULTIWAY);
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Balanced Trees Visualization"));
+    }
+
+    public void setVariant(BalancedTreeAlgorithm.Variant variant) {
+        trees.setVariant(variant);
+        cards.show(this, variant == BalancedTreeAlgorithm.Variant.B_TREE ? MULTIWAY : BINARY);
+        repaint();
+    }
+
+    public void insert(int key) {
+        trees.insert(key);
+        repaint();
+    }
+
+    public void delete(int key) {
+        trees.delete(key);
+        repaint();
+    }
+
+    public void search(int key) {
+        trees.search(key);
+        repaint();
+    }
+
+    public void rank(int key) {
+        trees.rank(key);
+        repaint();
+    }
+
+    public void select(int index) {
+        trees.select(index);
+        repaint();
+    }
+
+    public void range(int from, int to) {
+        trees.range(from, to);
+        repaint();
+    }
+
+    public void bulkLoad(int count) {
+        trees.bulkLoad(count);
+        repaint();
+    }
+
+    public void split(int key) {
+        trees.split(key);
+        repaint();
+    }
+
+    public void join() {
+        trees.join();
+        repaint();
+    }
+
+    public void clear() {
+        trees.clear();
+        repaint();
+    }
+
+    public void loadSample() {
+        trees.loadSample();
+        repaint();
+    }
+
+    public BalancedTreeAlgorithm getTrees() {
+        return trees;
+    }
+}
@@ -0,0 +1,105 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TreeCanvas;
+
+import java.awt.*;
+
+/**
+ * Red-black trees and treaps on the shared tree canvas
+ * Red-black nodes are filled with their colour; treap nodes show their
+ * priority, scaled to 0-99, under the key
+ */
+class BinaryTreeView extends TreeCanvas<Object> {
+    private static final int NODE_RADIUS = 18;
+    private static final Color BLACK_NODE = new Color(44, 62, 80);
+    private static final Color RED_NODE = new Color(231, 76, 60);
+    private static final Color TREAP_NODE = new Color(52, 152, 219);
+    private static final Color MARKED_COLOR = new Color(46, 204, 113);
+    private static final Color VISITED_RING = new Color(241, 196, 15);
+    private static final Color FOCUS_RING = new Color(230, 126, 34);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(2);
+    private static final BasicStroke RING_STROKE = new BasicStroke(4);
+    private static final Font KEY_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font PRIORITY_FONT = new Font("SansSerif", Font.PLAIN, 10);
+
+    private final BalancedTreeAlgorithm trees;
+    private final TreeOverlay overlay;
+
+    BinaryTreeView(BalancedTreeAlgorithm trees, AnimationEngine animationEngine) {
+        super(BalancedTreeAlgorithm::leftOf, BalancedTreeAlgorithm::rightOf, 2 * NODE_RADIUS + 8, 60, 60);
+        this.trees = trees;
+        this.overlay = new TreeOverlay(trees, animationEngine);
+        setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected Object getTreeRoot() {
+        return trees.getBinaryRoot();
+    }
+
+    @Override
+    protected int getTreeVersion() {
+        return trees.getModCount();
+    }
+
+    @Override
+    protected void drawEdge(Graphics2D g2d, int x1, int y1, int x2, int y2) {
+        g2d.setColor(Color.GRAY);
+        g2d.setStroke(EDGE_STROKE);
+        g2d.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    protected void drawNode(Graphics2D g2d, Object node, int x, int y, boolean baseLayer) {
+        int key = BalancedTreeAlgorithm.keyOf(node);
+        Color fill;
+        if (node instanceof RedBlackTree.Node) {
+            fill = ((RedBlackTree.Node) node).color == RedBlackTree.RED ? RED_NODE : BLACK_NODE;
+        } else {
+            fill = TREAP_NODE;
+        }
+        if (!baseLayer && trees.isMarked(key)) {
+            fill = MARKED_COLOR;
+        }
+        g2d.setColor(fill);
+        g2d.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+        if (!baseLayer && (trees.isFocus(node) || trees.isVisited(node))) {
+            g2d.setColor(trees.isFocus(node) ? FOCUS_RING : VISITED_RING);
+            g2d.setStroke(RING_STROKE);
+            g2d.drawOval(x - NODE_RADIUS - 3, y - NODE_RADIUS - 3, 2 * NODE_RADIUS + 6, 2 * NODE_RADIUS + 6);
+        }
+        if (!isDetailed()) {
+            return;
+        }
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(KEY_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        String text = String.valueOf(key);
+        g2d.drawString(text, x - fm.stringWidth(text) / 2, y + fm.getAscent() / 2 - 1);
+        if (node instanceof Treap.Node) {
+            int priority = (int) ((((long) ((Treap.Node) node).priority - Integer.MIN_VALUE) * 100) >>> 32);
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(PRIORITY_FONT);
+            String label = "p" + priority;
+            g2d.drawString(label, x - g2d.getFontMetrics().stringWidth(label) / 2, y + NODE_RADIUS + 12);
+        }
+    }
+
+    @Override
+    protected boolean isDecorated(Object node) {
+        return trees.isFocus(node) || trees.isVisited(node) || trees.isMarked(BalancedTreeAlgorithm.keyOf(node));
+    }
+
+    @Override
+    protected void drawEmptyTree(Graphics2D g2d) {
+        g2d.setColor(Color.GRAY);
+        g2d.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        g2d.drawString("Empty tree - insert keys, load the sample or bulk load", 20, 80);
+    }
+
+    @Override
+    protected void drawOverlay(Graphics2D g2d) {
+        overlay.draw(g2d, getWidth(), getHeight());
+    }
+}
@@ -0,0 +1,72 @@
+package com.raven.ds.modules.balanced;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted set of distinct ints with order statistics, shared by the balanced tree cores
+ * Rank and select run in O(height) from subtree sizes kept on every node
+ */
+public interface OrderedIntSet<T extends OrderedIntSet<T>> {
+    /**
+     * @return false if the key was already present
+     */
+    boolean insert(int key);
+
+    /**
+     * @return false if the key was not present
+     */
+    boolean delete(int key);
+
+    boolean contains(int key);
+
+    int size();
+
+    /**
+     * Edges on the longest root-to-leaf path, -1 for an empty set
+     */
+    int height();
+
+    /**
+     * Number of keys smaller than the given one, present or not
+     */
+    int rank(int key);
+
+    /**
+     * The key with the given rank, 0 for the smallest
+     */
+    int select(int index);
+
+    /**
+     * Visit the keys in [from, to] in ascending order
+     */
+    void range(int from, int to, IntConsumer action);
+
+    /**
+     * Number of keys in [from, to], from two rank queries
+     */
+    default int countRange(int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        int below = rank(from);
+        int upTo = to == Integer.MAX_VALUE ? size() : rank(to + 1);
+        return upTo - below;
+    }
+
+    /**
+     * Replace the contents with strictly ascending keys in O(n)
+     */
+    void bulkLoad(int[] sorted);
+
+    /**
+     * Keep the keys below the given one and move the rest into a new set
+     */
+    T split(int key);
+
+    /**
+     * Append every key of a set whose keys are all larger than this one's, leaving it empty
+     */
+    void join(T greater);
+
+    void clear();
+}
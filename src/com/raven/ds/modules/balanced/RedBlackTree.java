@@ -0,0 +1,592 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.OperationStats;
+import java.util.function.IntConsumer;
+
+/**
+ * Red-black tree with parent links and subtree sizes
+ * Insert and delete follow the usual bottom-up fix-ups, so each costs at
+ * most three rotations. join(L, x, R) walks down the spine of the taller tree
+ * to the black node whose black height matches the shorter one, hangs x there
+ * and repairs it like an insert; split peels the search path apart and
+ * re-joins the pieces, O(log^2 n) with black heights recounted per join. A
+ * sorted bulk load builds the perfectly balanced tree and colours only its
+ * partial bottom level red
+ */
+public class RedBlackTree implements OrderedIntSet<RedBlackTree> {
+    static final boolean RED = true;
+    static final boolean BLACK = false;
+
+    static final class Node {
+        int key;
+        boolean color = RED;
+        int size = 1;
+        Node left, right, parent;
+
+        Node(int key) {
+            this.key = key;
+        }
+    }
+
+    private final OperationStats stats;
+    private Node root;
+    // Second result of split(), kept in a field to avoid allocating a pair per level
+    private Node splitRight;
+    private long recolorings;
+
+    public RedBlackTree(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean insert(int key) {
+        Node parent = null;
+        Node current = root;
+        while (current != null) {
+            stats.comparison();
+            if (key == current.key) {
+                return false;
+            }
+            parent = current;
+            current = key < current.key ? current.left : current.right;
+        }
+        Node node = new Node(key);
+        node.parent = parent;
+        if (parent == null) {
+            root = node;
+        } else if (key < parent.key) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size++;
+        }
+        fixAfterInsertion(node);
+        return true;
+    }
+
+    @Override
+    public boolean delete(int key) {
+        Node node = find(key);
+        if (node == null) {
+            return false;
+        }
+        deleteNode(node);
+        return true;
+    }
+
+    private Node find(int key) {
+        Node current = root;
+        while (current != null) {
+            stats.comparison();
+            if (key == current.key) {
+                return current;
+            }
+            current = key < current.key ? current.left : current.right;
+        }
+        return null;
+    }
+
+    /**
+     * Unlink a node; one with two children takes its successor's key and the successor goes instead
+     */
+    private void deleteNode(Node node) {
+        if (node.left != null && node.right != null) {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node = successor;
+        }
+
+        Node replacement = node.left != null ? node.left : node.right;
+        if (replacement != null) {
+            replacement.parent = node.parent;
+            if (node.parent == null) {
+                root = replacement;
+            } else if (node == node.parent.left) {
+                node.parent.left = replacement;
+            } else {
+                node.parent.right = replacement;
+            }
+            shrinkAncestors(replacement.parent);
+            node.left = node.right = node.parent = null;
+            if (node.color == BLACK) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (node.parent == null) {
+            root = null;
+        } else {
+            // No children: the node stands in for the missing leaf during the fix-up, then leaves
+            if (node.color == BLACK) {
+                fixAfterDeletion(node);
+            }
+            Node parent = node.parent;
+            if (parent != null) {
+                if (node == parent.left) {
+                    parent.left = null;
+                } else {
+                    parent.right = null;
+                }
+                node.parent = null;
+                shrinkAncestors(parent);
+            }
+        }
+    }
+
+    private static void shrinkAncestors(Node node) {
+        for (; node != null; node = node.parent) {
+            node.size--;
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        return node == null ? -1 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    @Override
+    public int rank(int key) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            stats.comparison();
+            if (key <= current.key) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public int select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " outside 0.." + (size() - 1));
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            stats.comparison();
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.key;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    @Override
+    public void range(int from, int to, IntConsumer action) {
+        range(root, from, to, action);
+    }
+
+    private void range(Node node, int from, int to, IntConsumer action) {
+        while (node != null) {
+            stats.comparison();
+            if (node.key < from) {
+                node = node.right;
+            } else if (node.key > to) {
+                node = node.left;
+            } else {
+                range(node.left, from, to, action);
+                action.accept(node.key);
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public void bulkLoad(int[] sorted) {
+        SortedKeys.requireAscending(sorted);
+        int n = sorted.length;
+        // A perfect tree stays all black; otherwise its deepest, partial level goes red
+        int redDepth = Integer.bitCount(n + 1) == 1 ? -1 : 31 - Integer.numberOfLeadingZeros(Math.max(1, n));
+        root = build(sorted, 0, n - 1, 0, redDepth, null);
+    }
+
+    private static Node build(int[] sorted, int lo, int hi, int depth, int redDepth, Node parent) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(sorted[mid]);
+        node.parent = parent;
+        node.color = depth == redDepth ? RED : BLACK;
+        node.left = build(sorted, lo, mid - 1, depth + 1, redDepth, node);
+        node.right = build(sorted, mid + 1, hi, depth + 1, redDepth, node);
+        node.size = hi - lo + 1;
+        return node;
+    }
+
+    @Override
+    public RedBlackTree split(int key) {
+        RedBlackTree greater = new RedBlackTree(stats);
+        Node left = split(root, key);
+        Node right = splitRight;
+        splitRight = null;
+        root = left;
+        greater.root = right;
+        return greater;
+    }
+
+    @Override
+    public void join(RedBlackTree greater) {
+        if (greater == this || greater.root == null) {
+            return;
+        }
+        if (root == null) {
+            root = greater.root;
+            greater.root = null;
+            return;
+        }
+        Node min = greater.root;
+        while (min.left != null) {
+            min = min.left;
+        }
+        Node max = root;
+        while (max.right != null) {
+            max = max.right;
+        }
+        SortedKeys.requireBefore(max.key, min.key);
+        // The smallest node of the right tree becomes the joining node
+        greater.deleteNode(min);
+        Node right = greater.root;
+        greater.root = null;
+        min.left = min.right = min.parent = null;
+        min.size = 1;
+        root = join(root, min, right);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Split a detached subtree into keys below the given one, returned, and the rest, left in splitRight
+     */
+    private Node split(Node node, int key) {
+        if (node == null) {
+            splitRight = null;
+            return null;
+        }
+        Node left = detach(node.left);
+        Node right = detach(node.right);
+        node.left = node.right = null;
+        node.size = 1;
+        stats.comparison();
+        if (node.key < key) {
+            Node lower = split(right, key);
+            Node upper = splitRight;
+            Node joined = join(left, node, lower);
+            splitRight = upper;
+            return joined;
+        }
+        Node lower = split(left, key);
+        splitRight = join(splitRight, node, right);
+        return lower;
+    }
+
+    /**
+     * A child cut loose from its parent; a red root turns black, which keeps it a valid tree
+     */
+    private Node detach(Node node) {
+        if (node != null) {
+            node.parent = null;
+            if (node.color == RED) {
+                node.color = BLACK;
+                recolorings++;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Join detached trees left < middle < right; returns the new root
+     */
+    private Node join(Node left, Node middle, Node right) {
+        detach(left);
+        detach(right);
+        int leftHeight = blackHeight(left);
+        int rightHeight = blackHeight(right);
+        Node saved = root;
+        if (leftHeight == rightHeight) {
+            middle.left = left;
+            middle.right = right;
+            middle.parent = null;
+            middle.color = BLACK;
+            middle.size = 1 + size(left) + size(right);
+            if (left != null) left.parent = middle;
+            if (right != null) right.parent = middle;
+            return middle;
+        }
+
+        Node attach;
+        Node replaced;
+        if (leftHeight > rightHeight) {
+            // Down the right spine to the black node as tall as the right tree
+            Node current = left;
+            int height = leftHeight;
+            Node parent = null;
+            while (current != null && !(current.color == BLACK && height == rightHeight)) {
+                if (current.color == BLACK) {
+                    height--;
+                }
+                parent = current;
+                current = current.right;
+            }
+            middle.left = current;
+            middle.right = right;
+            parent.right = middle;
+            replaced = current;
+            attach = parent;
+            root = left;
+        } else {
+            Node current = right;
+            int height = rightHeight;
+            Node parent = null;
+            while (current != null && !(current.color == BLACK && height == leftHeight)) {
+                if (current.color == BLACK) {
+                    height--;
+                }
+                parent = current;
+                current = current.left;
+            }
+            middle.left = left;
+            middle.right = current;
+            parent.left = middle;
+            replaced = current;
+            attach = parent;
+            root = right;
+        }
+        middle.parent = attach;
+        middle.color = RED;
+        if (middle.left != null) middle.left.parent = middle;
+        if (middle.right != null) middle.right.parent = middle;
+        middle.size = 1 + size(middle.left) + size(middle.right);
+        // The spine above gains everything in the new subtree except the part it already held
+        int added = middle.size - size(replaced);
+        for (Node ancestor = attach; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size += added;
+        }
+        fixAfterInsertion(middle);
+        Node joined = root;
+        root = saved;
+        return joined;
+    }
+
+    private static int blackHeight(Node node) {
+        int height = 0;
+        for (; node != null; node = node.left) {
+            if (node.color == BLACK) {
+                height++;
+            }
+        }
+        return height;
+    }
+
+    private void fixAfterInsertion(Node x) {
+        while (x != root && colorOf(x.parent) == RED) {
+            Node parent = x.parent;
+            Node grandparent = parent.parent;
+            if (parent == grandparent.left) {
+                Node uncle = grandparent.right;
+                if (colorOf(uncle) == RED) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    x = grandparent;
+                } else {
+                    if (x == parent.right) {
+                        x = parent;
+                        rotateLeft(x);
+                    }
+                    setColor(x.parent, BLACK);
+                    setColor(x.parent.parent, RED);
+                    rotateRight(x.parent.parent);
+                }
+            } else {
+                Node uncle = grandparent.left;
+                if (colorOf(uncle) == RED) {
+                    setColor(parent, BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(grandparent, RED);
+                    x = grandparent;
+                } else {
+                    if (x == parent.left) {
+                        x = parent;
+                        rotateRight(x);
+                    }
+                    setColor(x.parent, BLACK);
+                    setColor(x.parent.parent, RED);
+                    rotateLeft(x.parent.parent);
+                }
+            }
+        }
+        setColor(root, BLACK);
+    }
+
+    private void fixAfterDeletion(Node x) {
+        while (x != root && colorOf(x) == BLACK) {
+            if (x == leftOf(parentOf(x))) {
+                Node sibling = rightOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateLeft(parentOf(x));
+                    sibling = rightOf(parentOf(x));
+                }
+                if (colorOf(leftOf(sibling)) == BLACK && colorOf(rightOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(rightOf(sibling)) == BLACK) {
+                        setColor(leftOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = rightOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(rightOf(sibling), BLACK);
+                    rotateLeft(parentOf(x));
+                    x = root;
+                }
+            } else {
+                Node sibling = leftOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateRight(parentOf(x));
+                    sibling = leftOf(parentOf(x));
+                }
+                if (colorOf(rightOf(sibling)) == BLACK && colorOf(leftOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(leftOf(sibling)) == BLACK) {
+                        setColor(rightOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = leftOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(leftOf(sibling), BLACK);
+                    rotateRight(parentOf(x));
+                    x = root;
+                }
+            }
+        }
+        setColor(x, BLACK);
+    }
+
+    private void rotateLeft(Node x) {
+        stats.rotation();
+        Node y = x.right;
+        x.right = y.left;
+        if (y.left != null) {
+            y.left.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == null) {
+            root = y;
+        } else if (x == x.parent.left) {
+            x.parent.left = y;
+        } else {
+            x.parent.right = y;
+        }
+        y.left = x;
+        x.parent = y;
+        y.size = x.size;
+        x.size = 1 + size(x.left) + size(x.right);
+    }
+
+    private void rotateRight(Node x) {
+        stats.rotation();
+        Node y = x.left;
+        x.left = y.right;
+        if (y.right != null) {
+            y.right.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == null) {
+            root = y;
+        } else if (x == x.parent.right) {
+            x.parent.right = y;
+        } else {
+            x.parent.left = y;
+        }
+        y.right = x;
+        x.parent = y;
+        y.size = x.size;
+        x.size = 1 + size(x.left) + size(x.right);
+    }
+
+    private void setColor(Node node, boolean color) {
+        if (node != null && node.color != color) {
+            node.color = color;
+            recolorings++;
+        }
+    }
+
+    private static boolean colorOf(Node node) {
+        return node == null ? BLACK : node.color;
+    }
+
+    private static Node parentOf(Node node) {
+        return node == null ? null : node.parent;
+    }
+
+    private static Node leftOf(Node node) {
+        return node == null ? null : node.left;
+    }
+
+    private static Node rightOf(Node node) {
+        return node == null ? null : node.right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Colour flips since construction, the work rotations do not show
+     */
+    public long getRecolorings() {
+        return recolorings;
+    }
+
+    /**
+     * Black nodes on every path from the root down to a missing child
+     */
+    public int blackHeight() {
+        return blackHeight(root);
+    }
+
+    Node getRoot() {
+        return root;
+    }
+}
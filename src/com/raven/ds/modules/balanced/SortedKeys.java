@@ -0,0 +1,25 @@
+package com.raven.ds.modules.balanced;
+
+/**
+ * Argument checks shared by the bulk loads and joins
+ */
+final class SortedKeys {
+    private SortedKeys() {
+    }
+
+    static void requireAscending(int[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("Bulk load needs strictly ascending keys, found "
+                        + keys[i - 1] + " before " + keys[i]);
+            }
+        }
+    }
+
+    static void requireBefore(int max, int min) {
+        if (max >= min) {
+            throw new IllegalArgumentException("Join needs every key of the second set above the first set's, found "
+                    + max + " and " + min);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.OperationStats;
+import java.util.function.IntConsumer;
+
+/**
+ * Treap: a binary search tree on keys that is also a max-heap on random priorities
+ * Every update is a split or a merge along one path, so insert, delete, split
+ * and join all cost expected O(log n), with no rotations to count. A sorted
+ * bulk load builds the Cartesian tree of fresh priorities with a stack in O(n)
+ */
+public class Treap implements OrderedIntSet<Treap> {
+    static final class Node {
+        final int key;
+        final int priority;
+        int size = 1;
+        Node left, right;
+
+        Node(int key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    private final OperationStats stats;
+    private Node root;
+    // xorshift state; fixed seed so runs are repeatable
+    private int seed;
+    // Second result of split(), kept in a field to avoid allocating a pair per level
+    private Node splitRight;
+
+    public Treap(OperationStats stats) {
+        this(stats, 0x2545F491);
+    }
+
+    public Treap(OperationStats stats, int seed) {
+        this.stats = stats;
+        this.seed = seed == 0 ? 1 : seed;
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    @Override
+    public boolean insert(int key) {
+        if (contains(key)) {
+            return false;
+        }
+        Node node = new Node(key, nextPriority());
+        // Walk down while the existing nodes outrank the new one, then split below it
+        Node parent = null;
+        Node current = root;
+        while (current != null && current.priority >= node.priority) {
+            current.size++;
+            parent = current;
+            stats.comparison();
+            current = key < current.key ? current.left : current.right;
+        }
+        node.left = split(current, key);
+        node.right = splitRight;
+        node.size = 1 + size(node.left) + size(node.right);
+        if (parent == null) {
+            root = node;
+        } else if (key < parent.key) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean delete(int key) {
+        if (!contains(key)) {
+            return false;
+        }
+        Node parent = null;
+        Node current = root;
+        while (true) {
+            stats.comparison();
+            if (key == current.key) {
+                break;
+            }
+            current.size--;
+            parent = current;
+            current = key < current.key ? current.left : current.right;
+        }
+        Node replacement = merge(current.left, current.right);
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == current) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        Node current = root;
+        while (current != null) {
+            stats.comparison();
+            if (key == current.key) {
+                return true;
+            }
+            current = key < current.key ? current.left : current.right;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        return node == null ? -1 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    @Override
+    public int rank(int key) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            stats.comparison();
+            if (key <= current.key) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public int select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " outside 0.." + (size() - 1));
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            stats.comparison();
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.key;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    @Override
+    public void range(int from, int to, IntConsumer action) {
+        range(root, from, to, action);
+    }
+
+    private void range(Node node, int from, int to, IntConsumer action) {
+        while (node != null) {
+            stats.comparison();
+            if (node.key < from) {
+                node = node.right;
+            } else if (node.key > to) {
+                node = node.left;
+            } else {
+                range(node.left, from, to, action);
+                action.accept(node.key);
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public void bulkLoad(int[] sorted) {
+        SortedKeys.requireAscending(sorted);
+        // Right spine of the Cartesian tree built so far; each key pops the
+        // lower-priority nodes off it and adopts the last one as its left child
+        Node[] spine = new Node[Math.max(1, sorted.length)];
+        int depth = 0;
+        for (int key : sorted) {
+            Node node = new Node(key, nextPriority());
+            Node last = null;
+            while (depth > 0 && spine[depth - 1].priority < node.priority) {
+                last = spine[--depth];
+                last.size = 1 + size(last.left) + size(last.right);
+            }
+            node.left = last;
+            if (depth > 0) {
+                spine[depth - 1].right = node;
+            }
+            spine[depth++] = node;
+        }
+        while (depth > 0) {
+            Node node = spine[--depth];
+            node.size = 1 + size(node.left) + size(node.right);
+        }
+        root = sorted.length == 0 ? null : spine[0];
+    }
+
+    @Override
+    public Treap split(int key) {
+        Treap greater = new Treap(stats, nextPriority());
+        root = split(root, key);
+        greater.root = splitRight;
+        splitRight = null;
+        return greater;
+    }
+
+    @Override
+    public void join(Treap greater) {
+        if (greater == this || greater.root == null) {
+            return;
+        }
+        if (root != null) {
+            SortedKeys.requireBefore(max(root), min(greater.root));
+        }
+        root = merge(root, greater.root);
+        greater.root = null;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Split into keys below the given one, returned, and the rest, left in splitRight
+     */
+    private Node split(Node node, int key) {
+        if (node == null) {
+            splitRight = null;
+            return null;
+        }
+        stats.comparison();
+        if (node.key < key) {
+            node.right = split(node.right, key);
+            update(node);
+            return node;
+        }
+        Node left = split(node.left, key);
+        node.left = splitRight;
+        update(node);
+        splitRight = node;
+        return left;
+    }
+
+    /**
+     * Merge two treaps whose keys are all smaller in the first
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int min(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.key;
+    }
+
+    private static int max(Node node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.key;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    Node getRoot() {
+        return root;
+    }
+}
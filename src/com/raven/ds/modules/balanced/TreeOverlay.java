@@ -0,0 +1,62 @@
+package com.raven.ds.modules.balanced;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Title, shape line and step explanation drawn over both tree views
+ */
+class TreeOverlay {
+    static final Color TEXT_COLOR = new Color(52, 73, 94);
+    private static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 16);
+    private static final Font INFO_FONT = new Font("SansSerif", Font.PLAIN, 12);
+
+    private final BalancedTreeAlgorithm trees;
+    private final AnimationEngine animationEngine;
+    // Explanation renderer, re-laid out only when the text changes
+    private final JLabel explanation = new JLabel();
+    private String explanationText;
+
+    TreeOverlay(BalancedTreeAlgorithm trees, AnimationEngine animationEngine) {
+        this.trees = trees;
+        this.animationEngine = animationEngine;
+        explanation.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        explanation.setForeground(TEXT_COLOR);
+        explanation.setVerticalAlignment(SwingConstants.TOP);
+    }
+
+    void draw(Graphics2D g2d, int width, int height) {
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(TITLE_FONT);
+        g2d.drawString(trees.getVariant().toString(), 15, 22);
+
+        g2d.setFont(INFO_FONT);
+        String info = "n = " + trees.getSize() + "   height = " + trees.getHeight();
+        int splitOff = trees.getSplitOffSize();
+        if (splitOff >= 0) {
+            info += "   (" + splitOff + " keys split off, waiting for Join)";
+        }
+        g2d.drawString(info, 15, height - 12);
+
+        String text = animationEngine.getCurrentStepDescription();
+        if (text == null || text.isEmpty()) return;
+        if (!text.equals(explanationText)) {
+            explanationText = text;
+            explanation.setText("<html><body style='width: 300px'>" + text + "</body></html>");
+            explanation.setSize(explanation.getPreferredSize());
+        }
+        Dimension size = explanation.getSize();
+        int x = width - size.width - 20;
+        int y = 20;
+        g2d.setColor(new Color(255, 255, 255, 240));
+        g2d.fillRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.setColor(TEXT_COLOR);
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.translate(x, y);
+        explanation.paint(g2d);
+        g2d.translate(-x, -y);
+    }
+}
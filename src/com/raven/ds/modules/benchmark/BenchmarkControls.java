@@ -0,0 +1,147 @@
+package com.raven.ds.modules.benchmark;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Control panel for the complexity benchmark: pick an experiment, set warm-up
+ * and trial counts, and stream the measured points into the chart
+ */
+public class BenchmarkControls extends JPanel {
+    private BenchmarkPanel visualizer;
+    private BenchmarkRunner runner = new BenchmarkRunner();
+    
+    private JComboBox<Experiment> experimentCombo;
+    private JSpinner warmupSpinner;
+    private JSpinner trialSpinner;
+    private Button runBtn;
+    private Button stopBtn;
+    private JLabel statusLabel;
+    private JLabel pointLabel;
+    
+    public BenchmarkControls(BenchmarkPanel visualizer) {
+        this.visualizer = visualizer;
+        
+        initComponents();
+        setupLayout();
+        setupListeners();
+        
+        visualizer.setExperiment((Experiment) experimentCombo.getSelectedItem());
+    }
+    
+    private void initComponents() {
+        experimentCombo = new JComboBox<>(Experiment.createDefaults().toArray(new Experiment[0]));
+        experimentCombo.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        
+        warmupSpinner = new JSpinner(new SpinnerNumberModel(2, 0, 10, 1));
+        warmupSpinner.setToolTipText("Untimed runs per size that let the JIT compiler settle");
+        
+        trialSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 15, 1));
+        trialSpinner.setToolTipText("Timed runs per size; the median is plotted");
+        
+        runBtn = new Button();
+        runBtn.setText("▶ Run");
+        runBtn.setBackground(new Color(39, 174, 96)); // Green
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(120, 40));
+        runBtn.setToolTipText("Measure the selected experiment across all input sizes");
+        
+        stopBtn = new Button();
+        stopBtn.setText("⏹ Stop");
+        stopBtn.setBackground(new Color(231, 76, 60)); // Red
+        stopBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        stopBtn.setForeground(Color.WHITE);
+        stopBtn.setPreferredSize(new Dimension(120, 40));
+        stopBtn.setToolTipText("Stop after the current measurement");
+        stopBtn.setEnabled(false);
+        
+        statusLabel = new JLabel("Ready to measure");
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        
+        pointLabel = new JLabel(" ");
+        pointLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+    
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Benchmark Controls"));
+        
+        // Experiment row
+        add(new JLabel("Experiment:"), "cell 0 0");
+        add(experimentCombo, "cell 1 0, growx");
+        add(runBtn, "cell 2 0, split 2");
+        add(stopBtn, "cell 2 0");
+        
+        // Trial settings row
+        add(new JLabel("Warm-up runs:"), "cell 0 1");
+        add(warmupSpinner, "cell 1 1, split 3");
+        add(new JLabel("Timed trials:"), "cell 1 1, gapleft 20");
+        add(trialSpinner, "cell 1 1");
+        
+        // Status row
+        add(statusLabel, "cell 0 2, span 2");
+        add(pointLabel, "cell 2 2");
+    }
+    
+    private void setupListeners() {
+        experimentCombo.addActionListener(e -> {
+            runner.cancel();
+            visualizer.setExperiment((Experiment) experimentCombo.getSelectedItem());
+            setRunning(false);
+            statusLabel.setText("Ready to measure");
+            pointLabel.setText(" ");
+        });
+        
+        runBtn.addActionListener(e -> {
+            Experiment experiment = (Experiment) experimentCombo.getSelectedItem();
+            visualizer.setExperiment(experiment);
+            setRunning(true);
+            statusLabel.setText("Measuring " + experiment.getName() + "...");
+            runner.start(experiment, (Integer) warmupSpinner.getValue(), (Integer) trialSpinner.getValue(),
+                new BenchmarkRunner.Listener() {
+                    @Override
+                    public void onPoint(BenchmarkScenario scenario, int n, double millis, OperationStats stats) {
+                        visualizer.addPoint(scenario, n, millis);
+                        pointLabel.setText(scenario.getName() + ", n=" + n + ": " +
+                                BenchmarkPanel.formatMillis(millis));
+                        // The operation counts of the latest point, on hover
+                        pointLabel.setToolTipText(stats.toString());
+                    }
+                    
+                    @Override
+                    public void onScenarioStopped(BenchmarkScenario scenario, int n) {
+                        visualizer.markStopped(scenario);
+                    }
+                    
+                    @Override
+                    public void onFinished() {
+                        setRunning(false);
+                        statusLabel.setText("Done. Dashed lines show the fitted theoretical curves");
+                    }
+                    
+                    @Override
+                    public void onError(Exception ex) {
+                        setRunning(false);
+                        statusLabel.setText("Benchmark failed: " + ex.getMessage());
+                    }
+                });
+        });
+        
+        stopBtn.addActionListener(e -> {
+            runner.cancel();
+            setRunning(false);
+            statusLabel.setText("Stopped");
+        });
+    }
+    
+    private void setRunning(boolean running) {
+        runBtn.setEnabled(!running);
+        stopBtn.setEnabled(running);
+    }
+}
@@ -0,0 +1,136 @@
+package com.raven.ds.modules.benchmark;
+
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the benchmark view and the JMH suite
+ * ADVERSARIAL means the classic worst case for the structure under test:
+ * descending keys (degenerate BST, every min-heap insert sifts to the root),
+ * hash keys that all collide under the chosen function, and graphs whose
+ * edge order forces Bellman-Ford through every pass
+ */
+public final class BenchmarkInputs {
+    public static final long SEED = 42;
+
+    public enum Distribution {
+        SORTED, RANDOM, ADVERSARIAL
+    }
+
+    private BenchmarkInputs() {
+    }
+
+    public static int[] ints(Distribution distribution, int n) {
+        int[] values = new int[n];
+        switch (distribution) {
+            case SORTED:
+                for (int i = 0; i < n; i++) {
+                    values[i] = i;
+                }
+                break;
+            case ADVERSARIAL:
+                for (int i = 0; i < n; i++) {
+                    values[i] = n - i;
+                }
+                break;
+            default:
+                Random random = new Random(SEED);
+                for (int i = 0; i < n; i++) {
+                    values[i] = random.nextInt();
+                }
+        }
+        return values;
+    }
+
+    /**
+     * Distinct string keys; the adversarial set shares one hash value under
+     * String.hashCode or DJBX33A. The seeded byte hashes have no such cheap
+     * collision set, so for them it is just another set of similar keys
+     */
+    public static String[] keys(Distribution distribution, HashFunction function, int n) {
+        String[] keys = new String[n];
+        if (distribution == Distribution.ADVERSARIAL) {
+            // Two-character blocks with equal hash contribution, so every
+            // concatenation of the same length collides:
+            // "Aa"/"BB" for String.hashCode (x31), "Ab"/"BA" for DJBX33A (x33)
+            String[] blocks = function == HashFunction.DJBX33A
+                    ? new String[] {"Ab", "BA"} : new String[] {"Aa", "BB"};
+            int length = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1)));
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                key.setLength(0);
+                for (int bit = length - 1; bit >= 0; bit--) {
+                    key.append(blocks[(i >>> bit) & 1]);
+                }
+                keys[i] = key.toString();
+            }
+            return keys;
+        }
+        int[] ids = ints(distribution, n);
+        if (distribution == Distribution.RANDOM) {
+            // Random ints may repeat; index them to keep keys distinct
+            for (int i = 0; i < n; i++) {
+                keys[i] = "key" + ids[i] + "#" + i;
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                keys[i] = "key" + ids[i];
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * A path 0 -> 1 -> ... -> n-1 of unit edges plus (degree - 1) heavier
+     * random edges per node. SORTED lists the path edges first in path order
+     * (Bellman-Ford settles in one pass), ADVERSARIAL lists them in reverse
+     * (one pass per node) and RANDOM shuffles everything
+     */
+    public static CompactGraph graph(Distribution distribution, int n, int degree) {
+        Random random = new Random(SEED);
+        int m = (n - 1) + n * (degree - 1);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int e = 0;
+        for (int v = 0; v < n - 1; v++) {
+            int slot = distribution == Distribution.ADVERSARIAL ? n - 2 - v : v;
+            from[slot] = v;
+            to[slot] = v + 1;
+            weight[slot] = 1;
+            e++;
+        }
+        for (int v = 0; v < n; v++) {
+            for (int k = 1; k < degree; k++) {
+                from[e] = v;
+                to[e] = random.nextInt(n);
+                // Heavier than any path detour, so Dijkstra pushes entries that later go stale
+                weight[e] = n + random.nextInt(n);
+                e++;
+            }
+        }
+        if (distribution == Distribution.RANDOM) {
+            for (int i = m - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                swap(from, i, j);
+                swap(to, i, j);
+                swap(weight, i, j);
+            }
+        }
+        return new CompactGraph(n, from, to, weight);
+    }
+
+    public static int[] sortedCopy(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
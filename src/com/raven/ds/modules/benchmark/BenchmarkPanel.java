@@ -0,0 +1,280 @@
+package com.raven.ds.modules.benchmark;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Log-log chart of measured runtimes against input size
+ * Each scenario gets its measured polyline plus a dashed theoretical curve
+ * whose constant is fitted to the points measured so far
+ */
+public class BenchmarkPanel extends JPanel {
+    private static final int LEFT = 80;
+    private static final int RIGHT = 30;
+    private static final int TOP = 90;
+    private static final int BOTTOM = 50;
+    
+    private Experiment experiment;
+    private final Map<BenchmarkScenario, List<double[]>> points = new LinkedHashMap<>();
+    private final Set<BenchmarkScenario> stopped = new HashSet<>();
+    
+    private Font titleFont = new Font("SansSerif", Font.BOLD, 16);
+    private Font infoFont = new Font("SansSerif", Font.PLAIN, 12);
+    private Stroke measuredStroke = new BasicStroke(2.5f);
+    private Stroke theoryStroke = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+            10f, new float[] {6f, 5f}, 0f);
+    
+    public BenchmarkPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Complexity Benchmark"));
+    }
+    
+    public void setExperiment(Experiment experiment) {
+        this.experiment = experiment;
+        clear();
+    }
+    
+    public void clear() {
+        points.clear();
+        stopped.clear();
+        if (experiment != null) {
+            for (BenchmarkScenario scenario : experiment.getScenarios()) {
+                points.put(scenario, new ArrayList<>());
+            }
+        }
+        repaint();
+    }
+    
+    public void addPoint(BenchmarkScenario scenario, int n, double millis) {
+        List<double[]> series = points.get(scenario);
+        if (series == null) {
+            return;
+        }
+        // Timer resolution can report zero for the smallest inputs
+        series.add(new double[] {n, Math.max(millis, 1e-4)});
+        repaint();
+    }
+    
+    public void markStopped(BenchmarkScenario scenario) {
+        stopped.add(scenario);
+        repaint();
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        
+        drawTitle(g2d);
+        if (experiment == null) {
+            g2d.setFont(infoFont);
+            g2d.setColor(new Color(127, 140, 141));
+            g2d.drawString("Choose an experiment and press Run to measure it on this machine", 20, 70);
+            return;
+        }
+        
+        Rectangle plot = new Rectangle(LEFT, TOP, getWidth() - LEFT - RIGHT, getHeight() - TOP - BOTTOM);
+        if (plot.width <= 0 || plot.height <= 0) {
+            return;
+        }
+        int[] sizes = experiment.getSizes();
+        double minX = Math.log10(sizes[0]);
+        double maxX = Math.log10(sizes[sizes.length - 1]);
+        double[] yRange = yRange();
+        
+        drawAxes(g2d, plot, minX, maxX, yRange[0], yRange[1]);
+        
+        Shape oldClip = g2d.getClip();
+        g2d.clip(plot);
+        for (Map.Entry<BenchmarkScenario, List<double[]>> entry : points.entrySet()) {
+            drawTheory(g2d, plot, entry.getKey(), entry.getValue(), minX, maxX, yRange[0], yRange[1]);
+            drawMeasured(g2d, plot, entry.getKey(), entry.getValue(), minX, maxX, yRange[0], yRange[1]);
+        }
+        g2d.setClip(oldClip);
+        
+        drawLegend(g2d, plot);
+    }
+    
+    private void drawTitle(Graphics2D g2d) {
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.setFont(titleFont);
+        g2d.drawString(experiment != null ? experiment.getName() : "Measured Complexity", 20, 40);
+        if (experiment != null) {
+            g2d.setFont(infoFont);
+            g2d.setColor(new Color(85, 85, 85));
+            g2d.drawString(experiment.getDescription(), 20, 58);
+        }
+    }
+    
+    /**
+     * Whole decades (log10 of milliseconds) around every measured point
+     */
+    private double[] yRange() {
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (List<double[]> series : points.values()) {
+            for (double[] point : series) {
+                min = Math.min(min, Math.log10(point[1]));
+                max = Math.max(max, Math.log10(point[1]));
+            }
+        }
+        if (min > max) {
+            return new double[] {-2, 3};
+        }
+        min = Math.floor(min);
+        max = Math.ceil(max);
+        if (max - min < 1) {
+            max = min + 1;
+        }
+        return new double[] {min, max};
+    }
+    
+    private void drawAxes(Graphics2D g2d, Rectangle plot, double minX, double maxX, double minY, double maxY) {
+        g2d.setFont(infoFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        
+        for (int decade = (int) Math.ceil(minX); decade <= (int) Math.floor(maxX); decade++) {
+            int x = toScreenX(plot, decade, minX, maxX);
+            g2d.setColor(new Color(236, 240, 241));
+            g2d.drawLine(x, plot.y, x, plot.y + plot.height);
+            g2d.setColor(new Color(85, 85, 85));
+            String label = formatSize(Math.pow(10, decade));
+            g2d.drawString(label, x - fm.stringWidth(label) / 2, plot.y + plot.height + 18);
+        }
+        for (int decade = (int) minY; decade <= (int) maxY; decade++) {
+            int y = toScreenY(plot, decade, minY, maxY);
+            g2d.setColor(new Color(236, 240, 241));
+            g2d.drawLine(plot.x, y, plot.x + plot.width, y);
+            g2d.setColor(new Color(85, 85, 85));
+            String label = formatMillis(Math.pow(10, decade));
+            g2d.drawString(label, plot.x - fm.stringWidth(label) - 8, y + 4);
+        }
+        
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.drawRect(plot.x, plot.y, plot.width, plot.height);
+        String xTitle = "input size n (log scale)";
+        g2d.drawString(xTitle, plot.x + (plot.width - fm.stringWidth(xTitle)) / 2, plot.y + plot.height + 38);
+        g2d.drawString("time", 20, plot.y - 8);
+    }
+    
+    private void drawMeasured(Graphics2D g2d, Rectangle plot, BenchmarkScenario scenario, List<double[]> series,
+                              double minX, double maxX, double minY, double maxY) {
+        if (series.isEmpty()) {
+            return;
+        }
+        Path2D path = new Path2D.Double();
+        for (int i = 0; i < series.size(); i++) {
+            double x = toScreenX(plot, Math.log10(series.get(i)[0]), minX, maxX);
+            double y = toScreenY(plot, Math.log10(series.get(i)[1]), minY, maxY);
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        g2d.setColor(scenario.getColor());
+        g2d.setStroke(measuredStroke);
+        g2d.draw(path);
+        for (double[] point : series) {
+            int x = toScreenX(plot, Math.log10(point[0]), minX, maxX);
+            int y = toScreenY(plot, Math.log10(point[1]), minY, maxY);
+            g2d.fillOval(x - 4, y - 4, 8, 8);
+        }
+        g2d.setStroke(new BasicStroke(1));
+    }
+    
+    private void drawTheory(Graphics2D g2d, Rectangle plot, BenchmarkScenario scenario, List<double[]> series,
+                            double minX, double maxX, double minY, double maxY) {
+        if (series.isEmpty()) {
+            return;
+        }
+        // Least squares in log space: log c = mean(log t - log f(n))
+        BenchmarkScenario.Complexity complexity = scenario.getComplexity();
+        double logConstant = 0;
+        for (double[] point : series) {
+            logConstant += Math.log10(point[1]) - Math.log10(complexity.evaluate(point[0]));
+        }
+        logConstant /= series.size();
+        
+        Path2D path = new Path2D.Double();
+        int samples = 50;
+        for (int i = 0; i <= samples; i++) {
+            double logN = minX + (maxX - minX) * i / samples;
+            double logT = logConstant + Math.log10(complexity.evaluate(Math.pow(10, logN)));
+            double x = toScreenX(plot, logN, minX, maxX);
+            double y = toScreenY(plot, logT, minY, maxY);
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        Color color = scenario.getColor();
+        g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 140));
+        g2d.setStroke(theoryStroke);
+        g2d.draw(path);
+        g2d.setStroke(new BasicStroke(1));
+    }
+    
+    private void drawLegend(Graphics2D g2d, Rectangle plot) {
+        g2d.setFont(infoFont);
+        int x = plot.x + 12;
+        int y = plot.y + 18;
+        for (BenchmarkScenario scenario : points.keySet()) {
+            g2d.setColor(scenario.getColor());
+            g2d.setStroke(measuredStroke);
+            g2d.drawLine(x, y - 4, x + 18, y - 4);
+            g2d.setStroke(theoryStroke);
+            g2d.drawLine(x + 22, y - 4, x + 40, y - 4);
+            g2d.setStroke(new BasicStroke(1));
+            g2d.setColor(new Color(52, 73, 94));
+            String label = scenario.getName() + "  vs  " + scenario.getComplexity().getLabel();
+            if (stopped.contains(scenario)) {
+                label += "  (stopped: over time budget)";
+            }
+            g2d.drawString(label, x + 48, y);
+            y += 18;
+        }
+    }
+    
+    private int toScreenX(Rectangle plot, double logN, double minX, double maxX) {
+        return plot.x + (int) Math.round((logN - minX) / (maxX - minX) * plot.width);
+    }
+    
+    private int toScreenY(Rectangle plot, double logT, double minY, double maxY) {
+        return plot.y + plot.height - (int) Math.round((logT - minY) / (maxY - minY) * plot.height);
+    }
+    
+    private static String formatSize(double n) {
+        if (n >= 1_000_000) {
+            return String.format("%.0fM", n / 1_000_000);
+        }
+        if (n >= 1_000) {
+            return String.format("%.0fk", n / 1_000);
+        }
+        return String.format("%.0f", n);
+    }
+    
+    static String formatMillis(double millis) {
+        if (millis >= 1000) {
+            return String.format("%.0f s", millis / 1000);
+        }
+        if (millis >= 1) {
+            return String.format("%.0f ms", millis);
+        }
+        if (millis >= 0.001) {
+            return String.format("%.0f µs", millis * 1000);
+        }
+        return String.format("%.0f ns", millis * 1_000_000);
+    }
+}
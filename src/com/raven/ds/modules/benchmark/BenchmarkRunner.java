@@ -0,0 +1,136 @@
+package com.raven.ds.modules.benchmark;
+
+import com.raven.ds.core.OperationStats;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs an experiment's size sweep on a background thread and reports each
+ * measured point on the Swing thread
+ * Every point is the median of several timed trials after untimed warm-up
+ * runs; a scenario whose median passes the time budget is dropped from the
+ * remaining (larger) sizes so quadratic curves cannot stall the sweep.
+ * Each start() gets its own cancellation flag, so a run that is still
+ * finishing a trial after being replaced can never report into the new one
+ */
+public class BenchmarkRunner {
+    private static final long TIME_BUDGET_NANOS = TimeUnit.SECONDS.toNanos(2);
+    // Runs this long compile and warm themselves; skip extra warm-up above it
+    private static final long WARM_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    /**
+     * Callbacks, always invoked on the event dispatch thread
+     */
+    public interface Listener {
+        void onPoint(BenchmarkScenario scenario, int n, double millis, OperationStats stats);
+        void onScenarioStopped(BenchmarkScenario scenario, int n);
+        void onFinished();
+        void onError(Exception e);
+    }
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "benchmark-runner");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    // Cancellation flag of the run in progress, null when there is none
+    private AtomicBoolean currentRun;
+    private Future<?> current;
+    
+    public synchronized void start(Experiment experiment, int warmups, int trials, Listener listener) {
+        cancel();
+        AtomicBoolean token = new AtomicBoolean();
+        currentRun = token;
+        current = executor.submit(() -> {
+            try {
+                sweep(experiment, warmups, Math.max(1, trials), listener, token);
+                post(token, () -> listener.onFinished());
+            } catch (Exception e) {
+                post(token, () -> listener.onError(e));
+            } catch (OutOfMemoryError e) {
+                post(token, () -> listener.onError(
+                        new IllegalStateException("Ran out of memory at this input size", e)));
+            }
+        });
+    }
+    
+    public synchronized void cancel() {
+        if (currentRun != null) {
+            currentRun.set(true);
+            currentRun = null;
+        }
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+    }
+    
+    public boolean isRunning() {
+        Future<?> running = current;
+        return running != null && !running.isDone();
+    }
+    
+    /**
+     * Deliver a callback on the event dispatch thread unless its run was cancelled
+     * in the meantime; whoever cancelled has already updated the controls
+     */
+    private static void post(AtomicBoolean token, Runnable callback) {
+        SwingUtilities.invokeLater(() -> {
+            if (!token.get()) {
+                callback.run();
+            }
+        });
+    }
+    
+    private void sweep(Experiment experiment, int warmups, int trials, Listener listener, AtomicBoolean cancelled) {
+        Map<BenchmarkScenario, Long> lastMedian = new HashMap<>();
+        for (int n : experiment.getSizes()) {
+            for (BenchmarkScenario scenario : experiment.getScenarios()) {
+                if (cancelled.get()) {
+                    return;
+                }
+                Long previous = lastMedian.get(scenario);
+                if (previous != null && previous > TIME_BUDGET_NANOS) {
+                    continue;
+                }
+                int warmupRuns = previous != null && previous > WARM_NANOS ? 0 : warmups;
+                OperationStats warmupStats = new OperationStats();
+                for (int i = 0; i < warmupRuns && !cancelled.get(); i++) {
+                    scenario.getWorkload().prepare(n, warmupStats).run();
+                }
+                
+                long[] times = new long[trials];
+                OperationStats stats = new OperationStats();
+                for (int i = 0; i < trials && !cancelled.get(); i++) {
+                    // Counts from the last trial only; they are identical across trials
+                    stats.reset();
+                    Runnable run = scenario.getWorkload().prepare(n, stats);
+                    stats.start();
+                    run.run();
+                    stats.stop();
+                    times[i] = stats.getElapsedNanos();
+                }
+                if (cancelled.get()) {
+                    return;
+                }
+                Arrays.sort(times);
+                long median = times[trials / 2];
+                double millis = median / 1_000_000.0;
+                post(cancelled, () -> listener.onPoint(scenario, n, millis, stats));
+                
+                lastMedian.put(scenario, median);
+                if (median > TIME_BUDGET_NANOS) {
+                    post(cancelled, () -> listener.onScenarioStopped(scenario, n));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.raven.ds.modules.benchmark;
+
+import com.raven.ds.core.OperationStats;
+import java.awt.Color;
+
+/**
+ * One measured curve: a headless workload and the growth rate theory predicts for it
+ */
+public class BenchmarkScenario {
+    
+    /**
+     * Theoretical growth rates overlaid on the measured points
+     */
+    public enum Complexity {
+        LINEAR("O(n)") {
+            @Override
+            public double evaluate(double n) {
+                return n;
+            }
+        },
+        N_LOG_N("O(n log n)") {
+            @Override
+            public double evaluate(double n) {
+                return n * Math.log(n) / Math.log(2);
+            }
+        },
+        QUADRATIC("O(n²)") {
+            @Override
+            public double evaluate(double n) {
+                return n * n;
+            }
+        };
+        
+        private final String label;
+        
+        Complexity(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        public abstract double evaluate(double n);
+    }
+    
+    /**
+     * Builds the input for size n outside the timed region and returns the timed part
+     */
+    public interface Workload {
+        Runnable prepare(int n, OperationStats stats);
+    }
+    
+    private final String name;
+    private final Complexity complexity;
+    private final Color color;
+    private final Workload workload;
+    
+    public BenchmarkScenario(String name, Complexity complexity, Color color, Workload workload) {
+        this.name = name;
+        this.complexity = complexity;
+        this.color = color;
+        this.workload = workload;
+    }
+    
+    public String getName() { return name; }
+    public Complexity getComplexity() { return complexity; }
+    public Color getColor() { return color; }
+    public Workload getWorkload() { return workload; }
+    
+    @Override
+    public String toString() {
+        return name + " " + complexity.getLabel();
+    }
+}
@@ -0,0 +1,175 @@
+package com.raven.ds.modules.benchmark;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.avl.AVLTreeAlgorithm;
+import com.raven.ds.modules.benchmark.BenchmarkInputs.Distribution;
+import com.raven.ds.modules.benchmark.BenchmarkScenario.Complexity;
+import com.raven.ds.modules.bst.BSTAlgorithm;
+import com.raven.ds.modules.dynamicarray.DynamicArrayAlgorithm;
+import com.raven.ds.modules.graph.BellmanFordAlgorithm;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.ds.modules.heapsort.HeapsortAlgorithm;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of scenarios plotted together over one sweep of input sizes
+ */
+public class Experiment {
+    private static final Color BLUE = new Color(52, 152, 219);
+    private static final Color RED = new Color(231, 76, 60);
+    private static final Color GREEN = new Color(39, 174, 96);
+    private static final Color PURPLE = new Color(155, 89, 182);
+    private static final Color ORANGE = new Color(230, 126, 34);
+    private static final Color TEAL = new Color(26, 188, 156);
+    private static final Color GRAY = new Color(127, 140, 141);
+    
+    private final String name;
+    private final String description;
+    private final int[] sizes;
+    private final List<BenchmarkScenario> scenarios;
+    
+    public Experiment(String name, String description, int[] sizes, List<BenchmarkScenario> scenarios) {
+        this.name = name;
+        this.description = description;
+        this.sizes = sizes;
+        this.scenarios = Collections.unmodifiableList(new ArrayList<>(scenarios));
+    }
+    
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public int[] getSizes() { return sizes; }
+    public List<BenchmarkScenario> getScenarios() { return scenarios; }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+    
+    /**
+     * The experiments offered in the benchmark tab
+     */
+    public static List<Experiment> createDefaults() {
+        List<Experiment> experiments = new ArrayList<>();
+        
+        experiments.add(new Experiment("BST: random vs degenerate insert",
+            "Sorted keys turn a plain BST into a linked list; AVL rotations keep it logarithmic.",
+            doubling(500, 128_000),
+            Arrays.asList(
+                new BenchmarkScenario("BST random keys", Complexity.N_LOG_N, BLUE, (n, stats) -> {
+                    int[] keys = BenchmarkInputs.ints(Distribution.RANDOM, n);
+                    return () -> {
+                        BSTAlgorithm.Headless tree = new BSTAlgorithm.Headless(stats);
+                        for (int key : keys) {
+                            tree.insert(key);
+                        }
+                    };
+                }),
+                new BenchmarkScenario("BST sorted keys", Complexity.QUADRATIC, RED, (n, stats) -> {
+                    int[] keys = BenchmarkInputs.ints(Distribution.SORTED, n);
+                    return () -> {
+                        BSTAlgorithm.Headless tree = new BSTAlgorithm.Headless(stats);
+                        for (int key : keys) {
+                            tree.insert(key);
+                        }
+                    };
+                }),
+                new BenchmarkScenario("AVL sorted keys", Complexity.N_LOG_N, GREEN, (n, stats) -> {
+                    int[] keys = BenchmarkInputs.ints(Distribution.SORTED, n);
+                    return () -> {
+                        AVLTreeAlgorithm.Headless tree = new AVLTreeAlgorithm.Headless(stats);
+                        for (int key : keys) {
+                            tree.insert(key);
+                        }
+                    };
+                }))));
+        
+        List<BenchmarkScenario> hashScenarios = new ArrayList<>();
+        Color[] hashColors = {BLUE, GREEN, PURPLE, ORANGE, TEAL, GRAY};
+        for (HashFunction function : HashFunction.values()) {
+            hashScenarios.add(new BenchmarkScenario("Hash " + function.name(), Complexity.LINEAR,
+                    hashColors[function.ordinal() % hashColors.length], hashInsert(function, Distribution.RANDOM)));
+        }
+        hashScenarios.add(new BenchmarkScenario("DIVISION, colliding keys", Complexity.QUADRATIC, RED,
+                hashInsert(HashFunction.DIVISION, Distribution.ADVERSARIAL)));
+        experiments.add(new Experiment("Hash table: hash functions",
+            "Every function stays linear on ordinary keys; keys sharing one hash code chain into a single bucket.",
+            doubling(1_000, 256_000), hashScenarios));
+        
+        experiments.add(new Experiment("Sorting: heapsort vs Arrays.sort",
+            "Both are O(n log n); the constant factor is what separates them.",
+            doubling(1_000, 1_024_000),
+            Arrays.asList(
+                new BenchmarkScenario("Heapsort", Complexity.N_LOG_N, BLUE, (n, stats) -> {
+                    int[] values = BenchmarkInputs.ints(Distribution.RANDOM, n);
+                    return () -> new HeapsortAlgorithm.Headless(stats).sort(values);
+                }),
+                new BenchmarkScenario("Arrays.sort", Complexity.N_LOG_N, GREEN, (n, stats) -> {
+                    int[] values = BenchmarkInputs.ints(Distribution.RANDOM, n);
+                    return () -> Arrays.sort(values);
+                }))));
+        
+        experiments.add(new Experiment("Dynamic array: append vs remove at front",
+            "Doubling makes appends amortized O(1); removing the first element shifts everything after it.",
+            doubling(1_000, 512_000),
+            Arrays.asList(
+                new BenchmarkScenario("Append n", Complexity.LINEAR, BLUE, (n, stats) -> () -> {
+                    DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats);
+                    for (int i = 0; i < n; i++) {
+                        array.add(i);
+                    }
+                }),
+                new BenchmarkScenario("Remove n from front", Complexity.QUADRATIC, RED, (n, stats) -> {
+                    DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats);
+                    for (int i = 0; i < n; i++) {
+                        array.add(i);
+                    }
+                    return () -> {
+                        while (array.size() > 0) {
+                            array.remove(0);
+                        }
+                    };
+                }))));
+        
+        experiments.add(new Experiment("Shortest paths: Dijkstra vs Bellman-Ford",
+            "Path graph plus random heavy edges, path listed in reverse so Bellman-Ford needs a pass per node.",
+            doubling(250, 64_000),
+            Arrays.asList(
+                new BenchmarkScenario("Dijkstra", Complexity.N_LOG_N, BLUE, (n, stats) -> {
+                    CompactGraph graph = BenchmarkInputs.graph(Distribution.ADVERSARIAL, n, 4);
+                    return () -> new DijkstraAlgorithm.Headless(stats).run(graph, 0);
+                }),
+                new BenchmarkScenario("Bellman-Ford", Complexity.QUADRATIC, RED, (n, stats) -> {
+                    CompactGraph graph = BenchmarkInputs.graph(Distribution.ADVERSARIAL, n, 4);
+                    return () -> new BellmanFordAlgorithm.Headless(stats).run(graph, 0);
+                }))));
+        
+        return experiments;
+    }
+    
+    private static BenchmarkScenario.Workload hashInsert(HashFunction function, Distribution distribution) {
+        return (n, stats) -> {
+            String[] keys = BenchmarkInputs.keys(distribution, function, n);
+            return () -> {
+                HashTableAlgorithm.Headless table = new HashTableAlgorithm.Headless(stats, function, 16, 0.75);
+                for (String key : keys) {
+                    table.put(key, key);
+                }
+            };
+        };
+    }
+    
+    private static int[] doubling(int from, int to) {
+        List<Integer> sizes = new ArrayList<>();
+        for (int n = from; n <= to; n *= 2) {
+            sizes.add(n);
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -1,16 +1,41 @@
 package com.raven.ds.modules.bst;
 
+import com.raven.ds.core.OperationStats;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Binary Search Tree Algorithm Implementation
  * Pure logic without GUI dependencies
  */
 public class BSTAlgorithm {
+    public enum Traversal { PRE_ORDER, IN_ORDER, POST_ORDER }
+
+    private final OperationStats stats;
     private BSTNode root;
+    private int size;
+    // Bumped on every change to the tree, so views know when to lay it out again
+    private int modCount;
+    // Root-to-parent path of the last insert or delete, reused for the height fix-up
+    private BSTNode[] path = new BSTNode[16];
+    // Stack for forEach; taken while a traversal runs so a nested one gets its own
+    private Walker walker = new Walker();
     
     public BSTAlgorithm() {
+        this(new OperationStats());
+    }
+    
+    public BSTAlgorithm(OperationStats stats) {
+        this.stats = stats;
         this.root = null;
     }
     
@@ -18,105 +43,192 @@ public class BSTAlgorithm {
         return root;
     }
     
-    public void insert(int value) {
-        root = insertRec(root, value);
-    }
-    
-    private BSTNode insertRec(BSTNode root, int value) {
+    /**
+     * Iterative, so sorted input that degenerates the tree into a path is fine
+     * @return false if the value was already present
+     */
+    public boolean insert(int value) {
         if (root == null) {
-            return new BSTNode(value);
+            root = new BSTNode(value);
+            size++;
+            modCount++;
+            return true;
         }
-        
-        if (value < root.value) {
-            root.left = insertRec(root.left, value);
-        } else if (value > root.value) {
-            root.right = insertRec(root.right, value);
+        int depth = 0;
+        BSTNode node = root;
+        while (true) {
+            stats.comparison();
+            if (value == node.value) {
+                // Duplicate values are ignored
+                releasePath(depth);
+                return false;
+            }
+            depth = pushPath(depth, node);
+            BSTNode next = value < node.value ? node.left : node.right;
+            if (next == null) {
+                break;
+            }
+            node = next;
         }
-        // Duplicate values are ignored
-        
-        return root;
+        if (value < node.value) {
+            node.left = new BSTNode(value);
+        } else {
+            node.right = new BSTNode(value);
+        }
+        size++;
+        updateHeights(depth);
+        modCount++;
+        return true;
     }
     
     public boolean delete(int value) {
-        if (!contains(value)) {
+        int depth = 0;
+        BSTNode node = root;
+        while (node != null && !matches(node, value)) {
+            depth = pushPath(depth, node);
+            node = value < node.value ? node.left : node.right;
+        }
+        if (node == null) {
+            releasePath(depth);
             return false;
         }
-        root = deleteRec(root, value);
-        return true;
-    }
-    
-    private BSTNode deleteRec(BSTNode root, int value) {
-        if (root == null) {
-            return null;
+        
+        if (node.left != null && node.right != null) {
+            // Two children: take the inorder successor's value (smallest in
+            // the right subtree) and unlink the successor instead
+            depth = pushPath(depth, node);
+            BSTNode successor = node.right;
+            while (successor.left != null) {
+                depth = pushPath(depth, successor);
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            node = successor;
         }
         
-        if (value < root.value) {
-            root.left = deleteRec(root.left, value);
-        } else if (value > root.value) {
-            root.right = deleteRec(root.right, value);
+        // At most one child left: splice it into the node's place
+        BSTNode child = node.left != null ? node.left : node.right;
+        if (depth == 0) {
+            root = child;
         } else {
-            // Node to delete found
-            
-            // Case 1: Node has no children (leaf)
-            if (root.left == null && root.right == null) {
-                return null;
+            BSTNode parent = path[depth - 1];
+            if (parent.left == node) {
+                parent.left = child;
+            } else {
+                parent.right = child;
             }
-            
-            // Case 2: Node has one child
-            if (root.left == null) {
-                return root.right;
+        }
+        size--;
+        updateHeights(depth);
+        modCount++;
+        return true;
+    }
+    
+    /**
+     * Insert in the given order, so the shape is the same as one insert per value
+     * @return how many values were new
+     */
+    public int insertAll(int... values) {
+        int added = 0;
+        for (int value : values) {
+            if (insert(value)) {
+                added++;
+            }
+        }
+        return added;
+    }
+    
+    /**
+     * @return how many values were found and removed
+     */
+    public int deleteAll(int... values) {
+        int removed = 0;
+        for (int value : values) {
+            if (delete(value)) {
+                removed++;
             }
-            if (root.right == null) {
-                return root.left;
+        }
+        return removed;
+    }
+    
+    /**
+     * Replace the tree with a perfectly balanced one holding the distinct
+     * values, built in O(n) after sorting instead of n inserts
+     */
+    public void loadBalanced(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
             }
-            
-            // Case 3: Node has two children
-            // Find inorder successor (smallest in right subtree)
-            BSTNode successor = findMin(root.right);
-            root.value = successor.value;
-            root.right = deleteRec(root.right, successor.value);
         }
-        
-        return root;
+        root = buildBalanced(sorted, 0, distinct - 1);
+        size = distinct;
+        modCount++;
     }
     
-    private BSTNode findMin(BSTNode node) {
-        while (node.left != null) {
-            node = node.left;
+    // Recursion depth is log2(n), so this one can stay recursive
+    private static BSTNode buildBalanced(int[] sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
         }
+        int mid = (lo + hi) >>> 1;
+        BSTNode node = new BSTNode(sorted[mid]);
+        node.left = buildBalanced(sorted, lo, mid - 1);
+        node.right = buildBalanced(sorted, mid + 1, hi);
+        node.height = 1 + Math.max(heightOf(node.left), heightOf(node.right));
         return node;
     }
     
-    public boolean contains(int value) {
-        return containsRec(root, value);
+    private int pushPath(int depth, BSTNode node) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = node;
+        return depth + 1;
     }
     
-    private boolean containsRec(BSTNode root, int value) {
-        if (root == null) {
-            return false;
-        }
-        
-        if (value == root.value) {
-            return true;
+    /**
+     * Recompute heights from the deepest recorded ancestor up, stopping as soon
+     * as one comes out unchanged since nothing above it can change either
+     */
+    private void updateHeights(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            BSTNode node = path[i];
+            int height = 1 + Math.max(heightOf(node.left), heightOf(node.right));
+            if (height == node.height) {
+                break;
+            }
+            node.height = height;
         }
-        
-        return value < root.value 
-            ? containsRec(root.left, value)
-            : containsRec(root.right, value);
+        releasePath(depth);
     }
     
-    public BSTNode findNode(int value) {
-        return findNodeRec(root, value);
+    private void releasePath(int depth) {
+        Arrays.fill(path, 0, depth, null);
+    }
+    
+    private static int heightOf(BSTNode node) {
+        return node == null ? -1 : node.height;
     }
     
-    private BSTNode findNodeRec(BSTNode root, int value) {
-        if (root == null || root.value == value) {
-            return root;
+    public boolean contains(int value) {
+        return findNode(value) != null;
+    }
+    
+    public BSTNode findNode(int value) {
+        BSTNode node = root;
+        while (node != null && !matches(node, value)) {
+            node = value < node.value ? node.left : node.right;
         }
-        
-        return value < root.value 
-            ? findNodeRec(root.left, value)
-            : findNodeRec(root.right, value);
+        return node;
+    }
+    
+    private boolean matches(BSTNode node, int value) {
+        stats.comparison();
+        return node.value == value;
     }
     
     /**
@@ -124,21 +236,23 @@ public class BSTAlgorithm {
      */
     public List<BSTNode> getInsertionPath(int value) {
         List<BSTNode> path = new ArrayList<>();
-        getInsertionPathRec(root, value, path);
+        getInsertionPath(value, path);
         return path;
     }
     
-    private void getInsertionPathRec(BSTNode root, int value, List<BSTNode> path) {
-        if (root == null) {
-            return;
-        }
-        
-        path.add(root);
-        
-        if (value < root.value && root.left != null) {
-            getInsertionPathRec(root.left, value, path);
-        } else if (value > root.value && root.right != null) {
-            getInsertionPathRec(root.right, value, path);
+    /**
+     * Fill a caller-owned list with the insertion path, so repeated calls need not allocate
+     * The path ends at the node holding the value, or at the node the value would hang from
+     */
+    public void getInsertionPath(int value, List<BSTNode> path) {
+        path.clear();
+        BSTNode node = root;
+        while (node != null) {
+            path.add(node);
+            if (value == node.value) {
+                break;
+            }
+            node = value < node.value ? node.left : node.right;
         }
     }
     
@@ -147,73 +261,209 @@ public class BSTAlgorithm {
      */
     public List<BSTNode> getSearchPath(int value) {
         List<BSTNode> path = new ArrayList<>();
-        getSearchPathRec(root, value, path);
+        getSearchPath(value, path);
         return path;
     }
     
-    private void getSearchPathRec(BSTNode root, int value, List<BSTNode> path) {
-        if (root == null) {
-            return;
-        }
-        
-        path.add(root);
-        
-        if (value < root.value) {
-            getSearchPathRec(root.left, value, path);
-        } else if (value > root.value) {
-            getSearchPathRec(root.right, value, path);
-        }
-        // Found the value, stop here
+    /**
+     * Fill a caller-owned list with the search path; it ends at the match or at
+     * the last node visited before falling off the tree
+     */
+    public void getSearchPath(int value, List<BSTNode> path) {
+        getInsertionPath(value, path);
     }
     
-    // Traversal methods for animation
+    // Traversal methods for animation; iterative, so skewed trees cannot overflow the stack
     public void inOrderTraversal(BSTNode root, List<BSTNode> result) {
-        if (root != null) {
-            inOrderTraversal(root.left, result);
-            result.add(root);
-            inOrderTraversal(root.right, result);
-        }
+        collect(root, Traversal.IN_ORDER, result);
     }
     
     public void preOrderTraversal(BSTNode root, List<BSTNode> result) {
-        if (root != null) {
-            result.add(root);
-            preOrderTraversal(root.left, result);
-            preOrderTraversal(root.right, result);
-        }
+        collect(root, Traversal.PRE_ORDER, result);
     }
     
     public void postOrderTraversal(BSTNode root, List<BSTNode> result) {
-        if (root != null) {
-            postOrderTraversal(root.left, result);
-            postOrderTraversal(root.right, result);
-            result.add(root);
+        collect(root, Traversal.POST_ORDER, result);
+    }
+    
+    private void collect(BSTNode from, Traversal order, List<BSTNode> result) {
+        forEach(from, order, result::add);
+    }
+    
+    /**
+     * Visit the whole tree in the given order without allocating
+     * The tree must not be modified from inside the action
+     */
+    public void forEach(Traversal order, Consumer<BSTNode> action) {
+        forEach(root, order, action);
+    }
+    
+    private void forEach(BSTNode from, Traversal order, Consumer<BSTNode> action) {
+        Walker current = walker;
+        walker = null;
+        if (current == null) {
+            // Called from inside another traversal's action
+            current = new Walker();
+        }
+        try {
+            current.reset(from, order);
+            while (current.hasNext()) {
+                action.accept(current.next());
+            }
+        } finally {
+            current.release();
+            walker = current;
         }
     }
     
+    /**
+     * Lazy traversal; fails fast if the tree changes while it is in use
+     */
+    public Iterator<BSTNode> iterator(Traversal order) {
+        Walker own = new Walker();
+        own.reset(root, order);
+        int expectedModCount = modCount;
+        return new Iterator<BSTNode>() {
+            @Override
+            public boolean hasNext() {
+                return own.hasNext();
+            }
+            
+            @Override
+            public BSTNode next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!own.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return own.next();
+            }
+        };
+    }
+    
+    public Stream<BSTNode> stream(Traversal order) {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(order), size,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+    
     public void clear() {
         root = null;
+        size = 0;
+        modCount++;
     }
     
-    public int size() {
-        return sizeRec(root);
+    public int getModCount() {
+        return modCount;
     }
     
-    private int sizeRec(BSTNode root) {
-        if (root == null) {
-            return 0;
-        }
-        return 1 + sizeRec(root.left) + sizeRec(root.right);
+    /**
+     * O(1): counted on every insert and delete
+     */
+    public int size() {
+        return size;
     }
     
+    /**
+     * O(1): read off the root, whose height the mutations keep current
+     */
     public int height() {
-        return heightRec(root);
+        return heightOf(root);
     }
     
-    private int heightRec(BSTNode root) {
-        if (root == null) {
-            return -1;
+    /**
+     * Explicit-stack cursor for the three depth-first orders
+     * The stack never holds more than height + 1 nodes
+     */
+    private static final class Walker {
+        private BSTNode[] stack = new BSTNode[16];
+        private int depth;
+        private Traversal order;
+        
+        void reset(BSTNode from, Traversal order) {
+            this.order = order;
+            depth = 0;
+            if (from == null) {
+                return;
+            }
+            switch (order) {
+                case PRE_ORDER:
+                    push(from);
+                    break;
+                case IN_ORDER:
+                    pushLeftSpine(from);
+                    break;
+                default:
+                    pushFirstLeafPath(from);
+                    break;
+            }
+        }
+        
+        boolean hasNext() {
+            return depth > 0;
+        }
+        
+        BSTNode next() {
+            BSTNode node = stack[--depth];
+            stack[depth] = null;
+            switch (order) {
+                case PRE_ORDER:
+                    if (node.right != null) push(node.right);
+                    if (node.left != null) push(node.left);
+                    break;
+                case IN_ORDER:
+                    pushLeftSpine(node.right);
+                    break;
+                default:
+                    // A finished left child hands over to its right sibling's subtree
+                    if (depth > 0) {
+                        BSTNode parent = stack[depth - 1];
+                        if (parent.left == node && parent.right != null) {
+                            pushFirstLeafPath(parent.right);
+                        }
+                    }
+                    break;
+            }
+            return node;
+        }
+        
+        /**
+         * Drop references left behind by a traversal that stopped early
+         */
+        void release() {
+            Arrays.fill(stack, 0, depth, null);
+            depth = 0;
+        }
+        
+        private void pushLeftSpine(BSTNode node) {
+            for (; node != null; node = node.left) {
+                push(node);
+            }
+        }
+        
+        // Down to the first node postorder visits, preferring left children
+        private void pushFirstLeafPath(BSTNode node) {
+            while (node != null) {
+                push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+        
+        private void push(BSTNode node) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = node;
+        }
+    }
+    
+    /**
+     * The same tree, counting its comparisons into the given stats, for runs
+     * far beyond what the animated panel can take
+     */
+    public static class Headless extends BSTAlgorithm {
+        public Headless(OperationStats stats) {
+            super(stats);
         }
-        return 1 + Math.max(heightRec(root.left), heightRec(root.right));
     }
 }
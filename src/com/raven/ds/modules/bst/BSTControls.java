@@ -3,6 +3,7 @@ package com.raven.ds.modules.bst;
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.PDFExporter;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
@@ -29,6 +30,7 @@ public class BSTControls extends JPanel {
     private Button downloadBtn;
     private Button downloadDocsBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JComboBox<String> traversalCombo;
     
@@ -152,6 +154,9 @@ public class BSTControls extends JPanel {
         traversalCombo.setFont(new Font("SansSerif", Font.PLAIN, 12));
         traversalCombo.setToolTipText("Select traversal type");
         
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status label with enhanced styling
         statusLabel = new JLabel("Enter a number and select an operation");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -162,7 +167,7 @@ public class BSTControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]"));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createTitledBorder("BST Controls"));
         
@@ -191,8 +196,12 @@ public class BSTControls extends JPanel {
         add(new JLabel("Speed:"), "cell 0 3");
         add(speedSlider, "cell 1 3, span 2, grow");
         
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 4");
+        add(timelineScrubber, "cell 1 4, span 2, grow");
+        
         // Status row
-        add(statusLabel, "cell 0 4, span 3");
+        add(statusLabel, "cell 0 5, span 3");
     }
     
     private void setupListeners() {
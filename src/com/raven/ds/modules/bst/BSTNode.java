@@ -7,6 +7,8 @@ public class BSTNode {
     public int value;
     public BSTNode left;
     public BSTNode right;
+    // Edges on the longest path down to a leaf; kept up to date by BSTAlgorithm
+    int height;
     
     public BSTNode(int value) {
         this.value = value;
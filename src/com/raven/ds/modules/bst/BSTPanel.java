@@ -1,10 +1,10 @@
 package com.raven.ds.modules.bst;
 
 import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TreeCanvas;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Ellipse2D;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,7 +12,16 @@ import java.util.List;
  * Enhanced Visual panel for Binary Search Tree operations
  * Features improved contrast, detailed step explanations, and better animations
  */
-public class BSTPanel extends JPanel {
+public class BSTPanel extends TreeCanvas<BSTNode> {
+    private static final int NODE_RADIUS = 18;
+    // Closest two node centres on one level may get: a diameter plus a gap
+    private static final int NODE_SEPARATION = 2 * NODE_RADIUS + 8;
+    private static final int LEVEL_HEIGHT = 90; // Increased spacing for better visibility
+    private static final BasicStroke EDGE_SHADOW_STROKE = new BasicStroke(3);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(2);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(2);
+    private static final Color TEXT_SHADOW_COLOR = new Color(0, 0, 0, 100);
+    
     private BSTAlgorithm bst;
     private AnimationEngine animationEngine;
     
@@ -26,6 +35,8 @@ public class BSTPanel extends JPanel {
     private Color edgeColor = new Color(44, 62, 80);           // Darker blue-gray
     private Font nodeFont = new Font("SansSerif", Font.BOLD, 16);
     private Font explanationFont = new Font("SansSerif", Font.PLAIN, 14);
+    private Font statusFont = new Font("SansSerif", Font.BOLD, 14);
+    private Font emptyFont = new Font("SansSerif", Font.ITALIC, 16);
     
     private BSTNode highlightedNode = null;
     private BSTNode visitedNode = null;
@@ -34,6 +45,7 @@ public class BSTPanel extends JPanel {
     private List<String> operationHistory = new ArrayList<>();
     
     public BSTPanel(AnimationEngine animationEngine) {
+        super(node -> node.left, node -> node.right, NODE_SEPARATION, LEVEL_HEIGHT, 70);
         this.animationEngine = animationEngine;
         this.bst = new BSTAlgorithm();
         
@@ -48,25 +60,29 @@ public class BSTPanel extends JPanel {
     }
     
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        
-        if (bst.getRoot() != null) {
-            drawTree(g2d, bst.getRoot(), getWidth() / 2, 70, getWidth() / 4);
-        } else {
-            // Draw empty tree message
-            g2d.setColor(new Color(108, 117, 125));
-            g2d.setFont(new Font("SansSerif", Font.ITALIC, 16));
-            FontMetrics fm = g2d.getFontMetrics();
-            String emptyMsg = "BST is empty - Insert values to begin";
-            int x = (getWidth() - fm.stringWidth(emptyMsg)) / 2;
-            int y = getHeight() / 2;
-            g2d.drawString(emptyMsg, x, y);
-        }
-        
+    protected BSTNode getTreeRoot() {
+        return bst.getRoot();
+    }
+    
+    @Override
+    protected int getTreeVersion() {
+        return bst.getModCount();
+    }
+    
+    @Override
+    protected void drawEmptyTree(Graphics2D g2d) {
+        // Draw empty tree message
+        g2d.setColor(new Color(108, 117, 125));
+        g2d.setFont(emptyFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        String emptyMsg = "BST is empty - Insert values to begin";
+        int x = (getWidth() - fm.stringWidth(emptyMsg)) / 2;
+        int y = getHeight() / 2;
+        g2d.drawString(emptyMsg, x, y);
+    }
+    
+    @Override
+    protected void drawOverlay(Graphics2D g2d) {
         // Draw enhanced operation status with background
         if (!currentOperation.isEmpty()) {
             drawOperationStatus(g2d);
@@ -79,7 +95,7 @@ public class BSTPanel extends JPanel {
     }
     
     private void drawOperationStatus(Graphics2D g2d) {
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 14));
+        g2d.setFont(statusFont);
         FontMetrics fm = g2d.getFontMetrics();
         
         String statusText = "Operation: " + currentOperation;
@@ -128,69 +144,54 @@ public class BSTPanel extends JPanel {
         }
     }
     
-    private void drawTree(Graphics2D g2d, BSTNode node, int x, int y, int xOffset) {
-        if (node == null) return;
-        
-        // Draw edges to children first (so they appear behind nodes)
-        if (node.left != null) {
-            int childX = x - xOffset;
-            int childY = y + 90; // Increased spacing for better visibility
-            
-            // Draw edge shadow
-            g2d.setColor(shadowColor);
-            g2d.setStroke(new BasicStroke(3));
-            g2d.drawLine(x + 1, y + 16, childX + 1, childY - 14);
-            
-            // Draw main edge
-            g2d.setColor(edgeColor);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawLine(x, y + 15, childX, childY - 15);
-            
-            drawTree(g2d, node.left, childX, childY, xOffset / 2);
-        }
-        
-        if (node.right != null) {
-            int childX = x + xOffset;
-            int childY = y + 90; // Increased spacing for better visibility
-            
-            // Draw edge shadow
-            g2d.setColor(shadowColor);
-            g2d.setStroke(new BasicStroke(3));
-            g2d.drawLine(x + 1, y + 16, childX + 1, childY - 14);
-            
-            // Draw main edge
-            g2d.setColor(edgeColor);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawLine(x, y + 15, childX, childY - 15);
-            
-            drawTree(g2d, node.right, childX, childY, xOffset / 2);
-        }
+    @Override
+    protected void drawEdge(Graphics2D g2d, int x, int y, int childX, int childY) {
+        // Draw edge shadow
+        g2d.setColor(shadowColor);
+        g2d.setStroke(EDGE_SHADOW_STROKE);
+        g2d.drawLine(x + 1, y + 16, childX + 1, childY - 14);
         
+        // Draw main edge
+        g2d.setColor(edgeColor);
+        g2d.setStroke(EDGE_STROKE);
+        g2d.drawLine(x, y + 15, childX, childY - 15);
+    }
+    
+    @Override
+    protected boolean isDecorated(BSTNode node) {
+        return node == highlightedNode || node == visitedNode;
+    }
+    
+    @Override
+    protected void drawNode(Graphics2D g2d, BSTNode node, int x, int y, boolean baseLayer) {
         // Determine node color based on state
         Color currentNodeColor = nodeColor;
-        if (node == highlightedNode) {
+        if (!baseLayer && node == highlightedNode) {
             currentNodeColor = highlightColor;
-        } else if (node == visitedNode) {
+        } else if (!baseLayer && node == visitedNode) {
             currentNodeColor = visitedColor;
         }
         
-        // Draw node shadow
-        g2d.setColor(shadowColor);
-        Ellipse2D.Double shadowCircle = new Ellipse2D.Double(x - 17, y - 13, 34, 34);
-        g2d.fill(shadowCircle);
+        // Draw node shadow; the buffered copy underneath already has it
+        if (baseLayer) {
+            g2d.setColor(shadowColor);
+            g2d.fillOval(x - 17, y - 13, 34, 34);
+        }
         
         // Draw the main node circle
         g2d.setColor(currentNodeColor);
-        Ellipse2D.Double circle = new Ellipse2D.Double(x - 18, y - 18, 36, 36);
-        g2d.fill(circle);
+        g2d.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
         
         // Draw node border with enhanced thickness
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.draw(circle);
+        g2d.setStroke(BORDER_STROKE);
+        g2d.drawOval(x - NODE_RADIUS, y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+        
+        if (!isDetailed()) {
+            return;
+        }
         
         // Draw node value with better contrast
-        g2d.setColor(textColor);
         g2d.setFont(nodeFont);
         FontMetrics fm = g2d.getFontMetrics();
         String valueStr = String.valueOf(node.value);
@@ -198,7 +199,7 @@ public class BSTPanel extends JPanel {
         int textY = y + fm.getAscent() / 2 - 2;
         
         // Draw text shadow for better readability
-        g2d.setColor(new Color(0, 0, 0, 100));
+        g2d.setColor(TEXT_SHADOW_COLOR);
         g2d.drawString(valueStr, textX + 1, textY + 1);
         
         // Draw main text
@@ -0,0 +1,181 @@
+package com.raven.ds.modules.concurrent;
+
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Control panel for the concurrency module: pick a structure and workload,
+ * run it once at a fixed thread count or sweep the thread count for its
+ * scaling curve. Runs happen on a background worker
+ */
+public class ConcurrencyControls extends JPanel {
+    private static final long SEED = 42;
+
+    private ConcurrencyPanel visualizer;
+    private SwingWorker<Void, ConcurrentWorkload.Result> worker;
+
+    private JComboBox<ConcurrentStructure> structureCombo;
+    private JSpinner threadSpinner;
+    private JSpinner opsSpinner;
+    private JSpinner keySpinner;
+    private JSpinner stripeSpinner;
+    private Button runBtn;
+    private Button sweepBtn;
+    private Button clearBtn;
+    private JLabel statusLabel;
+
+    public ConcurrencyControls(ConcurrencyPanel visualizer) {
+        this.visualizer = visualizer;
+
+        initComponents();
+        setupLayout();
+        setupListeners();
+        updateEnabled();
+    }
+
+    private void initComponents() {
+        structureCombo = new JComboBox<>(ConcurrentStructure.values());
+        structureCombo.setFont(new Font("SansSerif", Font.PLAIN, 14));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        threadSpinner = new JSpinner(new SpinnerNumberModel(Math.max(4, cores), 1, 256, 1));
+        threadSpinner.setToolTipText("Threads for Run; Sweep goes 1, 2, 4... up to this");
+
+        opsSpinner = new JSpinner(new SpinnerNumberModel(200_000, 1_000, 10_000_000, 50_000));
+        opsSpinner.setToolTipText("Operations each thread performs");
+
+        keySpinner = new JSpinner(new SpinnerNumberModel(1_000, 2, 10_000_000, 1_000));
+        keySpinner.setToolTipText("Distinct keys for the map and skip list (half present up front); "
+                + "values preloaded into the stack and queue");
+
+        stripeSpinner = new JSpinner(new SpinnerNumberModel(8, 1, ConcurrentWorkload.MAP_CAPACITY, 1));
+        stripeSpinner.setToolTipText("Locks shared by the " + ConcurrentWorkload.MAP_CAPACITY
+                + " map buckets: 1 is a global lock, " + ConcurrentWorkload.MAP_CAPACITY + " one lock per bucket");
+
+        runBtn = createButton("▶ Run", new Color(39, 174, 96), "Run the workload once at the chosen thread count");
+        sweepBtn = createButton("Sweep", new Color(52, 152, 219), "Measure throughput at 1, 2, 4... threads");
+        clearBtn = createButton("Clear", new Color(149, 165, 166), "Forget all measured curves");
+
+        statusLabel = new JLabel("Cores available: " + cores);
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    private Button createButton(String text, Color color, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(100, 40));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Concurrency Controls"));
+
+        // Structure row
+        add(new JLabel("Structure:"), "cell 0 0");
+        add(structureCombo, "cell 1 0, growx");
+        add(runBtn, "cell 2 0, split 3");
+        add(sweepBtn, "cell 2 0");
+        add(clearBtn, "cell 2 0");
+
+        // Workload row
+        add(new JLabel("Threads:"), "cell 0 1");
+        add(threadSpinner, "cell 1 1, split 7, w 70!");
+        add(new JLabel("Ops per thread:"), "cell 1 1, gapleft 20");
+        add(opsSpinner, "cell 1 1, w 110!");
+        add(new JLabel("Keys:"), "cell 1 1, gapleft 20");
+        add(keySpinner, "cell 1 1, w 110!");
+        add(new JLabel("Lock stripes:"), "cell 1 1, gapleft 20");
+        add(stripeSpinner, "cell 1 1, w 70!");
+
+        // Status row
+        add(statusLabel, "cell 0 2, span 3");
+    }
+
+    private void setupListeners() {
+        structureCombo.addActionListener(e -> {
+            visualizer.setStructure((ConcurrentStructure) structureCombo.getSelectedItem());
+            updateEnabled();
+        });
+        runBtn.addActionListener(e -> start(false));
+        sweepBtn.addActionListener(e -> start(true));
+        clearBtn.addActionListener(e -> {
+            visualizer.clear();
+            statusLabel.setText("Cleared");
+        });
+    }
+
+    private void start(boolean sweep) {
+        ConcurrentStructure structure = (ConcurrentStructure) structureCombo.getSelectedItem();
+        int maxThreads = (Integer) threadSpinner.getValue();
+        int ops = (Integer) opsSpinner.getValue();
+        int keys = (Integer) keySpinner.getValue();
+        int stripes = (Integer) stripeSpinner.getValue();
+        int[] counts = sweep ? ConcurrentWorkload.threadCounts(maxThreads) : new int[] {maxThreads};
+        if (sweep) {
+            visualizer.startSweep(structure);
+        }
+        setRunning(true);
+        statusLabel.setText((sweep ? "Sweeping " : "Running ") + structure + "...");
+
+        worker = new SwingWorker<Void, ConcurrentWorkload.Result>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                for (int threads : counts) {
+                    ConcurrentWorkload.Result result =
+                            new ConcurrentWorkload(structure, threads, ops, keys, stripes, SEED).run();
+                    publish(result);
+                }
+                return null;
+            }
+
+            @Override
+            protected void process(List<ConcurrentWorkload.Result> results) {
+                for (ConcurrentWorkload.Result result : results) {
+                    if (sweep) {
+                        visualizer.addSweepPoint(result);
+                    } else {
+                        visualizer.showResult(result);
+                    }
+                    statusLabel.setText(String.format("%s, %d threads: %,.0f ops/ms%s", structure,
+                            result.getThreads(), result.getThroughput(),
+                            result.isVerified() ? "" : " - CHECK FAILED: " + result.getProblem()));
+                }
+            }
+
+            @Override
+            protected void done() {
+                setRunning(false);
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    statusLabel.setText("Run failed: " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void setRunning(boolean running) {
+        runBtn.setEnabled(!running);
+        sweepBtn.setEnabled(!running);
+        clearBtn.setEnabled(!running);
+        structureCombo.setEnabled(!running);
+    }
+
+    private void updateEnabled() {
+        ConcurrentStructure structure = (ConcurrentStructure) structureCombo.getSelectedItem();
+        stripeSpinner.setEnabled(structure.isLockBased());
+    }
+}
@@ -0,0 +1,350 @@
+package com.raven.ds.modules.concurrent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contention and scaling view for the concurrency module
+ * The upper half shows where the last run fought: a bar per CAS site with its
+ * failure rate, or for the striped map a heat map of the buckets coloured by
+ * how often their lock was found held. The lower half plots throughput against
+ * thread count for every structure swept so far, each with a dashed line for
+ * perfect scaling from its single-thread point
+ */
+public class ConcurrencyPanel extends JPanel {
+    private static final int LEFT = 80;
+    private static final int RIGHT = 30;
+    private static final int TOP = 110;
+    private static final int BOTTOM = 50;
+    private static final int GAP = 40;
+    private static final Color TEXT_COLOR = new Color(52, 73, 94);
+    private static final Color HINT_COLOR = new Color(127, 140, 141);
+    private static final Color GRID_COLOR = new Color(236, 240, 241);
+    private static final Color COLD_COLOR = new Color(245, 247, 248);
+    private static final Color HOT_COLOR = new Color(192, 57, 43);
+
+    private ConcurrentStructure structure = ConcurrentStructure.TREIBER_STACK;
+    private ConcurrentWorkload.Result result;
+    private final Map<ConcurrentStructure, List<ConcurrentWorkload.Result>> sweeps =
+            new EnumMap<>(ConcurrentStructure.class);
+
+    private Font titleFont = new Font("SansSerif", Font.BOLD, 16);
+    private Font infoFont = new Font("SansSerif", Font.PLAIN, 12);
+    private Font smallFont = new Font("SansSerif", Font.PLAIN, 10);
+    private Stroke measuredStroke = new BasicStroke(2.5f);
+    private Stroke idealStroke = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+            10f, new float[] {6f, 5f}, 0f);
+
+    public ConcurrencyPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Concurrent Data Structures"));
+    }
+
+    public void setStructure(ConcurrentStructure structure) {
+        this.structure = structure;
+        if (result != null && result.getStructure() != structure) {
+            result = null;
+        }
+        repaint();
+    }
+
+    public void showResult(ConcurrentWorkload.Result result) {
+        this.result = result;
+        this.structure = result.getStructure();
+        repaint();
+    }
+
+    /**
+     * Starts a fresh scaling curve for the structure, replacing its last sweep
+     */
+    public void startSweep(ConcurrentStructure structure) {
+        sweeps.put(structure, new ArrayList<>());
+        repaint();
+    }
+
+    public void addSweepPoint(ConcurrentWorkload.Result point) {
+        sweeps.computeIfAbsent(point.getStructure(), s -> new ArrayList<>()).add(point);
+        showResult(point);
+    }
+
+    public void clear() {
+        result = null;
+        sweeps.clear();
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        drawTitle(g2d);
+        int height = getHeight() - TOP - BOTTOM - GAP;
+        if (getWidth() - LEFT - RIGHT <= 0 || height <= 0) {
+            return;
+        }
+        Rectangle contention = new Rectangle(LEFT, TOP, getWidth() - LEFT - RIGHT, height / 2);
+        Rectangle chart = new Rectangle(LEFT, TOP + height / 2 + GAP, contention.width, height - height / 2);
+        if (result == null) {
+            g2d.setFont(infoFont);
+            g2d.setColor(HINT_COLOR);
+            g2d.drawString("Press Run to hammer the structure from several threads, or Sweep to measure"
+                    + " how it scales", 20, TOP + 10);
+        } else if (result.getStructure().isLockBased()) {
+            drawBucketHeatMap(g2d, contention, result.getStats());
+        } else {
+            drawSiteBars(g2d, contention, result.getStats());
+        }
+        drawScalingChart(g2d, chart);
+    }
+
+    private void drawTitle(Graphics2D g2d) {
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(titleFont);
+        g2d.drawString(structure.toString(), 20, 40);
+        g2d.setFont(infoFont);
+        g2d.setColor(new Color(85, 85, 85));
+        g2d.drawString(structure.getMix(), 20, 58);
+        if (result != null) {
+            ContentionStats stats = result.getStats();
+            String summary = String.format("%d threads, %,d ops in %s: %,.0f ops/ms; %s %,d of %,d attempts failed"
+                            + " (%.3f%%); %s", result.getThreads(), result.getOperations(),
+                    formatMillis(result.getElapsedNanos() / 1_000_000.0), result.getThroughput(), stats.getKind(),
+                    stats.getTotalFailures(), stats.getTotalAttempts(), 100 * stats.getFailureRate(),
+                    result.isVerified() ? "contents verified" : "CHECK FAILED: " + result.getProblem());
+            g2d.setColor(result.isVerified() ? TEXT_COLOR : HOT_COLOR);
+            g2d.drawString(summary, 20, 76);
+        }
+    }
+
+    /**
+     * One row per site that saw any traffic; the bar is the failure rate
+     * relative to the worst site
+     */
+    private void drawSiteBars(Graphics2D g2d, Rectangle area, ContentionStats stats) {
+        List<Integer> sites = new ArrayList<>();
+        double worst = 0;
+        for (int site = 0; site < stats.getSiteCount(); site++) {
+            if (stats.getAttempts(site) > 0) {
+                sites.add(site);
+                worst = Math.max(worst, stats.getFailureRate(site));
+            }
+        }
+        g2d.setFont(infoFont);
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString("CAS failures per site (each one is a retry)", area.x - 60, area.y - 8);
+        if (sites.isEmpty()) {
+            return;
+        }
+        int labelWidth = 200;
+        int textWidth = 230;
+        int barWidth = Math.max(40, area.width + 60 - labelWidth - textWidth);
+        int rowHeight = Math.max(12, Math.min(26, (area.height - 8) / sites.size()));
+        int y = area.y + 8;
+        g2d.setFont(rowHeight < 16 ? smallFont : infoFont);
+        for (int site : sites) {
+            double rate = stats.getFailureRate(site);
+            int barX = area.x - 60 + labelWidth;
+            g2d.setColor(TEXT_COLOR);
+            g2d.drawString(stats.getLabel(site), area.x - 60, y + rowHeight - 6);
+            g2d.setColor(GRID_COLOR);
+            g2d.fillRect(barX, y + 2, barWidth, rowHeight - 4);
+            g2d.setColor(HOT_COLOR);
+            g2d.fillRect(barX, y + 2, worst == 0 ? 0 : (int) Math.round(barWidth * rate / worst), rowHeight - 4);
+            g2d.setColor(TEXT_COLOR);
+            g2d.drawString(String.format("%,d / %,d (%.3f%%)", stats.getFailures(site), stats.getAttempts(site),
+                    100 * rate), barX + barWidth + 8, y + rowHeight - 6);
+            y += rowHeight;
+        }
+    }
+
+    /**
+     * Square-ish grid of buckets, shaded from cold to hot by contended
+     * acquisitions relative to the worst bucket
+     */
+    private void drawBucketHeatMap(Graphics2D g2d, Rectangle area, ContentionStats stats) {
+        int buckets = stats.getSiteCount();
+        long worst = 0;
+        for (int b = 0; b < buckets; b++) {
+            worst = Math.max(worst, stats.getFailures(b));
+        }
+        g2d.setFont(infoFont);
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString("Contended lock acquisitions per bucket (darker = waited more often)", area.x - 60,
+                area.y - 8);
+
+        int columns = (int) Math.ceil(Math.sqrt(buckets * (double) area.width / Math.max(1, area.height)));
+        columns = Math.max(1, Math.min(buckets, columns));
+        int rows = (buckets + columns - 1) / columns;
+        int cell = Math.max(4, Math.min((area.width + 60) / columns, (area.height - 8) / rows));
+        int x0 = area.x - 60;
+        int y0 = area.y + 8;
+        g2d.setFont(smallFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int b = 0; b < buckets; b++) {
+            int x = x0 + (b % columns) * cell;
+            int y = y0 + (b / columns) * cell;
+            double heat = worst == 0 ? 0 : (double) stats.getFailures(b) / worst;
+            g2d.setColor(blend(COLD_COLOR, HOT_COLOR, heat));
+            g2d.fillRect(x, y, cell - 2, cell - 2);
+            if (cell >= 28) {
+                g2d.setColor(heat > 0.5 ? Color.WHITE : TEXT_COLOR);
+                String count = String.valueOf(stats.getFailures(b));
+                g2d.drawString("#" + b, x + 3, y + fm.getAscent());
+                g2d.drawString(count, x + cell - 4 - fm.stringWidth(count), y + cell - 5);
+            }
+        }
+    }
+
+    private static Color blend(Color from, Color to, double t) {
+        return new Color(
+                (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t),
+                (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t),
+                (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t));
+    }
+
+    private void drawScalingChart(Graphics2D g2d, Rectangle plot) {
+        int maxThreads = 1;
+        double maxThroughput = 0;
+        for (List<ConcurrentWorkload.Result> series : sweeps.values()) {
+            for (ConcurrentWorkload.Result point : series) {
+                maxThreads = Math.max(maxThreads, point.getThreads());
+                maxThroughput = Math.max(maxThroughput, point.getThroughput());
+            }
+        }
+        maxThroughput = maxThroughput == 0 ? 1 : niceCeiling(maxThroughput * 1.1);
+        maxThreads = Math.max(2, maxThreads);
+
+        g2d.setFont(infoFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int i = 0; i <= 4; i++) {
+            int y = plot.y + plot.height - plot.height * i / 4;
+            g2d.setColor(GRID_COLOR);
+            g2d.drawLine(plot.x, y, plot.x + plot.width, y);
+            g2d.setColor(new Color(85, 85, 85));
+            String label = String.format("%,.0f", maxThroughput * i / 4);
+            g2d.drawString(label, plot.x - fm.stringWidth(label) - 8, y + 4);
+        }
+        int step = Math.max(1, maxThreads / 16);
+        for (int t = 1; t <= maxThreads; t += step) {
+            int x = threadX(plot, t, maxThreads);
+            g2d.setColor(new Color(85, 85, 85));
+            String label = String.valueOf(t);
+            g2d.drawString(label, x - fm.stringWidth(label) / 2, plot.y + plot.height + 18);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (cores > 1 && cores < maxThreads) {
+            int x = threadX(plot, cores, maxThreads);
+            g2d.setColor(HINT_COLOR);
+            g2d.setStroke(idealStroke);
+            g2d.drawLine(x, plot.y, x, plot.y + plot.height);
+            g2d.setStroke(new BasicStroke(1));
+            g2d.drawString(cores + (cores == 1 ? " core" : " cores"), x + 4, plot.y + 14);
+        }
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawRect(plot.x, plot.y, plot.width, plot.height);
+        String xTitle = "threads";
+        g2d.drawString(xTitle, plot.x + (plot.width - fm.stringWidth(xTitle)) / 2, plot.y + plot.height + 36);
+        g2d.drawString("throughput (ops/ms)", 20, plot.y - 8);
+
+        if (sweeps.isEmpty()) {
+            g2d.setColor(HINT_COLOR);
+            g2d.drawString("No sweep yet", plot.x + 12, plot.y + 20);
+            return;
+        }
+        Shape oldClip = g2d.getClip();
+        g2d.clip(plot);
+        for (Map.Entry<ConcurrentStructure, List<ConcurrentWorkload.Result>> entry : sweeps.entrySet()) {
+            drawSeries(g2d, plot, entry.getKey().getColor(), entry.getValue(), maxThreads, maxThroughput);
+        }
+        g2d.setClip(oldClip);
+        drawLegend(g2d, plot);
+    }
+
+    private void drawSeries(Graphics2D g2d, Rectangle plot, Color color, List<ConcurrentWorkload.Result> series,
+                            int maxThreads, double maxThroughput) {
+        if (series.isEmpty()) {
+            return;
+        }
+        ConcurrentWorkload.Result first = series.get(0);
+        if (first.getThreads() == 1) {
+            g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 140));
+            g2d.setStroke(idealStroke);
+            g2d.drawLine(threadX(plot, 1, maxThreads), throughputY(plot, first.getThroughput(), maxThroughput),
+                    threadX(plot, maxThreads, maxThreads),
+                    throughputY(plot, first.getThroughput() * maxThreads, maxThroughput));
+        }
+        Path2D path = new Path2D.Double();
+        for (int i = 0; i < series.size(); i++) {
+            int x = threadX(plot, series.get(i).getThreads(), maxThreads);
+            int y = throughputY(plot, series.get(i).getThroughput(), maxThroughput);
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        g2d.setColor(color);
+        g2d.setStroke(measuredStroke);
+        g2d.draw(path);
+        for (ConcurrentWorkload.Result point : series) {
+            int x = threadX(plot, point.getThreads(), maxThreads);
+            int y = throughputY(plot, point.getThroughput(), maxThroughput);
+            g2d.fillOval(x - 4, y - 4, 8, 8);
+        }
+        g2d.setStroke(new BasicStroke(1));
+    }
+
+    private void drawLegend(Graphics2D g2d, Rectangle plot) {
+        g2d.setFont(infoFont);
+        int x = plot.x + 12;
+        int y = plot.y + 18;
+        for (ConcurrentStructure swept : sweeps.keySet()) {
+            g2d.setColor(swept.getColor());
+            g2d.setStroke(measuredStroke);
+            g2d.drawLine(x, y - 4, x + 18, y - 4);
+            g2d.setStroke(idealStroke);
+            g2d.drawLine(x + 22, y - 4, x + 40, y - 4);
+            g2d.setStroke(new BasicStroke(1));
+            g2d.setColor(TEXT_COLOR);
+            g2d.drawString(swept + "  vs  perfect scaling", x + 48, y);
+            y += 18;
+        }
+    }
+
+    private static int threadX(Rectangle plot, int threads, int maxThreads) {
+        return plot.x + (int) Math.round((threads - 1) / (double) (maxThreads - 1) * plot.width);
+    }
+
+    private static int throughputY(Rectangle plot, double throughput, double maxThroughput) {
+        return plot.y + plot.height - (int) Math.round(throughput / maxThroughput * plot.height);
+    }
+
+    /**
+     * 1, 2 or 5 times a power of ten, at least value
+     */
+    private static double niceCeiling(double value) {
+        double decade = Math.pow(10, Math.floor(Math.log10(value)));
+        for (double factor : new double[] {1, 2, 5, 10}) {
+            if (factor * decade >= value) {
+                return factor * decade;
+            }
+        }
+        return 10 * decade;
+    }
+
+    static String formatMillis(double millis) {
+        if (millis >= 1000) {
+            return String.format("%.1f s", millis / 1000);
+        }
+        return String.format("%.1f ms", millis);
+    }
+}
@@ -0,0 +1,54 @@
+package com.raven.ds.modules.concurrent;
+
+import java.awt.Color;
+
+/**
+ * The structures the concurrency module can drive, with their workload mix
+ */
+public enum ConcurrentStructure {
+    TREIBER_STACK("Treiber stack (lock-free)", "50% push, 50% pop; every thread races for the one top reference",
+            new Color(231, 76, 60)),
+    MICHAEL_SCOTT_QUEUE("Michael-Scott queue (lock-free)",
+            "50% offer, 50% poll; enqueuers share the tail, dequeuers the head", new Color(52, 152, 219)),
+    STRIPED_HASH_MAP("Striped-lock hash map", "70% get, 20% put, 10% remove over the key range; lock = bucket % stripes",
+            new Color(39, 174, 96)),
+    SKIP_LIST("Lock-free skip list", "70% contains, 20% add, 10% remove over the key range",
+            new Color(155, 89, 182));
+
+    private final String label;
+    private final String mix;
+    private final Color color;
+
+    ConcurrentStructure(String label, String mix, Color color) {
+        this.label = label;
+        this.mix = mix;
+        this.color = color;
+    }
+
+    public String getMix() {
+        return mix;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Lock-based structures report contention per bucket rather than per CAS site
+     */
+    public boolean isLockBased() {
+        return this == STRIPED_HASH_MAP;
+    }
+
+    /**
+     * Works on a key range rather than pushing and popping anonymous values
+     */
+    public boolean isKeyed() {
+        return this == STRIPED_HASH_MAP || this == SKIP_LIST;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,460 @@
+package com.raven.ds.modules.concurrent;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Multi-threaded driver: T threads each run a fixed number of randomly mixed
+ * operations against one shared structure
+ * Threads are started first and held at a gate, so the clock only covers the
+ * time they all spend working. Each thread tallies its own successful updates;
+ * once every thread has joined the tallies are checked against the final
+ * contents, which catches a lost or duplicated update however rarely it occurs
+ */
+public class ConcurrentWorkload {
+    public static final int MAP_CAPACITY = 64;
+
+    private final ConcurrentStructure structure;
+    private final int threads;
+    private final int opsPerThread;
+    private final int keyRange;
+    private final int stripes;
+    private final long seed;
+
+    /**
+     * @param keyRange distinct keys for the map and skip list, half of them
+     *                 present up front; the stack and queue start this full
+     * @param stripes locks guarding the MAP_CAPACITY map buckets
+     */
+    public ConcurrentWorkload(ConcurrentStructure structure, int threads, int opsPerThread, int keyRange, int stripes,
+                              long seed) {
+        if (threads < 1 || opsPerThread < 0 || keyRange < 2) {
+            throw new IllegalArgumentException("Need at least one thread and two keys");
+        }
+        this.structure = structure;
+        this.threads = threads;
+        this.opsPerThread = opsPerThread;
+        this.keyRange = keyRange;
+        this.stripes = stripes;
+        this.seed = seed;
+    }
+
+    /**
+     * 1, 2, 4... up to and including max
+     */
+    public static int[] threadCounts(int max) {
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t < max; t *= 2) {
+            counts.add(t);
+        }
+        counts.add(max);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public Result run() throws InterruptedException {
+        Target target = createTarget();
+        target.prefill();
+        target.stats.reset();
+
+        Tally[] tallies = new Tally[threads];
+        Thread[] workers = new Thread[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            Tally tally = new Tally();
+            SplittableRandom random = new SplittableRandom(seed + t);
+            tallies[t] = tally;
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        target.operate(random, tally);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "concurrent-worker-" + t);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+
+        ready.await();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        if (failure.get() != null) {
+            throw new IllegalStateException("Worker failed: " + failure.get(), failure.get());
+        }
+
+        Tally total = new Tally();
+        for (Tally tally : tallies) {
+            total.operations += tally.operations;
+            total.added += tally.added;
+            total.removed += tally.removed;
+            total.sumAdded += tally.sumAdded;
+            total.sumRemoved += tally.sumRemoved;
+        }
+        // Verification does lookups of its own; keep them out of the contention figures
+        ContentionStats measured = target.stats.copy();
+        String problem = target.verify(total);
+        return new Result(structure, threads, total.operations, elapsed, measured, target.size, problem);
+    }
+
+    private Target createTarget() {
+        switch (structure) {
+            case TREIBER_STACK:
+                return new StackTarget();
+            case MICHAEL_SCOTT_QUEUE:
+                return new QueueTarget();
+            case STRIPED_HASH_MAP:
+                return new MapTarget();
+            case SKIP_LIST:
+            default:
+                return new SkipListTarget();
+        }
+    }
+
+    /**
+     * One thread's counts; plain fields, only merged after the join
+     */
+    private static final class Tally {
+        long operations;
+        long added;
+        long removed;
+        long sumAdded;
+        long sumRemoved;
+    }
+
+    private abstract class Target {
+        ContentionStats stats;
+        int size;
+
+        abstract void prefill();
+
+        abstract void operate(SplittableRandom random, Tally tally);
+
+        /**
+         * Runs single-threaded after the join; sets size
+         * @return null if the contents match the tallies, else what went wrong
+         */
+        abstract String verify(Tally total);
+    }
+
+    /**
+     * Values are 1..keyRange, so the sum of what went in minus what came out
+     * must equal the sum of what is left
+     */
+    private abstract class PoolTarget extends Target {
+        long prefillSum;
+
+        abstract void put(int value);
+
+        abstract int take();
+
+        abstract int empty();
+
+        @Override
+        void prefill() {
+            for (int i = 1; i <= keyRange; i++) {
+                put(i);
+                prefillSum += i;
+            }
+        }
+
+        @Override
+        void operate(SplittableRandom random, Tally tally) {
+            tally.operations++;
+            if (random.nextBoolean()) {
+                int value = 1 + random.nextInt(keyRange);
+                put(value);
+                tally.added++;
+                tally.sumAdded += value;
+            } else {
+                int value = take();
+                if (value != empty()) {
+                    tally.removed++;
+                    tally.sumRemoved += value;
+                }
+            }
+        }
+
+        @Override
+        String verify(Tally total) {
+            long count = 0;
+            long sum = 0;
+            for (int value = take(); value != empty(); value = take()) {
+                count++;
+                sum += value;
+            }
+            size = (int) count;
+            long expectedCount = keyRange + total.added - total.removed;
+            long expectedSum = prefillSum + total.sumAdded - total.sumRemoved;
+            if (count != expectedCount || sum != expectedSum) {
+                return "expected " + expectedCount + " values summing to " + expectedSum + ", drained " + count
+                        + " summing to " + sum;
+            }
+            return null;
+        }
+    }
+
+    private final class StackTarget extends PoolTarget {
+        final TreiberStack stack;
+
+        StackTarget() {
+            stats = TreiberStack.newStats();
+            stack = new TreiberStack(stats);
+        }
+
+        @Override
+        void put(int value) {
+            stack.push(value);
+        }
+
+        @Override
+        int take() {
+            return stack.pop();
+        }
+
+        @Override
+        int empty() {
+            return TreiberStack.EMPTY;
+        }
+    }
+
+    private final class QueueTarget extends PoolTarget {
+        final MichaelScottQueue queue;
+
+        QueueTarget() {
+            stats = MichaelScottQueue.newStats();
+            queue = new MichaelScottQueue(stats);
+        }
+
+        @Override
+        void put(int value) {
+            queue.offer(value);
+        }
+
+        @Override
+        int take() {
+            return queue.poll();
+        }
+
+        @Override
+        int empty() {
+            return MichaelScottQueue.EMPTY;
+        }
+    }
+
+    /**
+     * 70% lookups, 20% inserts, 10% removals; even keys are present up front
+     */
+    private abstract class SetTarget extends Target {
+        int prefilled;
+
+        abstract boolean add(int key);
+
+        abstract boolean contains(int key);
+
+        abstract boolean remove(int key);
+
+        abstract int currentSize();
+
+        @Override
+        void prefill() {
+            for (int key = 0; key < keyRange; key += 2) {
+                add(key);
+                prefilled++;
+            }
+        }
+
+        @Override
+        void operate(SplittableRandom random, Tally tally) {
+            tally.operations++;
+            int key = random.nextInt(keyRange);
+            int roll = random.nextInt(10);
+            if (roll < 7) {
+                contains(key);
+            } else if (roll < 9) {
+                if (add(key)) {
+                    tally.added++;
+                }
+            } else if (remove(key)) {
+                tally.removed++;
+            }
+        }
+
+        @Override
+        String verify(Tally total) {
+            size = currentSize();
+            int present = 0;
+            for (int key = 0; key < keyRange; key++) {
+                if (contains(key)) {
+                    present++;
+                }
+            }
+            long expected = prefilled + total.added - total.removed;
+            if (size != expected || present != expected) {
+                return "expected " + expected + " keys, size says " + size + ", lookups find " + present;
+            }
+            return null;
+        }
+    }
+
+    private final class MapTarget extends SetTarget {
+        final StripedHashMap map;
+        final String[] keys = new String[keyRange];
+
+        MapTarget() {
+            stats = StripedHashMap.newStats(MAP_CAPACITY);
+            map = new StripedHashMap(HashFunction.DJBX33A, MAP_CAPACITY,
+                    Math.max(1, Math.min(MAP_CAPACITY, stripes)), stats);
+            // Built up front so the timed loop measures the map, not string building
+            for (int i = 0; i < keyRange; i++) {
+                keys[i] = "key" + i;
+            }
+        }
+
+        @Override
+        boolean add(int key) {
+            return map.put(keys[key], keys[key]);
+        }
+
+        @Override
+        boolean contains(int key) {
+            return map.containsKey(keys[key]);
+        }
+
+        @Override
+        boolean remove(int key) {
+            return map.remove(keys[key]);
+        }
+
+        @Override
+        int currentSize() {
+            return map.size();
+        }
+    }
+
+    private final class SkipListTarget extends SetTarget {
+        final LockFreeSkipList list;
+
+        SkipListTarget() {
+            stats = LockFreeSkipList.newStats();
+            list = new LockFreeSkipList(stats);
+        }
+
+        @Override
+        boolean add(int key) {
+            return list.add(key);
+        }
+
+        @Override
+        boolean contains(int key) {
+            return list.contains(key);
+        }
+
+        @Override
+        boolean remove(int key) {
+            return list.remove(key);
+        }
+
+        @Override
+        int currentSize() {
+            return list.size();
+        }
+
+        @Override
+        String verify(Tally total) {
+            int[] keys = list.toArray();
+            for (int i = 1; i < keys.length; i++) {
+                if (keys[i - 1] >= keys[i]) {
+                    return "bottom level out of order at " + Arrays.toString(Arrays.copyOfRange(keys, i - 1, i + 1));
+                }
+            }
+            return super.verify(total);
+        }
+    }
+
+    /**
+     * Outcome of one run: throughput, contention per site and the invariant check
+     */
+    public static final class Result {
+        private final ConcurrentStructure structure;
+        private final int threads;
+        private final long operations;
+        private final long elapsedNanos;
+        private final ContentionStats stats;
+        private final int finalSize;
+        private final String problem;
+
+        Result(ConcurrentStructure structure, int threads, long operations, long elapsedNanos, ContentionStats stats,
+               int finalSize, String problem) {
+            this.structure = structure;
+            this.threads = threads;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.stats = stats;
+            this.finalSize = finalSize;
+            this.problem = problem;
+        }
+
+        public ConcurrentStructure getStructure() {
+            return structure;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Operations per millisecond across all threads
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : operations * 1_000_000.0 / elapsedNanos;
+        }
+
+        public ContentionStats getStats() {
+            return stats;
+        }
+
+        public int getFinalSize() {
+            return finalSize;
+        }
+
+        public boolean isVerified() {
+            return problem == null;
+        }
+
+        /**
+         * What the invariant check found, null when it passed
+         */
+        public String getProblem() {
+            return problem;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s threads=%d ops=%d time=%.1fms throughput=%.0f ops/ms %s size=%d %s", structure,
+                    threads, operations, elapsedNanos / 1_000_000.0, getThroughput(), stats, finalSize,
+                    problem == null ? "verified" : "FAILED: " + problem);
+        }
+    }
+}
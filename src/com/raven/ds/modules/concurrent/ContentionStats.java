@@ -0,0 +1,124 @@
+package com.raven.ds.modules.concurrent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attempts and failures per contention site, safe to bump from any thread
+ * A site is one compare-and-set location (a stack top, a skip list level) or
+ * one lock-guarded bucket. For CAS sites a failure is a lost race that forces
+ * a retry; for locks it is an acquisition that found the lock already held.
+ * Counters are LongAdders so the bookkeeping does not become the hot spot
+ */
+public class ContentionStats {
+    private final String kind;
+    private final String[] labels;
+    private final LongAdder[] attempts;
+    private final LongAdder[] failures;
+
+    /**
+     * @param kind what a site guards with, "CAS" or "lock"; used in reports
+     */
+    public ContentionStats(String kind, String... labels) {
+        this.kind = kind;
+        this.labels = labels.clone();
+        attempts = new LongAdder[labels.length];
+        failures = new LongAdder[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            attempts[i] = new LongAdder();
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Sites labelled prefix + index, e.g. one per bucket
+     */
+    public static ContentionStats numbered(String kind, String prefix, int count) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = prefix + i;
+        }
+        return new ContentionStats(kind, labels);
+    }
+
+    void attempt(int site) {
+        attempts[site].increment();
+    }
+
+    void failure(int site) {
+        failures[site].increment();
+    }
+
+    /**
+     * Counts as of now, detached from further updates
+     */
+    public ContentionStats copy() {
+        ContentionStats copy = new ContentionStats(kind, labels);
+        for (int i = 0; i < labels.length; i++) {
+            copy.attempts[i].add(attempts[i].sum());
+            copy.failures[i].add(failures[i].sum());
+        }
+        return copy;
+    }
+
+    public void reset() {
+        for (int i = 0; i < labels.length; i++) {
+            attempts[i].reset();
+            failures[i].reset();
+        }
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public int getSiteCount() {
+        return labels.length;
+    }
+
+    public String getLabel(int site) {
+        return labels[site];
+    }
+
+    public long getAttempts(int site) {
+        return attempts[site].sum();
+    }
+
+    public long getFailures(int site) {
+        return failures[site].sum();
+    }
+
+    /**
+     * Share of the site's attempts that failed, 0 when it was never touched
+     */
+    public double getFailureRate(int site) {
+        long tried = getAttempts(site);
+        return tried == 0 ? 0 : (double) getFailures(site) / tried;
+    }
+
+    public long getTotalAttempts() {
+        long total = 0;
+        for (LongAdder adder : attempts) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public long getTotalFailures() {
+        long total = 0;
+        for (LongAdder adder : failures) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public double getFailureRate() {
+        long tried = getTotalAttempts();
+        return tried == 0 ? 0 : (double) getTotalFailures() / tried;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s attempts=%d failures=%d (%.2f%%)", kind, getTotalAttempts(), getTotalFailures(),
+                100 * getFailureRate());
+    }
+}
@@ -0,0 +1,246 @@
+package com.raven.ds.modules.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free skip list set of ints, after Herlihy and Shavit
+ * Every forward link carries a mark bit. A node is removed logically by
+ * marking its links top-down, the bottom mark being the linearization point,
+ * and physically by whichever traversal next snips it out with a
+ * compare-and-set on its predecessor. An insert links the bottom level first,
+ * which makes the key present, then threads the upper levels one by one,
+ * searching again whenever a neighbour changed underneath it. Races are
+ * counted per level: a skip list spreads its writes over many links, so
+ * failures stay rare compared with a stack or queue that share one word
+ */
+public class LockFreeSkipList {
+    public static final int MAX_LEVEL = 16;
+
+    private static final class Node {
+        final int key;
+        final AtomicMarkableReference<Node>[] next;
+        final int topLevel;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(int key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            next = (AtomicMarkableReference<Node>[]) new AtomicMarkableReference[topLevel + 1];
+        }
+    }
+
+    private final Node head = new Node(Integer.MIN_VALUE, MAX_LEVEL - 1);
+    private final Node tail = new Node(Integer.MAX_VALUE, MAX_LEVEL - 1);
+    private final ContentionStats stats;
+
+    public LockFreeSkipList(ContentionStats stats) {
+        this.stats = stats;
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+            tail.next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    public static ContentionStats newStats() {
+        return ContentionStats.numbered("CAS", "level ", MAX_LEVEL);
+    }
+
+    private static void checkKey(int key) {
+        if (key == Integer.MIN_VALUE || key == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE and MAX_VALUE are the sentinels");
+        }
+    }
+
+    /**
+     * Geometric with p = 1/2, capped at MAX_LEVEL - 1
+     */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Fills preds and succs around key on every level, snipping marked nodes
+     * on the way; restarts from the head when a snip loses a race
+     * @return true if an unmarked node with key sits at the bottom level
+     */
+    private boolean find(int key, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (true) {
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        stats.attempt(level);
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            stats.failure(level);
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr.key < key) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr.key == key;
+        }
+    }
+
+    /**
+     * @return false if the key was already present
+     */
+    public boolean add(int key) {
+        checkKey(key);
+        int topLevel = randomLevel();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        boolean[] marked = {false};
+        while (true) {
+            if (find(key, preds, succs)) {
+                return false;
+            }
+            Node node = new Node(key, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            stats.attempt(0);
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                stats.failure(0);
+                continue;
+            }
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node succ = succs[level];
+                    Node current = node.next[level].get(marked);
+                    if (marked[0]) {
+                        // Removed while still being linked; the remover's find cleans up
+                        return true;
+                    }
+                    if (current != succ && !node.next[level].compareAndSet(current, succ, false, false)) {
+                        continue;
+                    }
+                    stats.attempt(level);
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)) {
+                        break;
+                    }
+                    stats.failure(level);
+                    find(key, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return false if the key was absent or another thread removed it first
+     */
+    public boolean remove(int key) {
+        checkKey(key);
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        boolean[] marked = {false};
+        if (!find(key, preds, succs)) {
+            return false;
+        }
+        Node victim = succs[0];
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                stats.attempt(level);
+                if (!victim.next[level].attemptMark(succ, true)) {
+                    stats.failure(level);
+                }
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node succ = victim.next[0].get(marked);
+        while (true) {
+            stats.attempt(0);
+            if (victim.next[0].compareAndSet(succ, succ, false, true)) {
+                // Unlink eagerly rather than leaving it to the next traversal
+                find(key, preds, succs);
+                return true;
+            }
+            stats.failure(0);
+            succ = victim.next[0].get(marked);
+            if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Wait-free: never writes, steps over marked nodes instead of snipping them
+     */
+    public boolean contains(int key) {
+        boolean[] marked = {false};
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (true) {
+                Node succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr.key < key) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr.key == key;
+    }
+
+    /**
+     * Unmarked bottom-level keys in order; only exact while no thread is
+     * modifying the list
+     */
+    public int[] toArray() {
+        int[] keys = new int[16];
+        int count = 0;
+        boolean[] marked = {false};
+        for (Node node = head.next[0].getReference(); node != tail; ) {
+            Node next = node.next[0].get(marked);
+            if (!marked[0]) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = node.key;
+            }
+            node = next;
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    public int size() {
+        return toArray().length;
+    }
+
+    /**
+     * Highest level with a node linked into it, -1 when empty
+     */
+    public int getHeight() {
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            if (head.next[level].getReference() != tail) {
+                return level;
+            }
+        }
+        return -1;
+    }
+}
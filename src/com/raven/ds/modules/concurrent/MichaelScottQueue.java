@@ -0,0 +1,124 @@
+package com.raven.ds.modules.concurrent;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Michael and Scott's lock-free FIFO queue of ints
+ * A dummy node keeps head and tail apart, so enqueuers only fight over the
+ * tail and dequeuers over the head. Enqueue is two steps, linking the new
+ * node after the last one and then swinging tail to it; a thread that finds
+ * tail lagging behind finishes the other thread's swing before trying its
+ * own, which is what makes the queue lock-free rather than merely optimistic
+ */
+public class MichaelScottQueue {
+    /** Returned by poll on an empty queue; cannot be offered */
+    public static final int EMPTY = Integer.MIN_VALUE;
+    static final int LINK = 0;
+    static final int SWING_TAIL = 1;
+    static final int SWING_HEAD = 2;
+
+    private static final class Node {
+        final int value;
+        final AtomicReference<Node> next = new AtomicReference<>();
+
+        Node(int value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node> head;
+    private final AtomicReference<Node> tail;
+    private final ContentionStats stats;
+
+    public MichaelScottQueue(ContentionStats stats) {
+        this.stats = stats;
+        Node dummy = new Node(EMPTY);
+        head = new AtomicReference<>(dummy);
+        tail = new AtomicReference<>(dummy);
+    }
+
+    /**
+     * Swinging the tail counts both a thread's own swing and the help it gives
+     * a lagging one; a failed swing is harmless, someone else already did it
+     */
+    public static ContentionStats newStats() {
+        return new ContentionStats("CAS", "offer: link tail.next", "offer: swing tail (incl. help)",
+                "poll: swing head");
+    }
+
+    public void offer(int value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE marks an empty queue");
+        }
+        Node node = new Node(value);
+        while (true) {
+            Node last = tail.get();
+            Node next = last.next.get();
+            if (last != tail.get()) {
+                continue;
+            }
+            if (next != null) {
+                // Tail is lagging: help the enqueuer that linked next
+                swingTail(last, next);
+                continue;
+            }
+            stats.attempt(LINK);
+            if (last.next.compareAndSet(null, node)) {
+                swingTail(last, node);
+                return;
+            }
+            stats.failure(LINK);
+        }
+    }
+
+    /**
+     * @return the oldest value, or EMPTY
+     */
+    public int poll() {
+        while (true) {
+            Node first = head.get();
+            Node last = tail.get();
+            Node next = first.next.get();
+            if (first != head.get()) {
+                continue;
+            }
+            if (next == null) {
+                return EMPTY;
+            }
+            if (first == last) {
+                // Non-empty but tail still points at the dummy
+                swingTail(last, next);
+                continue;
+            }
+            int value = next.value;
+            stats.attempt(SWING_HEAD);
+            if (head.compareAndSet(first, next)) {
+                // next is the new dummy; its value is no longer part of the queue
+                return value;
+            }
+            stats.failure(SWING_HEAD);
+        }
+    }
+
+    private void swingTail(Node expected, Node update) {
+        stats.attempt(SWING_TAIL);
+        if (!tail.compareAndSet(expected, update)) {
+            stats.failure(SWING_TAIL);
+        }
+    }
+
+    public boolean isEmpty() {
+        return head.get().next.get() == null;
+    }
+
+    /**
+     * O(n) walk; only exact while no thread is modifying the queue
+     */
+    public int size() {
+        int size = 0;
+        for (Node node = head.get().next.get(); node != null; node = node.next.get()) {
+            size++;
+        }
+        return size;
+    }
+}
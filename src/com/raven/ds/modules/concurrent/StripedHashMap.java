@@ -0,0 +1,153 @@
+package com.raven.ds.modules.concurrent;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Separate-chaining map over the hash table module's hash functions, made
+ * thread-safe by lock striping. Each bucket is a plain singly linked chain
+ * with its length kept beside it
+ * Bucket b is guarded by lock b % stripes: one stripe is a single global lock,
+ * one stripe per bucket lets every bucket be updated independently. The
+ * capacity is fixed so a bucket keeps its lock and its contention history for
+ * the whole run. Every acquisition first tries the lock without blocking, and
+ * a failed try is recorded against the bucket before the thread waits
+ */
+public class StripedHashMap {
+    private final HashFunction hashFunction;
+    private final Entry[] buckets;
+    private final int[] chainLengths;
+    private final ReentrantLock[] locks;
+    private final LongAdder size = new LongAdder();
+    private final ContentionStats stats;
+
+    /**
+     * @param stats one site per bucket, see newStats
+     */
+    public StripedHashMap(HashFunction hashFunction, int capacity, int stripes, ContentionStats stats) {
+        if (stripes < 1 || stripes > capacity) {
+            throw new IllegalArgumentException("Stripes must be between 1 and the capacity");
+        }
+        this.hashFunction = hashFunction;
+        this.stats = stats;
+        buckets = new Entry[capacity];
+        chainLengths = new int[capacity];
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        String value;
+        Entry next;
+
+        Entry(String key, String value, Entry next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    public static ContentionStats newStats(int capacity) {
+        return ContentionStats.numbered("lock", "bucket ", capacity);
+    }
+
+    private ReentrantLock lock(int bucket) {
+        ReentrantLock lock = locks[bucket % locks.length];
+        stats.attempt(bucket);
+        if (!lock.tryLock()) {
+            stats.failure(bucket);
+            lock.lock();
+        }
+        return lock;
+    }
+
+    /**
+     * @return true if the key was new, false if its value was replaced
+     */
+    public boolean put(String key, String value) {
+        int bucket = HashTableAlgorithm.hash(hashFunction, key, buckets.length);
+        ReentrantLock lock = lock(bucket);
+        try {
+            Entry entry = find(bucket, key);
+            if (entry != null) {
+                entry.value = value;
+                return false;
+            }
+            buckets[bucket] = new Entry(key, value, buckets[bucket]);
+            chainLengths[bucket]++;
+            size.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean containsKey(String key) {
+        int bucket = HashTableAlgorithm.hash(hashFunction, key, buckets.length);
+        ReentrantLock lock = lock(bucket);
+        try {
+            return find(bucket, key) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        int bucket = HashTableAlgorithm.hash(hashFunction, key, buckets.length);
+        ReentrantLock lock = lock(bucket);
+        try {
+            Entry previous = null;
+            for (Entry entry = buckets[bucket]; entry != null; previous = entry, entry = entry.next) {
+                if (entry.key.equals(key)) {
+                    if (previous == null) {
+                        buckets[bucket] = entry.next;
+                    } else {
+                        previous.next = entry.next;
+                    }
+                    chainLengths[bucket]--;
+                    size.decrement();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entry for the key in the bucket's chain; the caller holds the bucket's lock
+     */
+    private Entry find(int bucket, String key) {
+        for (Entry entry = buckets[bucket]; entry != null; entry = entry.next) {
+            if (entry.key.equals(key)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size.intValue();
+    }
+
+    public int getCapacity() {
+        return buckets.length;
+    }
+
+    public int getStripes() {
+        return locks.length;
+    }
+
+    /**
+     * Entries in one bucket; only exact while no thread is modifying the map
+     */
+    public int getChainLength(int bucket) {
+        return chainLengths[bucket];
+    }
+}
@@ -0,0 +1,86 @@
+package com.raven.ds.modules.concurrent;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Treiber's lock-free stack of ints
+ * The whole stack hangs off one atomic top reference: push links a new node
+ * to the top it read and swings top to it, pop swings top to the second node.
+ * Either compare-and-set fails when another thread moved top in between and
+ * the operation starts over, so every thread hammers the same word and the
+ * stack scales only as far as that cache line can bounce. Nodes are never
+ * reused, which is what keeps the garbage collector between us and ABA
+ */
+public class TreiberStack {
+    /** Returned by pop on an empty stack; cannot be pushed */
+    public static final int EMPTY = Integer.MIN_VALUE;
+    static final int PUSH = 0;
+    static final int POP = 1;
+
+    private static final class Node {
+        final int value;
+        final Node next;
+
+        Node(int value, Node next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private final AtomicReference<Node> top = new AtomicReference<>();
+    private final ContentionStats stats;
+
+    public TreiberStack(ContentionStats stats) {
+        this.stats = stats;
+    }
+
+    public static ContentionStats newStats() {
+        return new ContentionStats("CAS", "push: swing top", "pop: swing top");
+    }
+
+    public void push(int value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE marks an empty stack");
+        }
+        while (true) {
+            Node current = top.get();
+            stats.attempt(PUSH);
+            if (top.compareAndSet(current, new Node(value, current))) {
+                return;
+            }
+            stats.failure(PUSH);
+        }
+    }
+
+    /**
+     * @return the top value, or EMPTY
+     */
+    public int pop() {
+        while (true) {
+            Node current = top.get();
+            if (current == null) {
+                return EMPTY;
+            }
+            stats.attempt(POP);
+            if (top.compareAndSet(current, current.next)) {
+                return current.value;
+            }
+            stats.failure(POP);
+        }
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * O(n) walk; only exact while no thread is modifying the stack
+     */
+    public int size() {
+        int size = 0;
+        for (Node node = top.get(); node != null; node = node.next) {
+            size++;
+        }
+        return size;
+    }
+}
@@ -2,131 +2,271 @@ package com.raven.ds.modules.dynamicarray;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.SimpleAnimationStep;
-
-import java.util.Arrays;
+import com.raven.ds.core.OperationStats;
 
 /**
  * Dynamic Array implementation with animation support
+ * The array itself is a GrowableIntArray; each operation runs on it straight
+ * away and its Observer callbacks are recorded as steps. The int[] the panel
+ * draws only changes as those steps run; which of its slots hold elements
+ * follows from the size, plus the hole a removal leaves and the copy front
+ * of a resize in progress
  */
 public class DynamicArrayAlgorithm {
-    private Integer[] array;
+    private final OperationStats stats = new OperationStats();
+    private final StepRecorder recorder = new StepRecorder();
+    private GrowableIntArray core;
+    private int[] array;
     private int size;
-    private int capacity;
     private AnimationEngine animationEngine;
     
+    // Running totals across operations, as far as the steps have played
+    private int resizes;
+    private long copies;
+    private long allocatedBytes;
+    
     // Visualization state
     private int highlightedIndex = -1;
     private boolean isResizing = false;
-    private Integer[] oldArray = null; // For resizing animation
+    private int[] oldArray = null; // For resizing animation
+    // Slots of the new array filled so far while resizing
+    private int copied;
+    // Slot emptied by a removal until the shift closes it
+    private int hole = -1;
     
     public DynamicArrayAlgorithm(AnimationEngine animationEngine) {
         this.animationEngine = animationEngine;
-        this.capacity = 4;
-        this.array = new Integer[capacity];
+        this.core = new GrowableIntArray(stats);
+        core.setObserver(recorder);
+        this.array = new int[GrowthPolicy.INITIAL_CAPACITY];
         this.size = 0;
+        this.allocatedBytes = GrowthPolicy.arrayBytes(array.length);
+        
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                return new Object[]{array.clone(), size, highlightedIndex, isResizing,
+                                    oldArray != null ? oldArray.clone() : null, copied, hole,
+                                    resizes, copies, allocatedBytes};
+            }
+            
+            @Override
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                array = ((int[]) state[0]).clone();
+                size = (Integer) state[1];
+                highlightedIndex = (Integer) state[2];
+                isResizing = (Boolean) state[3];
+                oldArray = state[4] != null ? ((int[]) state[4]).clone() : null;
+                copied = (Integer) state[5];
+                hole = (Integer) state[6];
+                resizes = (Integer) state[7];
+                copies = (Long) state[8];
+                allocatedBytes = (Long) state[9];
+            }
+        });
     }
     
-    public void add(int value) {
-        animationEngine.clearSteps();
-        
-        if (size == capacity) {
-            resize();
-        }
-        
-        animationEngine.addStep(new SimpleAnimationStep("Add", () -> {
-            highlightedIndex = size;
-            array[size] = value;
-            size++;
-        }, "➕ <b>Add Element:</b> Inserting <b>" + value + "</b> at index <b>" + size + "</b>. Current size: " + size + ", capacity: " + capacity + "."));
-        
-        animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
-            highlightedIndex = -1;
-        }, "✅ <b>Added:</b> Element <b>" + value + "</b> successfully added. Array now has " + (size + 1) + " elements."));
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        core.setGrowthPolicy(policy);
     }
     
-    private void resize() {
-        int newCapacity = capacity * 2;
-        
-        animationEngine.addStep(new SimpleAnimationStep("Resize Start", () -> {
-            isResizing = true;
-            oldArray = array;
-            array = new Integer[newCapacity];
-            // Don't copy yet in visualization
-        }, "📦 <b>Array Full!</b> Current capacity (" + capacity + ") reached. Creating new array with capacity <b>" + newCapacity + "</b>."));
-        
-        for (int i = 0; i < size; i++) {
-            final int index = i;
-            final int val = oldArray[i];
-            animationEngine.addStep(new SimpleAnimationStep("Copy " + index, () -> {
-                array[index] = val;
-                highlightedIndex = index;
-            }, "📋 <b>Copy Element:</b> Copying element <b>" + val + "</b> from old array[" + index + "] to new array[" + index + "]."));
-        }
-        
-        animationEngine.addStep(new SimpleAnimationStep("Resize End", () -> {
-            isResizing = false;
-            oldArray = null;
-            capacity = newCapacity;
-            highlightedIndex = -1;
-        }, "✅ <b>Resize Complete:</b> Old array discarded. New capacity is <b>" + newCapacity + "</b>. Memory reallocated successfully."));
+    /**
+     * Halve the array once a removal leaves it a quarter full
+     */
+    public void setShrinking(boolean shrinking) {
+        core.setShrinking(shrinking);
+    }
+    
+    public void add(int value) {
+        finishPendingSteps();
+        animationEngine.clearSteps();
+        core.add(value);
     }
     
     public void remove(int index) {
-        if (index < 0 || index >= size) return;
+        if (index < 0 || index >= core.size()) return;
         
+        finishPendingSteps();
         animationEngine.clearSteps();
-        
-        final int removedValue = array[index];
-        
-        animationEngine.addStep(new SimpleAnimationStep("Remove", () -> {
-            highlightedIndex = index;
-            array[index] = null;
-        }, "🗑️ <b>Remove Element:</b> Removing element <b>" + removedValue + "</b> at index <b>" + index + "</b>."));
-        
-        for (int i = index; i < size - 1; i++) {
-            final int curr = i;
-            final int nextVal = array[curr + 1];
-            animationEngine.addStep(new SimpleAnimationStep("Shift", () -> {
-                array[curr] = array[curr + 1];
-                array[curr + 1] = null;
-                highlightedIndex = curr;
-            }, "⬅️ <b>Shift Left:</b> Moving element <b>" + nextVal + "</b> from index " + (curr + 1) + " to index " + curr + "."));
+        core.remove(index);
+    }
+    
+    /**
+     * The array only changes as steps run; play out the rest of the previous
+     * operation before recording the next one from its final state
+     */
+    private void finishPendingSteps() {
+        while (animationEngine.getCurrentStep() < animationEngine.getTotalSteps()) {
+            animationEngine.nextStep();
         }
-        
-        animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
-            size--;
-            highlightedIndex = -1;
-        }, "✅ <b>Removal Complete:</b> Element removed. Array now has <b>" + (size - 1) + "</b> elements."));
     }
     
     public void clear() {
         animationEngine.clearSteps();
-        size = 0;
-        capacity = 4;
-        array = new Integer[capacity];
-        highlightedIndex = -1;
-        isResizing = false;
-        oldArray = null;
+        GrowableIntArray fresh = new GrowableIntArray(stats, core.getGrowthPolicy(), core.isShrinking());
+        fresh.setObserver(recorder);
+        core = fresh;
+        syncWithCore();
     }
     
     public void loadSample() {
         clear();
         int[] sample = {1, 2, 3, 4, 5}; // Will trigger resize
+        // Loaded without animation
+        core.setObserver(null);
         for (int v : sample) {
-            if (size == capacity) {
-                // Manual resize without animation for loadSample
-                capacity *= 2;
-                array = Arrays.copyOf(array, capacity);
-            }
-            array[size++] = v;
+            core.add(v);
+        }
+        core.setObserver(recorder);
+        syncWithCore();
+    }
+    
+    private void syncWithCore() {
+        array = core.toBackingArray();
+        size = core.size();
+        highlightedIndex = -1;
+        isResizing = false;
+        oldArray = null;
+        copied = 0;
+        hole = -1;
+        resizes = core.getResizes();
+        copies = core.getCopies();
+        allocatedBytes = core.getAllocatedBytes();
+    }
+    
+    /**
+     * Whether slot i of the current array holds an element
+     */
+    public boolean isOccupied(int index) {
+        if (isResizing) {
+            return index < copied;
         }
+        return index < size && index != hole;
     }
     
     // Getters
-    public Integer[] getArray() { return array; }
+    public int[] getArray() { return array; }
     public int getSize() { return size; }
-    public int getCapacity() { return capacity; }
+    public int getCapacity() { return array.length; }
     public int getHighlightedIndex() { return highlightedIndex; }
     public boolean isResizing() { return isResizing; }
-    public Integer[] getOldArray() { return oldArray; }
+    public int[] getOldArray() { return oldArray; }
+    public GrowthPolicy getGrowthPolicy() { return core.getGrowthPolicy(); }
+    public boolean isShrinking() { return core.isShrinking(); }
+    public int getResizes() { return resizes; }
+    public long getCopies() { return copies; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+    
+    /**
+     * Turns the array's callbacks into animation steps
+     */
+    private class StepRecorder implements GrowableIntArray.Observer {
+        @Override
+        public void added(int index, int value) {
+            int capacity = core.capacity();
+            animationEngine.addStep(new SimpleAnimationStep("Add", () -> {
+                highlightedIndex = size;
+                array[size] = value;
+                size++;
+            }, "➕ <b>Add Element:</b> Inserting <b>" + value + "</b> at index <b>" + index + "</b>. Current size: " + index + ", capacity: " + capacity + "."));
+            
+            animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
+                highlightedIndex = -1;
+            }, "✅ <b>Added:</b> Element <b>" + value + "</b> successfully added. Array now has " + (index + 1) + " elements."));
+        }
+        
+        @Override
+        public void removing(int index) {
+            int count = core.size();
+            final int removedValue = core.get(index);
+            
+            animationEngine.addStep(new SimpleAnimationStep("Remove", () -> {
+                highlightedIndex = index;
+                hole = index;
+            }, "🗑️ <b>Remove Element:</b> Removing element <b>" + removedValue + "</b> at index <b>" + index + "</b>."));
+            
+            for (int i = index; i < count - 1; i++) {
+                final int curr = i;
+                final int nextVal = core.get(curr + 1);
+                animationEngine.addStep(new SimpleAnimationStep("Shift", () -> {
+                    array[curr] = array[curr + 1];
+                    hole = curr + 1;
+                    highlightedIndex = curr;
+                }, "⬅️ <b>Shift Left:</b> Moving element <b>" + nextVal + "</b> from index " + (curr + 1) + " to index " + curr + "."));
+            }
+            
+            animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
+                size--;
+                hole = -1;
+                highlightedIndex = -1;
+            }, "✅ <b>Removal Complete:</b> Element removed. Array now has <b>" + (count - 1) + "</b> elements."));
+        }
+        
+        /**
+         * Steps that move the elements into a new array
+         * The values are read now, while the steps are recorded: the array they
+         * replace only becomes oldArray once the first step runs
+         */
+        @Override
+        public void resizing(int newCapacity) {
+            int count = core.size();
+            int[] source = new int[count];
+            for (int i = 0; i < count; i++) {
+                source[i] = core.get(i);
+            }
+            boolean growing = newCapacity > core.capacity();
+            String reason = growing
+                    ? "📦 <b>Array Full!</b> Current capacity (" + core.capacity() + ") reached. Growing by "
+                            + core.getGrowthPolicy() + " to a new array with capacity <b>" + newCapacity + "</b>."
+                    : "📉 <b>Only a quarter full:</b> " + count + " of " + core.capacity()
+                            + " slots in use. Halving to capacity <b>" + newCapacity
+                            + "</b>; waiting until a quarter, not a half, keeps add/remove at the boundary from resizing every time.";
+            
+            animationEngine.addStep(new SimpleAnimationStep("Resize Start", () -> {
+                isResizing = true;
+                oldArray = array;
+                array = new int[newCapacity];
+                copied = 0;
+                // Don't copy yet in visualization
+            }, reason));
+            
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                final int val = source[i];
+                animationEngine.addStep(new SimpleAnimationStep("Copy " + index, () -> {
+                    array[index] = val;
+                    copied = index + 1;
+                    highlightedIndex = index;
+                }, "📋 <b>Copy Element:</b> Copying element <b>" + val + "</b> from old array[" + index + "] to new array[" + index + "]."));
+            }
+            
+            animationEngine.addStep(new SimpleAnimationStep("Resize End", () -> {
+                isResizing = false;
+                oldArray = null;
+                highlightedIndex = -1;
+                resizes++;
+                copies += count;
+                allocatedBytes += GrowthPolicy.arrayBytes(newCapacity);
+            }, "✅ <b>Resize Complete:</b> Old array discarded. New capacity is <b>" + newCapacity + "</b>. "
+                    + (growing ? "Memory reallocated successfully." : "The unused tail is handed back.")));
+        }
+    }
+    
+    /**
+     * Int array without animation under a growth policy, counting element
+     * moves in the stats and keeping its own resize, copy and memory totals
+     */
+    public static class Headless extends GrowableIntArray {
+        public Headless(OperationStats stats) {
+            super(stats);
+        }
+        
+        /**
+         * @param shrinking halve the array once a removal leaves it a quarter full
+         */
+        public Headless(OperationStats stats, GrowthPolicy policy, boolean shrinking) {
+            super(stats, policy, shrinking);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.raven.ds.modules.dynamicarray;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
@@ -21,12 +22,16 @@ public class DynamicArrayControls extends JPanel {
     private Button removeBtn;
     private Button clearBtn;
     private Button loadSampleBtn;
+    private JComboBox<GrowthPolicy> policyCombo;
+    private JCheckBox shrinkBox;
+    private Button compareBtn;
     private Button playBtn;
     private Button pauseBtn;
     private Button stepBtn;
     private Button resetBtn;
     private Button downloadDocsBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JLabel stepLabel;
     
@@ -90,6 +95,21 @@ public class DynamicArrayControls extends JPanel {
         loadSampleBtn.setPreferredSize(new Dimension(120, 40));
         loadSampleBtn.setToolTipText("Load sample data");
         
+        // Growth policy controls
+        policyCombo = new JComboBox<>(GrowthPolicy.values());
+        policyCombo.setToolTipText("New capacity once the array is full");
+        shrinkBox = new JCheckBox("Halve at 1/4 full");
+        shrinkBox.setBackground(Color.WHITE);
+        shrinkBox.setToolTipText("Shrink after a removal leaves only a quarter of the slots in use");
+        
+        compareBtn = new Button();
+        compareBtn.setText("Compare...");
+        compareBtn.setBackground(new Color(231, 76, 60)); // Red
+        compareBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        compareBtn.setForeground(Color.WHITE);
+        compareBtn.setPreferredSize(new Dimension(120, 40));
+        compareBtn.setToolTipText("Run every policy over millions of appends and removals");
+        
         // Animation control buttons
         playBtn = new Button();
         playBtn.setText("▶ Play");
@@ -141,6 +161,9 @@ public class DynamicArrayControls extends JPanel {
         speedSlider.setPaintLabels(true);
         speedSlider.setBackground(Color.WHITE);
         
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status labels
         statusLabel = new JLabel("Ready for array operations");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -153,7 +176,7 @@ public class DynamicArrayControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]"));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createTitledBorder("Dynamic Array Controls"));
         
@@ -169,21 +192,31 @@ public class DynamicArrayControls extends JPanel {
         add(loadSampleBtn, "cell 1 1");
         add(clearBtn, "cell 2 1");
         
+        // Growth policy row
+        add(new JLabel("Growth:"), "cell 0 2");
+        add(policyCombo, "cell 1 2, split 2");
+        add(shrinkBox, "cell 1 2");
+        add(compareBtn, "cell 2 2");
+        
         // Animation controls row
-        add(new JLabel("Animation:"), "cell 0 2");
-        add(playBtn, "cell 1 2");
-        add(pauseBtn, "cell 1 2");
-        add(stepBtn, "cell 1 2");
-        add(resetBtn, "cell 1 2");
-        add(downloadDocsBtn, "cell 2 2");
+        add(new JLabel("Animation:"), "cell 0 3");
+        add(playBtn, "cell 1 3");
+        add(pauseBtn, "cell 1 3");
+        add(stepBtn, "cell 1 3");
+        add(resetBtn, "cell 1 3");
+        add(downloadDocsBtn, "cell 2 3");
         
         // Speed control row
-        add(new JLabel("Speed:"), "cell 0 3");
-        add(speedSlider, "cell 1 3, span 2, grow");
+        add(new JLabel("Speed:"), "cell 0 4");
+        add(speedSlider, "cell 1 4, span 2, grow");
+        
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
         
         // Status row
-        add(statusLabel, "cell 0 4, span 2");
-        add(stepLabel, "cell 2 4");
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
     }
     
     private void setupListeners() {
@@ -234,6 +267,20 @@ public class DynamicArrayControls extends JPanel {
             updateAnimationControls();
         });
         
+        policyCombo.addActionListener(e -> {
+            GrowthPolicy policy = (GrowthPolicy) policyCombo.getSelectedItem();
+            visualizer.setGrowthPolicy(policy);
+            statusLabel.setText("Growth policy: " + policy);
+        });
+        
+        shrinkBox.addActionListener(e -> {
+            visualizer.setShrinking(shrinkBox.isSelected());
+            statusLabel.setText(shrinkBox.isSelected() ? "Removals halve a quarter-full array" : "Array never shrinks");
+        });
+        
+        compareBtn.addActionListener(e ->
+            new GrowthPolicyDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+        
         // Animation controls
         playBtn.addActionListener(e -> {
             animationEngine.play();
@@ -316,6 +363,7 @@ public class DynamicArrayControls extends JPanel {
     
     private void updateAnimationControls() {
         boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
         playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
         pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
         stepBtn.setEnabled(hasSteps);
@@ -78,11 +78,13 @@ public class DynamicArrayPanel extends JPanel {
         
         if (dynamicArray.isResizing()) {
             // Draw old array
-            g2d.drawString("Old Array (Full):", startX, startY - 10);
-            Integer[] oldArray = dynamicArray.getOldArray();
+            g2d.drawString("Old Array:", startX, startY - 10);
+            int[] oldArray = dynamicArray.getOldArray();
             if (oldArray != null) {
                 for (int i = 0; i < oldArray.length; i++) {
-                    drawCell(g2d, startX + i * cellWidth, startY, cellWidth, cellHeight, oldArray[i], i, false);
+                    // The old array still holds every element while they are copied out
+                    drawCell(g2d, startX + i * cellWidth, startY, cellWidth, cellHeight, oldArray[i],
+                            i < dynamicArray.getSize(), i, false);
                 }
             }
             
@@ -92,19 +94,20 @@ public class DynamicArrayPanel extends JPanel {
         }
         
         // Draw current array
-        Integer[] array = dynamicArray.getArray();
-        for (int i = 0; i < dynamicArray.getCapacity(); i++) {
-            Integer value = array[i];
+        int[] array = dynamicArray.getArray();
+        for (int i = 0; i < array.length; i++) {
             boolean isHighlighted = (i == dynamicArray.getHighlightedIndex());
-            drawCell(g2d, startX + i * cellWidth, startY, cellWidth, cellHeight, value, i, isHighlighted);
+            drawCell(g2d, startX + i * cellWidth, startY, cellWidth, cellHeight, array[i],
+                    dynamicArray.isOccupied(i), i, isHighlighted);
         }
     }
     
-    private void drawCell(Graphics2D g2d, int x, int y, int w, int h, Integer value, int index, boolean highlighted) {
+    private void drawCell(Graphics2D g2d, int x, int y, int w, int h, int value, boolean occupied, int index,
+                          boolean highlighted) {
         // Fill
         if (highlighted) {
             g2d.setColor(new Color(231, 76, 60)); // Red
-        } else if (value != null) {
+        } else if (occupied) {
             g2d.setColor(new Color(52, 152, 219)); // Blue
         } else {
             g2d.setColor(new Color(236, 240, 241)); // Light Gray
@@ -116,7 +119,7 @@ public class DynamicArrayPanel extends JPanel {
         g2d.drawRect(x, y, w, h);
         
         // Value
-        if (value != null) {
+        if (occupied) {
             g2d.setColor(Color.WHITE);
             g2d.setFont(new Font("SansSerif", Font.BOLD, 14));
             String s = String.valueOf(value);
@@ -138,10 +141,14 @@ public class DynamicArrayPanel extends JPanel {
         
         g2d.drawString("Size: " + dynamicArray.getSize(), x, y);
         g2d.drawString("Capacity: " + dynamicArray.getCapacity(), x, y + 20);
+        g2d.drawString("Growth: " + dynamicArray.getGrowthPolicy()
+                + (dynamicArray.isShrinking() ? ", halve at 1/4 full" : ", never shrinks"), x, y + 40);
+        g2d.drawString("Resizes: " + dynamicArray.getResizes() + "   Elements copied: " + dynamicArray.getCopies()
+                + "   Bytes allocated: " + dynamicArray.getAllocatedBytes(), x, y + 60);
         
         if (dynamicArray.isResizing()) {
             g2d.setColor(new Color(231, 76, 60));
-            g2d.drawString("Status: RESIZING...", x, y + 50);
+            g2d.drawString("Status: RESIZING...", x, y + 90);
         }
     }
     
@@ -165,6 +172,16 @@ public class DynamicArrayPanel extends JPanel {
         repaint();
     }
     
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        dynamicArray.setGrowthPolicy(policy);
+        repaint();
+    }
+    
+    public void setShrinking(boolean shrinking) {
+        dynamicArray.setShrinking(shrinking);
+        repaint();
+    }
+    
     public int getArraySize() {
         return dynamicArray.getSize();
     }
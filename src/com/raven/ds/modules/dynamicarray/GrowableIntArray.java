@@ -0,0 +1,212 @@
+package com.raven.ds.modules.dynamicarray;
+
+import com.raven.ds.core.OperationStats;
+
+import java.util.Arrays;
+
+/**
+ * Int array under a growth policy, counting element moves in the stats and
+ * keeping its own resize, copy and memory totals
+ * An optional Observer hears about each change before it happens, while the
+ * old contents can still be read, which is how the animated array replays it
+ */
+public class GrowableIntArray {
+    /**
+     * Callbacks fired while the array works
+     */
+    public interface Observer {
+        /**
+         * The first size() elements are about to move to an array of newCapacity
+         */
+        void resizing(int newCapacity);
+
+        /**
+         * The element at index is about to go and everything after it to shift left
+         */
+        void removing(int index);
+
+        void added(int index, int value);
+    }
+
+    private final OperationStats stats;
+    private GrowthPolicy policy;
+    private boolean shrinking;
+    private int[] array = new int[GrowthPolicy.INITIAL_CAPACITY];
+    private int size;
+    private Observer observer;
+
+    private int resizes;
+    private long copies;
+    private long allocatedBytes = GrowthPolicy.arrayBytes(GrowthPolicy.INITIAL_CAPACITY);
+    private int peakCapacity = GrowthPolicy.INITIAL_CAPACITY;
+    // Sums over the state after each operation, for the means
+    private long slackSum;
+    private long capacitySum;
+    private long operations;
+
+    public GrowableIntArray(OperationStats stats) {
+        this(stats, GrowthPolicy.DOUBLING, false);
+    }
+
+    /**
+     * @param shrinking halve the array once a removal leaves it a quarter full
+     */
+    public GrowableIntArray(OperationStats stats, GrowthPolicy policy, boolean shrinking) {
+        this.stats = stats;
+        this.policy = policy;
+        this.shrinking = shrinking;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        this.policy = policy;
+    }
+
+    public void setShrinking(boolean shrinking) {
+        this.shrinking = shrinking;
+    }
+
+    public void add(int value) {
+        if (size == array.length) {
+            resize(policy.grow(array.length));
+        }
+        array[size] = value;
+        if (observer != null) {
+            observer.added(size, value);
+        }
+        size++;
+        record();
+    }
+
+    public int remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (observer != null) {
+            observer.removing(index);
+        }
+        int removed = array[index];
+        int shifted = size - index - 1;
+        System.arraycopy(array, index + 1, array, index, shifted);
+        stats.moves(shifted);
+        size--;
+        afterRemove();
+        return removed;
+    }
+
+    /**
+     * Stack-style pop: no shifting, so only resizes cost anything
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Index: -1, Size: 0");
+        }
+        if (observer != null) {
+            observer.removing(size - 1);
+        }
+        int removed = array[--size];
+        afterRemove();
+        return removed;
+    }
+
+    private void afterRemove() {
+        if (shrinking) {
+            int newCapacity = GrowthPolicy.shrink(array.length, size);
+            if (newCapacity < array.length) {
+                resize(newCapacity);
+            }
+        }
+        record();
+    }
+
+    private void resize(int newCapacity) {
+        if (observer != null) {
+            observer.resizing(newCapacity);
+        }
+        stats.moves(size);
+        array = Arrays.copyOf(array, newCapacity);
+        resizes++;
+        copies += size;
+        allocatedBytes += GrowthPolicy.arrayBytes(newCapacity);
+        peakCapacity = Math.max(peakCapacity, newCapacity);
+    }
+
+    private void record() {
+        slackSum += array.length - size;
+        capacitySum += array.length;
+        operations++;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return array[index];
+    }
+
+    /**
+     * Copy of the backing array, empty slots included
+     */
+    public int[] toBackingArray() {
+        return array.clone();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    public GrowthPolicy getGrowthPolicy() {
+        return policy;
+    }
+
+    public boolean isShrinking() {
+        return shrinking;
+    }
+
+    public int getResizes() {
+        return resizes;
+    }
+
+    /**
+     * Elements copied by resizes; shifts after a removal are not included
+     */
+    public long getCopies() {
+        return copies;
+    }
+
+    /**
+     * Bytes of every backing array ever allocated, the initial one included
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public int getPeakCapacity() {
+        return peakCapacity;
+    }
+
+    /**
+     * Empty slots averaged over the state after every add and remove
+     */
+    public double getMeanSlack() {
+        return operations == 0 ? 0 : (double) slackSum / operations;
+    }
+
+    /**
+     * Share of the backing array standing empty, averaged the same way
+     */
+    public double getWastedFraction() {
+        return capacitySum == 0 ? 0 : (double) slackSum / capacitySum;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+}
@@ -0,0 +1,83 @@
+package com.raven.ds.modules.dynamicarray;
+
+/**
+ * How a full dynamic array picks its next capacity
+ * Geometric factors keep appends amortized O(1), at the price of up to
+ * (factor - 1) / factor of the array standing empty right after a resize; a
+ * fixed increment wastes almost nothing but copies O(n^2) elements in total
+ */
+public enum GrowthPolicy {
+    DOUBLING("2x") {
+        @Override
+        long next(int capacity) {
+            return 2L * capacity;
+        }
+    },
+    ONE_AND_A_HALF("1.5x (ArrayList)") {
+        @Override
+        long next(int capacity) {
+            return capacity + (capacity >> 1);
+        }
+    },
+    GOLDEN_RATIO("1.618x (golden ratio)") {
+        @Override
+        long next(int capacity) {
+            return (long) (capacity * PHI);
+        }
+    },
+    FIXED_INCREMENT("+" + GrowthPolicy.INCREMENT + " slots") {
+        @Override
+        long next(int capacity) {
+            return (long) capacity + INCREMENT;
+        }
+    };
+
+    public static final int INITIAL_CAPACITY = 4;
+    // Slots added per resize by FIXED_INCREMENT, like Vector's capacityIncrement
+    public static final int INCREMENT = 16;
+    // Largest array most VMs will allocate
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final double PHI = (1 + Math.sqrt(5)) / 2;
+
+    private final String label;
+
+    GrowthPolicy(String label) {
+        this.label = label;
+    }
+
+    abstract long next(int capacity);
+
+    /**
+     * Capacity after growing a full array; always at least one slot more
+     */
+    public int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new OutOfMemoryError("Array capacity limit reached");
+        }
+        return (int) Math.min(MAX_CAPACITY, Math.max(capacity + 1L, next(capacity)));
+    }
+
+    /**
+     * Hysteresis: halve once only a quarter is in use, so a workload hovering
+     * around a resize boundary does not grow and shrink on every operation
+     * @return the smaller capacity, or the same one if no shrink is due
+     */
+    public static int shrink(int capacity, int size) {
+        if (capacity > INITIAL_CAPACITY && size <= capacity / 4) {
+            return Math.max(INITIAL_CAPACITY, capacity / 2);
+        }
+        return capacity;
+    }
+
+    /**
+     * Heap bytes of an int[] of this length: 16-byte header, padded to 8
+     */
+    public static long arrayBytes(int length) {
+        return (16 + 4L * length + 7) & ~7L;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,161 @@
+package com.raven.ds.modules.dynamicarray;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Runs every growth policy over the same append and removal workload
+ * Appending n values shows the amortized copy cost and the slack each factor
+ * leaves behind. The sawtooth then pops down to n/8 and refills to n four
+ * times before emptying the array, which is where shrinking pays for itself
+ * in memory and where shrinking too eagerly would thrash
+ */
+public class GrowthPolicyDialog extends JDialog {
+    // A fixed increment copies about n^2 / (2 * INCREMENT) elements; above this it takes minutes
+    private static final int FIXED_INCREMENT_LIMIT = 200_000;
+    private static final int SAWTOOTH_ROUNDS = 4;
+
+    private JSpinner sizeSpinner;
+    private Button runBtn;
+    private JTextArea resultsArea;
+
+    public GrowthPolicyDialog(Frame owner) {
+        super(owner, "Compare Growth Policies", false);
+
+        initComponents();
+        setSize(960, 560);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][grow]"));
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(2_000_000, 1_000, 50_000_000, 500_000));
+        sizeSpinner.setToolTipText("Values appended; the sawtooth peaks at this size");
+        runBtn = new Button();
+        runBtn.setText("Run");
+        runBtn.setBackground(new Color(231, 76, 60));
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(110, 36));
+        runBtn.setToolTipText("Run the append and sawtooth workloads under every policy");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Values:"), "cell 0 0");
+        panel.add(sizeSpinner, "cell 1 0, split 2, w 120!");
+        panel.add(runBtn, "cell 1 0, gapleft push");
+        panel.add(new JScrollPane(resultsArea), "cell 0 1, span 2, grow");
+        setContentPane(panel);
+
+        runBtn.addActionListener(e -> run());
+    }
+
+    private void run() {
+        int n = (Integer) sizeSpinner.getValue();
+        runBtn.setEnabled(false);
+
+        new SwingWorker<Void, String>() {
+            @Override
+            protected Void doInBackground() {
+                publish(String.format("Append %,d values%n%-30s %10s %8s %12s %14s %12s %14s%n", n, "Policy",
+                        "Time (ms)", "Resizes", "Copies/add", "Peak capacity", "Empty slots", "Allocated (MB)"));
+                for (GrowthPolicy policy : GrowthPolicy.values()) {
+                    if (skipped(policy, n)) continue;
+                    OperationStats stats = new OperationStats();
+                    DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats, policy, false);
+                    stats.start();
+                    for (int i = 0; i < n; i++) {
+                        array.add(i);
+                    }
+                    stats.stop();
+                    report(policy.toString(), stats, array);
+                }
+
+                publish(String.format("%nSawtooth: %d rounds of pop to %,d and refill to %,d, then pop all%n"
+                                + "%-30s %10s %8s %12s %14s %12s %14s %14s%n", SAWTOOTH_ROUNDS, n / 8, n, "Policy",
+                        "Time (ms)", "Resizes", "Copies/op", "Peak capacity", "Empty slots", "Allocated (MB)",
+                        "Final capacity"));
+                for (GrowthPolicy policy : GrowthPolicy.values()) {
+                    if (skipped(policy, n)) continue;
+                    for (boolean shrinking : new boolean[]{false, true}) {
+                        OperationStats stats = new OperationStats();
+                        DynamicArrayAlgorithm.Headless array =
+                                new DynamicArrayAlgorithm.Headless(stats, policy, shrinking);
+                        stats.start();
+                        sawtooth(array, n);
+                        stats.stop();
+                        report(policy + (shrinking ? ", halve at 1/4" : ", no shrink"), stats, array);
+                    }
+                }
+                return null;
+            }
+
+            private boolean skipped(GrowthPolicy policy, int n) {
+                if (policy == GrowthPolicy.FIXED_INCREMENT && n > FIXED_INCREMENT_LIMIT) {
+                    publish(String.format("%-30s skipped: O(n^2) copying above %,d values%n", policy,
+                            FIXED_INCREMENT_LIMIT));
+                    return true;
+                }
+                return false;
+            }
+
+            private void report(String name, OperationStats stats, DynamicArrayAlgorithm.Headless array) {
+                String line = String.format("%-30s %10.1f %,8d %12.3f %,14d %11.1f%% %14.1f", name,
+                        stats.getElapsedMillis(), array.getResizes(),
+                        (double) array.getCopies() / array.getOperations(), array.getPeakCapacity(),
+                        100.0 * array.getWastedFraction(),
+                        array.getAllocatedBytes() / (1024.0 * 1024.0));
+                if (array.size() == 0) {
+                    line += String.format(" %,14d", array.capacity());
+                }
+                publish(line + System.lineSeparator());
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Run failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                runBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    /**
+     * Fill to n, then pop to n/8 and refill to n a few times, then pop everything
+     */
+    static void sawtooth(DynamicArrayAlgorithm.Headless array, int n) {
+        for (int i = 0; i < n; i++) {
+            array.add(i);
+        }
+        for (int round = 0; round < SAWTOOTH_ROUNDS; round++) {
+            while (array.size() > n / 8) {
+                array.removeLast();
+            }
+            while (array.size() < n) {
+                array.add(array.size());
+            }
+        }
+        while (array.size() > 0) {
+            array.removeLast();
+        }
+    }
+}
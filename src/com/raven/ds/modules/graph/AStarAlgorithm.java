@@ -0,0 +1,308 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.StepGenerator;
+
+import java.util.*;
+
+/**
+ * A* search from the start node to the end node with animation support
+ * The heuristic is the straight-line (or Manhattan) distance between node
+ * positions, scaled by the smallest weight-per-pixel of any edge so it never
+ * overestimates; that also makes it consistent, so settled nodes stay settled
+ */
+public class AStarAlgorithm {
+    public enum Heuristic {
+        EUCLIDEAN("Euclidean", "straight-line distance"),
+        MANHATTAN("Manhattan", "horizontal plus vertical distance");
+
+        private final String displayName;
+        private final String description;
+
+        Heuristic(String displayName, String description) {
+            this.displayName = displayName;
+            this.description = description;
+        }
+
+        public double length(int x1, int y1, int x2, int y2) {
+            double dx = x1 - x2;
+            double dy = y1 - y2;
+            return this == EUCLIDEAN ? Math.sqrt(dx * dx + dy * dy) : Math.abs(dx) + Math.abs(dy);
+        }
+
+        public String getDescription() { return description; }
+
+        @Override
+        public String toString() { return displayName; }
+    }
+
+    private List<GraphNode> nodes;
+    private GraphNode startNode;
+    private GraphNode endNode;
+    private List<GraphNode> shortestPath;
+    private AnimationEngine animationEngine;
+    private final SearchCounters counters;
+    private Heuristic heuristic = Heuristic.EUCLIDEAN;
+
+    AStarAlgorithm(AnimationEngine animationEngine, SearchCounters counters) {
+        this.nodes = new ArrayList<>();
+        this.animationEngine = animationEngine;
+        this.counters = counters;
+        this.shortestPath = new ArrayList<>();
+    }
+
+    public void setNodes(List<GraphNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    public void setStartNode(GraphNode start) {
+        this.startNode = start;
+    }
+
+    public void setEndNode(GraphNode end) {
+        this.endNode = end;
+    }
+
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    public void runAStar() {
+        if (startNode == null || endNode == null) {
+            throw new IllegalStateException("A* needs both a start and an end node");
+        }
+        for (GraphNode node : nodes) {
+            node.reset();
+            for (GraphEdge edge : node.getEdges()) {
+                edge.reset();
+            }
+        }
+        shortestPath.clear();
+        animationEngine.clearSteps();
+        startNode.setDistance(0);
+        animationEngine.setStepSource(new AStarSteps());
+    }
+
+    /**
+     * A* as a step generator over an AStarSearch on a snapshot of the graph;
+     * each advance settles one node and emits its steps
+     */
+    private class AStarSteps extends StepGenerator implements AStarSearch.Observer {
+        private final GraphNode[] nodeAt = nodes.toArray(new GraphNode[0]);
+        private final GraphEdge[] edgeAt = CompactGraph.edgesOf(nodes);
+        private final CompactGraph graph = CompactGraph.fromNodes(nodes);
+        private final AStarSearch search = new AStarSearch(new OperationStats(), heuristic);
+        private boolean started;
+        private boolean finished;
+        private boolean reached;
+        private int settled;
+        private int relaxed;
+
+        AStarSteps() {
+            search.setObserver(this);
+            search.start(graph, nodes.indexOf(startNode), nodes.indexOf(endNode));
+        }
+
+        @Override
+        protected boolean advance() {
+            if (!started) {
+                started = true;
+                emitInitialize();
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (search.advance()) {
+                return true;
+            }
+            if (reached) {
+                emitPath();
+                emitComplete(true);
+            } else {
+                emit("Target Unreachable", () -> clearEdgeHighlights(),
+                    "⚠️ <b>Open set is empty:</b> every node reachable from '" + startNode.getId() +
+                    "' has been settled without reaching '" + endNode.getId() + "'.");
+                emitComplete(false);
+            }
+            finished = true;
+            return true;
+        }
+
+        private void emitInitialize() {
+            double scale = search.getScale();
+            String scaleNote = scale > 0
+                ? String.format("Heuristic = %.2f × %s to '%s', the largest factor that never overestimates an edge.",
+                                scale, heuristic.getDescription(), endNode.getId())
+                : "No edge allows a positive scale, so the heuristic is 0 and A* behaves exactly like Dijkstra.";
+            emit("Initialize A*", () -> {
+                counters.start("A* (" + heuristic + ")");
+                startNode.setHighlighted(true);
+                startNode.setColor(GraphNode.START_COLOR);
+                endNode.setColor(GraphNode.END_COLOR);
+            }, "🚀 <b>A* Initialization:</b> Searching from '" + startNode.getId() + "' to '" + endNode.getId() +
+               "'. Nodes are taken in order of f = g + h, where g is the distance found so far and h estimates " +
+               "the rest. " + scaleNote);
+        }
+
+        @Override
+        public void settled(int index, int g) {
+            GraphNode node = nodeAt[index];
+            settled++;
+            reached = node == endNode;
+            final int count = settled;
+            final int h = search.estimate(index);
+            emit("Settle Node " + count, () -> {
+                clearEdgeHighlights();
+                if (node != startNode && node != endNode) {
+                    node.setColor(GraphNode.CURRENT_COLOR);
+                }
+                node.setHighlighted(true);
+                node.setVisited(true);
+                counters.setSettled(count);
+            }, "🔍 <b>Settle '" + node.getId() + "':</b> smallest f in the open set: g = " + g + ", h = " + h +
+               ", f = " + (g + h) + ". " + (node == endNode
+                   ? "It is the target, so its distance is final and the search stops here."
+                   : "Its distance is final; relaxing its outgoing edges."));
+        }
+
+        @Override
+        public void examined(int index, int slot, int candidate, int old) {
+            GraphNode node = nodeAt[index];
+            GraphEdge edge = edgeAt[slot];
+            GraphNode neighbor = edge.getTarget();
+            int g = search.getDistance(index);
+            if (candidate < old) {
+                int h = search.estimate(nodes.indexOf(neighbor));
+                int f = candidate + h;
+                relaxed++;
+                final int relaxedCount = relaxed;
+                emit("Relax Edge", () -> {
+                    edge.setHighlighted(true);
+                    edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
+                    neighbor.setDistance(candidate);
+                    neighbor.setPredecessor(node);
+                    if (neighbor != endNode) {
+                        neighbor.setColor(GraphNode.IMPROVEMENT_COLOR);
+                    }
+                    counters.setRelaxed(relaxedCount);
+                }, "✅ <b>Improved '" + neighbor.getId() + "':</b> g = " + g + " + " + edge.getWeight() + " = " +
+                   candidate + (old == Integer.MAX_VALUE ? "" : " (was " + old + ")") + ", h = " +
+                   h + ", so f = " + f + ".");
+            } else {
+                emit("No Improvement", () -> {
+                    edge.setHighlighted(true);
+                    edge.setColor(GraphEdge.NO_IMPROVEMENT_COLOR);
+                }, "❌ <b>No Improvement:</b> " + g + " + " + edge.getWeight() + " = " + candidate +
+                   " ≥ current g(" + neighbor.getId() + ") = " + old + ".");
+            }
+        }
+
+        @Override
+        public void closed(int index) {
+            GraphNode node = nodeAt[index];
+            emit("Close Node", () -> {
+                if (node != startNode) {
+                    node.setColor(GraphNode.VISITED_COLOR);
+                }
+                node.setHighlighted(false);
+            }, "✅ <b>'" + node.getId() + "' closed.</b> Nodes whose f exceeds the target's true distance will " +
+               "never be settled; that is the work A* saves over Dijkstra.");
+        }
+
+        private void emitPath() {
+            int[] predecessors = search.getPredecessors();
+            int end = nodes.indexOf(endNode);
+            List<GraphNode> path = new ArrayList<>();
+            for (int node = end; node >= 0; node = predecessors[node]) {
+                path.add(0, nodeAt[node]);
+            }
+            emit("Highlight Shortest Path", () -> {
+                shortestPath.clear();
+                shortestPath.addAll(path);
+                highlightPath(path);
+            }, "🎯 <b>Shortest Path Found:</b> " + describe(path) + " with total distance <b>" +
+               search.getDistance(end) + "</b>.");
+        }
+
+        private void emitComplete(boolean found) {
+            final String note = dijkstraComparison();
+            final int settledTotal = settled;
+            emit("Algorithm Complete", () -> counters.setNote(note),
+                "🏁 <b>A* Complete!</b> Settled " + settledTotal + " of " + nodes.size() + " nodes and relaxed " +
+                relaxed + " edges" + (found ? "" : " without reaching the target") + ". " + note +
+                ". Grey nodes were never settled.");
+        }
+
+        /**
+         * Settled count of plain Dijkstra stopping at the same target, for comparison
+         */
+        private String dijkstraComparison() {
+            DijkstraSearch dijkstra = new DijkstraSearch(new OperationStats());
+            dijkstra.run(graph, nodes.indexOf(startNode), nodes.indexOf(endNode));
+            return "Dijkstra stopping at the same target settles " + dijkstra.getSettledCount();
+        }
+    }
+
+    static String describe(List<GraphNode> path) {
+        StringBuilder builder = new StringBuilder();
+        for (GraphNode node : path) {
+            if (builder.length() > 0) {
+                builder.append(" → ");
+            }
+            builder.append(node.getId());
+        }
+        return builder.toString();
+    }
+
+    private void clearEdgeHighlights() {
+        for (GraphNode node : nodes) {
+            for (GraphEdge edge : node.getEdges()) {
+                if (!edge.getColor().equals(GraphEdge.IMPROVEMENT_COLOR)) {
+                    edge.setHighlighted(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reset every edge, then colour the path's nodes and edges
+     */
+    static void highlightPath(List<GraphNode> nodes, List<GraphNode> path) {
+        for (GraphNode node : nodes) {
+            node.setHighlighted(false);
+            for (GraphEdge edge : node.getEdges()) {
+                edge.setHighlighted(false);
+            }
+        }
+        for (GraphNode node : path) {
+            node.setHighlighted(true);
+        }
+        for (int i = 0; i < path.size() - 1; i++) {
+            for (GraphEdge edge : path.get(i).getEdges()) {
+                if (edge.getTarget() == path.get(i + 1)) {
+                    edge.setPathColor();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void highlightPath(List<GraphNode> path) {
+        highlightPath(nodes, path);
+    }
+
+    // Getters
+    public Heuristic getHeuristic() { return heuristic; }
+    public List<GraphNode> getShortestPath() { return shortestPath; }
+
+    /**
+     * A* over a CompactGraph with node coordinates, without animation
+     */
+    public static class Headless extends AStarSearch {
+        public Headless(OperationStats stats, Heuristic heuristic) {
+            super(stats, heuristic);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.graph.AStarAlgorithm.Heuristic;
+import com.raven.ds.modules.heap.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * A* over a CompactGraph with node coordinates
+ * Uses an IndexedMinHeap keyed by g + h; counts comparisons and relaxations.
+ * The search is resumable: advance() settles one node and relaxes its edges,
+ * so the animated search can emit steps as they are played, while run()
+ * drives it to the end. An optional Observer hears about each settle and each
+ * edge examined, before the distance is updated
+ */
+public class AStarSearch {
+    /**
+     * Callbacks fired while the search works; nodes are CompactGraph indices
+     */
+    public interface Observer {
+        void settled(int node, int distance);
+
+        /**
+         * The edge in CSR slot was examined; edges into closed nodes are skipped
+         * @param previous the target's distance before this edge, Integer.MAX_VALUE if unreached
+         */
+        void examined(int node, int slot, int candidate, int previous);
+
+        /**
+         * Every edge of node has been relaxed; not called for the target
+         */
+        void closed(int node);
+    }
+
+    private final OperationStats stats;
+    private final Heuristic heuristic;
+    private Observer observer;
+    private CompactGraph graph;
+    private CompactGraph scaledGraph;
+    private double scale;
+    private int[] distance;
+    private int[] predecessors;
+    private boolean[] closed;
+    private IndexedMinHeap heap;
+    private int target;
+    private int targetX;
+    private int targetY;
+    private int settledCount;
+    private boolean done;
+
+    public AStarSearch(OperationStats stats, Heuristic heuristic) {
+        this.stats = stats;
+        this.heuristic = heuristic;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * @return distance to target, Integer.MAX_VALUE if unreachable
+     */
+    public int run(CompactGraph graph, int source, int target) {
+        start(graph, source, target);
+        while (advance()) {
+            // Each call settles one node
+        }
+        return distance[target];
+    }
+
+    /**
+     * Begin a search; call advance() until it returns false
+     */
+    public void start(CompactGraph graph, int source, int target) {
+        if (!graph.hasCoordinates()) {
+            throw new IllegalArgumentException("A* needs node coordinates");
+        }
+        if (graph != scaledGraph) {
+            scale = scaleFor(graph, heuristic);
+            scaledGraph = graph;
+        }
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.target = target;
+        distance = new int[n];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        predecessors = new int[n];
+        Arrays.fill(predecessors, -1);
+        closed = new boolean[n];
+        heap = new IndexedMinHeap(n, DijkstraSearch.DEFAULT_ARITY, stats);
+        targetX = graph.getX(target);
+        targetY = graph.getY(target);
+        settledCount = 0;
+        done = false;
+
+        distance[source] = 0;
+        heap.offer(source, estimate(source));
+    }
+
+    /**
+     * Settle the open node with the smallest f and relax its edges
+     * @return false once the target is settled or the open set is empty
+     */
+    public boolean advance() {
+        if (done || heap.isEmpty()) {
+            return false;
+        }
+        int node = heap.poll();
+        closed[node] = true;
+        settledCount++;
+        if (observer != null) {
+            observer.settled(node, distance[node]);
+        }
+        if (node == target) {
+            done = true;
+            return false;
+        }
+        int base = distance[node];
+        for (int slot = graph.getRowStart(node); slot < graph.getRowEnd(node); slot++) {
+            int next = graph.getRowTarget(slot);
+            if (closed[next]) {
+                continue;
+            }
+            int candidate = base + graph.getRowWeight(slot);
+            if (observer != null) {
+                observer.examined(node, slot, candidate, distance[next]);
+            }
+            stats.comparison();
+            if (candidate < distance[next]) {
+                stats.relaxation();
+                distance[next] = candidate;
+                predecessors[next] = node;
+                heap.offer(next, candidate + estimate(next));
+            }
+        }
+        if (observer != null) {
+            observer.closed(node);
+        }
+        return true;
+    }
+
+    /**
+     * h of a node: the scaled heuristic length to the target
+     */
+    public int estimate(int node) {
+        return (int) (scale * heuristic.length(graph.getX(node), graph.getY(node), targetX, targetY));
+    }
+
+    /**
+     * Smallest weight / length over all edges, 0 if any weight is negative;
+     * shaved slightly so floating-point rounding cannot tip an estimate over
+     */
+    static double scaleFor(CompactGraph graph, Heuristic heuristic) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            int weight = graph.getWeight(e);
+            if (weight < 0) {
+                return 0;
+            }
+            int from = graph.getFrom(e);
+            int to = graph.getTo(e);
+            double length = heuristic.length(graph.getX(from), graph.getY(from), graph.getX(to), graph.getY(to));
+            if (length > 0) {
+                scale = Math.min(scale, weight / length);
+            }
+        }
+        return Double.isInfinite(scale) ? 0 : scale * (1 - 1e-9);
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public int getDistance(int node) {
+        return distance[node];
+    }
+
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.raven.ds.modules.graph;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tentative distances shared by parallel relaxation tasks
+ * Distance and predecessor are packed into one long per node, so a single
+ * compare-and-set lowers both together and a reader never sees a distance
+ * paired with the predecessor of a different update
+ */
+final class AtomicDistances {
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final AtomicLongArray slots;
+
+    AtomicDistances(int nodeCount) {
+        slots = new AtomicLongArray(nodeCount);
+        long empty = pack(UNREACHED, -1);
+        for (int node = 0; node < nodeCount; node++) {
+            slots.set(node, empty);
+        }
+    }
+
+    int distance(int node) {
+        return (int) (slots.get(node) >> 32);
+    }
+
+    void set(int node, int distance, int predecessor) {
+        slots.set(node, pack(distance, predecessor));
+    }
+
+    /**
+     * Atomic min-update: retries until the candidate is stored or is no longer smaller
+     * @return true if this call lowered the distance
+     */
+    boolean offer(int node, int candidate, int predecessor) {
+        long packed = pack(candidate, predecessor);
+        while (true) {
+            long current = slots.get(node);
+            if (candidate >= (int) (current >> 32)) {
+                return false;
+            }
+            if (slots.compareAndSet(node, current, packed)) {
+                return true;
+            }
+        }
+    }
+
+    int[] toDistances() {
+        int[] distance = new int[slots.length()];
+        for (int node = 0; node < distance.length; node++) {
+            distance[node] = distance(node);
+        }
+        return distance;
+    }
+
+    int[] toPredecessors() {
+        int[] predecessors = new int[slots.length()];
+        for (int node = 0; node < predecessors.length; node++) {
+            predecessors[node] = (int) slots.get(node);
+        }
+        return predecessors;
+    }
+
+    private static long pack(int distance, int predecessor) {
+        return ((long) distance << 32) | (predecessor & 0xFFFFFFFFL);
+    }
+}
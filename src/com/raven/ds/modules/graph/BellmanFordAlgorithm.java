@@ -1,12 +1,17 @@
 package com.raven.ds.modules.graph;
 
 import com.raven.ds.core.AnimationEngine;
-import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.StepGenerator;
+import com.raven.ds.core.OperationStats;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Implementation of Bellman-Ford shortest path algorithm with animation support
+ * The search itself is a BellmanFordSearch over a CompactGraph snapshot of
+ * the nodes; its Observer callbacks are emitted as the steps that replay it
  */
 public class BellmanFordAlgorithm {
     private List<GraphNode> nodes;
@@ -68,138 +73,173 @@ public class BellmanFordAlgorithm {
         // Initialize distances
         startNode.setDistance(0);
         
-        animationEngine.addStep(new SimpleAnimationStep("Initialize Algorithm", () -> {
-            startNode.setHighlighted(true);
-        }, "🚀 <b>Bellman-Ford Initialization:</b> Set distance of start node '" + startNode.getId() + 
-           "' to 0, all others to infinity (∞). Will relax edges " + (nodes.size()-1) + " times."));
+        animationEngine.setStepSource(new BellmanFordSteps());
+    }
+    
+    /**
+     * Bellman-Ford as a step generator; relaxations are applied to the
+     * search's own distance table so each pass sees the distances the
+     * previous steps produced
+     */
+    private class BellmanFordSteps extends StepGenerator implements BellmanFordSearch.Observer {
+        private final GraphNode[] nodeAt = nodes.toArray(new GraphNode[0]);
+        private final GraphEdge[] edgeAt = CompactGraph.edgesOf(nodes);
+        private final BellmanFordSearch search = new BellmanFordSearch(new OperationStats());
+        private final int V = nodes.size();
+        private boolean started;
+        private boolean finished;
+        
+        BellmanFordSteps() {
+            search.setObserver(this);
+            search.start(CompactGraph.fromNodes(nodes), nodes.indexOf(startNode));
+        }
+        
+        @Override
+        protected boolean advance() {
+            if (!started) {
+                started = true;
+                emit("Initialize Algorithm", () -> {
+                    startNode.setHighlighted(true);
+                }, "🚀 <b>Bellman-Ford Initialization:</b> Set distance of start node '" + startNode.getId() + 
+                   "' to 0, all others to infinity (∞). Will relax edges " + (V - 1) + " times.");
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (search.advance(1)) {
+                return true;
+            }
+            if (!search.hasNegativeCycle()) {
+                emitResults();
+            }
+            finished = true;
+            return true;
+        }
         
         // Relax edges |V| - 1 times
-        int V = nodes.size();
-        for (int i = 0; i < V - 1; i++) {
-            final int iteration = i + 1;
-            
-            animationEngine.addStep(new SimpleAnimationStep("Iteration " + iteration, () -> {
+        @Override
+        public void passStarted(int current) {
+            emit("Iteration " + current, () -> {
+                clearHighlights();
+            }, "🔄 <b>Iteration " + current + " of " + (V - 1) + ":</b> Process all edges to find shorter paths. " +
+               "Each iteration can improve distances by considering indirect routes.");
+        }
+        
+        @Override
+        public void converged(int current) {
+            emit("Early Termination", () -> {
                 clearHighlights();
-            }, "🔄 <b>Iteration " + iteration + " of " + (V - 1) + ":</b> Process all edges to find shorter paths. " +
-               "Each iteration can improve distances by considering indirect routes."));
+            }, "🏃‍♂️ <b>Early Termination:</b> No edges were relaxed in iteration " + current + 
+               ". All shortest paths found! Skipping remaining iterations.");
+        }
+        
+        @Override
+        public void checked(int index, int newDistance, int oldDistance) {
+            GraphEdge edge = edgeAt[index];
+            GraphNode source = edge.getSource();
+            GraphNode target = edge.getTarget();
             
-            boolean relaxed = false;
-            for (GraphEdge edge : edges) {
-                GraphNode source = edge.getSource();
-                GraphNode target = edge.getTarget();
-                
-                if (source.getDistance() != Integer.MAX_VALUE) {
-                    int newDistance = source.getDistance() + edge.getWeight();
-                    
-                    animationEngine.addStep(new SimpleAnimationStep("Check Edge", () -> {
-                        clearHighlights();
-                        // Enhanced visualization: show exploration
-                        edge.setColor(GraphEdge.RELAXING_COLOR);
-                        edge.setHighlighted(true);
-                        source.setColor(GraphNode.EXPLORING_COLOR);
-                        source.setHighlighted(true);
-                        target.setColor(GraphNode.EXPLORING_COLOR);
-                        target.setHighlighted(true);
-                    }, "🔍 <b>Examining Edge:</b> " + source.getId() + " → " + target.getId() + 
-                       " (weight: " + edge.getWeight() + "). Check if path through '" + source.getId() + 
-                       "' offers shorter route to '" + target.getId() + "'. Current distance: " + 
-                       (target.getDistance() == Integer.MAX_VALUE ? "∞" : target.getDistance()) + 
-                       ", New path cost: " + newDistance));
-                    
-                    if (newDistance < target.getDistance()) {
-                        final int oldDistance = target.getDistance();
-                        relaxed = true;
-                        
-                        animationEngine.addStep(new SimpleAnimationStep("Relax Edge", () -> {
-                            target.setDistance(newDistance);
-                            target.setPredecessor(source);
-                            // Show successful relaxation with green colors
-                            target.setColor(GraphNode.IMPROVEMENT_COLOR);
-                            edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
-                        }, "✅ <b>Edge Relaxed:</b> Found shorter path! Update '" + target.getId() + 
-                           "' distance from " + (oldDistance == Integer.MAX_VALUE ? "∞" : oldDistance) + 
-                           " to " + newDistance + " via '" + source.getId() + "'"));
-                    } else {
-                        animationEngine.addStep(new SimpleAnimationStep("No Relaxation", () -> {
-                            // Show rejection with light red colors
-                            target.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
-                            edge.setColor(GraphEdge.NO_IMPROVEMENT_COLOR);
-                        }, "❌ <b>No Improvement:</b> Current path cost " + newDistance + 
-                           " ≥ existing distance " + target.getDistance() + ". Keep current best path."));
-                    }
-                }
-            }
+            emit("Check Edge", () -> {
+                clearHighlights();
+                // Enhanced visualization: show exploration
+                edge.setColor(GraphEdge.RELAXING_COLOR);
+                edge.setHighlighted(true);
+                source.setColor(GraphNode.EXPLORING_COLOR);
+                source.setHighlighted(true);
+                target.setColor(GraphNode.EXPLORING_COLOR);
+                target.setHighlighted(true);
+            }, "🔍 <b>Examining Edge:</b> " + source.getId() + " → " + target.getId() + 
+               " (weight: " + edge.getWeight() + "). Check if path through '" + source.getId() + 
+               "' offers shorter route to '" + target.getId() + "'. Current distance: " + 
+               (oldDistance == Integer.MAX_VALUE ? "∞" : oldDistance) + 
+               ", New path cost: " + newDistance);
             
-            if (!relaxed) {
-                animationEngine.addStep(new SimpleAnimationStep("Early Termination", () -> {
-                    clearHighlights();
-                }, "🏃‍♂️ <b>Early Termination:</b> No edges were relaxed in iteration " + iteration + 
-                   ". All shortest paths found! Skipping remaining iterations."));
-                break;
+            if (newDistance < oldDistance) {
+                emit("Relax Edge", () -> {
+                    target.setDistance(newDistance);
+                    target.setPredecessor(source);
+                    // Show successful relaxation with green colors
+                    target.setColor(GraphNode.IMPROVEMENT_COLOR);
+                    edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
+                }, "✅ <b>Edge Relaxed:</b> Found shorter path! Update '" + target.getId() + 
+                   "' distance from " + (oldDistance == Integer.MAX_VALUE ? "∞" : oldDistance) + 
+                   " to " + newDistance + " via '" + source.getId() + "'");
+            } else {
+                emit("No Relaxation", () -> {
+                    // Show rejection with light red colors
+                    target.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
+                    edge.setColor(GraphEdge.NO_IMPROVEMENT_COLOR);
+                }, "❌ <b>No Improvement:</b> Current path cost " + newDistance + 
+                   " ≥ existing distance " + oldDistance + ". Keep current best path.");
             }
         }
         
         // Check for negative cycles with enhanced explanation
-        animationEngine.addStep(new SimpleAnimationStep("Negative Cycle Check", () -> {
-            clearHighlights();
-        }, "🔍 <b>Negative Cycle Detection:</b> Final check - try relaxing edges once more. " +
-           "If any edge can still be relaxed, a negative cycle exists!"));
+        @Override
+        public void cycleCheckStarted() {
+            emit("Negative Cycle Check", () -> {
+                clearHighlights();
+            }, "🔍 <b>Negative Cycle Detection:</b> Final check - try relaxing edges once more. " +
+               "If any edge can still be relaxed, a negative cycle exists!");
+        }
         
-        for (GraphEdge edge : edges) {
+        @Override
+        public void negativeCycleFound(int index) {
+            GraphEdge edge = edgeAt[index];
             GraphNode source = edge.getSource();
             GraphNode target = edge.getTarget();
+            hasNegativeCycle = true;
             
-            if (source.getDistance() != Integer.MAX_VALUE) {
-                int newDistance = source.getDistance() + edge.getWeight();
-                
-                if (newDistance < target.getDistance()) {
-                    hasNegativeCycle = true;
-                    
-                    animationEngine.addStep(new SimpleAnimationStep("Negative Cycle Found", () -> {
-                        edge.setHighlighted(true);
-                        source.setHighlighted(true);
-                        target.setHighlighted(true);
-                    }, "⚠️ <b>Negative Cycle Detected!</b> Edge " + source.getId() + " → " + target.getId() + 
-                       " can still be relaxed. This graph contains a negative cycle!"));
-                    
-                    animationEngine.addStep(new SimpleAnimationStep("Algorithm Failed", () -> {
-                        clearHighlights();
-                    }, "🚫 <b>Algorithm Failed:</b> Bellman-Ford cannot find shortest paths in graphs with negative cycles."));
-                    return;
-                }
-            }
-        }
-        
-        if (endNode != null && endNode.getDistance() != Integer.MAX_VALUE) {
-            buildShortestPath();
-            animationEngine.addStep(new SimpleAnimationStep("Path Found", () -> {
-                highlightShortestPath();
-            }, "🎯 <b>Shortest Path Complete!</b> Optimal distance from '" + startNode.getId() + 
-               "' to '" + endNode.getId() + "' is " + endNode.getDistance() + 
-               ". Path highlighted showing the sequence of edges that form the shortest route."));
-        } else if (endNode != null) {
-            animationEngine.addStep(new SimpleAnimationStep("No Path Found", () -> {
-                endNode.setHighlighted(true);
-                endNode.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
-            }, "🚫 <b>No Path Available:</b> Target node '" + endNode.getId() + 
-               "' is not reachable from start node '" + startNode.getId() + "'. Distance remains ∞."));
+            emit("Negative Cycle Found", () -> {
+                edge.setHighlighted(true);
+                source.setHighlighted(true);
+                target.setHighlighted(true);
+            }, "⚠️ <b>Negative Cycle Detected!</b> Edge " + source.getId() + " → " + target.getId() + 
+               " can still be relaxed. This graph contains a negative cycle!");
+            
+            emit("Algorithm Failed", () -> {
+                clearHighlights();
+            }, "🚫 <b>Algorithm Failed:</b> Bellman-Ford cannot find shortest paths in graphs with negative cycles.");
         }
         
-        animationEngine.addStep(new SimpleAnimationStep("Algorithm Complete", () -> {
-            // Keep shortest path highlighted but clear other highlights
-            for (GraphNode node : nodes) {
-                if (!shortestPath.contains(node)) {
-                    node.setHighlighted(false);
+        private void emitResults() {
+            int end = endNode != null ? nodes.indexOf(endNode) : -1;
+            if (end >= 0 && search.getDistance(end) != Integer.MAX_VALUE) {
+                int[] predecessors = search.getPredecessors();
+                shortestPath.clear();
+                for (int node = end; node >= 0; node = predecessors[node]) {
+                    shortestPath.add(0, nodeAt[node]);
                 }
-                for (GraphEdge edge : node.getEdges()) {
-                    if (!isEdgeInShortestPath(edge)) {
-                        edge.setHighlighted(false);
+                emit("Path Found", () -> {
+                    highlightShortestPath();
+                }, "🎯 <b>Shortest Path Complete!</b> Optimal distance from '" + startNode.getId() + 
+                   "' to '" + endNode.getId() + "' is " + search.getDistance(end) + 
+                   ". Path highlighted showing the sequence of edges that form the shortest route.");
+            } else if (endNode != null) {
+                emit("No Path Found", () -> {
+                    endNode.setHighlighted(true);
+                    endNode.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
+                }, "🚫 <b>No Path Available:</b> Target node '" + endNode.getId() + 
+                   "' is not reachable from start node '" + startNode.getId() + "'. Distance remains ∞.");
+            }
+            
+            emit("Algorithm Complete", () -> {
+                // Keep shortest path highlighted but clear other highlights
+                for (GraphNode node : nodes) {
+                    if (!shortestPath.contains(node)) {
+                        node.setHighlighted(false);
+                    }
+                    for (GraphEdge edge : node.getEdges()) {
+                        if (!isEdgeInShortestPath(edge)) {
+                            edge.setHighlighted(false);
+                        }
                     }
                 }
-            }
-        }, "🏁 <b>Bellman-Ford Algorithm Complete!</b> " +
-           "Successfully computed shortest paths from '" + startNode.getId() + "' to all reachable nodes. " +
-           "This algorithm can handle negative edge weights and detect negative cycles."));
+            }, "🏁 <b>Bellman-Ford Algorithm Complete!</b> " +
+               "Successfully computed shortest paths from '" + startNode.getId() + "' to all reachable nodes. " +
+               "This algorithm can handle negative edge weights and detect negative cycles.");
+        }
     }
     
     private boolean isEdgeInShortestPath(GraphEdge edge) {
@@ -226,17 +266,6 @@ public class BellmanFordAlgorithm {
         }
     }
     
-    private void buildShortestPath() {
-        shortestPath.clear();
-        if (endNode == null || endNode.getDistance() == Integer.MAX_VALUE) return;
-        
-        GraphNode current = endNode;
-        while (current != null) {
-            shortestPath.add(0, current);
-            current = current.getPredecessor();
-        }
-    }
-    
     private void highlightShortestPath() {
         clearHighlights();
         
@@ -265,4 +294,227 @@ public class BellmanFordAlgorithm {
     public GraphNode getEndNode() { return endNode; }
     public List<GraphNode> getShortestPath() { return shortestPath; }
     public boolean hasNegativeCycle() { return hasNegativeCycle; }
+    
+    /**
+     * Bellman-Ford over a CompactGraph's edge list without animation
+     */
+    public static class Headless extends BellmanFordSearch {
+        public Headless(OperationStats stats) {
+            super(stats);
+        }
+    }
+    
+    /**
+     * Queue-based Bellman-Ford (SPFA) over the CSR rows of a CompactGraph
+     * Only nodes whose distance just dropped are rescanned, and the run ends as
+     * soon as the queue drains; a shortest path longer than n - 1 edges means
+     * a negative cycle is reachable
+     */
+    public static class Spfa {
+        private final OperationStats stats;
+        private int[] predecessors;
+        private boolean negativeCycle;
+        private long dequeues;
+        
+        public Spfa(OperationStats stats) {
+            this.stats = stats;
+        }
+        
+        /**
+         * @return distances from source, Integer.MAX_VALUE where unreachable
+         */
+        public int[] run(CompactGraph graph, int source) {
+            int n = graph.getNodeCount();
+            int[] distance = new int[n];
+            Arrays.fill(distance, Integer.MAX_VALUE);
+            predecessors = new int[n];
+            Arrays.fill(predecessors, -1);
+            int[] pathLength = new int[n];
+            boolean[] queued = new boolean[n];
+            // Ring buffer: a node is queued at most once at a time, so n slots suffice
+            int[] queue = new int[n];
+            int head = 0;
+            int count;
+            negativeCycle = false;
+            dequeues = 0;
+            
+            distance[source] = 0;
+            queue[0] = source;
+            queued[source] = true;
+            count = 1;
+            while (count > 0) {
+                int node = queue[head];
+                head = head + 1 == n ? 0 : head + 1;
+                count--;
+                queued[node] = false;
+                dequeues++;
+                int base = distance[node];
+                for (int slot = graph.getRowStart(node); slot < graph.getRowEnd(node); slot++) {
+                    int target = graph.getRowTarget(slot);
+                    int candidate = base + graph.getRowWeight(slot);
+                    stats.comparison();
+                    if (candidate < distance[target]) {
+                        stats.relaxation();
+                        distance[target] = candidate;
+                        predecessors[target] = node;
+                        pathLength[target] = pathLength[node] + 1;
+                        if (pathLength[target] >= n) {
+                            negativeCycle = true;
+                            return distance;
+                        }
+                        if (!queued[target]) {
+                            queued[target] = true;
+                            int tail = head + count;
+                            queue[tail >= n ? tail - n : tail] = target;
+                            count++;
+                        }
+                    }
+                }
+            }
+            return distance;
+        }
+        
+        public int[] getPredecessors() {
+            return predecessors;
+        }
+        
+        public boolean hasNegativeCycle() {
+            return negativeCycle;
+        }
+        
+        /**
+         * Node scans performed; plain Bellman-Ford scans all n nodes on every pass
+         */
+        public long getDequeues() {
+            return dequeues;
+        }
+    }
+    
+    /**
+     * Bellman-Ford with every pass split across a ForkJoinPool
+     * Tasks own contiguous node ranges of the CSR rows and push only from nodes
+     * whose distance dropped in the previous pass; targets are lowered with an
+     * atomic min-update, so concurrent writers never lose the smaller distance.
+     * Any change on pass n means a negative cycle is reachable
+     */
+    public static class Parallel {
+        // Arcs per leaf task; smaller slices cost more to schedule than they save
+        private static final int ARCS_PER_TASK = 16_384;
+        
+        private final OperationStats stats;
+        private final ForkJoinPool pool;
+        private int[] predecessors;
+        private boolean negativeCycle;
+        private int passes;
+        
+        public Parallel(OperationStats stats, ForkJoinPool pool) {
+            this.stats = stats;
+            this.pool = pool;
+        }
+        
+        /**
+         * @return distances from source, Integer.MAX_VALUE where unreachable
+         */
+        public int[] run(CompactGraph graph, int source) {
+            int n = graph.getNodeCount();
+            AtomicDistances distances = new AtomicDistances(n);
+            distances.set(source, 0, -1);
+            byte[] active = new byte[n];
+            byte[] next = new byte[n];
+            active[source] = 1;
+            negativeCycle = false;
+            passes = 0;
+            
+            boolean changed = true;
+            while (changed) {
+                if (passes == n) {
+                    negativeCycle = true;
+                    break;
+                }
+                passes++;
+                PassTask pass = new PassTask(graph, distances, active, next, 0, n);
+                pool.invoke(pass);
+                stats.comparisons(pass.comparisons);
+                stats.relaxations(pass.relaxations);
+                changed = pass.changed;
+                // Scanned nodes were cleared, so the old active set is empty again
+                byte[] swap = active;
+                active = next;
+                next = swap;
+            }
+            predecessors = distances.toPredecessors();
+            return distances.toDistances();
+        }
+        
+        public int[] getPredecessors() {
+            return predecessors;
+        }
+        
+        public boolean hasNegativeCycle() {
+            return negativeCycle;
+        }
+        
+        public int getPasses() {
+            return passes;
+        }
+        
+        public int getParallelism() {
+            return pool.getParallelism();
+        }
+        
+        /**
+         * One pass over the active nodes of [lo, hi); counters are per task and
+         * summed on join, so no shared counter is contended
+         */
+        private static class PassTask extends RecursiveAction {
+            private final CompactGraph graph;
+            private final AtomicDistances distances;
+            private final byte[] active;
+            private final byte[] next;
+            private final int lo;
+            private final int hi;
+            private long comparisons;
+            private long relaxations;
+            private boolean changed;
+            
+            PassTask(CompactGraph graph, AtomicDistances distances, byte[] active, byte[] next, int lo, int hi) {
+                this.graph = graph;
+                this.distances = distances;
+                this.active = active;
+                this.next = next;
+                this.lo = lo;
+                this.hi = hi;
+            }
+            
+            @Override
+            protected void compute() {
+                if (hi - lo > 1 && graph.getRowStart(hi) - graph.getRowStart(lo) > ARCS_PER_TASK) {
+                    int mid = (lo + hi) >>> 1;
+                    PassTask left = new PassTask(graph, distances, active, next, lo, mid);
+                    PassTask right = new PassTask(graph, distances, active, next, mid, hi);
+                    invokeAll(left, right);
+                    comparisons = left.comparisons + right.comparisons;
+                    relaxations = left.relaxations + right.relaxations;
+                    changed = left.changed || right.changed;
+                    return;
+                }
+                for (int node = lo; node < hi; node++) {
+                    if (active[node] == 0) {
+                        continue;
+                    }
+                    active[node] = 0;
+                    int base = distances.distance(node);
+                    for (int slot = graph.getRowStart(node); slot < graph.getRowEnd(node); slot++) {
+                        int target = graph.getRowTarget(slot);
+                        comparisons++;
+                        if (distances.offer(target, base + graph.getRowWeight(slot), node)) {
+                            relaxations++;
+                            next[target] = 1;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+
+import java.util.Arrays;
+
+/**
+ * Bellman-Ford over a CompactGraph's edge list
+ * Stops early once a pass relaxes nothing; counts edge checks as comparisons
+ * and successful updates as relaxations. The search is resumable: advance()
+ * checks a few edges of the current pass, so the animated search can emit
+ * steps as they are played, while run() drives it to the end. An optional
+ * Observer hears about each pass and each edge checked, before the update
+ */
+public class BellmanFordSearch {
+    /**
+     * Callbacks fired while the search works; edges are CompactGraph edge indices
+     */
+    public interface Observer {
+        void passStarted(int pass);
+
+        /**
+         * An edge out of a reached node was checked; edges out of unreached nodes are skipped
+         * @param previous the target's distance before this edge, Integer.MAX_VALUE if unreached
+         */
+        void checked(int edge, int candidate, int previous);
+
+        /**
+         * The pass relaxed nothing, so the distances are final
+         */
+        void converged(int pass);
+
+        /**
+         * The cycle check is about to run; it only runs after a full set of passes
+         */
+        void cycleCheckStarted();
+
+        void negativeCycleFound(int edge);
+    }
+
+    private enum Phase {
+        PASS, CYCLE_CHECK, DONE
+    }
+
+    private final OperationStats stats;
+    private Observer observer;
+    private CompactGraph graph;
+    private int[] distance;
+    private int[] predecessors;
+    private boolean negativeCycle;
+    private int passes;
+    private Phase phase = Phase.DONE;
+    private int edge;
+    private boolean relaxed;
+
+    public BellmanFordSearch(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * @return distances from source, Integer.MAX_VALUE where unreachable
+     */
+    public int[] run(CompactGraph graph, int source) {
+        start(graph, source);
+        while (advance(Integer.MAX_VALUE)) {
+            // Each call finishes a pass or the cycle check
+        }
+        return distance;
+    }
+
+    /**
+     * Begin a search; call advance() until it returns false
+     */
+    public void start(CompactGraph graph, int source) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        distance = new int[n];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        predecessors = new int[n];
+        Arrays.fill(predecessors, -1);
+        distance[source] = 0;
+        negativeCycle = false;
+        passes = 0;
+        relaxed = true;
+        phase = Phase.PASS;
+        edge = graph.getEdgeCount();
+    }
+
+    /**
+     * Check up to maxEdges edges of the current pass, starting the next pass
+     * or the cycle check when one ends
+     * @return false once the search is over
+     */
+    public boolean advance(int maxEdges) {
+        int m = graph.getEdgeCount();
+        switch (phase) {
+            case PASS:
+                if (edge == m) {
+                    if (!relaxed) {
+                        if (observer != null) {
+                            observer.converged(passes);
+                        }
+                        phase = Phase.DONE;
+                        return false;
+                    }
+                    if (passes >= graph.getNodeCount() - 1) {
+                        // Only a full set of passes can leave a negative cycle undetected
+                        if (observer != null) {
+                            observer.cycleCheckStarted();
+                        }
+                        phase = Phase.CYCLE_CHECK;
+                        edge = 0;
+                        return true;
+                    }
+                    passes++;
+                    relaxed = false;
+                    edge = 0;
+                    if (observer != null) {
+                        observer.passStarted(passes);
+                    }
+                    return true;
+                }
+                for (int budget = maxEdges; edge < m && budget > 0; edge++, budget--) {
+                    int from = graph.getFrom(edge);
+                    if (distance[from] == Integer.MAX_VALUE) {
+                        continue;
+                    }
+                    int candidate = distance[from] + graph.getWeight(edge);
+                    int to = graph.getTo(edge);
+                    if (observer != null) {
+                        observer.checked(edge, candidate, distance[to]);
+                    }
+                    stats.comparison();
+                    if (candidate < distance[to]) {
+                        stats.relaxation();
+                        distance[to] = candidate;
+                        predecessors[to] = from;
+                        relaxed = true;
+                    }
+                }
+                return true;
+            case CYCLE_CHECK:
+                for (int budget = maxEdges; edge < m && budget > 0; edge++, budget--) {
+                    int from = graph.getFrom(edge);
+                    stats.comparison();
+                    if (distance[from] != Integer.MAX_VALUE
+                            && distance[from] + graph.getWeight(edge) < distance[graph.getTo(edge)]) {
+                        negativeCycle = true;
+                        if (observer != null) {
+                            observer.negativeCycleFound(edge);
+                        }
+                        phase = Phase.DONE;
+                        return false;
+                    }
+                }
+                if (edge == m) {
+                    phase = Phase.DONE;
+                    return false;
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public int getDistance(int node) {
+        return distance[node];
+    }
+
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    public boolean hasNegativeCycle() {
+        return negativeCycle;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+}
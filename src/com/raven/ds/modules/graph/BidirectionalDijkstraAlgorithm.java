@@ -0,0 +1,250 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.StepGenerator;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Bidirectional Dijkstra with animation support
+ * One search grows forward from the start along outgoing edges, the other
+ * backward from the end along incoming edges; each round advances the side
+ * whose next node is closer. The best start-to-end path seen where the two
+ * meet is final once the two frontier distances add up to at least its length
+ */
+public class BidirectionalDijkstraAlgorithm {
+    public static final Color BACKWARD_COLOR = new Color(186, 104, 200);  // Purple for the backward search
+
+    private List<GraphNode> nodes;
+    private GraphNode startNode;
+    private GraphNode endNode;
+    private List<GraphNode> shortestPath;
+    private AnimationEngine animationEngine;
+    private final SearchCounters counters;
+
+    BidirectionalDijkstraAlgorithm(AnimationEngine animationEngine, SearchCounters counters) {
+        this.nodes = new ArrayList<>();
+        this.animationEngine = animationEngine;
+        this.counters = counters;
+        this.shortestPath = new ArrayList<>();
+    }
+
+    public void setNodes(List<GraphNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    public void setStartNode(GraphNode start) {
+        this.startNode = start;
+    }
+
+    public void setEndNode(GraphNode end) {
+        this.endNode = end;
+    }
+
+    public void runBidirectional() {
+        if (startNode == null || endNode == null) {
+            throw new IllegalStateException("Bidirectional search needs both a start and an end node");
+        }
+        for (GraphNode node : nodes) {
+            node.reset();
+            for (GraphEdge edge : node.getEdges()) {
+                edge.reset();
+            }
+        }
+        shortestPath.clear();
+        animationEngine.clearSteps();
+        startNode.setDistance(0);
+        animationEngine.setStepSource(new BidirectionalSteps());
+    }
+
+    /**
+     * Bidirectional Dijkstra as a step generator over a BidirectionalDijkstraSearch
+     * on a snapshot of the graph; each advance settles one node and emits its steps
+     */
+    private class BidirectionalSteps extends StepGenerator implements BidirectionalDijkstraSearch.Observer {
+        private final GraphNode[] nodeAt = nodes.toArray(new GraphNode[0]);
+        private final GraphEdge[] forwardEdgeAt = CompactGraph.edgesOf(nodes);
+        private final GraphEdge[] backwardEdgeAt = new GraphEdge[forwardEdgeAt.length];
+        private final CompactGraph graph = CompactGraph.fromNodes(nodes);
+        private final BidirectionalDijkstraSearch search = new BidirectionalDijkstraSearch(new OperationStats());
+        private boolean started;
+        private boolean finished;
+        private int settled;
+        private int forwardSettled;
+        private int backwardSettled;
+        private int relaxed;
+        // Distance of the node being settled, for the meeting message
+        private int settledDistance;
+
+        BidirectionalSteps() {
+            // reversed() fills its rows in edge order, so walking the edges again recovers each slot
+            CompactGraph reverse = graph.reversed();
+            int[] next = new int[graph.getNodeCount()];
+            for (int v = 0; v < next.length; v++) {
+                next[v] = reverse.getRowStart(v);
+            }
+            for (int e = 0; e < forwardEdgeAt.length; e++) {
+                backwardEdgeAt[next[graph.getTo(e)]++] = forwardEdgeAt[e];
+            }
+            search.setObserver(this);
+            search.start(graph, nodes.indexOf(startNode), nodes.indexOf(endNode));
+        }
+
+        @Override
+        protected boolean advance() {
+            if (!started) {
+                started = true;
+                emitInitialize();
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            finished = !search.advance();
+            return true;
+        }
+
+        private void emitInitialize() {
+            emit("Initialize Bidirectional Search", () -> {
+                counters.start("Bidirectional Dijkstra");
+                startNode.setHighlighted(true);
+                startNode.setColor(GraphNode.START_COLOR);
+                endNode.setHighlighted(true);
+                endNode.setColor(GraphNode.END_COLOR);
+                endNode.setDistance(0);
+            }, "🚀 <b>Bidirectional Dijkstra:</b> a forward search starts at '" + startNode.getId() +
+               "' (blue) and a backward search at '" + endNode.getId() + "' (purple), following edges in " +
+               "reverse. Each round settles the closer of the two frontier nodes. Labels show the distance " +
+               "from the start for forward nodes and to the end for backward nodes.");
+        }
+
+        private String sideName(boolean forward) {
+            return forward ? "Forward" : "Backward";
+        }
+
+        @Override
+        public void settled(boolean forward, int index, int d) {
+            GraphNode node = nodeAt[index];
+            settled++;
+            if (forward) {
+                forwardSettled++;
+            } else {
+                backwardSettled++;
+            }
+            settledDistance = d;
+            final int count = settled;
+            final Color settledColor = forward ? GraphNode.VISITED_COLOR : BACKWARD_COLOR;
+            emit(sideName(forward) + " Settle", () -> {
+                clearEdgeHighlights();
+                if (node != startNode && node != endNode) {
+                    node.setColor(settledColor);
+                    node.setDistance(d);
+                }
+                node.setHighlighted(true);
+                node.setVisited(true);
+                counters.setSettled(count);
+            }, "🔍 <b>" + sideName(forward) + " search settles '" + node.getId() + "'</b> at distance " + d +
+               (forward ? " from the start" : " to the end") + ". It is the closer of the two frontiers, " +
+               "so this side moves. Relaxing its " + (forward ? "outgoing" : "incoming") + " edges.");
+        }
+
+        @Override
+        public void examined(boolean forward, int index, int slot, int candidate, int old) {
+            if (candidate >= old) {
+                return;
+            }
+            GraphEdge edge = forward ? forwardEdgeAt[slot] : backwardEdgeAt[slot];
+            GraphNode neighbor = forward ? edge.getTarget() : edge.getSource();
+            relaxed++;
+            final int relaxedCount = relaxed;
+            emit("Relax Edge", () -> {
+                edge.setHighlighted(true);
+                edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
+                if (neighbor != startNode && neighbor != endNode && !neighbor.isVisited()) {
+                    neighbor.setDistance(candidate);
+                    neighbor.setColor(GraphNode.IMPROVEMENT_COLOR);
+                }
+                counters.setRelaxed(relaxedCount);
+            }, "✅ <b>" + sideName(forward) + " relax:</b> '" + neighbor.getId() + "' improves to " + candidate +
+               (old == Integer.MAX_VALUE ? "" : " (was " + old + ")") + ".");
+        }
+
+        @Override
+        public void met(boolean forward, int index, int slot, int candidate, int across) {
+            GraphEdge edge = forward ? forwardEdgeAt[slot] : backwardEdgeAt[slot];
+            GraphNode neighbor = forward ? edge.getTarget() : edge.getSource();
+            final int total = candidate + across;
+            emit("Searches Meet", () -> {
+                edge.setHighlighted(true);
+                edge.setColor(GraphEdge.RELAXING_COLOR);
+            }, "🤝 <b>The searches meet at '" + neighbor.getId() + "':</b> " + settledDistance + " + " +
+               edge.getWeight() + " + " + across + " = <b>" + total + "</b> is the best start-to-end path so far. " +
+               "It is final once the two frontier distances add up to at least " + total + ".");
+        }
+
+        @Override
+        public void stopped(int forwardTop, int backwardTop) {
+            int best = search.getDistance();
+            String reason;
+            if (best == Integer.MAX_VALUE) {
+                reason = "One search ran out of nodes before the two met, so '" + endNode.getId() +
+                         "' is unreachable from '" + startNode.getId() + "'.";
+            } else if (forwardTop == Integer.MAX_VALUE || backwardTop == Integer.MAX_VALUE) {
+                reason = "One search has run out of nodes, so no shorter connection can appear.";
+            } else {
+                reason = "Frontier distances " + forwardTop + " + " + backwardTop + " = " +
+                         ((long) forwardTop + backwardTop) + " ≥ " + best + ", so no unexplored path can be shorter.";
+            }
+            if (best != Integer.MAX_VALUE) {
+                List<GraphNode> path = new ArrayList<>();
+                for (int node : search.getPath()) {
+                    path.add(nodeAt[node]);
+                }
+                emit("Highlight Shortest Path", () -> {
+                    shortestPath.clear();
+                    shortestPath.addAll(path);
+                    AStarAlgorithm.highlightPath(nodes, path);
+                }, "🎯 <b>Stop:</b> " + reason + " Shortest path " + AStarAlgorithm.describe(path) +
+                   " with total distance <b>" + best + "</b>.");
+            } else {
+                emit("Target Unreachable", () -> clearEdgeHighlights(), "⚠️ <b>Stop:</b> " + reason);
+            }
+            final String note = dijkstraComparison();
+            emit("Algorithm Complete", () -> counters.setNote(note),
+                "🏁 <b>Bidirectional Dijkstra Complete!</b> Settled " + settled + " of " + nodes.size() +
+                " nodes (" + forwardSettled + " forward, " + backwardSettled + " backward) and " +
+                "relaxed " + relaxed + " edges. " + note + ". Grey nodes were never settled.");
+        }
+
+        private String dijkstraComparison() {
+            DijkstraSearch dijkstra = new DijkstraSearch(new OperationStats());
+            dijkstra.run(graph, nodes.indexOf(startNode), nodes.indexOf(endNode));
+            return "Dijkstra stopping at the same target settles " + dijkstra.getSettledCount();
+        }
+    }
+
+    private void clearEdgeHighlights() {
+        for (GraphNode node : nodes) {
+            for (GraphEdge edge : node.getEdges()) {
+                if (!edge.getColor().equals(GraphEdge.IMPROVEMENT_COLOR)
+                        && !edge.getColor().equals(GraphEdge.RELAXING_COLOR)) {
+                    edge.setHighlighted(false);
+                }
+            }
+        }
+    }
+
+    public List<GraphNode> getShortestPath() { return shortestPath; }
+
+    /**
+     * Bidirectional Dijkstra over a CompactGraph without animation
+     */
+    public static class Headless extends BidirectionalDijkstraSearch {
+        public Headless(OperationStats stats) {
+            super(stats);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.heap.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional Dijkstra over a CompactGraph
+ * The backward search walks the cached reversed() CSR; both sides use an
+ * IndexedMinHeap. Counts comparisons and relaxations of both searches.
+ * The search is resumable: advance() settles the closer frontier node and
+ * relaxes its edges, so the animated search can emit steps as they are
+ * played, while run() drives it to the end. An optional Observer hears about
+ * each settle, each edge examined and each time the searches meet
+ */
+public class BidirectionalDijkstraSearch {
+    /**
+     * Callbacks fired while the search works; nodes are CompactGraph indices and
+     * slots are CSR slots of the graph for the forward side, of reversed() for the backward side
+     */
+    public interface Observer {
+        void settled(boolean forward, int node, int distance);
+
+        /**
+         * The edge in slot was examined, before the distance is updated; edges into settled nodes are skipped
+         * @param previous the neighbor's distance before this edge, Integer.MAX_VALUE if unreached
+         */
+        void examined(boolean forward, int node, int slot, int candidate, int previous);
+
+        /**
+         * The edge in slot joins the two searches into a path shorter than any seen so far
+         * @param across the neighbor's distance on the other side
+         */
+        void met(boolean forward, int node, int slot, int candidate, int across);
+
+        /**
+         * No unexplored path can beat the best one; a top is Integer.MAX_VALUE once its side has run out
+         */
+        void stopped(int forwardTop, int backwardTop);
+    }
+
+    private final OperationStats stats;
+    private Observer observer;
+    private CompactGraph graph;
+    private CompactGraph reverse;
+    private int[] forwardDistance;
+    private int[] backwardDistance;
+    // Forward: previous node from the source; backward: next node toward the target
+    private int[] forwardParent;
+    private int[] backwardParent;
+    private boolean[] forwardSettled;
+    private boolean[] backwardSettled;
+    private IndexedMinHeap forwardHeap;
+    private IndexedMinHeap backwardHeap;
+    private int source;
+    private int best;
+    private int settledCount;
+    private int meetingNode;
+    // Ends of the edge where the searches joined, in the graph's direction
+    private int meetingTail;
+    private int meetingHead;
+    private boolean done = true;
+
+    public BidirectionalDijkstraSearch(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * @return distance to target, Integer.MAX_VALUE if unreachable
+     */
+    public int run(CompactGraph graph, int source, int target) {
+        start(graph, source, target);
+        while (advance()) {
+            // Each call settles one node on one side
+        }
+        return best;
+    }
+
+    /**
+     * Begin a search; call advance() until it returns false
+     */
+    public void start(CompactGraph graph, int source, int target) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.source = source;
+        reverse = graph.reversed();
+        forwardDistance = new int[n];
+        backwardDistance = new int[n];
+        Arrays.fill(forwardDistance, Integer.MAX_VALUE);
+        Arrays.fill(backwardDistance, Integer.MAX_VALUE);
+        forwardParent = new int[n];
+        backwardParent = new int[n];
+        Arrays.fill(forwardParent, -1);
+        Arrays.fill(backwardParent, -1);
+        forwardSettled = new boolean[n];
+        backwardSettled = new boolean[n];
+        forwardHeap = new IndexedMinHeap(n, DijkstraSearch.DEFAULT_ARITY, stats);
+        backwardHeap = new IndexedMinHeap(n, DijkstraSearch.DEFAULT_ARITY, stats);
+        settledCount = 0;
+        meetingNode = source == target ? source : -1;
+        meetingTail = -1;
+        meetingHead = -1;
+        best = source == target ? 0 : Integer.MAX_VALUE;
+        done = false;
+
+        forwardDistance[source] = 0;
+        backwardDistance[target] = 0;
+        forwardHeap.offer(source, 0);
+        backwardHeap.offer(target, 0);
+    }
+
+    /**
+     * Settle the closer of the two frontier nodes and relax its edges
+     * @return false once no unexplored path can be shorter than the best found
+     */
+    public boolean advance() {
+        if (done) {
+            return false;
+        }
+        int forwardTop = forwardHeap.isEmpty() ? Integer.MAX_VALUE : forwardHeap.peekKey();
+        int backwardTop = backwardHeap.isEmpty() ? Integer.MAX_VALUE : backwardHeap.peekKey();
+        if (forwardTop == Integer.MAX_VALUE || backwardTop == Integer.MAX_VALUE
+                || (long) forwardTop + backwardTop >= best) {
+            done = true;
+            if (observer != null) {
+                observer.stopped(forwardTop, backwardTop);
+            }
+            return false;
+        }
+        boolean forward = forwardTop <= backwardTop;
+        CompactGraph side = forward ? graph : reverse;
+        int[] distance = forward ? forwardDistance : backwardDistance;
+        int[] across = forward ? backwardDistance : forwardDistance;
+        int[] parent = forward ? forwardParent : backwardParent;
+        boolean[] settled = forward ? forwardSettled : backwardSettled;
+        IndexedMinHeap heap = forward ? forwardHeap : backwardHeap;
+
+        int node = heap.poll();
+        settled[node] = true;
+        settledCount++;
+        int base = distance[node];
+        if (observer != null) {
+            observer.settled(forward, node, base);
+        }
+        for (int slot = side.getRowStart(node); slot < side.getRowEnd(node); slot++) {
+            int next = side.getRowTarget(slot);
+            if (settled[next]) {
+                continue;
+            }
+            int candidate = base + side.getRowWeight(slot);
+            if (observer != null) {
+                observer.examined(forward, node, slot, candidate, distance[next]);
+            }
+            stats.comparison();
+            if (candidate < distance[next]) {
+                stats.relaxation();
+                distance[next] = candidate;
+                parent[next] = node;
+                heap.offer(next, candidate);
+            }
+            if (across[next] != Integer.MAX_VALUE && (long) candidate + across[next] < best) {
+                if (observer != null) {
+                    observer.met(forward, node, slot, candidate, across[next]);
+                }
+                best = candidate + across[next];
+                meetingNode = next;
+                meetingTail = forward ? node : next;
+                meetingHead = forward ? next : node;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nodes of the shortest path from source to target, empty if unreachable
+     */
+    public int[] getPath() {
+        if (best == Integer.MAX_VALUE) {
+            return new int[0];
+        }
+        if (meetingTail < 0) {
+            return new int[] { source };
+        }
+        int length = 0;
+        for (int node = meetingTail; node >= 0; node = forwardParent[node]) {
+            length++;
+        }
+        for (int node = meetingHead; node >= 0; node = backwardParent[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int i = 0;
+        for (int node = meetingTail; node >= 0; node = forwardParent[node]) {
+            path[i++] = node;
+        }
+        for (int lo = 0, hi = i - 1; lo < hi; lo++, hi--) {
+            int temp = path[lo];
+            path[lo] = path[hi];
+            path[hi] = temp;
+        }
+        for (int node = meetingHead; node >= 0; node = backwardParent[node]) {
+            path[i++] = node;
+        }
+        return path;
+    }
+
+    public int getDistance() {
+        return best;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * A node on the shortest path where the two searches joined, -1 if none
+     */
+    public int getMeetingNode() {
+        return meetingNode;
+    }
+}
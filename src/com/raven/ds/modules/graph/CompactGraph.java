@@ -0,0 +1,481 @@
+package com.raven.ds.modules.graph;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Weighted directed graph stored as primitive arrays for headless runs
+ * Keeps the edge list in input order (what Bellman-Ford scans) and a
+ * compressed sparse row index by source (what Dijkstra walks)
+ */
+public class CompactGraph {
+    private final int nodeCount;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+    
+    // CSR: edges of node v are rowTargets/rowWeights[rowStart[v] .. rowStart[v + 1])
+    private final int[] rowStart;
+    private final int[] rowTargets;
+    private final int[] rowWeights;
+    
+    // Optional node positions for geometric heuristics; null when unknown
+    private int[] xs;
+    private int[] ys;
+    private CompactGraph reversed;
+    
+    public CompactGraph(int nodeCount, int[] from, int[] to, int[] weight) {
+        if (from.length != to.length || from.length != weight.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        this.nodeCount = nodeCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        
+        rowStart = new int[nodeCount + 1];
+        for (int source : from) {
+            rowStart[source + 1]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            rowStart[v + 1] += rowStart[v];
+        }
+        rowTargets = new int[from.length];
+        rowWeights = new int[from.length];
+        int[] next = new int[nodeCount];
+        System.arraycopy(rowStart, 0, next, 0, nodeCount);
+        for (int e = 0; e < from.length; e++) {
+            int slot = next[from[e]]++;
+            rowTargets[slot] = to[e];
+            rowWeights[slot] = weight[e];
+        }
+    }
+    
+    /**
+     * Snapshot of an on-screen graph; node indices follow the list order
+     */
+    public static CompactGraph fromNodes(List<GraphNode> nodes) {
+        Map<GraphNode, Integer> index = new HashMap<>();
+        int edgeCount = 0;
+        for (GraphNode node : nodes) {
+            index.put(node, index.size());
+            edgeCount += node.getEdges().size();
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+        int e = 0;
+        for (GraphNode node : nodes) {
+            for (GraphEdge edge : node.getEdges()) {
+                Integer target = index.get(edge.getTarget());
+                if (target == null) {
+                    continue;
+                }
+                from[e] = index.get(node);
+                to[e] = target;
+                weight[e] = edge.getWeight();
+                e++;
+            }
+        }
+        if (e < edgeCount) {
+            from = Arrays.copyOf(from, e);
+            to = Arrays.copyOf(to, e);
+            weight = Arrays.copyOf(weight, e);
+        }
+        CompactGraph graph = new CompactGraph(nodes.size(), from, to, weight);
+        int[] xs = new int[nodes.size()];
+        int[] ys = new int[nodes.size()];
+        for (int v = 0; v < nodes.size(); v++) {
+            xs[v] = nodes.get(v).getX();
+            ys[v] = nodes.get(v).getY();
+        }
+        graph.setCoordinates(xs, ys);
+        return graph;
+    }
+    
+    /**
+     * The edges fromNodes keeps, in its order: entry e is both edge e and CSR
+     * slot e of the snapshot, since its edges are already grouped by source
+     */
+    static GraphEdge[] edgesOf(List<GraphNode> nodes) {
+        Set<GraphNode> known = new HashSet<>(nodes);
+        List<GraphEdge> edges = new ArrayList<>();
+        for (GraphNode node : nodes) {
+            for (GraphEdge edge : node.getEdges()) {
+                if (known.contains(edge.getTarget())) {
+                    edges.add(edge);
+                }
+            }
+        }
+        return edges.toArray(new GraphEdge[0]);
+    }
+    
+    /**
+     * Read a DIMACS shortest-path file (.gr, optionally gzipped)
+     * Format: "c" comment lines, one "p sp n m" header, then "a u v w" arcs with 1-based node ids
+     */
+    public static CompactGraph readDimacs(File file) throws IOException {
+        try (LineReader reader = new LineReader(open(file))) {
+            int nodeCount = -1;
+            int[] from = null;
+            int[] to = null;
+            int[] weight = null;
+            int e = 0;
+            while (!reader.isEof()) {
+                int kind = reader.nextChar();
+                if (kind == 'p') {
+                    reader.skipToken(); // "sp"
+                    nodeCount = reader.nextInt();
+                    int edgeCount = reader.nextInt();
+                    from = new int[edgeCount];
+                    to = new int[edgeCount];
+                    weight = new int[edgeCount];
+                } else if (kind == 'a') {
+                    if (from == null) {
+                        throw reader.error("arc before the \"p sp\" header");
+                    }
+                    if (e == from.length) {
+                        int grown = Math.max(16, e * 2);
+                        from = Arrays.copyOf(from, grown);
+                        to = Arrays.copyOf(to, grown);
+                        weight = Arrays.copyOf(weight, grown);
+                    }
+                    from[e] = reader.nextNode(nodeCount, 1);
+                    to[e] = reader.nextNode(nodeCount, 1);
+                    weight[e] = reader.nextInt();
+                    e++;
+                } else if (kind != 'c' && kind != '\n' && kind != -1) {
+                    throw reader.error("unexpected line type '" + (char) kind + "'");
+                }
+                reader.skipLine();
+            }
+            if (from == null) {
+                throw new IOException(file.getName() + ": missing \"p sp\" header");
+            }
+            if (e < from.length) {
+                from = Arrays.copyOf(from, e);
+                to = Arrays.copyOf(to, e);
+                weight = Arrays.copyOf(weight, e);
+            }
+            return new CompactGraph(nodeCount, from, to, weight);
+        }
+    }
+    
+    /**
+     * Attach node positions from a DIMACS coordinate file (.co, optionally gzipped)
+     * Format: "c" comment lines, a "p aux sp co n" header, then "v id x y" with 1-based ids
+     */
+    public void readDimacsCoordinates(File file) throws IOException {
+        int[] x = new int[nodeCount];
+        int[] y = new int[nodeCount];
+        try (LineReader reader = new LineReader(open(file))) {
+            while (!reader.isEof()) {
+                if (reader.nextChar() == 'v') {
+                    int v = reader.nextNode(nodeCount, 1);
+                    x[v] = reader.nextInt();
+                    y[v] = reader.nextInt();
+                }
+                reader.skipLine();
+            }
+        }
+        setCoordinates(x, y);
+    }
+    
+    /**
+     * Read a whitespace separated edge list (optionally gzipped)
+     * Each line is "u v" or "u v w" with 0-based node ids; missing weights are 1,
+     * and lines starting with # or % are comments. Undirected lists get both arcs
+     */
+    public static CompactGraph readEdgeList(File file, boolean undirected) throws IOException {
+        try (LineReader reader = new LineReader(open(file))) {
+            int capacity = 1024;
+            int[] from = new int[capacity];
+            int[] to = new int[capacity];
+            int[] weight = new int[capacity];
+            int e = 0;
+            int maxNode = -1;
+            while (!reader.isEof()) {
+                if (reader.isBlankOrComment()) {
+                    reader.skipLine();
+                    continue;
+                }
+                int u = reader.nextNode(Integer.MAX_VALUE, 0);
+                int v = reader.nextNode(Integer.MAX_VALUE, 0);
+                int w = reader.atEndOfLine() ? 1 : reader.nextInt();
+                reader.skipLine();
+                if (e + 2 > capacity) {
+                    capacity *= 2;
+                    from = Arrays.copyOf(from, capacity);
+                    to = Arrays.copyOf(to, capacity);
+                    weight = Arrays.copyOf(weight, capacity);
+                }
+                from[e] = u;
+                to[e] = v;
+                weight[e] = w;
+                e++;
+                if (undirected && u != v) {
+                    from[e] = v;
+                    to[e] = u;
+                    weight[e] = w;
+                    e++;
+                }
+                maxNode = Math.max(maxNode, Math.max(u, v));
+            }
+            return new CompactGraph(maxNode + 1,
+                    Arrays.copyOf(from, e), Arrays.copyOf(to, e), Arrays.copyOf(weight, e));
+        }
+    }
+    
+    /**
+     * Road-network stand-in: a width x height grid with two-way streets of random
+     * length, plus a sparse set of faster long-range arterials
+     */
+    public static CompactGraph roadGrid(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int n = width * height;
+        int arterials = n / 50;
+        int m = 2 * ((width - 1) * height + width * (height - 1)) + 2 * arterials;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int e = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = y * width + x;
+                if (x + 1 < width) {
+                    e = addStreet(from, to, weight, e, v, v + 1, 10 + random.nextInt(90));
+                }
+                if (y + 1 < height) {
+                    e = addStreet(from, to, weight, e, v, v + width, 10 + random.nextInt(90));
+                }
+            }
+        }
+        for (int i = 0; i < arterials; i++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            int dx = Math.min(width - 1, x + 1 + random.nextInt(10));
+            int dy = Math.min(height - 1, y + 1 + random.nextInt(10));
+            int span = (dx - x) + (dy - y);
+            // Cheaper than the streets it bypasses, dearer than a straight line
+            e = addStreet(from, to, weight, e, y * width + x, dy * width + dx, span * 30);
+        }
+        CompactGraph graph = new CompactGraph(n, from, to, weight);
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = v % width;
+            ys[v] = v / width;
+        }
+        graph.setCoordinates(xs, ys);
+        return graph;
+    }
+    
+    private static int addStreet(int[] from, int[] to, int[] weight, int e, int u, int v, int w) {
+        from[e] = u;
+        to[e] = v;
+        weight[e] = w;
+        from[e + 1] = v;
+        to[e + 1] = u;
+        weight[e + 1] = w;
+        return e + 2;
+    }
+    
+    private static InputStream open(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+        return file.getName().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+    
+    /**
+     * Byte-level tokenizer for graph files; avoids a String per line so
+     * files with tens of millions of lines load in seconds
+     */
+    private static class LineReader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        private int length;
+        private int line = 1;
+        
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+        
+        boolean isEof() throws IOException {
+            return peek() == -1;
+        }
+        
+        boolean atEndOfLine() throws IOException {
+            skipBlanks();
+            int c = peek();
+            return c == '\n' || c == -1;
+        }
+        
+        boolean isBlankOrComment() throws IOException {
+            skipBlanks();
+            int c = peek();
+            return c == '\n' || c == '#' || c == '%';
+        }
+        
+        /**
+         * Next non-blank character; a line break is returned without being consumed
+         */
+        int nextChar() throws IOException {
+            skipBlanks();
+            int c = peek();
+            if (c != '\n' && c != -1) {
+                position++;
+            }
+            return c;
+        }
+        
+        void skipToken() throws IOException {
+            skipBlanks();
+            int c;
+            while ((c = peek()) != -1 && c > ' ') {
+                position++;
+            }
+        }
+        
+        int nextInt() throws IOException {
+            skipBlanks();
+            boolean negative = false;
+            if (peek() == '-') {
+                negative = true;
+                position++;
+            }
+            long value = 0;
+            int digits = 0;
+            int c;
+            while ((c = peek()) >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw error("number out of range");
+                }
+                position++;
+                digits++;
+            }
+            if (digits == 0) {
+                throw error("expected a number");
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw error("number out of range");
+            }
+            return (int) value;
+        }
+        
+        /**
+         * Node id shifted to 0-based and checked against the node count
+         */
+        int nextNode(int nodeCount, int base) throws IOException {
+            int id = nextInt() - base;
+            if (id < 0 || id >= nodeCount) {
+                throw error("node id out of range");
+            }
+            return id;
+        }
+        
+        void skipLine() throws IOException {
+            int c;
+            while ((c = peek()) != -1) {
+                position++;
+                if (c == '\n') {
+                    line++;
+                    return;
+                }
+            }
+        }
+        
+        IOException error(String message) {
+            return new IOException("line " + line + ": " + message);
+        }
+        
+        private void skipBlanks() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t' || c == '\r') {
+                position++;
+            }
+        }
+        
+        private int peek() throws IOException {
+            if (position == length) {
+                length = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return -1;
+                }
+            }
+            // Unsigned, so a 0xFF byte is not mistaken for end of file
+            return buffer[position] & 0xff;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+    
+    public int getNodeCount() { return nodeCount; }
+    public int getEdgeCount() { return from.length; }
+    
+    public int getFrom(int edge) { return from[edge]; }
+    public int getTo(int edge) { return to[edge]; }
+    public int getWeight(int edge) { return weight[edge]; }
+    
+    public int getRowStart(int node) { return rowStart[node]; }
+    public int getRowEnd(int node) { return rowStart[node + 1]; }
+    public int getRowTarget(int slot) { return rowTargets[slot]; }
+    public int getRowWeight(int slot) { return rowWeights[slot]; }
+    
+    public boolean hasNegativeWeights() {
+        for (int w : weight) {
+            if (w < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The same graph with every arc flipped, built once and cached; its rows
+     * list the incoming arcs of each node, which is what a backward search walks
+     */
+    public CompactGraph reversed() {
+        if (reversed == null) {
+            reversed = new CompactGraph(nodeCount, to, from, weight);
+            reversed.xs = xs;
+            reversed.ys = ys;
+            reversed.reversed = this;
+        }
+        return reversed;
+    }
+    
+    public void setCoordinates(int[] x, int[] y) {
+        if (x.length != nodeCount || y.length != nodeCount) {
+            throw new IllegalArgumentException("Need one coordinate pair per node");
+        }
+        xs = x;
+        ys = y;
+        if (reversed != null) {
+            reversed.xs = x;
+            reversed.ys = y;
+        }
+    }
+    
+    public boolean hasCoordinates() { return xs != null; }
+    public int getX(int node) { return xs[node]; }
+    public int getY(int node) { return ys[node]; }
+}
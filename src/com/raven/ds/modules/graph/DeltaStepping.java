@@ -0,0 +1,268 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Delta-stepping single-source shortest paths on a ForkJoinPool
+ * Queued nodes sit in buckets of width delta by tentative distance. The lowest
+ * non-empty bucket is emptied in rounds: its nodes relax their light arcs
+ * (weight <= delta) in parallel, which may refill the same bucket, and once it
+ * stays empty the heavy arcs of every node it held are relaxed in one more round.
+ * Delta 1 degenerates to Dijkstra with ties in parallel, a huge delta to
+ * Bellman-Ford; weights must be non-negative
+ */
+public class DeltaStepping {
+    // Frontier nodes per leaf task
+    private static final int NODES_PER_TASK = 512;
+
+    private final OperationStats stats;
+    private final ForkJoinPool pool;
+    private final int delta;
+    private int[] predecessors;
+    private int rounds;
+    private int bucketsUsed;
+
+    // Per-run state shared with the tasks
+    private CompactGraph graph;
+    private AtomicDistances distances;
+    private int[] queuedIn;
+    private final List<IntBag> buckets = new ArrayList<>();
+    private Slice[] slices = new Slice[0];
+
+    public DeltaStepping(OperationStats stats, ForkJoinPool pool, int delta) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be at least 1");
+        }
+        this.stats = stats;
+        this.pool = pool;
+        this.delta = delta;
+    }
+
+    /**
+     * Bucket width from the graph itself: mean arc weight times mean out-degree
+     * Narrower buckets add rounds, each ending in a join; wider ones relax arcs
+     * again and again as in Bellman-Ford. On the road grids this lands near the
+     * fastest measured width
+     */
+    public static int suggestDelta(CompactGraph graph) {
+        if (graph.getNodeCount() == 0 || graph.getEdgeCount() == 0) {
+            return 1;
+        }
+        long total = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            total += Math.max(0, graph.getWeight(e));
+        }
+        // total / m * (m / n) = total / n
+        return (int) Math.min(Integer.MAX_VALUE / 2, Math.max(1, total / graph.getNodeCount()));
+    }
+
+    /**
+     * @return distances from source, Integer.MAX_VALUE where unreachable
+     */
+    public int[] run(CompactGraph graph, int source) {
+        if (graph.hasNegativeWeights()) {
+            throw new IllegalArgumentException("Delta-stepping needs non-negative weights");
+        }
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        distances = new AtomicDistances(n);
+        queuedIn = new int[n];
+        Arrays.fill(queuedIn, -1);
+        int[] removedFrom = new int[n];
+        Arrays.fill(removedFrom, -1);
+        buckets.clear();
+        rounds = 0;
+        bucketsUsed = 0;
+
+        distances.set(source, 0, -1);
+        enqueue(source);
+        IntBag frontier = new IntBag();
+        IntBag removed = new IntBag();
+        for (int b = 0; b < buckets.size(); b++) {
+            IntBag bucket = buckets.get(b);
+            if (bucket == null || bucket.size == 0) {
+                continue;
+            }
+            bucketsUsed++;
+            removed.clear();
+            while (bucket.size > 0) {
+                frontier.clear();
+                for (int i = 0; i < bucket.size; i++) {
+                    int node = bucket.items[i];
+                    // Entries left behind when a node moved to a lower bucket are stale
+                    if (queuedIn[node] != b) {
+                        continue;
+                    }
+                    queuedIn[node] = -1;
+                    frontier.add(node);
+                    if (removedFrom[node] != b) {
+                        removedFrom[node] = b;
+                        removed.add(node);
+                    }
+                }
+                bucket.clear();
+                relax(frontier, true);
+            }
+            relax(removed, false);
+            buckets.set(b, null);
+        }
+
+        predecessors = distances.toPredecessors();
+        int[] result = distances.toDistances();
+        this.graph = null;
+        distances = null;
+        queuedIn = null;
+        return result;
+    }
+
+    /**
+     * One parallel round over the given nodes' light or heavy arcs; improved
+     * targets are collected per slice and bucketed afterwards on this thread
+     */
+    private void relax(IntBag nodes, boolean light) {
+        if (nodes.size == 0) {
+            return;
+        }
+        rounds++;
+        int count = (nodes.size + NODES_PER_TASK - 1) / NODES_PER_TASK;
+        if (slices.length < count) {
+            Slice[] grown = Arrays.copyOf(slices, Math.max(count, slices.length * 2));
+            for (int i = slices.length; i < grown.length; i++) {
+                grown[i] = new Slice();
+            }
+            slices = grown;
+        }
+        if (count == 1) {
+            relaxSlice(nodes, 0, light);
+        } else {
+            pool.invoke(new RelaxTask(nodes, light, 0, count));
+        }
+        for (int i = 0; i < count; i++) {
+            Slice slice = slices[i];
+            stats.comparisons(slice.comparisons);
+            stats.relaxations(slice.improved.size);
+            for (int j = 0; j < slice.improved.size; j++) {
+                enqueue(slice.improved.items[j]);
+            }
+        }
+    }
+
+    private void relaxSlice(IntBag nodes, int index, boolean light) {
+        Slice slice = slices[index];
+        slice.improved.clear();
+        long comparisons = 0;
+        int end = Math.min(nodes.size, (index + 1) * NODES_PER_TASK);
+        for (int i = index * NODES_PER_TASK; i < end; i++) {
+            int node = nodes.items[i];
+            int base = distances.distance(node);
+            for (int slot = graph.getRowStart(node); slot < graph.getRowEnd(node); slot++) {
+                int weight = graph.getRowWeight(slot);
+                if ((weight <= delta) != light) {
+                    continue;
+                }
+                int target = graph.getRowTarget(slot);
+                comparisons++;
+                if (distances.offer(target, base + weight, node)) {
+                    slice.improved.add(target);
+                }
+            }
+        }
+        slice.comparisons = comparisons;
+    }
+
+    private void enqueue(int node) {
+        int b = distances.distance(node) / delta;
+        if (queuedIn[node] == b) {
+            return;
+        }
+        queuedIn[node] = b;
+        while (buckets.size() <= b) {
+            buckets.add(null);
+        }
+        IntBag bucket = buckets.get(b);
+        if (bucket == null) {
+            bucket = new IntBag();
+            buckets.set(b, bucket);
+        }
+        bucket.add(node);
+    }
+
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    /**
+     * Parallel relaxation rounds; each one ends with a join of all its tasks
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getBucketsUsed() {
+        return bucketsUsed;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Splits the slice range in halves down to single slices
+     */
+    private class RelaxTask extends RecursiveAction {
+        private final IntBag nodes;
+        private final boolean light;
+        private final int lo;
+        private final int hi;
+
+        RelaxTask(IntBag nodes, boolean light, int lo, int hi) {
+            this.nodes = nodes;
+            this.light = light;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                relaxSlice(nodes, lo, light);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RelaxTask(nodes, light, lo, mid), new RelaxTask(nodes, light, mid, hi));
+        }
+    }
+
+    /**
+     * Output of one leaf task, reused from round to round
+     */
+    private static class Slice {
+        private final IntBag improved = new IntBag();
+        private long comparisons;
+    }
+
+    private static class IntBag {
+        private int[] items = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package com.raven.ds.modules.graph;
 
 import com.raven.ds.core.AnimationEngine;
-import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.StepGenerator;
+import com.raven.ds.core.OperationStats;
 
 import java.util.*;
 
 /**
  * Implementation of Dijkstra's shortest path algorithm with animation support
+ * The search itself is a DijkstraSearch over a CompactGraph snapshot of the
+ * nodes; its Observer callbacks are emitted as the steps that replay it
  */
 public class DijkstraAlgorithm {
     private List<GraphNode> nodes;
     private GraphNode startNode;
     private GraphNode endNode;
     private List<GraphNode> shortestPath;
-    private PriorityQueue<GraphNode> unvisitedNodes;
     private AnimationEngine animationEngine;
+    private final SearchCounters counters;
     
     public DijkstraAlgorithm(AnimationEngine animationEngine) {
+        this(animationEngine, new SearchCounters());
+    }
+    
+    DijkstraAlgorithm(AnimationEngine animationEngine, SearchCounters counters) {
         this.nodes = new ArrayList<>();
         this.animationEngine = animationEngine;
+        this.counters = counters;
         this.shortestPath = new ArrayList<>();
     }
     
@@ -77,52 +85,87 @@ public class DijkstraAlgorithm {
         // Initialize distances
         startNode.setDistance(0);
         
-        // Create priority queue
-        unvisitedNodes = new PriorityQueue<>(Comparator.comparingInt(GraphNode::getDistance));
-        unvisitedNodes.addAll(nodes);
+        animationEngine.setStepSource(new DijkstraSteps());
+    }
+    
+    /**
+     * Dijkstra as a step generator; the search runs on a snapshot of the
+     * graph, so later steps are computed from the run, not from the nodes,
+     * which only change as the steps play
+     */
+    private class DijkstraSteps extends StepGenerator implements DijkstraSearch.Observer {
+        private final GraphNode[] nodeAt = nodes.toArray(new GraphNode[0]);
+        private final GraphEdge[] edgeAt = CompactGraph.edgesOf(nodes);
+        private final DijkstraSearch search = new DijkstraSearch(new OperationStats());
+        private boolean started;
+        private boolean finished;
+        private boolean targetFound;
+        private int stepCount;
+        private int relaxedCount;
         
-        // Add initialization step with detailed explanation
-        animationEngine.addStep(new SimpleAnimationStep("Initialize Algorithm", () -> {
-            startNode.setHighlighted(true);
-            startNode.setColor(GraphNode.START_COLOR);
-            if (endNode != null) {
-                endNode.setColor(GraphNode.END_COLOR);
-            }
-        }, "🚀 <b>Dijkstra's Algorithm Initialization:</b> Starting from node '" + startNode.getId() + 
-           "' (distance = 0). Target: " + (endNode != null ? "node '" + endNode.getId() + "'" : "all nodes") + 
-           ". All other nodes start with distance ∞. Algorithm will process nodes in order of shortest distance found so far."));
-
-        int stepCount = 0;
-        boolean targetFound = false;
+        DijkstraSteps() {
+            search.setObserver(this);
+            search.start(CompactGraph.fromNodes(nodes), nodes.indexOf(startNode), -1);
+        }
         
-        while (!unvisitedNodes.isEmpty()) {
-            GraphNode current = unvisitedNodes.poll();
-            
-            if (current.getDistance() == Integer.MAX_VALUE) {
-                animationEngine.addStep(new SimpleAnimationStep("No More Reachable Nodes", () -> {
+        @Override
+        protected boolean advance() {
+            if (!started) {
+                started = true;
+                emitInitialize();
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (search.advance(1)) {
+                return true;
+            }
+            if (search.getSettledCount() < nodes.size()) {
+                emit("No More Reachable Nodes", () -> {
                     clearEdgeHighlights();
                 }, "⚠️ <b>Algorithm Termination:</b> No more nodes can be reached from the start node. " +
-                   "Remaining nodes in queue have infinite distance, meaning they are disconnected from the source."));
-                break; // No more reachable nodes
+                   "Remaining nodes in queue have infinite distance, meaning they are disconnected from the source.");
             }
-            
+            emitResults();
+            finished = true;
+            return true;
+        }
+        
+        private void emitInitialize() {
+            // Add initialization step with detailed explanation
+            emit("Initialize Algorithm", () -> {
+                counters.start("Dijkstra");
+                startNode.setHighlighted(true);
+                startNode.setColor(GraphNode.START_COLOR);
+                if (endNode != null) {
+                    endNode.setColor(GraphNode.END_COLOR);
+                }
+            }, "🚀 <b>Dijkstra's Algorithm Initialization:</b> Starting from node '" + startNode.getId() + 
+               "' (distance = 0). Target: " + (endNode != null ? "node '" + endNode.getId() + "'" : "all nodes") + 
+               ". All other nodes start with distance ∞. Algorithm will process nodes in order of shortest distance found so far.");
+        }
+        
+        @Override
+        public void settled(int node, int currentDistance) {
+            GraphNode currentNode = nodeAt[node];
             stepCount++;
-            final GraphNode currentNode = current;
             final int currentStep = stepCount;
             
             // Check if we've reached the target
-            if (current == endNode && !targetFound) {
+            if (currentNode == endNode && !targetFound) {
                 targetFound = true;
-                animationEngine.addStep(new SimpleAnimationStep("Target Found!", () -> {
+                emit("Target Found!", () -> {
+                    counters.setNote("Target reached after settling " + currentStep + " nodes");
                     clearEdgeHighlights();
                     currentNode.setColor(GraphNode.END_COLOR);
                     currentNode.setHighlighted(true);
                 }, "🎯 <b>TARGET REACHED!</b> Found node '" + currentNode.getId() + 
-                   "' with shortest distance: <b>" + currentNode.getDistance() + "</b>. " +
-                   "Will continue processing to show complete algorithm and find shortest paths to all remaining nodes."));
+                   "' with shortest distance: <b>" + currentDistance + "</b>. " +
+                   "Will continue processing to show complete algorithm and find shortest paths to all remaining nodes.");
             }
             
-            animationEngine.addStep(new SimpleAnimationStep("Visit Node " + currentStep, () -> {
+            emit("Visit Node " + currentStep, () -> {
                 // Clear only edge highlights but preserve node visited states
                 clearEdgeHighlights();
                 // Set current node to processing color (unless it's start/end)
@@ -131,13 +174,14 @@ public class DijkstraAlgorithm {
                 }
                 currentNode.setHighlighted(true);
                 currentNode.setVisited(true);
+                counters.setSettled(currentStep);
             }, "🔍 <b>Step " + currentStep + " - Processing Node '" + currentNode.getId() + "':</b> " +
-               "Current shortest distance = " + currentNode.getDistance() + ". " +
+               "Current shortest distance = " + currentDistance + ". " +
                "This node has the smallest unprocessed distance, so its shortest path is now finalized. " +
-               "Examining all neighbors to see if we can improve their distances."));
+               "Examining all neighbors to see if we can improve their distances.");
             
             // First, show all neighbors to illuminate the exploration
-            animationEngine.addStep(new SimpleAnimationStep("Show Neighbors", () -> {
+            emit("Show Neighbors", () -> {
                 // Highlight all unvisited neighbors and their connecting edges
                 for (GraphEdge edge : currentNode.getEdges()) {
                     GraphNode neighbor = edge.getTarget();
@@ -151,73 +195,74 @@ public class DijkstraAlgorithm {
                     }
                 }
             }, "🔍 <b>Exploring Neighbors:</b> Highlighting all unvisited neighbors of '" + 
-               currentNode.getId() + "' to show algorithm's search progression."));
+               currentNode.getId() + "' to show algorithm's search progression.");
+        }
+        
+        // Process one neighbor with enhanced visualization
+        @Override
+        public void examined(int node, int slot, int newDistance, int oldDistance) {
+            GraphNode currentNode = nodeAt[node];
+            GraphEdge edge = edgeAt[slot];
+            GraphNode neighbor = edge.getTarget();
+            int currentDistance = search.getDistance(node);
             
-            // Process each neighbor with enhanced visualization
-            for (GraphEdge edge : current.getEdges()) {
-                GraphNode neighbor = edge.getTarget();
-                
-                if (neighbor.isVisited()) continue;
-                
-                int newDistance = current.getDistance() + edge.getWeight();
-                final GraphNode finalNeighbor = neighbor;
-                final GraphEdge finalEdge = edge;
-                
-                // Show which edge/neighbor we're currently examining
-                animationEngine.addStep(new SimpleAnimationStep("Focus Edge", () -> {
-                    // Reset neighbor exploration colors first
-                    for (GraphEdge e : currentNode.getEdges()) {
-                        GraphNode n = e.getTarget();
-                        if (!n.isVisited() && n != finalNeighbor) {
-                            n.setColor(GraphNode.DEFAULT_COLOR);
-                            n.setHighlighted(false);
-                            e.setColor(GraphEdge.DEFAULT_COLOR);
-                            e.setHighlighted(false);
-                        }
+            // Show which edge/neighbor we're currently examining
+            emit("Focus Edge", () -> {
+                // Reset neighbor exploration colors first
+                for (GraphEdge e : currentNode.getEdges()) {
+                    GraphNode n = e.getTarget();
+                    if (!n.isVisited() && n != neighbor) {
+                        n.setColor(GraphNode.DEFAULT_COLOR);
+                        n.setHighlighted(false);
+                        e.setColor(GraphEdge.DEFAULT_COLOR);
+                        e.setHighlighted(false);
                     }
-                    // Highlight the current edge and neighbor being examined
-                    finalEdge.setColor(GraphEdge.RELAXING_COLOR);
-                    finalEdge.setHighlighted(true);
-                    finalNeighbor.setColor(GraphNode.RELAXING_COLOR);
-                    finalNeighbor.setHighlighted(true);
-                }, "🎯 <b>Examining Edge:</b> Focusing on path from '" + current.getId() + 
-                   "' to '" + neighbor.getId() + "' with weight " + edge.getWeight() + 
-                   ". Calculating total distance: " + current.getDistance() + " + " + edge.getWeight() + " = " + newDistance + "."));
-                
-                if (newDistance < neighbor.getDistance()) {
-                    final int oldDistance = neighbor.getDistance();
-                    animationEngine.addStep(new SimpleAnimationStep("Update Distance", () -> {
-                        neighbor.setDistance(newDistance);
-                        neighbor.setPredecessor(current);
-                        // Use improvement color to show successful relaxation
-                        neighbor.setColor(GraphNode.IMPROVEMENT_COLOR);
-                        edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
-                        // Update priority queue
-                        unvisitedNodes.remove(neighbor);
-                        unvisitedNodes.add(neighbor);
-                    }, "✅ <b>Path Improved!</b> Found shorter path to '" + neighbor.getId() + 
-                       "'. Distance updated from " + (oldDistance == Integer.MAX_VALUE ? "∞" : oldDistance) + 
-                       " to " + newDistance + " via node '" + current.getId() + "'."));
-                } else {
-                    animationEngine.addStep(new SimpleAnimationStep("No Improvement", () -> {
-                        // Show that this path doesn't improve distance
-                        finalNeighbor.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
-                        finalEdge.setColor(GraphEdge.NO_IMPROVEMENT_COLOR);
-                    }, "❌ <b>No Improvement:</b> Path cost " + newDistance + 
-                       " ≥ current distance " + neighbor.getDistance() + ". Keeping existing path."));
-                    
-                    // Reset the edge and neighbor color after showing rejection
-                    animationEngine.addStep(new SimpleAnimationStep("Reset Colors", () -> {
-                        finalEdge.setColor(GraphEdge.DEFAULT_COLOR);
-                        finalEdge.setHighlighted(false);
-                        finalNeighbor.setColor(GraphNode.DEFAULT_COLOR);
-                        finalNeighbor.setHighlighted(false);
-                    }, ""));
                 }
-            }
+                // Highlight the current edge and neighbor being examined
+                edge.setColor(GraphEdge.RELAXING_COLOR);
+                edge.setHighlighted(true);
+                neighbor.setColor(GraphNode.RELAXING_COLOR);
+                neighbor.setHighlighted(true);
+            }, "🎯 <b>Examining Edge:</b> Focusing on path from '" + currentNode.getId() + 
+               "' to '" + neighbor.getId() + "' with weight " + edge.getWeight() + 
+               ". Calculating total distance: " + currentDistance + " + " + edge.getWeight() + " = " + newDistance + ".");
             
-            // Mark the current node as fully processed
-            animationEngine.addStep(new SimpleAnimationStep("Mark Processed", () -> {
+            if (newDistance < oldDistance) {
+                relaxedCount++;
+                final int relaxed = relaxedCount;
+                emit("Update Distance", () -> {
+                    counters.setRelaxed(relaxed);
+                    neighbor.setDistance(newDistance);
+                    neighbor.setPredecessor(currentNode);
+                    // Use improvement color to show successful relaxation
+                    neighbor.setColor(GraphNode.IMPROVEMENT_COLOR);
+                    edge.setColor(GraphEdge.IMPROVEMENT_COLOR);
+                }, "✅ <b>Path Improved!</b> Found shorter path to '" + neighbor.getId() + 
+                   "'. Distance updated from " + (oldDistance == Integer.MAX_VALUE ? "∞" : oldDistance) + 
+                   " to " + newDistance + " via node '" + currentNode.getId() + "'.");
+            } else {
+                emit("No Improvement", () -> {
+                    // Show that this path doesn't improve distance
+                    neighbor.setColor(GraphNode.NO_IMPROVEMENT_COLOR);
+                    edge.setColor(GraphEdge.NO_IMPROVEMENT_COLOR);
+                }, "❌ <b>No Improvement:</b> Path cost " + newDistance + 
+                   " ≥ current distance " + oldDistance + ". Keeping existing path.");
+                
+                // Reset the edge and neighbor color after showing rejection
+                emit("Reset Colors", () -> {
+                    edge.setColor(GraphEdge.DEFAULT_COLOR);
+                    edge.setHighlighted(false);
+                    neighbor.setColor(GraphNode.DEFAULT_COLOR);
+                    neighbor.setHighlighted(false);
+                }, "");
+            }
+        }
+        
+        // Mark the current node as fully processed
+        @Override
+        public void scanned(int node) {
+            GraphNode currentNode = nodeAt[node];
+            emit("Mark Processed", () -> {
                 currentNode.setColor(GraphNode.VISITED_COLOR);
                 currentNode.setHighlighted(false);
                 // Clean up any remaining neighbor highlights
@@ -235,36 +280,42 @@ public class DijkstraAlgorithm {
                     }
                 }
             }, "✅ <b>Node '" + currentNode.getId() + "' Processed:</b> All outgoing edges examined. " +
-               "Shortest path to this node is now permanently established (distance = " + currentNode.getDistance() + "). " +
+               "Shortest path to this node is now permanently established (distance = " + search.getDistance(node) + "). " +
                (targetFound ? "Target found but continuing to process remaining nodes for complete algorithm demonstration." : 
-                "Moving to next closest unvisited node.")));
+                "Moving to next closest unvisited node."));
         }
         
         // Show final results and path highlighting
-        if (targetFound) {
-            buildShortestPath();
-            animationEngine.addStep(new SimpleAnimationStep("Highlight Shortest Path", () -> {
-                highlightShortestPath();
-            }, "🎯 <b>Shortest Path Complete!</b> Final path from '" + startNode.getId() + 
-               "' to '" + endNode.getId() + "' highlighted with total distance: <b>" + endNode.getDistance() + "</b>. " +
-               "This is guaranteed to be the optimal solution."));
-        }
-        
-        animationEngine.addStep(new SimpleAnimationStep("Algorithm Complete", () -> {
-            // Keep the shortest path highlighted but clear other highlights
-            for (GraphNode node : nodes) {
-                if (!shortestPath.contains(node)) {
-                    node.setHighlighted(false);
+        private void emitResults() {
+            if (targetFound) {
+                int[] predecessors = search.getPredecessors();
+                shortestPath.clear();
+                for (int node = nodes.indexOf(endNode); node >= 0; node = predecessors[node]) {
+                    shortestPath.add(0, nodeAt[node]);
                 }
-                for (GraphEdge edge : node.getEdges()) {
-                    if (!isEdgeInShortestPath(edge)) {
-                        edge.setHighlighted(false);
+                emit("Highlight Shortest Path", () -> {
+                    highlightShortestPath();
+                }, "🎯 <b>Shortest Path Complete!</b> Final path from '" + startNode.getId() + 
+                   "' to '" + endNode.getId() + "' highlighted with total distance: <b>" + search.getDistance(nodes.indexOf(endNode)) + "</b>. " +
+                   "This is guaranteed to be the optimal solution.");
+            }
+            
+            emit("Algorithm Complete", () -> {
+                // Keep the shortest path highlighted but clear other highlights
+                for (GraphNode node : nodes) {
+                    if (!shortestPath.contains(node)) {
+                        node.setHighlighted(false);
+                    }
+                    for (GraphEdge edge : node.getEdges()) {
+                        if (!isEdgeInShortestPath(edge)) {
+                            edge.setHighlighted(false);
+                        }
                     }
                 }
-            }
-        }, "🏁 <b>Dijkstra's Algorithm Complete!</b> All reachable nodes processed and shortest distances determined. " +
-           (targetFound ? "Optimal path is highlighted in the graph." : 
-            "Shortest paths from '" + startNode.getId() + "' to all reachable nodes have been computed.")));
+            }, "🏁 <b>Dijkstra's Algorithm Complete!</b> All reachable nodes processed and shortest distances determined. " +
+               (targetFound ? "Optimal path is highlighted in the graph." : 
+                "Shortest paths from '" + startNode.getId() + "' to all reachable nodes have been computed."));
+        }
     }
     
     private void clearHighlights() {
@@ -284,16 +335,6 @@ public class DijkstraAlgorithm {
         }
     }
     
-    private void buildShortestPath() {
-        shortestPath.clear();
-        GraphNode current = endNode;
-        
-        while (current != null) {
-            shortestPath.add(0, current);
-            current = current.getPredecessor();
-        }
-    }
-    
     private boolean isEdgeInShortestPath(GraphEdge edge) {
         if (shortestPath.size() < 2) return false;
         
@@ -367,12 +408,20 @@ public class DijkstraAlgorithm {
     public GraphNode getEndNode() { return endNode; }
     public List<GraphNode> getShortestPath() { return shortestPath; }
     
-    public GraphNode getNodeAt(int x, int y) {
-        for (GraphNode node : nodes) {
-            if (node.contains(x, y)) {
-                return node;
-            }
+    /**
+     * Dijkstra over a CompactGraph without animation
+     */
+    public static class Headless extends DijkstraSearch {
+        public Headless(OperationStats stats) {
+            super(stats);
+        }
+        
+        /**
+         * @param arity children per heap node; 4 halves the tree depth of a
+         *              binary heap, which pays off when decrease-key dominates
+         */
+        public Headless(OperationStats stats, int arity) {
+            super(stats, arity);
         }
-        return null;
     }
 }
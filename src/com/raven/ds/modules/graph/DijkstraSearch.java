@@ -0,0 +1,179 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.heap.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra over a CompactGraph
+ * Uses an IndexedMinHeap with decrease-key, so each node is queued once;
+ * counts distance comparisons, heap comparisons and successful relaxations.
+ * The search is resumable: advance() settles the next node or scans a few of
+ * its edges, so the animated search can emit steps as they are played, while
+ * run() drives it to the end. An optional Observer hears about each settle and
+ * each edge examined, before the distance is updated
+ */
+public class DijkstraSearch {
+    public static final int DEFAULT_ARITY = 4;
+
+    /**
+     * Callbacks fired while the search works; nodes are CompactGraph indices
+     */
+    public interface Observer {
+        void settled(int node, int distance);
+
+        /**
+         * The edge in CSR slot was examined; edges into settled nodes are skipped
+         * @param previous the target's distance before this edge, Integer.MAX_VALUE if unreached
+         */
+        void examined(int node, int slot, int candidate, int previous);
+
+        /**
+         * Every edge of node has been examined
+         */
+        void scanned(int node);
+    }
+
+    private final OperationStats stats;
+    private final int arity;
+    private Observer observer;
+    private CompactGraph graph;
+    private int[] distance;
+    private int[] predecessors;
+    private boolean[] settled;
+    private IndexedMinHeap heap;
+    private int settledCount;
+    private int stopAt;
+    private boolean stopped;
+    // Node whose edges are being scanned, -1 between nodes
+    private int current = -1;
+    private int slot;
+
+    public DijkstraSearch(OperationStats stats) {
+        this(stats, DEFAULT_ARITY);
+    }
+
+    /**
+     * @param arity children per heap node; 4 halves the tree depth of a
+     *              binary heap, which pays off when decrease-key dominates
+     */
+    public DijkstraSearch(OperationStats stats, int arity) {
+        this.stats = stats;
+        this.arity = arity;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * @return distances from source, Integer.MAX_VALUE where unreachable
+     */
+    public int[] run(CompactGraph graph, int source) {
+        start(graph, source, -1);
+        while (advance(Integer.MAX_VALUE)) {
+            // Each call settles a node or scans its edges
+        }
+        return distance;
+    }
+
+    /**
+     * Point-to-point query that stops once the target is settled; the
+     * baseline A* and bidirectional search are measured against
+     * @return distance to target, Integer.MAX_VALUE if unreachable
+     */
+    public int run(CompactGraph graph, int source, int target) {
+        start(graph, source, target);
+        while (advance(Integer.MAX_VALUE)) {
+            // Each call settles a node or scans its edges
+        }
+        return distance[target];
+    }
+
+    /**
+     * Begin a search; call advance() until it returns false
+     * @param stopAt node to stop after settling, or -1 to settle everything reachable
+     */
+    public void start(CompactGraph graph, int source, int stopAt) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.stopAt = stopAt;
+        distance = new int[n];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        predecessors = new int[n];
+        Arrays.fill(predecessors, -1);
+        settled = new boolean[n];
+        heap = new IndexedMinHeap(n, arity, stats);
+        settledCount = 0;
+        stopped = false;
+        current = -1;
+
+        distance[source] = 0;
+        heap.offer(source, 0);
+    }
+
+    /**
+     * Settle the next node, or examine up to maxEdges edges of the last one settled
+     * @return false once the search is over
+     */
+    public boolean advance(int maxEdges) {
+        if (current < 0) {
+            if (stopped || heap.isEmpty()) {
+                return false;
+            }
+            int node = heap.poll();
+            settled[node] = true;
+            settledCount++;
+            if (observer != null) {
+                observer.settled(node, distance[node]);
+            }
+            if (node == stopAt) {
+                stopped = true;
+                return false;
+            }
+            current = node;
+            slot = graph.getRowStart(node);
+            return true;
+        }
+        int node = current;
+        int base = distance[node];
+        int end = graph.getRowEnd(node);
+        for (int budget = maxEdges; slot < end && budget > 0; slot++, budget--) {
+            int target = graph.getRowTarget(slot);
+            if (settled[target]) {
+                continue;
+            }
+            int candidate = base + graph.getRowWeight(slot);
+            if (observer != null) {
+                observer.examined(node, slot, candidate, distance[target]);
+            }
+            stats.comparison();
+            if (candidate < distance[target]) {
+                stats.relaxation();
+                distance[target] = candidate;
+                predecessors[target] = node;
+                heap.offer(target, candidate);
+            }
+        }
+        if (slot == end) {
+            current = -1;
+            if (observer != null) {
+                observer.scanned(node);
+            }
+        }
+        return true;
+    }
+
+    public int getDistance(int node) {
+        return distance[node];
+    }
+
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
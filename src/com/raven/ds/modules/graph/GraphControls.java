@@ -2,6 +2,7 @@ package com.raven.ds.modules.graph;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
@@ -19,11 +20,15 @@ public class GraphControls extends JPanel {
     
     private Button runDijkstraBtn;
     private Button runBellmanFordBtn;
+    private Button runAStarBtn;
+    private Button runBidirectionalBtn;
+    private JComboBox<AStarAlgorithm.Heuristic> heuristicCombo;
     private Button clearBtn;
     private Button loadSampleBtn;
     private Button addNodeBtn;
     private Button addEdgeBtn;
     private Button customGraphBtn;
+    private Button largeGraphBtn;
     private Button exportHtmlBtn;
     private Button playBtn;
     private Button pauseBtn;
@@ -31,6 +36,7 @@ public class GraphControls extends JPanel {
     private Button resetBtn;
     private Button downloadDocsBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JLabel stepLabel;
     
@@ -61,6 +67,26 @@ public class GraphControls extends JPanel {
         runBellmanFordBtn.setPreferredSize(new Dimension(140, 40));
         runBellmanFordBtn.setToolTipText("Find shortest path using Bellman-Ford algorithm");
         
+        runAStarBtn = new Button();
+        runAStarBtn.setText("Run A*");
+        runAStarBtn.setBackground(new Color(22, 160, 133)); // Teal
+        runAStarBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runAStarBtn.setForeground(Color.WHITE);
+        runAStarBtn.setPreferredSize(new Dimension(120, 40));
+        runAStarBtn.setToolTipText("Search from start to end guided by node positions");
+        
+        heuristicCombo = new JComboBox<>(AStarAlgorithm.Heuristic.values());
+        heuristicCombo.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        heuristicCombo.setToolTipText("Distance estimate A* uses to rank nodes");
+        
+        runBidirectionalBtn = new Button();
+        runBidirectionalBtn.setText("Bidirectional");
+        runBidirectionalBtn.setBackground(new Color(142, 68, 173)); // Purple
+        runBidirectionalBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBidirectionalBtn.setForeground(Color.WHITE);
+        runBidirectionalBtn.setPreferredSize(new Dimension(130, 40));
+        runBidirectionalBtn.setToolTipText("Search from both ends at once until the frontiers meet");
+        
         clearBtn = new Button();
         clearBtn.setText("Clear Graph");
         clearBtn.setBackground(new Color(231, 76, 60)); // Red
@@ -104,6 +130,14 @@ public class GraphControls extends JPanel {
         customGraphBtn.setPreferredSize(new Dimension(130, 40));
         customGraphBtn.setToolTipText("Generate a custom graph with specified parameters");
         
+        largeGraphBtn = new Button();
+        largeGraphBtn.setText("Large Graph");
+        largeGraphBtn.setBackground(new Color(52, 73, 94));
+        largeGraphBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        largeGraphBtn.setForeground(Color.WHITE);
+        largeGraphBtn.setPreferredSize(new Dimension(130, 40));
+        largeGraphBtn.setToolTipText("Compare the algorithms on road grids and DIMACS or edge-list files");
+        
         exportHtmlBtn = new Button();
         exportHtmlBtn.setText("Export Analysis");
         exportHtmlBtn.setBackground(new Color(53, 106, 230)); // #356AE6 - Primary blue
@@ -162,6 +196,9 @@ public class GraphControls extends JPanel {
         speedSlider.setPaintTicks(true);
         speedSlider.setPaintLabels(true);
         
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status labels
         statusLabel = new JLabel("Ready to run algorithm");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -174,7 +211,7 @@ public class GraphControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]"));
         
         // Algorithm controls row
         add(new JLabel("Algorithms:"), "cell 0 0");
@@ -183,34 +220,44 @@ public class GraphControls extends JPanel {
         add(loadSampleBtn, "cell 1 0");
         add(clearBtn, "cell 2 0");
         
+        // Start-to-end searches row
+        add(new JLabel("Start → End:"), "cell 0 1");
+        add(runAStarBtn, "cell 1 1");
+        add(heuristicCombo, "cell 1 1");
+        add(runBidirectionalBtn, "cell 1 1, gapleft 15");
+        
         // Graph customization row
-        add(new JLabel("Customize:"), "cell 0 1");
-        add(addNodeBtn, "cell 1 1");
-        add(addEdgeBtn, "cell 1 1");
-        add(customGraphBtn, "cell 1 1");
-        add(exportHtmlBtn, "cell 2 1");
+        add(new JLabel("Customize:"), "cell 0 2");
+        add(addNodeBtn, "cell 1 2");
+        add(addEdgeBtn, "cell 1 2");
+        add(customGraphBtn, "cell 1 2");
+        add(largeGraphBtn, "cell 1 2");
+        add(exportHtmlBtn, "cell 2 2");
         
         // Animation controls row
-        add(new JLabel("Animation:"), "cell 0 2");
-        add(playBtn, "cell 1 2");
-        add(pauseBtn, "cell 1 2");
-        add(stepBtn, "cell 1 2");
-        add(resetBtn, "cell 1 2");
-        add(downloadDocsBtn, "cell 2 2");
+        add(new JLabel("Animation:"), "cell 0 3");
+        add(playBtn, "cell 1 3");
+        add(pauseBtn, "cell 1 3");
+        add(stepBtn, "cell 1 3");
+        add(resetBtn, "cell 1 3");
+        add(downloadDocsBtn, "cell 2 3");
         
         // Speed control row
-        add(new JLabel("Speed:"), "cell 0 3");
-        add(speedSlider, "cell 1 3, span 2, grow");
+        add(new JLabel("Speed:"), "cell 0 4");
+        add(speedSlider, "cell 1 4, span 2, grow");
+        
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
         
         // Status row
-        add(statusLabel, "cell 0 4, span 2");
-        add(stepLabel, "cell 2 4");
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
     }
     
     private void setupListeners() {
         runDijkstraBtn.addActionListener(e -> {
-            runDijkstraBtn.setEnabled(false);
-            runBellmanFordBtn.setEnabled(false);
+            setRunButtonsEnabled(false);
             statusLabel.setText("Running Dijkstra's algorithm...");
             visualizer.setCurrentAlgorithm("DIJKSTRA");
             visualizer.runDijkstra();
@@ -218,14 +265,30 @@ public class GraphControls extends JPanel {
         });
         
         runBellmanFordBtn.addActionListener(e -> {
-            runDijkstraBtn.setEnabled(false);
-            runBellmanFordBtn.setEnabled(false);
+            setRunButtonsEnabled(false);
             statusLabel.setText("Running Bellman-Ford algorithm...");
             visualizer.setCurrentAlgorithm("BELLMAN_FORD");
             visualizer.runBellmanFord();
             updateAnimationControls();
         });
         
+        runAStarBtn.addActionListener(e -> {
+            setRunButtonsEnabled(false);
+            AStarAlgorithm.Heuristic heuristic = (AStarAlgorithm.Heuristic) heuristicCombo.getSelectedItem();
+            statusLabel.setText("Running A* with the " + heuristic + " heuristic...");
+            visualizer.setCurrentAlgorithm("A_STAR");
+            visualizer.runAStar(heuristic);
+            updateAnimationControls();
+        });
+        
+        runBidirectionalBtn.addActionListener(e -> {
+            setRunButtonsEnabled(false);
+            statusLabel.setText("Running bidirectional Dijkstra...");
+            visualizer.setCurrentAlgorithm("BIDIRECTIONAL");
+            visualizer.runBidirectional();
+            updateAnimationControls();
+        });
+        
         clearBtn.addActionListener(e -> {
             visualizer.clearGraph();
             animationEngine.clearSteps();
@@ -269,6 +332,10 @@ public class GraphControls extends JPanel {
             showCustomGraphDialog();
         });
         
+        largeGraphBtn.addActionListener(e -> {
+            new LargeGraphDialog((Frame) SwingUtilities.getWindowAncestor(this), visualizer).setVisible(true);
+        });
+        
         exportHtmlBtn.addActionListener(e -> {
             exportAnalysisToHtml();
         });
@@ -291,8 +358,7 @@ public class GraphControls extends JPanel {
         resetBtn.addActionListener(e -> {
             animationEngine.reset();
             statusLabel.setText("Animation reset");
-            runDijkstraBtn.setEnabled(true);
-            runBellmanFordBtn.setEnabled(true);
+            setRunButtonsEnabled(true);
             updateAnimationControls();
         });
         
@@ -337,8 +403,7 @@ public class GraphControls extends JPanel {
             @Override
             public void onAnimationComplete() {
                 statusLabel.setText("Algorithm completed!");
-                runDijkstraBtn.setEnabled(true);
-                runBellmanFordBtn.setEnabled(true);
+                setRunButtonsEnabled(true);
             }
             
             @Override
@@ -351,17 +416,24 @@ public class GraphControls extends JPanel {
     
     private void updateAnimationControls() {
         boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
         playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
         pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
         stepBtn.setEnabled(hasSteps);
         resetBtn.setEnabled(hasSteps);
         
         if (!hasSteps) {
-            runDijkstraBtn.setEnabled(true);
-            runBellmanFordBtn.setEnabled(true);
+            setRunButtonsEnabled(true);
         }
     }
     
+    private void setRunButtonsEnabled(boolean enabled) {
+        runDijkstraBtn.setEnabled(enabled);
+        runBellmanFordBtn.setEnabled(enabled);
+        runAStarBtn.setEnabled(enabled);
+        runBidirectionalBtn.setEnabled(enabled);
+    }
+    
     public void loadDemo() {
         visualizer.loadSampleGraph();
         statusLabel.setText("Demo graph loaded - ready to run algorithm");
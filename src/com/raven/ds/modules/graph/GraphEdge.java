@@ -19,6 +19,15 @@ public class GraphEdge {
     public static final Color IMPROVEMENT_COLOR = new Color(50, 205, 50);     // Green for improved path
     public static final Color NO_IMPROVEMENT_COLOR = new Color(255, 150, 150); // Light red for rejected path
     
+    // Shared drawing resources; built once instead of on every repaint
+    private static final BasicStroke LINE_STROKE = new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke HIGHLIGHT_STROKE = new BasicStroke(8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke SHADOW_STROKE = new BasicStroke(10, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke LABEL_STROKE = new BasicStroke(2);
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 120);
+    private static final Color LABEL_SHADOW_COLOR = new Color(0, 0, 0, 100);
+    private static final Font WEIGHT_FONT = new Font("SansSerif", Font.BOLD, 14);
+    
     public GraphEdge(GraphNode source, GraphNode target, int weight) {
         this.source = source;
         this.target = target;
@@ -28,9 +37,13 @@ public class GraphEdge {
     }
     
     public void draw(Graphics2D g2d) {
-        // Enhanced stroke width for better visibility during animation
-        g2d.setStroke(new BasicStroke(highlighted ? 8 : 4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        
+        draw(g2d, true);
+    }
+    
+    /**
+     * @param detailed false when zoomed out: the line only, no shadow, arrowhead or weight label
+     */
+    public void draw(Graphics2D g2d, boolean detailed) {
         int dx = target.getX() - source.getX();
         int dy = target.getY() - source.getY();
         double distance = Math.sqrt(dx * dx + dy * dy);
@@ -46,21 +59,25 @@ public class GraphEdge {
         int endY = target.getY() - (int)(unitY * GraphNode.NODE_RADIUS);
         
         // Draw shadow for highlighted edges
-        if (highlighted) {
-            g2d.setColor(new Color(0, 0, 0, 120));
-            g2d.setStroke(new BasicStroke(10, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        if (highlighted && detailed) {
+            g2d.setColor(SHADOW_COLOR);
+            g2d.setStroke(SHADOW_STROKE);
             g2d.drawLine(startX + 3, startY + 3, endX + 3, endY + 3);
         }
         
-        // Draw main edge line
+        // Draw main edge line; enhanced stroke width for better visibility during animation
         g2d.setColor(color);
-        g2d.setStroke(new BasicStroke(highlighted ? 8 : 4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2d.setStroke(highlighted ? HIGHLIGHT_STROKE : LINE_STROKE);
         g2d.drawLine(startX, startY, endX, endY);
         
+        if (!detailed) {
+            return;
+        }
+        
         drawArrowhead(g2d, startX, startY, endX, endY);
         
         // Enhanced weight label with better background contrast
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 14));
+        g2d.setFont(WEIGHT_FONT);
         int midX = (startX + endX) / 2;
         int midY = (startY + endY) / 2;
         
@@ -74,14 +91,14 @@ public class GraphEdge {
         int textHeight = fm.getHeight();
         
         // Enhanced background with shadow and border
-        g2d.setColor(new Color(0, 0, 0, 100));
+        g2d.setColor(LABEL_SHADOW_COLOR);
         g2d.fillRoundRect(midX - textWidth/2 - 5 + 1, midY - textHeight/2 - 3 + 1, textWidth + 10, textHeight + 6, 8, 8);
         
         g2d.setColor(Color.WHITE);
         g2d.fillRoundRect(midX - textWidth/2 - 5, midY - textHeight/2 - 3, textWidth + 10, textHeight + 6, 8, 8);
         
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(LABEL_STROKE);
         g2d.drawRoundRect(midX - textWidth/2 - 5, midY - textHeight/2 - 3, textWidth + 10, textHeight + 6, 8, 8);
         
         g2d.drawString(weightStr, midX - textWidth/2, midY + 4);
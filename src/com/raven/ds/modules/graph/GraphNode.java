@@ -32,6 +32,14 @@ public class GraphNode {
     public static final Color IMPROVEMENT_COLOR = new Color(144, 238, 144);  // Light green for improvement
     public static final Color NO_IMPROVEMENT_COLOR = new Color(255, 200, 200); // Light red for no improvement
     
+    // Shared drawing resources; built once instead of on every repaint
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 80);
+    private static final Font ID_FONT = new Font("SansSerif", Font.BOLD, 18);
+    private static final Font DISTANCE_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(3);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1);
+    private static final BasicStroke LABEL_STROKE = new BasicStroke(2);
+    
     public GraphNode(String id, int x, int y) {
         this.id = id;
         this.x = x;
@@ -50,8 +58,24 @@ public class GraphNode {
     }
     
     public void draw(Graphics2D g2d) {
+        draw(g2d, true);
+    }
+    
+    /**
+     * @param detailed false when zoomed out: just the coloured disc, no shadow or labels
+     */
+    public void draw(Graphics2D g2d, boolean detailed) {
+        if (!detailed) {
+            g2d.setColor(color);
+            g2d.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(BORDER_STROKE);
+            g2d.drawOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
+            return;
+        }
+        
         // Draw enhanced shadow for better depth perception
-        g2d.setColor(new Color(0, 0, 0, 80));
+        g2d.setColor(SHADOW_COLOR);
         g2d.fillOval(x - NODE_RADIUS + 4, y - NODE_RADIUS + 4, NODE_RADIUS * 2, NODE_RADIUS * 2);
         
         // Draw node circle with enhanced colors
@@ -60,16 +84,16 @@ public class GraphNode {
         
         // Draw border with high contrast - thicker for better visibility
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(3)); // Black border for definition
+        g2d.setStroke(BORDER_STROKE); // Black border for definition
         g2d.drawOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
         
         // Add white inner highlight for extra contrast
         g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(1));
+        g2d.setStroke(THIN_STROKE);
         g2d.drawOval(x - NODE_RADIUS + 2, y - NODE_RADIUS + 2, NODE_RADIUS * 2 - 4, NODE_RADIUS * 2 - 4);
         
         // Draw node ID with enhanced contrast
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 18)); // Larger, bolder font
+        g2d.setFont(ID_FONT); // Larger, bolder font
         FontMetrics fm = g2d.getFontMetrics();
         int textWidth = fm.stringWidth(id);
         int textHeight = fm.getHeight();
@@ -89,7 +113,7 @@ public class GraphNode {
         g2d.drawString(id, x - textWidth/2, y + textHeight/4);
         
         // Draw distance label with enhanced contrast background
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 12));
+        g2d.setFont(DISTANCE_FONT);
         String distText = distance == Integer.MAX_VALUE ? "∞" : String.valueOf(distance);
         FontMetrics distFm = g2d.getFontMetrics();
         int distWidth = distFm.stringWidth(distText);
@@ -98,13 +122,15 @@ public class GraphNode {
         g2d.setColor(Color.WHITE);
         g2d.fillRoundRect(x - distWidth/2 - 4, y - NODE_RADIUS - 20, distWidth + 8, 16, 6, 6);
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(LABEL_STROKE);
         g2d.drawRoundRect(x - distWidth/2 - 4, y - NODE_RADIUS - 20, distWidth + 8, 16, 6, 6);
         g2d.drawString(distText, x - distWidth/2, y - NODE_RADIUS - 7);
     }
     
     public boolean contains(int px, int py) {
-        return Math.sqrt(Math.pow(px - x, 2) + Math.pow(py - y, 2)) <= NODE_RADIUS;
+        int dx = px - x;
+        int dy = py - y;
+        return dx * dx + dy * dy <= NODE_RADIUS * NODE_RADIUS;
     }
     
     // Getters and setters
@@ -151,6 +177,10 @@ public class GraphNode {
         }
     }
     
+    public Color getColor() {
+        return color;
+    }
+    
     public void setColor(Color newColor) {
         this.color = newColor;
     }
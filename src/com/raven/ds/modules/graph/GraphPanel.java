@@ -6,28 +6,62 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Visual panel for Dijkstra's algorithm visualization
+ * Zoom with the wheel and pan by dragging the background; nodes are found
+ * through a NodeGrid, so hit tests and repaints only touch what is on screen
  */
 public class GraphPanel extends JPanel {
+    // Largest CompactGraph the canvas will lay out; anything bigger stays headless
+    public static final int MAX_VIEW_NODES = 2000;
+    
+    private static final double MIN_SCALE = 0.05;
+    private static final double MAX_SCALE = 4.0;
+    // Below this zoom labels, arrowheads and shadows are dropped
+    private static final double DETAIL_SCALE = 0.6;
+    // Below this zoom antialiasing costs more than it shows
+    private static final double ANTIALIAS_SCALE = 0.35;
+    // Ellipse layout up to this many nodes, rows and columns beyond
+    private static final int ELLIPSE_LAYOUT_NODES = 30;
+    // World distance between neighbouring nodes when laying out larger graphs
+    private static final int LAYOUT_SPACING = 4 * GraphNode.NODE_RADIUS;
+    private static final Font LABEL_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font PLAIN_FONT = new Font("SansSerif", Font.PLAIN, 12);
+    private static final Font INSTRUCTION_FONT = new Font("SansSerif", Font.BOLD, 13);
+    
     private DijkstraAlgorithm dijkstraAlgorithm;
     private BellmanFordAlgorithm bellmanFordAlgorithm;
+    private AStarAlgorithm aStarAlgorithm;
+    private BidirectionalDijkstraAlgorithm bidirectionalAlgorithm;
+    private final SearchCounters searchCounters = new SearchCounters();
     private AnimationEngine animationEngine;
     private GraphNode draggedNode;
     private GraphNode selectedNode;
     private boolean isAddingEdge;
     private GraphNode edgeStartNode;
-    private String currentAlgorithm = "DIJKSTRA"; // "DIJKSTRA" or "BELLMAN_FORD"
+    private final NodeGrid nodeGrid = new NodeGrid();
+    // View transform: screen = world * scale + offset
+    private double scale = 1.0;
+    private double offsetX;
+    private double offsetY;
+    private Point panAnchor;
+    private String currentAlgorithm = "DIJKSTRA"; // "DIJKSTRA", "BELLMAN_FORD", "A_STAR" or "BIDIRECTIONAL"
     
     private Color backgroundColor = Color.WHITE;
     private Font infoFont = new Font("SansSerif", Font.PLAIN, 12);
     
     public GraphPanel(AnimationEngine animationEngine) {
         this.animationEngine = animationEngine;
-        this.dijkstraAlgorithm = new DijkstraAlgorithm(animationEngine);
+        this.dijkstraAlgorithm = new DijkstraAlgorithm(animationEngine, searchCounters);
         this.bellmanFordAlgorithm = new BellmanFordAlgorithm(animationEngine);
+        this.aStarAlgorithm = new AStarAlgorithm(animationEngine, searchCounters);
+        this.bidirectionalAlgorithm = new BidirectionalDijkstraAlgorithm(animationEngine, searchCounters);
+        animationEngine.setSnapshotter(new GraphSnapshotter(dijkstraAlgorithm::getNodes, searchCounters));
         
         setBackground(backgroundColor);
         setPreferredSize(new Dimension(800, 600));
@@ -36,24 +70,33 @@ public class GraphPanel extends JPanel {
         setupMouseListeners();
     }
     
-    
+    /**
+     * Node under a world-space point
+     */
     private GraphNode getNodeAt(int x, int y) {
-        for (GraphNode node : dijkstraAlgorithm.getNodes()) {
-            if (node.contains(x, y)) {
-                return node;
-            }
+        syncNodeGrid();
+        return nodeGrid.nodeAt(x, y);
+    }
+    
+    /**
+     * Rebuild the index if the node list changed behind the panel's back
+     */
+    private void syncNodeGrid() {
+        if (nodeGrid.size() != getNodes().size()) {
+            nodeGrid.rebuild(getNodes());
         }
-        return null;
     }
     
     public void addNode(GraphNode node) {
         dijkstraAlgorithm.addNode(node);
         bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
+        nodeGrid.add(node);
     }
     
     private void removeNode(GraphNode node) {
         dijkstraAlgorithm.removeNode(node);
         bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
+        nodeGrid.remove(node);
     }
     
     public void addEdge(GraphNode source, GraphNode target, int weight) {
@@ -116,10 +159,21 @@ public class GraphPanel extends JPanel {
     
     public void setCurrentAlgorithm(String algorithm) {
         this.currentAlgorithm = algorithm;
-        setBorder(BorderFactory.createTitledBorder(
-            algorithm.equals("DIJKSTRA") ? 
-            "Dijkstra's Shortest Path Visualization" : 
-            "Bellman-Ford Shortest Path Visualization"));
+        String title;
+        switch (algorithm) {
+            case "BELLMAN_FORD":
+                title = "Bellman-Ford Shortest Path Visualization";
+                break;
+            case "A_STAR":
+                title = "A* Search Visualization";
+                break;
+            case "BIDIRECTIONAL":
+                title = "Bidirectional Dijkstra Visualization";
+                break;
+            default:
+                title = "Dijkstra's Shortest Path Visualization";
+        }
+        setBorder(BorderFactory.createTitledBorder(title));
     }
     
     public String getCurrentAlgorithm() {
@@ -130,9 +184,12 @@ public class GraphPanel extends JPanel {
         MouseAdapter mouseHandler = new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                GraphNode clickedNode = getNodeAt(e.getX(), e.getY());
+                Point world = toWorld(e.getPoint());
+                GraphNode clickedNode = getNodeAt(world.x, world.y);
                 
-                if (SwingUtilities.isLeftMouseButton(e)) {
+                if (SwingUtilities.isMiddleMouseButton(e)) {
+                    panAnchor = e.getPoint();
+                } else if (SwingUtilities.isLeftMouseButton(e)) {
                     if (isAddingEdge) {
                         if (clickedNode != null) {
                             if (edgeStartNode == null) {
@@ -170,12 +227,14 @@ public class GraphPanel extends JPanel {
                     } else {
                         draggedNode = clickedNode;
                         selectedNode = clickedNode;
+                        // Dragging the empty background pans the view
+                        panAnchor = clickedNode == null ? e.getPoint() : null;
                     }
                 } else if (SwingUtilities.isRightMouseButton(e)) {
                     if (clickedNode != null) {
                         showNodeContextMenu(clickedNode, e.getX(), e.getY());
                     } else {
-                        showBackgroundContextMenu(e.getX(), e.getY());
+                        showBackgroundContextMenu(e.getX(), e.getY(), world);
                     }
                 }
                 
@@ -185,7 +244,14 @@ public class GraphPanel extends JPanel {
             @Override
             public void mouseDragged(MouseEvent e) {
                 if (draggedNode != null && !isAddingEdge) {
-                    draggedNode.setPosition(e.getX(), e.getY());
+                    Point world = toWorld(e.getPoint());
+                    draggedNode.setPosition(world.x, world.y);
+                    nodeGrid.moved(draggedNode);
+                    repaint();
+                } else if (panAnchor != null) {
+                    offsetX += e.getX() - panAnchor.x;
+                    offsetY += e.getY() - panAnchor.y;
+                    panAnchor = e.getPoint();
                     repaint();
                 }
             }
@@ -193,11 +259,74 @@ public class GraphPanel extends JPanel {
             @Override
             public void mouseReleased(MouseEvent e) {
                 draggedNode = null;
+                panAnchor = null;
+            }
+            
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAt(e.getPoint(), Math.pow(1.15, -e.getPreciseWheelRotation()));
             }
         };
         
         addMouseListener(mouseHandler);
         addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+    }
+    
+    private Point toWorld(Point screen) {
+        return new Point((int) Math.round((screen.x - offsetX) / scale),
+                (int) Math.round((screen.y - offsetY) / scale));
+    }
+    
+    /**
+     * Scale the view by factor, keeping the world point under the cursor in place
+     */
+    private void zoomAt(Point screen, double factor) {
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        offsetX = screen.x - (screen.x - offsetX) * newScale / scale;
+        offsetY = screen.y - (screen.y - offsetY) * newScale / scale;
+        scale = newScale;
+        repaint();
+    }
+    
+    public void resetView() {
+        scale = 1.0;
+        offsetX = 0;
+        offsetY = 0;
+        repaint();
+    }
+    
+    /**
+     * Zoom and pan so every node is visible, never zooming in past 1:1
+     */
+    public void fitToView() {
+        List<GraphNode> nodes = getNodes();
+        if (nodes.isEmpty()) {
+            resetView();
+            return;
+        }
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (GraphNode node : nodes) {
+            minX = Math.min(minX, node.getX());
+            minY = Math.min(minY, node.getY());
+            maxX = Math.max(maxX, node.getX());
+            maxY = Math.max(maxY, node.getY());
+        }
+        int margin = GraphNode.NODE_RADIUS + 30;
+        int width = Math.max(getWidth(), 600);
+        // Keep clear of the instructions box at the bottom
+        int height = Math.max(getHeight(), 450) - 120;
+        double worldWidth = maxX - minX + 2 * margin;
+        double worldHeight = maxY - minY + 2 * margin;
+        scale = Math.max(MIN_SCALE, Math.min(1.0, Math.min(width / worldWidth, height / worldHeight)));
+        offsetX = (width - worldWidth * scale) / 2 - (minX - margin) * scale;
+        offsetY = (height - worldHeight * scale) / 2 - (minY - margin) * scale;
+        repaint();
+    }
+    
+    public double getZoom() {
+        return scale;
     }
     
     private void showNodeContextMenu(GraphNode node, int x, int y) {
@@ -229,7 +358,7 @@ public class GraphPanel extends JPanel {
         menu.show(this, x, y);
     }
     
-    private void showBackgroundContextMenu(int x, int y) {
+    private void showBackgroundContextMenu(int x, int y, Point world) {
         JPopupMenu menu = new JPopupMenu();
         
         JMenuItem addNode = new JMenuItem("Add Node");
@@ -242,13 +371,22 @@ public class GraphPanel extends JPanel {
             );
             
             if (nodeId != null && !nodeId.trim().isEmpty()) {
-                GraphNode newNode = new GraphNode(nodeId.trim(), x, y);
+                GraphNode newNode = new GraphNode(nodeId.trim(), world.x, world.y);
                 addNode(newNode);
                 repaint();
             }
         });
         
+        JMenuItem fit = new JMenuItem("Fit Graph to View");
+        fit.addActionListener(e -> fitToView());
+        
+        JMenuItem actualSize = new JMenuItem("Reset Zoom (100%)");
+        actualSize.addActionListener(e -> resetView());
+        
         menu.add(addNode);
+        menu.addSeparator();
+        menu.add(fit);
+        menu.add(actualSize);
         menu.show(this, x, y);
     }
     
@@ -256,73 +394,142 @@ public class GraphPanel extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, scale >= ANTIALIAS_SCALE
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        boolean detailed = scale >= DETAIL_SCALE;
+        syncNodeGrid();
         
-        // Draw edges first (so they appear behind nodes)
+        AffineTransform screen = g2d.getTransform();
+        g2d.translate(offsetX, offsetY);
+        g2d.scale(scale, scale);
+        
+        // Visible world area, grown so labels hanging off a node just outside still show
+        int margin = GraphNode.NODE_RADIUS + 30;
+        Rectangle view = new Rectangle(
+            (int) Math.floor(-offsetX / scale) - margin,
+            (int) Math.floor(-offsetY / scale) - margin,
+            (int) Math.ceil(getWidth() / scale) + 2 * margin,
+            (int) Math.ceil(getHeight() / scale) + 2 * margin);
+        
+        // Draw edges first (so they appear behind nodes); an edge is skipped
+        // only when its bounding box misses the view, a cheap test next to drawing it
         for (GraphNode node : getNodes()) {
             for (GraphEdge edge : node.getEdges()) {
-                edge.draw(g2d);
+                GraphNode target = edge.getTarget();
+                if (Math.max(node.getX(), target.getX()) >= view.x
+                        && Math.min(node.getX(), target.getX()) <= view.x + view.width
+                        && Math.max(node.getY(), target.getY()) >= view.y
+                        && Math.min(node.getY(), target.getY()) <= view.y + view.height) {
+                    edge.draw(g2d, detailed);
+                }
             }
         }
         
-        // Draw nodes
-        for (GraphNode node : getNodes()) {
-            node.draw(g2d);
+        // Draw the nodes on screen
+        for (GraphNode node : nodeGrid.query(view)) {
+            node.draw(g2d, detailed);
         }
         
-        // Draw start/end node indicators
+        g2d.setTransform(screen);
+        
+        // Draw start/end node indicators, in screen space so they stay readable when zoomed out
         drawNodeIndicators(g2d);
         
+        // Settled/relaxed totals of the running search
+        drawSearchCounters(g2d);
+        
+        drawZoomLevel(g2d);
+        
         // Draw instructions
         drawInstructions(g2d);
     }
     
     private void drawNodeIndicators(Graphics2D g2d) {
         if (getStartNode() != null) {
-            GraphNode start = getStartNode();
-            g2d.setColor(new Color(46, 204, 113));
-            g2d.setFont(new Font("SansSerif", Font.BOLD, 12));
-            
-            // Enhanced start node label with background
-            String startText = "START";
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(startText);
-            
-            g2d.setColor(Color.WHITE);
-            g2d.fillRoundRect(start.getX() - textWidth/2 - 3, start.getY() + GraphNode.NODE_RADIUS + 8, textWidth + 6, 16, 4, 4);
-            g2d.setColor(new Color(46, 204, 113));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawRoundRect(start.getX() - textWidth/2 - 3, start.getY() + GraphNode.NODE_RADIUS + 8, textWidth + 6, 16, 4, 4);
-            g2d.drawString(startText, start.getX() - textWidth/2, start.getY() + GraphNode.NODE_RADIUS + 20);
+            drawIndicator(g2d, getStartNode(), "START", new Color(46, 204, 113));
         }
         
         if (getEndNode() != null) {
-            GraphNode end = getEndNode();
-            g2d.setColor(new Color(231, 76, 60));
-            g2d.setFont(new Font("SansSerif", Font.BOLD, 12));
-            
-            // Enhanced end node label with background
-            String endText = "END";
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(endText);
-            
-            g2d.setColor(Color.WHITE);
-            g2d.fillRoundRect(end.getX() - textWidth/2 - 3, end.getY() + GraphNode.NODE_RADIUS + 8, textWidth + 6, 16, 4, 4);
-            g2d.setColor(new Color(231, 76, 60));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawRoundRect(end.getX() - textWidth/2 - 3, end.getY() + GraphNode.NODE_RADIUS + 8, textWidth + 6, 16, 4, 4);
-            g2d.drawString(endText, end.getX() - textWidth/2, end.getY() + GraphNode.NODE_RADIUS + 20);
+            drawIndicator(g2d, getEndNode(), "END", new Color(231, 76, 60));
+        }
+    }
+    
+    private void drawIndicator(Graphics2D g2d, GraphNode node, String text, Color color) {
+        int x = (int) Math.round(node.getX() * scale + offsetX);
+        int y = (int) Math.round((node.getY() + GraphNode.NODE_RADIUS) * scale + offsetY);
+        g2d.setFont(LABEL_FONT);
+        
+        // Enhanced node label with background
+        FontMetrics fm = g2d.getFontMetrics();
+        int textWidth = fm.stringWidth(text);
+        
+        g2d.setColor(Color.WHITE);
+        g2d.fillRoundRect(x - textWidth/2 - 3, y + 8, textWidth + 6, 16, 4, 4);
+        g2d.setColor(color);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRoundRect(x - textWidth/2 - 3, y + 8, textWidth + 6, 16, 4, 4);
+        g2d.drawString(text, x - textWidth/2, y + 20);
+    }
+    
+    /**
+     * Zoom percentage in the top-left corner whenever the view is not 1:1
+     */
+    private void drawZoomLevel(Graphics2D g2d) {
+        if (scale == 1.0) {
+            return;
+        }
+        String text = Math.round(scale * 100) + "%" + (scale < DETAIL_SCALE ? " - labels hidden" : "");
+        g2d.setFont(PLAIN_FONT);
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.drawString(text, 15, 35);
+    }
+    
+    private void drawSearchCounters(Graphics2D g2d) {
+        if (!searchCounters.isActive()) {
+            return;
+        }
+        String[] lines = {
+            searchCounters.getAlgorithm(),
+            "Settled: " + searchCounters.getSettled() + " of " + getNodes().size() + " nodes",
+            "Relaxed: " + searchCounters.getRelaxed() + " edges",
+            searchCounters.getNote()
+        };
+        g2d.setFont(LABEL_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int width = 0;
+        int count = 0;
+        for (String line : lines) {
+            if (line != null) {
+                width = Math.max(width, fm.stringWidth(line));
+                count++;
+            }
+        }
+        int boxX = getWidth() - width - 30;
+        int boxY = 25;
+        g2d.setColor(new Color(248, 249, 250, 230));
+        g2d.fillRoundRect(boxX, boxY, width + 20, count * 18 + 12, 10, 10);
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRoundRect(boxX, boxY, width + 20, count * 18 + 12, 10, 10);
+        int y = boxY + 20;
+        for (String line : lines) {
+            if (line != null) {
+                g2d.drawString(line, boxX + 10, y);
+                y += 18;
+                g2d.setFont(PLAIN_FONT);
+            }
         }
     }
     
     private void drawInstructions(Graphics2D g2d) {
         g2d.setColor(new Color(52, 73, 94));
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 13));
+        g2d.setFont(INSTRUCTION_FONT);
         
         String[] instructions = {
             "🖱️ Right-click: Node context menu (set start/end, delete)",
-            "🖱️ Left-click: Select and drag nodes around",
-            "🎮 Use controls below to run Dijkstra or Bellman-Ford algorithms",
+            "🖱️ Left-click: Select and drag nodes around; drag the background to pan",
+            "🖱️ Mouse wheel: Zoom in and out; right-click the background to fit the graph",
+            "🎮 Use controls below to run Dijkstra, Bellman-Ford, A* or bidirectional search",
             "📊 Watch the step-by-step algorithm animation with explanations"
         };
         
@@ -370,15 +577,80 @@ public class GraphPanel extends JPanel {
     }
     
     public void loadSampleGraph() {
+        searchCounters.clear();
         dijkstraAlgorithm.loadSampleGraph();
         bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
-        repaint();
+        nodeGrid.rebuild(getNodes());
+        resetView();
+    }
+    
+    /**
+     * Replace the canvas with a view of a CompactGraph: small graphs on an ellipse,
+     * larger ones at their own coordinates when they have them, else in rows
+     */
+    public void showGraph(CompactGraph graph) {
+        clearGraph();
+        int n = graph.getNodeCount();
+        List<GraphNode> nodes = new ArrayList<>(n);
+        if (n <= ELLIPSE_LAYOUT_NODES) {
+            // Ellipse above the instructions box at the bottom of the canvas
+            int width = Math.max(getWidth(), 600);
+            int height = Math.max(getHeight(), 450) - 130;
+            int centerX = width / 2;
+            int centerY = 20 + height / 2;
+            int radiusX = centerX - 60;
+            int radiusY = height / 2 - 30;
+            for (int v = 0; v < n; v++) {
+                double angle = 2 * Math.PI * v / n - Math.PI / 2;
+                nodes.add(new GraphNode(String.valueOf(v),
+                        centerX + (int) (radiusX * Math.cos(angle)),
+                        centerY + (int) (radiusY * Math.sin(angle))));
+            }
+        } else if (graph.hasCoordinates()) {
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+            for (int v = 0; v < n; v++) {
+                minX = Math.min(minX, graph.getX(v));
+                minY = Math.min(minY, graph.getY(v));
+                maxX = Math.max(maxX, graph.getX(v));
+                maxY = Math.max(maxY, graph.getY(v));
+            }
+            // Spread the nodes over about sqrt(n) spacings per side, whatever units the file uses
+            double stretch = Math.sqrt(n) * LAYOUT_SPACING / Math.max(1, Math.max(maxX - minX, maxY - minY));
+            for (int v = 0; v < n; v++) {
+                nodes.add(new GraphNode(String.valueOf(v),
+                        LAYOUT_SPACING + (int) ((graph.getX(v) - minX) * stretch),
+                        LAYOUT_SPACING + (int) ((graph.getY(v) - minY) * stretch)));
+            }
+        } else {
+            int columns = (int) Math.ceil(Math.sqrt(n));
+            for (int v = 0; v < n; v++) {
+                nodes.add(new GraphNode(String.valueOf(v),
+                        LAYOUT_SPACING * (1 + v % columns), LAYOUT_SPACING * (1 + v / columns)));
+            }
+        }
+        // Bulk load: one edge-list rebuild and one index rebuild instead of one per element
+        for (GraphNode node : nodes) {
+            dijkstraAlgorithm.addNode(node);
+        }
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            dijkstraAlgorithm.addEdge(nodes.get(graph.getFrom(e)), nodes.get(graph.getTo(e)), graph.getWeight(e));
+        }
+        bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
+        nodeGrid.rebuild(getNodes());
+        if (n <= ELLIPSE_LAYOUT_NODES) {
+            resetView();
+        } else {
+            fitToView();
+        }
     }
     
     public void clearGraph() {
+        searchCounters.clear();
         dijkstraAlgorithm.reset();
         dijkstraAlgorithm.getNodes().clear();
         bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
+        nodeGrid.rebuild(getNodes());
         repaint();
     }
     
@@ -401,6 +673,55 @@ public class GraphPanel extends JPanel {
         }
     }
     
+    public void runAStar(AStarAlgorithm.Heuristic heuristic) {
+        if (!checkEndpoints()) {
+            return;
+        }
+        try {
+            aStarAlgorithm.setNodes(getNodes());
+            aStarAlgorithm.setStartNode(getStartNode());
+            aStarAlgorithm.setEndNode(getEndNode());
+            aStarAlgorithm.setHeuristic(heuristic);
+            aStarAlgorithm.runAStar();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, 
+                "Error running algorithm: " + e.getMessage(), 
+                "Algorithm Error", 
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    public void runBidirectional() {
+        if (!checkEndpoints()) {
+            return;
+        }
+        try {
+            bidirectionalAlgorithm.setNodes(getNodes());
+            bidirectionalAlgorithm.setStartNode(getStartNode());
+            bidirectionalAlgorithm.setEndNode(getEndNode());
+            bidirectionalAlgorithm.runBidirectional();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, 
+                "Error running algorithm: " + e.getMessage(), 
+                "Algorithm Error", 
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    /**
+     * Point-to-point searches need both ends; warn instead of running
+     */
+    private boolean checkEndpoints() {
+        if (getStartNode() == null || getEndNode() == null) {
+            JOptionPane.showMessageDialog(this, 
+                "Please set both a start and an end node first (right-click on a node)", 
+                "Missing Start or End Node", 
+                JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+        return true;
+    }
+    
     public void runBellmanFord() {
         if (getStartNode() == null) {
             JOptionPane.showMessageDialog(this, 
@@ -411,6 +732,8 @@ public class GraphPanel extends JPanel {
         }
         
         try {
+            // Bellman-Ford works in passes rather than settling nodes
+            searchCounters.clear();
             bellmanFordAlgorithm.setNodes(dijkstraAlgorithm.getNodes());
             bellmanFordAlgorithm.runBellmanFord();
         } catch (Exception e) {
@@ -0,0 +1,98 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.AnimationEngine;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Captures the per-node and per-edge state that shortest path animations mutate
+ */
+class GraphSnapshotter implements AnimationEngine.Snapshotter {
+    private final Supplier<List<GraphNode>> nodes;
+    private final SearchCounters counters;
+    
+    GraphSnapshotter(Supplier<List<GraphNode>> nodes, SearchCounters counters) {
+        this.nodes = nodes;
+        this.counters = counters;
+    }
+    
+    private static class NodeState {
+        final GraphNode node;
+        final int distance;
+        final GraphNode predecessor;
+        final boolean visited;
+        final boolean highlighted;
+        final boolean inPath;
+        final Color color;
+        
+        NodeState(GraphNode node) {
+            this.node = node;
+            this.distance = node.getDistance();
+            this.predecessor = node.getPredecessor();
+            this.visited = node.isVisited();
+            this.highlighted = node.isHighlighted();
+            this.inPath = node.isInPath();
+            this.color = node.getColor();
+        }
+        
+        void restore() {
+            node.setDistance(distance);
+            node.setPredecessor(predecessor);
+            node.setVisited(visited);
+            node.setInPath(inPath);
+            node.setHighlighted(highlighted);
+            node.setColor(color);
+        }
+    }
+    
+    private static class EdgeState {
+        final GraphEdge edge;
+        final boolean highlighted;
+        final Color color;
+        
+        EdgeState(GraphEdge edge) {
+            this.edge = edge;
+            this.highlighted = edge.isHighlighted();
+            this.color = edge.getColor();
+        }
+        
+        void restore() {
+            edge.setHighlighted(highlighted);
+            edge.setColor(color);
+        }
+    }
+    
+    private static class Snapshot {
+        final List<NodeState> nodeStates = new ArrayList<>();
+        final List<EdgeState> edgeStates = new ArrayList<>();
+        Object counters;
+    }
+    
+    @Override
+    public Object capture() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.counters = counters.capture();
+        for (GraphNode node : nodes.get()) {
+            snapshot.nodeStates.add(new NodeState(node));
+            for (GraphEdge edge : node.getEdges()) {
+                snapshot.edgeStates.add(new EdgeState(edge));
+            }
+        }
+        return snapshot;
+    }
+    
+    @Override
+    public void restore(Object state) {
+        Snapshot snapshot = (Snapshot) state;
+        counters.restore(snapshot.counters);
+        for (NodeState nodeState : snapshot.nodeStates) {
+            nodeState.restore();
+        }
+        for (EdgeState edgeState : snapshot.edgeStates) {
+            edgeState.restore();
+        }
+    }
+}
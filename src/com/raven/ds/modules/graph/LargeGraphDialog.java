@@ -0,0 +1,544 @@
+package com.raven.ds.modules.graph;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs the headless shortest-path cores on graphs far beyond what the
+ * canvas can draw: generated road grids, DIMACS files and edge lists.
+ * Run compares single-source algorithms; Query compares point-to-point searches;
+ * Scaling times the parallel ones at 1, 2, 4... threads
+ */
+public class LargeGraphDialog extends JDialog {
+    // Bellman-Ford is O(VE); past this many edges a run can take minutes
+    private static final int BELLMAN_FORD_EDGE_LIMIT = 1_000_000;
+
+    private final GraphPanel visualizer;
+    private CompactGraph graph;
+
+    private JSpinner gridSpinner;
+    private JCheckBox undirectedCheck;
+    private JSpinner sourceSpinner;
+    private JCheckBox binaryDijkstraCheck;
+    private JCheckBox quaternaryDijkstraCheck;
+    private JCheckBox spfaCheck;
+    private JCheckBox bellmanFordCheck;
+    private JSpinner threadsSpinner;
+    private JCheckBox parallelBellmanFordCheck;
+    private JCheckBox deltaSteppingCheck;
+    private JSpinner targetSpinner;
+    private JCheckBox euclideanCheck;
+    private JCheckBox manhattanCheck;
+    private JCheckBox bidirectionalCheck;
+    private Button runBtn;
+    private Button queryBtn;
+    private Button scalingBtn;
+    private Button coordinatesBtn;
+    private Button showBtn;
+    private JLabel graphLabel;
+    private JTextArea resultsArea;
+
+    public LargeGraphDialog(Frame owner, GraphPanel visualizer) {
+        super(owner, "Large Graph Mode", false);
+        this.visualizer = visualizer;
+
+        initComponents();
+        setSize(760, 600);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow][]", "[][][][][][][grow]"));
+
+        gridSpinner = new JSpinner(new SpinnerNumberModel(500, 10, 1500, 10));
+        gridSpinner.setToolTipText("Grid side; 1000 gives a million intersections and four million arcs");
+        Button gridBtn = createButton("Road Grid", new Color(46, 204, 113), "Generate a side x side road grid");
+        Button dimacsBtn = createButton("DIMACS...", new Color(52, 152, 219), "Load a DIMACS .gr or .gr.gz file");
+        Button edgeListBtn = createButton("Edge List...", new Color(52, 152, 219), "Load a 'u v [w]' edge list");
+        Button panelBtn = createButton("From Canvas", new Color(155, 89, 182), "Use the graph drawn on the canvas");
+        coordinatesBtn = createButton("Coordinates...", new Color(52, 152, 219),
+                "Attach node positions from a DIMACS .co file, needed by A*");
+        undirectedCheck = new JCheckBox("Undirected");
+        undirectedCheck.setToolTipText("Add the reverse arc for every edge-list line");
+
+        sourceSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 0, 1));
+        binaryDijkstraCheck = new JCheckBox("Dijkstra (binary heap)", true);
+        quaternaryDijkstraCheck = new JCheckBox("Dijkstra (4-ary heap)", true);
+        spfaCheck = new JCheckBox("SPFA", true);
+        bellmanFordCheck = new JCheckBox("Bellman-Ford", true);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        threadsSpinner = new JSpinner(new SpinnerNumberModel(cores, 1, Math.max(64, cores), 1));
+        threadsSpinner.setToolTipText("Fork-join pool size; Scaling doubles up to this from 1");
+        parallelBellmanFordCheck = new JCheckBox("Parallel Bellman-Ford", true);
+        deltaSteppingCheck = new JCheckBox("Delta-stepping", true);
+        deltaSteppingCheck.setToolTipText("Bucket width is the mean arc weight times the mean out-degree");
+
+        targetSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 0, 1));
+        euclideanCheck = new JCheckBox("A* (Euclidean)", true);
+        manhattanCheck = new JCheckBox("A* (Manhattan)", true);
+        bidirectionalCheck = new JCheckBox("Bidirectional Dijkstra", true);
+
+        runBtn = createButton("Run", new Color(231, 76, 60), "Run the selected algorithms from the source node");
+        queryBtn = createButton("Query", new Color(22, 160, 133),
+                "Source-to-target query; Dijkstra stopping at the target is the baseline");
+        scalingBtn = createButton("Scaling", new Color(230, 126, 34),
+                "Time the parallel algorithms at 1, 2, 4... threads against serial Dijkstra");
+        showBtn = createButton("Show on Canvas", new Color(241, 196, 15), "Draw this graph on the canvas");
+        showBtn.setForeground(Color.BLACK);
+
+        graphLabel = new JLabel("No graph loaded");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Graph:"), "cell 0 0");
+        panel.add(new JLabel("Side:"), "cell 1 0, split 7");
+        panel.add(gridSpinner, "cell 1 0");
+        panel.add(gridBtn, "cell 1 0");
+        panel.add(dimacsBtn, "cell 1 0, gapleft 15");
+        panel.add(edgeListBtn, "cell 1 0");
+        panel.add(undirectedCheck, "cell 1 0");
+        panel.add(panelBtn, "cell 1 0");
+        panel.add(graphLabel, "cell 1 1, span 2, split 2");
+        panel.add(coordinatesBtn, "cell 1 1, gapleft push");
+        panel.add(new JLabel("Source:"), "cell 0 2");
+        panel.add(sourceSpinner, "cell 1 2, split 5, w 90!");
+        panel.add(binaryDijkstraCheck, "cell 1 2, gapleft 15");
+        panel.add(quaternaryDijkstraCheck, "cell 1 2");
+        panel.add(spfaCheck, "cell 1 2");
+        panel.add(bellmanFordCheck, "cell 1 2");
+        panel.add(new JLabel("Threads:"), "cell 0 3");
+        panel.add(threadsSpinner, "cell 1 3, split 3, w 90!");
+        panel.add(parallelBellmanFordCheck, "cell 1 3, gapleft 15");
+        panel.add(deltaSteppingCheck, "cell 1 3");
+        panel.add(new JLabel("Target:"), "cell 0 4");
+        panel.add(targetSpinner, "cell 1 4, split 4, w 90!");
+        panel.add(euclideanCheck, "cell 1 4, gapleft 15");
+        panel.add(manhattanCheck, "cell 1 4");
+        panel.add(bidirectionalCheck, "cell 1 4");
+        panel.add(runBtn, "cell 1 5");
+        panel.add(queryBtn, "cell 1 5");
+        panel.add(scalingBtn, "cell 1 5");
+        panel.add(showBtn, "cell 1 5");
+        panel.add(new JScrollPane(resultsArea), "cell 0 6, span 3, grow");
+        setContentPane(panel);
+        updateButtons();
+
+        gridBtn.addActionListener(e -> {
+            int side = (Integer) gridSpinner.getValue();
+            load("road grid " + side + "x" + side, () -> CompactGraph.roadGrid(side, side, 42));
+        });
+        dimacsBtn.addActionListener(e -> {
+            File file = chooseFile();
+            if (file != null) {
+                load(file.getName(), () -> CompactGraph.readDimacs(file));
+            }
+        });
+        edgeListBtn.addActionListener(e -> {
+            File file = chooseFile();
+            boolean undirected = undirectedCheck.isSelected();
+            if (file != null) {
+                load(file.getName(), () -> CompactGraph.readEdgeList(file, undirected));
+            }
+        });
+        panelBtn.addActionListener(e -> {
+            List<GraphNode> nodes = visualizer.getDijkstraAlgorithm().getNodes();
+            load("canvas graph", () -> CompactGraph.fromNodes(nodes));
+        });
+        coordinatesBtn.addActionListener(e -> {
+            File file = chooseFile();
+            if (file == null) {
+                return;
+            }
+            try {
+                graph.readDimacsCoordinates(file);
+                graphLabel.setText(graphLabel.getText() + " + coordinates");
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(this,
+                    "Failed to load coordinates: " + ex.getMessage(),
+                    "Load Error",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+            updateButtons();
+        });
+        runBtn.addActionListener(e -> runSelected());
+        queryBtn.addActionListener(e -> runQuery());
+        scalingBtn.addActionListener(e -> runScaling());
+        showBtn.addActionListener(e -> {
+            visualizer.showGraph(graph);
+            graphLabel.setText(graphLabel.getText() + " - shown on canvas");
+        });
+    }
+
+    private Button createButton(String text, Color color, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(text.length() > 10 ? 140 : 110, 36));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private File chooseFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        return fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION
+                ? fileChooser.getSelectedFile() : null;
+    }
+
+    private void load(String name, Callable<CompactGraph> loader) {
+        graphLabel.setText("Loading " + name + "...");
+        setActionsEnabled(false);
+        showBtn.setEnabled(false);
+        new SwingWorker<CompactGraph, Void>() {
+            private long elapsedNanos;
+
+            @Override
+            protected CompactGraph doInBackground() throws Exception {
+                long start = System.nanoTime();
+                CompactGraph loaded = loader.call();
+                elapsedNanos = System.nanoTime() - start;
+                return loaded;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    graph = get();
+                    graphLabel.setText(String.format("%s: %,d nodes, %,d arcs (loaded in %.0f ms)",
+                            name, graph.getNodeCount(), graph.getEdgeCount(), elapsedNanos / 1e6));
+                    int last = Math.max(0, graph.getNodeCount() - 1);
+                    sourceSpinner.setModel(new SpinnerNumberModel(0, 0, last, 1));
+                    targetSpinner.setModel(new SpinnerNumberModel(last, 0, last, 1));
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    graphLabel.setText("Could not load " + name);
+                    JOptionPane.showMessageDialog(LargeGraphDialog.this,
+                        "Failed to load " + name + ": " + cause.getMessage(),
+                        "Load Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+                updateButtons();
+            }
+        }.execute();
+    }
+
+    private void runSelected() {
+        if (graph == null || graph.getNodeCount() == 0) {
+            return;
+        }
+        CompactGraph target = graph;
+        int source = (Integer) sourceSpinner.getValue();
+        boolean binary = binaryDijkstraCheck.isSelected();
+        boolean quaternary = quaternaryDijkstraCheck.isSelected();
+        boolean spfa = spfaCheck.isSelected();
+        boolean bellmanFord = bellmanFordCheck.isSelected();
+        boolean parallelBellmanFord = parallelBellmanFordCheck.isSelected();
+        boolean deltaStepping = deltaSteppingCheck.isSelected();
+        int threads = (Integer) threadsSpinner.getValue();
+        setActionsEnabled(false);
+        resultsArea.append(String.format("%s%nSource %d%n%-24s %10s %14s %14s %10s  %s%n",
+                graphLabel.getText(), source, "Algorithm", "Time (ms)", "Comparisons", "Relaxations",
+                "Reached", "Notes"));
+
+        new SwingWorker<Void, String>() {
+            private int[] reference;
+
+            @Override
+            protected Void doInBackground() {
+                if (binary) {
+                    OperationStats stats = new OperationStats();
+                    DijkstraAlgorithm.Headless dijkstra = new DijkstraAlgorithm.Headless(stats, 2);
+                    measure("Dijkstra (binary)", stats, () -> dijkstra.run(target, source));
+                }
+                if (quaternary) {
+                    OperationStats stats = new OperationStats();
+                    DijkstraAlgorithm.Headless dijkstra = new DijkstraAlgorithm.Headless(stats, 4);
+                    measure("Dijkstra (4-ary)", stats, () -> dijkstra.run(target, source));
+                }
+                if (spfa) {
+                    OperationStats stats = new OperationStats();
+                    BellmanFordAlgorithm.Spfa queue = new BellmanFordAlgorithm.Spfa(stats);
+                    measure("SPFA", stats, () -> queue.run(target, source));
+                    publish(String.format("%-24s %s%n", "", queue.hasNegativeCycle()
+                            ? "negative cycle reachable"
+                            : String.format("%,d node scans", queue.getDequeues())));
+                }
+                if (bellmanFord) {
+                    if (target.getEdgeCount() > BELLMAN_FORD_EDGE_LIMIT) {
+                        publish(String.format("%-24s skipped: more than %,d arcs%n", "Bellman-Ford",
+                                BELLMAN_FORD_EDGE_LIMIT));
+                    } else {
+                        OperationStats stats = new OperationStats();
+                        BellmanFordAlgorithm.Headless passes = new BellmanFordAlgorithm.Headless(stats);
+                        measure("Bellman-Ford", stats, () -> passes.run(target, source));
+                        publish(String.format("%-24s %s%n", "", passes.hasNegativeCycle()
+                                ? "negative cycle reachable"
+                                : passes.getPasses() + " passes before nothing changed"));
+                    }
+                }
+                if (parallelBellmanFord || deltaStepping) {
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    try {
+                        if (parallelBellmanFord) {
+                            OperationStats stats = new OperationStats();
+                            BellmanFordAlgorithm.Parallel passes = new BellmanFordAlgorithm.Parallel(stats, pool);
+                            measure("Parallel Bellman-Ford", stats, () -> passes.run(target, source));
+                            publish(String.format("%-24s %s%n", "", passes.hasNegativeCycle()
+                                    ? "negative cycle reachable"
+                                    : String.format("%d threads, %d passes", threads, passes.getPasses())));
+                        }
+                        if (deltaStepping) {
+                            if (target.hasNegativeWeights()) {
+                                publish(String.format("%-24s skipped: negative weights%n", "Delta-stepping"));
+                            } else {
+                                OperationStats stats = new OperationStats();
+                                DeltaStepping buckets = new DeltaStepping(stats, pool, DeltaStepping.suggestDelta(target));
+                                measure("Delta-stepping", stats, () -> buckets.run(target, source));
+                                publish(String.format("%-24s %d threads, delta %,d, %,d buckets, %,d rounds%n", "",
+                                        threads, buckets.getDelta(), buckets.getBucketsUsed(), buckets.getRounds()));
+                            }
+                        }
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+                return null;
+            }
+
+            /**
+             * Time one run and compare its distances with the first algorithm's
+             */
+            private void measure(String name, OperationStats stats, Supplier<int[]> run) {
+                stats.start();
+                int[] distances = run.get();
+                stats.stop();
+                int reached = 0;
+                for (int distance : distances) {
+                    if (distance != Integer.MAX_VALUE) {
+                        reached++;
+                    }
+                }
+                String agreement = "";
+                if (reference == null) {
+                    reference = distances;
+                } else {
+                    agreement = Arrays.equals(reference, distances) ? "same distances" : "distances differ";
+                }
+                publish(String.format("%-24s %10.1f %,14d %,14d %,10d  %s%n", name, stats.getElapsedMillis(),
+                        stats.getComparisons(), stats.getRelaxations(), reached, agreement));
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                resultsArea.append(System.lineSeparator());
+                updateButtons();
+            }
+        }.execute();
+    }
+
+    /**
+     * Point-to-point comparison: how many nodes each search settles before it can stop
+     */
+    private void runQuery() {
+        if (graph == null || graph.getNodeCount() == 0) {
+            return;
+        }
+        CompactGraph target = graph;
+        int source = (Integer) sourceSpinner.getValue();
+        int destination = (Integer) targetSpinner.getValue();
+        boolean geometric = graph.hasCoordinates();
+        boolean euclidean = euclideanCheck.isSelected() && geometric;
+        boolean manhattan = manhattanCheck.isSelected() && geometric;
+        boolean bidirectional = bidirectionalCheck.isSelected();
+        setActionsEnabled(false);
+        resultsArea.append(String.format("%s%nQuery %d -> %d%n%-24s %10s %12s %14s %12s  %s%n",
+                graphLabel.getText(), source, destination, "Algorithm", "Time (ms)", "Settled", "Relaxations",
+                "Distance", "Notes"));
+        if (!geometric && (euclideanCheck.isSelected() || manhattanCheck.isSelected())) {
+            resultsArea.append(String.format("%-24s skipped: the graph has no coordinates%n", "A*"));
+        }
+
+        new SwingWorker<Void, String>() {
+            private int reference;
+
+            @Override
+            protected Void doInBackground() {
+                OperationStats dijkstraStats = new OperationStats();
+                DijkstraAlgorithm.Headless dijkstra = new DijkstraAlgorithm.Headless(dijkstraStats);
+                reference = measure("Dijkstra (early exit)", dijkstraStats,
+                        () -> dijkstra.run(target, source, destination), dijkstra::getSettledCount);
+                if (euclidean) {
+                    OperationStats stats = new OperationStats();
+                    AStarAlgorithm.Headless aStar = new AStarAlgorithm.Headless(stats, AStarAlgorithm.Heuristic.EUCLIDEAN);
+                    measure("A* (Euclidean)", stats, () -> aStar.run(target, source, destination),
+                            aStar::getSettledCount);
+                }
+                if (manhattan) {
+                    OperationStats stats = new OperationStats();
+                    AStarAlgorithm.Headless aStar = new AStarAlgorithm.Headless(stats, AStarAlgorithm.Heuristic.MANHATTAN);
+                    measure("A* (Manhattan)", stats, () -> aStar.run(target, source, destination),
+                            aStar::getSettledCount);
+                }
+                if (bidirectional) {
+                    OperationStats stats = new OperationStats();
+                    BidirectionalDijkstraAlgorithm.Headless search = new BidirectionalDijkstraAlgorithm.Headless(stats);
+                    measure("Bidirectional", stats, () -> search.run(target, source, destination),
+                            search::getSettledCount);
+                }
+                return null;
+            }
+
+            private int measure(String name, OperationStats stats, IntSupplier run, IntSupplier settled) {
+                stats.start();
+                int distance = run.getAsInt();
+                stats.stop();
+                String note = name.startsWith("Dijkstra") ? "" : distance == reference ? "same distance" : "distance differs";
+                publish(String.format("%-24s %10.1f %,12d %,14d %12s  %s%n", name, stats.getElapsedMillis(),
+                        settled.getAsInt(), stats.getRelaxations(),
+                        distance == Integer.MAX_VALUE ? "unreachable" : String.format("%,d", distance), note));
+                return distance;
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                resultsArea.append(System.lineSeparator());
+                updateButtons();
+            }
+        }.execute();
+    }
+
+    /**
+     * Speedup versus cores: each parallel algorithm is warmed up once, then timed
+     * at 1, 2, 4... threads up to the Threads value; 4-ary Dijkstra on one core
+     * is the serial baseline
+     */
+    private void runScaling() {
+        if (graph == null || graph.getNodeCount() == 0) {
+            return;
+        }
+        CompactGraph target = graph;
+        int source = (Integer) sourceSpinner.getValue();
+        boolean parallelBellmanFord = parallelBellmanFordCheck.isSelected();
+        boolean deltaStepping = deltaSteppingCheck.isSelected() && !target.hasNegativeWeights();
+        int maxThreads = (Integer) threadsSpinner.getValue();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+        setActionsEnabled(false);
+        resultsArea.append(String.format("%s%nScaling from source %d, %d cores available%n%-24s %8s %10s %9s %12s  %s%n",
+                graphLabel.getText(), source, Runtime.getRuntime().availableProcessors(), "Algorithm", "Threads",
+                "Time (ms)", "Speedup", "vs Dijkstra", "Notes"));
+        if (deltaSteppingCheck.isSelected() && !deltaStepping) {
+            resultsArea.append(String.format("%-24s skipped: negative weights%n", "Delta-stepping"));
+        }
+
+        new SwingWorker<Void, String>() {
+            private int[] reference;
+            private double dijkstraMillis;
+
+            @Override
+            protected Void doInBackground() {
+                OperationStats dijkstraStats = new OperationStats();
+                new DijkstraAlgorithm.Headless(dijkstraStats).run(target, source);
+                dijkstraStats.reset();
+                dijkstraStats.start();
+                reference = new DijkstraAlgorithm.Headless(dijkstraStats).run(target, source);
+                dijkstraStats.stop();
+                dijkstraMillis = dijkstraStats.getElapsedMillis();
+                publish(String.format("%-24s %8d %10.1f %9s %12s%n", "Dijkstra (4-ary)", 1, dijkstraMillis, "", "1.00x"));
+
+                if (parallelBellmanFord) {
+                    scale("Parallel Bellman-Ford", pool -> new BellmanFordAlgorithm.Parallel(new OperationStats(), pool)
+                            .run(target, source));
+                }
+                if (deltaStepping) {
+                    int delta = DeltaStepping.suggestDelta(target);
+                    scale("Delta-stepping", pool -> new DeltaStepping(new OperationStats(), pool, delta)
+                            .run(target, source));
+                }
+                return null;
+            }
+
+            private void scale(String name, Function<ForkJoinPool, int[]> run) {
+                double single = 0;
+                for (int i = 0; i < threadCounts.size(); i++) {
+                    int threads = threadCounts.get(i);
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    try {
+                        if (i == 0) {
+                            run.apply(pool);
+                        }
+                        long start = System.nanoTime();
+                        int[] distances = run.apply(pool);
+                        double millis = (System.nanoTime() - start) / 1e6;
+                        if (i == 0) {
+                            single = millis;
+                        }
+                        publish(String.format("%-24s %8d %10.1f %8.2fx %11.2fx  %s%n", i == 0 ? name : "", threads,
+                                millis, single / millis, dijkstraMillis / millis,
+                                Arrays.equals(reference, distances) ? "" : "distances differ"));
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                resultsArea.append(System.lineSeparator());
+                updateButtons();
+            }
+        }.execute();
+    }
+
+    private void setActionsEnabled(boolean enabled) {
+        runBtn.setEnabled(enabled);
+        queryBtn.setEnabled(enabled);
+        scalingBtn.setEnabled(enabled);
+    }
+
+    private void updateButtons() {
+        setActionsEnabled(graph != null && graph.getNodeCount() > 0);
+        coordinatesBtn.setEnabled(graph != null);
+        showBtn.setEnabled(graph != null && graph.getNodeCount() <= GraphPanel.MAX_VIEW_NODES);
+    }
+}
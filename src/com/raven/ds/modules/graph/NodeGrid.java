@@ -0,0 +1,136 @@
+package com.raven.ds.modules.graph;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over node centres for hit testing and viewport culling
+ * Cells are keyed by packed cell coordinates, so the canvas can grow in any
+ * direction after panning; a point query only looks at the few cells within a
+ * node radius of the point, a rectangle query at the cells it overlaps
+ */
+class NodeGrid {
+    // One node diameter per cell: a hit test touches at most 2 x 2 cells
+    static final int CELL_SIZE = 2 * GraphNode.NODE_RADIUS;
+
+    private final Map<Long, List<GraphNode>> cells = new HashMap<>();
+    private final Map<GraphNode, Long> cellOf = new HashMap<>();
+
+    void rebuild(List<GraphNode> nodes) {
+        cells.clear();
+        cellOf.clear();
+        for (GraphNode node : nodes) {
+            add(node);
+        }
+    }
+
+    void add(GraphNode node) {
+        long key = keyOf(node.getX(), node.getY());
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        cellOf.put(node, key);
+    }
+
+    void remove(GraphNode node) {
+        Long key = cellOf.remove(node);
+        if (key != null) {
+            List<GraphNode> cell = cells.get(key);
+            cell.remove(node);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Re-file a node after its position changed; a no-op while it stays in its cell
+     */
+    void moved(GraphNode node) {
+        Long key = cellOf.get(node);
+        if (key == null || key != keyOf(node.getX(), node.getY())) {
+            remove(node);
+            add(node);
+        }
+    }
+
+    int size() {
+        return cellOf.size();
+    }
+
+    /**
+     * The node whose circle contains the point, the nearest centre if circles overlap
+     */
+    GraphNode nodeAt(int x, int y) {
+        int r = GraphNode.NODE_RADIUS;
+        GraphNode best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (int cx = cell(x - r); cx <= cell(x + r); cx++) {
+            for (int cy = cell(y - r); cy <= cell(y + r); cy++) {
+                List<GraphNode> nodes = cells.get(pack(cx, cy));
+                if (nodes == null) {
+                    continue;
+                }
+                for (GraphNode node : nodes) {
+                    long dx = node.getX() - x;
+                    long dy = node.getY() - y;
+                    long distance = dx * dx + dy * dy;
+                    if (distance <= (long) r * r && distance < bestDistance) {
+                        best = node;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Nodes whose centre lies inside the area
+     */
+    List<GraphNode> query(Rectangle area) {
+        List<GraphNode> result = new ArrayList<>();
+        int minX = cell(area.x);
+        int maxX = cell(area.x + area.width);
+        int minY = cell(area.y);
+        int maxY = cell(area.y + area.height);
+        long covered = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (covered > cells.size()) {
+            // Zoomed far out: walking the occupied cells is cheaper than probing empty ones
+            for (List<GraphNode> nodes : cells.values()) {
+                collect(nodes, area, result);
+            }
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    List<GraphNode> nodes = cells.get(pack(cx, cy));
+                    if (nodes != null) {
+                        collect(nodes, area, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void collect(List<GraphNode> nodes, Rectangle area, List<GraphNode> result) {
+        for (GraphNode node : nodes) {
+            if (area.contains(node.getX(), node.getY())) {
+                result.add(node);
+            }
+        }
+    }
+
+    private static int cell(int coordinate) {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private static long keyOf(int x, int y) {
+        return pack(cell(x), cell(y));
+    }
+
+    private static long pack(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,58 @@
+package com.raven.ds.modules.graph;
+
+/**
+ * Settled-node and relaxed-edge totals shown on the canvas while a search animates
+ * Steps write absolute values, and GraphSnapshotter saves them with the node
+ * state, so seeking the timeline keeps the numbers in step with the picture
+ */
+class SearchCounters {
+    private String algorithm;
+    private int settled;
+    private int relaxed;
+    private String note;
+
+    void start(String algorithm) {
+        this.algorithm = algorithm;
+        settled = 0;
+        relaxed = 0;
+        note = null;
+    }
+
+    void clear() {
+        algorithm = null;
+        note = null;
+    }
+
+    void setSettled(int settled) {
+        this.settled = settled;
+    }
+
+    void setRelaxed(int relaxed) {
+        this.relaxed = relaxed;
+    }
+
+    /**
+     * Extra line under the totals, e.g. what plain Dijkstra would have settled
+     */
+    void setNote(String note) {
+        this.note = note;
+    }
+
+    boolean isActive() { return algorithm != null; }
+    String getAlgorithm() { return algorithm; }
+    int getSettled() { return settled; }
+    int getRelaxed() { return relaxed; }
+    String getNote() { return note; }
+
+    Object capture() {
+        return new Object[] {algorithm, settled, relaxed, note};
+    }
+
+    void restore(Object snapshot) {
+        Object[] state = (Object[]) snapshot;
+        algorithm = (String) state[0];
+        settled = (Integer) state[1];
+        relaxed = (Integer) state[2];
+        note = (String) state[3];
+    }
+}
@@ -0,0 +1,160 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Separate chaining table over the HashTableAlgorithm hash functions
+ * Counts key comparisons along the chains; grows past maxLoadFactor when
+ * that is positive, otherwise keeps its capacity like the animated table.
+ * New keys go to the tail of their chain, so a chain lists its keys in
+ * insertion order until the next resize
+ */
+public class ChainedHashTable {
+    private static final class Entry {
+        final String key;
+        String value;
+        Entry next;
+
+        Entry(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final OperationStats stats;
+    private final HashFunction hashFunction;
+    private final double maxLoadFactor;
+    private Entry[] table;
+    private int size;
+
+    public ChainedHashTable(OperationStats stats, HashFunction hashFunction, int capacity, double maxLoadFactor) {
+        this.stats = stats;
+        this.hashFunction = hashFunction;
+        this.maxLoadFactor = maxLoadFactor;
+        this.table = new Entry[Math.max(1, capacity)];
+    }
+
+    /**
+     * @return false if the key was already present and only its value changed
+     */
+    public boolean put(String key, String value) {
+        int index = indexOf(key);
+        Entry last = null;
+        for (Entry e = table[index]; e != null; last = e, e = e.next) {
+            stats.comparison();
+            if (e.key.equals(key)) {
+                e.value = value;
+                return false;
+            }
+        }
+        Entry added = new Entry(key, value);
+        if (last == null) {
+            table[index] = added;
+        } else {
+            last.next = added;
+        }
+        size++;
+        if (maxLoadFactor > 0 && size > table.length * maxLoadFactor) {
+            resize(table.length * 2);
+        }
+        return true;
+    }
+
+    public String get(String key) {
+        for (Entry e = table[indexOf(key)]; e != null; e = e.next) {
+            stats.comparison();
+            if (e.key.equals(key)) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    public boolean remove(String key) {
+        int index = indexOf(key);
+        Entry previous = null;
+        for (Entry e = table[index]; e != null; previous = e, e = e.next) {
+            stats.comparison();
+            if (e.key.equals(key)) {
+                if (previous == null) {
+                    table[index] = e.next;
+                } else {
+                    previous.next = e.next;
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rehash every entry into newCapacity chains
+     */
+    public void resize(int newCapacity) {
+        Entry[] old = table;
+        table = new Entry[newCapacity];
+        for (Entry head : old) {
+            for (Entry e = head; e != null; ) {
+                Entry next = e.next;
+                int index = indexOf(e.key);
+                e.next = table[index];
+                table[index] = e;
+                stats.moves(1);
+                e = next;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    /**
+     * Chain a key hashes to at the current capacity
+     */
+    public int indexOf(String key) {
+        return HashTableAlgorithm.hash(hashFunction, key, table.length);
+    }
+
+    /**
+     * Visit one chain's entries from head to tail
+     */
+    public void forEachInChain(int index, BiConsumer<String, String> action) {
+        for (Entry e = table[index]; e != null; e = e.next) {
+            action.accept(e.key, e.value);
+        }
+    }
+
+    public int chainLength(int index) {
+        int length = 0;
+        for (Entry e = table[index]; e != null; e = e.next) {
+            length++;
+        }
+        return length;
+    }
+
+    public int longestChain() {
+        int longest = 0;
+        for (int index = 0; index < table.length; index++) {
+            longest = Math.max(longest, chainLength(index));
+        }
+        return longest;
+    }
+
+    public HashFunction getHashFunction() {
+        return hashFunction;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+}
@@ -0,0 +1,265 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Measures how evenly a hash function spreads a key corpus over m buckets
+ * and how fast it hashes. The bucket loads give the load histogram, the
+ * chi-squared statistic against a uniform spread, and the chain lengths a
+ * chained table would see. Probe lengths are those of linear probing on the
+ * same m slots; the total displacement does not depend on insertion order,
+ * so it comes straight from the loads in O(n + m) even when every key lands
+ * on one slot. Throughput times hash() over the corpus, which allocates
+ * nothing, and the allocation counter confirms it where the JVM has one.
+ * String.hashCode is cached in each String after its first call, so the
+ * DIVISION and MULTIPLICATION timings are mostly a field read
+ */
+public final class HashAnalyzer {
+    /** Histogram bins for bucket loads 0 .. HISTOGRAM_BINS - 2, the last one collects the rest */
+    public static final int HISTOGRAM_BINS = 9;
+    private static final long SEED = 42;
+
+    public enum Corpus {
+        SEQUENTIAL("key0, key1, key2 ..."),
+        NUMERIC("0, 1, 2 ... as decimal strings"),
+        RANDOM("random alphanumerics, 8 to 24 characters"),
+        URLS("long URLs sharing a 34-character prefix"),
+        COLLIDING("Aa/BB blocks that share one String.hashCode");
+
+        private final String description;
+
+        Corpus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private HashAnalyzer() {
+    }
+
+    /**
+     * n distinct keys of the corpus, the same ones on every call
+     */
+    public static String[] keys(Corpus corpus, int n) {
+        String[] keys = new String[n];
+        switch (corpus) {
+            case NUMERIC:
+                for (int i = 0; i < n; i++) {
+                    keys[i] = Integer.toString(i);
+                }
+                break;
+            case RANDOM:
+                String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+                Random random = new Random(SEED);
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < n; i++) {
+                    builder.setLength(0);
+                    int length = 8 + random.nextInt(17);
+                    for (int c = 0; c < length; c++) {
+                        builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    }
+                    // A suffix keeps the keys distinct
+                    keys[i] = builder.append('-').append(i).toString();
+                }
+                break;
+            case URLS:
+                for (int i = 0; i < n; i++) {
+                    keys[i] = "https://example.com/api/v1/users/" + i + "/orders?page=" + (i % 10);
+                }
+                break;
+            case COLLIDING:
+                // Equal-length concatenations of "Aa" and "BB" share String.hashCode
+                int blocks = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1)));
+                StringBuilder key = new StringBuilder();
+                for (int i = 0; i < n; i++) {
+                    key.setLength(0);
+                    for (int bit = blocks - 1; bit >= 0; bit--) {
+                        key.append(((i >>> bit) & 1) == 0 ? "Aa" : "BB");
+                    }
+                    keys[i] = key.toString();
+                }
+                break;
+            case SEQUENTIAL:
+            default:
+                for (int i = 0; i < n; i++) {
+                    keys[i] = "key" + i;
+                }
+        }
+        return keys;
+    }
+
+    /**
+     * Buckets for n keys at the given load factor; always more than n, so
+     * linear probing has a free slot
+     */
+    public static int capacityFor(int n, double loadFactor) {
+        return Math.max(n + 1, (int) Math.ceil(n / loadFactor));
+    }
+
+    /**
+     * Hash the keys into capacity buckets, then time rounds passes of hash() over them
+     */
+    public static Report analyze(HashFunction function, String[] keys, int capacity, int rounds) {
+        if (capacity <= keys.length) {
+            throw new IllegalArgumentException("Linear probing needs more buckets than keys");
+        }
+        int[] loads = new int[capacity];
+        for (String key : keys) {
+            loads[HashTableAlgorithm.hash(function, key, capacity)]++;
+        }
+        Report report = new Report(function, keys.length, capacity);
+        report.measureLoads(loads);
+        report.measureProbes(loads);
+        report.measureThroughput(keys, rounds);
+        return report;
+    }
+
+    public static final class Report {
+        private final HashFunction function;
+        private final int keys;
+        private final int capacity;
+        private final long[] histogram = new long[HISTOGRAM_BINS];
+        private double chiSquared;
+        private double averageChain;
+        private int maxChain;
+        private double averageProbe;
+        private int maxProbe;
+        private double hashesPerSecond;
+        private double bytesPerHash = Double.NaN;
+        // Keeps the JIT from dropping the timed loop
+        private int checksum;
+
+        private Report(HashFunction function, int keys, int capacity) {
+            this.function = function;
+            this.keys = keys;
+            this.capacity = capacity;
+        }
+
+        private void measureLoads(int[] loads) {
+            double expected = (double) keys / capacity;
+            long chainSum = 0;
+            for (int load : loads) {
+                histogram[Math.min(load, HISTOGRAM_BINS - 1)]++;
+                double deviation = load - expected;
+                chiSquared += deviation * deviation / expected;
+                // A successful search for the j-th key in a chain compares j keys
+                chainSum += (long) load * (load + 1) / 2;
+                maxChain = Math.max(maxChain, load);
+            }
+            averageChain = keys == 0 ? 0 : (double) chainSum / keys;
+        }
+
+        /**
+         * Linear probing from the loads alone: carry the keys that overflow
+         * a slot into the next one, around the table until none are left.
+         * Every slot a carried key passes is one more probe for it
+         */
+        private void measureProbes(int[] loads) {
+            boolean[] occupied = new boolean[capacity];
+            long carry = 0;
+            long displacement = 0;
+            int run = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int slot = 0; slot < capacity && (pass == 0 || carry > 0); slot++) {
+                    if (pass == 0) {
+                        carry += loads[slot];
+                    }
+                    if (!occupied[slot] && carry > 0) {
+                        occupied[slot] = true;
+                        carry--;
+                    }
+                    displacement += carry;
+                }
+            }
+            // Longest run of occupied slots, wrapping once; a miss probes through the whole run
+            for (int slot = 0; slot < 2 * capacity && run < capacity; slot++) {
+                run = occupied[slot % capacity] ? run + 1 : 0;
+                maxProbe = Math.max(maxProbe, run + 1);
+            }
+            averageProbe = keys == 0 ? 0 : 1 + (double) displacement / keys;
+        }
+
+        private void measureThroughput(String[] keysToHash, int rounds) {
+            int sum = 0;
+            // One untimed pass to compile the hash and, for String.hashCode, to fill its cache
+            for (String key : keysToHash) {
+                sum += HashTableAlgorithm.hash(function, key, capacity);
+            }
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                for (String key : keysToHash) {
+                    sum += HashTableAlgorithm.hash(function, key, capacity);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = allocatedBytes();
+            long hashes = (long) rounds * keysToHash.length;
+            hashesPerSecond = elapsed == 0 ? 0 : hashes * 1e9 / elapsed;
+            if (allocatedBefore >= 0 && allocatedAfter >= 0 && hashes > 0) {
+                bytesPerHash = (double) (allocatedAfter - allocatedBefore) / hashes;
+            }
+            checksum = sum;
+        }
+
+        /**
+         * Bytes this thread has allocated so far, or -1 where the JVM does not count them
+         */
+        private static long allocatedBytes() {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counting = (com.sun.management.ThreadMXBean) threads;
+                if (counting.isThreadAllocatedMemorySupported() && counting.isThreadAllocatedMemoryEnabled()) {
+                    return counting.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Buckets a uniform hash would put in the bin: Poisson with mean n / m
+         */
+        public double getExpectedBuckets(int bin) {
+            double lambda = (double) keys / capacity;
+            double probability = Math.exp(-lambda);
+            double below = 0;
+            for (int load = 0; load < bin; load++) {
+                below += probability;
+                probability *= lambda / (load + 1);
+            }
+            return capacity * (bin == HISTOGRAM_BINS - 1 ? 1 - below : probability);
+        }
+
+        /**
+         * Chi-squared over degrees of freedom; about 1 for a uniform spread
+         */
+        public double getChiSquaredRatio() {
+            return chiSquared / (capacity - 1);
+        }
+
+        /**
+         * Standard deviations the chi-squared statistic sits above its mean
+         */
+        public double getChiSquaredZ() {
+            return (chiSquared - (capacity - 1)) / Math.sqrt(2.0 * (capacity - 1));
+        }
+
+        public HashFunction getFunction() { return function; }
+        public int getKeys() { return keys; }
+        public int getCapacity() { return capacity; }
+        public long getHistogram(int bin) { return histogram[bin]; }
+        public double getChiSquared() { return chiSquared; }
+        public double getAverageChain() { return averageChain; }
+        public int getMaxChain() { return maxChain; }
+        public double getAverageProbe() { return averageProbe; }
+        public int getMaxProbe() { return maxProbe; }
+        public double getHashesPerSecond() { return hashesPerSecond; }
+        public double getBytesPerHash() { return bytesPerHash; }
+        public int getChecksum() { return checksum; }
+    }
+}
@@ -0,0 +1,150 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Runs every hash function over a key corpus headless and tabulates what
+ * HashAnalyzer measures: throughput and allocation per hash, chi-squared
+ * against a uniform spread, chain and linear-probe lengths, and the bucket
+ * load histogram beside the Poisson counts a uniform hash would give
+ */
+public class HashAnalyzerDialog extends JDialog {
+    private JComboBox<HashAnalyzer.Corpus> corpusCombo;
+    private JCheckBox allCorporaBox;
+    private JSpinner sizeSpinner;
+    private JSpinner loadSpinner;
+    private JSpinner roundsSpinner;
+    private Button runBtn;
+    private JTextArea resultsArea;
+
+    public HashAnalyzerDialog(Frame owner) {
+        super(owner, "Analyze Hash Functions", false);
+
+        initComponents();
+        setSize(1000, 640);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][grow]"));
+
+        corpusCombo = new JComboBox<>(HashAnalyzer.Corpus.values());
+        corpusCombo.setToolTipText("Keys to hash");
+        allCorporaBox = new JCheckBox("All corpora");
+        allCorporaBox.setToolTipText("Run every corpus in turn");
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(1_000_000, 1_000, 10_000_000, 250_000));
+        sizeSpinner.setToolTipText("Keys per corpus");
+        loadSpinner = new JSpinner(new SpinnerNumberModel(0.75, 0.1, 0.95, 0.05));
+        loadSpinner.setToolTipText("Keys per bucket; the buckets number keys / load");
+        roundsSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 100, 1));
+        roundsSpinner.setToolTipText("Timed passes of hash() over the corpus");
+        runBtn = new Button();
+        runBtn.setText("Run");
+        runBtn.setBackground(new Color(231, 76, 60));
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(110, 36));
+        runBtn.setToolTipText("Hash the corpus with every function");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Corpus:"), "cell 0 0");
+        panel.add(corpusCombo, "cell 1 0, split 9");
+        panel.add(allCorporaBox, "cell 1 0");
+        panel.add(new JLabel("Keys:"), "cell 1 0, gapleft 15");
+        panel.add(sizeSpinner, "cell 1 0, w 110!");
+        panel.add(new JLabel("Load:"), "cell 1 0, gapleft 15");
+        panel.add(loadSpinner, "cell 1 0, w 70!");
+        panel.add(new JLabel("Rounds:"), "cell 1 0, gapleft 15");
+        panel.add(roundsSpinner, "cell 1 0, w 60!");
+        panel.add(runBtn, "cell 1 0, gapleft push");
+        panel.add(new JScrollPane(resultsArea), "cell 0 1, span 2, grow");
+        setContentPane(panel);
+
+        runBtn.addActionListener(e -> run());
+    }
+
+    private void run() {
+        int n = (Integer) sizeSpinner.getValue();
+        double loadFactor = ((Number) loadSpinner.getValue()).doubleValue();
+        int rounds = (Integer) roundsSpinner.getValue();
+        HashAnalyzer.Corpus[] corpora = allCorporaBox.isSelected() ? HashAnalyzer.Corpus.values()
+                : new HashAnalyzer.Corpus[] {(HashAnalyzer.Corpus) corpusCombo.getSelectedItem()};
+        int capacity = HashAnalyzer.capacityFor(n, loadFactor);
+        runBtn.setEnabled(false);
+        resultsArea.append(String.format("%,d keys in %,d buckets, %d timed rounds. String.hashCode is cached per"
+                + " String, so DIVISION and MULTIPLICATION time a field read%n", n, capacity, rounds));
+
+        new SwingWorker<Void, String>() {
+            @Override
+            protected Void doInBackground() {
+                for (HashAnalyzer.Corpus corpus : corpora) {
+                    String[] keys = HashAnalyzer.keys(corpus, n);
+                    HashAnalyzer.Report[] reports = new HashAnalyzer.Report[HashFunction.values().length];
+                    publish(String.format("%n%s: %s%n%-14s %9s %8s %11s %10s %10s %9s %10s %9s%n", corpus,
+                            corpus.getDescription(), "Function", "Mhash/s", "B/hash", "Chi2/df", "z",
+                            "Avg chain", "Max chain", "Avg probe", "Max miss"));
+                    for (HashFunction function : HashFunction.values()) {
+                        HashAnalyzer.Report report = HashAnalyzer.analyze(function, keys, capacity, rounds);
+                        reports[function.ordinal()] = report;
+                        publish(String.format("%-14s %9.1f %8.3f %11.2f %10.1f %10.2f %,9d %10.2f %,9d%n", function,
+                                report.getHashesPerSecond() / 1e6, report.getBytesPerHash(),
+                                report.getChiSquaredRatio(), report.getChiSquaredZ(), report.getAverageChain(),
+                                report.getMaxChain(), report.getAverageProbe(), report.getMaxProbe()));
+                    }
+                    publish(histogram(reports));
+                }
+                return null;
+            }
+
+            /**
+             * Share of buckets at each load, with the Poisson line to compare against
+             */
+            private String histogram(HashAnalyzer.Report[] reports) {
+                StringBuilder table = new StringBuilder(String.format("%-14s", "Buckets with"));
+                for (int bin = 0; bin < HashAnalyzer.HISTOGRAM_BINS; bin++) {
+                    table.append(String.format(" %6s", bin + (bin == HashAnalyzer.HISTOGRAM_BINS - 1 ? "+" : "")));
+                }
+                table.append(String.format("%n%-14s", "Poisson"));
+                for (int bin = 0; bin < HashAnalyzer.HISTOGRAM_BINS; bin++) {
+                    table.append(String.format(" %5.1f%%", 100 * reports[0].getExpectedBuckets(bin) / capacity));
+                }
+                table.append(System.lineSeparator());
+                for (HashAnalyzer.Report report : reports) {
+                    table.append(String.format("%-14s", report.getFunction()));
+                    for (int bin = 0; bin < HashAnalyzer.HISTOGRAM_BINS; bin++) {
+                        table.append(String.format(" %5.1f%%", 100.0 * report.getHistogram(bin) / capacity));
+                    }
+                    table.append(System.lineSeparator());
+                }
+                return table.toString();
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Run failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                runBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+}
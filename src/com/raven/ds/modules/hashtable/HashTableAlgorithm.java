@@ -2,21 +2,27 @@ package com.raven.ds.modules.hashtable;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.OperationStats;
 
 /**
  * Hash Table implementation with animation support
+ * The table itself is a ChainedHashTable; the buckets the panel draws are a
+ * projection of it. Each operation runs on the chained table straight away
+ * and records steps that replay it on the buckets
  */
 public class HashTableAlgorithm {
     private HashBucket[] buckets;
-    private int capacity;
-    private int size;
-    private HashFunction hashFunction;
+    private ChainedHashTable core;
+    private final OperationStats stats = new OperationStats();
     private AnimationEngine animationEngine;
     
     public enum HashFunction {
         DIVISION("h(k) = k mod m"),
         MULTIPLICATION("h(k) = ⌊m(kA mod 1)⌋"),
-        DJBX33A("DJBX33A Hash");
+        DJBX33A("DJBX33A Hash"),
+        MURMUR3("MurmurHash3 x86_32 mod m"),
+        XXHASH32("xxHash32 mod m"),
+        FNV1A("FNV-1a 32-bit mod m");
         
         private final String description;
         
@@ -30,62 +36,98 @@ public class HashTableAlgorithm {
     }
     
     public HashTableAlgorithm(int capacity, AnimationEngine animationEngine) {
-        this.capacity = capacity;
         this.animationEngine = animationEngine;
+        this.core = new ChainedHashTable(stats, HashFunction.DIVISION, capacity, 0);
         this.buckets = new HashBucket[capacity];
-        this.size = 0;
-        this.hashFunction = HashFunction.DIVISION;
         
         for (int i = 0; i < capacity; i++) {
             buckets[i] = new HashBucket(i);
         }
     }
     
+    /**
+     * Switch functions, rehashing whatever the table holds
+     */
     public void setHashFunction(HashFunction function) {
-        this.hashFunction = function;
+        ChainedHashTable rehashed = new ChainedHashTable(stats, function, core.capacity(), 0);
+        for (int i = 0; i < core.capacity(); i++) {
+            core.forEachInChain(i, rehashed::put);
+        }
+        core = rehashed;
+        syncBuckets();
+    }
+    
+    /**
+     * Bucket index of a key; shared with the tables in other modules that
+     * reuse these hash functions
+     */
+    public static int hash(HashFunction function, String key, int capacity) {
+        return index(function, rawHash(function, key), capacity);
     }
     
-    private int hash(String key) {
-        switch (hashFunction) {
+    /**
+     * The capacity-independent part of the hash, cached by the open-addressing
+     * tables so a resize never has to rehash the string again. Every function
+     * reads the key through charAt, so hashing allocates nothing
+     */
+    public static int rawHash(HashFunction function, String key) {
+        switch (function) {
+            case DJBX33A:
+                int hash = 5381;
+                for (int i = 0; i < key.length(); i++) {
+                    hash = ((hash << 5) + hash) + key.charAt(i);
+                }
+                return hash;
+            case MURMUR3:
+                return StringHashes.murmur3(key, 0);
+            case XXHASH32:
+                return StringHashes.xxHash32(key, 0);
+            case FNV1A:
+                return StringHashes.fnv1a(key);
             case DIVISION:
-                return Math.abs(key.hashCode()) % capacity;
+            case MULTIPLICATION:
+            default:
+                return key.hashCode();
+        }
+    }
+    
+    /**
+     * Map a raw hash onto [0, capacity) the way the function does
+     */
+    public static int index(HashFunction function, int rawHash, int capacity) {
+        switch (function) {
             case MULTIPLICATION:
                 double A = 0.6180339887; // (√5 - 1)/2
-                double kA = Math.abs(key.hashCode()) * A;
+                double kA = Math.abs(rawHash) * A;
                 return (int) Math.floor(capacity * (kA - Math.floor(kA)));
+            case DIVISION:
             case DJBX33A:
-                int hash = 5381;
-                for (char c : key.toCharArray()) {
-                    hash = ((hash << 5) + hash) + c;
-                }
-                return Math.abs(hash) % capacity;
             default:
-                return Math.abs(key.hashCode()) % capacity;
+                // abs after the remainder, so Integer.MIN_VALUE cannot go negative
+                return Math.abs(rawHash % capacity);
         }
     }
     
     public void put(String key, String value) {
-        animationEngine.clearSteps();
+        startOperation();
         
-        final int index = hash(key);
+        final int index = core.indexOf(key);
         
         animationEngine.addStep(new SimpleAnimationStep("Hash Key", () -> {
             clearHighlights();
             buckets[index].setHighlighted(true);
-        }, "Hash function: " + hashFunction.getDescription() + 
+        }, "Hash function: " + core.getHashFunction().getDescription() + 
            ". Key '" + key + "' hashes to index " + index));
         
-        final boolean isUpdate = buckets[index].findEntry(key) != null;
+        final boolean collides = core.chainLength(index) > 0;
+        final boolean isUpdate = !core.put(key, value);
         
         animationEngine.addStep(new SimpleAnimationStep("Insert/Update", () -> {
             buckets[index].addEntry(key, value);
-            if (!isUpdate) {
-                size++;
-            }
         }, isUpdate ? 
            "Updated existing key '" + key + "' with value '" + value + "'" :
            "Inserted new entry: " + key + " → " + value + 
-           (buckets[index].getSize() > 0 ? " (Collision detected!)" : "")));
+           (collides ? " (Collision detected!)" : "")));
         
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
@@ -93,21 +135,21 @@ public class HashTableAlgorithm {
     }
     
     public void get(String key) {
-        animationEngine.clearSteps();
+        startOperation();
         
-        final int index = hash(key);
+        final int index = core.indexOf(key);
         
         animationEngine.addStep(new SimpleAnimationStep("Hash Key", () -> {
             clearHighlights();
             buckets[index].setHighlighted(true);
         }, "Searching for key '" + key + "'. Hash to index " + index));
         
-        final HashEntry entry = buckets[index].findEntry(key);
+        final String value = core.get(key);
         
         animationEngine.addStep(new SimpleAnimationStep("Search Bucket", () -> {
             // Keep bucket highlighted
-        }, entry != null ? 
-           "Found key '" + key + "' with value '" + entry.getValue() + "'" :
+        }, value != null ? 
+           "Found key '" + key + "' with value '" + value + "'" :
            "Key '" + key + "' not found in bucket " + index));
         
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
@@ -116,21 +158,19 @@ public class HashTableAlgorithm {
     }
     
     public void remove(String key) {
-        animationEngine.clearSteps();
+        startOperation();
         
-        final int index = hash(key);
+        final int index = core.indexOf(key);
         
         animationEngine.addStep(new SimpleAnimationStep("Hash Key", () -> {
             clearHighlights();
             buckets[index].setHighlighted(true);
         }, "Removing key '" + key + "'. Hash to index " + index));
         
-        final boolean found = buckets[index].findEntry(key) != null;
+        final boolean found = core.remove(key);
         
         animationEngine.addStep(new SimpleAnimationStep("Remove Entry", () -> {
-            if (buckets[index].removeEntry(key)) {
-                size--;
-            }
+            buckets[index].removeEntry(key);
         }, found ? 
            "Removed key '" + key + "' from bucket " + index :
            "Key '" + key + "' not found in bucket " + index));
@@ -140,11 +180,34 @@ public class HashTableAlgorithm {
         }, "Removal completed. Load factor: " + String.format("%.2f", getLoadFactor())));
     }
     
+    /**
+     * Drop the steps of the previous operation and bring the buckets up to
+     * date with the table, in case those steps never played
+     */
+    private void startOperation() {
+        animationEngine.clearSteps();
+        syncBuckets();
+    }
+    
+    private void syncBuckets() {
+        if (buckets.length != core.capacity()) {
+            buckets = new HashBucket[core.capacity()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new HashBucket(i);
+            }
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            HashBucket bucket = buckets[i];
+            bucket.clear();
+            core.forEachInChain(i, bucket::addEntry);
+        }
+    }
+    
     public void clear() {
+        core.clear();
         for (HashBucket bucket : buckets) {
             bucket.clear();
         }
-        size = 0;
         animationEngine.clearSteps();
     }
     
@@ -156,10 +219,9 @@ public class HashTableAlgorithm {
         String[] values = {"red", "yellow", "red", "brown", "purple", "purple", "green"};
         
         for (int i = 0; i < keys.length; i++) {
-            int index = hash(keys[i]);
-            buckets[index].addEntry(keys[i], values[i]);
-            size++;
+            core.put(keys[i], values[i]);
         }
+        syncBuckets();
     }
     
     private void clearHighlights() {
@@ -169,7 +231,7 @@ public class HashTableAlgorithm {
     }
     
     public double getLoadFactor() {
-        return (double) size / capacity;
+        return (double) core.size() / core.capacity();
     }
     
     public int getCollisionCount() {
@@ -185,31 +247,23 @@ public class HashTableAlgorithm {
     public void resize(int newCapacity) {
         if (newCapacity <= 0) return;
         
-        // Save old data
-        HashBucket[] oldBuckets = buckets;
-        
-        // Reinitialize with new capacity
-        this.capacity = newCapacity;
-        this.buckets = new HashBucket[capacity];
-        this.size = 0;
-        
-        for (int i = 0; i < capacity; i++) {
-            buckets[i] = new HashBucket(i);
-        }
-        
-        // Rehash all entries
-        for (HashBucket oldBucket : oldBuckets) {
-            for (HashEntry entry : oldBucket.getEntries()) {
-                int newIndex = hash(entry.getKey());
-                buckets[newIndex].addEntry(entry.getKey(), entry.getValue());
-                size++;
-            }
-        }
+        animationEngine.clearSteps();
+        core.resize(newCapacity);
+        syncBuckets();
     }
     
     // Getters
     public HashBucket[] getBuckets() { return buckets; }
-    public int getCapacity() { return capacity; }
-    public int getSize() { return size; }
-    public HashFunction getHashFunction() { return hashFunction; }
+    public int getCapacity() { return core.capacity(); }
+    public int getSize() { return core.size(); }
+    public HashFunction getHashFunction() { return core.getHashFunction(); }
+    
+    /**
+     * Chained table without animation steps, counting key comparisons
+     */
+    public static class Headless extends ChainedHashTable {
+        public Headless(OperationStats stats, HashFunction hashFunction, int capacity, double maxLoadFactor) {
+            super(stats, hashFunction, capacity, maxLoadFactor);
+        }
+    }
 }
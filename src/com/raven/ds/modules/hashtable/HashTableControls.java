@@ -2,6 +2,7 @@ package com.raven.ds.modules.hashtable;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
@@ -27,9 +28,11 @@ public class HashTableControls extends JPanel {
     private Button stepBtn;
     private Button resetBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JLabel stepLabel;
     private JComboBox<HashTableAlgorithm.HashFunction> hashFunctionCombo;
+    private Button analyzeBtn;
     private JSpinner capacitySpinner;
     private Button resizeBtn;
     private Button downloadDocsBtn;
@@ -145,6 +148,14 @@ public class HashTableControls extends JPanel {
         hashFunctionCombo.setFont(new Font("SansSerif", Font.PLAIN, 12));
         hashFunctionCombo.setToolTipText("Select hash function");
         
+        analyzeBtn = new Button();
+        analyzeBtn.setText("Analyze...");
+        analyzeBtn.setBackground(new Color(155, 89, 182)); // Purple
+        analyzeBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        analyzeBtn.setForeground(Color.WHITE);
+        analyzeBtn.setPreferredSize(new Dimension(120, 40));
+        analyzeBtn.setToolTipText("Measure every hash function's spread and speed on large key sets");
+        
         // Capacity control
         capacitySpinner = new JSpinner(new SpinnerNumberModel(16, 4, 64, 4));
         capacitySpinner.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -167,6 +178,9 @@ public class HashTableControls extends JPanel {
         downloadDocsBtn.setPreferredSize(new Dimension(80, 40));
         downloadDocsBtn.setToolTipText("Download module documentation");
         
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status labels
         statusLabel = new JLabel("Ready for hash table operations");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -179,7 +193,7 @@ public class HashTableControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]"));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createTitledBorder("Hash Table Controls"));
         
@@ -193,7 +207,8 @@ public class HashTableControls extends JPanel {
         
         // Hash function row
         add(new JLabel("Hash Function:"), "cell 0 1");
-        add(hashFunctionCombo, "cell 1 1");
+        add(hashFunctionCombo, "cell 1 1, split 2");
+        add(analyzeBtn, "cell 1 1");
         add(clearBtn, "cell 2 1");
         
         // Resize row
@@ -214,9 +229,13 @@ public class HashTableControls extends JPanel {
         add(new JLabel("Speed:"), "cell 0 4");
         add(speedSlider, "cell 1 4, span 2, grow");
         
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
+        
         // Status row
-        add(statusLabel, "cell 0 5, span 2");
-        add(stepLabel, "cell 2 5");
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
     }
     
     private void setupListeners() {
@@ -295,6 +314,9 @@ public class HashTableControls extends JPanel {
             statusLabel.setText("Hash function changed to: " + selected.name());
         });
         
+        analyzeBtn.addActionListener(e ->
+            new HashAnalyzerDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+        
         resizeBtn.addActionListener(e -> {
             int newCapacity = (Integer) capacitySpinner.getValue();
             visualizer.resize(newCapacity);
@@ -384,6 +406,7 @@ public class HashTableControls extends JPanel {
     
     private void updateAnimationControls() {
         boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
         playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
         pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
         stepBtn.setEnabled(hasSteps);
@@ -0,0 +1,265 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.ds.modules.hashtable.OpenAddressingTable.Strategy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Animated operations on an OpenAddressingTable
+ * Each operation runs once up front to record its probe path, then the table
+ * is rolled back and the steps replay that path slot by slot
+ */
+public class OpenAddressingAlgorithm {
+    private static final int MAX_PROBE_STEPS = 24;
+
+    private OpenAddressingTable table;
+    private AnimationEngine animationEngine;
+    private final OperationStats stats = new OperationStats();
+
+    // Highlight state driven by the steps
+    private List<Integer> visited = new ArrayList<>();
+    private int activeSlot = -1;
+    private int foundSlot = -1;
+
+    public OpenAddressingAlgorithm(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.table = new OpenAddressingTable(Strategy.LINEAR, HashFunction.DIVISION, 16, 0.75, stats);
+
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                return new Object[] {table.capture(), new ArrayList<>(visited), activeSlot, foundSlot};
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                table.restore(state[0]);
+                visited = new ArrayList<>((List<Integer>) state[1]);
+                activeSlot = (Integer) state[2];
+                foundSlot = (Integer) state[3];
+            }
+        });
+    }
+
+    /**
+     * Rebuild under a new strategy, hash function or capacity, keeping the entries
+     */
+    public void configure(Strategy strategy, HashFunction hashFunction, int capacity, double maxLoadFactor) {
+        List<String[]> entries = table.entries();
+        OpenAddressingTable next = new OpenAddressingTable(strategy, hashFunction, capacity, maxLoadFactor, stats);
+        for (String[] entry : entries) {
+            // Throws before anything changes if cuckoo cannot place the entries
+            next.put(entry[0], entry[1]);
+        }
+        animationEngine.clearSteps();
+        table = next;
+        clearHighlights();
+    }
+
+    public void put(String key, String value) {
+        animationEngine.clearSteps();
+        Object before = table.capture();
+        boolean isNew = table.put(key, value);
+        List<Integer> probes = new ArrayList<>(table.getLastProbes());
+        int migrated = table.getLastMigrated();
+        boolean grew = table.wasResized();
+        int capacityAfter = table.getCapacity();
+        String summary = String.format("%s '%s' → %s in slot %d after %d probe%s. Load factor %.2f",
+                isNew ? "Inserted" : "Updated", key, value, last(probes), probes.size(),
+                probes.size() == 1 ? "" : "s", table.getLoadFactor());
+        Object after = table.capture();
+        table.restore(before);
+
+        addHashStep(key, probes, grew);
+        if (grew) {
+            // Show the probes over the table the key actually lands in
+            animationEngine.addStep(new SimpleAnimationStep("Grow", () -> {
+                table.restore(after);
+                clearHighlights();
+            }, "Load factor limit " + String.format("%.2f", table.getMaxLoadFactor()) + " (tombstones included)" +
+               " reached: allocated a fresh table of " + capacityAfter + " slots. " +
+               "Old entries move over a few slots per operation instead of all at once"));
+            addProbeSteps(probes, after, key);
+        } else {
+            addProbeSteps(probes, before, key);
+        }
+
+        animationEngine.addStep(new SimpleAnimationStep(isNew ? "Insert" : "Update", () -> {
+            table.restore(after);
+            foundSlot = probes.isEmpty() ? -1 : last(probes);
+            activeSlot = -1;
+        }, summary + migrationNote(migrated)));
+    }
+
+    public void get(String key) {
+        animationEngine.clearSteps();
+        Object before = table.capture();
+        String value = table.get(key);
+        List<Integer> probes = new ArrayList<>(table.getLastProbes());
+        int migrated = table.getLastMigrated();
+        Object after = table.capture();
+        table.restore(before);
+
+        addHashStep(key, probes, false);
+        addProbeSteps(probes, before, key);
+        animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
+            table.restore(after);
+            foundSlot = value != null ? last(probes) : -1;
+            activeSlot = -1;
+        }, (value != null
+                ? "Found '" + key + "' → " + value + " after " + probes.size() + " probe(s)"
+                : "'" + key + "' not found: " + missReason(probes.size()))
+           + migrationNote(migrated)));
+    }
+
+    public void remove(String key) {
+        animationEngine.clearSteps();
+        Object before = table.capture();
+        boolean removed = table.remove(key);
+        List<Integer> probes = new ArrayList<>(table.getLastProbes());
+        int migrated = table.getLastMigrated();
+        Object after = table.capture();
+        table.restore(before);
+
+        addHashStep(key, probes, false);
+        addProbeSteps(probes, before, key);
+        animationEngine.addStep(new SimpleAnimationStep("Remove", () -> {
+            table.restore(after);
+            foundSlot = -1;
+            activeSlot = removed ? last(probes) : -1;
+        }, (removed ? "Removed '" + key + "' from slot " + last(probes) + ". " + removalNote()
+                    : "'" + key + "' not found: " + missReason(probes.size()))
+           + migrationNote(migrated)));
+    }
+
+    /**
+     * Insert many entries at once, without animation
+     */
+    public void putAll(List<String[]> entries) {
+        animationEngine.clearSteps();
+        for (String[] entry : entries) {
+            table.put(entry[0], entry[1]);
+        }
+        clearHighlights();
+    }
+
+    public void loadSampleData() {
+        clear();
+        String[] keys = {"apple", "banana", "cherry", "date", "elderberry", "fig", "grape"};
+        String[] values = {"red", "yellow", "red", "brown", "purple", "purple", "green"};
+        for (int i = 0; i < keys.length; i++) {
+            table.put(keys[i], values[i]);
+        }
+        clearHighlights();
+    }
+
+    public void clear() {
+        table.clear();
+        animationEngine.clearSteps();
+        clearHighlights();
+    }
+
+    private void addHashStep(String key, List<Integer> probes, boolean grew) {
+        int home = probes.isEmpty() ? -1 : probes.get(0);
+        animationEngine.addStep(new SimpleAnimationStep("Hash Key", this::clearHighlights,
+            "Hash function: " + table.getHashFunction().getDescription() + ". Key '" + key + "' → home slot " +
+            home + (grew ? " of the new table" : "") + ". " + table.getStrategy().getDescription()));
+    }
+
+    private void addProbeSteps(List<Integer> probes, Object state, String key) {
+        // Describe each slot as it looked before the operation touched it
+        Object current = table.capture();
+        table.restore(state);
+        int shown = Math.min(probes.size(), MAX_PROBE_STEPS);
+        for (int i = 0; i < shown; i++) {
+            final List<Integer> path = new ArrayList<>(probes.subList(0, i + 1));
+            final int slot = probes.get(i);
+            animationEngine.addStep(new SimpleAnimationStep("Probe", () -> {
+                visited = path;
+                activeSlot = slot;
+                foundSlot = -1;
+            }, "Probe " + (i + 1) + ": slot " + slot + " " + describeSlot(slot, key)));
+        }
+        if (probes.size() > shown) {
+            final List<Integer> path = new ArrayList<>(probes);
+            animationEngine.addStep(new SimpleAnimationStep("Probe", () -> {
+                visited = path;
+                activeSlot = last(path);
+            }, (probes.size() - shown) + " more probes skipped, ending at slot " + last(probes)));
+        }
+        table.restore(current);
+    }
+
+    private String describeSlot(int slot, String key) {
+        if (slot >= table.getCapacity()) {
+            return "";
+        }
+        String occupant = table.getKey(slot);
+        if (occupant == null) {
+            return "is empty";
+        }
+        if (table.isTombstone(slot)) {
+            return "holds a tombstone: skip it, the key may lie further along";
+        }
+        if (occupant.equals(key)) {
+            return "holds '" + key + "'";
+        }
+        switch (table.getStrategy()) {
+            case ROBIN_HOOD:
+                return "holds '" + occupant + "' (" + (table.probeLength(slot) - 1) + " from home)";
+            case CUCKOO:
+                return "holds '" + occupant + "'; kick it to its other slot";
+            default:
+                return "holds '" + occupant + "': collision, keep probing";
+        }
+    }
+
+    private String missReason(int probes) {
+        switch (table.getStrategy()) {
+            case CUCKOO:
+                return "neither of its two slots holds it";
+            case ROBIN_HOOD:
+                return "stopped after " + probes + " probes at a slot closer to its home than the key would be";
+            default:
+                return "reached an empty slot after " + probes + " probe(s)";
+        }
+    }
+
+    private String removalNote() {
+        switch (table.getStrategy()) {
+            case ROBIN_HOOD:
+                return "The rest of its run shifted back one slot, so no tombstone is needed";
+            case CUCKOO:
+                return "Every key has only two slots, so the slot is simply emptied";
+            default:
+                return "A tombstone keeps the probe chains through this slot intact";
+        }
+    }
+
+    private static String migrationNote(int migrated) {
+        return migrated > 0 ? ". Incremental resize moved " + migrated + " old entr" + (migrated == 1 ? "y" : "ies") : "";
+    }
+
+    private static int last(List<Integer> list) {
+        return list.isEmpty() ? -1 : list.get(list.size() - 1);
+    }
+
+    private void clearHighlights() {
+        visited = new ArrayList<>();
+        activeSlot = -1;
+        foundSlot = -1;
+    }
+
+    // Getters
+    public OpenAddressingTable getTable() { return table; }
+    public List<Integer> getVisited() { return Collections.unmodifiableList(visited); }
+    public int getActiveSlot() { return activeSlot; }
+    public int getFoundSlot() { return foundSlot; }
+}
@@ -0,0 +1,325 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Visual panel for the open-addressing hash tables
+ * Slots are drawn as one flat strip wrapped into rows, shaded by how far each
+ * key sits from its home slot; a draining old table appears underneath
+ */
+public class OpenAddressingPanel extends JPanel {
+    private OpenAddressingAlgorithm algorithm;
+    private AnimationEngine animationEngine;
+
+    private static final int MARGIN = 20;
+    private static final int MAX_CELL = 64;
+    private static final int MIN_CELL = 28;
+    private static final int GAP = 3;
+
+    private static final Color EMPTY_COLOR = new Color(240, 240, 240);
+    private static final Color TOMBSTONE_COLOR = new Color(149, 165, 166);
+    private static final Color HOME_COLOR = new Color(171, 235, 198);
+    private static final Color NEAR_COLOR = new Color(249, 231, 159);
+    private static final Color FAR_COLOR = new Color(245, 183, 177);
+    private static final Color ACTIVE_COLOR = new Color(255, 255, 0);
+    private static final Color PATH_COLOR = new Color(243, 156, 18);
+    private static final Color FOUND_COLOR = new Color(39, 174, 96);
+
+    private Font titleFont = new Font("SansSerif", Font.BOLD, 16);
+    private Font infoFont = new Font("SansSerif", Font.PLAIN, 12);
+
+    public OpenAddressingPanel(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.algorithm = new OpenAddressingAlgorithm(animationEngine);
+
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Open Addressing Visualization"));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        drawTitle(g2d);
+        int y = drawSlots(g2d, 70);
+        y = drawOldTable(g2d, y + 15);
+        drawStatistics(g2d, y + 20);
+        drawStepExplanation(g2d);
+    }
+
+    private void drawTitle(Graphics2D g2d) {
+        OpenAddressingTable table = algorithm.getTable();
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.setFont(titleFont);
+        g2d.drawString("Open Addressing - " + table.getStrategy().name().replace("_", " ") +
+                " (" + table.getHashFunction().name() + ")", 20, 40);
+        g2d.setFont(infoFont);
+        g2d.setColor(new Color(85, 85, 85));
+        g2d.drawString(table.getStrategy().getDescription(), 20, 58);
+    }
+
+    private int cellSize(int capacity) {
+        int width = Math.max(200, getWidth() - 2 * MARGIN);
+        // Fit all slots into about eight rows before shrinking below the maximum
+        int perRow = Math.max(8, (capacity + 7) / 8);
+        int size = width / perRow - GAP;
+        return Math.max(MIN_CELL, Math.min(MAX_CELL, size));
+    }
+
+    private int drawSlots(Graphics2D g2d, int startY) {
+        OpenAddressingTable table = algorithm.getTable();
+        int capacity = table.getCapacity();
+        int cell = cellSize(capacity);
+        int columns = Math.max(1, (getWidth() - 2 * MARGIN) / (cell + GAP));
+        List<Integer> visited = algorithm.getVisited();
+
+        for (int slot = 0; slot < capacity; slot++) {
+            int x = MARGIN + (slot % columns) * (cell + GAP);
+            int y = startY + (slot / columns) * (cell + GAP);
+
+            String key = table.getKey(slot);
+            Color fill;
+            if (key == null) {
+                fill = EMPTY_COLOR;
+            } else if (table.isTombstone(slot)) {
+                fill = TOMBSTONE_COLOR;
+            } else {
+                int distance = table.probeLength(slot) - 1;
+                fill = distance == 0 ? HOME_COLOR : distance <= 2 ? NEAR_COLOR : FAR_COLOR;
+            }
+            if (slot == algorithm.getActiveSlot()) {
+                fill = ACTIVE_COLOR;
+            }
+            g2d.setColor(fill);
+            g2d.fillRect(x, y, cell, cell);
+
+            // Outline: found slot, probe path, or plain
+            if (slot == algorithm.getFoundSlot()) {
+                g2d.setColor(FOUND_COLOR);
+                g2d.setStroke(new BasicStroke(3));
+            } else if (visited.contains(slot)) {
+                g2d.setColor(PATH_COLOR);
+                g2d.setStroke(new BasicStroke(3));
+            } else {
+                g2d.setColor(Color.GRAY);
+                g2d.setStroke(new BasicStroke(1));
+            }
+            g2d.drawRect(x, y, cell, cell);
+            g2d.setStroke(new BasicStroke(1));
+
+            g2d.setColor(Color.DARK_GRAY);
+            g2d.setFont(new Font("SansSerif", Font.PLAIN, 9));
+            g2d.drawString(String.valueOf(slot), x + 3, y + 10);
+
+            int order = visited.indexOf(slot);
+            if (order >= 0) {
+                g2d.setColor(PATH_COLOR.darker());
+                g2d.setFont(new Font("SansSerif", Font.BOLD, 9));
+                String label = "#" + (order + 1);
+                g2d.drawString(label, x + cell - g2d.getFontMetrics().stringWidth(label) - 3, y + 10);
+            }
+
+            if (key != null && cell >= 40) {
+                g2d.setColor(Color.BLACK);
+                g2d.setFont(new Font("SansSerif", Font.PLAIN, 10));
+                String text = table.isTombstone(slot) ? "†" : key;
+                g2d.drawString(fit(g2d, text, cell - 6), x + 3, y + cell / 2 + 4);
+                if (!table.isTombstone(slot) && table.getValue(slot) != null) {
+                    g2d.setColor(Color.GRAY);
+                    g2d.drawString(fit(g2d, table.getValue(slot), cell - 6), x + 3, y + cell - 6);
+                }
+            } else if (key != null && table.isTombstone(slot)) {
+                g2d.setColor(Color.WHITE);
+                g2d.drawString("†", x + cell / 2 - 2, y + cell / 2 + 6);
+            }
+        }
+        int rows = (capacity + columns - 1) / columns;
+        return startY + rows * (cell + GAP);
+    }
+
+    private int drawOldTable(Graphics2D g2d, int startY) {
+        OpenAddressingTable table = algorithm.getTable();
+        if (!table.isMigrating()) {
+            return startY;
+        }
+        int capacity = table.getOldCapacity();
+        int cell = Math.max(8, Math.min(16, (getWidth() - 2 * MARGIN) / capacity - 1));
+        int columns = Math.max(1, (getWidth() - 2 * MARGIN) / (cell + 1));
+
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.setFont(infoFont);
+        g2d.drawString("Old table being drained (" + table.getMigrateCursor() + "/" + capacity + " slots scanned)",
+                MARGIN, startY);
+        int top = startY + 6;
+        for (int slot = 0; slot < capacity; slot++) {
+            int x = MARGIN + (slot % columns) * (cell + 1);
+            int y = top + (slot / columns) * (cell + 1);
+            String key = table.getOldKey(slot);
+            if (slot < table.getMigrateCursor()) {
+                g2d.setColor(new Color(250, 250, 250));
+            } else if (key == null) {
+                g2d.setColor(EMPTY_COLOR);
+            } else if (table.isOldTombstone(slot)) {
+                g2d.setColor(TOMBSTONE_COLOR);
+            } else {
+                g2d.setColor(new Color(174, 214, 241));
+            }
+            g2d.fillRect(x, y, cell, cell);
+            g2d.setColor(slot == table.getMigrateCursor() ? Color.RED : Color.LIGHT_GRAY);
+            g2d.drawRect(x, y, cell, cell);
+        }
+        int rows = (capacity + columns - 1) / columns;
+        return top + rows * (cell + 1);
+    }
+
+    private void drawStatistics(Graphics2D g2d, int statsY) {
+        OpenAddressingTable table = algorithm.getTable();
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(infoFont);
+
+        g2d.drawString("Statistics:", 20, statsY);
+        g2d.drawString("Capacity: " + table.getCapacity() + "   Size: " + table.getSize() +
+                "   Tombstones: " + table.getTombstoneCount(), 20, statsY + 20);
+        g2d.drawString("Load Factor: " + String.format("%.2f", table.getLoadFactor()) +
+                " (grows past " + String.format("%.2f", table.getMaxLoadFactor()) + ")", 20, statsY + 40);
+        g2d.drawString(String.format("Probe length: average %.2f, longest %d", table.getAverageProbeLength(),
+                table.getMaxProbeLength()), 20, statsY + 60);
+        drawLoadFactorBar(g2d, 300, statsY + 29);
+
+        // Legend
+        int legendY = statsY + 85;
+        drawSwatch(g2d, 20, legendY, HOME_COLOR, "in home slot");
+        drawSwatch(g2d, 130, legendY, NEAR_COLOR, "1-2 slots away");
+        drawSwatch(g2d, 250, legendY, FAR_COLOR, "3+ away");
+        drawSwatch(g2d, 340, legendY, TOMBSTONE_COLOR, "tombstone");
+        drawSwatch(g2d, 440, legendY, PATH_COLOR, "probe path");
+    }
+
+    private void drawLoadFactorBar(Graphics2D g2d, int x, int y) {
+        OpenAddressingTable table = algorithm.getTable();
+        int barWidth = 200;
+        int barHeight = 15;
+
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.fillRect(x, y, barWidth, barHeight);
+
+        double loadFactor = table.getLoadFactor();
+        double tombstoneShare = (double) table.getTombstoneCount() / table.getCapacity();
+        int fillWidth = (int) (barWidth * Math.min(loadFactor, 1.0));
+        int tombstoneWidth = (int) (barWidth * Math.min(tombstoneShare, 1.0 - Math.min(loadFactor, 1.0)));
+
+        if (loadFactor < 0.5) {
+            g2d.setColor(new Color(46, 204, 113)); // Green
+        } else if (loadFactor < 0.75) {
+            g2d.setColor(new Color(241, 196, 15)); // Yellow
+        } else {
+            g2d.setColor(new Color(231, 76, 60)); // Red
+        }
+        g2d.fillRect(x, y, fillWidth, barHeight);
+        g2d.setColor(TOMBSTONE_COLOR);
+        g2d.fillRect(x + fillWidth, y, tombstoneWidth, barHeight);
+
+        // Growth threshold marker
+        int limitX = x + (int) (barWidth * table.getMaxLoadFactor());
+        g2d.setColor(Color.BLACK);
+        g2d.drawLine(limitX, y - 3, limitX, y + barHeight + 3);
+        g2d.drawRect(x, y, barWidth, barHeight);
+    }
+
+    private void drawSwatch(Graphics2D g2d, int x, int y, Color color, String label) {
+        g2d.setColor(color);
+        g2d.fillRect(x, y - 10, 12, 12);
+        g2d.setColor(Color.GRAY);
+        g2d.drawRect(x, y - 10, 12, 12);
+        g2d.setColor(new Color(85, 85, 85));
+        g2d.setFont(new Font("SansSerif", Font.PLAIN, 11));
+        g2d.drawString(label, x + 16, y);
+    }
+
+    private void drawStepExplanation(Graphics2D g2d) {
+        String text = animationEngine.getCurrentStepDescription();
+        if (text == null || text.isEmpty()) return;
+
+        JLabel renderer = new JLabel("<html><body style='width: 280px'>" + text + "</body></html>");
+        renderer.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        renderer.setForeground(new Color(52, 73, 94));
+        renderer.setVerticalAlignment(SwingConstants.TOP);
+
+        Dimension size = renderer.getPreferredSize();
+        int x = getWidth() - size.width - 20;
+        int y = getHeight() - size.height - 20;
+
+        g2d.setColor(new Color(255, 255, 255, 240));
+        g2d.fillRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.setColor(new Color(52, 73, 94));
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+
+        g2d.translate(x, y);
+        renderer.setSize(size);
+        renderer.paint(g2d);
+        g2d.translate(-x, -y);
+    }
+
+    private static String fit(Graphics2D g2d, String text, int width) {
+        FontMetrics fm = g2d.getFontMetrics();
+        if (fm.stringWidth(text) <= width) {
+            return text;
+        }
+        while (text.length() > 1 && fm.stringWidth(text + "…") > width) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return text + "…";
+    }
+
+    public void insert(String key, String value) {
+        if (key != null && !key.trim().isEmpty() && value != null && !value.trim().isEmpty()) {
+            algorithm.put(key.trim(), value.trim());
+        }
+    }
+
+    public void search(String key) {
+        if (key != null && !key.trim().isEmpty()) {
+            algorithm.get(key.trim());
+        }
+    }
+
+    public void remove(String key) {
+        if (key != null && !key.trim().isEmpty()) {
+            algorithm.remove(key.trim());
+        }
+    }
+
+    public void clear() {
+        algorithm.clear();
+        repaint();
+    }
+
+    public void loadSample() {
+        algorithm.loadSampleData();
+        repaint();
+    }
+
+    public void configure(OpenAddressingTable.Strategy strategy, HashTableAlgorithm.HashFunction function,
+                          int capacity, double maxLoadFactor) {
+        algorithm.configure(strategy, function, capacity, maxLoadFactor);
+        repaint();
+    }
+
+    public void putAll(List<String[]> entries) {
+        algorithm.putAll(entries);
+        repaint();
+    }
+
+    public OpenAddressingAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+}
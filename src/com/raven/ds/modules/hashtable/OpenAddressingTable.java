@@ -0,0 +1,743 @@
+package com.raven.ds.modules.hashtable;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing hash table on flat parallel arrays
+ * Keys, values and cached raw hashes live in three arrays per table, so a
+ * probe walks neighbouring slots instead of chasing bucket and entry objects.
+ * Deleted slots become tombstones (Robin Hood shifts its run back instead,
+ * cuckoo simply clears the slot). Cuckoo takes its second slot from a
+ * seeded MurmurHash3 of the key, so keys that share a raw hash still get
+ * different second slots, and a rebuild that cannot place every key draws a
+ * new seed. Growing allocates the new table and then
+ * migrates a few old slots per operation; lookups consult both tables until
+ * the old one is drained. Capacities are powers of two so every probe
+ * sequence, quadratic included, can reach every slot
+ */
+public class OpenAddressingTable {
+
+    public enum Strategy {
+        LINEAR("Linear probing: h, h+1, h+2, ..."),
+        QUADRATIC("Quadratic probing: h, h+1, h+3, h+6, ... (triangular steps)"),
+        DOUBLE_HASHING("Double hashing: h, h+s, h+2s, ... with s from a second hash"),
+        ROBIN_HOOD("Robin Hood: linear probing where rich keys yield slots to poor ones"),
+        CUCKOO("Cuckoo: two candidate slots, evict the occupant on conflict");
+
+        private final String description;
+
+        Strategy(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /** Marks a deleted slot; compared by identity, never equal to a user key */
+    static final String TOMBSTONE = new String("<deleted>");
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int MIGRATE_PER_OPERATION = 4;
+    private static final int MAX_KICKS = 32;
+    private static final double CUCKOO_MAX_LOAD = 0.5;
+    private static final int MAX_REBUILDS = 12;
+    private static final int MAX_SPARSITY = 4;
+    private static final int INITIAL_SEED = 0x5bd1e995;
+
+    /**
+     * One generation of slots
+     */
+    static final class Table {
+        final String[] keys;
+        final String[] values;
+        final int[] hashes;
+        final int mask;
+        // Seed of the cuckoo second hash
+        final int seed;
+        int live;
+        int tombstones;
+
+        Table(int capacity, int seed) {
+            keys = new String[capacity];
+            values = new String[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+            this.seed = seed;
+        }
+
+        Table(Table other) {
+            keys = other.keys.clone();
+            values = other.values.clone();
+            hashes = other.hashes.clone();
+            mask = other.mask;
+            seed = other.seed;
+            live = other.live;
+            tombstones = other.tombstones;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+    }
+
+    private final Strategy strategy;
+    private final HashFunction hashFunction;
+    private final double maxLoadFactor;
+    private final OperationStats stats;
+
+    private Table current;
+    private Table old;
+    private int migrateCursor;
+    private int size;
+    private int seed = INITIAL_SEED;
+
+    // Slots touched by the last operation, in probe order, for the visualization
+    private final List<Integer> lastProbes = new ArrayList<>();
+    private int lastMigrated;
+    private boolean lastResized;
+
+    // Entry left without a slot when a cuckoo eviction chain gives up
+    private String homelessKey;
+    private String homelessValue;
+    private int homelessHash;
+    // Slots the last cuckoo eviction chain swapped, in order, so a failure can be undone
+    private final int[] kickSlots = new int[MAX_KICKS + 1];
+    private int kickCount;
+
+    public OpenAddressingTable(Strategy strategy, HashFunction hashFunction, int capacity,
+                               double maxLoadFactor, OperationStats stats) {
+        this.strategy = strategy;
+        this.hashFunction = hashFunction;
+        this.maxLoadFactor = strategy == Strategy.CUCKOO
+                ? Math.min(maxLoadFactor, CUCKOO_MAX_LOAD) : maxLoadFactor;
+        this.stats = stats;
+        this.current = new Table(powerOfTwoAtLeast(capacity), seed);
+    }
+
+    /**
+     * Insert or update; returns true when the key was new. Throws
+     * IllegalStateException, leaving the table as it was, when cuckoo cannot
+     * place the key even after MAX_REBUILDS rebuilds
+     */
+    public boolean put(String key, String value) {
+        beginOperation();
+        int hash = HashTableAlgorithm.rawHash(hashFunction, key);
+        int slot = find(current, key, hash, true);
+        if (slot >= 0) {
+            current.values[slot] = value;
+            return false;
+        }
+        if (current.live + current.tombstones + 1 > current.capacity() * maxLoadFactor) {
+            startResize(size + 1);
+            if (old == null) {
+                // A stop-the-world rebuild may have brought the key across
+                slot = find(current, key, hash, true);
+                if (slot >= 0) {
+                    current.values[slot] = value;
+                    return false;
+                }
+            }
+        }
+        int oldSlot = old != null ? find(old, key, hash, true) : -1;
+        String oldValue = null;
+        if (oldSlot >= 0) {
+            // Move it across now rather than keep two copies
+            oldValue = old.values[oldSlot];
+            bury(old, oldSlot);
+            size--;
+        }
+        // Trace where the key lands rather than the failed lookup
+        lastProbes.clear();
+        if (!place(current, key, value, hash, true)) {
+            try {
+                rebuildAfterFailedPlace();
+            } catch (IllegalStateException e) {
+                if (oldSlot >= 0) {
+                    unbury(old, oldSlot, key, oldValue);
+                    size++;
+                }
+                throw e;
+            }
+        }
+        size++;
+        return oldSlot < 0;
+    }
+
+    public String get(String key) {
+        beginOperation();
+        int hash = HashTableAlgorithm.rawHash(hashFunction, key);
+        int slot = find(current, key, hash, true);
+        if (slot >= 0) {
+            return current.values[slot];
+        }
+        if (old != null) {
+            slot = find(old, key, hash, true);
+            if (slot >= 0) {
+                return old.values[slot];
+            }
+        }
+        return null;
+    }
+
+    public boolean remove(String key) {
+        beginOperation();
+        int hash = HashTableAlgorithm.rawHash(hashFunction, key);
+        int slot = find(current, key, hash, true);
+        if (slot >= 0) {
+            delete(current, slot);
+            size--;
+            return true;
+        }
+        if (old != null) {
+            slot = find(old, key, hash, true);
+            if (slot >= 0) {
+                bury(old, slot);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Every stored key/value pair, for rebuilding under another configuration
+     */
+    public List<String[]> entries() {
+        List<String[]> entries = new ArrayList<>();
+        for (Table table : tables()) {
+            for (int slot = 0; slot < table.capacity(); slot++) {
+                if (table.keys[slot] != null && table.keys[slot] != TOMBSTONE) {
+                    entries.add(new String[] {table.keys[slot], table.values[slot]});
+                }
+            }
+        }
+        return entries;
+    }
+
+    public void clear() {
+        current = new Table(current.capacity(), seed);
+        old = null;
+        migrateCursor = 0;
+        size = 0;
+        lastProbes.clear();
+        lastMigrated = 0;
+    }
+
+    /**
+     * Slots a lookup of the key would visit in the current table, without side effects
+     */
+    public List<Integer> probeSequence(String key) {
+        List<Integer> saved = new ArrayList<>(lastProbes);
+        int hash = HashTableAlgorithm.rawHash(hashFunction, key);
+        lastProbes.clear();
+        find(current, key, hash, false);
+        List<Integer> sequence = new ArrayList<>(lastProbes);
+        lastProbes.clear();
+        lastProbes.addAll(saved);
+        return sequence;
+    }
+
+    private void beginOperation() {
+        lastProbes.clear();
+        lastMigrated = 0;
+        lastResized = false;
+        migrate(MIGRATE_PER_OPERATION);
+    }
+
+    // ---- Probing ----
+
+    private int home(Table table, int hash) {
+        return HashTableAlgorithm.index(hashFunction, hash, table.capacity()) & table.mask;
+    }
+
+    /**
+     * Step for double hashing, mixed from the raw hash
+     */
+    private static int secondary(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int probe(Table table, String key, int home, int hash, int i) {
+        switch (strategy) {
+            case QUADRATIC:
+                return (home + i * (i + 1) / 2) & table.mask;
+            case DOUBLE_HASHING:
+                // An odd step is coprime with a power-of-two capacity
+                return (home + i * (secondary(hash) | 1)) & table.mask;
+            case CUCKOO:
+                return i == 0 ? home : alternate(table, key, home);
+            default:
+                return (home + i) & table.mask;
+        }
+    }
+
+    /**
+     * Cuckoo's other slot, from a hash of the key that does not depend on the raw hash
+     */
+    private static int alternate(Table table, String key, int home) {
+        int other = StringHashes.murmur3(key, table.seed) & table.mask;
+        return other == home ? (home + 1) & table.mask : other;
+    }
+
+    /**
+     * Distance of the occupant of a slot from its home, for Robin Hood
+     */
+    private int displacement(Table table, int slot) {
+        return (slot - home(table, table.hashes[slot])) & table.mask;
+    }
+
+    /**
+     * Slot holding the key, or -1; probes in the current table are traced
+     */
+    private int find(Table table, String key, int hash, boolean count) {
+        int home = home(table, hash);
+        int limit = strategy == Strategy.CUCKOO ? 2 : table.capacity();
+        for (int i = 0; i < limit; i++) {
+            int slot = probe(table, key, home, hash, i);
+            if (table == current) {
+                lastProbes.add(slot);
+            }
+            if (count) {
+                stats.comparison();
+            }
+            String candidate = table.keys[slot];
+            if (candidate == null) {
+                if (strategy != Strategy.CUCKOO) {
+                    return -1;
+                }
+                continue;
+            }
+            if (candidate != TOMBSTONE && table.hashes[slot] == hash && candidate.equals(key)) {
+                return slot;
+            }
+            if (strategy == Strategy.ROBIN_HOOD && displacement(table, slot) < i) {
+                // The key would have displaced this occupant, so it is absent
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // ---- Placement and deletion ----
+
+    /**
+     * Put a key known to be absent into the table; false leaves it homeless
+     */
+    private boolean place(Table table, String key, String value, int hash, boolean trace) {
+        switch (strategy) {
+            case ROBIN_HOOD:
+                placeRobinHood(table, key, value, hash, trace);
+                return true;
+            case CUCKOO:
+                return placeCuckoo(table, key, value, hash, trace);
+            default:
+                int home = home(table, hash);
+                for (int i = 0; i < table.capacity(); i++) {
+                    int slot = probe(table, key, home, hash, i);
+                    if (trace) {
+                        lastProbes.add(slot);
+                    }
+                    String occupant = table.keys[slot];
+                    if (occupant == null || occupant == TOMBSTONE) {
+                        if (occupant == TOMBSTONE) {
+                            table.tombstones--;
+                        }
+                        store(table, slot, key, value, hash);
+                        return true;
+                    }
+                    stats.comparison();
+                }
+                throw new IllegalStateException("Probe sequence found no free slot");
+        }
+    }
+
+    private void placeRobinHood(Table table, String key, String value, int hash, boolean trace) {
+        int slot = home(table, hash);
+        int distance = 0;
+        while (true) {
+            if (trace) {
+                lastProbes.add(slot);
+            }
+            if (table.keys[slot] == null) {
+                store(table, slot, key, value, hash);
+                return;
+            }
+            stats.comparison();
+            int occupantDistance = displacement(table, slot);
+            if (occupantDistance < distance) {
+                // Take from the rich: swap and carry the evicted entry onward
+                String evictedKey = table.keys[slot];
+                String evictedValue = table.values[slot];
+                int evictedHash = table.hashes[slot];
+                table.keys[slot] = key;
+                table.values[slot] = value;
+                table.hashes[slot] = hash;
+                stats.swap();
+                key = evictedKey;
+                value = evictedValue;
+                hash = evictedHash;
+                distance = occupantDistance;
+            }
+            slot = (slot + 1) & table.mask;
+            distance++;
+        }
+    }
+
+    private boolean placeCuckoo(Table table, String key, String value, int hash, boolean trace) {
+        int slot = home(table, hash);
+        if (table.keys[slot] != null) {
+            int other = alternate(table, key, slot);
+            if (table.keys[other] == null) {
+                slot = other;
+            }
+        }
+        kickCount = 0;
+        for (int kick = 0; kick <= MAX_KICKS; kick++) {
+            if (trace) {
+                lastProbes.add(slot);
+            }
+            if (table.keys[slot] == null) {
+                store(table, slot, key, value, hash);
+                return true;
+            }
+            kickSlots[kickCount++] = slot;
+            String evictedKey = table.keys[slot];
+            String evictedValue = table.values[slot];
+            int evictedHash = table.hashes[slot];
+            table.keys[slot] = key;
+            table.values[slot] = value;
+            table.hashes[slot] = hash;
+            stats.swap();
+            key = evictedKey;
+            value = evictedValue;
+            hash = evictedHash;
+            // The evicted key moves to whichever of its two slots it was not in
+            int evictedHome = home(table, hash);
+            slot = slot == evictedHome ? alternate(table, key, evictedHome) : evictedHome;
+        }
+        homelessKey = key;
+        homelessValue = value;
+        homelessHash = hash;
+        return false;
+    }
+
+    private static void store(Table table, int slot, String key, String value, int hash) {
+        table.keys[slot] = key;
+        table.values[slot] = value;
+        table.hashes[slot] = hash;
+        table.live++;
+    }
+
+    private void delete(Table table, int slot) {
+        if (strategy == Strategy.ROBIN_HOOD) {
+            // Backward shift: pull the rest of the run one slot closer to home
+            int next = (slot + 1) & table.mask;
+            while (table.keys[next] != null && displacement(table, next) > 0) {
+                table.keys[slot] = table.keys[next];
+                table.values[slot] = table.values[next];
+                table.hashes[slot] = table.hashes[next];
+                stats.moves(1);
+                slot = next;
+                next = (next + 1) & table.mask;
+            }
+            table.keys[slot] = null;
+            table.values[slot] = null;
+            table.live--;
+        } else if (strategy == Strategy.CUCKOO) {
+            table.keys[slot] = null;
+            table.values[slot] = null;
+            table.live--;
+        } else {
+            bury(table, slot);
+        }
+    }
+
+    private static void bury(Table table, int slot) {
+        table.keys[slot] = TOMBSTONE;
+        table.values[slot] = null;
+        table.live--;
+        table.tombstones++;
+    }
+
+    private static void unbury(Table table, int slot, String key, String value) {
+        table.keys[slot] = key;
+        table.values[slot] = value;
+        table.live++;
+        table.tombstones--;
+    }
+
+    // ---- Resizing ----
+
+    /**
+     * Make a fresh table for the given entry count and start draining into it
+     * Same capacity when only tombstones pushed the load up
+     */
+    private void startResize(int entries) {
+        lastResized = true;
+        int capacity = current.capacity();
+        while (entries > capacity * maxLoadFactor / 2) {
+            capacity *= 2;
+        }
+        if (old != null) {
+            // A second resize before the first finished: finish both in one pass
+            rebuild(capacity);
+            return;
+        }
+        old = current;
+        current = new Table(capacity, seed);
+        migrateCursor = 0;
+    }
+
+    private void migrate(int slots) {
+        while (old != null && slots-- > 0) {
+            if (migrateCursor >= old.capacity()) {
+                old = null;
+                break;
+            }
+            // Leave the rest for the next resize rather than overfill the new table
+            if (current.live + current.tombstones + 1 > current.capacity() * maxLoadFactor) {
+                break;
+            }
+            int slot = migrateCursor++;
+            String key = old.keys[slot];
+            if (key != null && key != TOMBSTONE) {
+                String value = old.values[slot];
+                // A tombstone, not null, so later probes through this slot keep going
+                bury(old, slot);
+                lastMigrated++;
+                stats.moves(1);
+                if (!place(current, key, value, old.hashes[slot], false)) {
+                    try {
+                        rebuildAfterFailedPlace();
+                    } catch (IllegalStateException e) {
+                        unbury(old, slot, key, value);
+                        migrateCursor--;
+                        throw e;
+                    }
+                    return;
+                }
+            }
+        }
+        if (old != null && migrateCursor >= old.capacity()) {
+            old = null;
+        }
+    }
+
+    /**
+     * Rebuild after a cuckoo eviction chain in the current table gave up. If
+     * the rebuild fails too, the chain is walked back so the current table
+     * holds exactly what it did before, without the entry being placed
+     */
+    private void rebuildAfterFailedPlace() {
+        Table table = current;
+        String key = homelessKey;
+        String value = homelessValue;
+        int hash = homelessHash;
+        int[] chain = Arrays.copyOf(kickSlots, kickCount);
+        try {
+            rebuild(current.capacity());
+        } catch (IllegalStateException e) {
+            // Each swap put the carried entry in the slot and picked up its occupant; reverse them
+            for (int i = chain.length - 1; i >= 0; i--) {
+                int slot = chain[i];
+                String displacedKey = table.keys[slot];
+                String displacedValue = table.values[slot];
+                int displacedHash = table.hashes[slot];
+                table.keys[slot] = key;
+                table.values[slot] = value;
+                table.hashes[slot] = hash;
+                key = displacedKey;
+                value = displacedValue;
+                hash = displacedHash;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stop-the-world fallback: collect both tables, plus any entry a failed
+     * cuckoo eviction chain left homeless, into one table of the given
+     * capacity. If cuckoo still cannot place everything it draws a new seed,
+     * doubling the capacity every other attempt while it stays within
+     * MAX_SPARSITY times what the load factor needs, and gives up after
+     * MAX_REBUILDS attempts, so keys that keep colliding cannot make the
+     * table grow without bound
+     */
+    private void rebuild(int capacity) {
+        lastResized = true;
+        List<String> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<Integer> hashes = new ArrayList<>();
+        collect(current, 0, keys, values, hashes);
+        if (old != null) {
+            collect(old, migrateCursor, keys, values, hashes);
+        }
+        if (homelessKey != null) {
+            keys.add(homelessKey);
+            values.add(homelessValue);
+            hashes.add(homelessHash);
+            homelessKey = null;
+            homelessValue = null;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Table next = new Table(capacity, seed);
+            boolean placed = true;
+            for (int i = 0; i < keys.size() && placed; i++) {
+                stats.moves(1);
+                placed = place(next, keys.get(i), values.get(i), hashes.get(i), false);
+            }
+            if (placed) {
+                current = next;
+                old = null;
+                migrateCursor = 0;
+                return;
+            }
+            String stuck = homelessKey;
+            homelessKey = null;
+            homelessValue = null;
+            if (attempt == MAX_REBUILDS) {
+                throw new IllegalStateException("Cuckoo table could not place " + keys.size() + " keys in "
+                        + capacity + " slots after " + MAX_REBUILDS + " rebuilds; stuck on key \"" + stuck + "\"");
+            }
+            seed = seed * 0x9E3779B9 + attempt;
+            int needed = powerOfTwoAtLeast((int) Math.ceil(keys.size() / maxLoadFactor));
+            if (attempt % 2 == 0 && capacity < MAX_SPARSITY * needed) {
+                capacity *= 2;
+            }
+        }
+    }
+
+    private static void collect(Table table, int start, List<String> keys, List<String> values, List<Integer> hashes) {
+        for (int slot = start; slot < table.capacity(); slot++) {
+            String key = table.keys[slot];
+            if (key != null && key != TOMBSTONE) {
+                keys.add(key);
+                values.add(table.values[slot]);
+                hashes.add(table.hashes[slot]);
+            }
+        }
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < n) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    // ---- Metrics ----
+
+    /**
+     * Probes a successful lookup needs, averaged over every stored key
+     */
+    public double getAverageProbeLength() {
+        long total = 0;
+        int keys = 0;
+        for (Table table : tables()) {
+            for (int slot = 0; slot < table.capacity(); slot++) {
+                if (table.keys[slot] != null && table.keys[slot] != TOMBSTONE) {
+                    total += probeLength(table, slot);
+                    keys++;
+                }
+            }
+        }
+        return keys == 0 ? 0 : (double) total / keys;
+    }
+
+    public int getMaxProbeLength() {
+        int longest = 0;
+        for (Table table : tables()) {
+            for (int slot = 0; slot < table.capacity(); slot++) {
+                if (table.keys[slot] != null && table.keys[slot] != TOMBSTONE) {
+                    longest = Math.max(longest, probeLength(table, slot));
+                }
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Number of probes that reach this occupied slot from its key's home
+     */
+    public int probeLength(int slot) {
+        return probeLength(current, slot);
+    }
+
+    private int probeLength(Table table, int slot) {
+        int hash = table.hashes[slot];
+        int home = home(table, hash);
+        int limit = strategy == Strategy.CUCKOO ? 2 : table.capacity();
+        for (int i = 0; i < limit; i++) {
+            if (probe(table, table.keys[slot], home, hash, i) == slot) {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private List<Table> tables() {
+        return old == null ? Arrays.asList(current) : Arrays.asList(current, old);
+    }
+
+    public double getLoadFactor() {
+        return (double) size / current.capacity();
+    }
+
+    public int getTombstoneCount() {
+        return current.tombstones + (old != null ? old.tombstones : 0);
+    }
+
+    /**
+     * Fraction of the old table already scanned, or 1 when no resize is running
+     */
+    public double getMigrationProgress() {
+        return old == null ? 1.0 : (double) migrateCursor / old.capacity();
+    }
+
+    public boolean isMigrating() {
+        return old != null;
+    }
+
+    public int getSize() { return size; }
+    public int getCapacity() { return current.capacity(); }
+    public Strategy getStrategy() { return strategy; }
+    public HashFunction getHashFunction() { return hashFunction; }
+    public double getMaxLoadFactor() { return maxLoadFactor; }
+    public List<Integer> getLastProbes() { return lastProbes; }
+    public int getLastMigrated() { return lastMigrated; }
+    public boolean wasResized() { return lastResized; }
+
+    // Slot views for the visualization
+    public String getKey(int slot) { return current.keys[slot]; }
+    public String getValue(int slot) { return current.values[slot]; }
+    public boolean isTombstone(int slot) { return current.keys[slot] == TOMBSTONE; }
+
+    public int getOldCapacity() { return old != null ? old.capacity() : 0; }
+    public int getMigrateCursor() { return migrateCursor; }
+    public String getOldKey(int slot) { return old.keys[slot]; }
+    public boolean isOldTombstone(int slot) { return old.keys[slot] == TOMBSTONE; }
+
+    /**
+     * Deep copy of the slot arrays for animation checkpoints
+     */
+    Object capture() {
+        return new Object[] {new Table(current), old != null ? new Table(old) : null, migrateCursor, size};
+    }
+
+    void restore(Object snapshot) {
+        Object[] state = (Object[]) snapshot;
+        current = new Table((Table) state[0]);
+        old = state[1] != null ? new Table((Table) state[1]) : null;
+        migrateCursor = (Integer) state[2];
+        size = (Integer) state[3];
+    }
+}
@@ -0,0 +1,125 @@
+package com.raven.ds.modules.hashtable;
+
+/**
+ * Byte-oriented hash functions applied to a String without copying it
+ * Each one hashes the string's UTF-16LE bytes, reading two bytes per
+ * charAt, so the results equal the reference implementations run on
+ * key.getBytes(UTF_16LE) while nothing is allocated per call
+ */
+final class StringHashes {
+    private static final int MURMUR_C1 = 0xcc9e2d51;
+    private static final int MURMUR_C2 = 0x1b873593;
+
+    private static final int XX_PRIME1 = 0x9E3779B1;
+    private static final int XX_PRIME2 = 0x85EBCA77;
+    private static final int XX_PRIME3 = 0xC2B2AE3D;
+    private static final int XX_PRIME4 = 0x27D4EB2F;
+    private static final int XX_PRIME5 = 0x165667B1;
+
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private StringHashes() {
+    }
+
+    /**
+     * MurmurHash3 x86_32: one 4-byte block per pair of chars
+     */
+    static int murmur3(String key, int seed) {
+        int length = key.length();
+        int h = seed;
+        int i = 1;
+        for (; i < length; i += 2) {
+            int k = key.charAt(i - 1) | (key.charAt(i) << 16);
+            k *= MURMUR_C1;
+            k = Integer.rotateLeft(k, 15);
+            k *= MURMUR_C2;
+            h ^= k;
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+        if ((length & 1) == 1) {
+            int k = key.charAt(length - 1);
+            k *= MURMUR_C1;
+            k = Integer.rotateLeft(k, 15);
+            k *= MURMUR_C2;
+            h ^= k;
+        }
+        h ^= 2 * length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * xxHash32: four accumulators over 16-byte stripes, then 4-byte words
+     * and single bytes for the tail
+     */
+    static int xxHash32(String key, int seed) {
+        int length = key.length();
+        int i = 0;
+        int h;
+        if (length >= 8) {
+            int v1 = seed + XX_PRIME1 + XX_PRIME2;
+            int v2 = seed + XX_PRIME2;
+            int v3 = seed;
+            int v4 = seed - XX_PRIME1;
+            for (; i + 8 <= length; i += 8) {
+                v1 = xxRound(v1, word(key, i));
+                v2 = xxRound(v2, word(key, i + 2));
+                v3 = xxRound(v3, word(key, i + 4));
+                v4 = xxRound(v4, word(key, i + 6));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + XX_PRIME5;
+        }
+        h += 2 * length;
+        for (; i + 2 <= length; i += 2) {
+            h += word(key, i) * XX_PRIME3;
+            h = Integer.rotateLeft(h, 17) * XX_PRIME4;
+        }
+        if (i < length) {
+            char c = key.charAt(i);
+            h += (c & 0xff) * XX_PRIME5;
+            h = Integer.rotateLeft(h, 11) * XX_PRIME1;
+            h += (c >>> 8) * XX_PRIME5;
+            h = Integer.rotateLeft(h, 11) * XX_PRIME1;
+        }
+        h ^= h >>> 15;
+        h *= XX_PRIME2;
+        h ^= h >>> 13;
+        h *= XX_PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int word(String key, int i) {
+        return key.charAt(i) | (key.charAt(i + 1) << 16);
+    }
+
+    private static int xxRound(int accumulator, int input) {
+        accumulator += input * XX_PRIME2;
+        accumulator = Integer.rotateLeft(accumulator, 13);
+        return accumulator * XX_PRIME1;
+    }
+
+    /**
+     * FNV-1a 32-bit: xor each byte in, then multiply by the FNV prime
+     */
+    static int fnv1a(String key) {
+        int h = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            h ^= c & 0xff;
+            h *= FNV_PRIME;
+            h ^= c >>> 8;
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+}
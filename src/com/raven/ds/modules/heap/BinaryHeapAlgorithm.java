@@ -2,57 +2,67 @@ package com.raven.ds.modules.heap;
 
 import com.raven.ds.core.AnimationEngine;
 import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.OperationStats;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Binary Heap implementation with animation support
+ * Binary and d-ary heap with animation support
+ * The heap itself is a primitive DaryHeap; the HeapNode list the panel draws is
+ * a projection of it. Each operation runs on the primitive heap straight away
+ * and its Observer callbacks are recorded as steps that replay the same
+ * comparisons and swaps on the nodes
  */
 public class BinaryHeapAlgorithm {
     private List<HeapNode> heap;
     private boolean isMaxHeap;
     private AnimationEngine animationEngine;
+    private DaryHeap core;
+    private final OperationStats stats = new OperationStats();
+    private final StepRecorder recorder = new StepRecorder();
     
     public BinaryHeapAlgorithm(AnimationEngine animationEngine, boolean isMaxHeap) {
         this.heap = new ArrayList<>();
         this.animationEngine = animationEngine;
         this.isMaxHeap = isMaxHeap;
+        this.core = new DaryHeap(2, isMaxHeap, stats);
+        core.setObserver(recorder);
+        animationEngine.setSnapshotter(new HeapSnapshotter(heap));
     }
     
     public void insert(int value) {
-        animationEngine.clearSteps();
-        
-        HeapNode newNode = new HeapNode(value);
+        startOperation();
         
         animationEngine.addStep(new SimpleAnimationStep("Insert", () -> {
+            HeapNode newNode = new HeapNode(value);
             heap.add(newNode);
             clearHighlights();
             newNode.setHighlighted(true);
         }, "➕ <b>Insert:</b> Adding value <b>" + value + "</b> at the end of the heap (first available leaf)."));
         
-        if (heap.size() > 1) {
-            heapifyUp(heap.size() - 1);
-        }
+        core.insert(value);
         
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
-        }, "✅ <b>Insertion Complete:</b> Heap property is maintained. All nodes satisfy the " + (isMaxHeap ? "Max-Heap" : "Min-Heap") + " condition."));
+        }, "✅ <b>Insertion Complete:</b> Heap property is maintained. All nodes satisfy the " + heapName() + " condition."));
     }
     
     public void extractRoot() {
-        if (heap.isEmpty()) return;
+        if (core.isEmpty()) return;
         
-        animationEngine.clearSteps();
+        startOperation();
+        int root = core.peek();
         
         animationEngine.addStep(new SimpleAnimationStep("Extract Root", () -> {
             clearHighlights();
             if (!heap.isEmpty()) {
                 heap.get(0).setHighlighted(true);
             }
-        }, "📤 <b>Extract Root:</b> Removing the root element <b>" + (heap.isEmpty() ? "none" : heap.get(0).getValue()) + "</b> (" + (isMaxHeap ? "Maximum" : "Minimum") + ")."));
+        }, "📤 <b>Extract Root:</b> Removing the root element <b>" + root + "</b> (" + (isMaxHeap ? "Maximum" : "Minimum") + ")."));
         
-        if (heap.size() == 1) {
+        if (core.size() == 1) {
+            core.extractRoot();
             animationEngine.addStep(new SimpleAnimationStep("Remove Last", () -> {
                 heap.clear();
             }, "🗑️ <b>Remove Last:</b> The heap is now empty."));
@@ -69,98 +79,70 @@ public class BinaryHeapAlgorithm {
             }
         }, "🔄 <b>Replace Root:</b> Moved the last element to the root position to maintain the complete tree structure."));
         
-        if (!heap.isEmpty()) {
-            heapifyDown(0);
-        }
+        core.extractRoot();
         
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
         }, "✅ <b>Extraction Complete:</b> Heap property restored."));
     }
     
-    private void heapifyUp(int index) {
-        if (index == 0) return;
-        
-        int parentIndex = (index - 1) / 2;
-        HeapNode current = heap.get(index);
-        HeapNode parent = heap.get(parentIndex);
-        
-        boolean shouldSwap = isMaxHeap ? 
-            current.getValue() > parent.getValue() : 
-            current.getValue() < parent.getValue();
-        
-        animationEngine.addStep(new SimpleAnimationStep("Compare", () -> {
-            clearHighlights();
-            current.setHighlighted(true);
-            parent.setHighlighted(true);
-        }, "🔍 <b>Compare:</b> Checking if child <b>" + current.getValue() + "</b> violates heap property with parent <b>" + parent.getValue() + "</b>."));
-        
-        if (shouldSwap) {
-            animationEngine.addStep(new SimpleAnimationStep("Swap", () -> {
-                current.setBeingSwapped(true);
-                parent.setBeingSwapped(true);
-                
-                // Swap values
-                int temp = current.getValue();
-                current.setValue(parent.getValue());
-                parent.setValue(temp);
-            }, "🔀 <b>Swap:</b> Child <b>" + current.getValue() + "</b> is " + (isMaxHeap ? "greater" : "smaller") + " than parent. Swapping to restore heap property."));
-            
-            animationEngine.addStep(new SimpleAnimationStep("Continue Heapify", () -> {
-                current.setBeingSwapped(false);
-                parent.setBeingSwapped(false);
-                clearHighlights();
-                parent.setHighlighted(true);
-            }, "⬆️ <b>Continue:</b> Moving up to check the parent's new position."));
-            
-            heapifyUp(parentIndex);
+    /**
+     * Bring the nodes in line with the primitive heap, dropping steps of an
+     * earlier operation that were never played, and start counting afresh
+     */
+    private void startOperation() {
+        animationEngine.clearSteps();
+        while (heap.size() > core.size()) {
+            heap.remove(heap.size() - 1);
+        }
+        for (int i = 0; i < core.size(); i++) {
+            if (i < heap.size()) {
+                heap.get(i).setValue(core.get(i));
+                heap.get(i).setSorted(false);
+                heap.get(i).reset();
+            } else {
+                heap.add(new HeapNode(core.get(i)));
+            }
         }
+        stats.reset();
     }
     
-    private void heapifyDown(int index) {
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
-        int targetIndex = index;
-        
-        if (leftChild >= heap.size()) return;
-        
-        animationEngine.addStep(new SimpleAnimationStep("Find Target", () -> {
-            clearHighlights();
-            heap.get(index).setHighlighted(true);
-            if (leftChild < heap.size()) {
-                heap.get(leftChild).setHighlighted(true);
-            }
-            if (rightChild < heap.size()) {
-                heap.get(rightChild).setHighlighted(true);
-            }
-        }, "🔍 <b>Compare Children:</b> Comparing <b>" + heap.get(index).getValue() + "</b> with its children to find the " + (isMaxHeap ? "largest" : "smallest") + "."));
-        
-        // Find the target child to potentially swap with
-        if (isMaxHeap) {
-            if (leftChild < heap.size() && 
-                heap.get(leftChild).getValue() > heap.get(targetIndex).getValue()) {
-                targetIndex = leftChild;
-            }
-            if (rightChild < heap.size() && 
-                heap.get(rightChild).getValue() > heap.get(targetIndex).getValue()) {
-                targetIndex = rightChild;
-            }
-        } else {
-            if (leftChild < heap.size() && 
-                heap.get(leftChild).getValue() < heap.get(targetIndex).getValue()) {
-                targetIndex = leftChild;
-            }
-            if (rightChild < heap.size() && 
-                heap.get(rightChild).getValue() < heap.get(targetIndex).getValue()) {
-                targetIndex = rightChild;
+    /**
+     * Turns the primitive heap's callbacks into steps on the node list
+     */
+    private class StepRecorder implements DaryHeap.Observer {
+        @Override
+        public void compared(int slot, int first, int end) {
+            if (first < slot) {
+                int child = core.get(slot);
+                int parent = core.get(first);
+                animationEngine.addStep(new SimpleAnimationStep("Compare", () -> {
+                    clearHighlights();
+                    heap.get(slot).setHighlighted(true);
+                    heap.get(first).setHighlighted(true);
+                }, "🔍 <b>Compare:</b> Checking if child <b>" + child + "</b> violates heap property with parent <b>" + parent + "</b>."));
+                return;
             }
+            int value = core.get(slot);
+            int children = end - first;
+            animationEngine.addStep(new SimpleAnimationStep("Find Target", () -> {
+                clearHighlights();
+                heap.get(slot).setHighlighted(true);
+                for (int child = first; child < end && child < heap.size(); child++) {
+                    heap.get(child).setHighlighted(true);
+                }
+            }, "🔍 <b>Compare Children:</b> Comparing <b>" + value + "</b> with its " + (children == 1 ? "child" : children + " children")
+                    + " to find the " + (isMaxHeap ? "largest" : "smallest") + "."));
         }
         
-        if (targetIndex != index) {
-            final int finalTarget = targetIndex;
+        @Override
+        public void swapped(int a, int b) {
+            int valueA = core.get(a);
+            int valueB = core.get(b);
+            boolean up = b < a;
             animationEngine.addStep(new SimpleAnimationStep("Swap", () -> {
-                HeapNode current = heap.get(index);
-                HeapNode target = heap.get(finalTarget);
+                HeapNode current = heap.get(a);
+                HeapNode target = heap.get(b);
                 
                 current.setBeingSwapped(true);
                 target.setBeingSwapped(true);
@@ -169,41 +151,43 @@ public class BinaryHeapAlgorithm {
                 int temp = current.getValue();
                 current.setValue(target.getValue());
                 target.setValue(temp);
-            }, "🔀 <b>Swap:</b> Swapping <b>" + heap.get(index).getValue() + "</b> with <b>" + heap.get(targetIndex).getValue() + "</b> to restore heap property."));
+            }, up
+                ? "🔀 <b>Swap:</b> Child <b>" + valueA + "</b> is " + (isMaxHeap ? "greater" : "smaller") + " than parent <b>" + valueB + "</b>. Swapping to restore heap property."
+                : "🔀 <b>Swap:</b> Swapping <b>" + valueA + "</b> with <b>" + valueB + "</b> to restore heap property."));
             
             animationEngine.addStep(new SimpleAnimationStep("Continue Heapify", () -> {
-                heap.get(index).setBeingSwapped(false);
-                heap.get(finalTarget).setBeingSwapped(false);
+                heap.get(a).setBeingSwapped(false);
+                heap.get(b).setBeingSwapped(false);
                 clearHighlights();
-                heap.get(finalTarget).setHighlighted(true);
-            }, "⬇️ <b>Continue:</b> Moving down to check the child's new position."));
-            
-            heapifyDown(targetIndex);
+                heap.get(b).setHighlighted(true);
+            }, up
+                ? "⬆️ <b>Continue:</b> Moving up to check the parent's new position."
+                : "⬇️ <b>Continue:</b> Moving down to check the child's new position."));
         }
     }
     
     public void buildHeap(int[] values) {
         clear();
-        animationEngine.clearSteps();
         
         animationEngine.addStep(new SimpleAnimationStep("Initialize", () -> {
+            heap.clear();
             for (int value : values) {
                 heap.add(new HeapNode(value));
             }
         }, "🏗️ <b>Build Heap:</b> Initialized heap with " + values.length + " elements. Starting bottom-up construction."));
         
         // Build heap from bottom up
-        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
-            heapifyDown(i);
-        }
+        core.buildHeap(values);
         
         animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
             clearHighlights();
-        }, "✅ <b>Build Complete:</b> The array has been transformed into a valid " + (isMaxHeap ? "Max-Heap" : "Min-Heap") + "."));
+        }, "✅ <b>Build Complete:</b> The array has been transformed into a valid " + heapName() + "."));
     }
     
     public void clear() {
         heap.clear();
+        core.clear();
+        stats.reset();
         animationEngine.clearSteps();
     }
     
@@ -219,11 +203,11 @@ public class BinaryHeapAlgorithm {
     }
     
     public boolean isEmpty() {
-        return heap.isEmpty();
+        return core.isEmpty();
     }
     
     public int size() {
-        return heap.size();
+        return core.size();
     }
     
     public HeapNode getRoot() {
@@ -233,5 +217,45 @@ public class BinaryHeapAlgorithm {
     // Getters
     public List<HeapNode> getNodes() { return heap; }
     public boolean isMaxHeap() { return isMaxHeap; }
-    public void setMaxHeap(boolean maxHeap) { this.isMaxHeap = maxHeap; }
+    public int getArity() { return core.getArity(); }
+    
+    /**
+     * Counts of the last operation
+     */
+    public OperationStats getStats() { return stats; }
+    
+    public void setMaxHeap(boolean maxHeap) {
+        this.isMaxHeap = maxHeap;
+        rebuild(core.getArity());
+    }
+    
+    public void setArity(int arity) {
+        rebuild(arity);
+    }
+    
+    /**
+     * New primitive heap with the current values, re-heapified bottom-up
+     */
+    private void rebuild(int arity) {
+        int[] values = core.toArray();
+        core = new DaryHeap(arity, isMaxHeap, stats);
+        core.setObserver(recorder);
+        if (values.length > 0) {
+            buildHeap(values);
+        }
+    }
+    
+    private String heapName() {
+        String kind = isMaxHeap ? "Max-Heap" : "Min-Heap";
+        return core.getArity() == 2 ? kind : core.getArity() + "-ary " + kind;
+    }
+    
+    /**
+     * Array-backed binary heap on primitives, counting comparisons and swaps
+     */
+    public static class Headless extends DaryHeap {
+        public Headless(OperationStats stats, boolean isMaxHeap) {
+            super(2, isMaxHeap, stats);
+        }
+    }
 }
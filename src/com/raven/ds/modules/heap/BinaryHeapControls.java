@@ -1,17 +1,24 @@
 package com.raven.ds.modules.heap;
 
 import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
 import com.raven.ds.core.PDFDocumentGenerator;
+import com.raven.ds.core.TimelineScrubber;
 import com.raven.swing.Button;
 import net.miginfocom.swing.MigLayout;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 
 /**
  * Control panel for Binary Heap operations
  */
 public class BinaryHeapControls extends JPanel {
+    // Keys pushed through each heap by the arity comparison
+    private static final int COMPARE_SIZE = 200_000;
+    private static final int[] COMPARE_ARITIES = {2, 3, 4, 8, 16};
+    
     private BinaryHeapPanel visualizer;
     private AnimationEngine animationEngine;
     
@@ -25,9 +32,12 @@ public class BinaryHeapControls extends JPanel {
     private Button stepBtn;
     private Button resetBtn;
     private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
     private JLabel statusLabel;
     private JLabel stepLabel;
     private JComboBox<String> heapTypeCombo;
+    private JSpinner aritySpinner;
+    private Button compareBtn;
     private Button downloadDocsBtn;
     
     public BinaryHeapControls(BinaryHeapPanel visualizer, AnimationEngine animationEngine) {
@@ -138,6 +148,20 @@ public class BinaryHeapControls extends JPanel {
         heapTypeCombo.setFont(new Font("SansSerif", Font.PLAIN, 12));
         heapTypeCombo.setToolTipText("Select heap type");
         
+        aritySpinner = new JSpinner(new SpinnerNumberModel(2, 2, DaryHeap.MAX_ARITY, 1));
+        aritySpinner.setToolTipText("Children per node: 2 is the classic binary heap");
+        
+        compareBtn = new Button();
+        compareBtn.setText("Compare d");
+        compareBtn.setBackground(new Color(142, 68, 173)); // Purple
+        compareBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        compareBtn.setForeground(Color.WHITE);
+        compareBtn.setPreferredSize(new Dimension(100, 40));
+        compareBtn.setToolTipText("Push " + COMPARE_SIZE + " random keys through heaps of several arities");
+        
+        // Timeline scrubber for jumping to any step
+        timelineScrubber = new TimelineScrubber(animationEngine);
+        
         // Status labels
         statusLabel = new JLabel("Ready for heap operations");
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
@@ -150,7 +174,7 @@ public class BinaryHeapControls extends JPanel {
     }
     
     private void setupLayout() {
-        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]"));
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]"));
         setBackground(Color.WHITE);
         setBorder(BorderFactory.createTitledBorder("Binary Heap Controls"));
         
@@ -163,7 +187,10 @@ public class BinaryHeapControls extends JPanel {
         
         // Heap type and sample row
         add(new JLabel("Heap Type:"), "cell 0 1");
-        add(heapTypeCombo, "cell 1 1");
+        add(heapTypeCombo, "cell 1 1, split 4");
+        add(new JLabel("Arity:"), "cell 1 1");
+        add(aritySpinner, "cell 1 1, w 60!");
+        add(compareBtn, "cell 1 1");
         add(loadSampleBtn, "cell 2 1");
         
         // Animation controls row
@@ -178,9 +205,13 @@ public class BinaryHeapControls extends JPanel {
         add(new JLabel("Speed:"), "cell 0 3");
         add(speedSlider, "cell 1 3, span 2, grow");
         
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 4");
+        add(timelineScrubber, "cell 1 4, span 2, grow");
+        
         // Status row
-        add(statusLabel, "cell 0 4, span 2");
-        add(stepLabel, "cell 2 4");
+        add(statusLabel, "cell 0 5, span 2");
+        add(stepLabel, "cell 2 5");
     }
     
     private void setupListeners() {
@@ -227,8 +258,18 @@ public class BinaryHeapControls extends JPanel {
             boolean isMaxHeap = "Max Heap".equals(selected);
             visualizer.setMaxHeap(isMaxHeap);
             statusLabel.setText("Switched to " + selected);
+            updateAnimationControls();
         });
         
+        aritySpinner.addChangeListener(e -> {
+            int arity = (Integer) aritySpinner.getValue();
+            visualizer.setArity(arity);
+            statusLabel.setText(arity == 2 ? "Switched to binary heap" : "Switched to " + arity + "-ary heap");
+            updateAnimationControls();
+        });
+        
+        compareBtn.addActionListener(e -> runArityComparison());
+        
         playBtn.addActionListener(e -> {
             animationEngine.play();
             statusLabel.setText("Playing...");
@@ -308,8 +349,100 @@ public class BinaryHeapControls extends JPanel {
         });
     }
     
+    /**
+     * Insert then drain the same random keys with each arity, off the EDT
+     * Time is the best of three runs; comparisons, swaps and cache lines come
+     * from one more run with an observer attached
+     */
+    private void runArityComparison() {
+        compareBtn.setEnabled(false);
+        statusLabel.setText("Comparing arities...");
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                int[] keys = new Random(42).ints(COMPARE_SIZE).toArray();
+                StringBuilder report = new StringBuilder(String.format(
+                    "%,d inserts then %,d extracts (min-heap)%n%-6s %7s %14s %12s %12s %10s%n",
+                    COMPARE_SIZE, COMPARE_SIZE, "Arity", "Levels", "Comparisons", "Swaps", "Lines/op", "Time (ms)"));
+                for (int arity : COMPARE_ARITIES) {
+                    OperationStats stats = new OperationStats();
+                    long best = Long.MAX_VALUE;
+                    for (int run = 0; run < 3; run++) {
+                        long start = System.nanoTime();
+                        pushAndDrain(new DaryHeap(arity, false, stats), keys);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    stats.reset();
+                    DaryHeap counted = new DaryHeap(arity, false, stats);
+                    CacheLineCounter lines = new CacheLineCounter();
+                    counted.setObserver(lines);
+                    for (int key : keys) {
+                        counted.insert(key);
+                    }
+                    int levels = counted.height();
+                    while (!counted.isEmpty()) {
+                        counted.extractRoot();
+                    }
+                    String line = String.format("%-6d %7d %,14d %,12d %12.1f %10.1f",
+                        arity, levels, stats.getComparisons(), stats.getSwaps(),
+                        lines.touched / (2.0 * COMPARE_SIZE), best / 1e6);
+                    report.append(line).append('\n');
+                }
+                return report.append("Lines/op: distinct 64-byte lines compared per operation").toString();
+            }
+            
+            @Override
+            protected void done() {
+                compareBtn.setEnabled(true);
+                try {
+                    JTextArea text = new JTextArea(get());
+                    text.setEditable(false);
+                    text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                    JOptionPane.showMessageDialog(BinaryHeapControls.this, new JScrollPane(text),
+                        "Heap Arity Comparison", JOptionPane.INFORMATION_MESSAGE);
+                    statusLabel.setText("Arity comparison done");
+                } catch (Exception ex) {
+                    statusLabel.setText("Arity comparison failed: " + ex.getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private static void pushAndDrain(DaryHeap heap, int[] keys) {
+        for (int key : keys) {
+            heap.insert(key);
+        }
+        while (!heap.isEmpty()) {
+            heap.extractRoot();
+        }
+    }
+    
+    /**
+     * Counts the 16-int cache lines each comparison group reads; the children
+     * of a node are contiguous, so up to 16 of them share a line
+     */
+    private static class CacheLineCounter implements DaryHeap.Observer {
+        private long touched;
+        
+        @Override
+        public void compared(int slot, int first, int end) {
+            int slotLine = slot >> 4;
+            int firstLine = first >> 4;
+            int lastLine = (end - 1) >> 4;
+            touched += lastLine - firstLine + 1;
+            if (slotLine < firstLine || slotLine > lastLine) {
+                touched++;
+            }
+        }
+        
+        @Override
+        public void swapped(int a, int b) {
+        }
+    }
+    
     private void updateAnimationControls() {
         boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
         playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
         pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
         stepBtn.setEnabled(hasSteps);
@@ -1,6 +1,7 @@
 package com.raven.ds.modules.heap;
 
 import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
 
 import javax.swing.*;
 import java.awt.*;
@@ -24,49 +25,60 @@ public class BinaryHeapPanel extends JPanel {
         setPreferredSize(new Dimension(800, 600));
         setBorder(BorderFactory.createTitledBorder("Binary Heap Visualization"));
     }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        
+        drawTitle(g2d);
+        drawHeap(g2d);
+        drawArrayRepresentation(g2d);
+        drawInstructions(g2d);
+    }
+    
     private void drawTitle(Graphics2D g2d) {
         g2d.setColor(new Color(52, 73, 94));
         g2d.setFont(titleFont);
-        String title = (heap.isMaxHeap() ? "Max" : "Min") + " Heap - Tree View";
+        String arity = heap.getArity() == 2 ? "" : " (" + heap.getArity() + "-ary)";
+        String title = (heap.isMaxHeap() ? "Max" : "Min") + " Heap" + arity + " - Tree View";
         g2d.drawString(title, 20, 30);
+        
+        OperationStats stats = heap.getStats();
+        g2d.setFont(infoFont);
+        g2d.drawString("Last operation: " + stats.getComparisons() + " comparisons, " + stats.getSwaps() + " swaps", 20, 50);
     }
     
     private void drawHeap(Graphics2D g2d) {
         List<HeapNode> nodes = heap.getNodes();
         if (nodes.isEmpty()) return;
         
-        int startX = getWidth() / 2;
+        int arity = heap.getArity();
         int startY = 80;
         int levelHeight = 60;
         
-        // Calculate positions for all nodes
+        // Level l holds arity^l slots; each gets an equal share of the width
+        int level = 0;
+        int levelStart = 0;
+        int levelWidth = 1;
         for (int i = 0; i < nodes.size(); i++) {
-            int level = (int) (Math.log(i + 1) / Math.log(2));
-            int positionInLevel = i - (int) (Math.pow(2, level) - 1);
-            int totalNodesInLevel = (int) Math.pow(2, level);
-            
-            int x = startX + (positionInLevel * 2 - totalNodesInLevel + 1) * (80 / (level + 1));
+            if (i == levelStart + levelWidth) {
+                levelStart = i;
+                levelWidth *= arity;
+                level++;
+            }
+            int positionInLevel = i - levelStart;
+            int x = (int) ((positionInLevel + 0.5) * getWidth() / levelWidth);
             int y = startY + level * levelHeight;
             
             nodes.get(i).setPosition(x, y);
         }
         
         // Draw edges first
-        for (int i = 0; i < nodes.size(); i++) {
-            int leftChild = 2 * i + 1;
-            int rightChild = 2 * i + 2;
-            
-            HeapNode parent = nodes.get(i);
-            
-            if (leftChild < nodes.size()) {
-                HeapNode left = nodes.get(leftChild);
-                drawEdge(g2d, parent, left);
-            }
-            
-            if (rightChild < nodes.size()) {
-                HeapNode right = nodes.get(rightChild);
-                drawEdge(g2d, parent, right);
-            }
+        for (int i = 1; i < nodes.size(); i++) {
+            drawEdge(g2d, nodes.get((i - 1) / arity), nodes.get(i));
         }
         
         // Draw nodes
@@ -138,7 +150,7 @@ public class BinaryHeapPanel extends JPanel {
             "• Insert: Add new element and maintain heap property",
             "• Extract: Remove root and restore heap property",
             "• Build: Create heap from array of values",
-            "• Toggle between Min and Max heap modes"
+            "• Toggle between Min and Max heap modes, or widen the nodes to d children"
         };
         
         int instrY = 450;
@@ -182,6 +194,11 @@ public class BinaryHeapPanel extends JPanel {
         repaint();
     }
     
+    public void setArity(int arity) {
+        heap.setArity(arity);
+        repaint();
+    }
+    
     public BinaryHeapAlgorithm getHeap() {
         return heap;
     }
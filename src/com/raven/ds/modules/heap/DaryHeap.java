@@ -0,0 +1,193 @@
+package com.raven.ds.modules.heap;
+
+import com.raven.ds.core.OperationStats;
+import java.util.Arrays;
+
+/**
+ * Array-backed d-ary heap on primitives, counting comparisons and swaps
+ * Slot i has its parent at (i - 1) / d and its children at d * i + 1 .. d * i + d,
+ * so all children of a node sit next to each other in memory. A wider node
+ * makes the tree shallower (fewer swaps on the way up and down) at the price
+ * of d comparisons per level on the way down. An optional Observer sees every
+ * comparison and swap, which is how the animated heap replays an operation
+ */
+public class DaryHeap {
+    public static final int MAX_ARITY = 16;
+
+    /**
+     * Callbacks fired while the heap works; slots are read before the swap happens
+     */
+    public interface Observer {
+        /**
+         * Slot was compared against the slots first .. end - 1: its parent on the
+         * way up, its children on the way down
+         */
+        void compared(int slot, int first, int end);
+
+        void swapped(int a, int b);
+    }
+
+    private final OperationStats stats;
+    private final int arity;
+    private final boolean isMaxHeap;
+    private int[] values = new int[16];
+    private int size;
+    private Observer observer;
+
+    public DaryHeap(int arity, boolean isMaxHeap, OperationStats stats) {
+        if (arity < 2 || arity > MAX_ARITY) {
+            throw new IllegalArgumentException("Arity must be between 2 and " + MAX_ARITY);
+        }
+        this.arity = arity;
+        this.isMaxHeap = isMaxHeap;
+        this.stats = stats;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    public void insert(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        siftUp(size++);
+    }
+
+    public int extractRoot() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int root = values[0];
+        values[0] = values[--size];
+        siftDown(0);
+        return root;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    /**
+     * Bottom-up construction in O(n), starting from the last slot with a child
+     */
+    public void buildHeap(int[] input) {
+        values = Arrays.copyOf(input, Math.max(16, input.length));
+        size = input.length;
+        for (int i = parentOf(size - 1); i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Values in slot order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public boolean isMaxHeap() {
+        return isMaxHeap;
+    }
+
+    public int parentOf(int slot) {
+        return (slot - 1) / arity;
+    }
+
+    public int firstChildOf(int slot) {
+        return slot * arity + 1;
+    }
+
+    /**
+     * Levels of a complete d-ary tree holding the current values
+     */
+    public int height() {
+        int levels = 0;
+        long levelEnd = 0;
+        long levelWidth = 1;
+        while (levelEnd < size) {
+            levelEnd += levelWidth;
+            levelWidth *= arity;
+            levels++;
+        }
+        return levels;
+    }
+
+    private boolean above(int a, int b) {
+        stats.comparison();
+        return isMaxHeap ? values[a] > values[b] : values[a] < values[b];
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            if (observer != null) {
+                observer.compared(slot, parent, parent + 1);
+            }
+            if (!above(slot, parent)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                return;
+            }
+            int end = Math.min(first + arity, size);
+            if (observer != null) {
+                observer.compared(slot, first, end);
+            }
+            // Best child first, then one comparison against the node itself
+            int best = first;
+            for (int child = first + 1; child < end; child++) {
+                if (above(child, best)) {
+                    best = child;
+                }
+            }
+            if (!above(best, slot)) {
+                return;
+            }
+            swap(slot, best);
+            slot = best;
+        }
+    }
+
+    private void swap(int a, int b) {
+        stats.swap();
+        if (observer != null) {
+            observer.swapped(a, b);
+        }
+        int temp = values[a];
+        values[a] = values[b];
+        values[b] = temp;
+    }
+}
@@ -0,0 +1,60 @@
+package com.raven.ds.modules.heap;
+
+import com.raven.ds.core.AnimationEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures heap membership and node values/flags for timeline checkpoints
+ */
+public class HeapSnapshotter implements AnimationEngine.Snapshotter {
+    private final List<HeapNode> heap;
+    
+    public HeapSnapshotter(List<HeapNode> heap) {
+        this.heap = heap;
+    }
+    
+    private static class Snapshot {
+        final List<HeapNode> nodes;
+        final int[] values;
+        final boolean[] highlighted;
+        final boolean[] swapped;
+        final boolean[] sorted;
+        
+        Snapshot(List<HeapNode> heap) {
+            int n = heap.size();
+            nodes = new ArrayList<>(heap);
+            values = new int[n];
+            highlighted = new boolean[n];
+            swapped = new boolean[n];
+            sorted = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                HeapNode node = heap.get(i);
+                values[i] = node.getValue();
+                highlighted[i] = node.isHighlighted();
+                swapped[i] = node.isBeingSwapped();
+                sorted[i] = node.isSorted();
+            }
+        }
+    }
+    
+    @Override
+    public Object capture() {
+        return new Snapshot(heap);
+    }
+    
+    @Override
+    public void restore(Object state) {
+        Snapshot snapshot = (Snapshot) state;
+        heap.clear();
+        heap.addAll(snapshot.nodes);
+        for (int i = 0; i < snapshot.values.length; i++) {
+            HeapNode node = heap.get(i);
+            node.setValue(snapshot.values[i]);
+            node.setHighlighted(snapshot.highlighted[i]);
+            node.setBeingSwapped(snapshot.swapped[i]);
+            node.setSorted(snapshot.sorted[i]);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.raven.ds.modules.heap;
+
+import com.raven.ds.core.OperationStats;
+import java.util.Arrays;
+
+/**
+ * d-ary min-heap over node ids 0..n-1 with decrease-key
+ * Each node is in the heap at most once, so the heap never holds stale
+ * entries and its size is bounded by the node count instead of the edge count
+ */
+public class IndexedMinHeap {
+    private final int arity;
+    private final OperationStats stats;
+    private final int[] heap;       // heap slot -> node
+    private final int[] position;   // node -> heap slot, -1 when absent
+    private final int[] priority;   // node -> key while queued
+    private int size;
+
+    public IndexedMinHeap(int capacity, int arity, OperationStats stats) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.stats = stats;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Insert the node, or lower its key if it is already queued with a larger one
+     * @return true if the heap changed
+     */
+    public boolean offer(int node, int key) {
+        int slot = position[node];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = node;
+            position[node] = slot;
+        } else if (key >= priority[node]) {
+            return false;
+        }
+        priority[node] = key;
+        siftUp(slot);
+        return true;
+    }
+
+    /**
+     * Remove and return the node with the smallest key
+     */
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public int peekKey() {
+        return priority[heap[0]];
+    }
+
+    public boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    public int getKey(int node) {
+        return priority[node];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int node = heap[slot];
+        int key = priority[node];
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            int parentNode = heap[parent];
+            stats.comparison();
+            if (priority[parentNode] <= key) {
+                break;
+            }
+            heap[slot] = parentNode;
+            position[parentNode] = slot;
+            slot = parent;
+        }
+        heap[slot] = node;
+        position[node] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int node = heap[slot];
+        int key = priority[node];
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int end = Math.min(first + arity, size);
+            int best = first;
+            for (int child = first + 1; child < end; child++) {
+                stats.comparison();
+                if (priority[heap[child]] < priority[heap[best]]) {
+                    best = child;
+                }
+            }
+            stats.comparison();
+            if (key <= priority[heap[best]]) {
+                break;
+            }
+            int bestNode = heap[best];
+            heap[slot] = bestNode;
+            position[bestNode] = slot;
+            slot = best;
+        }
+        heap[slot] = node;
+        position[node] = slot;
+    }
+}
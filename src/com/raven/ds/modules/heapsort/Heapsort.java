@@ -0,0 +1,166 @@
+package com.raven.ds.modules.heapsort;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * In-place heapsort on a primitive array, counting comparisons and swaps
+ * Written as a resumable loop: advance() does one unit of work (one level of
+ * a sift-down, one extraction of the maximum) so the animated sort can emit
+ * the steps of each unit as it is played, while sort() just runs it to the end.
+ * An optional Observer hears about each comparison and swap before it happens
+ */
+public class Heapsort {
+    /**
+     * Callbacks fired while the sort works; indices are into the array being sorted
+     */
+    public interface Observer {
+        void buildStarted();
+
+        /**
+         * parent is compared against child; largest is the bigger of the ones seen so far this level
+         */
+        void compared(int parent, int child, int largest);
+
+        void swapped(int parent, int child);
+
+        void heapBuilt();
+
+        /**
+         * The root is about to swap with the last unsorted slot, which is then final
+         */
+        void extracting(int last);
+
+        void finished();
+    }
+
+    private enum Phase {
+        START, BUILD, EXTRACT, DONE
+    }
+
+    private final OperationStats stats;
+    private Observer observer;
+    private int[] values;
+    private Phase phase = Phase.DONE;
+    private int outer;
+    private int siftIndex = -1;
+    private int siftSize;
+
+    public Heapsort(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    public void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    public void sort(int[] values) {
+        start(values);
+        while (advance()) {
+            // Each call does one level or one extraction
+        }
+    }
+
+    /**
+     * Begin sorting values in place; call advance() until it returns false
+     */
+    public void start(int[] values) {
+        this.values = values;
+        phase = Phase.START;
+        siftIndex = -1;
+    }
+
+    /**
+     * @return false once the array is sorted
+     */
+    public boolean advance() {
+        if (siftIndex >= 0) {
+            siftDownLevel();
+            return true;
+        }
+        switch (phase) {
+            case START:
+                if (observer != null) {
+                    observer.buildStarted();
+                }
+                outer = values.length / 2 - 1;
+                phase = Phase.BUILD;
+                return true;
+            case BUILD:
+                if (outer >= 0) {
+                    startSiftDown(outer--, values.length);
+                } else {
+                    if (observer != null) {
+                        observer.heapBuilt();
+                    }
+                    outer = values.length - 1;
+                    phase = Phase.EXTRACT;
+                }
+                return true;
+            case EXTRACT:
+                if (outer > 0) {
+                    if (observer != null) {
+                        observer.extracting(outer);
+                    }
+                    swap(0, outer);
+                    startSiftDown(0, outer--);
+                } else {
+                    if (observer != null) {
+                        observer.finished();
+                    }
+                    phase = Phase.DONE;
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    private void startSiftDown(int index, int size) {
+        siftIndex = index;
+        siftSize = size;
+    }
+
+    private void siftDownLevel() {
+        int index = siftIndex;
+        int left = 2 * index + 1;
+        int largest = index;
+        if (left < siftSize) {
+            if (observer != null) {
+                observer.compared(index, left, largest);
+            }
+            stats.comparison();
+            if (values[left] > values[largest]) {
+                largest = left;
+            }
+            if (left + 1 < siftSize) {
+                if (observer != null) {
+                    observer.compared(index, left + 1, largest);
+                }
+                stats.comparison();
+                if (values[left + 1] > values[largest]) {
+                    largest = left + 1;
+                }
+            }
+        }
+        if (largest == index) {
+            siftIndex = -1;
+            return;
+        }
+        if (observer != null) {
+            observer.swapped(index, largest);
+        }
+        swap(index, largest);
+        siftIndex = largest;
+    }
+
+    private void swap(int a, int b) {
+        stats.swap();
+        int temp = values[a];
+        values[a] = values[b];
+        values[b] = temp;
+    }
+}
@@ -1,14 +1,18 @@
 package com.raven.ds.modules.heapsort;
 
 import com.raven.ds.core.AnimationEngine;
-import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.core.StepGenerator;
+import com.raven.ds.core.OperationStats;
 import com.raven.ds.modules.heap.HeapNode;
+import com.raven.ds.modules.heap.HeapSnapshotter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Heapsort implementation with animation support
+ * The sort itself is a Heapsort run over a copy of the values; its Observer
+ * callbacks are emitted as the steps that replay it on the nodes
  */
 public class HeapsortAlgorithm {
     private List<HeapNode> heap;
@@ -20,6 +24,22 @@ public class HeapsortAlgorithm {
         this.heap = new ArrayList<>();
         this.sortedArray = new ArrayList<>();
         this.animationEngine = animationEngine;
+        
+        // heapSize shrinks inside the steps, so it is checkpointed with the nodes
+        HeapSnapshotter nodeSnapshotter = new HeapSnapshotter(heap);
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                return new Object[]{nodeSnapshotter.capture(), heapSize};
+            }
+            
+            @Override
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                nodeSnapshotter.restore(state[0]);
+                heapSize = (Integer) state[1];
+            }
+        });
     }
     
     public void loadData(int[] values) {
@@ -39,26 +59,60 @@ public class HeapsortAlgorithm {
         animationEngine.clearSteps();
         heapSize = heap.size();
         sortedArray.clear();
+        animationEngine.setStepSource(new SortSteps());
+    }
+    
+    /**
+     * Heapsort as a step generator over a private copy of the values, so each
+     * description reflects the array as it will be when that step plays
+     */
+    private class SortSteps extends StepGenerator implements Heapsort.Observer {
+        private final Heapsort run = new Heapsort(new OperationStats());
+        
+        SortSteps() {
+            int[] values = new int[heap.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = heap.get(i).getValue();
+            }
+            run.setObserver(this);
+            run.start(values);
+        }
+        
+        @Override
+        protected boolean advance() {
+            return run.advance();
+        }
         
-        // Step 1: Build Max Heap
-        animationEngine.addStep(new SimpleAnimationStep("Build Heap", () -> {
-            // Visual indication
-        }, "🏗️ <b>Phase 1: Build Max Heap</b><br>Converting the input array into a Max Heap structure so that the largest element is at the root."));
+        @Override
+        public void buildStarted() {
+            // Step 1: Build Max Heap
+            emit("Build Heap", () -> {
+                // Visual indication
+            }, "🏗️ <b>Phase 1: Build Max Heap</b><br>Converting the input array into a Max Heap structure so that the largest element is at the root.");
+        }
         
-        for (int i = heapSize / 2 - 1; i >= 0; i--) {
-            heapifyDown(i, heapSize);
+        @Override
+        public void heapBuilt() {
+            emit("Heap Built", () -> {
+                clearHighlights();
+            }, "✅ <b>Max Heap Built!</b><br>The root now contains the maximum element. We can now proceed to the sorting phase.");
         }
         
-        animationEngine.addStep(new SimpleAnimationStep("Heap Built", () -> {
-            clearHighlights();
-        }, "✅ <b>Max Heap Built!</b><br>The root now contains the maximum element. We can now proceed to the sorting phase."));
+        @Override
+        public void finished() {
+            emit("Complete", () -> {
+                if (!heap.isEmpty()) {
+                    heap.get(0).setSorted(true);
+                }
+                clearHighlights();
+            }, "🏁 <b>Sorting Complete!</b><br>The entire array is now sorted in ascending order.");
+        }
         
         // Step 2: Extract elements
-        int originalSize = heapSize;
-        for (int i = originalSize - 1; i > 0; i--) {
-            final int currentIndex = i;
-            
-            animationEngine.addStep(new SimpleAnimationStep("Swap Root", () -> {
+        @Override
+        public void extracting(int currentIndex) {
+            int max = run.get(0);
+            emit("Swap Root", () -> {
                 clearHighlights();
                 heap.get(0).setBeingSwapped(true);
                 heap.get(currentIndex).setBeingSwapped(true);
@@ -68,75 +122,49 @@ public class HeapsortAlgorithm {
                 heap.get(0).setValue(heap.get(currentIndex).getValue());
                 heap.get(currentIndex).setValue(temp);
                 
-            }, "🔄 <b>Extract Max:</b> Swapping root (max value) with the last unsorted element at index " + currentIndex + "."));
+            }, "🔄 <b>Extract Max:</b> Swapping root (max value) with the last unsorted element at index " + currentIndex + ".");
             
-            animationEngine.addStep(new SimpleAnimationStep("Lock Element", () -> {
+            emit("Lock Element", () -> {
                 heap.get(0).setBeingSwapped(false);
                 heap.get(currentIndex).setBeingSwapped(false);
                 heap.get(currentIndex).setSorted(true); // Mark as sorted
                 heapSize--;
-            }, "🔒 <b>Lock Element:</b> Value <b>" + heap.get(currentIndex).getValue() + "</b> is now in its final sorted position."));
-            
-            heapifyDown(0, i);
-        }
-        
-        animationEngine.addStep(new SimpleAnimationStep("Complete", () -> {
-            if (!heap.isEmpty()) {
-                heap.get(0).setSorted(true);
-            }
-            clearHighlights();
-        }, "🏁 <b>Sorting Complete!</b><br>The entire array is now sorted in ascending order."));
-    }
-    
-    private void heapifyDown(int index, int size) {
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
-        int largest = index;
-        
-        if (leftChild < size) {
-            final int l = leftChild;
-            animationEngine.addStep(new SimpleAnimationStep("Compare", () -> {
-                clearHighlights();
-                heap.get(index).setHighlighted(true);
-                heap.get(l).setHighlighted(true);
-            }, "🔍 <b>Compare:</b> Checking if left child <b>" + heap.get(l).getValue() + "</b> is greater than parent <b>" + heap.get(index).getValue() + "</b>."));
-            
-            if (heap.get(leftChild).getValue() > heap.get(largest).getValue()) {
-                largest = leftChild;
-            }
+            }, "🔒 <b>Lock Element:</b> Value <b>" + max + "</b> is now in its final sorted position.");
         }
         
-        if (rightChild < size) {
-            final int r = rightChild;
-            animationEngine.addStep(new SimpleAnimationStep("Compare", () -> {
-                clearHighlights();
-                heap.get(index).setHighlighted(true);
-                heap.get(r).setHighlighted(true);
-            }, "🔍 <b>Compare:</b> Checking if right child <b>" + heap.get(r).getValue() + "</b> is greater than current largest <b>" + heap.get(largest).getValue() + "</b>."));
-            
-            if (heap.get(rightChild).getValue() > heap.get(largest).getValue()) {
-                largest = rightChild;
+        @Override
+        public void compared(int index, int child, int largest) {
+            if (child == 2 * index + 1) {
+                emit("Compare", () -> {
+                    clearHighlights();
+                    heap.get(index).setHighlighted(true);
+                    heap.get(child).setHighlighted(true);
+                }, "🔍 <b>Compare:</b> Checking if left child <b>" + run.get(child) + "</b> is greater than parent <b>" + run.get(index) + "</b>.");
+            } else {
+                emit("Compare", () -> {
+                    clearHighlights();
+                    heap.get(index).setHighlighted(true);
+                    heap.get(child).setHighlighted(true);
+                }, "🔍 <b>Compare:</b> Checking if right child <b>" + run.get(child) + "</b> is greater than current largest <b>" + run.get(largest) + "</b>.");
             }
         }
         
-        if (largest != index) {
-            final int target = largest;
-            animationEngine.addStep(new SimpleAnimationStep("Swap", () -> {
+        @Override
+        public void swapped(int index, int target) {
+            emit("Swap", () -> {
                 heap.get(index).setBeingSwapped(true);
                 heap.get(target).setBeingSwapped(true);
                 
                 int temp = heap.get(index).getValue();
                 heap.get(index).setValue(heap.get(target).getValue());
                 heap.get(target).setValue(temp);
-            }, "🔀 <b>Swap:</b> Moving smaller parent <b>" + heap.get(target).getValue() + "</b> down to restore heap property."));
+            }, "🔀 <b>Swap:</b> Moving smaller parent <b>" + run.get(index) + "</b> down to restore heap property.");
             
-            animationEngine.addStep(new SimpleAnimationStep("Continue", () -> {
+            emit("Continue", () -> {
                 heap.get(index).setBeingSwapped(false);
                 heap.get(target).setBeingSwapped(false);
                 clearHighlights();
-            }, "⬇️ <b>Continue:</b> Moving down to check the new position."));
-            
-            heapifyDown(largest, size);
+            }, "⬇️ <b>Continue:</b> Moving down to check the new position.");
         }
     }
     
@@ -154,4 +182,13 @@ public class HeapsortAlgorithm {
     public int getHeapSize() {
         return heapSize;
     }
+    
+    /**
+     * In-place heapsort on a primitive array, counting comparisons and swaps
+     */
+    public static class Headless extends Heapsort {
+        public Headless(OperationStats stats) {
+            super(stats);
+        }
+    }
 }
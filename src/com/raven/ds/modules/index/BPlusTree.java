@@ -0,0 +1,560 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.OperationStats;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * B+ tree with one node per page, as a database index lays it out
+ * Node capacity follows from the page size: a leaf holds (key, row id) pairs
+ * and a link to its right sibling, an internal node keys and child page
+ * numbers, each after a 16-byte page header. Row ids live only in the leaves,
+ * so internal nodes fan out as widely as the page allows and the chained
+ * leaves turn a range scan into a sequential read. Separators are copies of
+ * the first key of their right subtree and may go stale after a delete, which
+ * routing tolerates. Inserts split overfull nodes on the way up; deletes
+ * borrow from a sibling or merge with it, freeing the emptied page
+ */
+public class BPlusTree implements PagedIndex {
+    // Page type, key count, right-sibling page number, checksum
+    static final int HEADER_BYTES = 16;
+    // A key plus a row id (leaf) or a child page number (internal)
+    static final int ENTRY_BYTES = 8;
+
+    static final class Node {
+        int n;
+        final int[] keys;
+        // Null for internal nodes
+        final int[] rowIds;
+        // Null for leaves
+        final Node[] children;
+        Node next;
+        final int page;
+
+        // One spare slot so a node can overflow by a key before it is split
+        Node(int maxKeys, boolean leaf, int page) {
+            keys = new int[maxKeys + 1];
+            rowIds = leaf ? new int[maxKeys + 1] : null;
+            children = leaf ? null : new Node[maxKeys + 2];
+            this.page = page;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    private final PageCache cache;
+    private final OperationStats stats;
+    private final int leafCapacity;
+    private final int internalCapacity;
+    private final int minLeafKeys;
+    private final int minInternalKeys;
+    private Node root;
+    private int size;
+    private int height;
+    // Internal nodes on the current search path and the child index taken in each
+    private Node[] path = new Node[16];
+    private int[] pathIndex = new int[16];
+    private int depth;
+    private List<Object> trace;
+    private long splits;
+    private long merges;
+
+    public BPlusTree(PageCache cache, OperationStats stats) {
+        this.cache = cache;
+        this.stats = stats;
+        int usable = cache.getPageSize() - HEADER_BYTES;
+        leafCapacity = usable / ENTRY_BYTES;
+        // n keys need n + 1 child pointers
+        internalCapacity = (usable - 4) / ENTRY_BYTES;
+        minLeafKeys = leafCapacity / 2;
+        minInternalKeys = internalCapacity / 2;
+    }
+
+    @Override
+    public void setTrace(List<Object> trace) {
+        this.trace = trace;
+    }
+
+    private void visit(Node node) {
+        cache.read(node.page);
+        if (trace != null) {
+            trace.add(node);
+        }
+    }
+
+    private void modify(Node node) {
+        cache.write(node.page);
+    }
+
+    private Node newNode(boolean leaf) {
+        return new Node(leaf ? leafCapacity : internalCapacity, leaf, cache.allocate());
+    }
+
+    /**
+     * Index of the first key above the given one: the child to follow
+     */
+    private int upperBound(Node node, int key) {
+        int lo = 0;
+        int hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            stats.comparison();
+            if (node.keys[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Index of the first key not below the given one
+     */
+    private int lowerBound(Node node, int key) {
+        int lo = 0;
+        int hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            stats.comparison();
+            if (node.keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Walk from the root to the leaf that would hold the key, recording the path
+     */
+    private Node descend(int key) {
+        depth = 0;
+        Node node = root;
+        while (!node.isLeaf()) {
+            visit(node);
+            int i = upperBound(node, key);
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                pathIndex = Arrays.copyOf(pathIndex, depth * 2);
+            }
+            path[depth] = node;
+            pathIndex[depth] = i;
+            depth++;
+            node = node.children[i];
+        }
+        visit(node);
+        return node;
+    }
+
+    @Override
+    public int search(int key) {
+        if (root == null) {
+            return NOT_FOUND;
+        }
+        Node leaf = descend(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.n && leaf.keys[i] == key ? leaf.rowIds[i] : NOT_FOUND;
+    }
+
+    @Override
+    public boolean insert(int key, int rowId) {
+        if (root == null) {
+            root = newNode(true);
+            root.keys[0] = key;
+            root.rowIds[0] = rowId;
+            root.n = 1;
+            size = 1;
+            height = 1;
+            return true;
+        }
+        Node leaf = descend(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n && leaf.keys[i] == key) {
+            leaf.rowIds[i] = rowId;
+            modify(leaf);
+            return false;
+        }
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+        System.arraycopy(leaf.rowIds, i, leaf.rowIds, i + 1, leaf.n - i);
+        leaf.keys[i] = key;
+        leaf.rowIds[i] = rowId;
+        leaf.n++;
+        size++;
+        modify(leaf);
+        if (leaf.n > leafCapacity) {
+            splitUp(leaf);
+        }
+        return true;
+    }
+
+    /**
+     * Split the overfull node and carry the separator up, splitting ancestors
+     * that overflow in turn and growing a new root if the old one splits
+     */
+    private void splitUp(Node node) {
+        int level = depth - 1;
+        while (true) {
+            Node right = newNode(node.isLeaf());
+            int separator;
+            if (node.isLeaf()) {
+                int keep = (node.n + 1) / 2;
+                right.n = node.n - keep;
+                System.arraycopy(node.keys, keep, right.keys, 0, right.n);
+                System.arraycopy(node.rowIds, keep, right.rowIds, 0, right.n);
+                node.n = keep;
+                right.next = node.next;
+                node.next = right;
+                separator = right.keys[0];
+            } else {
+                // The middle key moves up rather than being copied
+                int mid = node.n / 2;
+                separator = node.keys[mid];
+                right.n = node.n - mid - 1;
+                System.arraycopy(node.keys, mid + 1, right.keys, 0, right.n);
+                System.arraycopy(node.children, mid + 1, right.children, 0, right.n + 1);
+                for (int c = mid + 1; c <= node.n; c++) {
+                    node.children[c] = null;
+                }
+                node.n = mid;
+            }
+            modify(node);
+            splits++;
+
+            if (level < 0) {
+                Node newRoot = newNode(false);
+                newRoot.keys[0] = separator;
+                newRoot.children[0] = node;
+                newRoot.children[1] = right;
+                newRoot.n = 1;
+                root = newRoot;
+                height++;
+                return;
+            }
+            Node parent = path[level];
+            int i = pathIndex[level];
+            System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.n - i);
+            System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.n - i);
+            parent.keys[i] = separator;
+            parent.children[i + 1] = right;
+            parent.n++;
+            modify(parent);
+            if (parent.n <= internalCapacity) {
+                return;
+            }
+            node = parent;
+            level--;
+        }
+    }
+
+    @Override
+    public boolean delete(int key) {
+        if (root == null) {
+            return false;
+        }
+        Node leaf = descend(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.n || leaf.keys[i] != key) {
+            return false;
+        }
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+        System.arraycopy(leaf.rowIds, i + 1, leaf.rowIds, i, leaf.n - i - 1);
+        leaf.n--;
+        size--;
+        modify(leaf);
+        rebalance(leaf, depth - 1);
+        return true;
+    }
+
+    /**
+     * Fix an underfull node by borrowing from a sibling, else merging with one
+     * and moving on to the parent that lost a key
+     */
+    private void rebalance(Node node, int level) {
+        while (true) {
+            if (node == root) {
+                if (node.isLeaf() && node.n == 0) {
+                    cache.free(node.page);
+                    root = null;
+                    height = 0;
+                } else if (!node.isLeaf() && node.n == 0) {
+                    root = node.children[0];
+                    cache.free(node.page);
+                    height--;
+                }
+                return;
+            }
+            int min = node.isLeaf() ? minLeafKeys : minInternalKeys;
+            if (node.n >= min) {
+                return;
+            }
+            Node parent = path[level];
+            int i = pathIndex[level];
+            Node left = i > 0 ? parent.children[i - 1] : null;
+            Node right = i < parent.n ? parent.children[i + 1] : null;
+            if (left != null) {
+                visit(left);
+                if (left.n > min) {
+                    borrowFromLeft(parent, i, left, node);
+                    return;
+                }
+            }
+            if (right != null) {
+                visit(right);
+                if (right.n > min) {
+                    borrowFromRight(parent, i, node, right);
+                    return;
+                }
+            }
+            if (left != null) {
+                merge(parent, i - 1, left, node);
+            } else {
+                merge(parent, i, node, right);
+            }
+            node = parent;
+            level--;
+        }
+    }
+
+    private void borrowFromLeft(Node parent, int i, Node left, Node node) {
+        System.arraycopy(node.keys, 0, node.keys, 1, node.n);
+        if (node.isLeaf()) {
+            System.arraycopy(node.rowIds, 0, node.rowIds, 1, node.n);
+            node.keys[0] = left.keys[left.n - 1];
+            node.rowIds[0] = left.rowIds[left.n - 1];
+            parent.keys[i - 1] = node.keys[0];
+        } else {
+            System.arraycopy(node.children, 0, node.children, 1, node.n + 1);
+            node.keys[0] = parent.keys[i - 1];
+            node.children[0] = left.children[left.n];
+            left.children[left.n] = null;
+            parent.keys[i - 1] = left.keys[left.n - 1];
+        }
+        left.n--;
+        node.n++;
+        modify(left);
+        modify(node);
+        modify(parent);
+    }
+
+    private void borrowFromRight(Node parent, int i, Node node, Node right) {
+        if (node.isLeaf()) {
+            node.keys[node.n] = right.keys[0];
+            node.rowIds[node.n] = right.rowIds[0];
+            System.arraycopy(right.rowIds, 1, right.rowIds, 0, right.n - 1);
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+            parent.keys[i] = right.keys[0];
+        } else {
+            node.keys[node.n] = parent.keys[i];
+            node.children[node.n + 1] = right.children[0];
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+            System.arraycopy(right.children, 1, right.children, 0, right.n);
+            right.children[right.n] = null;
+        }
+        right.n--;
+        node.n++;
+        modify(right);
+        modify(node);
+        modify(parent);
+    }
+
+    /**
+     * Fold right into left, drop the separator between them and free right's page
+     */
+    private void merge(Node parent, int separator, Node left, Node right) {
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.n, right.n);
+            System.arraycopy(right.rowIds, 0, left.rowIds, left.n, right.n);
+            left.n += right.n;
+            left.next = right.next;
+        } else {
+            left.keys[left.n] = parent.keys[separator];
+            System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+            System.arraycopy(right.children, 0, left.children, left.n + 1, right.n + 1);
+            left.n += right.n + 1;
+        }
+        System.arraycopy(parent.keys, separator + 1, parent.keys, separator, parent.n - separator - 1);
+        System.arraycopy(parent.children, separator + 2, parent.children, separator + 1, parent.n - separator - 1);
+        parent.children[parent.n] = null;
+        parent.n--;
+        cache.free(right.page);
+        modify(left);
+        modify(parent);
+        merges++;
+    }
+
+    @Override
+    public int rangeScan(int from, int to, IntConsumer action) {
+        if (root == null || from > to) {
+            return 0;
+        }
+        Node leaf = descend(from);
+        int i = lowerBound(leaf, from);
+        int count = 0;
+        while (true) {
+            for (; i < leaf.n; i++) {
+                stats.comparison();
+                if (leaf.keys[i] > to) {
+                    return count;
+                }
+                action.accept(leaf.keys[i]);
+                count++;
+            }
+            leaf = leaf.next;
+            if (leaf == null) {
+                return count;
+            }
+            visit(leaf);
+            i = 0;
+        }
+    }
+
+    /**
+     * Full leaves written left to right, then each internal level above them;
+     * the pages come out in key order, so a range scan reads them sequentially
+     */
+    @Override
+    public void bulkLoad(int[] sorted) {
+        clear();
+        int n = sorted.length;
+        if (n == 0) {
+            return;
+        }
+        int count = (n + leafCapacity - 1) / leafCapacity;
+        Node[] level = new Node[count];
+        int[] mins = new int[count];
+        Node previous = null;
+        for (int l = 0; l < count; l++) {
+            // Spread the keys evenly so the last leaf is not left underfull
+            int from = (int) ((long) n * l / count);
+            int to = (int) ((long) n * (l + 1) / count);
+            Node leaf = newNode(true);
+            leaf.n = to - from;
+            System.arraycopy(sorted, from, leaf.keys, 0, leaf.n);
+            for (int k = 0; k < leaf.n; k++) {
+                leaf.rowIds[k] = from + k;
+            }
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[l] = leaf;
+            mins[l] = sorted[from];
+        }
+        height = 1;
+        while (count > 1) {
+            int parents = (count + internalCapacity) / (internalCapacity + 1);
+            Node[] upper = new Node[parents];
+            int[] upperMins = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                int from = (int) ((long) count * p / parents);
+                int to = (int) ((long) count * (p + 1) / parents);
+                Node node = newNode(false);
+                node.n = to - from - 1;
+                System.arraycopy(level, from, node.children, 0, to - from);
+                System.arraycopy(mins, from + 1, node.keys, 0, node.n);
+                upper[p] = node;
+                upperMins[p] = mins[from];
+            }
+            level = upper;
+            mins = upperMins;
+            count = parents;
+            height++;
+        }
+        root = level[0];
+        size = n;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        height = 0;
+        splits = 0;
+        merges = 0;
+        cache.clear();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public PageCache getCache() {
+        return cache;
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    public int getLeafCapacity() {
+        return leafCapacity;
+    }
+
+    public int getInternalCapacity() {
+        return internalCapacity;
+    }
+
+    public long getSplits() {
+        return splits;
+    }
+
+    public long getMerges() {
+        return merges;
+    }
+
+    /**
+     * Mean children per internal node, 0 while the root is a leaf
+     * Walks the whole tree in memory without touching the cache
+     */
+    public double getAverageFanout() {
+        long internal = 0;
+        long children = 0;
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        if (root != null && !root.isLeaf()) {
+            queue.add(root);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            internal++;
+            children += node.n + 1;
+            if (!node.children[0].isLeaf()) {
+                for (int c = 0; c <= node.n; c++) {
+                    queue.add(node.children[c]);
+                }
+            }
+        }
+        return internal == 0 ? 0 : (double) children / internal;
+    }
+
+    /**
+     * Keys per leaf over the leaf capacity, from the leaf chain
+     */
+    public double getLeafFill() {
+        if (root == null) {
+            return 0;
+        }
+        Node leaf = root;
+        while (!leaf.isLeaf()) {
+            leaf = leaf.children[0];
+        }
+        long leaves = 0;
+        for (; leaf != null; leaf = leaf.next) {
+            leaves++;
+        }
+        return (double) size / (leaves * leafCapacity);
+    }
+}
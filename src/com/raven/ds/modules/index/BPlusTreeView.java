@@ -0,0 +1,177 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * B+ tree drawn level by level, one box per page: leaves side by side and
+ * linked left to right, each parent centred over its children. Every box is
+ * labelled with its page number, coloured by where the cache has that page.
+ * The layout is redone only when the tree changes and shrinks to fit the width
+ */
+class BPlusTreeView extends JPanel {
+    private static final int KEY_WIDTH = 30;
+    private static final int NODE_HEIGHT = 26;
+    private static final int LEAF_GAP = 22;
+    private static final int LEVEL_HEIGHT = 76;
+    private static final int TOP_MARGIN = 80;
+    private static final double MIN_SCALE = 0.2;
+    private static final Color NODE_COLOR = new Color(52, 152, 219);
+    private static final Color LEAF_COLOR = new Color(41, 128, 185);
+    private static final Color MARKED_COLOR = new Color(46, 204, 113);
+    private static final Color VISITED_RING = new Color(241, 196, 15);
+    private static final Color FOCUS_RING = new Color(230, 126, 34);
+    private static final Color CHAIN_COLOR = new Color(142, 68, 173);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(1.5f);
+    private static final BasicStroke RING_STROKE = new BasicStroke(3);
+    private static final Font KEY_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font PAGE_FONT = new Font("SansSerif", Font.BOLD, 10);
+
+    private final IndexAlgorithm index;
+    private final IndexOverlay overlay;
+    // Left edge of each node box, in layout units; y comes from the depth
+    private final Map<BPlusTree.Node, Integer> left = new IdentityHashMap<>();
+    private final Map<BPlusTree.Node, Integer> depthOf = new IdentityHashMap<>();
+    private BPlusTree.Node layoutRoot;
+    private int layoutVersion = -1;
+    private int layoutWidth;
+
+    BPlusTreeView(IndexAlgorithm index, AnimationEngine animationEngine) {
+        this.index = index;
+        this.overlay = new IndexOverlay(index, animationEngine);
+        setBackground(Color.WHITE);
+    }
+
+    private static int boxWidth(BPlusTree.Node node) {
+        return Math.max(1, node.n) * KEY_WIDTH;
+    }
+
+    private void layout(BPlusTree.Node root) {
+        if (root == layoutRoot && index.getModCount() == layoutVersion) {
+            return;
+        }
+        layoutRoot = root;
+        layoutVersion = index.getModCount();
+        left.clear();
+        depthOf.clear();
+        layoutWidth = root == null ? 0 : place(root, 0, 0);
+    }
+
+    /**
+     * Place the subtree with its leftmost leaf at x
+     * @return the x just past the subtree, including the gap after it
+     */
+    private int place(BPlusTree.Node node, int x, int depth) {
+        depthOf.put(node, depth);
+        if (node.isLeaf()) {
+            left.put(node, x);
+            return x + boxWidth(node) + LEAF_GAP;
+        }
+        int next = x;
+        for (int c = 0; c <= node.n; c++) {
+            next = place(node.children[c], next, depth + 1);
+        }
+        int first = center(node.children[0]);
+        int last = center(node.children[node.n]);
+        int box = boxWidth(node);
+        int start = Math.max(x, (first + last) / 2 - box / 2);
+        left.put(node, start);
+        return Math.max(next, start + box + LEAF_GAP);
+    }
+
+    private int center(BPlusTree.Node node) {
+        return left.get(node) + boxWidth(node) / 2;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        BPlusTree.Node root = index.getTreeRoot();
+        layout(root);
+        if (root == null) {
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(new Font("SansSerif", Font.PLAIN, 14));
+            g2d.drawString("Empty index - insert keys, load the sample or bulk load", 20, 100);
+        } else {
+            int available = Math.max(1, getWidth() - 40);
+            double scale = Math.max(MIN_SCALE, Math.min(1.0, (double) available / layoutWidth));
+            AffineTransform screen = g2d.getTransform();
+            g2d.translate(Math.max(20, (getWidth() - layoutWidth * scale) / 2), TOP_MARGIN);
+            g2d.scale(scale, scale);
+            boolean detailed = scale >= 0.5;
+            drawSubtree(g2d, root, detailed);
+            drawLeafChain(g2d, root);
+            g2d.setTransform(screen);
+        }
+        overlay.draw(g2d, getWidth(), getHeight());
+    }
+
+    private void drawSubtree(Graphics2D g2d, BPlusTree.Node node, boolean detailed) {
+        int x = left.get(node);
+        int y = depthOf.get(node) * LEVEL_HEIGHT;
+        if (!node.isLeaf()) {
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(EDGE_STROKE);
+            for (int c = 0; c <= node.n; c++) {
+                // Each edge leaves from the boundary between the keys it falls between
+                g2d.drawLine(x + c * KEY_WIDTH, y + NODE_HEIGHT, center(node.children[c]), y + LEVEL_HEIGHT);
+            }
+            for (int c = 0; c <= node.n; c++) {
+                drawSubtree(g2d, node.children[c], detailed);
+            }
+        }
+        g2d.setFont(KEY_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int i = 0; i < node.n; i++) {
+            int cellX = x + i * KEY_WIDTH;
+            g2d.setColor(index.isMarked(node.keys[i]) && node.isLeaf() ? MARKED_COLOR
+                    : node.isLeaf() ? LEAF_COLOR : NODE_COLOR);
+            g2d.fillRect(cellX, y, KEY_WIDTH, NODE_HEIGHT);
+            g2d.setColor(Color.WHITE);
+            g2d.drawRect(cellX, y, KEY_WIDTH, NODE_HEIGHT);
+            if (detailed) {
+                String text = String.valueOf(node.keys[i]);
+                g2d.drawString(text, cellX + (KEY_WIDTH - fm.stringWidth(text)) / 2,
+                        y + (NODE_HEIGHT + fm.getAscent()) / 2 - 2);
+            }
+        }
+        if (detailed) {
+            g2d.setFont(PAGE_FONT);
+            g2d.setColor(IndexOverlay.pageColor(index.getCache(), node.page));
+            g2d.drawString("p" + node.page, x, y - 5);
+        }
+        if (index.isFocus(node) || index.isVisited(node)) {
+            g2d.setColor(index.isFocus(node) ? FOCUS_RING : VISITED_RING);
+            g2d.setStroke(RING_STROKE);
+            g2d.drawRect(x - 3, y - 3, boxWidth(node) + 6, NODE_HEIGHT + 6);
+        }
+    }
+
+    /**
+     * Right-sibling links along the leaf level, the path a range scan takes
+     */
+    private void drawLeafChain(Graphics2D g2d, BPlusTree.Node root) {
+        BPlusTree.Node leaf = root;
+        while (!leaf.isLeaf()) {
+            leaf = leaf.children[0];
+        }
+        g2d.setColor(CHAIN_COLOR);
+        g2d.setStroke(EDGE_STROKE);
+        int y = depthOf.get(leaf) * LEVEL_HEIGHT + NODE_HEIGHT / 2;
+        for (; leaf.next != null; leaf = leaf.next) {
+            int from = left.get(leaf) + boxWidth(leaf) + 2;
+            int to = left.get(leaf.next) - 2;
+            g2d.drawLine(from, y, to, y);
+            g2d.fillPolygon(new int[]{to, to - 6, to - 6}, new int[]{y, y - 4, y + 4}, 3);
+        }
+    }
+}
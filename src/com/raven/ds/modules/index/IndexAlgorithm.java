@@ -0,0 +1,424 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.SimpleAnimationStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Disk-resident indexes with animation support
+ * Every operation runs on the paged index at once with a trace switched on,
+ * then the steps walk the nodes it read, page by page, and the last step
+ * reports the page I/O the cache counted. Page size and cache size are
+ * settings; changing either rebuilds the current keys with a bulk load
+ */
+public class IndexAlgorithm {
+    public enum Variant {
+        B_PLUS_TREE("B+ tree"),
+        SKIP_LIST("Skip list");
+
+        private final String label;
+
+        Variant(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Tiny pages keep the drawing readable: six keys per leaf, six children per internal node
+    public static final int VISUAL_PAGE_SIZE = PageCache.MIN_PAGE_SIZE;
+    public static final int VISUAL_CACHE_PAGES = 4;
+    static final long SEED = 42;
+
+    private final AnimationEngine animationEngine;
+    private final OperationStats stats = new OperationStats();
+    private Variant variant = Variant.B_PLUS_TREE;
+    private int pageSize = VISUAL_PAGE_SIZE;
+    private int cachePages = VISUAL_CACHE_PAGES;
+    private PagedIndex index;
+    // Bumped on every change to the index, so views know when to lay it out again
+    private int modCount;
+
+    // Highlight state replayed by the steps
+    private Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Object focus;
+    private Set<Integer> markedKeys = new HashSet<>();
+
+    public IndexAlgorithm(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.index = create();
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+                path.addAll(visited);
+                return new Object[]{path, focus, new HashSet<>(markedKeys)};
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                visited = Collections.newSetFromMap(new IdentityHashMap<>());
+                visited.addAll((Set<Object>) state[0]);
+                focus = state[1];
+                markedKeys = new HashSet<>((Set<Integer>) state[2]);
+            }
+        });
+    }
+
+    private PagedIndex create() {
+        PageCache cache = new PageCache(pageSize, cachePages);
+        return variant == Variant.SKIP_LIST
+                ? new PagedSkipList(cache, stats, SEED)
+                : new BPlusTree(cache, stats);
+    }
+
+    /**
+     * Replace the index, bulk-loading the current keys into the new one
+     */
+    private void rebuild() {
+        int[] keys = getKeys();
+        index = create();
+        index.bulkLoad(keys);
+        modCount++;
+        animationEngine.clearSteps();
+        clearHighlights();
+    }
+
+    public void setVariant(Variant variant) {
+        if (variant == this.variant) return;
+        this.variant = variant;
+        rebuild();
+    }
+
+    public void setPageSize(int pageSize) {
+        if (pageSize == this.pageSize) return;
+        this.pageSize = pageSize;
+        rebuild();
+    }
+
+    public void setCachePages(int cachePages) {
+        if (cachePages == this.cachePages) return;
+        this.cachePages = cachePages;
+        rebuild();
+    }
+
+    public void insert(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        List<Object> trace = new ArrayList<>();
+        Cost cost = new Cost();
+        index.setTrace(trace);
+        boolean added = index.insert(key, index.size());
+        index.setTrace(null);
+        modCount++;
+        cost.finish();
+        addTraceSteps(trace, key, key, "insert");
+        addStep("Complete", () -> {
+            focus = null;
+            markedKeys.add(key);
+        }, (added
+                ? "✅ <b>Inserted " + key + "</b> "
+                : "⚠️ <b>" + key + " was already indexed</b>; its row id was rewritten in place ") + cost
+                + "<br>" + shapeSummary());
+    }
+
+    public void delete(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        List<Object> trace = new ArrayList<>();
+        Cost cost = new Cost();
+        index.setTrace(trace);
+        boolean removed = index.delete(key);
+        index.setTrace(null);
+        modCount++;
+        cost.finish();
+        addTraceSteps(trace, key, key, "delete");
+        addStep("Complete", () -> {
+            focus = null;
+        }, (removed
+                ? "🗑️ <b>Deleted " + key + "</b> "
+                : "⚠️ <b>" + key + " is not in the index</b>; nothing changed ") + cost + "<br>" + shapeSummary());
+    }
+
+    public void search(int key) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        List<Object> trace = new ArrayList<>();
+        Cost cost = new Cost();
+        index.setTrace(trace);
+        int rowId = index.search(key);
+        index.setTrace(null);
+        cost.finish();
+        addTraceSteps(trace, key, key, "search");
+        boolean found = rowId != PagedIndex.NOT_FOUND;
+        addStep("Result", () -> {
+            focus = null;
+            if (found) markedKeys.add(key);
+        }, (found ? "✅ <b>Found " + key + "</b> at row " + rowId + " " : "❌ <b>" + key + " is not indexed</b> ")
+                + cost);
+    }
+
+    /**
+     * Descend to the first key of the range, then follow the bottom level,
+     * revealing the keys each page contributes
+     */
+    public void rangeScan(int from, int to) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        List<Object> trace = new ArrayList<>();
+        List<Integer> found = new ArrayList<>();
+        Cost cost = new Cost();
+        index.setTrace(trace);
+        index.rangeScan(from, to, found::add);
+        index.setTrace(null);
+        cost.finish();
+        addTraceSteps(trace, from, to, "range");
+        addStep("Range", () -> {
+            focus = null;
+            markedKeys.addAll(found);
+        }, "📏 <b>Keys in [" + from + ", " + to + "]:</b> " + preview(found) + " " + cost + "<br>"
+                + (variant == Variant.B_PLUS_TREE
+                        ? "One descent, then the leaf chain: each further page holds up to "
+                        + ((BPlusTree) index).getLeafCapacity() + " keys."
+                        : "One descent, then one node at a time along the bottom lane; consecutive"
+                        + " keys share a page only if they were allocated together."));
+    }
+
+    public void bulkLoad(int count) {
+        animationEngine.clearSteps();
+        clearHighlights();
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i + 1;
+        }
+        index.bulkLoad(keys);
+        modCount++;
+        addStep("Bulk Load", () -> { }, "📦 <b>Bulk-loaded 1.." + count + "</b> from sorted input: "
+                + index.getCache().getLivePages() + " pages written once, in key order.<br>" + shapeSummary());
+    }
+
+    public void clear() {
+        animationEngine.clearSteps();
+        clearHighlights();
+        index.clear();
+        modCount++;
+    }
+
+    public void loadSample() {
+        animationEngine.clearSteps();
+        clearHighlights();
+        index.clear();
+        int rowId = 0;
+        for (int key : new int[]{50, 30, 70, 20, 40, 60, 80, 10, 25, 35, 45, 55, 65, 75, 85, 5, 15, 90, 95, 100}) {
+            index.insert(key, rowId++);
+        }
+        index.getCache().resetCounters();
+        modCount++;
+    }
+
+    private void addStep(String name, Runnable action, String description) {
+        animationEngine.addStep(new SimpleAnimationStep(name, action, description));
+    }
+
+    /**
+     * One step per node the operation read, in the order it read them
+     * @param to end of the range for a range scan, otherwise the key again
+     */
+    private void addTraceSteps(List<Object> trace, int key, int to, String operation) {
+        boolean range = "range".equals(operation);
+        boolean scanning = false;
+        Object previous = null;
+        for (Object node : trace) {
+            // A skip list reads the head and the tail of every lane more than once
+            if (node == previous) continue;
+            previous = node;
+            Object current = node;
+            String text;
+            List<Integer> reveal = new ArrayList<>();
+            if (node instanceof BPlusTree.Node) {
+                BPlusTree.Node page = (BPlusTree.Node) node;
+                if (range && page.isLeaf()) {
+                    for (int i = 0; i < page.n; i++) {
+                        if (page.keys[i] >= key && page.keys[i] <= to) reveal.add(page.keys[i]);
+                    }
+                }
+                text = describe(page, key, operation, scanning);
+                scanning |= page.isLeaf();
+            } else {
+                PagedSkipList.Node entry = (PagedSkipList.Node) node;
+                text = describe(entry, key, to, range);
+                if (range && entry.key >= key && entry.key <= to) {
+                    reveal.add(entry.key);
+                }
+            }
+            addStep("Read", () -> {
+                visited.add(current);
+                focus = current;
+                markedKeys.addAll(reveal);
+            }, text);
+        }
+    }
+
+    private String describe(BPlusTree.Node node, int key, String operation, boolean scanning) {
+        String page = "<b>Page " + node.page + " [" + describeKeys(node) + "]</b>";
+        if (scanning) {
+            return "➡️ " + page + ": next leaf in the chain, read without going back up the tree.";
+        }
+        if (!node.isLeaf()) {
+            int i = 0;
+            while (i < node.n && node.keys[i] <= key) {
+                i++;
+            }
+            return "🔍 " + page + ": internal, " + (node.n + 1) + " children; follow child " + i
+                    + (i == 0 ? ", before " + node.keys[0]
+                    : i == node.n ? ", from " + node.keys[i - 1] + " on"
+                    : ", from " + node.keys[i - 1] + " up to " + node.keys[i]) + ".";
+        }
+        return "🍃 " + page + ": the leaf where " + key
+                + ("range".equals(operation) ? " would start; scan right from here." : " belongs.");
+    }
+
+    private String describe(PagedSkipList.Node node, int key, int to, boolean range) {
+        if (node.key == Integer.MIN_VALUE) {
+            return "🏁 <b>Head on page " + node.page + "</b>: start on the top lane.";
+        }
+        String move = node.key < key ? node.key + " &lt; " + key + ", move right"
+                : !range ? (node.key == key ? "this is " + key : node.key + " &gt; " + key + ", drop a lane")
+                : node.key <= to ? "in the range; drop a lane, or on the bottom lane report it and step right"
+                : "past " + to + "; drop a lane, or on the bottom lane stop";
+        return "🔍 <b>Node " + node.key + " on page " + node.page + "</b> (" + node.next.length + " lanes): "
+                + move + ".";
+    }
+
+    private static String describeKeys(BPlusTree.Node node) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < node.n; i++) {
+            if (i > 0) text.append(" | ");
+            text.append(node.keys[i]);
+        }
+        return text.toString();
+    }
+
+    private static String preview(List<Integer> keys) {
+        if (keys.isEmpty()) return "none";
+        if (keys.size() <= 12) return keys.toString();
+        return keys.subList(0, 12) + " ... (" + keys.size() + " keys)";
+    }
+
+    private String shapeSummary() {
+        return "n = " + getSize() + ", " + (variant == Variant.B_PLUS_TREE ? "height " : "lanes ") + getHeight()
+                + ", " + index.getCache().getLivePages() + " pages of " + pageSize + " bytes; " + getShapeInfo() + ".";
+    }
+
+    /**
+     * What one page buys: fan-out and leaf fill for the tree, nodes per page for the skip list
+     */
+    public String getShapeInfo() {
+        if (variant == Variant.B_PLUS_TREE) {
+            BPlusTree tree = (BPlusTree) index;
+            return String.format("fan-out %.1f of %d, leaves %.0f%% full", tree.getAverageFanout(),
+                    tree.getInternalCapacity() + 1, 100 * tree.getLeafFill());
+        }
+        PagedSkipList list = (PagedSkipList) index;
+        return String.format("%.1f nodes per page, %.2f pointers per key", list.getNodesPerPage(),
+                list.getPointersPerKey());
+    }
+
+    /**
+     * Page I/O and comparisons for one operation, read from the cache and the shared stats
+     */
+    private class Cost {
+        private final PageCache cache = index.getCache();
+        private final long logicalReads = cache.getLogicalReads();
+        private final long physicalReads = cache.getPhysicalReads();
+        private final long logicalWrites = cache.getLogicalWrites();
+        private final long physicalWrites = cache.getPhysicalWrites();
+        private final long comparisons = stats.getComparisons();
+        private final long splits = variant == Variant.B_PLUS_TREE ? ((BPlusTree) index).getSplits() : 0;
+        private final long merges = variant == Variant.B_PLUS_TREE ? ((BPlusTree) index).getMerges() : 0;
+        private String text;
+
+        void finish() {
+            StringBuilder parts = new StringBuilder("(")
+                    .append(cache.getLogicalReads() - logicalReads).append(" page reads, ")
+                    .append(cache.getPhysicalReads() - physicalReads).append(" from disk; ")
+                    .append(cache.getLogicalWrites() - logicalWrites).append(" page writes, ")
+                    .append(cache.getPhysicalWrites() - physicalWrites).append(" to disk; ")
+                    .append(stats.getComparisons() - comparisons).append(" comparisons");
+            if (variant == Variant.B_PLUS_TREE) {
+                BPlusTree tree = (BPlusTree) index;
+                parts.append(", ").append(tree.getSplits() - splits).append(" splits, ")
+                        .append(tree.getMerges() - merges).append(" merges");
+            }
+            text = parts.append(")").toString();
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private void clearHighlights() {
+        visited.clear();
+        focus = null;
+        markedKeys.clear();
+    }
+
+    BPlusTree.Node getTreeRoot() {
+        return variant == Variant.B_PLUS_TREE ? ((BPlusTree) index).getRoot() : null;
+    }
+
+    PagedSkipList.Node getSkipListHead() {
+        return variant == Variant.SKIP_LIST ? ((PagedSkipList) index).getHead() : null;
+    }
+
+    boolean isVisited(Object node) { return visited.contains(node); }
+    boolean isFocus(Object node) { return node == focus; }
+    boolean isMarked(int key) { return markedKeys.contains(key); }
+
+    /**
+     * Keys in order, read without going through the cache
+     */
+    public int[] getKeys() {
+        int[] keys = new int[getSize()];
+        int next = 0;
+        if (index instanceof BPlusTree) {
+            BPlusTree.Node leaf = ((BPlusTree) index).getRoot();
+            while (leaf != null && !leaf.isLeaf()) {
+                leaf = leaf.children[0];
+            }
+            for (; leaf != null; leaf = leaf.next) {
+                for (int i = 0; i < leaf.n; i++) {
+                    keys[next++] = leaf.keys[i];
+                }
+            }
+        } else {
+            for (PagedSkipList.Node node = ((PagedSkipList) index).getHead().next[0]; node != null;
+                 node = node.next[0]) {
+                keys[next++] = node.key;
+            }
+        }
+        return keys;
+    }
+
+    public Variant getVariant() { return variant; }
+    public int getPageSize() { return pageSize; }
+    public int getCachePages() { return cachePages; }
+    public PageCache getCache() { return index.getCache(); }
+    public int getSize() { return index.size(); }
+    public int getHeight() { return index.height(); }
+    public int getModCount() { return modCount; }
+}
@@ -0,0 +1,213 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the paged indexes headless on millions of keys
+ * The first table bulk-loads both structures at several page sizes and then
+ * counts the pages random lookups and short range scans read, starting from a
+ * cold cache: the B+ tree's height and fan-out against the skip list's
+ * node-to-node hops. The second builds both by random inserts instead, which
+ * costs the tree splits and the skip list its page locality
+ */
+public class IndexCompareDialog extends JDialog {
+    private static final int[] PAGE_SIZES = {256, 1024, 4096, 16384};
+    private static final int INSERT_PAGE_SIZE = PageCache.DEFAULT_PAGE_SIZE;
+    private static final int LOOKUPS = 100_000;
+    private static final int SCANS = 1_000;
+    private static final int RANGE_WIDTH = 1_000;
+    private static final long SEED = 42;
+
+    private JSpinner sizeSpinner;
+    private JSpinner cacheSpinner;
+    private Button runBtn;
+    private JTextArea resultsArea;
+
+    public IndexCompareDialog(Frame owner) {
+        super(owner, "Compare Disk Indexes", false);
+
+        initComponents();
+        setSize(1000, 560);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][grow]"));
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(2_000_000, 10_000, 10_000_000, 500_000));
+        sizeSpinner.setToolTipText("Keys per index");
+        cacheSpinner = new JSpinner(new SpinnerNumberModel(64, 1, 100_000, 16));
+        cacheSpinner.setToolTipText("Pages the buffer pool holds");
+        runBtn = new Button();
+        runBtn.setText("Run");
+        runBtn.setBackground(new Color(231, 76, 60));
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(110, 36));
+        runBtn.setToolTipText("Build both indexes at each page size and count the page I/O");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Keys:"), "cell 0 0");
+        panel.add(sizeSpinner, "cell 1 0, split 4, w 120!");
+        panel.add(new JLabel("Cache pages:"), "cell 1 0, gapleft 15");
+        panel.add(cacheSpinner, "cell 1 0, w 90!");
+        panel.add(runBtn, "cell 1 0, gapleft push");
+        panel.add(new JScrollPane(resultsArea), "cell 0 1, span 2, grow");
+        setContentPane(panel);
+
+        runBtn.addActionListener(e -> run());
+    }
+
+    private void run() {
+        int n = (Integer) sizeSpinner.getValue();
+        int cachePages = (Integer) cacheSpinner.getValue();
+        runBtn.setEnabled(false);
+        resultsArea.append(String.format("%,d keys bulk-loaded, %d-page cache emptied before %,d random lookups"
+                        + " and %,d scans of %,d keys%n%-10s %6s %10s %7s %9s %10s %8s %11s %11s %11s %10s%n",
+                n, cachePages, LOOKUPS, SCANS, RANGE_WIDTH, "Structure", "Page", "Build (ms)", "Height",
+                "Fan-out", "Pages", "MB", "Reads/find", "Disk/find", "Find (ns)", "Disk/scan"));
+
+        new SwingWorker<Void, String>() {
+            @Override
+            protected Void doInBackground() {
+                // Distinct keys 0, 2, 4...; lookups always hit
+                int[] keys = new int[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = 2 * i;
+                }
+                SplittableRandom random = new SplittableRandom(SEED);
+                int[] lookups = new int[LOOKUPS];
+                for (int q = 0; q < LOOKUPS; q++) {
+                    lookups[q] = random.nextInt(n);
+                }
+
+                for (int pageSize : PAGE_SIZES) {
+                    bulk(new BPlusTree(new PageCache(pageSize, cachePages), new OperationStats()), keys, lookups);
+                    bulk(new PagedSkipList(new PageCache(pageSize, cachePages), new OperationStats(), SEED), keys,
+                            lookups);
+                }
+
+                int inserts = Math.max(1, n / 4);
+                int[] order = new int[inserts];
+                for (int i = 0; i < inserts; i++) {
+                    order[i] = 2 * i;
+                }
+                shuffle(order, new SplittableRandom(SEED + 1));
+                publish(String.format("%n%,d random inserts on %d-byte pages, %d-page cache, then a flush%n"
+                                + "%-10s %10s %10s %12s %12s %12s %10s %10s%n", inserts, INSERT_PAGE_SIZE, cachePages,
+                        "Structure", "Build (ms)", "Pages", "Writes/ins", "Disk rd/ins", "Disk wr/ins", "Disk/scan",
+                        "Check"));
+                inserts(new BPlusTree(new PageCache(INSERT_PAGE_SIZE, cachePages), new OperationStats()), order);
+                inserts(new PagedSkipList(new PageCache(INSERT_PAGE_SIZE, cachePages), new OperationStats(), SEED),
+                        order);
+                return null;
+            }
+
+            private void bulk(PagedIndex index, int[] keys, int[] lookups) {
+                PageCache cache = index.getCache();
+                long start = System.nanoTime();
+                index.bulkLoad(keys);
+                double buildMillis = (System.nanoTime() - start) / 1e6;
+                double fanout = index instanceof BPlusTree ? ((BPlusTree) index).getAverageFanout()
+                        : ((PagedSkipList) index).getNodesPerPage();
+
+                cache.evictAll();
+                cache.resetCounters();
+                start = System.nanoTime();
+                for (int lookup : lookups) {
+                    index.search(keys[lookup]);
+                }
+                double findNanos = (double) (System.nanoTime() - start) / lookups.length;
+                double readsPerFind = (double) cache.getLogicalReads() / lookups.length;
+                double diskPerFind = (double) cache.getPhysicalReads() / lookups.length;
+
+                cache.evictAll();
+                cache.resetCounters();
+                long[] visited = {0};
+                for (int s = 0; s < SCANS; s++) {
+                    int from = keys[lookups[s]];
+                    index.rangeScan(from, from + 2 * RANGE_WIDTH - 1, key -> visited[0]++);
+                }
+                double diskPerScan = (double) cache.getPhysicalReads() / SCANS;
+
+                String line = String.format("%-10s %6d %10.1f %7d %9.1f %,10d %8.1f %11.2f %11.2f %11.1f %10.1f%n",
+                        name(index), cache.getPageSize(), buildMillis, index.height(), fanout, cache.getLivePages(),
+                        (double) cache.getLivePages() * cache.getPageSize() / (1 << 20), readsPerFind, diskPerFind,
+                        findNanos, diskPerScan);
+                publish(line);
+            }
+
+            private void inserts(PagedIndex index, int[] order) {
+                PageCache cache = index.getCache();
+                long start = System.nanoTime();
+                for (int i = 0; i < order.length; i++) {
+                    index.insert(order[i], i);
+                }
+                cache.flush();
+                double buildMillis = (System.nanoTime() - start) / 1e6;
+                long reads = cache.getPhysicalReads();
+                long writes = cache.getPhysicalWrites();
+                long logicalWrites = cache.getLogicalWrites();
+
+                cache.evictAll();
+                cache.resetCounters();
+                int n = order.length;
+                long[] visited = {0};
+                SplittableRandom random = new SplittableRandom(SEED + 2);
+                for (int s = 0; s < SCANS; s++) {
+                    int from = 2 * random.nextInt(n);
+                    index.rangeScan(from, from + 2 * RANGE_WIDTH - 1, key -> visited[0]++);
+                }
+                double diskPerScan = (double) cache.getPhysicalReads() / SCANS;
+                boolean ok = index.size() == n && index.search(order[0]) == 0
+                        && index.search(1) == PagedIndex.NOT_FOUND;
+
+                String line = String.format("%-10s %10.1f %,10d %12.2f %12.2f %12.2f %10.1f %10s%n", name(index),
+                        buildMillis, cache.getLivePages(), (double) logicalWrites / n, (double) reads / n,
+                        (double) writes / n, diskPerScan, ok ? "verified" : "MISMATCH");
+                publish(line);
+            }
+
+            private String name(PagedIndex index) {
+                return index instanceof BPlusTree ? "B+ tree" : "Skip list";
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Run failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                runBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+}
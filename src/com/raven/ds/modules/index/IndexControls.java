@@ -0,0 +1,331 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TimelineScrubber;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Control panel for the disk indexes
+ */
+public class IndexControls extends JPanel {
+    private static final Integer[] PAGE_SIZES = {64, 128, 256, 512, 1024, 4096};
+
+    private IndexPanel visualizer;
+    private AnimationEngine animationEngine;
+
+    private JComboBox<IndexAlgorithm.Variant> variantCombo;
+    private JComboBox<Integer> pageSizeCombo;
+    private JSpinner cacheSpinner;
+    private Button compareBtn;
+    private JTextField valueField;
+    private Button insertBtn;
+    private Button deleteBtn;
+    private Button searchBtn;
+    private Button clearBtn;
+    private JTextField rangeToField;
+    private Button rangeBtn;
+    private JSpinner bulkSpinner;
+    private Button bulkLoadBtn;
+    private Button playBtn;
+    private Button pauseBtn;
+    private Button stepBtn;
+    private Button resetBtn;
+    private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
+    private JLabel statusLabel;
+    private JLabel stepLabel;
+
+    public IndexControls(IndexPanel visualizer, AnimationEngine animationEngine) {
+        this.visualizer = visualizer;
+        this.animationEngine = animationEngine;
+
+        initComponents();
+        setupLayout();
+        setupListeners();
+    }
+
+    private void initComponents() {
+        variantCombo = new JComboBox<>(IndexAlgorithm.Variant.values());
+        variantCombo.setToolTipText("Switching rebuilds the current keys with a bulk load");
+        pageSizeCombo = new JComboBox<>(PAGE_SIZES);
+        pageSizeCombo.setSelectedItem(IndexAlgorithm.VISUAL_PAGE_SIZE);
+        pageSizeCombo.setToolTipText("Bytes per page; larger pages mean wider nodes and a shallower tree");
+        cacheSpinner = new JSpinner(new SpinnerNumberModel(IndexAlgorithm.VISUAL_CACHE_PAGES, 1, 256, 1));
+        cacheSpinner.setToolTipText("Pages the buffer pool holds before it evicts the least recently used");
+        compareBtn = createButton("Compare...", new Color(231, 76, 60), 120,
+                "Bulk-load millions of keys at several page sizes and count the page I/O");
+
+        valueField = createField(10, "Key to insert, delete or search; start of a range");
+        insertBtn = createButton("Insert", new Color(39, 174, 96), 100, "Insert the key");
+        deleteBtn = createButton("Delete", new Color(231, 76, 60), 100, "Delete the key");
+        searchBtn = createButton("Search", new Color(52, 152, 219), 100, "Trace the pages read looking up the key");
+        clearBtn = createButton("Clear All", new Color(231, 76, 60), 120, "Clear the index");
+
+        rangeToField = createField(6, "End of the range, inclusive");
+        rangeBtn = createButton("Range Scan", new Color(142, 68, 173), 110,
+                "Read the keys from the value to the end, page by page");
+
+        bulkSpinner = new JSpinner(new SpinnerNumberModel(60, 1, 500, 1));
+        bulkSpinner.setToolTipText("Bulk-load keys 1..n from sorted input");
+        bulkLoadBtn = createButton("Bulk Load", new Color(53, 162, 230), 110, "Build the index from 1..n in O(n)");
+
+        playBtn = createButton("▶ Play", new Color(46, 204, 113), 80, "Play animation sequence");
+        pauseBtn = createButton("⏸ Pause", new Color(241, 196, 15), 80, "Pause current animation");
+        pauseBtn.setForeground(Color.BLACK);
+        stepBtn = createButton("⏭ Step", new Color(53, 106, 230), 80, "Execute next animation step");
+        resetBtn = createButton("🔄 Reset", new Color(149, 165, 166), 80, "Reset animation to beginning");
+
+        speedSlider = new JSlider(50, 3000, 1000);
+        speedSlider.setInverted(true); // Lower values = faster
+        speedSlider.setPreferredSize(new Dimension(400, 60));
+        speedSlider.setMajorTickSpacing(500);
+        speedSlider.setPaintTicks(true);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setBackground(Color.WHITE);
+
+        timelineScrubber = new TimelineScrubber(animationEngine);
+
+        statusLabel = new JLabel("Ready for index operations");
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+
+        stepLabel = new JLabel("Step: 0/0");
+        stepLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    private JTextField createField(int columns, String tooltip) {
+        JTextField field = new JTextField(columns);
+        field.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        field.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(52, 73, 94), 1),
+            BorderFactory.createEmptyBorder(5, 8, 5, 8)
+        ));
+        field.setToolTipText(tooltip);
+        return field;
+    }
+
+    private Button createButton(String text, Color color, int width, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(width, 40));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Disk Index Controls"));
+
+        // Structure row
+        add(new JLabel("Structure:"), "cell 0 0");
+        add(variantCombo, "cell 1 0, split 5");
+        add(new JLabel("Page bytes:"), "cell 1 0, gapleft 15");
+        add(pageSizeCombo, "cell 1 0");
+        add(new JLabel("Cache pages:"), "cell 1 0, gapleft 15");
+        add(cacheSpinner, "cell 1 0, w 60!");
+        add(compareBtn, "cell 2 0");
+
+        // Operations row
+        add(new JLabel("Operations:"), "cell 0 1");
+        add(valueField, "cell 1 1, split 4");
+        add(insertBtn, "cell 1 1");
+        add(deleteBtn, "cell 1 1");
+        add(searchBtn, "cell 1 1");
+        add(clearBtn, "cell 2 1");
+
+        // Scan and bulk row
+        add(new JLabel("Scan:"), "cell 0 2");
+        add(rangeBtn, "cell 1 2, split 5");
+        add(new JLabel("to"), "cell 1 2");
+        add(rangeToField, "cell 1 2");
+        add(bulkSpinner, "cell 1 2, gapleft 20, w 70!");
+        add(bulkLoadBtn, "cell 1 2");
+
+        // Animation controls row
+        add(new JLabel("Animation:"), "cell 0 3");
+        add(playBtn, "cell 1 3");
+        add(pauseBtn, "cell 1 3");
+        add(stepBtn, "cell 1 3");
+        add(resetBtn, "cell 1 3");
+
+        // Speed control row
+        add(new JLabel("Speed:"), "cell 0 4");
+        add(speedSlider, "cell 1 4, span 2, grow");
+
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
+
+        // Status row
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
+    }
+
+    private void setupListeners() {
+        variantCombo.addActionListener(e -> {
+            IndexAlgorithm.Variant variant = (IndexAlgorithm.Variant) variantCombo.getSelectedItem();
+            visualizer.setVariant(variant);
+            statusLabel.setText("Switched to " + variant);
+            updateAnimationControls();
+        });
+
+        pageSizeCombo.addActionListener(e -> {
+            int pageSize = (Integer) pageSizeCombo.getSelectedItem();
+            visualizer.setPageSize(pageSize);
+            statusLabel.setText("Rebuilt on " + pageSize + "-byte pages");
+            updateAnimationControls();
+        });
+
+        cacheSpinner.addChangeListener(e -> {
+            int pages = (Integer) cacheSpinner.getValue();
+            visualizer.setCachePages(pages);
+            statusLabel.setText("Cache holds " + pages + " pages");
+            updateAnimationControls();
+        });
+
+        compareBtn.addActionListener(e ->
+            new IndexCompareDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+
+        insertBtn.addActionListener(e -> withValue(value -> {
+            visualizer.insert(value);
+            statusLabel.setText("Inserting: " + value);
+            valueField.setText("");
+        }));
+
+        deleteBtn.addActionListener(e -> withValue(value -> {
+            visualizer.delete(value);
+            statusLabel.setText("Deleting: " + value);
+            valueField.setText("");
+        }));
+
+        searchBtn.addActionListener(e -> withValue(value -> {
+            visualizer.search(value);
+            statusLabel.setText("Searching: " + value);
+        }));
+
+        rangeBtn.addActionListener(e -> withValue(from -> {
+            try {
+                int to = Integer.parseInt(rangeToField.getText().trim());
+                visualizer.rangeScan(Math.min(from, to), Math.max(from, to));
+                statusLabel.setText("Range scan [" + Math.min(from, to) + ", " + Math.max(from, to) + "]");
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Enter the end of the range in the 'to' field");
+            }
+        }));
+
+        bulkLoadBtn.addActionListener(e -> {
+            int count = (Integer) bulkSpinner.getValue();
+            visualizer.bulkLoad(count);
+            statusLabel.setText("Bulk-loaded " + count + " keys");
+            updateAnimationControls();
+        });
+
+        clearBtn.addActionListener(e -> {
+            visualizer.clear();
+            statusLabel.setText("Index cleared");
+            updateAnimationControls();
+        });
+
+        // Animation controls
+        playBtn.addActionListener(e -> {
+            animationEngine.play();
+            statusLabel.setText("Playing...");
+        });
+
+        pauseBtn.addActionListener(e -> {
+            animationEngine.pause();
+            statusLabel.setText("Paused");
+        });
+
+        stepBtn.addActionListener(e -> {
+            animationEngine.nextStep();
+            statusLabel.setText("Step executed");
+        });
+
+        resetBtn.addActionListener(e -> {
+            animationEngine.reset();
+            statusLabel.setText("Reset");
+            updateAnimationControls();
+        });
+
+        speedSlider.addChangeListener(e -> {
+            animationEngine.setSpeed(speedSlider.getValue());
+        });
+
+        valueField.addActionListener(e -> insertBtn.doClick());
+
+        animationEngine.addListener(new AnimationEngine.AnimationListener() {
+            @Override
+            public void onStepChanged(int currentStep, int totalSteps) {
+                stepLabel.setText("Step: " + currentStep + "/" + totalSteps);
+                visualizer.repaint();
+            }
+
+            @Override
+            public void onPlayStateChanged(boolean isPlaying) {
+                playBtn.setEnabled(!isPlaying);
+                pauseBtn.setEnabled(isPlaying);
+                stepBtn.setEnabled(!isPlaying);
+
+                variantCombo.setEnabled(!isPlaying);
+                pageSizeCombo.setEnabled(!isPlaying);
+                cacheSpinner.setEnabled(!isPlaying);
+                insertBtn.setEnabled(!isPlaying);
+                deleteBtn.setEnabled(!isPlaying);
+                searchBtn.setEnabled(!isPlaying);
+                rangeBtn.setEnabled(!isPlaying);
+                bulkLoadBtn.setEnabled(!isPlaying);
+                clearBtn.setEnabled(!isPlaying);
+            }
+
+            @Override
+            public void onAnimationComplete() {
+                statusLabel.setText("Operation completed!");
+            }
+
+            @Override
+            public void onReset() {
+                stepLabel.setText("Step: 0/0");
+                visualizer.repaint();
+            }
+        });
+    }
+
+    /**
+     * Parse the value field and run the operation, then refresh the animation buttons
+     */
+    private void withValue(IntConsumer operation) {
+        String valueStr = valueField.getText().trim();
+        if (valueStr.isEmpty()) return;
+
+        try {
+            operation.accept(Integer.parseInt(valueStr));
+            updateAnimationControls();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid integer");
+        }
+    }
+
+    private void updateAnimationControls() {
+        boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
+        playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
+        pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
+        stepBtn.setEnabled(hasSteps);
+        resetBtn.setEnabled(hasSteps);
+    }
+
+    public void loadDemo() {
+        visualizer.loadSample();
+        statusLabel.setText("Demo data loaded");
+        updateAnimationControls();
+    }
+}
@@ -0,0 +1,84 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Title, page cache line, legend and step explanation drawn over both index views
+ */
+class IndexOverlay {
+    static final Color TEXT_COLOR = new Color(52, 73, 94);
+    // Page label colours: resident and clean, resident and dirty, only on disk
+    static final Color CACHED_COLOR = new Color(39, 174, 96);
+    static final Color DIRTY_COLOR = new Color(230, 126, 34);
+    static final Color DISK_COLOR = new Color(149, 165, 166);
+    private static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 16);
+    private static final Font INFO_FONT = new Font("SansSerif", Font.PLAIN, 12);
+
+    private final IndexAlgorithm index;
+    private final AnimationEngine animationEngine;
+    // Explanation renderer, re-laid out only when the text changes
+    private final JLabel explanation = new JLabel();
+    private String explanationText;
+
+    IndexOverlay(IndexAlgorithm index, AnimationEngine animationEngine) {
+        this.index = index;
+        this.animationEngine = animationEngine;
+        explanation.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        explanation.setForeground(TEXT_COLOR);
+        explanation.setVerticalAlignment(SwingConstants.TOP);
+    }
+
+    static Color pageColor(PageCache cache, int page) {
+        return cache.isDirty(page) ? DIRTY_COLOR : cache.isResident(page) ? CACHED_COLOR : DISK_COLOR;
+    }
+
+    void draw(Graphics2D g2d, int width, int height) {
+        PageCache cache = index.getCache();
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(TITLE_FONT);
+        g2d.drawString(index.getVariant() + " on " + index.getPageSize() + "-byte pages", 15, 22);
+
+        g2d.setFont(INFO_FONT);
+        g2d.drawString("n = " + index.getSize() + "   " + (index.getVariant() == IndexAlgorithm.Variant.B_PLUS_TREE
+                ? "height = " : "lanes = ") + index.getHeight() + "   pages = " + cache.getLivePages()
+                + "   cache " + cache.getResidentPages() + "/" + cache.getCapacity() + "   " + index.getShapeInfo(),
+                15, height - 30);
+        g2d.drawString("Cache totals: " + cache, 15, height - 12);
+
+        int x = 15;
+        int y = 40;
+        x = legend(g2d, "cached", CACHED_COLOR, x, y);
+        x = legend(g2d, "dirty", DIRTY_COLOR, x, y);
+        legend(g2d, "on disk", DISK_COLOR, x, y);
+
+        String text = animationEngine.getCurrentStepDescription();
+        if (text == null || text.isEmpty()) return;
+        if (!text.equals(explanationText)) {
+            explanationText = text;
+            explanation.setText("<html><body style='width: 300px'>" + text + "</body></html>");
+            explanation.setSize(explanation.getPreferredSize());
+        }
+        Dimension size = explanation.getSize();
+        int boxX = width - size.width - 20;
+        int boxY = 20;
+        g2d.setColor(new Color(255, 255, 255, 240));
+        g2d.fillRoundRect(boxX - 10, boxY - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.setColor(TEXT_COLOR);
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawRoundRect(boxX - 10, boxY - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.translate(boxX, boxY);
+        explanation.paint(g2d);
+        g2d.translate(-boxX, -boxY);
+    }
+
+    private static int legend(Graphics2D g2d, String label, Color color, int x, int y) {
+        g2d.setColor(color);
+        g2d.fillRect(x, y - 9, 10, 10);
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString(label, x + 14, y);
+        return x + 24 + g2d.getFontMetrics().stringWidth(label);
+    }
+}
@@ -0,0 +1,84 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Visual panel for the disk indexes: the B+ tree level by level with its leaf
+ * chain, the skip list lane by lane with nodes shaded by page
+ */
+public class IndexPanel extends JPanel {
+    private static final String TREE = "tree";
+    private static final String SKIP_LIST = "skipList";
+
+    private final IndexAlgorithm index;
+    private final CardLayout cards = new CardLayout();
+
+    public IndexPanel(AnimationEngine animationEngine) {
+        this.index = new IndexAlgorithm(animationEngine);
+
+        setLayout(cards);
+        add(new BPlusTreeView(index, animationEngine), TREE);
+        add(new SkipListView(index, animationEngine), SKIP_LIST);
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Disk Index Visualization"));
+    }
+
+    public void setVariant(IndexAlgorithm.Variant variant) {
+        index.setVariant(variant);
+        cards.show(this, variant == IndexAlgorithm.Variant.SKIP_LIST ? SKIP_LIST : TREE);
+        repaint();
+    }
+
+    public void setPageSize(int pageSize) {
+        index.setPageSize(pageSize);
+        repaint();
+    }
+
+    public void setCachePages(int cachePages) {
+        index.setCachePages(cachePages);
+        repaint();
+    }
+
+    public void insert(int key) {
+        index.insert(key);
+        repaint();
+    }
+
+    public void delete(int key) {
+        index.delete(key);
+        repaint();
+    }
+
+    public void search(int key) {
+        index.search(key);
+        repaint();
+    }
+
+    public void rangeScan(int from, int to) {
+        index.rangeScan(from, to);
+        repaint();
+    }
+
+    public void bulkLoad(int count) {
+        index.bulkLoad(count);
+        repaint();
+    }
+
+    public void clear() {
+        index.clear();
+        repaint();
+    }
+
+    public void loadSample() {
+        index.loadSample();
+        repaint();
+    }
+
+    public IndexAlgorithm getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,176 @@
+package com.raven.ds.modules.index;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simulated buffer pool in front of a disk of fixed-size pages
+ * No bytes are stored: the index structures keep their nodes in memory and
+ * only report which page a node lives on. The cache turns those reports into
+ * the I/O a storage engine would do: a logical access to a page missing from
+ * the pool is a physical read, and a dirty page is written back when it is
+ * evicted (least recently used first) or flushed. New pages start in the pool
+ * dirty, without a read, as a freshly extended file would
+ */
+public class PageCache {
+    // The page size SQLite and most file systems default to
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+    public static final int MIN_PAGE_SIZE = 64;
+
+    private final int pageSize;
+    private final int capacity;
+    // Page id -> dirty, in access order
+    private final LinkedHashMap<Integer, Boolean> frames;
+    private int nextPageId;
+    private int livePages;
+    private long logicalReads;
+    private long logicalWrites;
+    private long physicalReads;
+    private long physicalWrites;
+
+    /**
+     * @param capacity pages the pool holds before it starts evicting
+     */
+    public PageCache(int pageSize, int capacity) {
+        if (pageSize < MIN_PAGE_SIZE) {
+            throw new IllegalArgumentException("Pages must hold at least " + MIN_PAGE_SIZE + " bytes");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache needs at least one frame");
+        }
+        this.pageSize = pageSize;
+        this.capacity = capacity;
+        this.frames = new LinkedHashMap<Integer, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+                if (size() <= PageCache.this.capacity) {
+                    return false;
+                }
+                if (eldest.getValue()) {
+                    physicalWrites++;
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * A new page at the end of the file, resident and dirty
+     */
+    public int allocate() {
+        int page = nextPageId++;
+        livePages++;
+        logicalWrites++;
+        frames.put(page, Boolean.TRUE);
+        return page;
+    }
+
+    /**
+     * Return a page to the free list; whatever it held is dropped unwritten
+     */
+    public void free(int page) {
+        livePages--;
+        frames.remove(page);
+    }
+
+    public void read(int page) {
+        logicalReads++;
+        if (frames.get(page) == null) {
+            physicalReads++;
+            frames.put(page, Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Modify a resident page, reading it in first if it was evicted
+     */
+    public void write(int page) {
+        logicalWrites++;
+        if (frames.get(page) == null) {
+            physicalReads++;
+        }
+        frames.put(page, Boolean.TRUE);
+    }
+
+    /**
+     * Write every dirty page back, as a checkpoint or commit would
+     */
+    public void flush() {
+        for (Map.Entry<Integer, Boolean> frame : frames.entrySet()) {
+            if (frame.getValue()) {
+                physicalWrites++;
+                frame.setValue(Boolean.FALSE);
+            }
+        }
+    }
+
+    /**
+     * Flush, then empty the pool so the next accesses start cold
+     */
+    public void evictAll() {
+        flush();
+        frames.clear();
+    }
+
+    /**
+     * Forget every page, as for a new empty file
+     */
+    public void clear() {
+        frames.clear();
+        nextPageId = 0;
+        livePages = 0;
+        resetCounters();
+    }
+
+    public void resetCounters() {
+        logicalReads = 0;
+        logicalWrites = 0;
+        physicalReads = 0;
+        physicalWrites = 0;
+    }
+
+    public boolean isResident(int page) {
+        return frames.containsKey(page);
+    }
+
+    public boolean isDirty(int page) {
+        Boolean dirty = frames.get(page);
+        return dirty != null && dirty;
+    }
+
+    /**
+     * Resident pages from least to most recently used; does not touch the LRU order
+     */
+    public Iterator<Integer> residentPages() {
+        return frames.keySet().iterator();
+    }
+
+    public int getPageSize() { return pageSize; }
+    public int getCapacity() { return capacity; }
+    public int getResidentPages() { return frames.size(); }
+
+    /**
+     * Pages in use, not counting freed ones
+     */
+    public int getLivePages() { return livePages; }
+
+    public long getLogicalReads() { return logicalReads; }
+    public long getLogicalWrites() { return logicalWrites; }
+    public long getPhysicalReads() { return physicalReads; }
+    public long getPhysicalWrites() { return physicalWrites; }
+
+    /**
+     * Share of logical accesses served from the pool, 1 when there were none
+     */
+    public double getHitRate() {
+        long accesses = logicalReads + logicalWrites;
+        return accesses == 0 ? 1 : 1 - (double) physicalReads / accesses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("page reads=%d (%d from disk) page writes=%d (%d to disk) hit rate=%.1f%%",
+                logicalReads, physicalReads, logicalWrites, physicalWrites, 100 * getHitRate());
+    }
+}
@@ -0,0 +1,56 @@
+package com.raven.ds.modules.index;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Ordered key to row-id index whose nodes live on simulated disk pages
+ * Every node touched goes through the index's PageCache, so the cache
+ * counters tell what an operation would have cost in page I/O
+ */
+public interface PagedIndex {
+    /** Returned by search for a missing key */
+    int NOT_FOUND = Integer.MIN_VALUE;
+
+    /**
+     * @return false if the key was present; its row id is replaced
+     */
+    boolean insert(int key, int rowId);
+
+    /**
+     * @return false if the key was not present
+     */
+    boolean delete(int key);
+
+    /**
+     * @return the key's row id, or NOT_FOUND
+     */
+    int search(int key);
+
+    /**
+     * Visit the keys in [from, to] in ascending order
+     * @return the number of keys visited
+     */
+    int rangeScan(int from, int to, IntConsumer action);
+
+    /**
+     * Replace the contents with strictly ascending keys in O(n); key i gets row id i
+     */
+    void bulkLoad(int[] sorted);
+
+    void clear();
+
+    int size();
+
+    /**
+     * Levels a lookup passes through: B+ tree levels, skip list lanes
+     */
+    int height();
+
+    PageCache getCache();
+
+    /**
+     * Collect every node read from now on, in order; null stops collecting
+     */
+    void setTrace(List<Object> trace);
+}
@@ -0,0 +1,275 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.OperationStats;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Skip list whose nodes are packed into pages in allocation order, as a
+ * heap file or an LSM memtable flushed to disk would place them
+ * A node takes a 4-byte header, its key and row id and one 4-byte forward
+ * pointer per lane, so a page holds many nodes but a lookup still hops from
+ * node to node: after random inserts, neighbours in key order sit on
+ * unrelated pages and nearly every hop is another page. A bulk load from
+ * sorted input allocates in key order, so the same scan reads each page once.
+ * That contrast, against a B+ tree's one page per level, is the point of
+ * putting both on the same page cache. Lanes are promoted with p = 1/2
+ */
+public class PagedSkipList implements PagedIndex {
+    public static final int MAX_LEVEL = 32;
+    static final int NODE_BYTES = 12;
+    static final int POINTER_BYTES = 4;
+
+    static final class Node {
+        final int key;
+        int rowId;
+        final Node[] next;
+        final int page;
+
+        Node(int key, int rowId, int levels, int page) {
+            this.key = key;
+            this.rowId = rowId;
+            this.next = new Node[levels];
+            this.page = page;
+        }
+    }
+
+    private final PageCache cache;
+    private final OperationStats stats;
+    private final long seed;
+    // Lanes are capped so that even the head fits on one page
+    private final int maxLanes;
+    private Random random;
+    private Node head;
+    private int size;
+    private int levels;
+    // Page being filled by new nodes and the bytes already used in it
+    private int currentPage = -1;
+    private int currentUsed;
+    // Live nodes per page id; a page is freed when its last node goes
+    private int[] nodesOnPage = new int[64];
+    private final Node[] update = new Node[MAX_LEVEL];
+    private List<Object> trace;
+    private int lastRead = -1;
+
+    public PagedSkipList(PageCache cache, OperationStats stats, long seed) {
+        this.cache = cache;
+        this.stats = stats;
+        this.seed = seed;
+        this.maxLanes = Math.min(MAX_LEVEL, (cache.getPageSize() - NODE_BYTES) / POINTER_BYTES);
+        clear();
+    }
+
+    @Override
+    public void setTrace(List<Object> trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Read the node's page; consecutive nodes on the page already pinned cost nothing more
+     */
+    private void visit(Node node) {
+        if (node.page != lastRead) {
+            cache.read(node.page);
+            lastRead = node.page;
+        }
+        if (trace != null) {
+            trace.add(node);
+        }
+    }
+
+    private Node allocate(int key, int rowId, int lanes) {
+        int bytes = NODE_BYTES + POINTER_BYTES * lanes;
+        if (currentPage < 0 || currentUsed + bytes > cache.getPageSize()) {
+            currentPage = cache.allocate();
+            currentUsed = 0;
+            if (currentPage >= nodesOnPage.length) {
+                nodesOnPage = Arrays.copyOf(nodesOnPage, Math.max(currentPage + 1, nodesOnPage.length * 2));
+            }
+        } else {
+            cache.write(currentPage);
+        }
+        currentUsed += bytes;
+        nodesOnPage[currentPage]++;
+        return new Node(key, rowId, lanes, currentPage);
+    }
+
+    private void release(Node node) {
+        if (--nodesOnPage[node.page] == 0 && node.page != currentPage) {
+            cache.free(node.page);
+        }
+    }
+
+    private int randomLevel() {
+        int lanes = 1;
+        while (lanes < maxLanes && random.nextBoolean()) {
+            lanes++;
+        }
+        return lanes;
+    }
+
+    /**
+     * Fill update with the last node before the key on every lane in use
+     * @return the first node not below the key on the bottom lane, or null
+     */
+    private Node findPredecessors(int key) {
+        lastRead = -1;
+        Node node = head;
+        visit(head);
+        for (int level = levels - 1; level >= 0; level--) {
+            Node next = node.next[level];
+            while (next != null) {
+                visit(next);
+                stats.comparison();
+                if (next.key >= key) {
+                    break;
+                }
+                node = next;
+                next = node.next[level];
+            }
+            update[level] = node;
+        }
+        return node.next[0];
+    }
+
+    @Override
+    public int search(int key) {
+        Node candidate = findPredecessors(key);
+        return candidate != null && candidate.key == key ? candidate.rowId : NOT_FOUND;
+    }
+
+    @Override
+    public boolean insert(int key, int rowId) {
+        Node candidate = findPredecessors(key);
+        if (candidate != null && candidate.key == key) {
+            candidate.rowId = rowId;
+            cache.write(candidate.page);
+            return false;
+        }
+        int lanes = randomLevel();
+        for (int level = levels; level < lanes; level++) {
+            update[level] = head;
+        }
+        levels = Math.max(levels, lanes);
+        Node node = allocate(key, rowId, lanes);
+        for (int level = 0; level < lanes; level++) {
+            node.next[level] = update[level].next[level];
+            update[level].next[level] = node;
+            cache.write(update[level].page);
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean delete(int key) {
+        Node victim = findPredecessors(key);
+        if (victim == null || victim.key != key) {
+            return false;
+        }
+        for (int level = 0; level < victim.next.length; level++) {
+            update[level].next[level] = victim.next[level];
+            cache.write(update[level].page);
+        }
+        while (levels > 0 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        release(victim);
+        size--;
+        return true;
+    }
+
+    @Override
+    public int rangeScan(int from, int to, IntConsumer action) {
+        if (from > to) {
+            return 0;
+        }
+        int count = 0;
+        for (Node node = findPredecessors(from); node != null; node = node.next[0]) {
+            if (count > 0) {
+                visit(node);
+            }
+            stats.comparison();
+            if (node.key > to) {
+                break;
+            }
+            action.accept(node.key);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Nodes appended in key order, each lane linked through the last node
+     * that reached it, so pages fill with consecutive keys
+     */
+    @Override
+    public void bulkLoad(int[] sorted) {
+        clear();
+        Node[] last = new Node[maxLanes];
+        Arrays.fill(last, head);
+        for (int i = 0; i < sorted.length; i++) {
+            int lanes = randomLevel();
+            Node node = allocate(sorted[i], i, lanes);
+            for (int level = 0; level < lanes; level++) {
+                last[level].next[level] = node;
+                last[level] = node;
+            }
+            levels = Math.max(levels, lanes);
+        }
+        size = sorted.length;
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+        random = new Random(seed);
+        currentPage = -1;
+        currentUsed = 0;
+        Arrays.fill(nodesOnPage, 0);
+        // The head carries every lane and opens the first page
+        head = allocate(Integer.MIN_VALUE, NOT_FOUND, maxLanes);
+        size = 0;
+        levels = 0;
+        lastRead = -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int height() {
+        return levels;
+    }
+
+    @Override
+    public PageCache getCache() {
+        return cache;
+    }
+
+    Node getHead() {
+        return head;
+    }
+
+    /**
+     * Nodes per page on average, the skip list's answer to fan-out
+     */
+    public double getNodesPerPage() {
+        return cache.getLivePages() == 0 ? 0 : (double) (size + 1) / cache.getLivePages();
+    }
+
+    /**
+     * Forward pointers per key; tends to 2 with p = 1/2
+     */
+    public double getPointersPerKey() {
+        long pointers = 0;
+        for (Node node = head.next[0]; node != null; node = node.next[0]) {
+            pointers += node.next.length;
+        }
+        return size == 0 ? 0 : (double) pointers / size;
+    }
+}
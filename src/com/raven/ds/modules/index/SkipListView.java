@@ -0,0 +1,153 @@
+package com.raven.ds.modules.index;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Skip list drawn as towers in key order, one lane per row, with a strip
+ * under each tower tinted by the page the node lives on: after random inserts
+ * neighbouring towers change colour at almost every step, after a bulk load
+ * they come in runs. The layout is redone only when the list changes
+ */
+class SkipListView extends JPanel {
+    private static final int COLUMN_WIDTH = 46;
+    private static final int BOX_WIDTH = 34;
+    private static final int LANE_HEIGHT = 30;
+    private static final int BOX_HEIGHT = 22;
+    private static final int STRIP_HEIGHT = 16;
+    private static final int TOP_MARGIN = 80;
+    private static final int BOTTOM_MARGIN = 60;
+    private static final double MIN_SCALE = 0.15;
+    private static final Color NODE_COLOR = new Color(52, 152, 219);
+    private static final Color HEAD_COLOR = new Color(52, 73, 94);
+    private static final Color MARKED_COLOR = new Color(46, 204, 113);
+    private static final Color VISITED_RING = new Color(241, 196, 15);
+    private static final Color FOCUS_RING = new Color(230, 126, 34);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(1.5f);
+    private static final BasicStroke RING_STROKE = new BasicStroke(3);
+    private static final Font KEY_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font PAGE_FONT = new Font("SansSerif", Font.BOLD, 10);
+
+    private final IndexAlgorithm index;
+    private final IndexOverlay overlay;
+    // Column of each node, the head in column 0
+    private final Map<PagedSkipList.Node, Integer> column = new IdentityHashMap<>();
+    private PagedSkipList.Node layoutHead;
+    private int layoutVersion = -1;
+    private int columns;
+
+    SkipListView(IndexAlgorithm index, AnimationEngine animationEngine) {
+        this.index = index;
+        this.overlay = new IndexOverlay(index, animationEngine);
+        setBackground(Color.WHITE);
+    }
+
+    private void layout(PagedSkipList.Node head) {
+        if (head == layoutHead && index.getModCount() == layoutVersion) {
+            return;
+        }
+        layoutHead = head;
+        layoutVersion = index.getModCount();
+        column.clear();
+        columns = 0;
+        for (PagedSkipList.Node node = head; node != null; node = node.next[0]) {
+            column.put(node, columns++);
+        }
+    }
+
+    /**
+     * Pastel tint per page id, far apart for neighbouring ids
+     */
+    private static Color pageTint(int page) {
+        return Color.getHSBColor((page * 0.618034f) % 1f, 0.35f, 0.97f);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        PagedSkipList.Node head = index.getSkipListHead();
+        layout(head);
+        if (head == null || columns == 1) {
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(new Font("SansSerif", Font.PLAIN, 14));
+            g2d.drawString("Empty index - insert keys, load the sample or bulk load", 20, 100);
+        } else {
+            int lanes = Math.max(1, index.getHeight());
+            int layoutWidth = columns * COLUMN_WIDTH;
+            int layoutHeight = lanes * LANE_HEIGHT + STRIP_HEIGHT + 4;
+            double scale = Math.min((double) Math.max(1, getWidth() - 40) / layoutWidth,
+                    (double) Math.max(1, getHeight() - TOP_MARGIN - BOTTOM_MARGIN) / layoutHeight);
+            scale = Math.max(MIN_SCALE, Math.min(1.0, scale));
+            AffineTransform screen = g2d.getTransform();
+            g2d.translate(Math.max(20, (getWidth() - layoutWidth * scale) / 2), TOP_MARGIN);
+            g2d.scale(scale, scale);
+            drawList(g2d, head, lanes, scale >= 0.6);
+            g2d.setTransform(screen);
+        }
+        overlay.draw(g2d, getWidth(), getHeight());
+    }
+
+    private void drawList(Graphics2D g2d, PagedSkipList.Node head, int lanes, boolean detailed) {
+        int bottom = lanes * LANE_HEIGHT;
+        PageCache cache = index.getCache();
+        for (PagedSkipList.Node node = head; node != null; node = node.next[0]) {
+            int x = column.get(node) * COLUMN_WIDTH;
+            int height = node == head ? lanes : node.next.length;
+
+            // Page strip under the tower
+            g2d.setColor(pageTint(node.page));
+            g2d.fillRect(x - (COLUMN_WIDTH - BOX_WIDTH) / 2, bottom + 4, COLUMN_WIDTH, STRIP_HEIGHT);
+            if (detailed) {
+                g2d.setFont(PAGE_FONT);
+                g2d.setColor(IndexOverlay.pageColor(cache, node.page));
+                g2d.fillOval(x, bottom + 8, 8, 8);
+                g2d.setColor(IndexOverlay.TEXT_COLOR);
+                g2d.drawString("p" + node.page, x + 10, bottom + 16);
+            }
+
+            // Forward pointers, drawn under the boxes
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(EDGE_STROKE);
+            for (int level = 0; level < height; level++) {
+                PagedSkipList.Node next = node.next[level];
+                if (next == null) continue;
+                int y = bottom - level * LANE_HEIGHT - BOX_HEIGHT / 2 - 4;
+                int to = column.get(next) * COLUMN_WIDTH - 2;
+                g2d.drawLine(x + BOX_WIDTH, y, to, y);
+                g2d.fillPolygon(new int[]{to, to - 6, to - 6}, new int[]{y, y - 4, y + 4}, 3);
+            }
+
+            Color fill = node == head ? HEAD_COLOR : index.isMarked(node.key) ? MARKED_COLOR : NODE_COLOR;
+            for (int level = 0; level < height; level++) {
+                int y = bottom - (level + 1) * LANE_HEIGHT + (LANE_HEIGHT - BOX_HEIGHT) - 4;
+                g2d.setColor(fill);
+                g2d.fillRect(x, y, BOX_WIDTH, BOX_HEIGHT);
+                g2d.setColor(Color.WHITE);
+                g2d.drawRect(x, y, BOX_WIDTH, BOX_HEIGHT);
+            }
+            if (detailed) {
+                g2d.setFont(KEY_FONT);
+                FontMetrics fm = g2d.getFontMetrics();
+                String text = node == head ? "head" : String.valueOf(node.key);
+                g2d.setColor(Color.WHITE);
+                g2d.drawString(text, x + (BOX_WIDTH - fm.stringWidth(text)) / 2,
+                        bottom - 4 - (BOX_HEIGHT - fm.getAscent()) / 2 - 2);
+            }
+            if (index.isFocus(node) || index.isVisited(node)) {
+                int top = bottom - height * LANE_HEIGHT + (LANE_HEIGHT - BOX_HEIGHT) - 4;
+                g2d.setColor(index.isFocus(node) ? FOCUS_RING : VISITED_RING);
+                g2d.setStroke(RING_STROKE);
+                g2d.drawRect(x - 3, top - 3, BOX_WIDTH + 6, bottom - 4 - top + 6);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+
+/**
+ * Bloom filter: m bits and k hash functions. Adding a key sets its k bits;
+ * a lookup answers "maybe" only if all k are set, so it never misses a key
+ * that was added but says yes to an absent one with probability about
+ * (1 - e^(-kn/m))^k. The bits are packed 64 to a long
+ */
+public class BloomFilter {
+    private final HashFunction function;
+    private final int bits;
+    private final int hashes;
+    private final long[] words;
+    private long added;
+    private int setBits;
+
+    public BloomFilter(HashFunction function, int bits, int hashes) {
+        if (bits < 1 || hashes < 1) {
+            throw new IllegalArgumentException("A Bloom filter needs at least one bit and one hash function");
+        }
+        this.function = function;
+        this.bits = bits;
+        this.hashes = hashes;
+        this.words = new long[(bits + 63) >>> 6];
+    }
+
+    /**
+     * Sized for n keys at the target false-positive rate: m = -n ln p / (ln 2)^2, k = (m / n) ln 2
+     */
+    public static BloomFilter forCapacity(HashFunction function, int expectedKeys, double falsePositiveRate) {
+        int bits = optimalBits(expectedKeys, falsePositiveRate);
+        return new BloomFilter(function, bits, optimalHashes(expectedKeys, bits));
+    }
+
+    static int optimalBits(int expectedKeys, double falsePositiveRate) {
+        double bits = -expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, Math.ceil(bits)));
+    }
+
+    static int optimalHashes(int expectedKeys, int bits) {
+        return Math.max(1, (int) Math.round((double) bits / Math.max(1, expectedKeys) * Math.log(2)));
+    }
+
+    /**
+     * Fill out with the key's k bit positions
+     */
+    public void positions(String key, int[] out) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            out[i] = SketchHashing.probe(function, first, second, i, bits);
+        }
+    }
+
+    /**
+     * @return true if any bit was newly set, so the key was certainly not present before
+     */
+    public boolean add(String key) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            int bit = SketchHashing.probe(function, first, second, i, bits);
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                words[bit >>> 6] |= mask;
+                setBits++;
+                changed = true;
+            }
+        }
+        added++;
+        return changed;
+    }
+
+    public boolean mightContain(String key) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            int bit = SketchHashing.probe(function, first, second, i, bits);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean get(int bit) {
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        added = 0;
+        setBits = 0;
+    }
+
+    /**
+     * False-positive rate the current fill gives: (set bits / m)^k
+     */
+    public double getFalsePositiveRate() {
+        return Math.pow((double) setBits / bits, hashes);
+    }
+
+    /**
+     * False-positive rate predicted from the number of adds alone
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashes * added / bits), hashes);
+    }
+
+    public HashFunction getHashFunction() { return function; }
+    public int getBits() { return bits; }
+    public int getHashes() { return hashes; }
+    public int getSetBits() { return setBits; }
+    public long getAdded() { return added; }
+    public long getMemoryBytes() { return 8L * words.length; }
+}
@@ -0,0 +1,95 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+
+/**
+ * Count-min sketch: d rows of w counters, one hash function per row. Adding
+ * a key bumps one counter in every row; its estimate is the smallest of
+ * those counters. Collisions only ever add, so the estimate never falls
+ * below the true count, and with w = e / epsilon and d = ln(1 / delta) it
+ * exceeds it by more than epsilon * N (N the total of all adds) with
+ * probability at most delta
+ */
+public class CountMinSketch {
+    private final HashFunction function;
+    private final int width;
+    private final int depth;
+    // Row-major: row r, column c at r * width + c
+    private final int[] table;
+    private long total;
+
+    public CountMinSketch(HashFunction function, int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("A count-min sketch needs at least one row and one column");
+        }
+        this.function = function;
+        this.width = width;
+        this.depth = depth;
+        this.table = new int[width * depth];
+    }
+
+    public static CountMinSketch forError(HashFunction function, double epsilon, double delta) {
+        return new CountMinSketch(function, (int) Math.ceil(Math.E / epsilon),
+                Math.max(1, (int) Math.ceil(Math.log(1 / delta))));
+    }
+
+    /**
+     * Fill out with the key's column in each row
+     */
+    public void columns(String key, int[] out) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int row = 0; row < depth; row++) {
+            out[row] = SketchHashing.probe(function, first, second, row, width);
+        }
+    }
+
+    public void add(String key, int count) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int row = 0; row < depth; row++) {
+            table[row * width + SketchHashing.probe(function, first, second, row, width)] += count;
+        }
+        total += count;
+    }
+
+    public int estimate(String key) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, table[row * width + SketchHashing.probe(function, first, second, row, width)]);
+        }
+        return estimate;
+    }
+
+    public int get(int row, int column) {
+        return table[row * width + column];
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        total = 0;
+    }
+
+    /**
+     * epsilon * N: the overestimate no key exceeds with probability 1 - delta
+     */
+    public double getErrorBound() {
+        return Math.E / width * total;
+    }
+
+    /**
+     * delta = e^-d: the chance any one estimate is off by more than the bound
+     */
+    public double getFailureProbability() {
+        return Math.exp(-depth);
+    }
+
+    public HashFunction getHashFunction() { return function; }
+    public int getWidth() { return width; }
+    public int getDepth() { return depth; }
+    public long getTotal() { return total; }
+    public long getMemoryBytes() { return 4L * table.length; }
+}
@@ -0,0 +1,131 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+
+/**
+ * Bloom filter with a 4-bit counter in place of each bit, so keys can be
+ * removed: add increments the key's k counters, remove decrements them. A
+ * counter that reaches 15 sticks there, since after an overflow its true
+ * count is unknown; with the usual sizing that needs about 15 keys on one
+ * cell and almost never happens. Removing a key that was never added can
+ * zero counters other keys rely on and cause false negatives; remove skips
+ * keys that are certainly absent, but a false positive passes that check,
+ * so callers must only remove keys they added. Sixteen counters pack into a long: four times a plain filter's memory
+ */
+public class CountingBloomFilter {
+    public static final int MAX_COUNT = 15;
+
+    private final HashFunction function;
+    private final int counters;
+    private final int hashes;
+    private final long[] words;
+    private long count;
+    private long saturated;
+
+    public CountingBloomFilter(HashFunction function, int counters, int hashes) {
+        if (counters < 1 || hashes < 1) {
+            throw new IllegalArgumentException("A counting filter needs at least one counter and one hash function");
+        }
+        this.function = function;
+        this.counters = counters;
+        this.hashes = hashes;
+        this.words = new long[(counters + 15) >>> 4];
+    }
+
+    /**
+     * Same m and k as a plain Bloom filter sized for n keys at the target rate
+     */
+    public static CountingBloomFilter forCapacity(HashFunction function, int expectedKeys, double falsePositiveRate) {
+        int counters = BloomFilter.optimalBits(expectedKeys, falsePositiveRate);
+        return new CountingBloomFilter(function, counters, BloomFilter.optimalHashes(expectedKeys, counters));
+    }
+
+    public void positions(String key, int[] out) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            out[i] = SketchHashing.probe(function, first, second, i, counters);
+        }
+    }
+
+    public int get(int counter) {
+        return (int) (words[counter >>> 4] >>> ((counter & 15) << 2)) & 15;
+    }
+
+    private void set(int counter, int value) {
+        int shift = (counter & 15) << 2;
+        words[counter >>> 4] = (words[counter >>> 4] & ~(15L << shift)) | ((long) value << shift);
+    }
+
+    public void add(String key) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            int counter = SketchHashing.probe(function, first, second, i, counters);
+            int value = get(counter);
+            if (value < MAX_COUNT) {
+                set(counter, value + 1);
+                if (value + 1 == MAX_COUNT) {
+                    saturated++;
+                }
+            }
+        }
+        count++;
+    }
+
+    /**
+     * Only safe for a key that was added; counters already at 0 are left there
+     * @return false, changing nothing, if the key is certainly absent
+     */
+    public boolean remove(String key) {
+        if (!mightContain(key)) {
+            return false;
+        }
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            int counter = SketchHashing.probe(function, first, second, i, counters);
+            int value = get(counter);
+            // A false positive can probe a counter at 1 twice; never take it below 0
+            if (value > 0 && value < MAX_COUNT) {
+                set(counter, value - 1);
+            }
+        }
+        count--;
+        return true;
+    }
+
+    public boolean mightContain(String key) {
+        int first = SketchHashing.first(function, key);
+        int second = SketchHashing.second(first);
+        for (int i = 0; i < hashes; i++) {
+            if (get(SketchHashing.probe(function, first, second, i, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+        count = 0;
+        saturated = 0;
+    }
+
+    public HashFunction getHashFunction() { return function; }
+    public int getCounters() { return counters; }
+    public int getHashes() { return hashes; }
+
+    /**
+     * Adds minus successful removes
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Times a counter reached MAX_COUNT and stopped tracking
+     */
+    public long getSaturated() { return saturated; }
+
+    public long getMemoryBytes() { return 8L * words.length; }
+}
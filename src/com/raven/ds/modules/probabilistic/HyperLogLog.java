@@ -0,0 +1,105 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter with m = 2^p one-byte registers. Each key's
+ * hash picks a register and a rank, the position of the first 1 bit in a
+ * second mixed hash; the register keeps the largest rank it has seen. A rank
+ * of r takes about 2^r distinct keys to turn up, so the harmonic mean of
+ * 2^register over all registers estimates the count to within about
+ * 1.04 / sqrt(m). Small counts fall back to linear counting of the empty
+ * registers, and counts near 2^32 are corrected for hash collisions.
+ * Duplicates never change a register, so the memory is fixed however long
+ * the stream runs. The register comes from the family's own index function,
+ * so a family that loads the registers unevenly biases the estimate low:
+ * the division method on sequential keys is a quarter short at p = 12
+ */
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    private static final double TWO_TO_32 = 4294967296.0;
+
+    private final HashFunction function;
+    private final int precision;
+    private final byte[] registers;
+    private final double alpha;
+
+    public HyperLogLog(HashFunction function, int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+                    + MAX_PRECISION);
+        }
+        this.function = function;
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+        int m = registers.length;
+        this.alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+    }
+
+    public int register(String key) {
+        return SketchHashing.home(function, SketchHashing.first(function, key), registers.length);
+    }
+
+    /**
+     * Leading zeros of the mixed hash plus one, 1 to 33
+     */
+    public int rank(String key) {
+        return Integer.numberOfLeadingZeros(SketchHashing.mix(SketchHashing.first(function, key))) + 1;
+    }
+
+    /**
+     * @return true if the key raised its register
+     */
+    public boolean add(String key) {
+        int first = SketchHashing.first(function, key);
+        int register = SketchHashing.home(function, first, registers.length);
+        int rank = Integer.numberOfLeadingZeros(SketchHashing.mix(first)) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+            return true;
+        }
+        return false;
+    }
+
+    public double estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            return m * Math.log((double) m / zeros);
+        }
+        if (estimate > TWO_TO_32 / 30) {
+            return -TWO_TO_32 * Math.log(1 - estimate / TWO_TO_32);
+        }
+        return estimate;
+    }
+
+    public int get(int register) {
+        return registers[register];
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    /**
+     * Relative standard error 1.04 / sqrt(m)
+     */
+    public double getStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public HashFunction getHashFunction() { return function; }
+    public int getPrecision() { return precision; }
+    public int getRegisters() { return registers.length; }
+    public long getMemoryBytes() { return registers.length; }
+}
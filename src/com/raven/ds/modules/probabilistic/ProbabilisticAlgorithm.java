@@ -0,0 +1,457 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.SimpleAnimationStep;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Probabilistic structures with animation support
+ * Every key goes into all four sketches and an exact multiset at once, so
+ * switching structure shows the same stream summarised another way. The
+ * steps then replay the cells the shown sketch touched, one hash function at
+ * a time, updating a copy of its cells so bits and counters change on screen
+ * as the step explains them
+ */
+public class ProbabilisticAlgorithm {
+    public enum Variant {
+        BLOOM("Bloom filter"),
+        COUNTING_BLOOM("Counting Bloom filter"),
+        COUNT_MIN("Count-min sketch"),
+        HYPERLOGLOG("HyperLogLog");
+
+        private final String label;
+
+        Variant(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Small enough to draw every cell; the stream dialog sizes them for millions of keys
+    static final int VISUAL_BITS = 48;
+    static final int VISUAL_COUNTERS = 32;
+    static final int VISUAL_HASHES = 3;
+    static final int VISUAL_WIDTH = 12;
+    static final int VISUAL_DEPTH = 4;
+    static final int VISUAL_PRECISION = HyperLogLog.MIN_PRECISION;
+    private static final String[] SAMPLE = {"apple", "banana", "cherry", "grape", "lemon", "mango", "orange",
+            "peach", "pear", "plum"};
+
+    private final AnimationEngine animationEngine;
+    private Variant variant = Variant.BLOOM;
+    private HashFunction function = HashFunction.DIVISION;
+    private BloomFilter bloom;
+    private CountingBloomFilter counting;
+    private CountMinSketch countMin;
+    private HyperLogLog hyperLogLog;
+    // The truth the sketches approximate: key -> times added minus removed
+    private final Map<String, Integer> exact = new LinkedHashMap<>();
+    private final Random random = new Random(42);
+
+    // Cell values as drawn, and the highlight state replayed by the steps
+    private int[] shown = new int[0];
+    private Set<Integer> visited = new HashSet<>();
+    private int focus = -1;
+    private Set<Integer> changed = new HashSet<>();
+
+    public ProbabilisticAlgorithm(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        createSketches();
+        sync();
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                return new Object[]{shown.clone(), new HashSet<>(visited), focus, new HashSet<>(changed)};
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                shown = ((int[]) state[0]).clone();
+                visited = new HashSet<>((Set<Integer>) state[1]);
+                focus = (Integer) state[2];
+                changed = new HashSet<>((Set<Integer>) state[3]);
+            }
+        });
+    }
+
+    private void createSketches() {
+        bloom = new BloomFilter(function, VISUAL_BITS, VISUAL_HASHES);
+        counting = new CountingBloomFilter(function, VISUAL_COUNTERS, VISUAL_HASHES);
+        countMin = new CountMinSketch(function, VISUAL_WIDTH, VISUAL_DEPTH);
+        hyperLogLog = new HyperLogLog(function, VISUAL_PRECISION);
+    }
+
+    public void setVariant(Variant variant) {
+        if (variant == this.variant) return;
+        this.variant = variant;
+        animationEngine.clearSteps();
+        sync();
+    }
+
+    /**
+     * Rebuild every sketch under the new family from the keys currently held
+     */
+    public void setHashFunction(HashFunction function) {
+        if (function == this.function) return;
+        this.function = function;
+        createSketches();
+        for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                feed(entry.getKey());
+            }
+        }
+        animationEngine.clearSteps();
+        sync();
+    }
+
+    private void feed(String key) {
+        bloom.add(key);
+        counting.add(key);
+        countMin.add(key, 1);
+        hyperLogLog.add(key);
+    }
+
+    public void add(String key) {
+        animationEngine.clearSteps();
+        sync();
+        int[] cells = cellsOf(key);
+        int[] before = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            before[i] = cellValue(cells[i]);
+        }
+        boolean bloomChanged = bloom.add(key);
+        counting.add(key);
+        countMin.add(key, 1);
+        boolean hllChanged = hyperLogLog.add(key);
+        exact.merge(key, 1, Integer::sum);
+
+        addHashStep(key);
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            int after = cellValue(cell);
+            addStep("Update", () -> {
+                focus = cell;
+                visited.add(cell);
+                if (shown[cell] != after) {
+                    changed.add(cell);
+                }
+                shown[cell] = after;
+            }, describeUpdate(i, cell, before[i], after));
+        }
+        String result;
+        switch (variant) {
+            case BLOOM:
+                result = bloomChanged
+                        ? "✅ <b>Added '" + key + "'</b>: at least one bit was 0, so it was certainly new."
+                        : "⚠️ <b>Every bit was already 1</b>: before this add the filter already said '"
+                        + key + "' might be present" + (exact.get(key) == 1 ? ", a false positive." : ".");
+                break;
+            case COUNTING_BLOOM:
+                result = "✅ <b>Added '" + key + "'</b>: each counter went up by one, so a remove can undo it.";
+                break;
+            case COUNT_MIN:
+                result = "✅ <b>Counted '" + key + "'</b>: estimate " + countMin.estimate(key) + ", true count "
+                        + exact.get(key) + ".";
+                break;
+            default:
+                result = "✅ <b>Added '" + key + "'</b>: " + (hllChanged
+                        ? "its rank raised the register, so the estimate moved."
+                        : "the register already held a rank at least as high, so nothing changed.");
+                break;
+        }
+        addStep("Complete", () -> focus = -1, result + "<br>" + getSummary());
+    }
+
+    public void query(String key) {
+        animationEngine.clearSteps();
+        sync();
+        int exactCount = exact.getOrDefault(key, 0);
+        if (variant == Variant.HYPERLOGLOG) {
+            int register = hyperLogLog.register(key);
+            addHashStep(key);
+            addStep("Register", () -> {
+                focus = register;
+                visited.add(register);
+            }, "🔍 <b>Register " + register + " holds " + hyperLogLog.get(register) + "</b>. HyperLogLog keeps no"
+                    + " trace of single keys, so it cannot say whether '" + key + "' was seen; it only counts.<br>"
+                    + "Estimate " + Math.round(hyperLogLog.estimate()) + " distinct keys, exactly " + exact.size()
+                    + ".");
+            return;
+        }
+        int[] cells = cellsOf(key);
+        addHashStep(key);
+        int smallest = Integer.MAX_VALUE;
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            int value = cellValue(cell);
+            smallest = Math.min(smallest, value);
+            addStep("Check", () -> {
+                focus = cell;
+                visited.add(cell);
+            }, describeCheck(i, cell, value));
+            // A filter stops at the first empty cell; the sketch needs every row
+            if (value == 0 && variant != Variant.COUNT_MIN) {
+                break;
+            }
+        }
+        String result;
+        if (variant == Variant.COUNT_MIN) {
+            result = "📊 <b>Estimate for '" + key + "' = " + smallest + "</b>, the smallest counter; true count "
+                    + exactCount + ". Collisions only ever add, so it is never too low.";
+        } else if (smallest == 0) {
+            result = "❌ <b>'" + key + "' is definitely absent</b>: a cell it needs is 0.";
+        } else if (exactCount > 0) {
+            result = "✅ <b>'" + key + "' is probably present</b>, and it really is.";
+        } else {
+            result = "⚠️ <b>False positive</b>: every cell for '" + key + "' is set by other keys, but it was"
+                    + " never added.";
+        }
+        addStep("Result", () -> focus = -1, result + "<br>" + getSummary());
+    }
+
+    /**
+     * Only the counting filter can forget a key; the others have no way to undo a bit or counter shared with other keys
+     */
+    public void remove(String key) {
+        animationEngine.clearSteps();
+        sync();
+        if (variant != Variant.COUNTING_BLOOM) {
+            addStep("Remove", () -> { }, "⚠️ <b>A " + variant + " cannot remove keys</b>: "
+                    + (variant == Variant.BLOOM ? "clearing its bits would also remove every key sharing one."
+                    : variant == Variant.COUNT_MIN ? "it only counts up; use the counting Bloom filter."
+                    : "a register's maximum cannot be taken back.") + " Switch to the counting Bloom filter.");
+            return;
+        }
+        int[] cells = cellsOf(key);
+        int[] before = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            before[i] = cellValue(cells[i]);
+        }
+        boolean removed = counting.remove(key);
+        if (!removed) {
+            addStep("Remove", () -> { }, "❌ <b>'" + key + "' is definitely absent</b>: a counter it needs is 0,"
+                    + " so nothing is decremented.");
+            return;
+        }
+        boolean wasAdded = exact.containsKey(key);
+        if (wasAdded) {
+            exact.merge(key, -1, (count, minus) -> count + minus == 0 ? null : count + minus);
+        }
+        addHashStep(key);
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            int after = cellValue(cell);
+            addStep("Update", () -> {
+                focus = cell;
+                visited.add(cell);
+                if (shown[cell] != after) {
+                    changed.add(cell);
+                }
+                shown[cell] = after;
+            }, describeUpdate(i, cell, before[i], after));
+        }
+        addStep("Complete", () -> focus = -1, (wasAdded
+                ? "🗑️ <b>Removed '" + key + "'</b>: its counters went down by one."
+                : "⚠️ <b>'" + key + "' was never added</b>, but the filter said it might be, so its counters were"
+                + " decremented anyway and other keys may now read as absent.") + "<br>" + getSummary());
+    }
+
+    /**
+     * Add random words from a skewed vocabulary, so some repeat often; one summary step
+     */
+    public void addRandom(int count) {
+        animationEngine.clearSteps();
+        for (int i = 0; i < count; i++) {
+            // Squaring a uniform draw favours the low word numbers
+            double u = random.nextDouble();
+            String key = "w" + (int) (u * u * 200);
+            feed(key);
+            exact.merge(key, 1, Integer::sum);
+        }
+        sync();
+        addStep("Stream", () -> { }, "📦 <b>Added " + count + " random words</b>, "
+                + exact.size() + " distinct so far.<br>" + getSummary());
+    }
+
+    public void clear() {
+        animationEngine.clearSteps();
+        bloom.clear();
+        counting.clear();
+        countMin.clear();
+        hyperLogLog.clear();
+        exact.clear();
+        sync();
+    }
+
+    public void loadSample() {
+        clear();
+        for (String key : SAMPLE) {
+            feed(key);
+            exact.merge(key, 1, Integer::sum);
+        }
+        sync();
+    }
+
+    private void addStep(String name, Runnable action, String description) {
+        animationEngine.addStep(new SimpleAnimationStep(name, action, description));
+    }
+
+    private void addHashStep(String key) {
+        int first = SketchHashing.first(function, key);
+        String text;
+        if (variant == Variant.HYPERLOGLOG) {
+            text = "#️⃣ <b>hash('" + key + "') = " + first + "</b> with " + function + ": register "
+                    + hyperLogLog.register(key) + " from the hash, rank " + hyperLogLog.rank(key)
+                    + " = one more than the leading zeros of the mixed hash.";
+        } else {
+            text = "#️⃣ <b>h1('" + key + "') = " + first + "</b> with " + function + ", h2 = "
+                    + SketchHashing.second(first) + "; hash i is h1 + i·h2, mapped onto the "
+                    + (variant == Variant.COUNT_MIN ? VISUAL_WIDTH + " columns of row i." : cellCount() + " cells.");
+        }
+        addStep("Hash", () -> visited.clear(), text);
+    }
+
+    private String describeUpdate(int i, int cell, int before, int after) {
+        switch (variant) {
+            case BLOOM:
+                return "🔵 <b>Hash " + i + " → bit " + cell + "</b>: " + (before == 0 ? "0 → 1." : "already 1.");
+            case COUNTING_BLOOM:
+                return "🔢 <b>Hash " + i + " → counter " + cell + "</b>: " + before + " → " + after
+                        + (after == CountingBloomFilter.MAX_COUNT && before == after ? " (stuck at the maximum)." : ".");
+            case COUNT_MIN:
+                return "🔢 <b>Row " + i + ", column " + cell % VISUAL_WIDTH + "</b>: " + before + " → " + after + ".";
+            default:
+                return "📈 <b>Register " + cell + "</b>: " + before + " → " + after
+                        + (before == after ? ", the rank was not higher." : ", a new maximum rank.");
+        }
+    }
+
+    private String describeCheck(int i, int cell, int value) {
+        switch (variant) {
+            case BLOOM:
+                return "🔍 <b>Hash " + i + " → bit " + cell + "</b> is " + value
+                        + (value == 0 ? ": stop, the key was never added." : ".");
+            case COUNTING_BLOOM:
+                return "🔍 <b>Hash " + i + " → counter " + cell + "</b> is " + value
+                        + (value == 0 ? ": stop, the key is absent." : ".");
+            default:
+                return "🔍 <b>Row " + i + ", column " + cell % VISUAL_WIDTH + "</b> holds " + value + ".";
+        }
+    }
+
+    /**
+     * Cells the key maps to in the shown sketch, count-min rows flattened row by row
+     */
+    private int[] cellsOf(String key) {
+        switch (variant) {
+            case BLOOM: {
+                int[] cells = new int[bloom.getHashes()];
+                bloom.positions(key, cells);
+                return cells;
+            }
+            case COUNTING_BLOOM: {
+                int[] cells = new int[counting.getHashes()];
+                counting.positions(key, cells);
+                return cells;
+            }
+            case COUNT_MIN: {
+                int[] cells = new int[countMin.getDepth()];
+                countMin.columns(key, cells);
+                for (int row = 0; row < cells.length; row++) {
+                    cells[row] += row * countMin.getWidth();
+                }
+                return cells;
+            }
+            default:
+                return new int[]{hyperLogLog.register(key)};
+        }
+    }
+
+    private int cellCount() {
+        switch (variant) {
+            case BLOOM: return bloom.getBits();
+            case COUNTING_BLOOM: return counting.getCounters();
+            case COUNT_MIN: return countMin.getWidth() * countMin.getDepth();
+            default: return hyperLogLog.getRegisters();
+        }
+    }
+
+    private int cellValue(int cell) {
+        switch (variant) {
+            case BLOOM: return bloom.get(cell) ? 1 : 0;
+            case COUNTING_BLOOM: return counting.get(cell);
+            case COUNT_MIN: return countMin.get(cell / countMin.getWidth(), cell % countMin.getWidth());
+            default: return hyperLogLog.get(cell);
+        }
+    }
+
+    /**
+     * Show the shown sketch as it is now, with nothing highlighted
+     */
+    private void sync() {
+        shown = new int[cellCount()];
+        for (int cell = 0; cell < shown.length; cell++) {
+            shown[cell] = cellValue(cell);
+        }
+        visited.clear();
+        changed.clear();
+        focus = -1;
+    }
+
+    /**
+     * How the shown sketch is doing against the exact multiset
+     */
+    public String getSummary() {
+        int distinct = exact.size();
+        switch (variant) {
+            case BLOOM:
+                return String.format("%d adds, %d of %d bits set, k = %d: false-positive rate now %.1f%%,"
+                                + " %d bytes against %d distinct keys", bloom.getAdded(), bloom.getSetBits(),
+                        bloom.getBits(), bloom.getHashes(), 100 * bloom.getFalsePositiveRate(),
+                        bloom.getMemoryBytes(), distinct);
+            case COUNTING_BLOOM:
+                return String.format("%d keys held, %d four-bit counters, k = %d, %d saturated: %d bytes, four"
+                                + " times the plain filter", counting.getCount(), counting.getCounters(),
+                        counting.getHashes(), counting.getSaturated(), counting.getMemoryBytes());
+            case COUNT_MIN:
+                return String.format("N = %d over %d distinct keys, %d × %d counters: estimates at most %.1f too"
+                                + " high with probability %.0f%%", countMin.getTotal(), distinct,
+                        countMin.getDepth(), countMin.getWidth(), countMin.getErrorBound(),
+                        100 * (1 - countMin.getFailureProbability()));
+            default:
+                return String.format("Estimate %.0f distinct, exactly %d; %d registers, %d bytes, standard error"
+                                + " ±%.0f%%", hyperLogLog.estimate(), distinct, hyperLogLog.getRegisters(),
+                        hyperLogLog.getMemoryBytes(), 100 * hyperLogLog.getStandardError());
+        }
+    }
+
+    int[] getShown() { return shown; }
+    boolean isVisited(int cell) { return visited.contains(cell); }
+    boolean isFocus(int cell) { return cell == focus; }
+    boolean isChanged(int cell) { return changed.contains(cell); }
+
+    /**
+     * Keys currently in the exact multiset, for the panel's key list
+     */
+    List<String> getKeys() {
+        return new ArrayList<>(exact.keySet());
+    }
+
+    public Variant getVariant() { return variant; }
+    public HashFunction getHashFunction() { return function; }
+    public int getCountMinWidth() { return countMin.getWidth(); }
+}
@@ -0,0 +1,293 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TimelineScrubber;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Consumer;
+
+/**
+ * Control panel for the probabilistic structures
+ */
+public class ProbabilisticControls extends JPanel {
+    private ProbabilisticPanel visualizer;
+    private AnimationEngine animationEngine;
+
+    private JComboBox<ProbabilisticAlgorithm.Variant> variantCombo;
+    private JComboBox<HashFunction> hashFunctionCombo;
+    private Button streamBtn;
+    private JTextField keyField;
+    private Button addBtn;
+    private Button queryBtn;
+    private Button removeBtn;
+    private Button clearBtn;
+    private JSpinner randomSpinner;
+    private Button randomBtn;
+    private Button playBtn;
+    private Button pauseBtn;
+    private Button stepBtn;
+    private Button resetBtn;
+    private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
+    private JLabel statusLabel;
+    private JLabel stepLabel;
+
+    public ProbabilisticControls(ProbabilisticPanel visualizer, AnimationEngine animationEngine) {
+        this.visualizer = visualizer;
+        this.animationEngine = animationEngine;
+
+        initComponents();
+        setupLayout();
+        setupListeners();
+    }
+
+    private void initComponents() {
+        variantCombo = new JComboBox<>(ProbabilisticAlgorithm.Variant.values());
+        variantCombo.setToolTipText("Every key goes into all four structures; this picks the one shown");
+        hashFunctionCombo = new JComboBox<>(HashFunction.values());
+        hashFunctionCombo.setToolTipText("Hash family the k hash functions are built from; switching rebuilds");
+        streamBtn = createButton("Stream...", new Color(231, 76, 60), 120,
+                "Stream millions of keys and measure error and memory against exact sets");
+
+        keyField = createField(12, "Key to add, query or remove");
+        addBtn = createButton("Add", new Color(39, 174, 96), 100, "Add the key");
+        queryBtn = createButton("Query", new Color(52, 152, 219), 100, "Ask whether the key was added, or how often");
+        removeBtn = createButton("Remove", new Color(231, 76, 60), 100, "Remove the key (counting Bloom filter only)");
+        clearBtn = createButton("Clear All", new Color(231, 76, 60), 120, "Clear every structure");
+
+        randomSpinner = new JSpinner(new SpinnerNumberModel(20, 1, 10_000, 10));
+        randomSpinner.setToolTipText("Number of random words to add");
+        randomBtn = createButton("Add Random", new Color(53, 162, 230), 120,
+                "Add random words from a skewed vocabulary of 200");
+
+        playBtn = createButton("▶ Play", new Color(46, 204, 113), 80, "Play animation sequence");
+        pauseBtn = createButton("⏸ Pause", new Color(241, 196, 15), 80, "Pause current animation");
+        pauseBtn.setForeground(Color.BLACK);
+        stepBtn = createButton("⏭ Step", new Color(53, 106, 230), 80, "Execute next animation step");
+        resetBtn = createButton("🔄 Reset", new Color(149, 165, 166), 80, "Reset animation to beginning");
+
+        speedSlider = new JSlider(50, 3000, 1000);
+        speedSlider.setInverted(true); // Lower values = faster
+        speedSlider.setPreferredSize(new Dimension(400, 60));
+        speedSlider.setMajorTickSpacing(500);
+        speedSlider.setPaintTicks(true);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setBackground(Color.WHITE);
+
+        timelineScrubber = new TimelineScrubber(animationEngine);
+
+        statusLabel = new JLabel("Ready for probabilistic structure operations");
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+
+        stepLabel = new JLabel("Step: 0/0");
+        stepLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    private JTextField createField(int columns, String tooltip) {
+        JTextField field = new JTextField(columns);
+        field.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        field.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(52, 73, 94), 1),
+            BorderFactory.createEmptyBorder(5, 8, 5, 8)
+        ));
+        field.setToolTipText(tooltip);
+        return field;
+    }
+
+    private Button createButton(String text, Color color, int width, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(width, 40));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Probabilistic Structure Controls"));
+
+        // Structure row
+        add(new JLabel("Structure:"), "cell 0 0");
+        add(variantCombo, "cell 1 0, split 3");
+        add(new JLabel("Hash family:"), "cell 1 0, gapleft 15");
+        add(hashFunctionCombo, "cell 1 0");
+        add(streamBtn, "cell 2 0");
+
+        // Operations row
+        add(new JLabel("Operations:"), "cell 0 1");
+        add(keyField, "cell 1 1, split 4");
+        add(addBtn, "cell 1 1");
+        add(queryBtn, "cell 1 1");
+        add(removeBtn, "cell 1 1");
+        add(clearBtn, "cell 2 1");
+
+        // Bulk row
+        add(new JLabel("Bulk:"), "cell 0 2");
+        add(randomSpinner, "cell 1 2, split 2, w 80!");
+        add(randomBtn, "cell 1 2");
+
+        // Animation controls row
+        add(new JLabel("Animation:"), "cell 0 3");
+        add(playBtn, "cell 1 3");
+        add(pauseBtn, "cell 1 3");
+        add(stepBtn, "cell 1 3");
+        add(resetBtn, "cell 1 3");
+
+        // Speed control row
+        add(new JLabel("Speed:"), "cell 0 4");
+        add(speedSlider, "cell 1 4, span 2, grow");
+
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
+
+        // Status row
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
+    }
+
+    private void setupListeners() {
+        variantCombo.addActionListener(e -> {
+            ProbabilisticAlgorithm.Variant variant = (ProbabilisticAlgorithm.Variant) variantCombo.getSelectedItem();
+            visualizer.setVariant(variant);
+            statusLabel.setText("Showing the " + variant);
+            updateAnimationControls();
+        });
+
+        hashFunctionCombo.addActionListener(e -> {
+            HashFunction function = (HashFunction) hashFunctionCombo.getSelectedItem();
+            visualizer.setHashFunction(function);
+            statusLabel.setText("Rebuilt with " + function);
+            updateAnimationControls();
+        });
+
+        streamBtn.addActionListener(e ->
+            new ProbabilisticStreamDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+
+        addBtn.addActionListener(e -> withKey(key -> {
+            visualizer.add(key);
+            statusLabel.setText("Adding: " + key);
+            keyField.setText("");
+        }));
+
+        queryBtn.addActionListener(e -> withKey(key -> {
+            visualizer.query(key);
+            statusLabel.setText("Querying: " + key);
+        }));
+
+        removeBtn.addActionListener(e -> withKey(key -> {
+            visualizer.remove(key);
+            statusLabel.setText("Removing: " + key);
+            keyField.setText("");
+        }));
+
+        randomBtn.addActionListener(e -> {
+            int count = (Integer) randomSpinner.getValue();
+            visualizer.addRandom(count);
+            statusLabel.setText("Added " + count + " random words");
+            updateAnimationControls();
+        });
+
+        clearBtn.addActionListener(e -> {
+            visualizer.clear();
+            statusLabel.setText("All structures cleared");
+            updateAnimationControls();
+        });
+
+        // Animation controls
+        playBtn.addActionListener(e -> {
+            animationEngine.play();
+            statusLabel.setText("Playing...");
+        });
+
+        pauseBtn.addActionListener(e -> {
+            animationEngine.pause();
+            statusLabel.setText("Paused");
+        });
+
+        stepBtn.addActionListener(e -> {
+            animationEngine.nextStep();
+            statusLabel.setText("Step executed");
+        });
+
+        resetBtn.addActionListener(e -> {
+            animationEngine.reset();
+            statusLabel.setText("Reset");
+            updateAnimationControls();
+        });
+
+        speedSlider.addChangeListener(e -> {
+            animationEngine.setSpeed(speedSlider.getValue());
+        });
+
+        keyField.addActionListener(e -> addBtn.doClick());
+
+        animationEngine.addListener(new AnimationEngine.AnimationListener() {
+            @Override
+            public void onStepChanged(int currentStep, int totalSteps) {
+                stepLabel.setText("Step: " + currentStep + "/" + totalSteps);
+                visualizer.repaint();
+            }
+
+            @Override
+            public void onPlayStateChanged(boolean isPlaying) {
+                playBtn.setEnabled(!isPlaying);
+                pauseBtn.setEnabled(isPlaying);
+                stepBtn.setEnabled(!isPlaying);
+
+                variantCombo.setEnabled(!isPlaying);
+                hashFunctionCombo.setEnabled(!isPlaying);
+                addBtn.setEnabled(!isPlaying);
+                queryBtn.setEnabled(!isPlaying);
+                removeBtn.setEnabled(!isPlaying);
+                randomBtn.setEnabled(!isPlaying);
+                clearBtn.setEnabled(!isPlaying);
+            }
+
+            @Override
+            public void onAnimationComplete() {
+                statusLabel.setText("Operation completed!");
+            }
+
+            @Override
+            public void onReset() {
+                stepLabel.setText("Step: 0/0");
+                visualizer.repaint();
+            }
+        });
+    }
+
+    /**
+     * Read the key field and run the operation, then refresh the animation buttons
+     */
+    private void withKey(Consumer<String> operation) {
+        String key = keyField.getText().trim();
+        if (key.isEmpty()) return;
+
+        operation.accept(key);
+        updateAnimationControls();
+    }
+
+    private void updateAnimationControls() {
+        boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
+        playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
+        pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
+        stepBtn.setEnabled(hasSteps);
+        resetBtn.setEnabled(hasSteps);
+    }
+
+    public void loadDemo() {
+        visualizer.loadSample();
+        statusLabel.setText("Demo data loaded");
+        updateAnimationControls();
+    }
+}
@@ -0,0 +1,240 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Visual panel for the probabilistic structures: the filters' bits and
+ * counters as a grid, the count-min sketch as one row per hash function and
+ * the HyperLogLog registers as bars
+ */
+public class ProbabilisticPanel extends JPanel {
+    private static final int CELL = 42;
+    private static final int CELL_GAP = 4;
+    private static final int CELLS_PER_ROW = 16;
+    private static final int TOP_MARGIN = 90;
+    private static final int BAR_HEIGHT = 220;
+    private static final Color TEXT_COLOR = new Color(52, 73, 94);
+    private static final Color EMPTY_COLOR = new Color(236, 240, 241);
+    private static final Color SET_COLOR = new Color(52, 152, 219);
+    private static final Color CHANGED_COLOR = new Color(46, 204, 113);
+    private static final Color VISITED_RING = new Color(241, 196, 15);
+    private static final Color FOCUS_RING = new Color(230, 126, 34);
+    private static final BasicStroke RING_STROKE = new BasicStroke(3);
+    private static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 16);
+    private static final Font INFO_FONT = new Font("SansSerif", Font.PLAIN, 12);
+    private static final Font VALUE_FONT = new Font("SansSerif", Font.BOLD, 14);
+    private static final Font INDEX_FONT = new Font("SansSerif", Font.PLAIN, 10);
+
+    private final ProbabilisticAlgorithm sketches;
+    private final AnimationEngine animationEngine;
+    // Explanation renderer, re-laid out only when the text changes
+    private final JLabel explanation = new JLabel();
+    private String explanationText;
+
+    public ProbabilisticPanel(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.sketches = new ProbabilisticAlgorithm(animationEngine);
+        explanation.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        explanation.setForeground(TEXT_COLOR);
+        explanation.setVerticalAlignment(SwingConstants.TOP);
+
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Probabilistic Structures Visualization"));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(TITLE_FONT);
+        g2d.drawString(sketches.getVariant() + " with " + sketches.getHashFunction(), 15, 30);
+
+        switch (sketches.getVariant()) {
+            case COUNT_MIN:
+                drawRows(g2d);
+                break;
+            case HYPERLOGLOG:
+                drawRegisters(g2d);
+                break;
+            default:
+                drawGrid(g2d);
+                break;
+        }
+
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(INFO_FONT);
+        g2d.drawString(sketches.getSummary(), 15, getHeight() - 30);
+        g2d.drawString(keyLine(g2d.getFontMetrics(), getWidth() - 30), 15, getHeight() - 12);
+        drawExplanation(g2d);
+    }
+
+    /**
+     * Bits or counters, sixteen to a row
+     */
+    private void drawGrid(Graphics2D g2d) {
+        int[] cells = sketches.getShown();
+        for (int cell = 0; cell < cells.length; cell++) {
+            int x = 20 + (cell % CELLS_PER_ROW) * (CELL + CELL_GAP);
+            int y = TOP_MARGIN + (cell / CELLS_PER_ROW) * (CELL + 22);
+            drawCell(g2d, cell, cells[cell], x, y, String.valueOf(cell));
+        }
+    }
+
+    private void drawRows(Graphics2D g2d) {
+        int[] cells = sketches.getShown();
+        int width = sketches.getCountMinWidth();
+        g2d.setFont(INFO_FONT);
+        for (int cell = 0; cell < cells.length; cell++) {
+            int row = cell / width;
+            int column = cell % width;
+            int x = 80 + column * (CELL + CELL_GAP);
+            int y = TOP_MARGIN + row * (CELL + 22);
+            if (column == 0) {
+                g2d.setColor(TEXT_COLOR);
+                g2d.setFont(INFO_FONT);
+                g2d.drawString("row " + row, 20, y + CELL / 2 + 5);
+            }
+            drawCell(g2d, cell, cells[cell], x, y, String.valueOf(column));
+        }
+    }
+
+    /**
+     * Registers as bars scaled to the largest possible rank, 33
+     */
+    private void drawRegisters(Graphics2D g2d) {
+        int[] cells = sketches.getShown();
+        int base = TOP_MARGIN + BAR_HEIGHT;
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.drawLine(15, base, 20 + cells.length * (CELL + CELL_GAP), base);
+        for (int cell = 0; cell < cells.length; cell++) {
+            int x = 20 + cell * (CELL + CELL_GAP);
+            int height = Math.max(2, cells[cell] * BAR_HEIGHT / 33);
+            g2d.setColor(sketches.isChanged(cell) ? CHANGED_COLOR : cells[cell] == 0 ? EMPTY_COLOR : SET_COLOR);
+            g2d.fillRect(x, base - height, CELL, height);
+            g2d.setColor(TEXT_COLOR);
+            g2d.setFont(VALUE_FONT);
+            String value = String.valueOf(cells[cell]);
+            FontMetrics fm = g2d.getFontMetrics();
+            g2d.drawString(value, x + (CELL - fm.stringWidth(value)) / 2, base - height - 6);
+            g2d.setFont(INDEX_FONT);
+            fm = g2d.getFontMetrics();
+            g2d.drawString(String.valueOf(cell), x + (CELL - fm.stringWidth(String.valueOf(cell))) / 2, base + 14);
+            if (sketches.isFocus(cell) || sketches.isVisited(cell)) {
+                g2d.setColor(sketches.isFocus(cell) ? FOCUS_RING : VISITED_RING);
+                g2d.setStroke(RING_STROKE);
+                g2d.drawRect(x - 3, base - height - 3, CELL + 6, height + 6);
+                g2d.setStroke(new BasicStroke(1));
+            }
+        }
+    }
+
+    private void drawCell(Graphics2D g2d, int cell, int value, int x, int y, String index) {
+        g2d.setColor(sketches.isChanged(cell) ? CHANGED_COLOR : value == 0 ? EMPTY_COLOR : SET_COLOR);
+        g2d.fillRect(x, y, CELL, CELL);
+        g2d.setColor(value == 0 ? Color.GRAY : Color.WHITE);
+        g2d.setFont(VALUE_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        String text = String.valueOf(value);
+        g2d.drawString(text, x + (CELL - fm.stringWidth(text)) / 2, y + (CELL + fm.getAscent()) / 2 - 2);
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(INDEX_FONT);
+        fm = g2d.getFontMetrics();
+        g2d.drawString(index, x + (CELL - fm.stringWidth(index)) / 2, y + CELL + 12);
+        if (sketches.isFocus(cell) || sketches.isVisited(cell)) {
+            g2d.setColor(sketches.isFocus(cell) ? FOCUS_RING : VISITED_RING);
+            g2d.setStroke(RING_STROKE);
+            g2d.drawRect(x - 3, y - 3, CELL + 6, CELL + 6);
+            g2d.setStroke(new BasicStroke(1));
+        }
+    }
+
+    /**
+     * The exact keys, cut to the width available
+     */
+    private String keyLine(FontMetrics fm, int width) {
+        List<String> keys = sketches.getKeys();
+        StringBuilder line = new StringBuilder("Exact keys (" + keys.size() + "):");
+        for (String key : keys) {
+            if (fm.stringWidth(line + " " + key + ", ...") > width) {
+                return line + " ...";
+            }
+            line.append(' ').append(key);
+        }
+        return line.toString();
+    }
+
+    private void drawExplanation(Graphics2D g2d) {
+        String text = animationEngine.getCurrentStepDescription();
+        if (text == null || text.isEmpty()) return;
+        if (!text.equals(explanationText)) {
+            explanationText = text;
+            explanation.setText("<html><body style='width: 300px'>" + text + "</body></html>");
+            explanation.setSize(explanation.getPreferredSize());
+        }
+        Dimension size = explanation.getSize();
+        int x = getWidth() - size.width - 20;
+        int y = 20;
+        g2d.setColor(new Color(255, 255, 255, 240));
+        g2d.fillRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.setColor(TEXT_COLOR);
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.translate(x, y);
+        explanation.paint(g2d);
+        g2d.translate(-x, -y);
+    }
+
+    public void setVariant(ProbabilisticAlgorithm.Variant variant) {
+        sketches.setVariant(variant);
+        repaint();
+    }
+
+    public void setHashFunction(HashFunction function) {
+        sketches.setHashFunction(function);
+        repaint();
+    }
+
+    public void add(String key) {
+        sketches.add(key);
+        repaint();
+    }
+
+    public void query(String key) {
+        sketches.query(key);
+        repaint();
+    }
+
+    public void remove(String key) {
+        sketches.remove(key);
+        repaint();
+    }
+
+    public void addRandom(int count) {
+        sketches.addRandom(count);
+        repaint();
+    }
+
+    public void clear() {
+        sketches.clear();
+        repaint();
+    }
+
+    public void loadSample() {
+        sketches.loadSample();
+        repaint();
+    }
+
+    public ProbabilisticAlgorithm getSketches() {
+        return sketches;
+    }
+}
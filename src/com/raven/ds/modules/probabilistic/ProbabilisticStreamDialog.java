@@ -0,0 +1,309 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Streams millions of keys through the sketches headless and sets each
+ * answer against an exact HashSet or HashMap. Membership: the Bloom filter's
+ * measured false-positive rate on as many absent keys against the formula,
+ * and the counting filter's after half the keys are removed again, which must
+ * leave no false negatives. Frequency: count-min errors on a Zipf stream
+ * against its epsilon * N bound. Cardinality: HyperLogLog's error against the
+ * exact distinct count. Every structure runs once per hash family, so a
+ * family that spreads its keys badly shows up as extra error
+ */
+public class ProbabilisticStreamDialog extends JDialog {
+    private static final int[] HLL_PRECISIONS = {12, 14};
+    private static final double CMS_EPSILON = 0.0001;
+    private static final double CMS_DELTA = 0.01;
+    private static final int ZIPF_VOCABULARY = 100_000;
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final long SEED = 42;
+
+    private JSpinner sizeSpinner;
+    private JSpinner rateSpinner;
+    private Button runBtn;
+    private JTextArea resultsArea;
+
+    public ProbabilisticStreamDialog(Frame owner) {
+        super(owner, "Stream Through the Sketches", false);
+
+        initComponents();
+        setSize(1000, 640);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][grow]"));
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(2_000_000, 10_000, 10_000_000, 500_000));
+        sizeSpinner.setToolTipText("Distinct keys streamed into each structure");
+        rateSpinner = new JSpinner(new SpinnerNumberModel(0.01, 0.0001, 0.5, 0.005));
+        rateSpinner.setEditor(new JSpinner.NumberEditor(rateSpinner, "0.0000"));
+        rateSpinner.setToolTipText("False-positive rate the Bloom filters are sized for");
+        runBtn = new Button();
+        runBtn.setText("Run");
+        runBtn.setBackground(new Color(231, 76, 60));
+        runBtn.setFont(new Font("sansserif", Font.BOLD, 12));
+        runBtn.setForeground(Color.WHITE);
+        runBtn.setPreferredSize(new Dimension(110, 36));
+        runBtn.setToolTipText("Stream the keys through every structure and hash family");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Keys:"), "cell 0 0");
+        panel.add(sizeSpinner, "cell 1 0, split 4, w 120!");
+        panel.add(new JLabel("Target FP rate:"), "cell 1 0, gapleft 15");
+        panel.add(rateSpinner, "cell 1 0, w 90!");
+        panel.add(runBtn, "cell 1 0, gapleft push");
+        panel.add(new JScrollPane(resultsArea), "cell 0 1, span 2, grow");
+        setContentPane(panel);
+
+        runBtn.addActionListener(e -> run());
+    }
+
+    private void run() {
+        int n = (Integer) sizeSpinner.getValue();
+        double rate = ((Number) rateSpinner.getValue()).doubleValue();
+        runBtn.setEnabled(false);
+        resultsArea.append(String.format("Membership: %,d keys added, %,d absent keys queried, target rate %.4f%n"
+                        + "%-14s %-15s %10s %9s %10s %10s %12s%n", n, n, rate, "Family", "Structure", "Add (ns)",
+                "MB", "FP rate", "Expected", "False neg"));
+
+        new SwingWorker<Void, String>() {
+            @Override
+            protected Void doInBackground() {
+                String[] keys = new String[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = "user:" + i;
+                }
+
+                exactSet(keys);
+                for (HashFunction function : HashFunction.values()) {
+                    bloom(function, keys);
+                    counting(function, keys);
+                }
+
+                String[] stream = zipfStream(n);
+                Map<String, Integer> exact = new HashMap<>();
+                for (String key : stream) {
+                    exact.merge(key, 1, Integer::sum);
+                }
+                publish(String.format("%nFrequency: count-min, epsilon %.4f, delta %.2f, %,d Zipf events over %,d"
+                                + " words (%,d seen)%n%-14s %12s %9s %10s %10s %10s %10s %9s%n", CMS_EPSILON,
+                        CMS_DELTA, n, ZIPF_VOCABULARY, exact.size(), "Family", "Size", "KB", "Add (ns)",
+                        "Avg error", "Max error", "Bound", "Within"));
+                for (HashFunction function : HashFunction.values()) {
+                    countMin(function, stream, exact);
+                }
+
+                publish(String.format("%nCardinality: HyperLogLog on %,d keys plus every key again%n"
+                                + "%-14s %4s %9s %10s %12s %9s %9s%n", n, "Family", "p", "Bytes", "Add (ns)",
+                        "Estimate", "Error", "Std err"));
+                for (HashFunction function : HashFunction.values()) {
+                    for (int precision : HLL_PRECISIONS) {
+                        hyperLogLog(function, precision, keys);
+                    }
+                }
+                return null;
+            }
+
+            private void exactSet(String[] keys) {
+                long start = System.nanoTime();
+                Set<String> set = new HashSet<>();
+                for (String key : keys) {
+                    set.add(key);
+                }
+                double addNanos = (double) (System.nanoTime() - start) / keys.length;
+                long falsePositives = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    if (set.contains("absent:" + i)) {
+                        falsePositives++;
+                    }
+                }
+                publish(String.format("%-14s %-15s %10.1f %9.1f %10.5f %10.5f %12d%n", "String.hashCode", "HashSet",
+                        addNanos, hashSetBytes(keys) / (double) (1 << 20), (double) falsePositives / keys.length, 0.0,
+                        0));
+            }
+
+            private void bloom(HashFunction function, String[] keys) {
+                BloomFilter filter = BloomFilter.forCapacity(function, keys.length, rate);
+                long start = System.nanoTime();
+                for (String key : keys) {
+                    filter.add(key);
+                }
+                double addNanos = (double) (System.nanoTime() - start) / keys.length;
+                long falseNegatives = 0;
+                for (String key : keys) {
+                    if (!filter.mightContain(key)) {
+                        falseNegatives++;
+                    }
+                }
+                publish(String.format("%-14s %-15s %10.1f %9.1f %10.5f %10.5f %,12d%n", function,
+                        "Bloom k=" + filter.getHashes(), addNanos, filter.getMemoryBytes() / (double) (1 << 20),
+                        absentRate(filter::mightContain, keys.length), filter.getExpectedFalsePositiveRate(),
+                        falseNegatives));
+            }
+
+            private void counting(HashFunction function, String[] keys) {
+                CountingBloomFilter filter = CountingBloomFilter.forCapacity(function, keys.length, rate);
+                long start = System.nanoTime();
+                for (String key : keys) {
+                    filter.add(key);
+                }
+                double addNanos = (double) (System.nanoTime() - start) / keys.length;
+                double fullRate = absentRate(filter::mightContain, keys.length);
+
+                // Remove the odd keys; every even key must still be found
+                for (int i = 1; i < keys.length; i += 2) {
+                    filter.remove(keys[i]);
+                }
+                long falseNegatives = 0;
+                for (int i = 0; i < keys.length; i += 2) {
+                    if (!filter.mightContain(keys[i])) {
+                        falseNegatives++;
+                    }
+                }
+                publish(String.format("%-14s %-15s %10.1f %9.1f %10.5f %10.5f %,12d%n", function, "Counting, half",
+                        addNanos, filter.getMemoryBytes() / (double) (1 << 20), fullRate,
+                        Math.pow(1 - Math.exp(-(double) filter.getHashes() * keys.length / filter.getCounters()),
+                                filter.getHashes()), falseNegatives));
+            }
+
+            private void countMin(HashFunction function, String[] stream, Map<String, Integer> exact) {
+                CountMinSketch sketch = CountMinSketch.forError(function, CMS_EPSILON, CMS_DELTA);
+                long start = System.nanoTime();
+                for (String key : stream) {
+                    sketch.add(key, 1);
+                }
+                double addNanos = (double) (System.nanoTime() - start) / stream.length;
+                double bound = sketch.getErrorBound();
+                long errorSum = 0;
+                long maxError = 0;
+                long within = 0;
+                long under = 0;
+                for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+                    long error = sketch.estimate(entry.getKey()) - entry.getValue();
+                    if (error < 0) {
+                        under++;
+                    }
+                    errorSum += error;
+                    maxError = Math.max(maxError, error);
+                    if (error <= bound) {
+                        within++;
+                    }
+                }
+                publish(String.format("%-14s %12s %9.1f %10.1f %10.2f %,10d %10.1f %8.2f%%%s%n", function,
+                        sketch.getWidth() + "x" + sketch.getDepth(), sketch.getMemoryBytes() / 1024.0, addNanos,
+                        (double) errorSum / exact.size(), maxError, bound, 100.0 * within / exact.size(),
+                        under == 0 ? "" : "  UNDERESTIMATED " + under));
+            }
+
+            private void hyperLogLog(HashFunction function, int precision, String[] keys) {
+                HyperLogLog counter = new HyperLogLog(function, precision);
+                long start = System.nanoTime();
+                for (String key : keys) {
+                    counter.add(key);
+                }
+                // Duplicates must not move the estimate
+                for (String key : keys) {
+                    counter.add(key);
+                }
+                double addNanos = (double) (System.nanoTime() - start) / (2L * keys.length);
+                double estimate = counter.estimate();
+                publish(String.format("%-14s %4d %,9d %10.1f %,12.0f %+8.2f%% %8.2f%%%n", function, precision,
+                        counter.getMemoryBytes(), addNanos, estimate, 100 * (estimate - keys.length) / keys.length,
+                        100 * counter.getStandardError()));
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Run failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                runBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    private interface Membership {
+        boolean mightContain(String key);
+    }
+
+    /**
+     * Share of the keys "absent:0" .. "absent:n-1" the structure claims to hold
+     */
+    private static double absentRate(Membership membership, int n) {
+        long hits = 0;
+        for (int i = 0; i < n; i++) {
+            if (membership.mightContain("absent:" + i)) {
+                hits++;
+            }
+        }
+        return (double) hits / n;
+    }
+
+    /**
+     * n draws from words "w0" .. over a Zipf distribution, rank r weighted 1 / r^s
+     */
+    private static String[] zipfStream(int n) {
+        double[] cumulative = new double[ZIPF_VOCABULARY];
+        double sum = 0;
+        for (int r = 0; r < ZIPF_VOCABULARY; r++) {
+            sum += 1 / Math.pow(r + 1, ZIPF_EXPONENT);
+            cumulative[r] = sum;
+        }
+        String[] words = new String[ZIPF_VOCABULARY];
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] stream = new String[n];
+        for (int i = 0; i < n; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            if (rank < 0) {
+                rank = Math.min(-rank - 1, ZIPF_VOCABULARY - 1);
+            }
+            if (words[rank] == null) {
+                words[rank] = "w" + rank;
+            }
+            stream[i] = words[rank];
+        }
+        return stream;
+    }
+
+    /**
+     * Rough HashSet footprint with compressed references: a 4-byte table slot
+     * per bucket at load factor 0.75, a 32-byte node, and a String of 24 bytes
+     * plus its Latin-1 byte array, rounded up to 8 bytes
+     */
+    private static long hashSetBytes(String[] keys) {
+        int buckets = Integer.highestOneBit(Math.max(1, (int) (keys.length / 0.75f)) - 1) << 1;
+        long bytes = 16 + 4L * buckets;
+        for (String key : keys) {
+            bytes += 32 + 24 + ((16 + key.length() + 7) & ~7);
+        }
+        return bytes;
+    }
+}
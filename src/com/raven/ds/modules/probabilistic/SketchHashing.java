@@ -0,0 +1,51 @@
+package com.raven.ds.modules.probabilistic;
+
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm.HashFunction;
+
+/**
+ * The k hash functions a sketch needs, built from one of the hash table's
+ * families by double hashing: g_i(x) = h1(x) + i * h2(x), mapped onto the
+ * array by the family's own index function. Kirsch and Mitzenmacher showed
+ * that k functions made this way do as well as k independent ones. h1 is the
+ * family's raw hash and h2 is mixed from it, so keys whose raw hashes collide
+ * land on the same cells in every row; nothing here allocates
+ */
+final class SketchHashing {
+    private SketchHashing() {
+    }
+
+    static int first(HashFunction function, String key) {
+        return HashTableAlgorithm.rawHash(function, key);
+    }
+
+    /**
+     * Odd, so successive probes never repeat before wrapping a power-of-two array
+     */
+    static int second(int first) {
+        return mix(first) | 1;
+    }
+
+    /**
+     * The cell h1 alone picks, for sketches that need a single position
+     */
+    static int home(HashFunction function, int first, int capacity) {
+        return HashTableAlgorithm.index(function, first & Integer.MAX_VALUE, capacity);
+    }
+
+    static int probe(HashFunction function, int first, int second, int i, int capacity) {
+        return HashTableAlgorithm.index(function, (first + i * second) & Integer.MAX_VALUE, capacity);
+    }
+
+    /**
+     * MurmurHash3's 32-bit finaliser: every input bit reaches every output bit
+     */
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,82 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * Base for the in-place int[] sorts of the lab, counting comparisons, swaps
+ * and element moves and reporting them to an optional tracer
+ */
+public abstract class ArraySort {
+    protected final OperationStats stats;
+    protected final SortTracer tracer;
+
+    protected ArraySort(OperationStats stats, SortTracer tracer) {
+        this.stats = stats;
+        this.tracer = tracer;
+    }
+
+    public abstract String getName();
+
+    /**
+     * Sort ascending, in place as far as the caller can see
+     */
+    public abstract void sort(int[] values);
+
+    protected final boolean less(int[] values, int i, int j) {
+        stats.comparison();
+        if (tracer != null) {
+            tracer.compared(i, j);
+        }
+        return values[i] < values[j];
+    }
+
+    protected final void swap(int[] values, int i, int j) {
+        stats.swap();
+        if (tracer != null) {
+            tracer.swapped(i, j);
+        }
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    /**
+     * Callers on hot paths check the tracer first, so the text is only built when traced
+     */
+    protected final void phase(String description) {
+        if (tracer != null) {
+            tracer.phase(description);
+        }
+    }
+
+    /**
+     * Straight insertion on values[lo, hi), shifting instead of swapping;
+     * the tracer sees the equivalent swaps so the bars stay consistent
+     */
+    protected final void insertionSort(int[] values, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int value = values[i];
+            int j = i;
+            while (j > lo) {
+                stats.comparison();
+                if (tracer != null) {
+                    tracer.compared(j, j - 1);
+                }
+                if (value >= values[j - 1]) {
+                    break;
+                }
+                if (tracer != null) {
+                    tracer.swapped(j, j - 1);
+                }
+                values[j] = values[j - 1];
+                j--;
+            }
+            values[j] = value;
+            stats.moves(i - j);
+        }
+    }
+
+    static int floorLog2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, n));
+    }
+}
@@ -0,0 +1,84 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * Wegener's bottom-up heapsort
+ * A sift-down first walks to a leaf along the larger children, one comparison
+ * per level, then climbs back to where the sifted value belongs. Since a value
+ * taken from the end of the heap usually belongs near the bottom, this costs
+ * about n log n + O(n) comparisons against 2 n log n for the textbook sift.
+ * The walk still jumps from i to 2i + 1, so large arrays miss the cache on
+ * nearly every level
+ */
+public class BottomUpHeapsort extends ArraySort {
+    public BottomUpHeapsort(OperationStats stats) {
+        this(stats, null);
+    }
+
+    BottomUpHeapsort(OperationStats stats, SortTracer tracer) {
+        super(stats, tracer);
+    }
+
+    @Override
+    public String getName() {
+        return "Bottom-up heapsort";
+    }
+
+    @Override
+    public void sort(int[] values) {
+        sortRange(values, 0, values.length);
+    }
+
+    /**
+     * Sort values[lo, hi) with a max-heap rooted at lo
+     */
+    void sortRange(int[] values, int lo, int hi) {
+        int n = hi - lo;
+        phase("🏗️ <b>Build Max Heap</b> on positions " + lo + " to " + (hi - 1) + ", bottom-up.");
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(values, lo, i, n);
+        }
+        phase("📤 <b>Extract:</b> Swap the maximum to the end of the heap, shrink it and sift the new root down.");
+        for (int end = n - 1; end > 0; end--) {
+            swap(values, lo, lo + end);
+            siftDown(values, lo, 0, end);
+        }
+    }
+
+    private void siftDown(int[] values, int lo, int root, int size) {
+        // Leaf reached by always following the larger child
+        int j = root;
+        int child;
+        while ((child = 2 * j + 2) < size) {
+            j = less(values, lo + child, lo + child - 1) ? child - 1 : child;
+        }
+        if (child == size) {
+            j = child - 1;
+        }
+        // Climb back to the first node on the path not smaller than the root value
+        while (j != root && less(values, lo + j, lo + root)) {
+            j = (j - 1) / 2;
+        }
+        if (j == root) {
+            return;
+        }
+        // Rotate: the root value drops to j, the path above it moves up one level
+        int carried = values[lo + j];
+        write(values, lo + j, values[lo + root]);
+        while (j > root) {
+            j = (j - 1) / 2;
+            int next = values[lo + j];
+            write(values, lo + j, carried);
+            carried = next;
+        }
+    }
+
+    private void write(int[] values, int i, int value) {
+        stats.moves(1);
+        if (tracer != null) {
+            tracer.wrote(i, value);
+        }
+        values[i] = value;
+    }
+}
@@ -0,0 +1,122 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * Musser's introsort: median-of-three quicksort that switches a range to
+ * heapsort once it has been partitioned 2 log n times without shrinking enough,
+ * which caps the worst case at O(n log n). Ranges of up to 16 values
+ * are left for insertion sort, and the smaller side is recursed on first so the
+ * stack stays O(log n)
+ */
+public class Introsort extends ArraySort {
+    static final int INSERTION_THRESHOLD = 16;
+
+    private final BottomUpHeapsort heapsort;
+    private final int insertionThreshold;
+    private int heapsortFallbacks;
+
+    public Introsort(OperationStats stats) {
+        this(stats, null, INSERTION_THRESHOLD);
+    }
+
+    /**
+     * @param insertionThreshold longest range left to insertion sort, at least 3
+     */
+    Introsort(OperationStats stats, SortTracer tracer, int insertionThreshold) {
+        super(stats, tracer);
+        this.heapsort = new BottomUpHeapsort(stats, tracer);
+        this.insertionThreshold = Math.max(3, insertionThreshold);
+    }
+
+    @Override
+    public String getName() {
+        return "Introsort";
+    }
+
+    @Override
+    public void sort(int[] values) {
+        sortRange(values, 0, values.length);
+    }
+
+    void sortRange(int[] values, int lo, int hi) {
+        sort(values, lo, hi, 2 * floorLog2(hi - lo));
+    }
+
+    /**
+     * Ranges handed to heapsort because quicksort went too deep
+     */
+    public int getHeapsortFallbacks() {
+        return heapsortFallbacks;
+    }
+
+    private void sort(int[] values, int lo, int hi, int depthLimit) {
+        while (hi - lo > insertionThreshold) {
+            if (depthLimit-- == 0) {
+                if (tracer != null) {
+                    phase("⚠️ <b>Depth limit reached</b> on positions " + lo + " to " + (hi - 1)
+                            + ": this range switches to heapsort.");
+                }
+                heapsortFallbacks++;
+                heapsort.sortRange(values, lo, hi);
+                return;
+            }
+            int p = partition(values, lo, hi);
+            if (p - lo < hi - p - 1) {
+                sort(values, lo, p, depthLimit);
+                lo = p + 1;
+            } else {
+                sort(values, p + 1, hi, depthLimit);
+                hi = p;
+            }
+        }
+        if (hi - lo > 1) {
+            if (tracer != null) {
+                phase("✏️ <b>Insertion Sort</b> on the short range " + lo + " to " + (hi - 1) + ".");
+            }
+            insertionSort(values, lo, hi);
+        }
+    }
+
+    /**
+     * Hoare partition around the median of the first, middle and last values,
+     * which is parked at lo while the scans run
+     * @return final position of the pivot
+     */
+    private int partition(int[] values, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+        if (less(values, mid, lo)) {
+            swap(values, mid, lo);
+        }
+        if (less(values, last, lo)) {
+            swap(values, last, lo);
+        }
+        if (less(values, last, mid)) {
+            swap(values, last, mid);
+        }
+        swap(values, lo, mid);
+        if (tracer != null) {
+            phase("🎯 <b>Partition</b> positions " + lo + " to " + last + " around the median of three, <b>"
+                    + values[lo] + "</b>.");
+        }
+
+        // values[last] >= pivot stops the left scan, the pivot itself the right one
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (less(values, ++i, lo)) {
+                // scan right past smaller values
+            }
+            while (less(values, lo, --j)) {
+                // scan left past larger values
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(values, i, j);
+        }
+        swap(values, lo, j);
+        return j;
+    }
+}
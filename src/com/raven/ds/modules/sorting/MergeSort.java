@@ -0,0 +1,116 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * Bottom-up merge sort tuned for the memory hierarchy
+ * Runs of RUN_LENGTH are insertion-sorted while they sit in L1, then each pass
+ * merges neighbouring runs by streaming forward through two inputs and one
+ * output, alternating between the array and one scratch buffer instead of
+ * copying back every pass. Two runs already in order are copied, not merged,
+ * so presorted input costs one comparison per run
+ */
+public class MergeSort extends ArraySort {
+    static final int RUN_LENGTH = 32;
+
+    private final int runLength;
+
+    public MergeSort(OperationStats stats) {
+        this(stats, null, RUN_LENGTH);
+    }
+
+    /**
+     * @param runLength shorter runs leave more merging to watch
+     */
+    MergeSort(OperationStats stats, SortTracer tracer, int runLength) {
+        super(stats, tracer);
+        this.runLength = runLength;
+    }
+
+    @Override
+    public String getName() {
+        return "Merge sort";
+    }
+
+    @Override
+    public void sort(int[] values) {
+        int n = values.length;
+        int run = Math.min(runLength, Math.max(2, n));
+        for (int lo = 0; lo < n; lo += run) {
+            int hi = Math.min(lo + run, n);
+            if (tracer != null) {
+                phase("✏️ <b>Insertion Sort</b> the run at positions " + lo + " to " + (hi - 1) + ".");
+            }
+            insertionSort(values, lo, hi);
+        }
+        if (run >= n) {
+            return;
+        }
+
+        int[] source = values;
+        int[] target = new int[n];
+        for (int width = run; width < n; width *= 2) {
+            phase("🔗 <b>Merge Pass:</b> Merging neighbouring runs of " + width + " into runs of " + 2 * width + ".");
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                merge(source, target, lo, mid, hi);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        // The bars already show the merged order, so this copy is not traced
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, n);
+            stats.moves(n);
+        }
+    }
+
+    /**
+     * Merge source[lo, mid) and source[mid, hi) into target[lo, hi)
+     */
+    void merge(int[] source, int[] target, int lo, int mid, int hi) {
+        if (mid == hi || !lessThan(source, mid, mid - 1)) {
+            copy(source, target, lo, hi);
+            return;
+        }
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++) {
+            int value;
+            if (i == mid) {
+                value = source[j++];
+            } else if (j == hi) {
+                value = source[i++];
+            } else if (lessThan(source, j, i)) {
+                value = source[j++];
+            } else {
+                value = source[i++];
+            }
+            target[k] = value;
+            if (tracer != null) {
+                tracer.wrote(k, value);
+            }
+        }
+        stats.moves(hi - lo);
+    }
+
+    private boolean lessThan(int[] source, int i, int j) {
+        stats.comparison();
+        if (tracer != null) {
+            tracer.compared(i, j);
+        }
+        return source[i] < source[j];
+    }
+
+    private void copy(int[] source, int[] target, int lo, int hi) {
+        System.arraycopy(source, lo, target, lo, hi - lo);
+        stats.moves(hi - lo);
+        if (tracer != null) {
+            for (int k = lo; k < hi; k++) {
+                tracer.wrote(k, source[k]);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join merge sort with a parallel merge
+ * The array is split in halves until a block fits in cache (SORT_BLOCK values),
+ * blocks are introsorted in place, and sorted halves are merged by splitting
+ * the larger run at its middle, binary-searching that value in the other run
+ * and merging the two sides as separate tasks. Without the parallel merge the
+ * top-level merge alone would be a serial O(n) tail. Results alternate between
+ * the array and one scratch buffer as in MergeSort. Tasks keep their own counts,
+ * summed after each join, so no counter is shared between threads; a tracer is
+ * only ever given to the single-threaded path
+ */
+public class ParallelMergeSort extends ArraySort {
+    static final int SORT_BLOCK = 1 << 13;
+    static final int MERGE_BLOCK = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int sortBlock;
+    private final int mergeBlock;
+
+    public ParallelMergeSort(OperationStats stats, ForkJoinPool pool) {
+        this(stats, null, pool, SORT_BLOCK, MERGE_BLOCK);
+    }
+
+    /**
+     * With a null pool the task tree runs depth-first on the calling thread,
+     * which is what the animation replays
+     */
+    ParallelMergeSort(OperationStats stats, SortTracer tracer, ForkJoinPool pool, int sortBlock, int mergeBlock) {
+        super(stats, tracer);
+        this.pool = pool;
+        this.sortBlock = Math.max(4, sortBlock);
+        this.mergeBlock = Math.max(2, mergeBlock);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel merge sort";
+    }
+
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    @Override
+    public void sort(int[] values) {
+        if (values.length < 2) {
+            return;
+        }
+        SortTask root = new SortTask(values, new int[values.length], 0, values.length, false);
+        if (pool == null) {
+            root.compute();
+        } else {
+            pool.invoke(root);
+        }
+        stats.comparisons(root.comparisons);
+        stats.swaps(root.swaps);
+        stats.moves(root.moves);
+    }
+
+    private void invokeBoth(Counted first, Counted second) {
+        if (pool == null) {
+            first.compute();
+            second.compute();
+        } else {
+            RecursiveAction.invokeAll(first, second);
+        }
+    }
+
+    private abstract static class Counted extends RecursiveAction {
+        long comparisons;
+        long swaps;
+        long moves;
+
+        @Override
+        protected abstract void compute();
+
+        void add(Counted child) {
+            comparisons += child.comparisons;
+            swaps += child.swaps;
+            moves += child.moves;
+        }
+    }
+
+    /**
+     * Sorts values[lo, hi) into scratch when intoScratch, otherwise into values
+     */
+    private class SortTask extends Counted {
+        private final int[] values;
+        private final int[] scratch;
+        private final int lo;
+        private final int hi;
+        private final boolean intoScratch;
+
+        SortTask(int[] values, int[] scratch, int lo, int hi, boolean intoScratch) {
+            this.values = values;
+            this.scratch = scratch;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoScratch = intoScratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= sortBlock) {
+                if (tracer != null) {
+                    phase("🧱 <b>Leaf Task:</b> Introsort positions " + lo + " to " + (hi - 1) + " on one worker.");
+                }
+                OperationStats local = new OperationStats();
+                int insertionThreshold = Math.min(Introsort.INSERTION_THRESHOLD, sortBlock / 2);
+                new Introsort(local, tracer, insertionThreshold).sortRange(values, lo, hi);
+                comparisons = local.getComparisons();
+                swaps = local.getSwaps();
+                moves = local.getMoves();
+                if (intoScratch) {
+                    System.arraycopy(values, lo, scratch, lo, hi - lo);
+                    moves += hi - lo;
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (tracer != null) {
+                phase("🍴 <b>Fork:</b> Positions " + lo + " to " + (mid - 1) + " and " + mid + " to " + (hi - 1)
+                        + " are sorted by parallel tasks.");
+            }
+            SortTask left = new SortTask(values, scratch, lo, mid, !intoScratch);
+            SortTask right = new SortTask(values, scratch, mid, hi, !intoScratch);
+            invokeBoth(left, right);
+            add(left);
+            add(right);
+
+            int[] source = intoScratch ? values : scratch;
+            int[] target = intoScratch ? scratch : values;
+            if (tracer != null) {
+                phase("🔗 <b>Join and Merge:</b> Merging positions " + lo + " to " + (hi - 1) + ", split into parallel pieces.");
+            }
+            MergeTask merge = new MergeTask(source, target, lo, mid, mid, hi, lo);
+            merge.compute();
+            add(merge);
+        }
+    }
+
+    /**
+     * Merges source[lo1, hi1) and source[lo2, hi2) into target from position out
+     */
+    private class MergeTask extends Counted {
+        private final int[] source;
+        private final int[] target;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+
+        MergeTask(int[] source, int[] target, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.source = source;
+            this.target = target;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = hi1 - lo1;
+            int length2 = hi2 - lo2;
+            if (length1 + length2 <= mergeBlock || length1 == 0 || length2 == 0) {
+                mergeSerial();
+                return;
+            }
+            // Split the larger run at its middle; the other run splits where that value would go
+            boolean firstLarger = length1 >= length2;
+            int splitA = firstLarger ? (lo1 + hi1) >>> 1 : (lo2 + hi2) >>> 1;
+            int pivot = source[splitA];
+            int splitB = firstLarger ? lowerBound(lo2, hi2, pivot, splitA) : upperBound(lo1, hi1, pivot, splitA);
+            int mid1 = firstLarger ? splitA : splitB;
+            int mid2 = firstLarger ? splitB : splitA;
+            int outMid = out + (mid1 - lo1) + (mid2 - lo2);
+            MergeTask left = new MergeTask(source, target, lo1, mid1, lo2, mid2, out);
+            MergeTask right = new MergeTask(source, target, mid1, hi1, mid2, hi2, outMid);
+            invokeBoth(left, right);
+            add(left);
+            add(right);
+        }
+
+        // First position in [lo, hi) whose value is not below pivot
+        private int lowerBound(int lo, int hi, int pivot, int pivotAt) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                count(mid, pivotAt);
+                if (source[mid] < pivot) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // First position in [lo, hi) whose value is above pivot, so equal values stay in run order
+        private int upperBound(int lo, int hi, int pivot, int pivotAt) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                count(mid, pivotAt);
+                if (source[mid] <= pivot) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private void count(int i, int j) {
+            comparisons++;
+            if (tracer != null) {
+                tracer.compared(i, j);
+            }
+        }
+
+        private void mergeSerial() {
+            int i = lo1;
+            int j = lo2;
+            int k = out;
+            while (i < hi1 && j < hi2) {
+                count(j, i);
+                int value = source[j] < source[i] ? source[j++] : source[i++];
+                write(k++, value);
+            }
+            while (i < hi1) {
+                write(k++, source[i++]);
+            }
+            while (j < hi2) {
+                write(k++, source[j++]);
+            }
+            moves += (hi1 - lo1) + (hi2 - lo2);
+        }
+
+        private void write(int k, int value) {
+            target[k] = value;
+            if (tracer != null) {
+                tracer.wrote(k, value);
+            }
+        }
+    }
+}
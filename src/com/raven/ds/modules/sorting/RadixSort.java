@@ -0,0 +1,86 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+
+/**
+ * LSD radix sort on the four bytes of each int, no comparisons at all
+ * One read of the input builds all four digit histograms; each pass then
+ * scatters into the other of two buffers by one byte, least significant first.
+ * The sign bit is flipped so negative values order before positive ones, and a
+ * byte that is the same in every value is skipped. With 256 buckets the write
+ * positions of a pass spread over 256 streams, which the cache can still track
+ */
+public class RadixSort extends ArraySort {
+    private static final int RADIX = 256;
+    private int passesSkipped;
+
+    public RadixSort(OperationStats stats) {
+        this(stats, null);
+    }
+
+    RadixSort(OperationStats stats, SortTracer tracer) {
+        super(stats, tracer);
+    }
+
+    @Override
+    public String getName() {
+        return "LSD radix sort";
+    }
+
+    @Override
+    public void sort(int[] values) {
+        int n = values.length;
+        passesSkipped = 0;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[4][RADIX + 1];
+        for (int value : values) {
+            int key = value ^ Integer.MIN_VALUE;
+            counts[0][(key & 0xFF) + 1]++;
+            counts[1][((key >>> 8) & 0xFF) + 1]++;
+            counts[2][((key >>> 16) & 0xFF) + 1]++;
+            counts[3][(key >>> 24) + 1]++;
+        }
+
+        int[] source = values;
+        int[] target = new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = 8 * pass;
+            int[] count = counts[pass];
+            if (count[(((values[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF) + 1] == n) {
+                passesSkipped++;
+                phase("⏭️ <b>Skip Byte " + pass + ":</b> Every value has the same bits " + shift + " to " + (shift + 7) + ".");
+                continue;
+            }
+            phase("🪣 <b>Radix Pass " + pass + ":</b> Scattering by bits " + shift + " to " + (shift + 7)
+                    + " into 256 buckets, keeping the order of the previous pass within each bucket.");
+            for (int d = 0; d < RADIX; d++) {
+                count[d + 1] += count[d];
+            }
+            for (int i = 0; i < n; i++) {
+                int value = source[i];
+                int position = count[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+                target[position] = value;
+                if (tracer != null) {
+                    tracer.wrote(position, value);
+                }
+            }
+            stats.moves(n);
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, n);
+            stats.moves(n);
+        }
+    }
+
+    /**
+     * Byte positions the last sort could skip
+     */
+    public int getPassesSkipped() {
+        return passesSkipped;
+    }
+}
@@ -0,0 +1,102 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.modules.benchmark.BenchmarkInputs;
+import java.util.SplittableRandom;
+
+/**
+ * Input arrays for the sorting lab, seeded like BenchmarkInputs so every race
+ * sees the same data. SplittableRandom keeps a 10^7 array under 100 ms to build
+ */
+public final class SortInputs {
+    public enum Pattern {
+        RANDOM("Random"),
+        SORTED("Sorted"),
+        REVERSED("Reversed"),
+        NEARLY_SORTED("Nearly sorted"),
+        FEW_UNIQUE("Few unique"),
+        ORGAN_PIPE("Organ pipe");
+
+        private final String label;
+
+        Pattern(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private SortInputs() {
+    }
+
+    /**
+     * @param range values are drawn from [0, range) for the random patterns
+     */
+    public static int[] generate(Pattern pattern, int n, int range) {
+        SplittableRandom random = new SplittableRandom(BenchmarkInputs.SEED);
+        int[] values = new int[n];
+        switch (pattern) {
+            case SORTED:
+                for (int i = 0; i < n; i++) {
+                    values[i] = scale(i, n, range);
+                }
+                break;
+            case REVERSED:
+                for (int i = 0; i < n; i++) {
+                    values[i] = scale(n - 1 - i, n, range);
+                }
+                break;
+            case NEARLY_SORTED:
+                // Sorted, then one value in a hundred swapped with a random other
+                for (int i = 0; i < n; i++) {
+                    values[i] = scale(i, n, range);
+                }
+                for (int k = 0; k < n / 100 + 1 && n > 1; k++) {
+                    int i = random.nextInt(n);
+                    int j = random.nextInt(n);
+                    int temp = values[i];
+                    values[i] = values[j];
+                    values[j] = temp;
+                }
+                break;
+            case FEW_UNIQUE:
+                int distinct = Math.min(range, 8);
+                for (int i = 0; i < n; i++) {
+                    values[i] = random.nextInt(distinct) * Math.max(1, range / distinct);
+                }
+                break;
+            case ORGAN_PIPE:
+                for (int i = 0; i < n; i++) {
+                    values[i] = scale(Math.min(i, n - 1 - i) * 2, n, range);
+                }
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    values[i] = random.nextInt(range);
+                }
+        }
+        return values;
+    }
+
+    /**
+     * Full int range, as the races use
+     */
+    public static int[] generate(Pattern pattern, int n) {
+        if (pattern == Pattern.RANDOM) {
+            SplittableRandom random = new SplittableRandom(BenchmarkInputs.SEED);
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt();
+            }
+            return values;
+        }
+        return generate(pattern, n, Integer.MAX_VALUE);
+    }
+
+    // Position i of n mapped on to [0, range)
+    private static int scale(long i, int n, int range) {
+        return n <= 1 ? 0 : (int) (i * (range - 1L) / (n - 1));
+    }
+}
@@ -0,0 +1,221 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.heapsort.HeapsortAlgorithm;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Races the headless sorts on arrays far beyond what the bars can show
+ * Arrays.sort always runs first as the reference for both correctness and
+ * speed-up. Every entrant is also timed on a cache-resident array, so the
+ * report shows how much each one slows down per n lg n once the data no
+ * longer fits in cache; heapsort's jumps between parent and child make it
+ * the clear outlier
+ */
+public class SortRaceDialog extends JDialog {
+    // 64 KB of ints: resident in L2 on anything current
+    private static final int CACHE_RESIDENT_SIZE = 16_384;
+    // Small runs repeat until they have taken this long in total
+    private static final long SMALL_RUN_NANOS = 50_000_000L;
+
+    private JSpinner sizeSpinner;
+    private JComboBox<SortInputs.Pattern> patternCombo;
+    private JSpinner threadsSpinner;
+    private final List<JCheckBox> sortChecks = new ArrayList<>();
+    private JCheckBox textbookHeapsortCheck;
+    private JCheckBox parallelSortCheck;
+    private Button raceBtn;
+    private JTextArea resultsArea;
+
+    public SortRaceDialog(Frame owner) {
+        super(owner, "Sort Race", false);
+
+        initComponents();
+        setSize(860, 560);
+        setLocationRelativeTo(owner);
+    }
+
+    private void initComponents() {
+        JPanel panel = new JPanel(new MigLayout("fill", "[][grow]", "[][][][][grow]"));
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(10_000_000, 1_000, 50_000_000, 1_000_000));
+        sizeSpinner.setToolTipText("Values per array; 10^7 ints take 40 MB, and the race holds three copies");
+        patternCombo = new JComboBox<>(SortInputs.Pattern.values());
+        int cores = Runtime.getRuntime().availableProcessors();
+        threadsSpinner = new JSpinner(new SpinnerNumberModel(cores, 1, Math.max(64, cores), 1));
+        threadsSpinner.setToolTipText("Fork-join pool size for parallel merge sort");
+
+        for (SortingAlgorithm.Sort sort : SortingAlgorithm.Sort.values()) {
+            JCheckBox check = new JCheckBox(sort.toString(), true);
+            check.putClientProperty(SortingAlgorithm.Sort.class, sort);
+            sortChecks.add(check);
+        }
+        textbookHeapsortCheck = new JCheckBox("Heapsort (textbook)", true);
+        textbookHeapsortCheck.setToolTipText("The Heapsort module's headless sort: two comparisons per level");
+        parallelSortCheck = new JCheckBox("Arrays.parallelSort", true);
+
+        raceBtn = createButton("Race", new Color(231, 76, 60), "Sort the same input with every selected algorithm");
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        resultsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        panel.add(new JLabel("Input:"), "cell 0 0");
+        panel.add(sizeSpinner, "cell 1 0, split 5, w 120!");
+        panel.add(patternCombo, "cell 1 0");
+        panel.add(new JLabel("Threads:"), "cell 1 0, gapleft 15");
+        panel.add(threadsSpinner, "cell 1 0, w 70!");
+        panel.add(raceBtn, "cell 1 0, gapleft push");
+        panel.add(new JLabel("Sorts:"), "cell 0 1");
+        for (int i = 0; i < sortChecks.size(); i++) {
+            panel.add(sortChecks.get(i), i == 0 ? "cell 1 1, split " + sortChecks.size() : "cell 1 1");
+        }
+        panel.add(new JLabel("Baselines:"), "cell 0 2");
+        panel.add(new JLabel("Arrays.sort"), "cell 1 2, split 3");
+        panel.add(textbookHeapsortCheck, "cell 1 2, gapleft 15");
+        panel.add(parallelSortCheck, "cell 1 2");
+        panel.add(new JLabel("<html>ns/op is time per n lg n; <i>cache</i> is the same on "
+                + String.format("%,d", CACHE_RESIDENT_SIZE) + " values, <i>growth</i> the ratio of the two</html>"),
+                "cell 1 3");
+        panel.add(new JScrollPane(resultsArea), "cell 0 4, span 2, grow");
+        setContentPane(panel);
+
+        raceBtn.addActionListener(e -> runRace());
+    }
+
+    private Button createButton(String text, Color color, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(110, 36));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    /**
+     * One racer: sorts in place and reports what it counted into stats
+     */
+    private interface Entrant {
+        void sort(int[] values, OperationStats stats);
+    }
+
+    private void runRace() {
+        int n = (Integer) sizeSpinner.getValue();
+        SortInputs.Pattern pattern = (SortInputs.Pattern) patternCombo.getSelectedItem();
+        int threads = (Integer) threadsSpinner.getValue();
+        List<String> names = new ArrayList<>();
+        List<Entrant> entrants = new ArrayList<>();
+        names.add("Arrays.sort");
+        entrants.add((values, stats) -> Arrays.sort(values));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        for (JCheckBox check : sortChecks) {
+            if (check.isSelected()) {
+                SortingAlgorithm.Sort sort = (SortingAlgorithm.Sort) check.getClientProperty(SortingAlgorithm.Sort.class);
+                names.add(sort.toString());
+                entrants.add((values, stats) -> sort.create(stats, pool).sort(values));
+            }
+        }
+        if (textbookHeapsortCheck.isSelected()) {
+            names.add("Heapsort (textbook)");
+            entrants.add((values, stats) -> new HeapsortAlgorithm.Headless(stats).sort(values));
+        }
+        if (parallelSortCheck.isSelected()) {
+            names.add("Arrays.parallelSort");
+            entrants.add((values, stats) -> Arrays.parallelSort(values));
+        }
+
+        raceBtn.setEnabled(false);
+        resultsArea.append(String.format("%,d values, %s, %d threads%n%-22s %10s %8s %16s %9s %9s %7s  %s%n",
+                n, pattern, threads, "Algorithm", "Time (ms)", "Speed-up", "Comparisons", "ns/op", "cache", "growth",
+                "Check"));
+
+        new SwingWorker<Void, String>() {
+            private double baselineMillis;
+
+            @Override
+            protected Void doInBackground() {
+                int[] input = SortInputs.generate(pattern, n);
+                int[] small = SortInputs.generate(pattern, Math.min(n, CACHE_RESIDENT_SIZE));
+                int[] reference = null;
+                int[] work = new int[n];
+                for (int i = 0; i < entrants.size(); i++) {
+                    Entrant entrant = entrants.get(i);
+                    System.arraycopy(input, 0, work, 0, n);
+                    OperationStats stats = new OperationStats();
+                    stats.start();
+                    entrant.sort(work, stats);
+                    stats.stop();
+                    String check;
+                    if (reference == null) {
+                        reference = work.clone();
+                        baselineMillis = stats.getElapsedMillis();
+                        check = "reference";
+                    } else {
+                        check = Arrays.equals(reference, work) ? "sorted" : "WRONG";
+                    }
+                    double large = nanosPerOp(stats.getElapsedNanos(), n);
+                    double resident = nanosPerOp(timeSmall(entrant, small), small.length);
+                    String line = String.format("%-22s %10.1f %7.2fx %,16d %9.2f %9.2f %6.2fx  %s%n", names.get(i),
+                            stats.getElapsedMillis(), baselineMillis / Math.max(1e-3, stats.getElapsedMillis()),
+                            stats.getComparisons(), large, resident, large / Math.max(1e-9, resident), check);
+                    publish(line);
+                }
+                return null;
+            }
+
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resultsArea.append(line);
+                }
+            }
+
+            @Override
+            protected void done() {
+                pool.shutdown();
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    resultsArea.append("Race failed: " + cause + System.lineSeparator());
+                }
+                resultsArea.append(System.lineSeparator());
+                raceBtn.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    /**
+     * Mean nanoseconds per run on the small input, after one warm-up run
+     */
+    private static long timeSmall(Entrant entrant, int[] small) {
+        int[] work = new int[small.length];
+        OperationStats ignored = new OperationStats();
+        System.arraycopy(small, 0, work, 0, small.length);
+        entrant.sort(work, ignored);
+        long total = 0;
+        int runs = 0;
+        while (total < SMALL_RUN_NANOS) {
+            System.arraycopy(small, 0, work, 0, small.length);
+            long start = System.nanoTime();
+            entrant.sort(work, ignored);
+            total += System.nanoTime() - start;
+            runs++;
+        }
+        return total / runs;
+    }
+
+    private static double nanosPerOp(long nanos, int n) {
+        double lg = Math.max(1.0, Math.log(n) / Math.log(2));
+        return nanos / (n * lg);
+    }
+}
@@ -0,0 +1,22 @@
+package com.raven.ds.modules.sorting;
+
+/**
+ * Receives every comparison and write a sort makes, by array position
+ * The animated view records these and replays them on the bars; headless runs
+ * pass no tracer and pay one null check per event
+ */
+public interface SortTracer {
+    void compared(int i, int j);
+
+    void swapped(int i, int j);
+
+    /**
+     * Position i now holds value, e.g. a merge output or a radix scatter
+     */
+    void wrote(int i, int value);
+
+    /**
+     * Start of a new stage worth explaining (a partition, a merge pass...)
+     */
+    void phase(String description);
+}
@@ -0,0 +1,291 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.core.StepGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorting lab with animation support
+ * The chosen sort runs once, headless, on a copy of the bars with a tracer
+ * attached; the recorded comparisons, swaps and writes are then turned into
+ * steps lazily as the engine asks for them. The same classes race on 10^7
+ * values in SortRaceDialog, where no tracer is attached
+ */
+public class SortingAlgorithm {
+    public enum Sort {
+        INTROSORT("Introsort"),
+        BOTTOM_UP_HEAPSORT("Bottom-up heapsort"),
+        MERGE_SORT("Merge sort"),
+        RADIX_SORT("LSD radix sort"),
+        PARALLEL_MERGE_SORT("Parallel merge sort");
+
+        private final String label;
+
+        Sort(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Headless sorter for timed runs; the parallel one uses the given pool
+         */
+        public ArraySort create(OperationStats stats, ForkJoinPool pool) {
+            switch (this) {
+                case INTROSORT:
+                    return new Introsort(stats);
+                case BOTTOM_UP_HEAPSORT:
+                    return new BottomUpHeapsort(stats);
+                case MERGE_SORT:
+                    return new MergeSort(stats);
+                case RADIX_SORT:
+                    return new RadixSort(stats);
+                default:
+                    return new ParallelMergeSort(stats, pool);
+            }
+        }
+
+        /**
+         * Traced sorter with small cut-offs, so a few dozen bars still show partitions, merges and forks
+         */
+        ArraySort createTraced(OperationStats stats, SortTracer tracer) {
+            switch (this) {
+                case INTROSORT:
+                    return new Introsort(stats, tracer, 4);
+                case BOTTOM_UP_HEAPSORT:
+                    return new BottomUpHeapsort(stats, tracer);
+                case MERGE_SORT:
+                    return new MergeSort(stats, tracer, 4);
+                case RADIX_SORT:
+                    return new RadixSort(stats, tracer);
+                default:
+                    return new ParallelMergeSort(stats, tracer, null, 8, 8);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Mark {
+        NONE, COMPARE, SWAP, WRITE
+    }
+
+    private final AnimationEngine animationEngine;
+    private int[] values = new int[0];
+    private int markA = -1;
+    private int markB = -1;
+    private Mark mark = Mark.NONE;
+    private boolean sorted;
+    // Counts of the steps played so far
+    private long comparisons;
+    private long swaps;
+    private long writes;
+    private Sort lastSort;
+
+    public SortingAlgorithm(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        animationEngine.setSnapshotter(new AnimationEngine.Snapshotter() {
+            @Override
+            public Object capture() {
+                return new Object[]{values.clone(), new long[]{markA, markB, comparisons, swaps, writes}, mark, sorted};
+            }
+            
+            @Override
+            public void restore(Object snapshot) {
+                Object[] state = (Object[]) snapshot;
+                values = ((int[]) state[0]).clone();
+                long[] numbers = (long[]) state[1];
+                markA = (int) numbers[0];
+                markB = (int) numbers[1];
+                comparisons = numbers[2];
+                swaps = numbers[3];
+                writes = numbers[4];
+                mark = (Mark) state[2];
+                sorted = (Boolean) state[3];
+            }
+        });
+    }
+
+    public void loadData(int[] data) {
+        animationEngine.clearSteps();
+        values = data.clone();
+        clearMarks();
+        sorted = false;
+        comparisons = 0;
+        swaps = 0;
+        writes = 0;
+        lastSort = null;
+    }
+
+    public void sort(Sort sort) {
+        if (values.length == 0) return;
+
+        // Restart from the loaded data if an earlier run already changed the bars
+        animationEngine.reset();
+        animationEngine.clearSteps();
+        int[] input = values.clone();
+        clearMarks();
+        sorted = false;
+        comparisons = 0;
+        swaps = 0;
+        writes = 0;
+        lastSort = sort;
+
+        Trace trace = new Trace();
+        int[] copy = input.clone();
+        sort.createTraced(new OperationStats(), trace).sort(copy);
+        animationEngine.setStepSource(new TraceSteps(sort, input, trace));
+    }
+
+    private void clearMarks() {
+        markA = -1;
+        markB = -1;
+        mark = Mark.NONE;
+    }
+
+    /**
+     * Events of one traced run, three ints each: kind, first, second
+     * For PHASE the first int indexes the description list
+     */
+    private static class Trace implements SortTracer {
+        static final int COMPARE = 0;
+        static final int SWAP = 1;
+        static final int WRITE = 2;
+        static final int PHASE = 3;
+
+        private int[] events = new int[3 * 64];
+        private int size;
+        private final List<String> phases = new ArrayList<>();
+
+        @Override
+        public void compared(int i, int j) {
+            add(COMPARE, i, j);
+        }
+
+        @Override
+        public void swapped(int i, int j) {
+            add(SWAP, i, j);
+        }
+
+        @Override
+        public void wrote(int i, int value) {
+            add(WRITE, i, value);
+        }
+
+        @Override
+        public void phase(String description) {
+            add(PHASE, phases.size(), 0);
+            phases.add(description);
+        }
+
+        private void add(int kind, int a, int b) {
+            if (size + 3 > events.length) {
+                events = Arrays.copyOf(events, events.length * 2);
+            }
+            events[size++] = kind;
+            events[size++] = a;
+            events[size++] = b;
+        }
+    }
+
+    /**
+     * Replays the trace one event per step on a private copy of the input, so
+     * each description quotes the values as they will be when that step plays
+     */
+    private class TraceSteps extends StepGenerator {
+        private final Sort sort;
+        private final int[] shadow;
+        private final Trace trace;
+        private int cursor;
+        private boolean started;
+        private boolean finished;
+
+        TraceSteps(Sort sort, int[] input, Trace trace) {
+            this.sort = sort;
+            this.shadow = input;
+            this.trace = trace;
+        }
+
+        @Override
+        protected boolean advance() {
+            if (!started) {
+                started = true;
+                emit("Start", () -> {
+                    clearMarks();
+                }, "▶️ <b>" + sort + "</b> on " + shadow.length + " values.");
+                return true;
+            }
+            if (cursor >= trace.size) {
+                if (finished) {
+                    return false;
+                }
+                finished = true;
+                emit("Complete", () -> {
+                    clearMarks();
+                    sorted = true;
+                }, "🏁 <b>Sorting Complete!</b><br>The array is now in ascending order.");
+                return true;
+            }
+            int kind = trace.events[cursor];
+            int a = trace.events[cursor + 1];
+            int b = trace.events[cursor + 2];
+            cursor += 3;
+            switch (kind) {
+                case Trace.COMPARE:
+                    emit("Compare", () -> {
+                        setMarks(Mark.COMPARE, a, b);
+                        comparisons++;
+                    }, "🔍 <b>Compare:</b> Position " + a + " (<b>" + shadow[a] + "</b>) with position " + b
+                            + " (<b>" + shadow[b] + "</b>).");
+                    break;
+                case Trace.SWAP:
+                    emit("Swap", () -> {
+                        setMarks(Mark.SWAP, a, b);
+                        int temp = values[a];
+                        values[a] = values[b];
+                        values[b] = temp;
+                        swaps++;
+                    }, "🔀 <b>Swap:</b> <b>" + shadow[a] + "</b> and <b>" + shadow[b] + "</b> trade places.");
+                    int temp = shadow[a];
+                    shadow[a] = shadow[b];
+                    shadow[b] = temp;
+                    break;
+                case Trace.WRITE:
+                    emit("Write", () -> {
+                        setMarks(Mark.WRITE, a, -1);
+                        values[a] = b;
+                        writes++;
+                    }, "✍️ <b>Write:</b> Position " + a + " receives <b>" + b + "</b>.");
+                    shadow[a] = b;
+                    break;
+                default:
+                    emit("Phase", () -> {
+                        clearMarks();
+                    }, trace.phases.get(a));
+            }
+            return true;
+        }
+    }
+
+    private void setMarks(Mark kind, int a, int b) {
+        mark = kind;
+        markA = a;
+        markB = b;
+    }
+
+    public int[] getValues() { return values; }
+    public Mark getMark() { return mark; }
+    public int getMarkA() { return markA; }
+    public int getMarkB() { return markB; }
+    public boolean isSorted() { return sorted; }
+    public long getComparisons() { return comparisons; }
+    public long getSwaps() { return swaps; }
+    public long getWrites() { return writes; }
+    public Sort getLastSort() { return lastSort; }
+}
@@ -0,0 +1,256 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.AnimationEngine;
+import com.raven.ds.core.TimelineScrubber;
+import com.raven.swing.Button;
+import net.miginfocom.swing.MigLayout;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Control panel for the sorting lab
+ */
+public class SortingControls extends JPanel {
+    // Values the generator draws from, so bars and labels stay readable
+    private static final int VISUAL_RANGE = 100;
+
+    private SortingPanel visualizer;
+    private AnimationEngine animationEngine;
+
+    private JTextField inputField;
+    private Button loadBtn;
+    private JSpinner sizeSpinner;
+    private JComboBox<SortInputs.Pattern> patternCombo;
+    private Button generateBtn;
+    private JComboBox<SortingAlgorithm.Sort> algorithmCombo;
+    private Button sortBtn;
+    private Button raceBtn;
+    private Button playBtn;
+    private Button pauseBtn;
+    private Button stepBtn;
+    private Button resetBtn;
+    private JSlider speedSlider;
+    private TimelineScrubber timelineScrubber;
+    private JLabel statusLabel;
+    private JLabel stepLabel;
+
+    public SortingControls(SortingPanel visualizer, AnimationEngine animationEngine) {
+        this.visualizer = visualizer;
+        this.animationEngine = animationEngine;
+
+        initComponents();
+        setupLayout();
+        setupListeners();
+    }
+
+    private void initComponents() {
+        inputField = new JTextField(20);
+        inputField.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        inputField.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(52, 73, 94), 1),
+            BorderFactory.createEmptyBorder(5, 8, 5, 8)
+        ));
+        inputField.setToolTipText("Example: 38, -7, 27, 43, 3");
+
+        loadBtn = createButton("Load", new Color(52, 152, 219), 120, "Load data from input field");
+
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(32, 2, 400, 1));
+        sizeSpinner.setToolTipText("Number of bars; value labels are shown up to 40");
+        patternCombo = new JComboBox<>(SortInputs.Pattern.values());
+        generateBtn = createButton("Generate", new Color(53, 162, 230), 120, "Generate an input with this pattern");
+
+        algorithmCombo = new JComboBox<>(SortingAlgorithm.Sort.values());
+        sortBtn = createButton("Sort", new Color(39, 174, 96), 120, "Record the selected sort on the bars");
+        raceBtn = createButton("Race...", new Color(231, 76, 60), 120,
+                "Race the headless sorts on up to 5 x 10^7 values");
+
+        playBtn = createButton("▶ Play", new Color(46, 204, 113), 80, "Play animation sequence");
+        pauseBtn = createButton("⏸ Pause", new Color(241, 196, 15), 80, "Pause current animation");
+        pauseBtn.setForeground(Color.BLACK);
+        stepBtn = createButton("⏭ Step", new Color(53, 106, 230), 80, "Execute next animation step");
+        resetBtn = createButton("🔄 Reset", new Color(149, 165, 166), 80, "Reset animation to beginning");
+
+        speedSlider = new JSlider(10, 3000, 300);
+        speedSlider.setInverted(true); // Lower values = faster
+        speedSlider.setPreferredSize(new Dimension(400, 60));
+        speedSlider.setMajorTickSpacing(500);
+        speedSlider.setPaintTicks(true);
+        speedSlider.setPaintLabels(true);
+        speedSlider.setBackground(Color.WHITE);
+
+        timelineScrubber = new TimelineScrubber(animationEngine);
+
+        statusLabel = new JLabel("Ready to sort");
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+
+        stepLabel = new JLabel("Step: 0/0");
+        stepLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+    }
+
+    private Button createButton(String text, Color color, int width, String tooltip) {
+        Button button = new Button();
+        button.setText(text);
+        button.setBackground(color);
+        button.setFont(new Font("sansserif", Font.BOLD, 12));
+        button.setForeground(Color.WHITE);
+        button.setPreferredSize(new Dimension(width, 40));
+        button.setToolTipText(tooltip);
+        return button;
+    }
+
+    private void setupLayout() {
+        setLayout(new MigLayout("", "[][grow][]", "[]5[]5[]5[]5[]5[]5[]"));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createTitledBorder("Sorting Lab Controls"));
+
+        // Input row
+        add(new JLabel("Data:"), "cell 0 0");
+        add(inputField, "cell 1 0, split 2");
+        add(loadBtn, "cell 1 0");
+
+        // Generator row
+        add(new JLabel("Generate:"), "cell 0 1");
+        add(sizeSpinner, "cell 1 1, split 3, w 70!");
+        add(patternCombo, "cell 1 1");
+        add(generateBtn, "cell 1 1");
+
+        // Algorithm row
+        add(new JLabel("Algorithm:"), "cell 0 2");
+        add(algorithmCombo, "cell 1 2, split 2");
+        add(sortBtn, "cell 1 2");
+        add(raceBtn, "cell 2 2");
+
+        // Animation controls row
+        add(new JLabel("Animation:"), "cell 0 3");
+        add(playBtn, "cell 1 3");
+        add(pauseBtn, "cell 1 3");
+        add(stepBtn, "cell 1 3");
+        add(resetBtn, "cell 1 3");
+
+        // Speed control row
+        add(new JLabel("Speed:"), "cell 0 4");
+        add(speedSlider, "cell 1 4, span 2, grow");
+
+        // Timeline row
+        add(new JLabel("Timeline:"), "cell 0 5");
+        add(timelineScrubber, "cell 1 5, span 2, grow");
+
+        // Status row
+        add(statusLabel, "cell 0 6, span 2");
+        add(stepLabel, "cell 2 6");
+    }
+
+    private void setupListeners() {
+        loadBtn.addActionListener(e -> {
+            String input = inputField.getText().trim();
+            if (input.isEmpty()) return;
+
+            try {
+                String[] parts = input.split("[,\\s]+");
+                int[] values = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    values[i] = Integer.parseInt(parts[i].trim());
+                }
+
+                visualizer.loadData(values);
+                statusLabel.setText("Data loaded. Pick an algorithm and click 'Sort'.");
+                updateAnimationControls();
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this,
+                    "Invalid input format. Use comma separated numbers.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        generateBtn.addActionListener(e -> {
+            SortInputs.Pattern pattern = (SortInputs.Pattern) patternCombo.getSelectedItem();
+            int n = (Integer) sizeSpinner.getValue();
+            visualizer.loadData(SortInputs.generate(pattern, n, VISUAL_RANGE));
+            statusLabel.setText(pattern + " input with " + n + " values");
+            updateAnimationControls();
+        });
+
+        sortBtn.addActionListener(e -> {
+            SortingAlgorithm.Sort sort = (SortingAlgorithm.Sort) algorithmCombo.getSelectedItem();
+            visualizer.sort(sort);
+            statusLabel.setText(sort + " recorded. Press Play or Step.");
+            updateAnimationControls();
+        });
+
+        raceBtn.addActionListener(e ->
+            new SortRaceDialog((Frame) SwingUtilities.getWindowAncestor(this)).setVisible(true));
+
+        // Animation controls
+        playBtn.addActionListener(e -> {
+            animationEngine.play();
+            statusLabel.setText("Sorting in progress...");
+        });
+
+        pauseBtn.addActionListener(e -> {
+            animationEngine.pause();
+            statusLabel.setText("Paused");
+        });
+
+        stepBtn.addActionListener(e -> {
+            animationEngine.nextStep();
+            statusLabel.setText("Step executed");
+        });
+
+        resetBtn.addActionListener(e -> {
+            animationEngine.reset();
+            statusLabel.setText("Reset");
+            updateAnimationControls();
+        });
+
+        speedSlider.addChangeListener(e -> {
+            animationEngine.setSpeed(speedSlider.getValue());
+        });
+
+        // Animation engine listeners
+        animationEngine.addListener(new AnimationEngine.AnimationListener() {
+            @Override
+            public void onStepChanged(int currentStep, int totalSteps) {
+                stepLabel.setText("Step: " + currentStep + "/" + totalSteps);
+                visualizer.repaint();
+            }
+
+            @Override
+            public void onPlayStateChanged(boolean isPlaying) {
+                playBtn.setEnabled(!isPlaying);
+                pauseBtn.setEnabled(isPlaying);
+                stepBtn.setEnabled(!isPlaying);
+
+                loadBtn.setEnabled(!isPlaying);
+                generateBtn.setEnabled(!isPlaying);
+                sortBtn.setEnabled(!isPlaying);
+            }
+
+            @Override
+            public void onAnimationComplete() {
+                statusLabel.setText("Sorting completed!");
+            }
+
+            @Override
+            public void onReset() {
+                stepLabel.setText("Step: 0/0");
+                visualizer.repaint();
+            }
+        });
+    }
+
+    private void updateAnimationControls() {
+        boolean hasSteps = animationEngine.getTotalSteps() > 0;
+        timelineScrubber.refresh();
+        playBtn.setEnabled(hasSteps && !animationEngine.isPlaying());
+        pauseBtn.setEnabled(hasSteps && animationEngine.isPlaying());
+        stepBtn.setEnabled(hasSteps);
+        resetBtn.setEnabled(hasSteps);
+    }
+
+    public void loadDemo() {
+        visualizer.loadSample();
+        statusLabel.setText("Demo data loaded");
+    }
+}
@@ -0,0 +1,199 @@
+package com.raven.ds.modules.sorting;
+
+import com.raven.ds.core.AnimationEngine;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Visual panel for the sorting lab: one bar per value, coloured by the step being played
+ */
+public class SortingPanel extends JPanel {
+    // Above this many bars the value labels would overlap
+    private static final int LABEL_LIMIT = 40;
+    private static final Color BAR_COLOR = new Color(52, 152, 219);
+    private static final Color COMPARE_COLOR = new Color(241, 196, 15);
+    private static final Color SWAP_COLOR = new Color(231, 76, 60);
+    private static final Color WRITE_COLOR = new Color(155, 89, 182);
+    private static final Color SORTED_COLOR = new Color(46, 204, 113);
+    private static final Color TEXT_COLOR = new Color(52, 73, 94);
+
+    private final SortingAlgorithm sorting;
+    private final AnimationEngine animationEngine;
+
+    private final Font titleFont = new Font("SansSerif", Font.BOLD, 16);
+    private final Font infoFont = new Font("SansSerif", Font.PLAIN, 12);
+    private final Font valueFont = new Font("SansSerif", Font.BOLD, 11);
+
+    // Explanation renderer, re-laid out only when the text changes
+    private final JLabel explanation = new JLabel();
+    private String explanationText;
+
+    public SortingPanel(AnimationEngine animationEngine) {
+        this.animationEngine = animationEngine;
+        this.sorting = new SortingAlgorithm(animationEngine);
+
+        explanation.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        explanation.setForeground(TEXT_COLOR);
+        explanation.setVerticalAlignment(SwingConstants.TOP);
+
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, 600));
+        setBorder(BorderFactory.createTitledBorder("Sorting Lab"));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        drawTitle(g2d);
+        drawBars(g2d);
+        drawCounters(g2d);
+        drawLegend(g2d);
+        drawStepExplanation(g2d);
+    }
+
+    private void drawTitle(Graphics2D g2d) {
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(titleFont);
+        SortingAlgorithm.Sort sort = sorting.getLastSort();
+        g2d.drawString("Sorting Lab" + (sort == null ? "" : " - " + sort), 20, 40);
+    }
+
+    private void drawBars(Graphics2D g2d) {
+        int[] values = sorting.getValues();
+        if (values.length == 0) {
+            g2d.setColor(Color.GRAY);
+            g2d.setFont(infoFont);
+            g2d.drawString("Load or generate data, pick an algorithm and press Sort", 20, 80);
+            return;
+        }
+
+        int min = 0;
+        int max = 0;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        // Bars grow up from the zero line, or down from it for negative values
+        long span = Math.max(1L, (long) max - min);
+        int left = 20;
+        int top = 70;
+        int width = Math.max(1, getWidth() - 40);
+        int height = Math.max(1, getHeight() - top - 110);
+        int zeroY = top + (int) (height * (long) max / span);
+        double barWidth = (double) width / values.length;
+        boolean labels = values.length <= LABEL_LIMIT;
+
+        g2d.setFont(valueFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int i = 0; i < values.length; i++) {
+            int x = left + (int) (i * barWidth);
+            int w = Math.max(1, (int) ((i + 1) * barWidth) - (int) (i * barWidth) - (barWidth >= 4 ? 1 : 0));
+            int h = (int) (height * Math.abs((long) values[i]) / span);
+            int y = values[i] >= 0 ? zeroY - h : zeroY;
+            g2d.setColor(colorOf(i));
+            g2d.fillRect(x, y, w, Math.max(1, h));
+            if (labels) {
+                String text = String.valueOf(values[i]);
+                g2d.setColor(TEXT_COLOR);
+                g2d.drawString(text, x + (w - fm.stringWidth(text)) / 2,
+                        values[i] >= 0 ? y - 4 : y + h + fm.getAscent() + 2);
+            }
+        }
+        g2d.setColor(Color.GRAY);
+        g2d.drawLine(left, zeroY, left + width, zeroY);
+    }
+
+    private Color colorOf(int index) {
+        if (sorting.isSorted()) {
+            return SORTED_COLOR;
+        }
+        if (index != sorting.getMarkA() && index != sorting.getMarkB()) {
+            return BAR_COLOR;
+        }
+        switch (sorting.getMark()) {
+            case COMPARE:
+                return COMPARE_COLOR;
+            case SWAP:
+                return SWAP_COLOR;
+            case WRITE:
+                return WRITE_COLOR;
+            default:
+                return BAR_COLOR;
+        }
+    }
+
+    private void drawCounters(Graphics2D g2d) {
+        if (sorting.getValues().length == 0) return;
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(infoFont);
+        g2d.drawString("n = " + sorting.getValues().length
+                + "   Comparisons: " + sorting.getComparisons()
+                + "   Swaps: " + sorting.getSwaps()
+                + "   Writes: " + sorting.getWrites(), 20, getHeight() - 60);
+    }
+
+    private void drawLegend(Graphics2D g2d) {
+        int legendY = getHeight() - 45;
+        drawLegendItem(g2d, "Value", BAR_COLOR, 20, legendY);
+        drawLegendItem(g2d, "Comparing", COMPARE_COLOR, 110, legendY);
+        drawLegendItem(g2d, "Swapping", SWAP_COLOR, 230, legendY);
+        drawLegendItem(g2d, "Writing", WRITE_COLOR, 340, legendY);
+        drawLegendItem(g2d, "Sorted", SORTED_COLOR, 440, legendY);
+    }
+
+    private void drawLegendItem(Graphics2D g2d, String label, Color color, int x, int y) {
+        g2d.setColor(color);
+        g2d.fillRect(x, y, 20, 20);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(x, y, 20, 20);
+        g2d.setFont(infoFont);
+        g2d.drawString(label, x + 25, y + 15);
+    }
+
+    private void drawStepExplanation(Graphics2D g2d) {
+        String text = animationEngine.getCurrentStepDescription();
+        if (text == null || text.isEmpty()) return;
+
+        if (!text.equals(explanationText)) {
+            explanationText = text;
+            explanation.setText("<html><body style='width: 280px'>" + text + "</body></html>");
+            explanation.setSize(explanation.getPreferredSize());
+        }
+        Dimension size = explanation.getSize();
+        int x = getWidth() - size.width - 20;
+        int y = 20;
+
+        g2d.setColor(new Color(255, 255, 255, 240));
+        g2d.fillRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+        g2d.setColor(TEXT_COLOR);
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawRoundRect(x - 10, y - 10, size.width + 20, size.height + 20, 10, 10);
+
+        g2d.translate(x, y);
+        explanation.paint(g2d);
+        g2d.translate(-x, -y);
+    }
+
+    public void sort(SortingAlgorithm.Sort sort) {
+        sorting.sort(sort);
+        repaint();
+    }
+
+    public void loadData(int[] values) {
+        sorting.loadData(values);
+        repaint();
+    }
+
+    public void loadSample() {
+        loadData(new int[]{38, -7, 27, 43, 3, 9, 82, 10, 55, 21, -14, 64, 5, 31, 18, 72});
+    }
+
+    public int[] getValues() {
+        return sorting.getValues();
+    }
+}
@@ -298,6 +298,7 @@ public class Main extends javax.swing.JFrame {
                         
                         // Open dashboard and close main window
                         SwingUtilities.invokeLater(() -> {
+                            com.raven.service.SessionManager.getInstance().startSession(user, com.raven.service.SessionStore.Module.CODE_EXAMPLES);
                             DashboardFrame.showFor(user);
                             Main.this.dispose();
                         });
@@ -451,10 +452,12 @@ public class Main extends javax.swing.JFrame {
         // Add shutdown hook for OAuth cleanup
         com.raven.util.OAuthCleanup.registerShutdownHook();
 
-        /* Create and display the form */
+        /* Resume a saved session, or create and display the login form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new Main().setVisible(true);
+                if (!com.raven.service.SessionManager.getInstance().resumeSession()) {
+                    new Main().setVisible(true);
+                }
             }
         });
     }
@@ -0,0 +1,209 @@
+package com.raven.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Bounded LRU cache for AI responses
+ * Keys are derived from the normalized prompt, the model and the system prompt,
+ * entries expire after a TTL and the cache can be persisted between sessions;
+ * saveIfDue batches the disk writes so not every response rewrites the file
+ */
+public class AIResponseCache {
+    private static final String TIME_SUFFIX = ".time";
+    private static final String TEXT_SUFFIX = ".text";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final File storeFile;
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    private int hits;
+    private int misses;
+    // Entries put since the last save
+    private int unsaved;
+
+    private static class CachedResponse {
+        final String response;
+        final long createdAt;
+
+        CachedResponse(String response, long createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public AIResponseCache(int maxEntries, long ttlMillis, File storeFile) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.storeFile = storeFile;
+        // Access-ordered map gives LRU eviction for free
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > AIResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Build the cache key for a prompt. Case and whitespace differences are
+     * ignored so that repeated questions map onto the same entry.
+     */
+    public static String buildKey(String prompt, String model, String systemPrompt) {
+        String material = normalize(model) + "\u0000" + normalize(systemPrompt) + "\u0000" + normalize(prompt);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(material.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM, fall back to the raw text anyway
+            return Integer.toHexString(material.hashCode()) + "-" + material.length();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get a cached response, or null if absent or expired
+     */
+    public synchronized String get(String key) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    public synchronized void put(String key, String response) {
+        if (key == null || response == null) {
+            return;
+        }
+        entries.put(key, new CachedResponse(response, System.currentTimeMillis()));
+        unsaved++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        unsaved++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    private boolean isExpired(CachedResponse entry, long now) {
+        return ttlMillis > 0 && now - entry.createdAt > ttlMillis;
+    }
+
+    /**
+     * Load persisted entries, skipping anything that has already expired
+     */
+    public synchronized void load() {
+        if (storeFile == null || !storeFile.isFile()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream input = new FileInputStream(storeFile)) {
+            props.load(input);
+        } catch (IOException e) {
+            System.err.println("AI CACHE: Could not read " + storeFile.getName() + ": " + e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int loadedCount = 0;
+        for (String name : props.stringPropertyNames()) {
+            if (!name.endsWith(TIME_SUFFIX)) {
+                continue;
+            }
+            String key = name.substring(0, name.length() - TIME_SUFFIX.length());
+            String text = props.getProperty(key + TEXT_SUFFIX);
+            if (text == null) {
+                continue;
+            }
+            try {
+                CachedResponse entry = new CachedResponse(text, Long.parseLong(props.getProperty(name)));
+                if (!isExpired(entry, now)) {
+                    entries.put(key, entry);
+                    loadedCount++;
+                }
+            } catch (NumberFormatException e) {
+                // Corrupt line, ignore the entry
+            }
+        }
+        System.out.println("AI CACHE: Loaded " + loadedCount + " cached responses");
+    }
+
+    /**
+     * Write the live entries to disk once batchSize puts have piled up since the last save
+     */
+    public synchronized void saveIfDue(int batchSize) {
+        if (unsaved >= Math.max(1, batchSize)) {
+            save();
+        }
+    }
+
+    /**
+     * Write the live entries to disk
+     */
+    public synchronized void save() {
+        if (storeFile == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Properties props = new Properties();
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedResponse> e = it.next();
+            if (isExpired(e.getValue(), now)) {
+                it.remove();
+                continue;
+            }
+            props.setProperty(e.getKey() + TIME_SUFFIX, Long.toString(e.getValue().createdAt));
+            props.setProperty(e.getKey() + TEXT_SUFFIX, e.getValue().response);
+        }
+        try (OutputStream output = new FileOutputStream(storeFile)) {
+            props.store(output, "AI response cache");
+            unsaved = 0;
+        } catch (IOException e) {
+            System.err.println("AI CACHE: Could not write " + storeFile.getName() + ": " + e.getMessage());
+        }
+    }
+}
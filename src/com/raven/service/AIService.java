@@ -5,27 +5,87 @@ import com.raven.model.User;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
  * Enhanced AI Service with OpenAI and GitHub Models integration
  * Supports text, audio, and video processing
+ * Text prompts are served from a persistent response cache when possible,
+ * identical in-flight prompts share one request, and all outbound calls go
+ * through a bounded executor so the API is never hit by more than
+ * ai.max.concurrent.requests calls at once
  */
 public class AIService {
+    // Largest file the transcription endpoint accepts
+    private static final long TRANSCRIPTION_LIMIT_BYTES = 25L * 1024 * 1024;
+    // Headroom for one MPEG audio frame; the largest any version produces is under 3 KB
+    private static final int MAX_FRAME_BYTES = 4096;
+    // Responses cached between two writes of the cache file
+    private static final int CACHE_SAVE_BATCH = 10;
     private static AIService instance;
     private final String openaiApiKey;
     private final String githubApiToken;
     private final String systemPrompt;
+    private final AIResponseCache responseCache;
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService requestExecutor;
     
     private AIService() {
         this.openaiApiKey = AIConfig.getOpenAIApiKey();
         this.githubApiToken = AIConfig.getGitHubApiToken();
         this.systemPrompt = AIConfig.getSystemPrompt();
         
+        if (AIConfig.isCacheEnabled()) {
+            this.responseCache = new AIResponseCache(
+                AIConfig.getCacheMaxEntries(),
+                TimeUnit.MINUTES.toMillis(AIConfig.getCacheTtlMinutes()),
+                new File(AIConfig.getCacheFile()));
+            this.responseCache.load();
+            // Whatever the last batch left unsaved is written on exit
+            Runtime.getRuntime().addShutdownHook(new Thread(responseCache::save, "ai-cache-save"));
+        } else {
+            this.responseCache = null;
+        }
+        this.requestExecutor = createRequestExecutor();
+        
         System.out.println("AI SERVICE: Initializing with OpenAI: " + AIConfig.isOpenAIConfigured() + 
-                          ", GitHub: " + AIConfig.isGitHubConfigured());
+                          ", GitHub: " + AIConfig.isGitHubConfigured() +
+                          ", cache: " + (responseCache != null));
+    }
+    
+    /**
+     * Bounded pool limiting concurrent outbound API calls; extra requests wait
+     * in a fixed-size queue and are rejected once that queue is full
+     */
+    private static ExecutorService createRequestExecutor() {
+        int threads = Math.max(1, AIConfig.getMaxConcurrentRequests());
+        int queueSize = Math.max(1, AIConfig.getRequestQueueSize());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            r -> {
+                Thread t = new Thread(r, "ai-request-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
     
     public static synchronized AIService getInstance() {
@@ -39,76 +99,158 @@ public class AIService {
      * Send text message to AI assistant
      */
     public CompletableFuture<String> sendMessage(String message, User user) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                System.out.println("AI SERVICE: Processing message from " + user.getEmail());
-                
-                // Prefer OpenAI if configured, fallback to GitHub
-                if (AIConfig.isOpenAIConfigured()) {
-                    return sendToOpenAI(message, user);
-                } else if (AIConfig.isGitHubConfigured()) {
+        System.out.println("AI SERVICE: Processing message from " + user.getEmail());
+        
+        if (!isAvailable()) {
+            return CompletableFuture.completedFuture(errorResponse(
+                new RuntimeException("No AI service configured. Please check ai.properties")));
+        }
+        
+        // The system prompt sent carries the user, so answers are only shared
+        // between repeated questions from the same student
+        String key = AIResponseCache.buildKey(message, getActiveModel(), systemPromptFor(user));
+        if (responseCache != null) {
+            String cached = responseCache.get(key);
+            if (cached != null) {
+                System.out.println("AI SERVICE: Cache hit");
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        
+        // Coalesce identical requests that are already on the wire
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            System.out.println("AI SERVICE: Joining in-flight request");
+            return existing.exceptionally(this::errorResponse);
+        }
+        
+        try {
+            CompletableFuture.supplyAsync(() -> {
+                try {
+                    // Prefer OpenAI if configured, fallback to GitHub
+                    if (AIConfig.isOpenAIConfigured()) {
+                        return sendToOpenAI(message, user);
+                    }
                     return sendToGitHub(message, user);
+                } catch (Exception e) {
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+            }, requestExecutor).whenComplete((response, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
                 } else {
-                    throw new RuntimeException("No AI service configured. Please check ai.properties");
+                    if (responseCache != null) {
+                        responseCache.put(key, response);
+                        responseCache.saveIfDue(CACHE_SAVE_BATCH);
+                    }
+                    created.complete(response);
                 }
-                
-            } catch (Exception e) {
-                System.err.println("AI SERVICE ERROR: " + e.getMessage());
-                e.printStackTrace();
-                return "I apologize, but I'm experiencing technical difficulties. Please try again later.\n\nError: " + e.getMessage();
-            }
-        });
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(new RuntimeException("Too many pending AI requests, please wait", e));
+        }
+        
+        return created.exceptionally(this::errorResponse);
+    }
+    
+    private String errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        System.err.println("AI SERVICE ERROR: " + cause.getMessage());
+        cause.printStackTrace();
+        return "I apologize, but I'm experiencing technical difficulties. Please try again later.\n\nError: " + cause.getMessage();
+    }
+    
+    /**
+     * System prompt as sent to the API, personalized with the user's email
+     */
+    private String systemPromptFor(User user) {
+        return systemPrompt + " User: " + user.getEmail();
+    }
+    
+    private String getActiveModel() {
+        return AIConfig.isOpenAIConfigured() ? AIConfig.getOpenAIModel() : AIConfig.getGitHubModel();
     }
     
     /**
      * Process audio file with AI
      */
     public CompletableFuture<String> processAudio(File audioFile, User user) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                System.out.println("AI SERVICE: Processing audio file for " + user.getEmail());
-                
-                if (!AIConfig.isOpenAIConfigured()) {
-                    throw new RuntimeException("Audio processing requires OpenAI configuration");
-                }
-                
-                // First transcribe audio to text
-                String transcription = transcribeAudio(audioFile);
-                
-                // Then process the transcription
-                return sendToOpenAI("Please analyze this transcribed audio content: " + transcription, user);
-                
-            } catch (Exception e) {
-                System.err.println("AI AUDIO ERROR: " + e.getMessage());
-                e.printStackTrace();
-                return "Failed to process audio file: " + e.getMessage();
+        return processAudio(audioFile, user, null);
+    }
+    
+    /**
+     * Process audio file with AI, reporting upload progress. Long MP3
+     * recordings are split into segments that upload and transcribe in parallel.
+     */
+    public CompletableFuture<String> processAudio(File audioFile, User user, MultipartUpload.ProgressListener listener) {
+        System.out.println("AI SERVICE: Processing audio file for " + user.getEmail());
+        try {
+            if (!AIConfig.isOpenAIConfigured()) {
+                throw new RuntimeException("Audio processing requires OpenAI configuration");
             }
-        }); // Audio processing
+            
+            // First transcribe audio to text, then process the transcription
+            return transcribeInSegments(audioFile, listener)
+                .thenApplyAsync(transcription -> {
+                    try {
+                        return sendToOpenAI("Please analyze this transcribed audio content: " + transcription, user);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e.getMessage(), e);
+                    }
+                }, requestExecutor)
+                .exceptionally(error -> mediaError("AI AUDIO ERROR", "Failed to process audio file: ", error));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(mediaError("AI AUDIO ERROR", "Failed to process audio file: ", e));
+        }
     }
     
     /**
      * Process video file with AI
      */
     public CompletableFuture<String> processVideo(File videoFile, User user) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                System.out.println("AI SERVICE: Processing video file for " + user.getEmail());
-                
-                if (!AIConfig.isOpenAIConfigured()) {
-                    throw new RuntimeException("Video processing requires OpenAI configuration");
-                }
-                
-                // Extract frames and analyze (simplified implementation)
-                String analysis = analyzeVideo(videoFile);
-                
-                return "Video Analysis Results:\n" + analysis;
-                
-            } catch (Exception e) {
-                System.err.println("AI VIDEO ERROR: " + e.getMessage());
-                e.printStackTrace();
-                return "Failed to process video file: " + e.getMessage();
+        return processVideo(videoFile, user, null);
+    }
+    
+    /**
+     * Process video file with AI, reporting upload progress. Containers the
+     * transcription endpoint accepts have their audio track transcribed when
+     * the whole file is within its upload limit; larger videos are only
+     * analyzed, since they cannot be split without re-encoding.
+     */
+    public CompletableFuture<String> processVideo(File videoFile, User user, MultipartUpload.ProgressListener listener) {
+        System.out.println("AI SERVICE: Processing video file for " + user.getEmail());
+        try {
+            if (!AIConfig.isOpenAIConfigured()) {
+                throw new RuntimeException("Video processing requires OpenAI configuration");
+            }
+            
+            String analysis = analyzeVideo(videoFile);
+            if (!isTranscribable(videoFile)) {
+                return CompletableFuture.completedFuture("Video Analysis Results:\n" + analysis);
             }
-        }); // Video processing
+            if (videoFile.length() > TRANSCRIPTION_LIMIT_BYTES) {
+                return CompletableFuture.completedFuture("Video Analysis Results:\n" + analysis +
+                        "\n\nThe video is larger than " + (TRANSCRIPTION_LIMIT_BYTES / 1024 / 1024) +
+                        " MB, so its audio was not transcribed.");
+            }
+            
+            return transcribeInSegments(videoFile, listener)
+                .thenApply(transcription -> "Video Analysis Results:\n" + analysis +
+                                            "\n\nTranscript:\n" + transcription)
+                .exceptionally(error -> mediaError("AI VIDEO ERROR", "Failed to process video file: ", error));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(mediaError("AI VIDEO ERROR", "Failed to process video file: ", e));
+        }
+    }
+    
+    private String mediaError(String logPrefix, String userPrefix, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        System.err.println(logPrefix + ": " + cause.getMessage());
+        cause.printStackTrace();
+        return userPrefix + cause.getMessage();
     }
     
     private String sendToOpenAI(String message, User user) throws Exception {
@@ -131,7 +273,7 @@ public class AIService {
             "  \"temperature\": %.1f\n" +
             "}",
             AIConfig.getOpenAIModel(),
-            escapeJson(systemPrompt + " User: " + user.getEmail()),
+            escapeJson(systemPromptFor(user)),
             escapeJson(message),
             AIConfig.getOpenAIMaxTokens(),
             AIConfig.getOpenAITemperature()
@@ -182,7 +324,7 @@ public class AIService {
             "  \"max_tokens\": %d\n" +
             "}",
             AIConfig.getGitHubModel(),
-            escapeJson(systemPrompt + " User: " + user.getEmail()),
+            escapeJson(systemPromptFor(user)),
             escapeJson(message),
             AIConfig.getGitHubMaxTokens()
         );
@@ -206,39 +348,114 @@ public class AIService {
         }
     }
     
-    private String transcribeAudio(File audioFile) throws Exception {
+    /**
+     * Transcribe a media file. A long MP3 is cut into segments below the
+     * upload limit, each starting on an MPEG frame header so no frame is split
+     * between two requests; every segment is its own request on the bounded
+     * executor and the transcripts are joined in order. Other formats go up in
+     * one streaming request and are refused if they exceed the limit.
+     */
+    private CompletableFuture<String> transcribeInSegments(File mediaFile, MultipartUpload.ProgressListener listener) {
+        long fileSize = mediaFile.length();
+        String contentType = getMediaContentType(mediaFile);
+        List<Long> starts;
+        try {
+            starts = segmentStarts(mediaFile, contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int segmentCount = starts.size();
+        
+        AtomicLong uploaded = new AtomicLong();
+        List<CompletableFuture<String>> segments = new ArrayList<>();
+        for (int i = 0; i < segmentCount; i++) {
+            long offset = starts.get(i);
+            long length = (i + 1 < segmentCount ? starts.get(i + 1) : fileSize) - offset;
+            String fileName = segmentCount > 1 ? "part" + (i + 1) + "-" + mediaFile.getName() : mediaFile.getName();
+            MultipartUpload.ProgressListener segmentListener = listener == null ? null : new MultipartUpload.ProgressListener() {
+                private long lastReported;
+                
+                @Override
+                public void onProgress(long bytesSent, long totalBytes) {
+                    long delta = Math.min(bytesSent, length) - lastReported;
+                    lastReported += delta;
+                    listener.onProgress(uploaded.addAndGet(delta), fileSize);
+                }
+            };
+            segments.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return transcribeAudio(mediaFile, fileName, contentType, offset, length, segmentListener);
+                } catch (Exception e) {
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+            }, requestExecutor));
+        }
+        
+        return CompletableFuture.allOf(segments.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            StringBuilder transcript = new StringBuilder();
+            for (CompletableFuture<String> segment : segments) {
+                if (transcript.length() > 0) {
+                    transcript.append(' ');
+                }
+                transcript.append(segment.join());
+            }
+            return transcript.toString();
+        });
+    }
+    
+    /**
+     * Byte offsets the upload segments start at; a single 0 unless the file is an MP3 above the segment size
+     */
+    private static List<Long> segmentStarts(File mediaFile, String contentType) throws IOException {
+        long fileSize = mediaFile.length();
+        long segmentSize = Math.min(TRANSCRIPTION_LIMIT_BYTES,
+                Math.max(1, AIConfig.getAudioSegmentMegabytes()) * 1024L * 1024L);
+        List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+        if (!"audio/mpeg".equals(contentType) || fileSize <= segmentSize) {
+            if (fileSize > TRANSCRIPTION_LIMIT_BYTES) {
+                throw new IllegalArgumentException(mediaFile.getName() + " is " + (fileSize / 1024 / 1024)
+                        + " MB; only MP3 files above " + (TRANSCRIPTION_LIMIT_BYTES / 1024 / 1024)
+                        + " MB can be split for transcription");
+            }
+            return starts;
+        }
+        try (FileChannel channel = FileChannel.open(mediaFile.toPath(), StandardOpenOption.READ)) {
+            long previous = 0;
+            while (fileSize - previous > segmentSize) {
+                // Cut at the first frame after the segment size; back off so the segment stays under the limit
+                long target = previous + segmentSize - MAX_FRAME_BYTES;
+                long start = Mp3Frames.nextFrameStart(channel, target, fileSize);
+                if (start >= fileSize || start - previous > TRANSCRIPTION_LIMIT_BYTES) {
+                    throw new IllegalArgumentException(mediaFile.getName()
+                            + " has no MPEG frame where it needs to be split; is it really an MP3?");
+                }
+                starts.add(start);
+                previous = start;
+            }
+        }
+        return starts;
+    }
+    
+    private String transcribeAudio(File audioFile, String fileName, String contentType, long offset, long length,
+                                   MultipartUpload.ProgressListener listener) throws Exception {
         // OpenAI Whisper API for audio transcription
         URL url = new URL(AIConfig.getOpenAIBaseUrl() + "/audio/transcriptions");
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         
+        MultipartUpload body = new MultipartUpload()
+            .addField("model", "whisper-1")
+            .addFile("file", audioFile, fileName, contentType, offset, length);
+        
         conn.setRequestMethod("POST");
         conn.setRequestProperty("Authorization", "Bearer " + openaiApiKey);
+        conn.setRequestProperty("Content-Type", body.getContentType());
         conn.setDoOutput(true);
-        
-        String boundary = "----WebKitFormBoundary" + System.currentTimeMillis();
-        conn.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
+        // Stream the body instead of letting HttpURLConnection buffer it all
+        conn.setFixedLengthStreamingMode(body.getContentLength());
         
         try (OutputStream os = conn.getOutputStream()) {
-            // Model parameter
-            os.write(("--" + boundary + "\r\n").getBytes());
-            os.write("Content-Disposition: form-data; name=\"model\"\r\n\r\n".getBytes());
-            os.write("whisper-1\r\n".getBytes());
-            
-            // File parameter
-            os.write(("--" + boundary + "\r\n").getBytes());
-            os.write(("Content-Disposition: form-data; name=\"file\"; filename=\"" + audioFile.getName() + "\"\r\n").getBytes());
-            os.write("Content-Type: audio/mpeg\r\n\r\n".getBytes());
-            
-            // File content
-            try (FileInputStream fis = new FileInputStream(audioFile)) {
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = fis.read(buffer)) != -1) {
-                    os.write(buffer, 0, bytesRead);
-                }
-            }
-            
-            os.write(("\r\n--" + boundary + "--\r\n").getBytes());
+            body.writeTo(os, listener);
         }
         
         int responseCode = conn.getResponseCode();
@@ -256,11 +473,39 @@ public class AIService {
         }
     }
     
-    private String analyzeVideo(File videoFile) throws Exception {
+    private static String getMediaContentType(File file) {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".mp3") || name.endsWith(".mpga")) {
+            return "audio/mpeg";
+        } else if (name.endsWith(".wav")) {
+            return "audio/wav";
+        } else if (name.endsWith(".m4a")) {
+            return "audio/mp4";
+        } else if (name.endsWith(".ogg")) {
+            return "audio/ogg";
+        } else if (name.endsWith(".flac")) {
+            return "audio/flac";
+        } else if (name.endsWith(".mp4")) {
+            return "video/mp4";
+        } else if (name.endsWith(".webm")) {
+            return "video/webm";
+        } else if (name.endsWith(".mpeg")) {
+            // A program stream, not an MP3, so it must never be cut at audio frame syncs
+            return "video/mpeg";
+        }
+        return "application/octet-stream";
+    }
+    
+    private static boolean isTranscribable(File videoFile) {
+        String name = videoFile.getName().toLowerCase();
+        return name.endsWith(".mp4") || name.endsWith(".webm") || name.endsWith(".mpeg");
+    }
+    
+    private String analyzeVideo(File videoFile) {
         // Simplified video analysis - in production, this would extract frames and analyze them
         return "Video file analyzed: " + videoFile.getName() + 
-               "\nDuration: ~" + (videoFile.length() / 1024 / 1024) + " MB" +
-               "\nThis is a placeholder for video analysis. Full implementation would require video processing libraries.";
+               "\nSize: ~" + (videoFile.length() / 1024 / 1024) + " MB" +
+               "\nFrame analysis is not available; the audio track is transcribed when the format allows it.";
     }
     
     private String extractContentFromOpenAIResponse(String jsonResponse) {
@@ -311,6 +556,16 @@ public class AIService {
         return AIConfig.isOpenAIConfigured() || AIConfig.isGitHubConfigured();
     }
     
+    /**
+     * Drop all cached responses, in memory and on disk
+     */
+    public void clearCache() {
+        if (responseCache != null) {
+            responseCache.clear();
+            responseCache.save();
+        }
+    }
+    
     /**
      * Get service status
      */
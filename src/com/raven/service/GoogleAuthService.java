@@ -36,15 +36,20 @@ public class GoogleAuthService {
             .setApprovalPrompt("force")  // Always force consent screen
             .build();
             
-        // Create receiver with fixed port for stability
-        this.receiver = new LocalServerReceiver.Builder()
+        System.out.println("SUCCESS: Google Auth Service initialized successfully");
+    }
+
+    /**
+     * Loopback receiver on a port the OS picks when it binds; the redirect URI
+     * it reports carries that port, and the installed-app flow sends the same
+     * URI in both the authorization and the token request
+     */
+    private static LocalServerReceiver newReceiver() {
+        return new LocalServerReceiver.Builder()
             .setHost("127.0.0.1")
-            .setPort(8080)
+            .setPort(0)
             .setCallbackPath("/oauth2callback")
             .build();
-            
-        System.out.println("SUCCESS: Google Auth Service initialized successfully");
-        System.out.println("CALLBACK: Callback URL: http://127.0.0.1:8080/oauth2callback");
     }
 
     public synchronized GoogleUserInfo authorize() throws Exception {
@@ -56,6 +61,8 @@ public class GoogleAuthService {
         try {
             System.out.println("START: Starting OAuth authorization flow...");
             
+            // A fresh receiver per attempt, so a retry never reuses a port that has been taken since
+            receiver = newReceiver();
             // Use the standard installed app flow - most reliable for desktop apps
             AuthorizationCodeInstalledApp installedApp = new AuthorizationCodeInstalledApp(flow, receiver);
             
@@ -126,12 +133,23 @@ public class GoogleAuthService {
      * This method is used when manual callback handling is needed.
      */
     public GoogleUserInfo exchangeCodeForUserInfo(String code) throws Exception {
+        if (receiver == null) {
+            throw new IllegalStateException("No authorization has been started, so there is no redirect URI");
+        }
+        return exchangeCodeForUserInfo(code, "http://127.0.0.1:" + receiver.getPort() + receiver.getCallbackPath());
+    }
+    
+    /**
+     * Exchange an authorization code that was delivered to the given redirect URI.
+     * The URI must match the one used in the authorization request.
+     */
+    public GoogleUserInfo exchangeCodeForUserInfo(String code, String redirectUri) throws Exception {
         try {
             System.out.println("EXCHANGE: Exchanging authorization code for tokens...");
             
             // Exchange authorization code for tokens
             TokenResponse tokenResponse = flow.newTokenRequest(code)
-                .setRedirectUri("http://127.0.0.1:" + receiver.getPort() + receiver.getCallbackPath())
+                .setRedirectUri(redirectUri)
                 .execute();
                 
             Credential credential = flow.createAndStoreCredential(tokenResponse, "user");
@@ -0,0 +1,111 @@
+package com.raven.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Finds MPEG audio frame boundaries in an MP3 file, so a long recording can
+ * be cut into segments that each start on a whole frame
+ * A position counts as a frame start only when its header is valid and the
+ * frame length it announces lands on another valid header, which rules out
+ * the sync-like byte pairs that turn up inside audio data and ID3 tags
+ */
+final class Mp3Frames {
+    private static final int SCAN_WINDOW = 64 * 1024;
+    private static final int HEADER_BYTES = 4;
+
+    // Kbit/s by [version is MPEG-1 ? 0 : 1][layer 1..3][bitrate index]
+    private static final int[][][] BITRATES = {
+        {
+            {},
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}
+        },
+        {
+            {},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+        }
+    };
+    // Hz for MPEG-1; MPEG-2 halves these and MPEG-2.5 quarters them
+    private static final int[] SAMPLE_RATES = {44100, 48000, 32000};
+
+    private Mp3Frames() {
+    }
+
+    /**
+     * First frame start in [from, limit), or limit if none is found there
+     */
+    static long nextFrameStart(FileChannel channel, long from, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_WINDOW);
+        long position = from;
+        while (position < limit) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < HEADER_BYTES) {
+                break;
+            }
+            for (int i = 0; i + HEADER_BYTES <= read && position + i < limit; i++) {
+                int length = frameLength(buffer, i);
+                if (length <= 0) {
+                    continue;
+                }
+                if (i + length + HEADER_BYTES <= read) {
+                    if (frameLength(buffer, i + length) > 0) {
+                        return position + i;
+                    }
+                } else if (confirmAt(channel, position + i + length)) {
+                    return position + i;
+                }
+            }
+            // Overlap by a header so one split across windows is not missed
+            position += Math.max(1, read - HEADER_BYTES + 1);
+        }
+        return limit;
+    }
+
+    private static boolean confirmAt(FileChannel channel, long position) throws IOException {
+        if (position + HEADER_BYTES > channel.size()) {
+            // The last frame of the file has nothing after it to confirm against
+            return position == channel.size();
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, position + header.position()) > 0) {
+            // Keep reading until the header is complete
+        }
+        return !header.hasRemaining() && frameLength(header, 0) > 0;
+    }
+
+    /**
+     * Length in bytes of the frame whose header starts at index, or -1 if it is not a valid header
+     */
+    static int frameLength(ByteBuffer buffer, int index) {
+        int b0 = buffer.get(index) & 0xff;
+        int b1 = buffer.get(index + 1) & 0xff;
+        int b2 = buffer.get(index + 2) & 0xff;
+        if (b0 != 0xff || (b1 & 0xe0) != 0xe0) {
+            return -1;
+        }
+        int version = (b1 >>> 3) & 3;   // 0 = MPEG-2.5, 1 reserved, 2 = MPEG-2, 3 = MPEG-1
+        int layerBits = (b1 >>> 1) & 3; // 1 = layer III, 2 = layer II, 3 = layer I
+        int bitrateIndex = b2 >>> 4;
+        int rateIndex = (b2 >>> 2) & 3;
+        if (version == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || rateIndex == 3) {
+            return -1;
+        }
+        int layer = 4 - layerBits;
+        boolean mpeg1 = version == 3;
+        int bitrate = BITRATES[mpeg1 ? 0 : 1][layer][bitrateIndex] * 1000;
+        int sampleRate = SAMPLE_RATES[rateIndex] >> (mpeg1 ? 0 : version == 2 ? 1 : 2);
+        int padding = (b2 >>> 1) & 1;
+        if (layer == 1) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        // Layer III outside MPEG-1 carries half the samples per frame
+        int coefficient = layer == 3 && !mpeg1 ? 72 : 144;
+        return coefficient * bitrate / sampleRate + padding;
+    }
+}
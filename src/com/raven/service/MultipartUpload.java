@@ -0,0 +1,147 @@
+package com.raven.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming multipart/form-data body
+ * File parts are streamed through one fixed buffer with positional reads,
+ * so neither the file nor a mapping of it is held in memory and the file is
+ * not left locked, and the exact body length is known up front so the
+ * connection does not buffer it
+ */
+public class MultipartUpload {
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final String boundary;
+    private final List<Part> parts = new ArrayList<>();
+
+    /**
+     * Receives upload progress; called from the uploading thread
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesSent, long totalBytes);
+    }
+
+    private static class Part {
+        final byte[] header;
+        final byte[] value;
+        final File file;
+        final long offset;
+        final long length;
+
+        Part(byte[] header, byte[] value, File file, long offset, long length) {
+            this.header = header;
+            this.value = value;
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        long size() {
+            return header.length + (file != null ? length : value.length) + 2;
+        }
+    }
+
+    public MultipartUpload() {
+        this.boundary = "----RavenBoundary" + Long.toHexString(System.nanoTime());
+    }
+
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    public MultipartUpload addField(String name, String value) {
+        String header = "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n";
+        parts.add(new Part(ascii(header), value.getBytes(StandardCharsets.UTF_8), null, 0, 0));
+        return this;
+    }
+
+    public MultipartUpload addFile(String name, File file, String contentType) {
+        return addFile(name, file, file.getName(), contentType, 0, file.length());
+    }
+
+    /**
+     * Add a byte range of a file as a file part
+     */
+    public MultipartUpload addFile(String name, File file, String fileName, String contentType,
+                                   long offset, long length) {
+        String header = "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: " + contentType + "\r\n\r\n";
+        parts.add(new Part(header.getBytes(StandardCharsets.UTF_8), null, file, offset, length));
+        return this;
+    }
+
+    /**
+     * Exact number of bytes {@link #writeTo} will produce
+     */
+    public long getContentLength() {
+        long total = closingLine().length;
+        for (Part part : parts) {
+            total += part.size();
+        }
+        return total;
+    }
+
+    public void writeTo(OutputStream os, ProgressListener listener) throws IOException {
+        long total = getContentLength();
+        long sent = 0;
+        byte[] copy = new byte[COPY_BUFFER];
+        ByteBuffer buffer = ByteBuffer.wrap(copy);
+
+        for (Part part : parts) {
+            os.write(part.header);
+            sent += part.header.length;
+            if (part.file == null) {
+                os.write(part.value);
+                sent += part.value.length;
+            } else {
+                try (FileChannel channel = FileChannel.open(part.file.toPath(), StandardOpenOption.READ)) {
+                    long position = part.offset;
+                    long end = part.offset + part.length;
+                    while (position < end) {
+                        buffer.clear();
+                        buffer.limit((int) Math.min(COPY_BUFFER, end - position));
+                        int read = channel.read(buffer, position);
+                        if (read < 0) {
+                            throw new IOException(part.file.getName() + " ended before byte " + end);
+                        }
+                        os.write(copy, 0, read);
+                        position += read;
+                        sent += read;
+                        if (listener != null) {
+                            listener.onProgress(sent, total);
+                        }
+                    }
+                }
+            }
+            os.write(ascii("\r\n"));
+            sent += 2;
+        }
+
+        byte[] closing = closingLine();
+        os.write(closing);
+        sent += closing.length;
+        os.flush();
+        if (listener != null) {
+            listener.onProgress(sent, total);
+        }
+    }
+
+    private byte[] closingLine() {
+        return ascii("--" + boundary + "--\r\n");
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -4,28 +4,49 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URLDecoder;
-import java.net.URL;
-import java.net.HttpURLConnection;
-import java.net.Socket;
 import java.util.HashMap;
 import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
+/**
+ * Local OAuth redirect receiver
+ * A single loopback server on an ephemeral port is shared by every login
+ * attempt; requests run on a small worker pool so a slow favicon or probe
+ * request can never hold up the real callback, and the server is shut down
+ * by a cancellable timer once it has been idle for a while
+ */
 public class OAuth2CallbackHandler {
-    private static HttpServer activeServer = null; // Track active server globally
-    private static OAuth2CallbackHandler activeHandler = null; // Track active handler globally
-    private HttpServer server;
+    private static final String CALLBACK_PATH = "/oauth/callback";
+    private static final long IDLE_SHUTDOWN_SECONDS = 120;
+    
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "oauth-callback-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+    private static HttpServer activeServer = null; // Shared server, reused across logins
+    private static ExecutorService serverExecutor = null;
+    private static ScheduledFuture<?> pendingShutdown = null;
+    private static volatile OAuth2CallbackHandler activeHandler = null; // Handler receiving callbacks
+    
     private CompletableFuture<GoogleAuthService.GoogleUserInfo> userInfoFuture;
     private Consumer<GoogleAuthService.GoogleUserInfo> onSuccess;
     private Consumer<Exception> onError;
     private GoogleAuthService authService;
     private String expectedState;
-    private int serverPort = 8080; // Track which port we're using
+    private int serverPort = 0; // Assigned by the OS when the shared server binds
     
     // Constructor with async callbacks
     public OAuth2CallbackHandler(GoogleAuthService authService, String expectedState,
@@ -40,134 +61,118 @@ public class OAuth2CallbackHandler {
         this.authService = authService;
         this.expectedState = expectedState;
         this.userInfoFuture = new CompletableFuture<>();
-        activeHandler = this;
     }
     
     public int getServerPort() {
         return serverPort;
     }
     
+    /**
+     * Redirect URI to send in the authorization request; Google accepts any
+     * port on the loopback address for desktop clients
+     */
+    public String getRedirectUri() {
+        return "http://127.0.0.1:" + serverPort + CALLBACK_PATH;
+    }
+    
     public void startServer() throws IOException {
-        // Only stop servers that aren't ours
-        if (activeServer != null && activeHandler != this) {
-            System.out.println("🔄 Stopping different OAuth handler's server...");
-            stopAnyActiveServer();
-        }
-        
-        // Try only the most reliable port and address first for speed
-        int[] portsToTry = {8080, 8081, 3000}; // Reduced to 3 ports
-        String[] addressesToTry = {"127.0.0.1"}; // Only use 127.0.0.1 for speed
-        
-        boolean serverStarted = false;
-        Exception lastException = null;
-        
-        System.out.println("🚀 Attempting fast server startup...");
-        for (int port : portsToTry) {
-            for (String address : addressesToTry) {
-                try {
-                    System.out.println("⏳ Trying " + address + ":" + port + "...");
-                    server = HttpServer.create(new InetSocketAddress(address, port), 0);
-                    serverPort = port;
-                    System.out.println("✅ Server bound to " + address + ":" + port);
-                    serverStarted = true;
-                    break;
-                } catch (Exception e) {
-                    lastException = e;
-                    System.out.println("❌ Failed to bind to " + address + ":" + port + " - " + e.getMessage());
-                }
+        synchronized (OAuth2CallbackHandler.class) {
+            // Hand the shared server over to this attempt
+            if (activeHandler != null && activeHandler != this) {
+                activeHandler.cancel("OAuth cancelled - new attempt started");
             }
-            if (serverStarted) break;
-        }
-        
-        if (!serverStarted) {
-            throw new IOException("Failed to start server on any port: " + lastException.getMessage());
-        }
-        
-        server.createContext("/oauth/callback", new CallbackHandler());
-        server.setExecutor(null);
-        server.start();
-        
-        // Track this as the active server
-        activeServer = server;
-        System.out.println("OAuth callback server started on port " + serverPort);
-        
-        // Important: Update the redirect URI to match the actual port used
-        if (serverPort != 8080) {
-            System.out.println("⚠️ IMPORTANT: Server started on port " + serverPort + " instead of 8080");
-            System.out.println("   You may need to update Google Cloud Console redirect URI to:");
-            System.out.println("   http://127.0.0.1:" + serverPort + "/oauth/callback");
+            activeHandler = this;
+            cancelPendingShutdown();
+            
+            if (activeServer == null) {
+                // Port 0 lets the OS pick a free port in one bind, no probing
+                HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+                AtomicInteger counter = new AtomicInteger();
+                serverExecutor = Executors.newFixedThreadPool(2, r -> {
+                    Thread t = new Thread(r, "oauth-callback-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+                server.createContext(CALLBACK_PATH, new CallbackHandler());
+                server.createContext("/", exchange -> {
+                    // favicon.ico and anything else the browser asks for
+                    exchange.sendResponseHeaders(404, -1);
+                    exchange.close();
+                });
+                server.setExecutor(serverExecutor);
+                server.start();
+                activeServer = server;
+                System.out.println("OAuth callback server started on port " + server.getAddress().getPort());
+            } else {
+                System.out.println("OAuth callback server reused on port " + activeServer.getAddress().getPort());
+            }
+            serverPort = activeServer.getAddress().getPort();
         }
         
-        System.out.println("✓ Callback server ready to receive OAuth redirects at http://127.0.0.1:" + serverPort + "/oauth/callback");
+        System.out.println("✓ Callback server ready to receive OAuth redirects at " + getRedirectUri());
     }
     
-    private void testServerAccessibility() {
-        try {
-            System.out.println("🔍 Testing server accessibility...");
-            
-            // Test with a different endpoint that won't interfere with OAuth
-            URL testUrl = new URL("http://127.0.0.1:" + serverPort + "/test");
-            HttpURLConnection connection = (HttpURLConnection) testUrl.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(2000);
-            connection.setReadTimeout(2000);
-            
-            // We expect this to fail (404) since /test doesn't exist, but connection should work
-            try {
-                int responseCode = connection.getResponseCode();
-                System.out.println("✓ Server accessible - Response code: " + responseCode);
-            } catch (Exception e) {
-                // Check if it's just a 404 (which means server is running)
-                if (connection.getResponseCode() == 404) {
-                    System.out.println("✓ Server accessible (404 expected for /test endpoint)");
-                } else {
-                    throw e;
-                }
-            }
-            connection.disconnect();
-            
-        } catch (Exception e) {
-            System.err.println("❌ Server accessibility test failed: " + e.getMessage());
-            System.err.println("   This might indicate firewall or network issues");
-            
-            // Additional debugging: try to see if something else is using the port
-            try {
-                Socket socket = new Socket();
-                socket.connect(new InetSocketAddress("127.0.0.1", serverPort), 1000);
-                socket.close();
-                System.err.println("   Port " + serverPort + " appears to be occupied by another service");
-            } catch (Exception portTest) {
-                System.err.println("   Port " + serverPort + " connectivity test also failed: " + portTest.getMessage());
+    public static void stopAnyActiveServer() {
+        synchronized (OAuth2CallbackHandler.class) {
+            if (activeHandler != null) {
+                activeHandler.cancel("OAuth cancelled - new attempt started");
             }
+            activeHandler = null;
+            shutdownSharedServer();
         }
     }
     
-    public static void stopAnyActiveServer() {
-        if (activeServer != null) {
-            try {
-                activeServer.stop(0);
-                System.out.println("Previous OAuth callback server stopped");
-            } catch (Exception e) {
-                System.out.println("Note: No previous server to stop");
+    /**
+     * Release the server for this attempt. The shared server stays up for a
+     * while so a retry does not have to bind again, then stops on its own.
+     */
+    public void stopServer() {
+        synchronized (OAuth2CallbackHandler.class) {
+            if (activeHandler == this) {
+                activeHandler = null;
             }
-            activeServer = null;
+            scheduleShutdown(IDLE_SHUTDOWN_SECONDS);
         }
-        
-        if (activeHandler != null && activeHandler.userInfoFuture != null && !activeHandler.userInfoFuture.isDone()) {
-            activeHandler.userInfoFuture.completeExceptionally(new Exception("OAuth cancelled - new attempt started"));
+    }
+    
+    private void cancel(String reason) {
+        if (userInfoFuture != null && !userInfoFuture.isDone()) {
+            userInfoFuture.completeExceptionally(new Exception(reason));
             System.out.println("Previous OAuth attempt cancelled");
         }
-        activeHandler = null;
     }
     
-    public void stopServer() {
-        if (server != null) {
-            server.stop(0);
-            if (activeServer == server) {
-                activeServer = null;
-            }
+    private static void scheduleShutdown(long delaySeconds) {
+        cancelPendingShutdown();
+        if (activeServer != null) {
+            pendingShutdown = scheduler.schedule(() -> {
+                synchronized (OAuth2CallbackHandler.class) {
+                    if (activeHandler == null) {
+                        shutdownSharedServer();
+                    }
+                }
+            }, delaySeconds, TimeUnit.SECONDS);
+        }
+    }
+    
+    private static void cancelPendingShutdown() {
+        if (pendingShutdown != null) {
+            pendingShutdown.cancel(false);
+            pendingShutdown = null;
+        }
+    }
+    
+    private static void shutdownSharedServer() {
+        cancelPendingShutdown();
+        if (activeServer != null) {
+            activeServer.stop(0);
+            activeServer = null;
             System.out.println("OAuth callback server stopped");
         }
+        if (serverExecutor != null) {
+            serverExecutor.shutdown();
+            serverExecutor = null;
+        }
     }
     
     public CompletableFuture<GoogleAuthService.GoogleUserInfo> getUserInfoFuture() {
@@ -209,7 +214,7 @@ public class OAuth2CallbackHandler {
                     
                     try {
                         System.out.println("🔄 About to exchange code for user info...");
-                        GoogleAuthService.GoogleUserInfo userInfo = authService.exchangeCodeForUserInfo(code);
+                        GoogleAuthService.GoogleUserInfo userInfo = authService.exchangeCodeForUserInfo(code, getRedirectUri());
                         System.out.println("✓ User info received: " + userInfo.getName() + " (" + userInfo.getEmail() + ")");
                         
                         System.out.println("🚀 Completing userInfoFuture with user info...");
@@ -231,104 +236,111 @@ public class OAuth2CallbackHandler {
         }
     }
     
-    private class CallbackHandler implements HttpHandler {
+    private static class CallbackHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
-            String query = exchange.getRequestURI().getQuery();
-            Map<String, String> params = parseQuery(query);
+            OAuth2CallbackHandler handler = activeHandler;
+            if (handler == null) {
+                // Late or duplicate redirect after the attempt finished
+                exchange.sendResponseHeaders(410, -1);
+                exchange.close();
+                return;
+            }
+            handler.handleCallback(exchange);
+        }
+    }
+    
+    private void handleCallback(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        Map<String, String> params = parseQuery(query);
+        
+        String response;
+        int statusCode;
+        boolean validCallback = true;
+        
+        try {
+            String code = params.get("code");
+            String state = params.get("state");
+            String error = params.get("error");
             
-            String response;
-            int statusCode;
+            System.out.println("🔍 OAuth Callback Debug:");
+            System.out.println("  - Received state: '" + state + "'");
+            System.out.println("  - Expected state: '" + expectedState + "'");
+            System.out.println("  - States match: " + (expectedState != null && expectedState.equals(state)));
+            System.out.println("  - Code present: " + (code != null));
+            System.out.println("  - Error: " + error);
             
-            try {
-                String code = params.get("code");
-                String state = params.get("state");
-                String error = params.get("error");
-                
-                System.out.println("🔍 OAuth Callback Debug:");
-                System.out.println("  - Received state: '" + state + "'");
-                System.out.println("  - Expected state: '" + expectedState + "'");
-                System.out.println("  - States match: " + (expectedState != null && expectedState.equals(state)));
-                System.out.println("  - Code present: " + (code != null));
-                System.out.println("  - Error: " + error);
+            if (expectedState == null || !expectedState.equals(state)) {
+                // Not the redirect for this attempt; keep waiting for the real one
+                System.err.println("❌ State mismatch - Expected: '" + expectedState + "', Received: '" + state + "'");
+                response = "<html><body style='font-family: Arial, sans-serif; text-align: center; padding: 50px;'>" +
+                          "<h1 style='color: #ff4444;'>⚠️ Security Error</h1>" +
+                          "<p style='font-size: 18px;'>Invalid state parameter</p>" +
+                          "<p>This request does not belong to the sign-in in progress and was ignored.</p>" +
+                          "</body></html>";
+                statusCode = 400;
+                validCallback = false;
+            } else if (error != null) {
+                response = "<html><body><h1>Authentication Error</h1><p>Error: " + error + "</p></body></html>";
+                statusCode = 400;
+                userInfoFuture.completeExceptionally(new Exception("OAuth error: " + error));
+            } else if (code == null) {
+                response = "<html><body><h1>Authentication Error</h1><p>Missing required parameters</p></body></html>";
+                statusCode = 400;
+                userInfoFuture.completeExceptionally(new Exception("Missing OAuth parameters"));
+            } else {
+                System.out.println("✓ OAuth callback received with valid parameters");
+                System.out.println("📋 Authorization code: " + code.substring(0, 10) + "...");
+                System.out.println("🔐 State verified: " + state.equals(expectedState));
                 
-                if (error != null) {
-                    response = "<html><body><h1>Authentication Error</h1><p>Error: " + error + "</p></body></html>";
-                    statusCode = 400;
-                    userInfoFuture.completeExceptionally(new Exception("OAuth error: " + error));
-                } else if (code == null || state == null) {
-                    response = "<html><body><h1>Authentication Error</h1><p>Missing required parameters</p></body></html>";
-                    statusCode = 400;
-                    userInfoFuture.completeExceptionally(new Exception("Missing OAuth parameters"));
-                } else if (expectedState == null || !expectedState.equals(state)) {
-                    System.err.println("❌ State mismatch - Expected: '" + expectedState + "', Received: '" + state + "'");
+                try {
+                    System.out.println("🔄 About to exchange code for user info...");
+                    System.out.println("🚨 DEBUG: Calling authService.exchangeCodeForUserInfo() now!");
+                    
+                    // Exchange code for tokens using real Google API
+                    GoogleAuthService.GoogleUserInfo userInfo = authService.exchangeCodeForUserInfo(code, getRedirectUri());
+                    System.out.println("✅ SUCCESS: User info received: " + userInfo.getName() + " (" + userInfo.getEmail() + ")");
+                    
                     response = "<html><body style='font-family: Arial, sans-serif; text-align: center; padding: 50px;'>" +
-                              "<h1 style='color: #ff4444;'>⚠️ Security Error</h1>" +
-                              "<p style='font-size: 18px;'>Invalid state parameter</p>" +
-                              "<p style='color: #666;'>Expected: " + expectedState + "</p>" +
-                              "<p style='color: #666;'>Received: " + state + "</p>" +
-                              "<p>This is likely a configuration issue. Please check the console output.</p>" +
+                              "<h1 style='color: #4CAF50;'>✅ Authentication Successful!</h1>" +
+                              "<p style='font-size: 18px;'>Welcome, " + userInfo.getName() + "!</p>" +
+                              "<p style='color: #666;'>You can close this window and return to the application.</p>" +
+                              "<script>setTimeout(function(){window.close();}, 3000);</script>" +
                               "</body></html>";
-                    statusCode = 400;
-                    userInfoFuture.completeExceptionally(new Exception("Invalid state parameter"));
-                } else {
-                    System.out.println("✓ OAuth callback received with valid parameters");
-                    System.out.println("📋 Authorization code: " + code.substring(0, 10) + "...");
-                    System.out.println("🔐 State verified: " + state.equals(expectedState));
+                    statusCode = 200;
                     
-                    try {
-                        System.out.println("🔄 About to exchange code for user info...");
-                        System.out.println("🚨 DEBUG: Calling authService.exchangeCodeForUserInfo() now!");
-                        
-                        // Exchange code for tokens using real Google API
-                        GoogleAuthService.GoogleUserInfo userInfo = authService.exchangeCodeForUserInfo(code);
-                        System.out.println("✅ SUCCESS: User info received: " + userInfo.getName() + " (" + userInfo.getEmail() + ")");
-                        
-                        response = "<html><body style='font-family: Arial, sans-serif; text-align: center; padding: 50px;'>" +
-                                  "<h1 style='color: #4CAF50;'>✅ Authentication Successful!</h1>" +
-                                  "<p style='font-size: 18px;'>Welcome, " + userInfo.getName() + "!</p>" +
-                                  "<p style='color: #666;'>You can close this window and return to the application.</p>" +
-                                  "<script>setTimeout(function(){window.close();}, 3000);</script>" +
-                                  "</body></html>";
-                        statusCode = 200;
-                        
-                        System.out.println("🚀 Completing userInfoFuture with user info...");
-                        userInfoFuture.complete(userInfo);
-                        System.out.println("✓ UserInfoFuture completed successfully");
-                        
-                    } catch (Exception tokenException) {
-                        System.err.println("❌ Error during token exchange: " + tokenException.getMessage());
-                        tokenException.printStackTrace();
-                        response = "<html><body style='font-family: Arial, sans-serif; text-align: center; padding: 50px;'>" +
-                                  "<h1 style='color: #ff4444;'>⚠️ Token Exchange Error</h1>" +
-                                  "<p style='font-size: 18px;'>Failed to get user information</p>" +
-                                  "<p style='color: #666;'>Error: " + tokenException.getMessage() + "</p>" +
-                                  "</body></html>";
-                        statusCode = 500;
-                        userInfoFuture.completeExceptionally(tokenException);
-                    }
+                    System.out.println("🚀 Completing userInfoFuture with user info...");
+                    userInfoFuture.complete(userInfo);
+                    System.out.println("✓ UserInfoFuture completed successfully");
+                    
+                } catch (Exception tokenException) {
+                    System.err.println("❌ Error during token exchange: " + tokenException.getMessage());
+                    tokenException.printStackTrace();
+                    response = "<html><body style='font-family: Arial, sans-serif; text-align: center; padding: 50px;'>" +
+                              "<h1 style='color: #ff4444;'>⚠️ Token Exchange Error</h1>" +
+                              "<p style='font-size: 18px;'>Failed to get user information</p>" +
+                              "<p style='color: #666;'>Error: " + tokenException.getMessage() + "</p>" +
+                              "</body></html>";
+                    statusCode = 500;
+                    userInfoFuture.completeExceptionally(tokenException);
                 }
-            } catch (Exception e) {
-                response = "<html><body><h1>Authentication Error</h1><p>Error: " + e.getMessage() + "</p></body></html>";
-                statusCode = 500;
-                userInfoFuture.completeExceptionally(e);
             }
-            
-            exchange.getResponseHeaders().set("Content-Type", "text/html");
-            exchange.sendResponseHeaders(statusCode, response.length());
-            OutputStream os = exchange.getResponseBody();
-            os.write(response.getBytes());
-            os.close();
-            
-            // Stop server after handling callback
-            new Thread(() -> {
-                try {
-                    Thread.sleep(2000); // Give time for response to be sent
-                    stopServer();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
+        } catch (Exception e) {
+            response = "<html><body><h1>Authentication Error</h1><p>Error: " + e.getMessage() + "</p></body></html>";
+            statusCode = 500;
+            userInfoFuture.completeExceptionally(e);
+        }
+        
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        
+        // The response is fully written; release the server once this attempt has its answer
+        if (validCallback) {
+            stopServer();
         }
     }
     
@@ -3,104 +3,245 @@ package com.raven.service;
 import com.raven.connection.DatabaseConnection;
 import com.raven.model.ModelUser;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 public class ServiceUser {
 
-    private final Connection con;
+    private static final int MAX_CODE_ATTEMPTS = 5;
+
+    /*
+     * Uniqueness lives in the schema, so it holds under concurrent sign-ups:
+     * user names and emails have unique keys, and so does a pending verify
+     * code through a generated column that is null once the user is verified
+     */
+    private static final String CREATE_TABLE =
+            "create table if not exists `user` (" +
+            "UserID int not null auto_increment primary key, " +
+            "UserName varchar(255) not null, " +
+            "Email varchar(255) not null, " +
+            "`Password` varchar(255) not null, " +
+            "VerifyCode varchar(10) not null default '', " +
+            "`Status` varchar(10) not null default '', " +
+            "PendingCode varchar(10) generated always as (case when VerifyCode='' then null else VerifyCode end), " +
+            "constraint uq_user_pending_code unique (PendingCode), " +
+            "constraint uq_user_name unique (UserName), " +
+            "constraint uq_user_email unique (Email))";
+
+    private static final String ADD_PENDING_CODE =
+            "alter table `user` add column PendingCode varchar(10) " +
+            "generated always as (case when VerifyCode='' then null else VerifyCode end)";
+
+    // Unique keys a table created before them is missing, by the column each covers
+    private static final Map<String, String> UNIQUE_KEYS = new LinkedHashMap<>();
+
+    static {
+        UNIQUE_KEYS.put("pendingcode", "uq_user_pending_code");
+        UNIQUE_KEYS.put("username", "uq_user_name");
+        UNIQUE_KEYS.put("email", "uq_user_email");
+    }
+
+    private static final String INSERT_USER =
+            "insert into `user` (UserName, Email, `Password`, VerifyCode) values (?,?,?,?)";
+
+    private static final String FIND_DUPLICATE =
+            "select max(case when UserName=? then 1 else 0 end), max(case when Email=? then 1 else 0 end) " +
+            "from `user` where UserName=? or Email=?";
+
+    public enum Duplicate {
+        NONE, USER_NAME, EMAIL
+    }
+
+    private final DatabaseConnection database;
+    private final Random random = new Random();
 
     public ServiceUser() {
-        con = DatabaseConnection.getInstance().getConnection();
+        database = DatabaseConnection.getInstance();
     }
 
-    public void insertUser(ModelUser user) throws SQLException {
-        PreparedStatement p = con.prepareStatement("insert into `user` (UserName, Email, `Password`, VerifyCode) values (?,?,?,?)", PreparedStatement.RETURN_GENERATED_KEYS);
-        String code = generateVerifyCode();
-        p.setString(1, user.getUserName());
-        p.setString(2, user.getEmail());
-        p.setString(3, user.getPassword());
-        p.setString(4, code);
-        p.execute();
-        ResultSet r = p.getGeneratedKeys();
-        r.first();
-        int userID = r.getInt(1);
-        r.close();
-        p.close();
-        user.setUserID(userID);
-        user.setVerifyCode(code);
+    /**
+     * Create the user table with its unique keys, or add the generated column
+     * and keys an existing table is missing. Safe to run on every start; fails
+     * if existing rows already break one of the keys
+     */
+    public void createTable() throws SQLException {
+        try (Connection con = database.getConnection();
+             Statement s = con.createStatement()) {
+            s.execute(CREATE_TABLE);
+            if (!findColumns(con).contains("pendingcode")) {
+                s.execute(ADD_PENDING_CODE);
+            }
+            Set<String> unique = findUniqueColumns(con);
+            for (Map.Entry<String, String> key : UNIQUE_KEYS.entrySet()) {
+                if (!unique.contains(key.getKey())) {
+                    s.execute("alter table `user` add constraint " + key.getValue() + " unique (" + key.getKey() + ")");
+                }
+            }
+        }
     }
 
-    private String generateVerifyCode() throws SQLException {
+    private static Set<String> findColumns(Connection con) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (Statement s = con.createStatement();
+             ResultSet r = s.executeQuery("select * from `user` where 1=0")) {
+            ResultSetMetaData meta = r.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnName(i).toLowerCase());
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Columns that a unique index covers on its own, lower-cased
+     */
+    private static Set<String> findUniqueColumns(Connection con) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        String table = null;
+        try (ResultSet r = meta.getTables(con.getCatalog(), con.getSchema(), null, new String[] { "TABLE" })) {
+            while (r.next() && table == null) {
+                if ("user".equalsIgnoreCase(r.getString("TABLE_NAME"))) {
+                    table = r.getString("TABLE_NAME");
+                }
+            }
+        }
+        Map<String, Set<String>> indexColumns = new HashMap<>();
+        try (ResultSet r = meta.getIndexInfo(con.getCatalog(), con.getSchema(), table, true, false)) {
+            while (r.next()) {
+                String index = r.getString("INDEX_NAME");
+                String column = r.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    indexColumns.computeIfAbsent(index, name -> new HashSet<>()).add(column.toLowerCase());
+                }
+            }
+        }
+        Set<String> unique = new HashSet<>();
+        for (Set<String> columns : indexColumns.values()) {
+            if (columns.size() == 1) {
+                unique.addAll(columns);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Insert a pending user with a fresh verify code, one statement per
+     * attempt. The unique keys reject a name or email that is already taken;
+     * a verify code that collides with another pending one is redrawn
+     * @return NONE once inserted, otherwise the field that is taken
+     */
+    public Duplicate insertUser(ModelUser user) throws SQLException {
+        try (Connection con = database.getConnection()) {
+            for (int attempt = 0; attempt < MAX_CODE_ATTEMPTS; attempt++) {
+                String code = generateVerifyCode();
+                try (PreparedStatement p = con.prepareStatement(INSERT_USER, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                    p.setString(1, user.getUserName());
+                    p.setString(2, user.getEmail());
+                    p.setString(3, user.getPassword());
+                    p.setString(4, code);
+                    p.executeUpdate();
+                    try (ResultSet r = p.getGeneratedKeys()) {
+                        r.next();
+                        user.setUserID(r.getInt(1));
+                    }
+                    user.setVerifyCode(code);
+                    return Duplicate.NONE;
+                } catch (SQLException e) {
+                    if (!isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    String message = String.valueOf(e.getMessage()).toLowerCase();
+                    if (message.contains("uq_user_name")) {
+                        return Duplicate.USER_NAME;
+                    }
+                    if (message.contains("uq_user_email")) {
+                        return Duplicate.EMAIL;
+                    }
+                    if (!message.contains("uq_user_pending_code")) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        throw new SQLException("Could not allocate a unique verify code");
+    }
+
+    private String generateVerifyCode() {
         DecimalFormat df = new DecimalFormat("000000");
-        Random ran = new Random();
-        String code = df.format(ran.nextInt(1000000));  //  Random from 0 to 999999
-        while (checkDuplicateCode(code)) {
-            code = df.format(ran.nextInt(1000000));
+        return df.format(random.nextInt(1000000));  //  Random from 0 to 999999
+    }
+
+    /**
+     * Check user name and email against existing accounts in one query
+     */
+    public Duplicate checkDuplicate(String userName, String email) throws SQLException {
+        try (Connection con = database.getConnection()) {
+            return findDuplicate(con, userName, email);
         }
-        return code;
     }
 
-    private boolean checkDuplicateCode(String code) throws SQLException {
-        boolean duplicate = false;
-        PreparedStatement p = con.prepareStatement("select UserID from `user` where VerifyCode=? limit 1");
-        p.setString(1, code);
-        ResultSet r = p.executeQuery();
-        if (r.first()) {
-            duplicate = true;
+    private Duplicate findDuplicate(Connection con, String userName, String email) throws SQLException {
+        try (PreparedStatement p = con.prepareStatement(FIND_DUPLICATE)) {
+            p.setString(1, userName);
+            p.setString(2, email);
+            p.setString(3, userName);
+            p.setString(4, email);
+            try (ResultSet r = p.executeQuery()) {
+                if (r.next()) {
+                    if (r.getInt(1) == 1) {
+                        return Duplicate.USER_NAME;
+                    }
+                    if (r.getInt(2) == 1) {
+                        return Duplicate.EMAIL;
+                    }
+                }
+                return Duplicate.NONE;
+            }
         }
-        r.close();
-        p.close();
-        return duplicate;
     }
 
     public boolean checkDuplicateUser(String user) throws SQLException {
-        boolean duplicate = false;
-        PreparedStatement p = con.prepareStatement("select UserID from `user` where UserName=? and `Status`='Verified' limit 1");
-        p.setString(1, user);
-        ResultSet r = p.executeQuery();
-        if (r.first()) {
-            duplicate = true;
-        }
-        r.close();
-        p.close();
-        return duplicate;
+        return checkDuplicate(user, null) == Duplicate.USER_NAME;
     }
 
     public boolean checkDuplicateEmail(String user) throws SQLException {
-        boolean duplicate = false;
-        PreparedStatement p = con.prepareStatement("select UserID from `user` where Email=? and `Status`='Verified' limit 1");
-        p.setString(1, user);
-        ResultSet r = p.executeQuery();
-        if (r.first()) {
-            duplicate = true;
-        }
-        r.close();
-        p.close();
-        return duplicate;
+        return checkDuplicate(null, user) == Duplicate.EMAIL;
     }
 
     public void doneVerify(int userID) throws SQLException {
-        PreparedStatement p = con.prepareStatement("update `user` set VerifyCode='', `Status`='Verified' where UserID=? limit 1");
-        p.setInt(1, userID);
-        p.execute();
-        p.close();
+        try (Connection con = database.getConnection();
+             PreparedStatement p = con.prepareStatement("update `user` set VerifyCode='', `Status`='Verified' where UserID=? limit 1")) {
+            p.setInt(1, userID);
+            p.execute();
+        }
+    }
+
+    /**
+     * Unique key violation: SQLState class 23 (MySQL reports 23000 with error 1062)
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
     }
 
     public boolean verifyCodeWithUser(int userID, String code) throws SQLException {
-        boolean verify = false;
-        PreparedStatement p = con.prepareStatement("select UserID from `user` where UserID=? and VerifyCode=? limit 1");
-        p.setInt(1, userID);
-        p.setString(2, code);
-        ResultSet r = p.executeQuery();
-        if (r.first()) {
-            verify = true;
+        try (Connection con = database.getConnection();
+             PreparedStatement p = con.prepareStatement("select 1 from `user` where UserID=? and VerifyCode=? limit 1")) {
+            p.setInt(1, userID);
+            p.setString(2, code);
+            try (ResultSet r = p.executeQuery()) {
+                return r.next();
+            }
         }
-        r.close();
-        p.close();
-        return verify;
     }
 }
@@ -1,17 +1,27 @@
 package com.raven.service;
 
+import com.raven.accountability.ui.AccountabilityManagementFrame;
 import com.raven.main.Main;
+import com.raven.model.User;
+import com.raven.ui.AIAssistantFrame;
+import com.raven.ui.DashboardFrame;
 import com.raven.ui.MainSelectionFrame;
+import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 
 /**
  * Centralized session management for the application
  * Handles login/logout flow and prevents multiple instances
+ * The signed session and last module are persisted through SessionStore so a
+ * returning user resumes straight into that module; the login window and main
+ * menu are only built when the user actually navigates to them
  */
 public class SessionManager {
     private static SessionManager instance;
+    private final SessionStore store = new SessionStore();
     private Main mainLoginWindow;
     private MainSelectionFrame mainSelectionFrame;
+    private User currentUser;
     
     private SessionManager() {
         // Private constructor for singleton
@@ -24,6 +34,69 @@ public class SessionManager {
         return instance;
     }
     
+    /**
+     * Record a successful login and persist it for the next launch
+     */
+    public void startSession(User user) {
+        startSession(user, SessionStore.Module.MAIN_MENU);
+    }
+    
+    /**
+     * Record a successful login that lands directly in a module
+     */
+    public void startSession(User user, SessionStore.Module module) {
+        this.currentUser = user;
+        store.save(user, module);
+        System.out.println("SESSION: Session started for " + user.getEmail());
+    }
+    
+    /**
+     * Remember which module the user is in, so the next launch resumes there
+     */
+    public void recordModule(SessionStore.Module module) {
+        if (currentUser != null) {
+            store.saveModule(module);
+        }
+    }
+    
+    public User getCurrentUser() {
+        return currentUser;
+    }
+    
+    /**
+     * Try to resume the stored session by showing the last module directly.
+     * Only the login window is skipped; the module's frame sets up its own
+     * services as it does after a normal login.
+     * Returns false when there is no valid session and the login screen is needed.
+     */
+    public boolean resumeSession() {
+        SessionStore.StoredSession session = store.load();
+        if (session == null) {
+            return false;
+        }
+        currentUser = session.getUser();
+        System.out.println("SESSION: Resuming session for " + currentUser.getEmail() +
+                           " in " + session.getLastModule());
+        
+        JFrame frame;
+        switch (session.getLastModule()) {
+            case ACCOUNTABILITY:
+                frame = new AccountabilityManagementFrame(currentUser);
+                break;
+            case CODE_EXAMPLES:
+                frame = new DashboardFrame(currentUser);
+                break;
+            case AI_ASSISTANT:
+                frame = new AIAssistantFrame(currentUser);
+                break;
+            default:
+                frame = new MainSelectionFrame(currentUser);
+                break;
+        }
+        frame.setVisible(true);
+        return true;
+    }
+    
     /**
      * Set the main login window instance
      */
@@ -58,7 +131,12 @@ public class SessionManager {
      * Show the main selection frame (return from module to main menu)
      */
     public void showMainSelectionFrame() {
+        recordModule(SessionStore.Module.MAIN_MENU);
         SwingUtilities.invokeLater(() -> {
+            if (mainSelectionFrame == null && currentUser != null) {
+                // Resumed straight into a module, build the menu on first use
+                new MainSelectionFrame(currentUser);
+            }
             if (mainSelectionFrame != null) {
                 mainSelectionFrame.setVisible(true);
                 mainSelectionFrame.toFront();
@@ -74,6 +152,8 @@ public class SessionManager {
      * Handle logout - return to the original login screen
      */
     public void logout() {
+        store.clear();
+        currentUser = null;
         SwingUtilities.invokeLater(() -> {
             // Clean up main selection frame
             if (mainSelectionFrame != null) {
@@ -94,8 +174,8 @@ public class SessionManager {
                 mainLoginWindow.requestFocus();
                 System.out.println("SESSION: Returned to original login screen");
             } else {
-                System.err.println("ERROR: No main login window registered");
-                // Create new instance as fallback (should not happen)
+                // Resumed sessions skip the login window, build it on first logout
+                System.out.println("SESSION: Creating login window");
                 new Main().setVisible(true);
             }
         });
@@ -0,0 +1,219 @@
+package com.raven.service;
+
+import com.raven.model.User;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Local persistence for the signed session token and the last opened module
+ * The token is HMAC-SHA256 signed with a key kept in the user's home
+ * directory, away from the token, so an edited session file, or one copied
+ * to another account or machine, is rejected instead of logging someone in
+ */
+public class SessionStore {
+    private static final String SESSION_FILE = "session.properties";
+    private static final String KEY_DIRECTORY = ".raven";
+    private static final String KEY_FILE = "session.key";
+    private static final long SESSION_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final String HMAC = "HmacSHA256";
+
+    /**
+     * Top-level destinations a session can resume into
+     */
+    public enum Module {
+        MAIN_MENU, ACCOUNTABILITY, CODE_EXAMPLES, AI_ASSISTANT
+    }
+
+    /**
+     * A verified session read back from disk
+     */
+    public static class StoredSession {
+        private final User user;
+        private final Module lastModule;
+
+        StoredSession(User user, Module lastModule) {
+            this.user = user;
+            this.lastModule = lastModule;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public Module getLastModule() {
+            return lastModule;
+        }
+    }
+
+    private final File sessionFile;
+    private final File keyFile;
+    private byte[] key;
+
+    public SessionStore() {
+        this(new File(SESSION_FILE), new File(new File(System.getProperty("user.home"), KEY_DIRECTORY), KEY_FILE));
+    }
+
+    public SessionStore(File sessionFile, File keyFile) {
+        this.sessionFile = sessionFile;
+        this.keyFile = keyFile;
+    }
+
+    /**
+     * Persist a freshly signed token for the user
+     */
+    public synchronized void save(User user, Module module) {
+        long now = System.currentTimeMillis();
+        String payload = encode(user.getEmail()) + "|" + encode(user.getFullName()) + "|" +
+                (user.getUserType() != null ? user.getUserType().name() : "") + "|" +
+                user.getId() + "|" + (now + SESSION_TTL_MILLIS);
+        Properties props = new Properties();
+        props.setProperty("token", payload + "." + sign(payload));
+        props.setProperty("module", module.name());
+        write(props);
+    }
+
+    /**
+     * Update the last module without re-signing the token
+     */
+    public synchronized void saveModule(Module module) {
+        Properties props = read();
+        if (props == null || props.getProperty("token") == null) {
+            return;
+        }
+        props.setProperty("module", module.name());
+        write(props);
+    }
+
+    /**
+     * Load the stored session, or null if missing, tampered with or expired
+     */
+    public synchronized StoredSession load() {
+        Properties props = read();
+        if (props == null) {
+            return null;
+        }
+        String token = props.getProperty("token");
+        if (token == null || token.indexOf('.') < 0) {
+            return null;
+        }
+        String payload = token.substring(0, token.lastIndexOf('.'));
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        if (!MessageDigest.isEqual(sign(payload).getBytes(StandardCharsets.US_ASCII),
+                                   signature.getBytes(StandardCharsets.US_ASCII))) {
+            System.err.println("SESSION: Stored session signature is invalid, ignoring it");
+            clear();
+            return null;
+        }
+
+        String[] fields = payload.split("\\|", -1);
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            if (Long.parseLong(fields[4]) < System.currentTimeMillis()) {
+                System.out.println("SESSION: Stored session expired");
+                clear();
+                return null;
+            }
+            User user = new User(decode(fields[0]), decode(fields[1]));
+            if (!fields[2].isEmpty()) {
+                user.setUserType(User.UserType.valueOf(fields[2]));
+            }
+            user.setId(Integer.parseInt(fields[3]));
+
+            Module module = Module.MAIN_MENU;
+            String storedModule = props.getProperty("module");
+            if (storedModule != null) {
+                module = Module.valueOf(storedModule);
+            }
+            return new StoredSession(user, module);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public synchronized void clear() {
+        if (sessionFile.exists() && !sessionFile.delete()) {
+            System.err.println("SESSION: Could not delete " + sessionFile.getName());
+        }
+    }
+
+    private Properties read() {
+        if (!sessionFile.isFile()) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (InputStream input = new FileInputStream(sessionFile)) {
+            props.load(input);
+            return props;
+        } catch (IOException e) {
+            System.err.println("SESSION: Could not read session: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Properties props) {
+        try (OutputStream output = new FileOutputStream(sessionFile)) {
+            props.store(output, "Saved session");
+        } catch (IOException e) {
+            System.err.println("SESSION: Could not save session: " + e.getMessage());
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(getKey(), HMAC));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Cannot sign session token", e);
+        }
+    }
+
+    private byte[] getKey() throws IOException {
+        if (key != null) {
+            return key;
+        }
+        if (keyFile.isFile()) {
+            key = Files.readAllBytes(keyFile.toPath());
+        } else {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            File directory = keyFile.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create " + directory);
+            }
+            Files.write(keyFile.toPath(), key);
+            // Owner-only access where the file system supports it
+            keyFile.setReadable(false, false);
+            keyFile.setReadable(true, true);
+            keyFile.setWritable(false, false);
+            keyFile.setWritable(true, true);
+        }
+        return key;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,654 @@
+package com.raven.test;
+
+import com.raven.ds.core.OperationStats;
+import com.raven.ds.modules.avl.AVLTreeAlgorithm;
+import com.raven.ds.modules.balanced.BTree;
+import com.raven.ds.modules.balanced.OrderedIntSet;
+import com.raven.ds.modules.balanced.RedBlackTree;
+import com.raven.ds.modules.balanced.Treap;
+import com.raven.ds.modules.bst.BSTAlgorithm;
+import com.raven.ds.modules.concurrent.ConcurrentStructure;
+import com.raven.ds.modules.concurrent.ConcurrentWorkload;
+import com.raven.ds.modules.dynamicarray.DynamicArrayAlgorithm;
+import com.raven.ds.modules.dynamicarray.GrowthPolicy;
+import com.raven.ds.modules.graph.BellmanFordAlgorithm;
+import com.raven.ds.modules.graph.CompactGraph;
+import com.raven.ds.modules.graph.DeltaStepping;
+import com.raven.ds.modules.graph.DijkstraAlgorithm;
+import com.raven.ds.modules.hashtable.HashAnalyzer;
+import com.raven.ds.modules.hashtable.HashTableAlgorithm;
+import com.raven.ds.modules.hashtable.OpenAddressingTable;
+import com.raven.ds.modules.heap.BinaryHeapAlgorithm;
+import com.raven.ds.modules.heap.DaryHeap;
+import com.raven.ds.modules.heapsort.HeapsortAlgorithm;
+import com.raven.ds.modules.index.BPlusTree;
+import com.raven.ds.modules.index.PageCache;
+import com.raven.ds.modules.index.PagedIndex;
+import com.raven.ds.modules.index.PagedSkipList;
+import com.raven.ds.modules.probabilistic.BloomFilter;
+import com.raven.ds.modules.probabilistic.CountMinSketch;
+import com.raven.ds.modules.probabilistic.CountingBloomFilter;
+import com.raven.ds.modules.probabilistic.HyperLogLog;
+import com.raven.ds.modules.sorting.SortingAlgorithm;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the headless algorithm cores at growing input sizes and prints
+ * operation counts and timings, checking each result along the way
+ */
+public class AlgorithmScaleTest {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final long SEED = 42;
+    // Sorted inserts into the unbalanced tree cost O(n^2)
+    private static final int SKEWED_LIMIT = 20_000;
+
+    public static void main(String[] args) {
+        int[] sizes = SIZES;
+        if (args.length > 0) {
+            sizes = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        }
+        try {
+            for (int n : sizes) {
+                System.out.println("n = " + n);
+                runBst(n);
+                runSkewedBst(Math.min(n, SKEWED_LIMIT));
+                runAvl(n);
+                runBalancedTrees(n);
+                runIndexes(n);
+                runHeap(n);
+                runDaryHeap(n, 4);
+                runHeapsort(n);
+                runSorts(n);
+                runDynamicArray(n);
+                runGrowthPolicies(n);
+                runHashTable(n);
+                runOpenAddressing(n);
+                runHashAnalyzer(n);
+                runSketches(n);
+                runShortestPaths(n);
+                runConcurrent(n);
+                System.out.println();
+            }
+            System.out.println("✓ All headless runs verified");
+        } catch (Exception e) {
+            System.err.println("✗ Scale test failed:");
+            e.printStackTrace();
+        }
+    }
+
+    private static void runBst(int n) {
+        OperationStats stats = new OperationStats();
+        BSTAlgorithm.Headless tree = new BSTAlgorithm.Headless(stats);
+        int[] values = randomValues(n);
+        stats.start();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        for (int i = 0; i < n; i += 2) {
+            tree.delete(values[i]);
+        }
+        stats.stop();
+        check(!tree.contains(values[0]) && (n < 2 || tree.contains(values[1])), "BST contents");
+        report("BST", stats, "height=" + tree.height());
+    }
+
+    /**
+     * Sorted inserts into the animated BST's core leave a single path; walking it
+     * and asking its size and height must not recurse
+     */
+    private static void runSkewedBst(int n) {
+        OperationStats stats = new OperationStats();
+        BSTAlgorithm tree = new BSTAlgorithm(stats);
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        stats.start();
+        int added = tree.insertAll(sorted);
+        long[] sum = {0};
+        tree.forEach(BSTAlgorithm.Traversal.POST_ORDER, node -> sum[0] += node.value);
+        stats.stop();
+        check(added == n && tree.size() == n && tree.height() == n - 1, "skewed BST shape");
+        check(sum[0] == (long) n * (n - 1) / 2, "skewed BST traversal");
+        check(tree.deleteAll(sorted) == n && tree.height() == -1, "skewed BST bulk delete");
+        report("BST (sorted input)", stats, "height=" + (n - 1));
+    }
+
+    private static void runAvl(int n) {
+        OperationStats stats = new OperationStats();
+        AVLTreeAlgorithm.Headless tree = new AVLTreeAlgorithm.Headless(stats);
+        stats.start();
+        // Ascending inserts are the worst case for an unbalanced tree
+        for (int i = 0; i < n; i++) {
+            tree.insert(i);
+        }
+        stats.stop();
+        check(tree.size() == n && tree.height() <= 1.45 * log2(n + 2), "AVL balance");
+        report("AVL", stats, "height=" + tree.height());
+    }
+
+    private static void runBalancedTrees(int n) {
+        int[] values = randomValues(n);
+        int[] expected = Arrays.stream(values).sorted().distinct().toArray();
+        OperationStats redBlackStats = new OperationStats();
+        runOrderedSet("Red-black", redBlackStats, new RedBlackTree(redBlackStats), values, expected);
+        OperationStats treapStats = new OperationStats();
+        runOrderedSet("Treap", treapStats, new Treap(treapStats, (int) SEED), values, expected);
+        OperationStats bTreeStats = new OperationStats();
+        runOrderedSet("B-tree", bTreeStats, new BTree(bTreeStats), values, expected);
+    }
+
+    /**
+     * Random inserts, then rank/select against the sorted keys, a split at the
+     * median joined back on, and a bulk load of the same keys
+     */
+    private static <T extends OrderedIntSet<T>> void runOrderedSet(String name, OperationStats stats, T tree,
+                                                                   int[] values, int[] expected) {
+        stats.start();
+        for (int value : values) {
+            tree.insert(value);
+        }
+        stats.stop();
+        int m = expected.length;
+        check(tree.size() == m, name + " size");
+        for (int i = 0; i < m; i += Math.max(1, m / 1000)) {
+            check(tree.select(i) == expected[i] && tree.rank(expected[i]) == i, name + " rank/select");
+        }
+        int height = tree.height();
+        T upper = tree.split(expected[m / 2]);
+        check(tree.size() == m / 2 && upper.size() == m - m / 2, name + " split");
+        tree.join(upper);
+        check(tree.size() == m && tree.select(m / 2) == expected[m / 2], name + " join");
+        tree.bulkLoad(expected);
+        check(tree.size() == m && tree.select(m - 1) == expected[m - 1], name + " bulk load");
+        report(name, stats, "height=" + height + " bulk height=" + tree.height());
+    }
+
+    private static void runIndexes(int n) {
+        int[] values = randomValues(n);
+        int[] expected = Arrays.stream(values).sorted().distinct().toArray();
+        for (int pageSize : new int[]{PageCache.MIN_PAGE_SIZE, PageCache.DEFAULT_PAGE_SIZE}) {
+            OperationStats treeStats = new OperationStats();
+            runPagedIndex("B+ tree/" + pageSize, treeStats,
+                    new BPlusTree(new PageCache(pageSize, 64), treeStats), values, expected);
+            OperationStats skipStats = new OperationStats();
+            runPagedIndex("Skip list/" + pageSize, skipStats,
+                    new PagedSkipList(new PageCache(pageSize, 64), skipStats, SEED), values, expected);
+        }
+    }
+
+    /**
+     * Random inserts, lookups and a full scan against the sorted keys, every
+     * other key deleted, then a bulk load; reports the page I/O of the inserts
+     */
+    private static void runPagedIndex(String name, OperationStats stats, PagedIndex index, int[] values,
+                                      int[] expected) {
+        stats.start();
+        for (int value : values) {
+            index.insert(value, value ^ 1);
+        }
+        index.getCache().flush();
+        stats.stop();
+        String io = index.getCache().toString();
+        int m = expected.length;
+        check(index.size() == m, name + " size");
+        for (int i = 0; i < m; i += Math.max(1, m / 1000)) {
+            check(index.search(expected[i]) == (expected[i] ^ 1), name + " search");
+        }
+        int[] scanned = new int[m];
+        int[] next = {0};
+        check(index.rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE, key -> scanned[next[0]++] = key) == m
+                && Arrays.equals(scanned, expected), name + " range scan");
+        for (int i = 0; i < m; i += 2) {
+            check(index.delete(expected[i]), name + " delete");
+        }
+        check(index.size() == m / 2, name + " size after deletes");
+        for (int i = 0; i < m; i += Math.max(1, m / 1000)) {
+            check((index.search(expected[i]) == PagedIndex.NOT_FOUND) == (i % 2 == 0), name + " search after deletes");
+        }
+        int height = index.height();
+        index.bulkLoad(expected);
+        check(index.size() == m && index.search(expected[m - 1]) == m - 1, name + " bulk load");
+        report(name, stats, "height=" + height + " bulk height=" + index.height() + " " + io);
+    }
+
+    private static void runHeap(int n) {
+        OperationStats stats = new OperationStats();
+        BinaryHeapAlgorithm.Headless heap = new BinaryHeapAlgorithm.Headless(stats, false);
+        stats.start();
+        heap.buildHeap(randomValues(n));
+        int previous = Integer.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            int value = heap.extractRoot();
+            check(value >= previous, "heap order");
+            previous = value;
+        }
+        stats.stop();
+        report("Binary heap", stats, "");
+    }
+
+    private static void runDaryHeap(int n, int arity) {
+        OperationStats stats = new OperationStats();
+        DaryHeap heap = new DaryHeap(arity, false, stats);
+        stats.start();
+        for (int value : randomValues(n)) {
+            heap.insert(value);
+        }
+        int previous = Integer.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            int value = heap.extractRoot();
+            check(value >= previous, arity + "-ary heap order");
+            previous = value;
+        }
+        stats.stop();
+        report(arity + "-ary heap", stats, "");
+    }
+
+    private static void runHeapsort(int n) {
+        OperationStats stats = new OperationStats();
+        int[] values = randomValues(n);
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        stats.start();
+        new HeapsortAlgorithm.Headless(stats).sort(values);
+        stats.stop();
+        check(Arrays.equals(values, expected), "heapsort order");
+        report("Heapsort", stats, "");
+    }
+
+    private static void runSorts(int n) {
+        int[] input = randomValues(n);
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (SortingAlgorithm.Sort sort : SortingAlgorithm.Sort.values()) {
+                OperationStats stats = new OperationStats();
+                int[] values = input.clone();
+                stats.start();
+                sort.create(stats, pool).sort(values);
+                stats.stop();
+                check(Arrays.equals(values, expected), sort + " order");
+                report(sort.toString(), stats, "");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void runDynamicArray(int n) {
+        OperationStats stats = new OperationStats();
+        DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats);
+        stats.start();
+        for (int i = 0; i < n; i++) {
+            array.add(i);
+        }
+        stats.stop();
+        check(array.size() == n && array.get(n - 1) == n - 1, "dynamic array contents");
+        report("Dynamic array", stats, "capacity=" + array.capacity());
+    }
+
+    /**
+     * Append n, then pop back to empty, under every policy with and without shrinking
+     */
+    private static void runGrowthPolicies(int n) {
+        for (GrowthPolicy policy : GrowthPolicy.values()) {
+            // A fixed increment copies O(n^2) elements
+            if (policy == GrowthPolicy.FIXED_INCREMENT && n > 100_000) {
+                continue;
+            }
+            for (boolean shrinking : new boolean[]{false, true}) {
+                OperationStats stats = new OperationStats();
+                DynamicArrayAlgorithm.Headless array = new DynamicArrayAlgorithm.Headless(stats, policy, shrinking);
+                stats.start();
+                for (int i = 0; i < n; i++) {
+                    array.add(i);
+                }
+                int peak = array.capacity();
+                long expected = (long) n * (n - 1) / 2;
+                long sum = 0;
+                while (array.size() > 0) {
+                    sum += array.removeLast();
+                }
+                stats.stop();
+                check(sum == expected && peak >= n, policy + " contents");
+                check(shrinking ? array.capacity() == GrowthPolicy.INITIAL_CAPACITY : array.capacity() == peak,
+                        policy + " shrinking");
+                report(policy + (shrinking ? " +shrink" : ""), stats, String.format("resizes=%d copies/op=%.2f",
+                        array.getResizes(), (double) array.getCopies() / array.getOperations()));
+            }
+        }
+    }
+
+    private static void runHashTable(int n) {
+        for (HashTableAlgorithm.HashFunction function : HashTableAlgorithm.HashFunction.values()) {
+            OperationStats stats = new OperationStats();
+            HashTableAlgorithm.Headless table = new HashTableAlgorithm.Headless(stats, function, 16, 0.75);
+            stats.start();
+            for (int i = 0; i < n; i++) {
+                table.put("key" + i, "value" + i);
+            }
+            stats.stop();
+            check(table.size() == n && ("value" + (n / 2)).equals(table.get("key" + (n / 2))), "hash table contents");
+            report("Hash " + function.name(), stats, "longest chain=" + table.longestChain());
+        }
+    }
+
+    /**
+     * Every probing strategy under a weak and a strong hash: inserts, updates
+     * and deletes while incremental resizes are running
+     */
+    private static void runOpenAddressing(int n) {
+        HashTableAlgorithm.HashFunction[] functions = {HashTableAlgorithm.HashFunction.DIVISION,
+                HashTableAlgorithm.HashFunction.MULTIPLICATION, HashTableAlgorithm.HashFunction.MURMUR3};
+        for (OpenAddressingTable.Strategy strategy : OpenAddressingTable.Strategy.values()) {
+            for (HashTableAlgorithm.HashFunction function : functions) {
+                OperationStats stats = new OperationStats();
+                OpenAddressingTable table = new OpenAddressingTable(strategy, function, 16, 0.75, stats);
+                stats.start();
+                for (int i = 0; i < n; i++) {
+                    table.put("key" + i, "value" + i);
+                }
+                for (int i = 0; i < n; i += 3) {
+                    table.put("key" + i, "updated" + i);
+                }
+                for (int i = 0; i < n; i += 2) {
+                    table.remove("key" + i);
+                }
+                stats.stop();
+                int expected = n / 2;
+                boolean contents = table.getSize() == expected;
+                for (int i = 0; i < n && contents; i++) {
+                    String value = table.get("key" + i);
+                    contents = i % 2 == 0 ? value == null : (i % 3 == 0 ? "updated" : "value").concat("" + i).equals(value);
+                }
+                check(contents, strategy + "/" + function + " open addressing contents");
+                if (function == HashTableAlgorithm.HashFunction.MURMUR3) {
+                    report("Open " + strategy.name(), stats, String.format("avg probe=%.2f",
+                            table.getAverageProbeLength()));
+                }
+            }
+        }
+        runCuckooCollisions();
+    }
+
+    /**
+     * Keys sharing one String.hashCode share a cuckoo home slot under DIVISION
+     * and MULTIPLICATION; the seeded second hash still has to place a few of
+     * them, and far too many must fail with a clear error, not grow forever,
+     * leaving the table as it was before the failing put
+     */
+    private static void runCuckooCollisions() {
+        String[] few = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        String[] many = HashAnalyzer.keys(HashAnalyzer.Corpus.COLLIDING, 4_096);
+        for (HashTableAlgorithm.HashFunction function : new HashTableAlgorithm.HashFunction[] {
+                HashTableAlgorithm.HashFunction.DIVISION, HashTableAlgorithm.HashFunction.MULTIPLICATION}) {
+            OpenAddressingTable table = new OpenAddressingTable(OpenAddressingTable.Strategy.CUCKOO, function, 8,
+                    0.5, new OperationStats());
+            for (String key : few) {
+                table.put(key, key.toLowerCase());
+            }
+            boolean placed = table.getSize() == few.length;
+            for (String key : few) {
+                placed &= key.toLowerCase().equals(table.get(key));
+            }
+            check(placed, "cuckoo places colliding keys under " + function);
+
+            table = new OpenAddressingTable(OpenAddressingTable.Strategy.CUCKOO, function, 8, 0.5,
+                    new OperationStats());
+            int stored = 0;
+            String failure = null;
+            try {
+                for (String key : many) {
+                    table.put(key, key);
+                    stored++;
+                }
+            } catch (IllegalStateException e) {
+                failure = e.getMessage();
+            }
+            boolean intact = table.getSize() == stored && table.get(many[stored]) == null;
+            for (int i = 0; i < stored && intact; i++) {
+                intact = many[i].equals(table.get(many[i]));
+            }
+            check(failure != null && failure.contains("rebuilds"), "cuckoo gives up on " + many.length
+                    + " colliding keys under " + function);
+            check(intact, "failed cuckoo put leaves the table intact under " + function);
+            System.out.println(String.format("  %-22s %d of %d colliding keys stored before the rebuild cap",
+                    "Cuckoo " + function.name(), stored, many.length));
+        }
+    }
+
+    /**
+     * The byte hashes against reference values for UTF-16LE input, then the
+     * analyzer on every corpus: histograms that add up, no allocation while
+     * hashing, uniform spread from the seeded hashes, and probe counts that
+     * match an actual linear-probing table on the first keys
+     */
+    private static void runHashAnalyzer(int n) {
+        HashTableAlgorithm.HashFunction murmur = HashTableAlgorithm.HashFunction.MURMUR3;
+        HashTableAlgorithm.HashFunction xxHash = HashTableAlgorithm.HashFunction.XXHASH32;
+        HashTableAlgorithm.HashFunction fnv = HashTableAlgorithm.HashFunction.FNV1A;
+        check(HashTableAlgorithm.rawHash(murmur, "") == 0
+                && HashTableAlgorithm.rawHash(murmur, "hello") == 0xd7c31989
+                && HashTableAlgorithm.rawHash(murmur, "The quick brown fox") == 0xa5417a1d, "MurmurHash3 vectors");
+        check(HashTableAlgorithm.rawHash(xxHash, "") == 0x02cc5d05
+                && HashTableAlgorithm.rawHash(xxHash, "hello") == 0x8dc8c637
+                && HashTableAlgorithm.rawHash(xxHash, "The quick brown fox") == 0x4584e5ce, "xxHash32 vectors");
+        check(HashTableAlgorithm.rawHash(fnv, "") == 0x811c9dc5
+                && HashTableAlgorithm.rawHash(fnv, "a") == 0x2b24d044
+                && HashTableAlgorithm.rawHash(fnv, "The quick brown fox") == 0xd2545a6e, "FNV-1a vectors");
+
+        int capacity = HashAnalyzer.capacityFor(n, 0.75);
+        int small = Math.min(n, 20_000);
+        int smallCapacity = HashAnalyzer.capacityFor(small, 0.75);
+        for (HashAnalyzer.Corpus corpus : HashAnalyzer.Corpus.values()) {
+            String[] keys = HashAnalyzer.keys(corpus, n);
+            String[] firstKeys = Arrays.copyOf(keys, small);
+            StringBuilder line = new StringBuilder();
+            OperationStats stats = new OperationStats();
+            stats.start();
+            for (HashTableAlgorithm.HashFunction function : HashTableAlgorithm.HashFunction.values()) {
+                HashAnalyzer.Report report = HashAnalyzer.analyze(function, keys, capacity, 1);
+                long buckets = 0;
+                long keysCounted = 0;
+                for (int bin = 0; bin < HashAnalyzer.HISTOGRAM_BINS; bin++) {
+                    buckets += report.getHistogram(bin);
+                    keysCounted += bin * report.getHistogram(bin);
+                }
+                check(buckets == capacity && keysCounted <= n, corpus + " " + function + " histogram");
+                check(!(report.getBytesPerHash() >= 1), corpus + " " + function + " allocates while hashing");
+                if (function == murmur || function == xxHash) {
+                    check(Math.abs(report.getChiSquaredZ()) < 6, corpus + " " + function + " chi-squared z "
+                            + report.getChiSquaredZ());
+                }
+                HashAnalyzer.Report smallReport = HashAnalyzer.analyze(function, firstKeys, smallCapacity, 1);
+                check(Math.abs(smallReport.getAverageProbe() - linearProbes(function, firstKeys, smallCapacity))
+                        < 1e-9, corpus + " " + function + " probe count");
+                line.append(String.format(" %s=%.2f", function.name(), report.getChiSquaredRatio()));
+            }
+            stats.stop();
+            report("Hashes " + corpus.name(), stats, "chi2/df" + line);
+        }
+    }
+
+    /**
+     * Average probes of a successful search after inserting the keys into a real linear-probing table
+     */
+    private static double linearProbes(HashTableAlgorithm.HashFunction function, String[] keys, int capacity) {
+        boolean[] occupied = new boolean[capacity];
+        long probes = 0;
+        for (String key : keys) {
+            int slot = HashTableAlgorithm.hash(function, key, capacity);
+            probes++;
+            while (occupied[slot]) {
+                slot = slot + 1 == capacity ? 0 : slot + 1;
+                probes++;
+            }
+            occupied[slot] = true;
+        }
+        return (double) probes / keys.length;
+    }
+
+    /**
+     * Every sketch on every hash family: no false negatives, a false-positive
+     * rate within about twice the target, no count-min underestimates. HyperLogLog
+     * counts random keys to within 4 standard errors; sequential keys are
+     * left out of that check, since the families load its registers unevenly
+     */
+    private static void runSketches(int n) {
+        double rate = 0.01;
+        int[] values = randomValues(n);
+        int distinct = (int) Arrays.stream(values).distinct().count();
+        for (HashTableAlgorithm.HashFunction function : HashTableAlgorithm.HashFunction.values()) {
+            OperationStats stats = new OperationStats();
+            BloomFilter bloom = BloomFilter.forCapacity(function, n, rate);
+            CountingBloomFilter counting = CountingBloomFilter.forCapacity(function, n, rate);
+            CountMinSketch countMin = CountMinSketch.forError(function, 0.001, 0.01);
+            HyperLogLog hll = new HyperLogLog(function, 12);
+            stats.start();
+            for (int i = 0; i < n; i++) {
+                String key = "key" + i;
+                bloom.add(key);
+                counting.add(key);
+                countMin.add(key, i % 7 + 1);
+                hll.add("value" + values[i]);
+            }
+            stats.stop();
+            long falsePositives = 0;
+            for (int i = 0; i < n; i++) {
+                String key = "key" + i;
+                check(bloom.mightContain(key) && counting.mightContain(key), function + " sketch false negative");
+                check(countMin.estimate(key) >= i % 7 + 1, function + " count-min underestimate");
+                if (bloom.mightContain("absent" + i)) {
+                    falsePositives++;
+                }
+            }
+            double measured = (double) falsePositives / n;
+            // Twice the target, plus three standard deviations of sampling noise on small n
+            check(measured <= 2 * rate + 3 * Math.sqrt(rate / n), function + " Bloom false-positive rate " + measured);
+            for (int i = 1; i < n; i += 2) {
+                check(counting.remove("key" + i), function + " counting remove");
+            }
+            for (int i = 0; i < n; i += 2) {
+                check(counting.mightContain("key" + i), function + " counting false negative after removes");
+            }
+            double error = (hll.estimate() - distinct) / distinct;
+            check(Math.abs(error) <= 4 * hll.getStandardError(), function + " HyperLogLog error " + error);
+            report("Sketch " + function.name(), stats, String.format("bloom fp=%.4f hll error=%+.2f%%",
+                    measured, 100 * error));
+        }
+    }
+
+    private static void runShortestPaths(int n) {
+        CompactGraph graph = randomGraph(n, 4);
+
+        OperationStats dijkstraStats = new OperationStats();
+        dijkstraStats.start();
+        int[] dijkstra = new DijkstraAlgorithm.Headless(dijkstraStats).run(graph, 0);
+        dijkstraStats.stop();
+        report("Dijkstra", dijkstraStats, "edges=" + graph.getEdgeCount());
+
+        OperationStats spfaStats = new OperationStats();
+        BellmanFordAlgorithm.Spfa spfa = new BellmanFordAlgorithm.Spfa(spfaStats);
+        spfaStats.start();
+        int[] spfaDistances = spfa.run(graph, 0);
+        spfaStats.stop();
+        check(Arrays.equals(dijkstra, spfaDistances) && !spfa.hasNegativeCycle(), "SPFA agreement");
+        report("SPFA", spfaStats, "dequeues=" + spfa.getDequeues());
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            OperationStats parallelStats = new OperationStats();
+            BellmanFordAlgorithm.Parallel parallel = new BellmanFordAlgorithm.Parallel(parallelStats, pool);
+            parallelStats.start();
+            int[] parallelDistances = parallel.run(graph, 0);
+            parallelStats.stop();
+            check(Arrays.equals(dijkstra, parallelDistances) && !parallel.hasNegativeCycle(),
+                    "parallel Bellman-Ford agreement");
+            report("Parallel Bellman-Ford", parallelStats,
+                    "threads=" + parallel.getParallelism() + " passes=" + parallel.getPasses());
+
+            OperationStats deltaStats = new OperationStats();
+            DeltaStepping deltaStepping = new DeltaStepping(deltaStats, pool, DeltaStepping.suggestDelta(graph));
+            deltaStats.start();
+            int[] deltaDistances = deltaStepping.run(graph, 0);
+            deltaStats.stop();
+            check(Arrays.equals(dijkstra, deltaDistances), "delta-stepping agreement");
+            report("Delta-stepping", deltaStats,
+                    "delta=" + deltaStepping.getDelta() + " rounds=" + deltaStepping.getRounds());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Bellman-Ford is O(VE) in the worst case; keep the largest sizes affordable
+        if (n > 100_000) {
+            return;
+        }
+        OperationStats bellmanFordStats = new OperationStats();
+        BellmanFordAlgorithm.Headless bellmanFord = new BellmanFordAlgorithm.Headless(bellmanFordStats);
+        bellmanFordStats.start();
+        int[] distances = bellmanFord.run(graph, 0);
+        bellmanFordStats.stop();
+        check(Arrays.equals(dijkstra, distances) && !bellmanFord.hasNegativeCycle(), "shortest path agreement");
+        report("Bellman-Ford", bellmanFordStats, "passes=" + bellmanFord.getPasses());
+    }
+
+    /**
+     * n operations split over 1, 2, 4... threads, at least four threads even
+     * on a smaller machine so the interleavings still get exercised
+     */
+    private static void runConcurrent(int n) throws InterruptedException {
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int keys = Math.max(2, Math.min(n, 10_000));
+        for (ConcurrentStructure structure : ConcurrentStructure.values()) {
+            StringBuilder scaling = new StringBuilder();
+            for (int threads : ConcurrentWorkload.threadCounts(maxThreads)) {
+                ConcurrentWorkload.Result result =
+                        new ConcurrentWorkload(structure, threads, n / threads, keys, 8, SEED).run();
+                check(result.isVerified(), structure + " contents with " + threads + " threads: "
+                        + result.getProblem());
+                scaling.append(String.format(" %dT=%.0f", threads, result.getThroughput()));
+            }
+            System.out.println(String.format("  %-32s ops/ms%s", structure, scaling));
+        }
+    }
+
+    private static CompactGraph randomGraph(int n, int degree) {
+        Random random = new Random(SEED);
+        int m = n * degree;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = e / degree;
+            to[e] = random.nextInt(n);
+            weight[e] = 1 + random.nextInt(100);
+        }
+        return new CompactGraph(n, from, to, weight);
+    }
+
+    private static int[] randomValues(int n) {
+        Random random = new Random(SEED);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    private static double log2(int n) {
+        return Math.log(n) / Math.log(2);
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + what);
+        }
+    }
+
+    private static void report(String name, OperationStats stats, String extra) {
+        System.out.println(String.format("  %-22s %s %s", name, stats, extra));
+    }
+}
@@ -0,0 +1,136 @@
+package com.raven.test;
+
+import com.raven.connection.DatabaseConnection;
+import com.raven.model.ModelUser;
+import com.raven.service.ServiceUser;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs ServiceUser against an empty database given by JDBC URL, e.g. an
+ * embedded H2 one with the driver jar on the classpath:
+ *   java -cp build/classes:h2.jar com.raven.test.ServiceUserTest "jdbc:h2:mem:users;MODE=MySQL"
+ * The user table is dropped and created fresh, so never point it at real data
+ */
+public class ServiceUserTest {
+    private static final int RACERS = 8;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ServiceUserTest <jdbc-url> [user] [password]");
+            System.exit(2);
+        }
+        DatabaseConnection database = DatabaseConnection.getInstance();
+        database.connectToDatabase(args[0], args.length > 1 ? args[1] : "", args.length > 2 ? args[2] : "");
+        try {
+            ServiceUser service = new ServiceUser();
+            execute(database, "drop table if exists `user`");
+            service.createTable();
+            // A second start finds every key in place and changes nothing
+            service.createTable();
+
+            ModelUser alice = new ModelUser(0, "alice", "alice@example.com", "secret");
+            check(service.insertUser(alice) == ServiceUser.Duplicate.NONE, "insert succeeds");
+            check(alice.getUserID() > 0 && alice.getVerifyCode().length() == 6, "insert assigns id and code");
+            check(service.verifyCodeWithUser(alice.getUserID(), alice.getVerifyCode()), "verify code matches");
+            check(service.checkDuplicate("bob", "bob@example.com") == ServiceUser.Duplicate.NONE,
+                    "unused name and email are not duplicates");
+
+            // A pending sign-up already holds its name and email
+            check(service.insertUser(new ModelUser(0, "alice", "other@example.com", "secret"))
+                    == ServiceUser.Duplicate.USER_NAME, "insert of a taken name is rejected");
+            check(service.insertUser(new ModelUser(0, "bob", "alice@example.com", "secret"))
+                    == ServiceUser.Duplicate.EMAIL, "insert of a taken email is rejected");
+
+            service.doneVerify(alice.getUserID());
+            check(service.checkDuplicateUser("alice"), "verified name is a duplicate");
+            check(service.checkDuplicateEmail("alice@example.com"), "verified email is a duplicate");
+            check(!service.checkDuplicateEmail("nobody@example.com"), "unknown email is not a duplicate");
+            check(service.checkDuplicate("bob", "alice@example.com") == ServiceUser.Duplicate.EMAIL,
+                    "one query reports the email");
+
+            raceInsert(service);
+            migrateLegacyTable(database, service);
+            System.out.println("All ServiceUser checks passed");
+        } finally {
+            database.close();
+        }
+    }
+
+    /**
+     * Sign-ups for one email insert at once; the unique key must let exactly one through
+     */
+    private static void raceInsert(ServiceUser service) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(RACERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ServiceUser.Duplicate>> results = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            ModelUser user = new ModelUser(0, "racer" + i, "race@example.com", "secret");
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.insertUser(user);
+            }));
+        }
+        start.countDown();
+        int inserted = 0;
+        int rejected = 0;
+        for (Future<ServiceUser.Duplicate> result : results) {
+            ServiceUser.Duplicate duplicate = result.get();
+            if (duplicate == ServiceUser.Duplicate.NONE) {
+                inserted++;
+            } else if (duplicate == ServiceUser.Duplicate.EMAIL) {
+                rejected++;
+            }
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        check(inserted == 1 && rejected == RACERS - 1,
+                "concurrent insert lets one through, got " + inserted + " inserted, " + rejected + " rejected");
+    }
+
+    /**
+     * A table from before the unique keys gets them added in place, keeping its rows
+     */
+    private static void migrateLegacyTable(DatabaseConnection database, ServiceUser service) throws Exception {
+        execute(database, "drop table if exists `user`");
+        execute(database, "create table `user` (" +
+                "UserID int not null auto_increment primary key, " +
+                "UserName varchar(255) not null, " +
+                "Email varchar(255) not null, " +
+                "`Password` varchar(255) not null, " +
+                "VerifyCode varchar(10) not null default '', " +
+                "`Status` varchar(10) not null default '')");
+        execute(database, "insert into `user` (UserName, Email, `Password`, `Status`) " +
+                "values ('carol', 'carol@example.com', 'secret', 'Verified')");
+        service.createTable();
+        service.createTable();
+        check(service.checkDuplicateUser("carol"), "existing row survives the migration");
+        check(service.insertUser(new ModelUser(0, "carol", "new@example.com", "secret"))
+                == ServiceUser.Duplicate.USER_NAME, "migrated table rejects a taken name");
+        check(service.insertUser(new ModelUser(0, "dave", "carol@example.com", "secret"))
+                == ServiceUser.Duplicate.EMAIL, "migrated table rejects a taken email");
+        check(service.insertUser(new ModelUser(0, "dave", "dave@example.com", "secret"))
+                == ServiceUser.Duplicate.NONE, "migrated table still takes new users");
+    }
+
+    private static void execute(DatabaseConnection database, String sql) throws SQLException {
+        try (Connection con = database.getConnection();
+             Statement s = con.createStatement()) {
+            s.execute(sql);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + what);
+        }
+    }
+}
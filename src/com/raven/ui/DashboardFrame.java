@@ -9,15 +9,29 @@ import com.raven.ds.modules.graph.GraphPanel;
 import com.raven.ds.modules.graph.GraphControls;
 import com.raven.ds.modules.hashtable.HashTablePanel;
 import com.raven.ds.modules.hashtable.HashTableControls;
+import com.raven.ds.modules.hashtable.OpenAddressingPanel;
+import com.raven.ds.modules.hashtable.OpenAddressingControls;
 
 import com.raven.ds.modules.heap.BinaryHeapPanel;
 import com.raven.ds.modules.heap.BinaryHeapControls;
 import com.raven.ds.modules.heapsort.HeapsortPanel;
 import com.raven.ds.modules.heapsort.HeapsortControls;
+import com.raven.ds.modules.sorting.SortingPanel;
+import com.raven.ds.modules.sorting.SortingControls;
 import com.raven.ds.modules.avl.AVLTreePanel;
 import com.raven.ds.modules.avl.AVLTreeControls;
+import com.raven.ds.modules.balanced.BalancedTreePanel;
+import com.raven.ds.modules.balanced.BalancedTreeControls;
 import com.raven.ds.modules.dynamicarray.DynamicArrayPanel;
 import com.raven.ds.modules.dynamicarray.DynamicArrayControls;
+import com.raven.ds.modules.index.IndexPanel;
+import com.raven.ds.modules.index.IndexControls;
+import com.raven.ds.modules.probabilistic.ProbabilisticPanel;
+import com.raven.ds.modules.probabilistic.ProbabilisticControls;
+import com.raven.ds.modules.concurrent.ConcurrencyPanel;
+import com.raven.ds.modules.concurrent.ConcurrencyControls;
+import com.raven.ds.modules.benchmark.BenchmarkPanel;
+import com.raven.ds.modules.benchmark.BenchmarkControls;
 
 import javax.swing.*;
 import java.awt.*;
@@ -162,17 +176,38 @@ public class DashboardFrame extends JFrame {
         // Tab 3: Hash Table
         createHashTableTab(tabbedPane);
         
-        // Tab 4: Binary Heap
+        // Tab 4: Open Addressing
+        createOpenAddressingTab(tabbedPane);
+        
+        // Tab 5: Binary Heap
         createBinaryHeapTab(tabbedPane);
         
-        // Tab 5: Heapsort
+        // Tab 6: Heapsort
         createHeapsortTab(tabbedPane);
         
-        // Tab 6: AVL Tree
+        // Tab 7: Sorting lab
+        createSortingTab(tabbedPane);
+        
+        // Tab 8: AVL Tree
         createAVLTreeTab(tabbedPane);
         
-        // Tab 7: Dynamic Array
+        // Tab 9: Balanced trees
+        createBalancedTreeTab(tabbedPane);
+        
+        // Tab 10: Dynamic Array
         createDynamicArrayTab(tabbedPane);
+        
+        // Tab 11: Disk indexes
+        createIndexTab(tabbedPane);
+        
+        // Tab 12: Probabilistic structures
+        createProbabilisticTab(tabbedPane);
+        
+        // Tab 13: Concurrent structures
+        createConcurrencyTab(tabbedPane);
+        
+        // Tab 14: Measured complexity
+        createBenchmarkTab(tabbedPane);
     }
     
     private void createBinaryHeapTab(JTabbedPane tabbedPane) {
@@ -223,6 +258,30 @@ public class DashboardFrame extends JFrame {
         tabbedPane.addTab("Heapsort", container);
     }
     
+    private void createSortingTab(JTabbedPane tabbedPane) {
+        AnimationEngine engine = new AnimationEngine();
+        SortingPanel panel = new SortingPanel(engine);
+        SortingControls controls = new SortingControls(panel, engine);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        // Add demo button
+        JPanel demoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton demoBtn = new JButton("Load Demo Data");
+        demoBtn.setBackground(new Color(7, 164, 121));
+        demoBtn.setForeground(Color.WHITE);
+        demoBtn.setFocusPainted(false);
+        demoBtn.addActionListener(e -> controls.loadDemo());
+        demoPanel.add(demoBtn);
+        demoPanel.setBackground(Color.WHITE);
+        
+        container.add(demoPanel, BorderLayout.NORTH);
+        
+        tabbedPane.addTab("Sorting Lab", container);
+    }
+    
     private void createAVLTreeTab(JTabbedPane tabbedPane) {
         AnimationEngine engine = new AnimationEngine();
         AVLTreePanel panel = new AVLTreePanel(engine);
@@ -247,6 +306,30 @@ public class DashboardFrame extends JFrame {
         tabbedPane.addTab("AVL Tree", container);
     }
     
+    private void createBalancedTreeTab(JTabbedPane tabbedPane) {
+        AnimationEngine engine = new AnimationEngine();
+        BalancedTreePanel panel = new BalancedTreePanel(engine);
+        BalancedTreeControls controls = new BalancedTreeControls(panel, engine);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        // Add demo button
+        JPanel demoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton demoBtn = new JButton("Load Demo Tree");
+        demoBtn.setBackground(new Color(7, 164, 121));
+        demoBtn.setForeground(Color.WHITE);
+        demoBtn.setFocusPainted(false);
+        demoBtn.addActionListener(e -> controls.loadDemo());
+        demoPanel.add(demoBtn);
+        demoPanel.setBackground(Color.WHITE);
+        
+        container.add(demoPanel, BorderLayout.NORTH);
+        
+        tabbedPane.addTab("Balanced Trees", container);
+    }
+    
     private void createDynamicArrayTab(JTabbedPane tabbedPane) {
         AnimationEngine engine = new AnimationEngine();
         DynamicArrayPanel panel = new DynamicArrayPanel(engine);
@@ -271,6 +354,76 @@ public class DashboardFrame extends JFrame {
         tabbedPane.addTab("Dynamic Array", container);
     }
     
+    private void createIndexTab(JTabbedPane tabbedPane) {
+        AnimationEngine engine = new AnimationEngine();
+        IndexPanel panel = new IndexPanel(engine);
+        IndexControls controls = new IndexControls(panel, engine);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        // Add demo button
+        JPanel demoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton demoBtn = new JButton("Load Demo Index");
+        demoBtn.setBackground(new Color(7, 164, 121));
+        demoBtn.setForeground(Color.WHITE);
+        demoBtn.setFocusPainted(false);
+        demoBtn.addActionListener(e -> controls.loadDemo());
+        demoPanel.add(demoBtn);
+        demoPanel.setBackground(Color.WHITE);
+        
+        container.add(demoPanel, BorderLayout.NORTH);
+        
+        tabbedPane.addTab("Disk Index", container);
+    }
+    
+    private void createProbabilisticTab(JTabbedPane tabbedPane) {
+        AnimationEngine engine = new AnimationEngine();
+        ProbabilisticPanel panel = new ProbabilisticPanel(engine);
+        ProbabilisticControls controls = new ProbabilisticControls(panel, engine);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        // Add demo button
+        JPanel demoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton demoBtn = new JButton("Load Demo Keys");
+        demoBtn.setBackground(new Color(7, 164, 121));
+        demoBtn.setForeground(Color.WHITE);
+        demoBtn.setFocusPainted(false);
+        demoBtn.addActionListener(e -> controls.loadDemo());
+        demoPanel.add(demoBtn);
+        demoPanel.setBackground(Color.WHITE);
+        
+        container.add(demoPanel, BorderLayout.NORTH);
+        
+        tabbedPane.addTab("Probabilistic", container);
+    }
+    
+    private void createConcurrencyTab(JTabbedPane tabbedPane) {
+        ConcurrencyPanel panel = new ConcurrencyPanel();
+        ConcurrencyControls controls = new ConcurrencyControls(panel);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        tabbedPane.addTab("Concurrency", container);
+    }
+    
+    private void createBenchmarkTab(JTabbedPane tabbedPane) {
+        BenchmarkPanel panel = new BenchmarkPanel();
+        BenchmarkControls controls = new BenchmarkControls(panel);
+        
+        JPanel container = new JPanel(new BorderLayout());
+        container.add(panel, BorderLayout.CENTER);
+        container.add(controls, BorderLayout.SOUTH);
+        
+        tabbedPane.addTab("Benchmarks", container);
+    }
+    
     private void createBSTTab(JTabbedPane tabbedPane) {
         // Create animation engine for BST
         AnimationEngine bstEngine = new AnimationEngine();
@@ -355,6 +508,31 @@ public class DashboardFrame extends JFrame {
         tabbedPane.addTab("Hash Table", hashContainer);
     }
     
+    private void createOpenAddressingTab(JTabbedPane tabbedPane) {
+        AnimationEngine openEngine = new AnimationEngine();
+        
+        OpenAddressingPanel openPanel = new OpenAddressingPanel(openEngine);
+        OpenAddressingControls openControls = new OpenAddressingControls(openPanel, openEngine);
+        
+        JPanel openContainer = new JPanel(new BorderLayout());
+        openContainer.add(openPanel, BorderLayout.CENTER);
+        openContainer.add(openControls, BorderLayout.SOUTH);
+        
+        // Add demo button
+        JPanel demoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton demoBtn = new JButton("Load Demo Data");
+        demoBtn.setBackground(new Color(7, 164, 121));
+        demoBtn.setForeground(Color.WHITE);
+        demoBtn.setFocusPainted(false);
+        demoBtn.addActionListener(e -> openControls.loadDemo());
+        demoPanel.add(demoBtn);
+        demoPanel.setBackground(Color.WHITE);
+        
+        openContainer.add(demoPanel, BorderLayout.NORTH);
+        
+        tabbedPane.addTab("Open Addressing", openContainer);
+    }
+    
     private void createPlaceholderTab(JTabbedPane tabbedPane, String title, String description) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
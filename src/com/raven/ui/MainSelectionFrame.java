@@ -309,6 +309,7 @@ public class MainSelectionFrame extends JFrame {
 
     private void handleLeftPanelClick() {
         System.out.println("CLICK: Left panel clicked - Business Accountability Software");
+        com.raven.service.SessionManager.getInstance().recordModule(com.raven.service.SessionStore.Module.ACCOUNTABILITY);
         
         // Check if frame already exists and is displayable
         if (accountabilityFrame != null && accountabilityFrame.isDisplayable()) {
@@ -345,6 +346,7 @@ public class MainSelectionFrame extends JFrame {
     
     private void handleCenterPanelClick() {
         System.out.println("CLICK: Center panel clicked - Code Examples");
+        com.raven.service.SessionManager.getInstance().recordModule(com.raven.service.SessionStore.Module.CODE_EXAMPLES);
         
         // Check if frame already exists and is displayable
         if (dashboardFrame != null && dashboardFrame.isDisplayable()) {
@@ -374,6 +376,7 @@ public class MainSelectionFrame extends JFrame {
     
     private void handleRightPanelClick() {
         System.out.println("CLICK: Right panel clicked - AI Assistant");
+        com.raven.service.SessionManager.getInstance().recordModule(com.raven.service.SessionStore.Module.AI_ASSISTANT);
         
         // Check if frame already exists and is displayable
         if (aiFrame != null && aiFrame.isDisplayable()) {